@@ -0,0 +1,134 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.benchmark;
+
+import java.util.Random;
+
+import org.dayflower.geometry.BoundingVolume3F;
+import org.dayflower.geometry.Point2F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.Vector3F;
+
+/**
+ * Creates the inputs that are shared by the benchmarks.
+ * <p>
+ * All inputs are created from a fixed seed, so every run of a benchmark sees the same inputs.
+ */
+final class BenchmarkInputs {
+	/**
+	 * The number of inputs that are created. It is a power of two, so a benchmark can cycle through them with a mask.
+	 */
+	public static final int COUNT = 1024;
+	
+	/**
+	 * The mask that is used to cycle through the inputs.
+	 */
+	public static final int MASK = COUNT - 1;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private BenchmarkInputs() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns {@link #COUNT} points with coordinates from {@code minimum} (inclusive) to {@code maximum} (exclusive).
+	 * 
+	 * @param minimum the minimum coordinate
+	 * @param maximum the maximum coordinate
+	 * @return {@code COUNT} points with coordinates from {@code minimum} (inclusive) to {@code maximum} (exclusive)
+	 */
+	public static Point2F[] createPoints(final float minimum, final float maximum) {
+		final Random random = new Random(1L);
+		
+		final Point2F[] points = new Point2F[COUNT];
+		
+		for(int i = 0; i < points.length; i++) {
+			points[i] = new Point2F(minimum + random.nextFloat() * (maximum - minimum), minimum + random.nextFloat() * (maximum - minimum));
+		}
+		
+		return points;
+	}
+	
+	/**
+	 * Returns {@link #COUNT} rays that start on a sphere around {@code boundingVolume} and point towards random points inside an enlarged copy of it.
+	 * <p>
+	 * About half of the rays miss a convex shape that fills {@code boundingVolume}, so both the hit path and the miss path are measured. If {@code boundingVolume} is not finite, the rays start on a sphere around the origin.
+	 * 
+	 * @param boundingVolume the {@link BoundingVolume3F} to aim at
+	 * @return {@code COUNT} rays that start on a sphere around {@code boundingVolume} and point towards random points inside an enlarged copy of it
+	 */
+	public static Ray3F[] createRays(final BoundingVolume3F boundingVolume) {
+		final Point3F maximum = doClamp(boundingVolume.getMaximum(), 1.0F);
+		final Point3F minimum = doClamp(boundingVolume.getMinimum(), -1.0F);
+		final Point3F midpoint = Point3F.midpoint(maximum, minimum);
+		
+		final float extentX = (maximum.x - minimum.x) * 0.75F;
+		final float extentY = (maximum.y - minimum.y) * 0.75F;
+		final float extentZ = (maximum.z - minimum.z) * 0.75F;
+		final float radius = Point3F.distance(maximum, minimum) * 2.0F;
+		
+		final Random random = new Random(1L);
+		
+		final Ray3F[] rays = new Ray3F[COUNT];
+		
+		for(int i = 0; i < rays.length; i++) {
+			final Vector3F direction = Vector3F.normalize(new Vector3F((float)(random.nextGaussian()), (float)(random.nextGaussian()), (float)(random.nextGaussian())));
+			
+			final Point3F origin = Point3F.add(midpoint, direction, radius);
+			final Point3F target = new Point3F(midpoint.x + (random.nextFloat() * 2.0F - 1.0F) * extentX, midpoint.y + (random.nextFloat() * 2.0F - 1.0F) * extentY, midpoint.z + (random.nextFloat() * 2.0F - 1.0F) * extentZ);
+			
+			rays[i] = new Ray3F(origin, Vector3F.directionNormalized(origin, target));
+		}
+		
+		return rays;
+	}
+	
+	/**
+	 * Returns {@link #COUNT} random values from {@code minimum} (inclusive) to {@code maximum} (exclusive).
+	 * 
+	 * @param minimum the minimum value
+	 * @param maximum the maximum value
+	 * @return {@code COUNT} random values from {@code minimum} (inclusive) to {@code maximum} (exclusive)
+	 */
+	public static float[] createValues(final float minimum, final float maximum) {
+		final Random random = new Random(1L);
+		
+		final float[] values = new float[COUNT];
+		
+		for(int i = 0; i < values.length; i++) {
+			values[i] = minimum + random.nextFloat() * (maximum - minimum);
+		}
+		
+		return values;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Point3F doClamp(final Point3F point, final float defaultValue) {
+		final float x = Float.isFinite(point.x) && Math.abs(point.x) < 1.0e6F ? point.x : defaultValue * 10.0F;
+		final float y = Float.isFinite(point.y) && Math.abs(point.y) < 1.0e6F ? point.y : defaultValue * 10.0F;
+		final float z = Float.isFinite(point.z) && Math.abs(point.z) < 1.0e6F ? point.z : defaultValue * 10.0F;
+		
+		return new Point3F(x, y, z);
+	}
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dayflower.color.Color4F;
+import org.dayflower.filter.BoxFilter2F;
+import org.dayflower.filter.CatmullRomFilter2F;
+import org.dayflower.filter.Filter2F;
+import org.dayflower.filter.GaussianFilter2F;
+import org.dayflower.filter.LanczosSincFilter2F;
+import org.dayflower.filter.MitchellFilter2F;
+import org.dayflower.filter.TriangleFilter2F;
+import org.dayflower.geometry.Point2F;
+import org.dayflower.image.PixelImageF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link PixelImageF#filmAddColorXYZ(float, float, float, float, float)} with each {@link Filter2F} in {@code org.dayflower.filter}.
+ * <p>
+ * The samples are added at random positions of a 256 x 256 film.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class FilmBenchmark {
+	@Param({"BoxFilter2F", "CatmullRomFilter2F", "GaussianFilter2F", "LanczosSincFilter2F", "MitchellFilter2F", "TriangleFilter2F"})
+	public String filterName;
+	
+	private PixelImageF pixelImage;
+	private Point2F[] points;
+	private float[] colors;
+	private int index;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public FilmBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Benchmark
+	public PixelImageF filmAddColorXYZ() {
+		final int index = this.index++ & BenchmarkInputs.MASK;
+		
+		final Point2F point = this.points[index];
+		
+		final float color = this.colors[index];
+		
+		final
+		PixelImageF pixelImage = this.pixelImage;
+		pixelImage.filmAddColorXYZ(point.x, point.y, color, color, color);
+		
+		return pixelImage;
+	}
+	
+	@Setup
+	public void setup() {
+		this.pixelImage = new PixelImageF(256, 256, Color4F.BLACK, doCreateFilter(this.filterName));
+		this.points = BenchmarkInputs.createPoints(0.0F, 256.0F);
+		this.colors = BenchmarkInputs.createValues(0.0F, 1.0F);
+		this.index = 0;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Filter2F doCreateFilter(final String filterName) {
+		switch(filterName) {
+			case "BoxFilter2F":
+				return new BoxFilter2F();
+			case "CatmullRomFilter2F":
+				return new CatmullRomFilter2F();
+			case "GaussianFilter2F":
+				return new GaussianFilter2F();
+			case "LanczosSincFilter2F":
+				return new LanczosSincFilter2F();
+			case "MitchellFilter2F":
+				return new MitchellFilter2F();
+			case "TriangleFilter2F":
+				return new TriangleFilter2F();
+			default:
+				throw new IllegalArgumentException(String.format("Unknown filter: %s", filterName));
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dayflower.color.Color4F;
+import org.dayflower.image.ByteImageF;
+import org.dayflower.image.ConvolutionKernel33F;
+import org.dayflower.image.ConvolutionKernel55F;
+import org.dayflower.image.FloatImageF;
+import org.dayflower.image.ImageF;
+import org.dayflower.image.IntImageF;
+import org.dayflower.image.PixelImageF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the convolutions of {@link ImageF}, {@link ImageF#multiply(ConvolutionKernel33F)} and {@link ImageF#multiply(ConvolutionKernel55F)}, for each {@code ImageF} implementation.
+ * <p>
+ * The image has a resolution of 256 x 256 and is filled with random colors. The convolution is applied in place, so the content changes between operations, but the amount of work does not.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class ImageBenchmark {
+	@Param({"ByteImageF", "FloatImageF", "IntImageF", "PixelImageF"})
+	public String imageName;
+	
+	private ImageF image;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public ImageBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Benchmark
+	public ImageF multiplyBoxBlur33() {
+		return this.image.multiply(ConvolutionKernel33F.BOX_BLUR);
+	}
+	
+	@Benchmark
+	public ImageF multiplyGaussianBlur33() {
+		return this.image.multiply(ConvolutionKernel33F.GAUSSIAN_BLUR);
+	}
+	
+	@Benchmark
+	public ImageF multiplyGaussianBlur55() {
+		return this.image.multiply(ConvolutionKernel55F.GAUSSIAN_BLUR);
+	}
+	
+	@Benchmark
+	public ImageF multiplySharpen33() {
+		return this.image.multiply(ConvolutionKernel33F.SHARPEN);
+	}
+	
+	@Setup
+	public void setup() {
+		final ImageF image = doCreateImage(this.imageName, 256, 256);
+		
+		final float[] values = BenchmarkInputs.createValues(0.0F, 1.0F);
+		
+		for(int i = 0; i < image.getResolution(); i++) {
+			image.setColorRGBA(new Color4F(values[i & BenchmarkInputs.MASK], values[(i + 1) & BenchmarkInputs.MASK], values[(i + 2) & BenchmarkInputs.MASK]), i);
+		}
+		
+		this.image = image;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static ImageF doCreateImage(final String imageName, final int resolutionX, final int resolutionY) {
+		switch(imageName) {
+			case "ByteImageF":
+				return new ByteImageF(resolutionX, resolutionY);
+			case "FloatImageF":
+				return new FloatImageF(resolutionX, resolutionY);
+			case "IntImageF":
+				return new IntImageF(resolutionX, resolutionY);
+			case "PixelImageF":
+				return new PixelImageF(resolutionX, resolutionY);
+			default:
+				throw new IllegalArgumentException(String.format("Unknown image: %s", imageName));
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.geometry.Point2F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.Vector3F;
+import org.dayflower.geometry.shape.Sphere3F;
+import org.dayflower.scene.BSDF;
+import org.dayflower.scene.BSDFResult;
+import org.dayflower.scene.BXDFType;
+import org.dayflower.scene.Intersection;
+import org.dayflower.scene.Material;
+import org.dayflower.scene.Primitive;
+import org.dayflower.scene.ScatteringFunctions;
+import org.dayflower.scene.Scene;
+import org.dayflower.scene.TransportMode;
+import org.dayflower.scene.material.BullseyeMaterial;
+import org.dayflower.scene.material.CheckerboardMaterial;
+import org.dayflower.scene.material.ClearCoatMaterial;
+import org.dayflower.scene.material.DisneyMaterial;
+import org.dayflower.scene.material.GlassMaterial;
+import org.dayflower.scene.material.GlossyMaterial;
+import org.dayflower.scene.material.HairMaterial;
+import org.dayflower.scene.material.KDSubsurfaceMaterial;
+import org.dayflower.scene.material.MatteMaterial;
+import org.dayflower.scene.material.MetalMaterial;
+import org.dayflower.scene.material.MirrorMaterial;
+import org.dayflower.scene.material.PlasticMaterial;
+import org.dayflower.scene.material.PolkaDotMaterial;
+import org.dayflower.scene.material.SubstrateMaterial;
+import org.dayflower.scene.material.SubsurfaceMaterial;
+import org.dayflower.scene.material.TranslucentMaterial;
+import org.dayflower.scene.material.UberMaterial;
+import org.dayflower.scene.modifier.NoOpModifier;
+import org.dayflower.scene.texture.ConstantTexture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Material#computeScatteringFunctions(Intersection, TransportMode, boolean)} and {@link BSDF#sampleDistributionFunction(BXDFType, Point2F)} for each material in {@code org.dayflower.scene.material}.
+ * <p>
+ * The material is assigned to a unit sphere and the intersection is found by a ray that hits the sphere off-center. {@code FourierMaterial} is not measured, because it needs a measured BSDF file that is not bundled.
+ * {@code FunctionMaterial} is not measured, because it delegates to another material.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class MaterialBenchmark {
+	@Param({"BullseyeMaterial", "CheckerboardMaterial", "ClearCoatMaterial", "DisneyMaterial", "GlassMaterial", "GlossyMaterial", "HairMaterial", "KDSubsurfaceMaterial", "MatteMaterial", "MetalMaterial", "MirrorMaterial", "PlasticMaterial", "PolkaDotMaterial", "SubstrateMaterial", "SubsurfaceMaterial", "TranslucentMaterial", "UberMaterial"})
+	public String materialName;
+	
+	private BSDF bSDF;
+	private Intersection intersection;
+	private Material material;
+	private Point2F[] samples;
+	private int index;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public MaterialBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Benchmark
+	public Optional<BSDFResult> sampleDistributionFunction() {
+		return this.bSDF.sampleDistributionFunction(BXDFType.ALL, this.samples[this.index++ & BenchmarkInputs.MASK]);
+	}
+	
+	@Benchmark
+	public ScatteringFunctions computeScatteringFunctions() {
+		return this.material.computeScatteringFunctions(this.intersection, TransportMode.RADIANCE, true);
+	}
+	
+	@Setup
+	public void setup() {
+		final Material material = doCreateMaterial(this.materialName);
+		
+		final
+		Scene scene = new Scene();
+		scene.addPrimitive(new Primitive(material, new Sphere3F()));
+		
+		final Optional<Intersection> optionalIntersection = scene.intersection(new Ray3F(new Point3F(0.3F, 0.2F, -5.0F), Vector3F.z()), Scene.T_MINIMUM, Scene.T_MAXIMUM);
+		
+		if(!optionalIntersection.isPresent()) {
+			throw new IllegalStateException("The ray does not hit the sphere");
+		}
+		
+		final Intersection intersection = optionalIntersection.get();
+		
+		final Optional<BSDF> optionalBSDF = material.computeScatteringFunctions(intersection, TransportMode.RADIANCE, true).getBSDF();
+		
+		if(!optionalBSDF.isPresent()) {
+			throw new IllegalStateException(String.format("%s does not have a BSDF", this.materialName));
+		}
+		
+		this.bSDF = optionalBSDF.get();
+		this.intersection = intersection;
+		this.material = material;
+		this.samples = BenchmarkInputs.createPoints(0.0F, 1.0F);
+		this.index = 0;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Material doCreateMaterial(final String materialName) {
+		switch(materialName) {
+			case "BullseyeMaterial":
+				return new BullseyeMaterial();
+			case "CheckerboardMaterial":
+				return new CheckerboardMaterial();
+			case "ClearCoatMaterial":
+				return new ClearCoatMaterial();
+			case "DisneyMaterial":
+				return new DisneyMaterial();
+			case "GlassMaterial":
+				return new GlassMaterial();
+			case "GlossyMaterial":
+				return new GlossyMaterial();
+			case "HairMaterial":
+				return new HairMaterial();
+			case "KDSubsurfaceMaterial":
+				return new KDSubsurfaceMaterial();
+			case "MatteMaterial":
+				return new MatteMaterial();
+			case "MetalMaterial":
+				return new MetalMaterial();
+			case "MirrorMaterial":
+				return new MirrorMaterial();
+			case "PlasticMaterial":
+				return new PlasticMaterial();
+			case "PolkaDotMaterial":
+				return new PolkaDotMaterial();
+			case "SubstrateMaterial":
+				return new SubstrateMaterial();
+			case "SubsurfaceMaterial":
+				return new SubsurfaceMaterial(50.0F, ConstantTexture.WHITE, ConstantTexture.WHITE, ConstantTexture.BLACK, new ConstantTexture(new Color3F(0.032F, 0.17F, 0.48F)), new ConstantTexture(new Color3F(0.74F, 0.88F, 1.01F)), 0.0F, 1.5F, ConstantTexture.BLACK, ConstantTexture.BLACK, false, new NoOpModifier());
+			case "TranslucentMaterial":
+				return new TranslucentMaterial();
+			case "UberMaterial":
+				return new UberMaterial();
+			default:
+				throw new IllegalArgumentException(String.format("Unknown material: %s", materialName));
+		}
+	}
+}
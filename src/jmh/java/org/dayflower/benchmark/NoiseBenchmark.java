@@ -0,0 +1,119 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dayflower.noise.PerlinNoiseF;
+import org.dayflower.noise.SimplexNoiseF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link SimplexNoiseF} and {@link PerlinNoiseF}.
+ * <p>
+ * The fractal variants use eight octaves, so they show the cost of the loop over the octaves in addition to the cost of a single evaluation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class NoiseBenchmark {
+	private float[] values;
+	private int index;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public NoiseBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Benchmark
+	public float perlinNoiseFractalXYZ() {
+		final int index = this.index++;
+		
+		return PerlinNoiseF.fractalXYZ(doGet(index + 0), doGet(index + 1), doGet(index + 2), 1.0F, 0.25F, 0.5F, 2.0F, 8);
+	}
+	
+	@Benchmark
+	public float perlinNoiseXYZ() {
+		final int index = this.index++;
+		
+		return PerlinNoiseF.noiseXYZ(doGet(index + 0), doGet(index + 1), doGet(index + 2));
+	}
+	
+	@Benchmark
+	public float simplexNoiseFractalXY() {
+		final int index = this.index++;
+		
+		return SimplexNoiseF.fractalXY(doGet(index + 0), doGet(index + 1), 1.0F, 0.25F, 0.5F, 2.0F, 8);
+	}
+	
+	@Benchmark
+	public float simplexNoiseFractalXYZ() {
+		final int index = this.index++;
+		
+		return SimplexNoiseF.fractalXYZ(doGet(index + 0), doGet(index + 1), doGet(index + 2), 1.0F, 0.25F, 0.5F, 2.0F, 8);
+	}
+	
+	@Benchmark
+	public float simplexNoiseXY() {
+		final int index = this.index++;
+		
+		return SimplexNoiseF.noiseXY(doGet(index + 0), doGet(index + 1));
+	}
+	
+	@Benchmark
+	public float simplexNoiseXYZ() {
+		final int index = this.index++;
+		
+		return SimplexNoiseF.noiseXYZ(doGet(index + 0), doGet(index + 1), doGet(index + 2));
+	}
+	
+	@Benchmark
+	public float simplexNoiseXYZW() {
+		final int index = this.index++;
+		
+		return SimplexNoiseF.noiseXYZW(doGet(index + 0), doGet(index + 1), doGet(index + 2), doGet(index + 3));
+	}
+	
+	@Setup
+	public void setup() {
+		this.values = BenchmarkInputs.createValues(-100.0F, 100.0F);
+		this.index = 0;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private float doGet(final int index) {
+		return this.values[index & BenchmarkInputs.MASK];
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.benchmark;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.dayflower.geometry.Ray3F;
+import org.dayflower.scene.Camera;
+import org.dayflower.scene.Intersection;
+import org.dayflower.scene.Scene;
+import org.dayflower.scene.loader.JavaSceneLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Scene#intersection(Ray3F, float, float)} and {@link Scene#intersects(Ray3F, float, float)} on the bundled scenes.
+ * <p>
+ * The scenes are loaded from {@code ./resources/scenes} and their acceleration structures are built. The rays are primary rays of the camera of the scene through random points of the image.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class SceneBenchmark {
+	@Param({"Animation", "BullseyeMaterial", "Car", "CheckerboardMaterial", "ClearCoatMaterial", "Cone3F", "ConstructiveSolidGeometry3F", "CornellBox", "Curve3F", "Cylinder3F", "DepthCamera", "Disk3F", "DisneyMaterial", "DotProductTexture", "GPURenderer", "GlassMaterial", "GlossyMaterial", "HairMaterial", "Hyperboloid3F", "KDSubsurfaceMaterial", "MatteMaterial", "MetalMaterial", "MirrorMaterial", "Paraboloid3F", "Plane3F", "PlasticMaterial", "PolkaDotMaterial", "PolkaDotTexture", "Polygon3F", "ProceduralTerrain3F", "Rectangle3F", "RectangularCuboid3F", "SimplexNoiseNormalMapModifier", "Sphere3F", "SubstrateMaterial", "SubsurfaceMaterial", "Torus3F", "TranslucentMaterial", "Triangle3F", "UberMaterial"})
+	public String sceneName;
+	
+	private Ray3F[] rays;
+	private Scene scene;
+	private int index;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public SceneBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Benchmark
+	public Optional<Intersection> intersection() {
+		return this.scene.intersection(this.rays[this.index++ & BenchmarkInputs.MASK], Scene.T_MINIMUM, Scene.T_MAXIMUM);
+	}
+	
+	@Benchmark
+	public boolean intersects() {
+		return this.scene.intersects(this.rays[this.index++ & BenchmarkInputs.MASK], Scene.T_MINIMUM, Scene.T_MAXIMUM);
+	}
+	
+	@Setup
+	public void setup() {
+		final
+		Scene scene = new JavaSceneLoader().load("./resources/scenes/" + this.sceneName + ".java");
+		scene.buildAccelerationStructure();
+		
+		final Camera camera = scene.getCamera();
+		
+		final Random random = new Random(1L);
+		
+		final Ray3F[] rays = new Ray3F[BenchmarkInputs.COUNT];
+		
+		for(int i = 0; i < rays.length; i++) {
+			final float imageX = random.nextFloat() * (camera.getResolutionX() - 1.0F);
+			final float imageY = random.nextFloat() * (camera.getResolutionY() - 1.0F);
+			
+			final Optional<Ray3F> optionalRay = camera.createPrimaryRay(imageX, imageY, 0.5F, 0.5F);
+			
+			rays[i] = optionalRay.isPresent() ? optionalRay.get() : new Ray3F(camera.getEye(), camera.getOrthonormalBasis().w);
+		}
+		
+		this.scene = scene;
+		this.rays = rays;
+		this.index = 0;
+	}
+}
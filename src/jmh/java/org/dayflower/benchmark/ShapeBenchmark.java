@@ -0,0 +1,141 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.dayflower.geometry.Matrix44F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.Shape3F;
+import org.dayflower.geometry.SurfaceIntersection3F;
+import org.dayflower.geometry.shape.CompoundShape3F;
+import org.dayflower.geometry.shape.Cone3F;
+import org.dayflower.geometry.shape.ConstructiveSolidGeometry3F;
+import org.dayflower.geometry.shape.ConstructiveSolidGeometry3F.Operation;
+import org.dayflower.geometry.shape.Curve3F;
+import org.dayflower.geometry.shape.Cylinder3F;
+import org.dayflower.geometry.shape.Disk3F;
+import org.dayflower.geometry.shape.Hyperboloid3F;
+import org.dayflower.geometry.shape.Paraboloid3F;
+import org.dayflower.geometry.shape.Plane3F;
+import org.dayflower.geometry.shape.Polygon3F;
+import org.dayflower.geometry.shape.ProceduralTerrain3F;
+import org.dayflower.geometry.shape.Rectangle3F;
+import org.dayflower.geometry.shape.RectangularCuboid3F;
+import org.dayflower.geometry.shape.Sphere3F;
+import org.dayflower.geometry.shape.Torus3F;
+import org.dayflower.geometry.shape.Triangle3F;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Shape3F#intersection(Ray3F, float, float)} and {@link Shape3F#intersectionT(Ray3F, float, float)} for each shape in {@code org.dayflower.geometry.shape}.
+ * <p>
+ * The shapes are created like in the bundled scenes. {@code Curve3F} is the {@link CompoundShape3F} of Bezier curves returned by {@link Curve3F#createCurvesByBezier()}. {@code TriangleMesh3F} is measured by
+ * {@link TriangleMeshBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class ShapeBenchmark {
+	@Param({"Cone3F", "ConstructiveSolidGeometry3F", "Curve3F", "Cylinder3F", "Disk3F", "Hyperboloid3F", "Paraboloid3F", "Plane3F", "Polygon3F", "ProceduralTerrain3F", "Rectangle3F", "RectangularCuboid3F", "Sphere3F", "Torus3F", "Triangle3F"})
+	public String shapeName;
+	
+	private Ray3F[] rays;
+	private Shape3F shape;
+	private int index;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public ShapeBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Benchmark
+	public Optional<SurfaceIntersection3F> intersection() {
+		return this.shape.intersection(this.rays[this.index++ & BenchmarkInputs.MASK], 0.001F, Float.MAX_VALUE);
+	}
+	
+	@Benchmark
+	public float intersectionT() {
+		return this.shape.intersectionT(this.rays[this.index++ & BenchmarkInputs.MASK], 0.001F, Float.MAX_VALUE);
+	}
+	
+	@Setup
+	public void setup() {
+		this.shape = doCreateShape(this.shapeName);
+		this.rays = BenchmarkInputs.createRays(this.shape.getBoundingVolume());
+		this.index = 0;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Shape3F doCreateShape(final String shapeName) {
+		switch(shapeName) {
+			case "Cone3F":
+				return new Cone3F();
+			case "ConstructiveSolidGeometry3F":
+				return new ConstructiveSolidGeometry3F(Operation.DIFFERENCE, new RectangularCuboid3F(new Point3F(-1.0F, -1.0F, -1.0F), new Point3F(1.0F, 1.0F, 1.0F)), new Sphere3F(), new Matrix44F(), Matrix44F.multiply(Matrix44F.translate(0.0F, 0.0F, -1.0F), Matrix44F.scale(0.5F, 0.5F, 0.5F)));
+			case "Curve3F":
+				return new CompoundShape3F(Curve3F.createCurvesByBezier());
+			case "Cylinder3F":
+				return new Cylinder3F();
+			case "Disk3F":
+				return new Disk3F();
+			case "Hyperboloid3F":
+				return new Hyperboloid3F();
+			case "Paraboloid3F":
+				return new Paraboloid3F();
+			case "Plane3F":
+				return new Plane3F();
+			case "Polygon3F":
+				return new Polygon3F(new Point3F(-2.0F, +2.0F, 0.0F), new Point3F(0.0F, 3.0F, 0.0F), new Point3F(+2.0F, +2.0F, 0.0F), new Point3F(+2.0F, -2.0F, 0.0F), new Point3F(-2.0F, -2.0F, 0.0F));
+			case "ProceduralTerrain3F":
+				return ProceduralTerrain3F.sin();
+			case "Rectangle3F":
+				return new Rectangle3F();
+			case "RectangularCuboid3F":
+				return new RectangularCuboid3F();
+			case "Sphere3F":
+				return new Sphere3F();
+			case "Torus3F":
+				return new Torus3F();
+			case "Triangle3F":
+				return new Triangle3F();
+			default:
+				throw new IllegalArgumentException(String.format("Unknown shape: %s", shapeName));
+		}
+	}
+}
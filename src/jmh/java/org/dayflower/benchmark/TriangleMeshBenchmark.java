@@ -0,0 +1,137 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.dayflower.geometry.BoundingVolume3F;
+import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.SurfaceIntersection3F;
+import org.dayflower.geometry.boundingvolume.AxisAlignedBoundingBox3F;
+import org.dayflower.geometry.shape.TriangleMesh3F;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the BVH traversal of {@link TriangleMesh3F}.
+ * <p>
+ * The meshes of a Wavefront Object file are loaded with an acceleration structure. One operation intersects a ray with all meshes, so the result is the closest hit in the model. The rays are aimed at the bounds of the whole model.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class TriangleMeshBenchmark {
+	@Param({"./resources/models/car.obj"})
+	public String pathname;
+	
+	private Ray3F[] rays;
+	private TriangleMesh3F[] triangleMeshes;
+	private int index;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public TriangleMeshBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Benchmark
+	public Optional<SurfaceIntersection3F> intersection() {
+		final Ray3F ray = this.rays[this.index++ & BenchmarkInputs.MASK];
+		
+		Optional<SurfaceIntersection3F> optionalSurfaceIntersection = Optional.empty();
+		
+		float tMaximum = Float.MAX_VALUE;
+		
+		for(final TriangleMesh3F triangleMesh : this.triangleMeshes) {
+			final Optional<SurfaceIntersection3F> optionalSurfaceIntersectionCurrent = triangleMesh.intersection(ray, 0.001F, tMaximum);
+			
+			if(optionalSurfaceIntersectionCurrent.isPresent()) {
+				optionalSurfaceIntersection = optionalSurfaceIntersectionCurrent;
+				
+				tMaximum = optionalSurfaceIntersectionCurrent.get().getT();
+			}
+		}
+		
+		return optionalSurfaceIntersection;
+	}
+	
+	@Benchmark
+	public boolean intersects() {
+		final Ray3F ray = this.rays[this.index++ & BenchmarkInputs.MASK];
+		
+		for(final TriangleMesh3F triangleMesh : this.triangleMeshes) {
+			if(triangleMesh.intersects(ray, 0.001F, Float.MAX_VALUE)) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	@Benchmark
+	public float intersectionT() {
+		final Ray3F ray = this.rays[this.index++ & BenchmarkInputs.MASK];
+		
+		float t = Float.NaN;
+		float tMaximum = Float.MAX_VALUE;
+		
+		for(final TriangleMesh3F triangleMesh : this.triangleMeshes) {
+			final float tCurrent = triangleMesh.intersectionT(ray, 0.001F, tMaximum);
+			
+			if(!Float.isNaN(tCurrent)) {
+				t = tCurrent;
+				
+				tMaximum = tCurrent;
+			}
+		}
+		
+		return t;
+	}
+	
+	@Setup
+	public void setup() {
+		final List<TriangleMesh3F> triangleMeshes = TriangleMesh3F.readWavefrontObject(this.pathname, true, 1.0F, true);
+		
+		BoundingVolume3F boundingVolume = triangleMeshes.get(0).getBoundingVolume();
+		
+		for(final TriangleMesh3F triangleMesh : triangleMeshes) {
+			boundingVolume = AxisAlignedBoundingBox3F.union(boundingVolume, triangleMesh.getBoundingVolume());
+		}
+		
+		this.triangleMeshes = triangleMeshes.toArray(new TriangleMesh3F[triangleMeshes.size()]);
+		this.rays = BenchmarkInputs.createRays(boundingVolume);
+		this.index = 0;
+	}
+}
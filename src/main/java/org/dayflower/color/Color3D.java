@@ -22,11 +22,11 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.IntFunction;
 
+import org.dayflower.utility.InterningCache;
+
 import org.macroing.java.lang.Doubles;
 import org.macroing.java.lang.Ints;
 import org.macroing.java.lang.Strings;
@@ -178,12 +178,12 @@ public final class Color3D {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static final Map<Color3D, Color3D> CACHE;
+	private static final InterningCache<Color3D> CACHE;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	static {
-		CACHE = new HashMap<>();
+		CACHE = new InterningCache<>("Color3D");
 		
 		AG_ETA = getCached(new Color3D(0.15496000609474664D, 0.11647174926802867D, 0.13806632158349902D));
 		AG_K = getCached(new Color3D(4.8188730622739175D, 3.115517176753568D, 2.1420735301196467D));
@@ -1113,7 +1113,7 @@ public final class Color3D {
 	 * @throws NullPointerException thrown if, and only if, {@code color} is {@code null}
 	 */
 	public static Color3D getCached(final Color3D color) {
-		return CACHE.computeIfAbsent(Objects.requireNonNull(color, "color == null"), key -> color);
+		return CACHE.intern(Objects.requireNonNull(color, "color == null"));
 	}
 	
 	/**
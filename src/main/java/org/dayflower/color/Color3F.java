@@ -22,11 +22,11 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.IntFunction;
 
+import org.dayflower.utility.InterningCache;
+
 import org.macroing.java.lang.Floats;
 import org.macroing.java.lang.Ints;
 import org.macroing.java.lang.Strings;
@@ -178,12 +178,12 @@ public final class Color3F {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static final Map<Color3F, Color3F> CACHE;
+	private static final InterningCache<Color3F> CACHE;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	static {
-		CACHE = new HashMap<>();
+		CACHE = new InterningCache<>("Color3F");
 		
 		AG_ETA = getCached(new Color3F(0.15496026F, 0.116471656F, 0.13806625F));
 		AG_K = getCached(new Color3F(4.818879F, 3.115515F, 2.1420743F));
@@ -1113,7 +1113,7 @@ public final class Color3F {
 	 * @throws NullPointerException thrown if, and only if, {@code color} is {@code null}
 	 */
 	public static Color3F getCached(final Color3F color) {
-		return CACHE.computeIfAbsent(Objects.requireNonNull(color, "color == null"), key -> color);
+		return CACHE.intern(Objects.requireNonNull(color, "color == null"));
 	}
 	
 	/**
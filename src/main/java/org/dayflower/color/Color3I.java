@@ -22,11 +22,11 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.IntFunction;
 
+import org.dayflower.utility.InterningCache;
+
 import org.macroing.java.lang.Ints;
 import org.macroing.java.util.Randoms;
 
@@ -86,12 +86,12 @@ public final class Color3I {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static final Map<Color3I, Color3I> CACHE;
+	private static final InterningCache<Color3I> CACHE;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	static {
-		CACHE = new HashMap<>();
+		CACHE = new InterningCache<>("Color3I");
 		
 		BLACK = getCached(new Color3I(0, 0, 0));
 		BLUE = getCached(new Color3I(0, 0, 255));
@@ -811,7 +811,7 @@ public final class Color3I {
 	 * @throws NullPointerException thrown if, and only if, {@code color} is {@code null}
 	 */
 	public static Color3I getCached(final Color3I color) {
-		return CACHE.computeIfAbsent(Objects.requireNonNull(color, "color == null"), key -> color);
+		return CACHE.intern(Objects.requireNonNull(color, "color == null"));
 	}
 	
 	/**
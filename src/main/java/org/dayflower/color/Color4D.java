@@ -22,11 +22,11 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.IntFunction;
 
+import org.dayflower.utility.InterningCache;
+
 import org.macroing.java.lang.Doubles;
 import org.macroing.java.lang.Ints;
 import org.macroing.java.lang.Strings;
@@ -93,12 +93,12 @@ public final class Color4D {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static final Map<Color4D, Color4D> CACHE;
+	private static final InterningCache<Color4D> CACHE;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	static {
-		CACHE = new HashMap<>();
+		CACHE = new InterningCache<>("Color4D");
 		
 		BLACK = getCached(new Color4D(0.0D, 0.0D, 0.0D));
 		BLUE = getCached(new Color4D(0.0D, 0.0D, 1.0D));
@@ -954,7 +954,7 @@ public final class Color4D {
 	 * @throws NullPointerException thrown if, and only if, {@code color} is {@code null}
 	 */
 	public static Color4D getCached(final Color4D color) {
-		return CACHE.computeIfAbsent(Objects.requireNonNull(color, "color == null"), key -> color);
+		return CACHE.intern(Objects.requireNonNull(color, "color == null"));
 	}
 	
 	/**
@@ -22,11 +22,11 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.IntFunction;
 
+import org.dayflower.utility.InterningCache;
+
 import org.macroing.java.lang.Floats;
 import org.macroing.java.lang.Ints;
 import org.macroing.java.lang.Strings;
@@ -93,12 +93,12 @@ public final class Color4F {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static final Map<Color4F, Color4F> CACHE;
+	private static final InterningCache<Color4F> CACHE;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	static {
-		CACHE = new HashMap<>();
+		CACHE = new InterningCache<>("Color4F");
 		
 		BLACK = getCached(new Color4F(0.0F, 0.0F, 0.0F));
 		BLUE = getCached(new Color4F(0.0F, 0.0F, 1.0F));
@@ -954,7 +954,7 @@ public final class Color4F {
 	 * @throws NullPointerException thrown if, and only if, {@code color} is {@code null}
 	 */
 	public static Color4F getCached(final Color4F color) {
-		return CACHE.computeIfAbsent(Objects.requireNonNull(color, "color == null"), key -> color);
+		return CACHE.intern(Objects.requireNonNull(color, "color == null"));
 	}
 	
 	/**
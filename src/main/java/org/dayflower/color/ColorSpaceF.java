@@ -18,6 +18,8 @@
  */
 package org.dayflower.color;
 
+import java.util.Arrays;
+
 import org.macroing.java.lang.Floats;
 
 /**
@@ -300,6 +302,48 @@ public final class ColorSpaceF {
 		return new Color4F(r, g, b, a);
 	}
 	
+	/**
+	 * Redoes gamma correction on {@code value}.
+	 * 
+	 * @param value a component value
+	 * @return the component value with gamma correction redone
+	 */
+	public float redoGammaCorrection(final float value) {
+		return doRedoGammaCorrection(value);
+	}
+	
+	/**
+	 * Undoes gamma correction on {@code value}.
+	 * 
+	 * @param value a component value
+	 * @return the component value with gamma correction undone
+	 */
+	public float undoGammaCorrection(final float value) {
+		return doUndoGammaCorrection(value);
+	}
+	
+	/**
+	 * Returns a {@code float[]} that contains the 3x3 matrix that converts from RGB color space to XYZ color space.
+	 * <p>
+	 * The matrix is stored in column-major order. Modifications to the returned {@code float[]} will not affect this {@code ColorSpaceF} instance.
+	 * 
+	 * @return a {@code float[]} that contains the 3x3 matrix that converts from RGB color space to XYZ color space
+	 */
+	public float[] getMatrixRGBToXYZ() {
+		return Arrays.copyOf(this.matrixRGBToXYZ, 9);
+	}
+	
+	/**
+	 * Returns a {@code float[]} that contains the 3x3 matrix that converts from XYZ color space to RGB color space.
+	 * <p>
+	 * The matrix is stored in row-major order. Modifications to the returned {@code float[]} will not affect this {@code ColorSpaceF} instance.
+	 * 
+	 * @return a {@code float[]} that contains the 3x3 matrix that converts from XYZ color space to RGB color space
+	 */
+	public float[] getMatrixXYZToRGB() {
+		return Arrays.copyOf(this.matrixXYZToRGB, 9);
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
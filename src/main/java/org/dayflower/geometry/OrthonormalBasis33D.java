@@ -21,10 +21,10 @@ package org.dayflower.geometry;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.UncheckedIOException;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
+import org.dayflower.utility.InterningCache;
+
 import org.macroing.java.util.visitor.Node;
 import org.macroing.java.util.visitor.NodeHierarchicalVisitor;
 import org.macroing.java.util.visitor.NodeTraversalException;
@@ -40,7 +40,7 @@ import org.macroing.java.util.visitor.NodeTraversalException;
  * @author J&#246;rgen Lundgren
  */
 public final class OrthonormalBasis33D implements Node {
-	private static final Map<OrthonormalBasis33D, OrthonormalBasis33D> CACHE = new HashMap<>();
+	private static final InterningCache<OrthonormalBasis33D> CACHE = new InterningCache<>("OrthonormalBasis33D");
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -288,7 +288,7 @@ public final class OrthonormalBasis33D implements Node {
 	 * @throws NullPointerException thrown if, and only if, {@code orthonormalBasis} is {@code null}
 	 */
 	public static OrthonormalBasis33D getCached(final OrthonormalBasis33D orthonormalBasis) {
-		return CACHE.computeIfAbsent(Objects.requireNonNull(orthonormalBasis, "orthonormalBasis == null"), key -> new OrthonormalBasis33D(Vector3D.getCached(orthonormalBasis.w), Vector3D.getCached(orthonormalBasis.v), Vector3D.getCached(orthonormalBasis.u)));
+		return CACHE.intern(Objects.requireNonNull(orthonormalBasis, "orthonormalBasis == null"), key -> new OrthonormalBasis33D(Vector3D.getCached(orthonormalBasis.w), Vector3D.getCached(orthonormalBasis.v), Vector3D.getCached(orthonormalBasis.u)));
 	}
 	
 	/**
@@ -23,10 +23,9 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Field;//TODO: Add Unit Tests!
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
+import org.dayflower.utility.InterningCache;
 import org.dayflower.utility.ParameterArguments;
 
 import org.macroing.java.lang.Floats;
@@ -54,7 +53,7 @@ public final class Point2F implements Node {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static final Map<Point2F, Point2F> CACHE = new HashMap<>();
+	private static final InterningCache<Point2F> CACHE = new InterningCache<>("Point2F");
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -401,7 +400,7 @@ public final class Point2F implements Node {
 	 * @throws NullPointerException thrown if, and only if, {@code p} is {@code null}
 	 */
 	public static Point2F getCached(final Point2F p) {
-		return CACHE.computeIfAbsent(Objects.requireNonNull(p, "p == null"), key -> p);
+		return CACHE.intern(Objects.requireNonNull(p, "p == null"));
 	}
 	
 	/**
@@ -22,10 +22,10 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
+import org.dayflower.utility.InterningCache;
+
 import org.macroing.java.lang.Doubles;
 import org.macroing.java.lang.Strings;
 import org.macroing.java.util.visitor.Node;
@@ -39,7 +39,7 @@ import org.macroing.java.util.visitor.Node;
  * @author J&#246;rgen Lundgren
  */
 public final class Point4D implements Node {
-	private static final Map<Point4D, Point4D> CACHE = new HashMap<>();
+	private static final InterningCache<Point4D> CACHE = new InterningCache<>("Point4D");
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -301,7 +301,7 @@ public final class Point4D implements Node {
 	 * @throws NullPointerException thrown if, and only if, {@code p} is {@code null}
 	 */
 	public static Point4D getCached(final Point4D p) {
-		return CACHE.computeIfAbsent(Objects.requireNonNull(p, "p == null"), key -> p);
+		return CACHE.intern(Objects.requireNonNull(p, "p == null"));
 	}
 	
 	/**
@@ -22,10 +22,10 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
+import org.dayflower.utility.InterningCache;
+
 import org.macroing.java.lang.Floats;
 import org.macroing.java.lang.Strings;
 import org.macroing.java.util.visitor.Node;
@@ -39,7 +39,7 @@ import org.macroing.java.util.visitor.Node;
  * @author J&#246;rgen Lundgren
  */
 public final class Point4F implements Node {
-	private static final Map<Point4F, Point4F> CACHE = new HashMap<>();
+	private static final InterningCache<Point4F> CACHE = new InterningCache<>("Point4F");
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -301,7 +301,7 @@ public final class Point4F implements Node {
 	 * @throws NullPointerException thrown if, and only if, {@code p} is {@code null}
 	 */
 	public static Point4F getCached(final Point4F p) {
-		return CACHE.computeIfAbsent(Objects.requireNonNull(p, "p == null"), key -> p);
+		return CACHE.intern(Objects.requireNonNull(p, "p == null"));
 	}
 	
 	/**
@@ -0,0 +1,183 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.geometry;
+
+import java.util.Objects;
+
+/**
+ * A {@code RayDifferential3F} represents a 3-dimensional {@link Ray3F} together with two optional offset rays, one for a step of one pixel along the X-axis of the image and one for a step of one pixel along the Y-axis of the image.
+ * <p>
+ * The offset rays are used to estimate the footprint of a pixel on a surface, so that textures can be filtered.
+ * <p>
+ * This class is immutable and therefore thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class RayDifferential3F {
+	private final Ray3F ray;
+	private final Ray3F rayX;
+	private final Ray3F rayY;
+	private final boolean hasDifferentials;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code RayDifferential3F} instance without differentials given {@code ray}.
+	 * <p>
+	 * If {@code ray} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param ray the {@link Ray3F} instance
+	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
+	 */
+	public RayDifferential3F(final Ray3F ray) {
+		this.ray = Objects.requireNonNull(ray, "ray == null");
+		this.rayX = ray;
+		this.rayY = ray;
+		this.hasDifferentials = false;
+	}
+	
+	/**
+	 * Constructs a new {@code RayDifferential3F} instance given {@code ray}, {@code rayX} and {@code rayY}.
+	 * <p>
+	 * If either {@code ray}, {@code rayX} or {@code rayY} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param ray the {@link Ray3F} instance
+	 * @param rayX the {@code Ray3F} instance that is offset by one pixel along the X-axis of the image
+	 * @param rayY the {@code Ray3F} instance that is offset by one pixel along the Y-axis of the image
+	 * @throws NullPointerException thrown if, and only if, either {@code ray}, {@code rayX} or {@code rayY} are {@code null}
+	 */
+	public RayDifferential3F(final Ray3F ray, final Ray3F rayX, final Ray3F rayY) {
+		this.ray = Objects.requireNonNull(ray, "ray == null");
+		this.rayX = Objects.requireNonNull(rayX, "rayX == null");
+		this.rayY = Objects.requireNonNull(rayY, "rayY == null");
+		this.hasDifferentials = true;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@link Ray3F} instance.
+	 * 
+	 * @return the {@code Ray3F} instance
+	 */
+	public Ray3F getRay() {
+		return this.ray;
+	}
+	
+	/**
+	 * Returns the {@link Ray3F} instance that is offset by one pixel along the X-axis of the image.
+	 * <p>
+	 * If this {@code RayDifferential3F} instance does not have differentials, the {@code Ray3F} instance returned by {@link #getRay()} will be returned.
+	 * 
+	 * @return the {@code Ray3F} instance that is offset by one pixel along the X-axis of the image
+	 */
+	public Ray3F getRayX() {
+		return this.rayX;
+	}
+	
+	/**
+	 * Returns the {@link Ray3F} instance that is offset by one pixel along the Y-axis of the image.
+	 * <p>
+	 * If this {@code RayDifferential3F} instance does not have differentials, the {@code Ray3F} instance returned by {@link #getRay()} will be returned.
+	 * 
+	 * @return the {@code Ray3F} instance that is offset by one pixel along the Y-axis of the image
+	 */
+	public Ray3F getRayY() {
+		return this.rayY;
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code RayDifferential3F} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code RayDifferential3F} instance
+	 */
+	@Override
+	public String toString() {
+		return this.hasDifferentials ? String.format("new RayDifferential3F(%s, %s, %s)", this.ray, this.rayX, this.rayY) : String.format("new RayDifferential3F(%s)", this.ray);
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code RayDifferential3F} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code RayDifferential3F}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code RayDifferential3F} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code RayDifferential3F}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof RayDifferential3F)) {
+			return false;
+		} else if(!Objects.equals(this.ray, RayDifferential3F.class.cast(object).ray)) {
+			return false;
+		} else if(!Objects.equals(this.rayX, RayDifferential3F.class.cast(object).rayX)) {
+			return false;
+		} else if(!Objects.equals(this.rayY, RayDifferential3F.class.cast(object).rayY)) {
+			return false;
+		} else if(this.hasDifferentials != RayDifferential3F.class.cast(object).hasDifferentials) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, this {@code RayDifferential3F} instance has differentials, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, this {@code RayDifferential3F} instance has differentials, {@code false} otherwise
+	 */
+	public boolean hasDifferentials() {
+		return this.hasDifferentials;
+	}
+	
+	/**
+	 * Returns a hash code for this {@code RayDifferential3F} instance.
+	 * 
+	 * @return a hash code for this {@code RayDifferential3F} instance
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.ray, this.rayX, this.rayY, Boolean.valueOf(this.hasDifferentials));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Transforms the {@code RayDifferential3F} {@code rayDifferentialRHS} with the {@link Matrix44F} {@code matrixLHS}.
+	 * <p>
+	 * Returns a new {@code RayDifferential3F} instance with the result of the transformation.
+	 * <p>
+	 * If either {@code matrixLHS} or {@code rayDifferentialRHS} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param matrixLHS a {@code Matrix44F} instance
+	 * @param rayDifferentialRHS a {@code RayDifferential3F} instance
+	 * @return a new {@code RayDifferential3F} instance with the result of the transformation
+	 * @throws NullPointerException thrown if, and only if, either {@code matrixLHS} or {@code rayDifferentialRHS} are {@code null}
+	 */
+	public static RayDifferential3F transform(final Matrix44F matrixLHS, final RayDifferential3F rayDifferentialRHS) {
+		if(rayDifferentialRHS.hasDifferentials) {
+			return new RayDifferential3F(Ray3F.transform(matrixLHS, rayDifferentialRHS.ray), Ray3F.transform(matrixLHS, rayDifferentialRHS.rayX), Ray3F.transform(matrixLHS, rayDifferentialRHS.rayY));
+		}
+		
+		return new RayDifferential3F(Ray3F.transform(matrixLHS, rayDifferentialRHS.ray));
+	}
+}
\ No newline at end of file
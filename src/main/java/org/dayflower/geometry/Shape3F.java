@@ -90,6 +90,34 @@ public interface Shape3F extends Shape {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Computes the {@link SurfaceIntersection3F} between {@code ray} and this {@code Shape3F} instance at the parametric distance {@code t}.
+	 * <p>
+	 * Returns an {@code Optional} with an optional {@code SurfaceIntersection3F} instance that contains information about the intersection, if it was found.
+	 * <p>
+	 * If {@code ray} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * The parametric distance {@code t} should be the result of a prior intersection test between {@code ray} and this {@code Shape3F} instance, such as {@link #intersectionT(Ray3F, float, float)}. Implementations that are able to create the
+	 * {@code SurfaceIntersection3F} directly from {@code t} should override this method, so the intersection test does not have to be performed again.
+	 * <p>
+	 * The default implementation performs the intersection test again:
+	 * <pre>
+	 * {@code
+	 * shape.intersection(ray, tMinimum, tMaximum);
+	 * }
+	 * </pre>
+	 * 
+	 * @param ray the {@link Ray3F} that intersects this {@code Shape3F} instance
+	 * @param tMinimum the minimum parametric distance
+	 * @param tMaximum the maximum parametric distance
+	 * @param t the parametric distance to the surface intersection point, or {@code Float.NaN} if no intersection exists
+	 * @return an {@code Optional} with an optional {@code SurfaceIntersection3F} instance that contains information about the intersection, if it was found
+	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
+	 */
+	default Optional<SurfaceIntersection3F> computeSurfaceIntersection(final Ray3F ray, final float tMinimum, final float tMaximum, final float t) {
+		return intersection(ray, tMinimum, tMaximum);
+	}
+	
 	/**
 	 * Samples this {@code Shape3F} instance.
 	 * <p>
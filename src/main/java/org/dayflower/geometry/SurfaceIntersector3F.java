@@ -115,7 +115,7 @@ public final class SurfaceIntersector3F {
 	 */
 //	TODO: Add Unit Tests!
 	public Optional<SurfaceIntersection3F> computeSurfaceIntersection() {
-		return isIntersecting() ? this.shape.intersection(this.ray, this.tMinimum, T_MAXIMUM) : SurfaceIntersection3F.EMPTY;
+		return isIntersecting() ? this.shape.computeSurfaceIntersection(this.ray, this.tMinimum, T_MAXIMUM, this.t) : SurfaceIntersection3F.EMPTY;
 	}
 	
 	/**
@@ -22,10 +22,10 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
+import org.dayflower.utility.InterningCache;
+
 import org.macroing.java.lang.Doubles;
 import org.macroing.java.lang.Strings;
 import org.macroing.java.util.Randoms;
@@ -52,7 +52,7 @@ public final class Vector2D implements Node {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static final Map<Vector2D, Vector2D> CACHE = new HashMap<>();
+	private static final InterningCache<Vector2D> CACHE = new InterningCache<>("Vector2D");
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -400,7 +400,7 @@ public final class Vector2D implements Node {
 	 * @throws NullPointerException thrown if, and only if, {@code v} is {@code null}
 	 */
 	public static Vector2D getCached(final Vector2D v) {
-		return CACHE.computeIfAbsent(Objects.requireNonNull(v, "v == null"), key -> v);
+		return CACHE.intern(Objects.requireNonNull(v, "v == null"));
 	}
 	
 	/**
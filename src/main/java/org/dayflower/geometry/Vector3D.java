@@ -23,11 +23,11 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Field;//TODO: Add Unit Tests!
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.dayflower.utility.InterningCache;
+
 import org.macroing.java.lang.Doubles;
 import org.macroing.java.lang.Strings;
 import org.macroing.java.util.Randoms;
@@ -54,7 +54,7 @@ public final class Vector3D implements Node {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static final Map<Vector3D, Vector3D> CACHE = new HashMap<>();
+	private static final InterningCache<Vector3D> CACHE = new InterningCache<>("Vector3D");
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -784,7 +784,7 @@ public final class Vector3D implements Node {
 	 * @throws NullPointerException thrown if, and only if, {@code v} is {@code null}
 	 */
 	public static Vector3D getCached(final Vector3D v) {
-		return CACHE.computeIfAbsent(Objects.requireNonNull(v, "v == null"), key -> v);
+		return CACHE.intern(Objects.requireNonNull(v, "v == null"));
 	}
 	
 	/**
@@ -0,0 +1,523 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.geometry.boundingvolume.hierarchy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.dayflower.geometry.BoundingVolume3F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.utility.ParameterArguments;
+
+/**
+ * A {@code BVHBuilder3F} builds bounding volume hierarchies (BVH) using the binned surface area heuristic (SAH).
+ * <p>
+ * The items are assigned to a fixed number of bins along each axis, based on the midpoints of their bounding volumes. The cost of splitting between each pair of adjacent bins is evaluated by sweeping over the bins from both sides, so each node is
+ * built in linear time and the whole hierarchy in {@code O(n log n)} time. A node becomes a leaf node if it contains at most {@link #getMaximumLeafSize()} items and the cost of intersecting all of them is not greater than the cost of the best
+ * split.
+ * <p>
+ * If this {@code BVHBuilder3F} is parallel, the subtrees of large nodes are built as tasks in the common {@code ForkJoinPool}.
+ * <p>
+ * The node types are created by a {@link NodeFactory}, so the same builder can be used for {@link BVHNode3F} instances and other node types.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class BVHBuilder3F {
+	/**
+	 * The default number of bins per axis.
+	 */
+	public static final int DEFAULT_BIN_COUNT = 16;
+	
+	/**
+	 * The default maximum number of items in a leaf node.
+	 */
+	public static final int DEFAULT_MAXIMUM_LEAF_SIZE = 8;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final float COST_INTERSECTION = 1.0F;
+	private static final float COST_TRAVERSAL = 1.0F;
+	private static final int PARALLEL_THRESHOLD = 4096;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final boolean isParallel;
+	private final int binCount;
+	private final int maximumLeafSize;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code BVHBuilder3F} instance.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new BVHBuilder3F(BVHBuilder3F.DEFAULT_BIN_COUNT, BVHBuilder3F.DEFAULT_MAXIMUM_LEAF_SIZE, true);
+	 * }
+	 * </pre>
+	 */
+	public BVHBuilder3F() {
+		this(DEFAULT_BIN_COUNT, DEFAULT_MAXIMUM_LEAF_SIZE, true);
+	}
+	
+	/**
+	 * Constructs a new {@code BVHBuilder3F} instance.
+	 * <p>
+	 * If either {@code binCount} is less than {@code 2} or {@code maximumLeafSize} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param binCount the number of bins per axis
+	 * @param maximumLeafSize the maximum number of items in a leaf node, unless the items cannot be split
+	 * @param isParallel {@code true} if, and only if, subtrees should be built in parallel, {@code false} otherwise
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code binCount} is less than {@code 2} or {@code maximumLeafSize} is less than {@code 1}
+	 */
+	public BVHBuilder3F(final int binCount, final int maximumLeafSize, final boolean isParallel) {
+		this.binCount = ParameterArguments.requireRange(binCount, 2, Integer.MAX_VALUE, "binCount");
+		this.maximumLeafSize = ParameterArguments.requireRange(maximumLeafSize, 1, Integer.MAX_VALUE, "maximumLeafSize");
+		this.isParallel = isParallel;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Builds a bounding volume hierarchy (BVH) for the items with the bounding volumes in {@code boundingVolumes}.
+	 * <p>
+	 * Returns the root node, as created by {@code nodeFactory}.
+	 * <p>
+	 * The index of an item is the index of its bounding volume in {@code boundingVolumes}. These indices are passed to {@link NodeFactory#createLeafNode(Point3F, Point3F, int, int[])}.
+	 * <p>
+	 * If either {@code boundingVolumes}, at least one of its elements or {@code nodeFactory} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param <N> the node type
+	 * @param boundingVolumes a {@code List} with the {@link BoundingVolume3F} instances of the items
+	 * @param nodeFactory the {@link NodeFactory} instance used to create the nodes
+	 * @return the root node, as created by {@code nodeFactory}
+	 * @throws NullPointerException thrown if, and only if, either {@code boundingVolumes}, at least one of its elements or {@code nodeFactory} are {@code null}
+	 */
+	public <N> N build(final List<? extends BoundingVolume3F> boundingVolumes, final NodeFactory<N> nodeFactory) {
+		ParameterArguments.requireNonNullList(boundingVolumes, "boundingVolumes");
+		
+		Objects.requireNonNull(nodeFactory, "nodeFactory == null");
+		
+		final int size = boundingVolumes.size();
+		
+		final float[] bounds = new float[size * 6];
+		
+		for(int i = 0; i < size; i++) {
+			final BoundingVolume3F boundingVolume = boundingVolumes.get(i);
+			
+			final Point3F maximum = boundingVolume.getMaximum();
+			final Point3F minimum = boundingVolume.getMinimum();
+			
+			bounds[i * 6 + 0] = minimum.x;
+			bounds[i * 6 + 1] = minimum.y;
+			bounds[i * 6 + 2] = minimum.z;
+			bounds[i * 6 + 3] = maximum.x;
+			bounds[i * 6 + 4] = maximum.y;
+			bounds[i * 6 + 5] = maximum.z;
+		}
+		
+		return build(bounds, nodeFactory);
+	}
+	
+	/**
+	 * Builds a bounding volume hierarchy (BVH) for the items with the axis-aligned bounds in {@code bounds}.
+	 * <p>
+	 * Returns the root node, as created by {@code nodeFactory}.
+	 * <p>
+	 * The bounds of item {@code i} are stored in {@code bounds} at index {@code i * 6}, as the minimum and maximum X-, Y- and Z-coordinates. The index {@code i} is passed to {@link NodeFactory#createLeafNode(Point3F, Point3F, int, int[])}.
+	 * This method lets callers that store their items in primitive arrays build a BVH without creating a {@link BoundingVolume3F} instance per item.
+	 * <p>
+	 * If either {@code bounds} or {@code nodeFactory} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code bounds.length} is not a multiple of {@code 6}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param <N> the node type
+	 * @param bounds a {@code float[]} with the bounds of the items
+	 * @param nodeFactory the {@link NodeFactory} instance used to create the nodes
+	 * @return the root node, as created by {@code nodeFactory}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code bounds.length} is not a multiple of {@code 6}
+	 * @throws NullPointerException thrown if, and only if, either {@code bounds} or {@code nodeFactory} are {@code null}
+	 */
+	public <N> N build(final float[] bounds, final NodeFactory<N> nodeFactory) {
+		Objects.requireNonNull(bounds, "bounds == null");
+		Objects.requireNonNull(nodeFactory, "nodeFactory == null");
+		
+		ParameterArguments.requireExact(bounds.length % 6, 0, "bounds.length % 6");
+		
+		final int size = bounds.length / 6;
+		
+		final float[] midpoints = new float[size * 3];
+		
+		final int[] indices = new int[size];
+		
+		for(int i = 0; i < size; i++) {
+			midpoints[i * 3 + 0] = (bounds[i * 6 + 0] + bounds[i * 6 + 3]) * 0.5F;
+			midpoints[i * 3 + 1] = (bounds[i * 6 + 1] + bounds[i * 6 + 4]) * 0.5F;
+			midpoints[i * 3 + 2] = (bounds[i * 6 + 2] + bounds[i * 6 + 5]) * 0.5F;
+			
+			indices[i] = i;
+		}
+		
+		final BuildTask<N> buildTask = new BuildTask<>(this, nodeFactory, bounds, midpoints, indices, 0, size, 0);
+		
+		return this.isParallel && size >= PARALLEL_THRESHOLD ? ForkJoinPool.commonPool().invoke(buildTask) : buildTask.compute();
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code BVHBuilder3F} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code BVHBuilder3F} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format("new BVHBuilder3F(%d, %d, %s)", Integer.valueOf(this.binCount), Integer.valueOf(this.maximumLeafSize), Boolean.toString(this.isParallel));
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code BVHBuilder3F} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code BVHBuilder3F}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code BVHBuilder3F} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code BVHBuilder3F}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof BVHBuilder3F)) {
+			return false;
+		} else if(this.isParallel != BVHBuilder3F.class.cast(object).isParallel) {
+			return false;
+		} else if(this.binCount != BVHBuilder3F.class.cast(object).binCount) {
+			return false;
+		} else if(this.maximumLeafSize != BVHBuilder3F.class.cast(object).maximumLeafSize) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, this {@code BVHBuilder3F} instance builds subtrees in parallel, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, this {@code BVHBuilder3F} instance builds subtrees in parallel, {@code false} otherwise
+	 */
+	public boolean isParallel() {
+		return this.isParallel;
+	}
+	
+	/**
+	 * Returns the number of bins per axis.
+	 * 
+	 * @return the number of bins per axis
+	 */
+	public int getBinCount() {
+		return this.binCount;
+	}
+	
+	/**
+	 * Returns the maximum number of items in a leaf node, unless the items cannot be split.
+	 * 
+	 * @return the maximum number of items in a leaf node, unless the items cannot be split
+	 */
+	public int getMaximumLeafSize() {
+		return this.maximumLeafSize;
+	}
+	
+	/**
+	 * Returns a hash code for this {@code BVHBuilder3F} instance.
+	 * 
+	 * @return a hash code for this {@code BVHBuilder3F} instance
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(Boolean.valueOf(this.isParallel), Integer.valueOf(this.binCount), Integer.valueOf(this.maximumLeafSize));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * A {@code NodeFactory} creates the nodes of a bounding volume hierarchy (BVH) built by a {@link BVHBuilder3F}.
+	 * <p>
+	 * The methods of a {@code NodeFactory} may be called concurrently if the {@code BVHBuilder3F} is parallel.
+	 * 
+	 * @param <N> the node type
+	 * @since 1.0.0
+	 * @author J&#246;rgen Lundgren
+	 */
+	public interface NodeFactory<N> {
+		/**
+		 * Returns a new leaf node.
+		 * 
+		 * @param maximum a {@link Point3F} instance with the maximum coordinates of the bounds of the node
+		 * @param minimum a {@code Point3F} instance with the minimum coordinates of the bounds of the node
+		 * @param depth the depth of the node
+		 * @param indices an {@code int[]} with the indices of the items in the node
+		 * @return a new leaf node
+		 */
+		N createLeafNode(final Point3F maximum, final Point3F minimum, final int depth, final int[] indices);
+		
+		/**
+		 * Returns a new tree node.
+		 * 
+		 * @param maximum a {@link Point3F} instance with the maximum coordinates of the bounds of the node
+		 * @param minimum a {@code Point3F} instance with the minimum coordinates of the bounds of the node
+		 * @param depth the depth of the node
+		 * @param nodeL the node on the left-hand side
+		 * @param nodeR the node on the right-hand side
+		 * @return a new tree node
+		 */
+		N createTreeNode(final Point3F maximum, final Point3F minimum, final int depth, final N nodeL, final N nodeR);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static float doGetHalfSurfaceArea(final float minimumX, final float minimumY, final float minimumZ, final float maximumX, final float maximumY, final float maximumZ) {
+		final float sideX = maximumX - minimumX;
+		final float sideY = maximumY - minimumY;
+		final float sideZ = maximumZ - minimumZ;
+		
+		return sideX * sideY + sideY * sideZ + sideZ * sideX;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class BuildTask<N> extends RecursiveTask<N> {
+		private static final long serialVersionUID = 1L;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private final BVHBuilder3F bVHBuilder;
+		private final NodeFactory<N> nodeFactory;
+		private final float[] bounds;
+		private final float[] midpoints;
+		private final int[] indices;
+		private final int depth;
+		private final int indexEnd;
+		private final int indexStart;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public BuildTask(final BVHBuilder3F bVHBuilder, final NodeFactory<N> nodeFactory, final float[] bounds, final float[] midpoints, final int[] indices, final int indexStart, final int indexEnd, final int depth) {
+			this.bVHBuilder = bVHBuilder;
+			this.nodeFactory = nodeFactory;
+			this.bounds = bounds;
+			this.midpoints = midpoints;
+			this.indices = indices;
+			this.indexStart = indexStart;
+			this.indexEnd = indexEnd;
+			this.depth = depth;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		@Override
+		public N compute() {
+			final float[] bounds = this.bounds;
+			final float[] midpoints = this.midpoints;
+			
+			final int[] indices = this.indices;
+			
+			final int indexStart = this.indexStart;
+			final int indexEnd = this.indexEnd;
+			final int size = indexEnd - indexStart;
+			
+			if(size == 0) {
+				return this.nodeFactory.createLeafNode(new Point3F(), new Point3F(), this.depth, new int[0]);
+			}
+			
+			final float[] nodeBounds = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+			final float[] midpointBounds = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+			
+			for(int i = indexStart; i < indexEnd; i++) {
+				final int index = indices[i];
+				
+				for(int axis = 0; axis < 3; axis++) {
+					nodeBounds[axis + 0] = Math.min(nodeBounds[axis + 0], bounds[index * 6 + axis + 0]);
+					nodeBounds[axis + 3] = Math.max(nodeBounds[axis + 3], bounds[index * 6 + axis + 3]);
+					
+					midpointBounds[axis + 0] = Math.min(midpointBounds[axis + 0], midpoints[index * 3 + axis]);
+					midpointBounds[axis + 3] = Math.max(midpointBounds[axis + 3], midpoints[index * 3 + axis]);
+				}
+			}
+			
+			final Point3F maximum = new Point3F(nodeBounds[3], nodeBounds[4], nodeBounds[5]);
+			final Point3F minimum = new Point3F(nodeBounds[0], nodeBounds[1], nodeBounds[2]);
+			
+			if(size == 1) {
+				return doCreateLeafNode(maximum, minimum);
+			}
+			
+			final int binCount = this.bVHBuilder.binCount;
+			
+			final float nodeArea = doGetHalfSurfaceArea(nodeBounds[0], nodeBounds[1], nodeBounds[2], nodeBounds[3], nodeBounds[4], nodeBounds[5]);
+			
+			final float[] binBounds = new float[binCount * 6];
+			final float[] costs = new float[binCount - 1];
+			
+			final int[] binCounts = new int[binCount];
+			
+			float bestCost = Float.MAX_VALUE;
+			
+			int bestAxis = -1;
+			int bestBin = -1;
+			
+			for(int axis = 0; axis < 3; axis++) {
+				final float midpointMinimum = midpointBounds[axis + 0];
+				final float midpointMaximum = midpointBounds[axis + 3];
+				
+				if(!(midpointMaximum > midpointMinimum)) {
+					continue;
+				}
+				
+				final float binScale = binCount / (midpointMaximum - midpointMinimum);
+				
+				Arrays.fill(binCounts, 0);
+				
+				for(int bin = 0; bin < binCount; bin++) {
+					doResetBounds(binBounds, bin * 6);
+				}
+				
+				for(int i = indexStart; i < indexEnd; i++) {
+					final int index = indices[i];
+					final int bin = doGetBin(midpoints[index * 3 + axis], midpointMinimum, binScale, binCount);
+					
+					binCounts[bin]++;
+					
+					doIncludeBounds(binBounds, bin * 6, bounds, index * 6);
+				}
+				
+//				The costs are computed from a sweep from the left, followed by a sweep from the right:
+				final float[] sweepBounds = new float[6];
+				
+				doResetBounds(sweepBounds, 0);
+				
+				for(int bin = 0, countL = 0; bin < binCount - 1; bin++) {
+					countL += binCounts[bin];
+					
+					doIncludeBounds(sweepBounds, 0, binBounds, bin * 6);
+					
+					costs[bin] = countL == 0 ? Float.MAX_VALUE : countL * doGetHalfSurfaceArea(sweepBounds[0], sweepBounds[1], sweepBounds[2], sweepBounds[3], sweepBounds[4], sweepBounds[5]);
+				}
+				
+				doResetBounds(sweepBounds, 0);
+				
+				for(int bin = binCount - 1, countR = 0; bin > 0; bin--) {
+					countR += binCounts[bin];
+					
+					doIncludeBounds(sweepBounds, 0, binBounds, bin * 6);
+					
+					final float cost = countR == 0 || costs[bin - 1] == Float.MAX_VALUE ? Float.MAX_VALUE : COST_TRAVERSAL + COST_INTERSECTION * (costs[bin - 1] + countR * doGetHalfSurfaceArea(sweepBounds[0], sweepBounds[1], sweepBounds[2], sweepBounds[3], sweepBounds[4], sweepBounds[5])) / nodeArea;
+					
+					if(cost < bestCost) {
+						bestCost = cost;
+						bestAxis = axis;
+						bestBin = bin - 1;
+					}
+				}
+			}
+			
+			final float leafCost = COST_INTERSECTION * size;
+			
+			if(size <= this.bVHBuilder.maximumLeafSize && (bestAxis == -1 || leafCost <= bestCost)) {
+				return doCreateLeafNode(maximum, minimum);
+			}
+			
+			int indexMiddle = indexStart + size / 2;
+			
+			if(bestAxis != -1) {
+				final float midpointMinimum = midpointBounds[bestAxis + 0];
+				final float midpointMaximum = midpointBounds[bestAxis + 3];
+				
+				final float binScale = binCount / (midpointMaximum - midpointMinimum);
+				
+				int indexL = indexStart;
+				int indexR = indexEnd - 1;
+				
+				while(indexL <= indexR) {
+					if(doGetBin(midpoints[indices[indexL] * 3 + bestAxis], midpointMinimum, binScale, binCount) <= bestBin) {
+						indexL++;
+					} else {
+						final int index = indices[indexL];
+						
+						indices[indexL] = indices[indexR];
+						indices[indexR--] = index;
+					}
+				}
+				
+				indexMiddle = indexL;
+			}
+			
+			final BuildTask<N> buildTaskL = new BuildTask<>(this.bVHBuilder, this.nodeFactory, bounds, midpoints, indices, indexStart, indexMiddle, this.depth + 1);
+			final BuildTask<N> buildTaskR = new BuildTask<>(this.bVHBuilder, this.nodeFactory, bounds, midpoints, indices, indexMiddle, indexEnd, this.depth + 1);
+			
+			if(this.bVHBuilder.isParallel && size >= PARALLEL_THRESHOLD) {
+				buildTaskL.fork();
+				
+				final N nodeR = buildTaskR.compute();
+				final N nodeL = buildTaskL.join();
+				
+				return this.nodeFactory.createTreeNode(maximum, minimum, this.depth, nodeL, nodeR);
+			}
+			
+			final N nodeL = buildTaskL.compute();
+			final N nodeR = buildTaskR.compute();
+			
+			return this.nodeFactory.createTreeNode(maximum, minimum, this.depth, nodeL, nodeR);
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private N doCreateLeafNode(final Point3F maximum, final Point3F minimum) {
+			return this.nodeFactory.createLeafNode(maximum, minimum, this.depth, Arrays.copyOfRange(this.indices, this.indexStart, this.indexEnd));
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private static int doGetBin(final float midpoint, final float midpointMinimum, final float binScale, final int binCount) {
+			return Math.min((int)((midpoint - midpointMinimum) * binScale), binCount - 1);
+		}
+		
+		private static void doIncludeBounds(final float[] boundsA, final int offsetA, final float[] boundsB, final int offsetB) {
+			boundsA[offsetA + 0] = Math.min(boundsA[offsetA + 0], boundsB[offsetB + 0]);
+			boundsA[offsetA + 1] = Math.min(boundsA[offsetA + 1], boundsB[offsetB + 1]);
+			boundsA[offsetA + 2] = Math.min(boundsA[offsetA + 2], boundsB[offsetB + 2]);
+			boundsA[offsetA + 3] = Math.max(boundsA[offsetA + 3], boundsB[offsetB + 3]);
+			boundsA[offsetA + 4] = Math.max(boundsA[offsetA + 4], boundsB[offsetB + 4]);
+			boundsA[offsetA + 5] = Math.max(boundsA[offsetA + 5], boundsB[offsetB + 5]);
+		}
+		
+		private static void doResetBounds(final float[] bounds, final int offset) {
+			bounds[offset + 0] = Float.MAX_VALUE;
+			bounds[offset + 1] = Float.MAX_VALUE;
+			bounds[offset + 2] = Float.MAX_VALUE;
+			bounds[offset + 3] = -Float.MAX_VALUE;
+			bounds[offset + 4] = -Float.MAX_VALUE;
+			bounds[offset + 5] = -Float.MAX_VALUE;
+		}
+	}
+}
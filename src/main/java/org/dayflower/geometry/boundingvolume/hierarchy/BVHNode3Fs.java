@@ -235,4 +235,44 @@ public final class BVHNode3Fs {
 		
 		return new TreeBVHNode3F(maximum, minimum, depth, bVHNodeL, bVHNodeR);
 	}
+	
+	/**
+	 * Creates a bounding volume hierarchy (BVH) structure using {@code bVHBuilder}.
+	 * <p>
+	 * Returns a {@link BVHNode3F} instance that represents the root of the bounding volume hierarchy (BVH) structure.
+	 * <p>
+	 * If either {@code processableBVHItems}, at least one of its elements or {@code bVHBuilder} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param <T> the generic {@link Shape3F} type to use
+	 * @param processableBVHItems a {@code List} of {@link BVHItem3F} instances to process
+	 * @param bVHBuilder the {@link BVHBuilder3F} instance to use
+	 * @return a {@code BVHNode3F} instance that represents the root of the bounding volume hierarchy (BVH) structure
+	 * @throws NullPointerException thrown if, and only if, either {@code processableBVHItems}, at least one of its elements or {@code bVHBuilder} are {@code null}
+	 */
+//	TODO: Add Unit Tests!
+	public static <T extends Shape3F> BVHNode3F create(final List<BVHItem3F<T>> processableBVHItems, final BVHBuilder3F bVHBuilder) {
+		final List<BoundingVolume3F> boundingVolumes = new ArrayList<>(processableBVHItems.size());
+		
+		for(final BVHItem3F<T> processableBVHItem : processableBVHItems) {
+			boundingVolumes.add(processableBVHItem.getBoundingVolume());
+		}
+		
+		return bVHBuilder.build(boundingVolumes, new BVHBuilder3F.NodeFactory<BVHNode3F>() {
+			@Override
+			public BVHNode3F createLeafNode(final Point3F maximum, final Point3F minimum, final int depth, final int[] indices) {
+				final List<T> shapes = new ArrayList<>(indices.length);
+				
+				for(final int index : indices) {
+					shapes.add(processableBVHItems.get(index).getShape());
+				}
+				
+				return new LeafBVHNode3F<>(maximum, minimum, depth, shapes);
+			}
+			
+			@Override
+			public BVHNode3F createTreeNode(final Point3F maximum, final Point3F minimum, final int depth, final BVHNode3F bVHNodeL, final BVHNode3F bVHNodeR) {
+				return new TreeBVHNode3F(maximum, minimum, depth, bVHNodeL, bVHNodeR);
+			}
+		});
+	}
 }
\ No newline at end of file
@@ -77,6 +77,26 @@ public final class TreeBVHNode3F extends BVHNode3F {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Returns the {@link BVHNode3F} instance on the left-hand side.
+	 * 
+	 * @return the {@code BVHNode3F} instance on the left-hand side
+	 */
+//	TODO: Add Unit Tests!
+	public BVHNode3F getBVHNodeL() {
+		return this.bVHNodeL;
+	}
+	
+	/**
+	 * Returns the {@link BVHNode3F} instance on the right-hand side.
+	 * 
+	 * @return the {@code BVHNode3F} instance on the right-hand side
+	 */
+//	TODO: Add Unit Tests!
+	public BVHNode3F getBVHNodeR() {
+		return this.bVHNodeR;
+	}
+	
 	/**
 	 * Accepts a {@link NodeHierarchicalVisitor}.
 	 * <p>
@@ -118,7 +118,7 @@ public final class CompoundShape3F implements Shape3F {
 		final SurfaceIntersector3F surfaceIntersector = new SurfaceIntersector3F(ray, tMinimum, tMaximum);
 		
 		for(final Shape3F shape : this.shapes) {
-			surfaceIntersector.intersection(shape);
+			shape.intersection(surfaceIntersector);
 		}
 		
 		return surfaceIntersector.computeSurfaceIntersection();
@@ -232,6 +232,35 @@ public final class CompoundShape3F implements Shape3F {
 		}
 	}
 	
+	/**
+	 * Performs an intersection test between {@code surfaceIntersector} and this {@code CompoundShape3F} instance.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code surfaceIntersector} intersects this {@code CompoundShape3F} instance, {@code false} otherwise.
+	 * <p>
+	 * If {@code surfaceIntersector} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * The {@link Shape3F} instance that is intersected, and not this {@code CompoundShape3F} instance, is recorded by {@code surfaceIntersector}.
+	 * 
+	 * @param surfaceIntersector a {@link SurfaceIntersector3F} instance
+	 * @return {@code true} if, and only if, {@code surfaceIntersector} intersects this {@code CompoundShape3F} instance, {@code false} otherwise
+	 * @throws NullPointerException thrown if, and only if, {@code surfaceIntersector} is {@code null}
+	 */
+//	TODO: Add Unit Tests!
+	@Override
+	public boolean intersection(final SurfaceIntersector3F surfaceIntersector) {
+		Objects.requireNonNull(surfaceIntersector, "surfaceIntersector == null");
+		
+		boolean isIntersecting = false;
+		
+		for(final Shape3F shape : this.shapes) {
+			if(shape.intersection(surfaceIntersector)) {
+				isIntersecting = true;
+			}
+		}
+		
+		return isIntersecting;
+	}
+	
 	/**
 	 * Returns the surface area of this {@code CompoundShape3F} instance.
 	 * 
@@ -252,6 +252,34 @@ public final class Hyperboloid3F implements Shape3F {
 		return Optional.of(doCreateSurfaceIntersection(ray, t));
 	}
 	
+	/**
+	 * Computes the {@link SurfaceIntersection3F} between {@code ray} and this {@code Hyperboloid3F} instance at the parametric distance {@code t}.
+	 * <p>
+	 * Returns an {@code Optional} with an optional {@code SurfaceIntersection3F} instance that contains information about the intersection, if it was found.
+	 * <p>
+	 * If {@code ray} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * This method does not perform the intersection test again. The {@code SurfaceIntersection3F} is created directly from {@code t}.
+	 * 
+	 * @param ray the {@link Ray3F} that intersects this {@code Hyperboloid3F} instance
+	 * @param tMinimum the minimum parametric distance
+	 * @param tMaximum the maximum parametric distance
+	 * @param t the parametric distance to the surface intersection point, or {@code Float.NaN} if no intersection exists
+	 * @return an {@code Optional} with an optional {@code SurfaceIntersection3F} instance that contains information about the intersection, if it was found
+	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
+	 */
+//	TODO: Add Unit Tests!
+	@Override
+	public Optional<SurfaceIntersection3F> computeSurfaceIntersection(final Ray3F ray, final float tMinimum, final float tMaximum, final float t) {
+		Objects.requireNonNull(ray, "ray == null");
+		
+		if(Floats.isNaN(t)) {
+			return SurfaceIntersection3F.EMPTY;
+		}
+		
+		return Optional.of(doCreateSurfaceIntersection(ray, t));
+	}
+	
 	/**
 	 * Returns the {@link Point3F} instance denoted by {@code A}.
 	 * 
@@ -241,137 +241,41 @@ public final class Sphere3F implements Shape3F {
 //	TODO: Add Unit Tests!
 	@Override
 	public Optional<SurfaceIntersection3F> intersection(final Ray3F ray, final float tMinimum, final float tMaximum) {
-		final EFloat ox = new EFloat(ray.getOrigin().x);
-		final EFloat oy = new EFloat(ray.getOrigin().y);
-		final EFloat oz = new EFloat(ray.getOrigin().z);
-		final EFloat dx = new EFloat(ray.getDirection().x);
-		final EFloat dy = new EFloat(ray.getDirection().y);
-		final EFloat dz = new EFloat(ray.getDirection().z);
-		
-		final EFloat a = EFloat.add(EFloat.add(EFloat.multiply(dx, dx), EFloat.multiply(dy, dy)), EFloat.multiply(dz, dz));
-		final EFloat b = EFloat.multiply(new EFloat(2.0F), EFloat.add(EFloat.add(EFloat.multiply(dx, ox), EFloat.multiply(dy, oy)), EFloat.multiply(dz, oz)));
-		final EFloat c = EFloat.subtract(EFloat.add(EFloat.add(EFloat.multiply(ox, ox), EFloat.multiply(oy, oy)), EFloat.multiply(oz, oz)), EFloat.multiply(new EFloat(this.radius), new EFloat(this.radius)));
-		
-		final EFloat[] t0 = new EFloat[1];
-		final EFloat[] t1 = new EFloat[1];
+		final float t = intersectionT(ray, tMinimum, tMaximum);
 		
-		if(!EFloat.quadratic(a, b, c, t0, t1)) {
-			return Optional.empty();
-		}
-		
-		if(t0[0].getUpperBound() > tMaximum || t1[0].getLowerBound() <= tMinimum) {
-			return Optional.empty();
-		}
-		
-		EFloat tShapeHit = t0[0];
-		
-		if(tShapeHit.getLowerBound() <= 0.0F) {
-			tShapeHit = t1[0];
-			
-			if(tShapeHit.getUpperBound() > tMaximum) {
-				return Optional.empty();
-			}
+		if(Floats.isNaN(t)) {
+			return SurfaceIntersection3F.EMPTY;
 		}
 		
-		Point3F pHit = ray.getPointAt(tShapeHit.getValue());
-		
-		float s = this.radius / Point3F.distance(pHit, new Point3F());
-		
-		pHit = new Point3F(pHit.x * s, pHit.y * s, pHit.z * s);
-		
-		if(pHit.x == 0.0F && pHit.y == 0.0F) {
-			pHit = new Point3F(1.0e-5F * this.radius, pHit.y, pHit.z);
-		}
-		
-		float phi = Floats.atan2(pHit.y, pHit.x);
-		
-		if(phi < 0.0F) {
-			phi += 2.0F * Floats.PI;
-		}
+		return Optional.of(doCreateSurfaceIntersection(ray, t));
+	}
+	
+	/**
+	 * Computes the {@link SurfaceIntersection3F} between {@code ray} and this {@code Sphere3F} instance at the parametric distance {@code t}.
+	 * <p>
+	 * Returns an {@code Optional} with an optional {@code SurfaceIntersection3F} instance that contains information about the intersection, if it was found.
+	 * <p>
+	 * If {@code ray} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * This method does not perform the intersection test again. The {@code SurfaceIntersection3F} is created directly from {@code t}.
+	 * 
+	 * @param ray the {@link Ray3F} that intersects this {@code Sphere3F} instance
+	 * @param tMinimum the minimum parametric distance
+	 * @param tMaximum the maximum parametric distance
+	 * @param t the parametric distance to the surface intersection point, or {@code Float.NaN} if no intersection exists
+	 * @return an {@code Optional} with an optional {@code SurfaceIntersection3F} instance that contains information about the intersection, if it was found
+	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
+	 */
+//	TODO: Add Unit Tests!
+	@Override
+	public Optional<SurfaceIntersection3F> computeSurfaceIntersection(final Ray3F ray, final float tMinimum, final float tMaximum, final float t) {
+		Objects.requireNonNull(ray, "ray == null");
 		
-		if((this.zMin > -this.radius && pHit.z < this.zMin) || (this.zMax < this.radius && pHit.z > this.zMax) || phi > this.phiMax) {
-			if(tShapeHit == t1[0]) {
-				return Optional.empty();
-			}
-			
-			if(t1[0].getUpperBound() > tMaximum) {
-				return Optional.empty();
-			}
-			
-			tShapeHit = t1[0];
-			
-			pHit = ray.getPointAt(tShapeHit.getValue());
-			
-			s = this.radius / Point3F.distance(pHit, new Point3F());
-			
-			pHit = new Point3F(pHit.x * s, pHit.y * s, pHit.z * s);
-			
-			if(pHit.x == 0.0F && pHit.y == 0.0F) {
-				pHit = new Point3F(1.0e-5F * this.radius, pHit.y, pHit.z);
-			}
-			
-			phi = Floats.atan2(pHit.y, pHit.x);
-			
-			if(phi < 0.0F) {
-				phi += 2.0F * Floats.PI;
-			}
-			
-			if((this.zMin > -this.radius && pHit.z < this.zMin) || (this.zMax < this.radius && pHit.z > this.zMax) || phi > this.phiMax) {
-				return Optional.empty();
-			}
+		if(Floats.isNaN(t)) {
+			return SurfaceIntersection3F.EMPTY;
 		}
 		
-		final float u = phi / this.phiMax;
-		final float theta = Floats.acos(Floats.saturate(pHit.z / this.radius, -1.0F, 1.0F));
-		final float v = (theta - this.thetaMin) / (this.thetaMax - this.thetaMin);
-		
-		final float zRadius = Floats.sqrt(pHit.x * pHit.x + pHit.y * pHit.y);
-		final float zRadiusInv = 1.0F / zRadius;
-		final float cosPhi = pHit.x * zRadiusInv;
-		final float sinPhi = pHit.y * zRadiusInv;
-		
-		final Vector3F dpdu = new Vector3F(-this.phiMax * pHit.y, this.phiMax * pHit.x, 0.0F);
-		final Vector3F dpdv = Vector3F.multiply(new Vector3F(pHit.z * cosPhi, pHit.z * sinPhi, -this.radius * Floats.sin(theta)), this.thetaMax - this.thetaMin);
-		
-//		final Vector3F d2Pduu = Vector3F.multiply(new Vector3F(pHit.x, pHit.y, 0.0F), -this.phiMax * this.phiMax);
-//		final Vector3F d2Pduv = Vector3F.multiply(new Vector3F(-sinPhi, cosPhi, 0.0F), (this.thetaMax - this.thetaMin) * pHit.z * this.phiMax);
-//		final Vector3F d2Pdvv = Vector3F.multiply(new Vector3F(pHit.x, pHit.y, pHit.z), -(this.thetaMax - this.thetaMin) * (this.thetaMax - this.thetaMin));
-		
-//		final float e = Vector3F.dotProduct(dpdu, dpdu);
-//		final float f = Vector3F.dotProduct(dpdu, dpdv);
-//		final float g = Vector3F.dotProduct(dpdv, dpdv);
-		
-		final Vector3F n = Vector3F.normalize(Vector3F.crossProduct(dpdu, dpdv));
-		
-//		final float h = Vector3F.dotProduct(n, d2Pduu);
-//		final float i = Vector3F.dotProduct(n, d2Pduv);
-//		final float j = Vector3F.dotProduct(n, d2Pdvv);
-		
-//		final float invEGFF = 1.0F / (e * g - f * f);
-		
-//		final float k = i * f - h * g;
-//		final float l = h * f - i * e;
-//		final float m = j * f - i * g;
-//		final float o = i * f - j * e;
-		
-//		final float dnduX = k * invEGFF * dpdu.x + l * invEGFF * dpdv.x;
-//		final float dnduY = k * invEGFF * dpdu.y + l * invEGFF * dpdv.y;
-//		final float dnduZ = k * invEGFF * dpdu.z + l * invEGFF * dpdv.z;
-		
-//		final float dndvX = m * invEGFF * dpdu.x + o * invEGFF * dpdv.x;
-//		final float dndvY = m * invEGFF * dpdu.y + o * invEGFF * dpdv.y;
-//		final float dndvZ = m * invEGFF * dpdu.z + o * invEGFF * dpdv.z;
-		
-//		final Vector3F pError = Vector3F.multiply(Vector3F.absolute(new Vector3F(pHit)), Floats.gamma(5));
-		
-		final Point3F surfaceIntersectionPoint = pHit;
-		
-		final OrthonormalBasis33F orthonormalBasisG = new OrthonormalBasis33F(n, dpdv, dpdu);
-		final OrthonormalBasis33F orthonormalBasisS = orthonormalBasisG;
-		
-		final Point2F textureCoordinates = new Point2F(u, v);
-		
-		return Optional.of(new SurfaceIntersection3F(orthonormalBasisG, orthonormalBasisS, textureCoordinates, surfaceIntersectionPoint, ray, this, tShapeHit.getValue()));
+		return Optional.of(doCreateSurfaceIntersection(ray, t));
 	}
 	
 	/**
@@ -634,4 +538,76 @@ public final class Sphere3F implements Shape3F {
 			throw new UncheckedIOException(e);
 		}
 	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private SurfaceIntersection3F doCreateSurfaceIntersection(final Ray3F ray, final float t) {
+		Point3F pHit = ray.getPointAt(t);
+		
+		final float s = this.radius / Point3F.distance(pHit, new Point3F());
+		
+		pHit = new Point3F(pHit.x * s, pHit.y * s, pHit.z * s);
+		
+		if(pHit.x == 0.0F && pHit.y == 0.0F) {
+			pHit = new Point3F(1.0e-5F * this.radius, pHit.y, pHit.z);
+		}
+		
+		float phi = Floats.atan2(pHit.y, pHit.x);
+		
+		if(phi < 0.0F) {
+			phi += 2.0F * Floats.PI;
+		}
+		
+		final float u = phi / this.phiMax;
+		final float theta = Floats.acos(Floats.saturate(pHit.z / this.radius, -1.0F, 1.0F));
+		final float v = (theta - this.thetaMin) / (this.thetaMax - this.thetaMin);
+		
+		final float zRadius = Floats.sqrt(pHit.x * pHit.x + pHit.y * pHit.y);
+		final float zRadiusInv = 1.0F / zRadius;
+		final float cosPhi = pHit.x * zRadiusInv;
+		final float sinPhi = pHit.y * zRadiusInv;
+		
+		final Vector3F dpdu = new Vector3F(-this.phiMax * pHit.y, this.phiMax * pHit.x, 0.0F);
+		final Vector3F dpdv = Vector3F.multiply(new Vector3F(pHit.z * cosPhi, pHit.z * sinPhi, -this.radius * Floats.sin(theta)), this.thetaMax - this.thetaMin);
+		
+//		final Vector3F d2Pduu = Vector3F.multiply(new Vector3F(pHit.x, pHit.y, 0.0F), -this.phiMax * this.phiMax);
+//		final Vector3F d2Pduv = Vector3F.multiply(new Vector3F(-sinPhi, cosPhi, 0.0F), (this.thetaMax - this.thetaMin) * pHit.z * this.phiMax);
+//		final Vector3F d2Pdvv = Vector3F.multiply(new Vector3F(pHit.x, pHit.y, pHit.z), -(this.thetaMax - this.thetaMin) * (this.thetaMax - this.thetaMin));
+		
+//		final float e = Vector3F.dotProduct(dpdu, dpdu);
+//		final float f = Vector3F.dotProduct(dpdu, dpdv);
+//		final float g = Vector3F.dotProduct(dpdv, dpdv);
+		
+		final Vector3F n = Vector3F.normalize(Vector3F.crossProduct(dpdu, dpdv));
+		
+//		final float h = Vector3F.dotProduct(n, d2Pduu);
+//		final float i = Vector3F.dotProduct(n, d2Pduv);
+//		final float j = Vector3F.dotProduct(n, d2Pdvv);
+		
+//		final float invEGFF = 1.0F / (e * g - f * f);
+		
+//		final float k = i * f - h * g;
+//		final float l = h * f - i * e;
+//		final float m = j * f - i * g;
+//		final float o = i * f - j * e;
+		
+//		final float dnduX = k * invEGFF * dpdu.x + l * invEGFF * dpdv.x;
+//		final float dnduY = k * invEGFF * dpdu.y + l * invEGFF * dpdv.y;
+//		final float dnduZ = k * invEGFF * dpdu.z + l * invEGFF * dpdv.z;
+		
+//		final float dndvX = m * invEGFF * dpdu.x + o * invEGFF * dpdv.x;
+//		final float dndvY = m * invEGFF * dpdu.y + o * invEGFF * dpdv.y;
+//		final float dndvZ = m * invEGFF * dpdu.z + o * invEGFF * dpdv.z;
+		
+//		final Vector3F pError = Vector3F.multiply(Vector3F.absolute(new Vector3F(pHit)), Floats.gamma(5));
+		
+		final Point3F surfaceIntersectionPoint = pHit;
+		
+		final OrthonormalBasis33F orthonormalBasisG = new OrthonormalBasis33F(n, dpdv, dpdu);
+		final OrthonormalBasis33F orthonormalBasisS = orthonormalBasisG;
+		
+		final Point2F textureCoordinates = new Point2F(u, v);
+		
+		return new SurfaceIntersection3F(orthonormalBasisG, orthonormalBasisS, textureCoordinates, surfaceIntersectionPoint, ray, this, t);
+	}
 }
\ No newline at end of file
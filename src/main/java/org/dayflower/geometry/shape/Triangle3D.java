@@ -22,8 +22,6 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Field;//TODO: Add Unit Tests!
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -41,6 +39,7 @@ import org.dayflower.geometry.SurfaceSample3D;
 import org.dayflower.geometry.Vector2D;
 import org.dayflower.geometry.Vector3D;
 import org.dayflower.geometry.boundingvolume.AxisAlignedBoundingBox3D;
+import org.dayflower.utility.InterningCache;
 
 import org.macroing.java.lang.Doubles;
 import org.macroing.java.util.visitor.Node;
@@ -652,7 +651,7 @@ public final class Triangle3D implements Shape3D {
 	 * @author J&#246;rgen Lundgren
 	 */
 	public static final class Vertex3D implements Node {
-		private static final Map<Vertex3D, Vertex3D> CACHE = new HashMap<>();
+		private static final InterningCache<Vertex3D> CACHE = new InterningCache<>("Triangle3D.Vertex3D");
 		
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
@@ -869,7 +868,7 @@ public final class Triangle3D implements Shape3D {
 		 */
 //		TODO: Add Unit Tests!
 		public static Vertex3D getCached(final Vertex3D vertex) {
-			return CACHE.computeIfAbsent(Objects.requireNonNull(vertex, "vertex == null"), key -> vertex);
+			return CACHE.intern(Objects.requireNonNull(vertex, "vertex == null"));
 		}
 		
 		/**
@@ -22,8 +22,6 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Field;//TODO: Add Unit Tests!
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -41,6 +39,7 @@ import org.dayflower.geometry.SurfaceSample3F;
 import org.dayflower.geometry.Vector2F;
 import org.dayflower.geometry.Vector3F;
 import org.dayflower.geometry.boundingvolume.AxisAlignedBoundingBox3F;
+import org.dayflower.utility.InterningCache;
 
 import org.macroing.java.lang.Floats;
 import org.macroing.java.util.visitor.Node;
@@ -222,6 +221,34 @@ public final class Triangle3F implements Shape3F {
 		return Optional.of(doCreateSurfaceIntersection(ray, t));
 	}
 	
+	/**
+	 * Computes the {@link SurfaceIntersection3F} between {@code ray} and this {@code Triangle3F} instance at the parametric distance {@code t}.
+	 * <p>
+	 * Returns an {@code Optional} with an optional {@code SurfaceIntersection3F} instance that contains information about the intersection, if it was found.
+	 * <p>
+	 * If {@code ray} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * This method does not perform the intersection test again. The {@code SurfaceIntersection3F} is created directly from {@code t}.
+	 * 
+	 * @param ray the {@link Ray3F} that intersects this {@code Triangle3F} instance
+	 * @param tMinimum the minimum parametric distance
+	 * @param tMaximum the maximum parametric distance
+	 * @param t the parametric distance to the surface intersection point, or {@code Float.NaN} if no intersection exists
+	 * @return an {@code Optional} with an optional {@code SurfaceIntersection3F} instance that contains information about the intersection, if it was found
+	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
+	 */
+//	TODO: Add Unit Tests!
+	@Override
+	public Optional<SurfaceIntersection3F> computeSurfaceIntersection(final Ray3F ray, final float tMinimum, final float tMaximum, final float t) {
+		Objects.requireNonNull(ray, "ray == null");
+		
+		if(Floats.isNaN(t)) {
+			return SurfaceIntersection3F.EMPTY;
+		}
+		
+		return Optional.of(doCreateSurfaceIntersection(ray, t));
+	}
+	
 	/**
 	 * Returns a {@code String} with the name of this {@code Triangle3F} instance.
 	 * 
@@ -759,7 +786,7 @@ public final class Triangle3F implements Shape3F {
 	 * @author J&#246;rgen Lundgren
 	 */
 	public static final class Vertex3F implements Node {
-		private static final Map<Vertex3F, Vertex3F> CACHE = new HashMap<>();
+		private static final InterningCache<Vertex3F> CACHE = new InterningCache<>("Triangle3F.Vertex3F");
 		
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
@@ -976,7 +1003,7 @@ public final class Triangle3F implements Shape3F {
 		 */
 //		TODO: Add Unit Tests!
 		public static Vertex3F getCached(final Vertex3F vertex) {
-			return CACHE.computeIfAbsent(Objects.requireNonNull(vertex, "vertex == null"), key -> vertex);
+			return CACHE.intern(Objects.requireNonNull(vertex, "vertex == null"));
 		}
 		
 		/**
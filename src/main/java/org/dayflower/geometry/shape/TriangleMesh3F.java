@@ -18,18 +18,23 @@
  */
 package org.dayflower.geometry.shape;
 
-import static org.dayflower.utility.Floats.minOrNaN;
 
-import java.io.BufferedReader;
 import java.io.DataOutput;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.StringReader;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Field;//TODO: Add Unit Tests!
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,20 +53,24 @@ import org.dayflower.geometry.SurfaceIntersection3F;
 import org.dayflower.geometry.SurfaceIntersector3F;
 import org.dayflower.geometry.Vector3F;
 import org.dayflower.geometry.boundingvolume.AxisAlignedBoundingBox3F;
-import org.dayflower.geometry.boundingvolume.hierarchy.BVHItem3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHBuilder3F;
 import org.dayflower.geometry.boundingvolume.hierarchy.BVHNode3F;
-import org.dayflower.geometry.boundingvolume.hierarchy.BVHNode3Fs;
+import org.dayflower.geometry.boundingvolume.hierarchy.LeafBVHNode3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.TreeBVHNode3F;
 import org.dayflower.geometry.shape.Triangle3F.Vertex3F;
 import org.dayflower.utility.ParameterArguments;
 
 import org.macroing.java.lang.Floats;
-import org.macroing.java.util.visitor.NodeFilter;
 import org.macroing.java.util.visitor.NodeHierarchicalVisitor;
 import org.macroing.java.util.visitor.NodeTraversalException;
 
 /**
  * A {@code TriangleMesh3F} is an implementation of {@link Shape3F} that represents a triangle mesh.
  * <p>
+ * The mesh is stored in shared primitive arrays. The position and normal of vertex {@code i} are stored in {@code float[]} instances at index {@code i * 3} and its texture coordinates at index {@code i * 2}. The three vertex indices of triangle
+ * {@code j} are stored in an {@code int[]} at index {@code j * 3}. The bounding volume hierarchy (BVH) is built and traversed directly on these arrays. {@link Triangle3F} instances are only created on demand, such as when
+ * {@link #getTriangles()} is called or when an intersection has been found.
+ * <p>
  * This class is immutable and therefore thread-safe.
  * <p>
  * This {@code Shape3F} implementation is supported on the GPU.
@@ -84,14 +93,17 @@ public final class TriangleMesh3F implements Shape3F {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private final BVHNode3F bVHNode;
 	private final BoundingVolume3F boundingVolume;
-	private final List<Triangle3F> triangles;
 	private final String groupName;
 	private final String materialName;
 	private final String objectName;
+	private final TriangleBVH triangleBVH;
 	private final boolean isUsingAccelerationStructure;
+	private final float[] normals;
+	private final float[] positions;
+	private final float[] textureCoordinates;
 	private final float surfaceArea;
+	private final int[] indices;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -122,6 +134,8 @@ public final class TriangleMesh3F implements Shape3F {
 	 * Constructs a new {@code TriangleMesh3F} instance.
 	 * <p>
 	 * If either {@code triangles}, at least one of its elements, {@code groupName}, {@code materialName} or {@code objectName} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * The {@link Vertex3F} instances of {@code triangles} are copied into the shared arrays of this {@code TriangleMesh3F} instance. Equal {@code Vertex3F} instances are stored once. The W-component of their positions is not retained.
 	 * 
 	 * @param triangles a {@code List} of {@link Triangle3F} instances
 	 * @param groupName the group name of this {@code TriangleMesh3F} instance
@@ -132,14 +146,77 @@ public final class TriangleMesh3F implements Shape3F {
 	 */
 //	TODO: Add Unit Tests!
 	public TriangleMesh3F(final List<Triangle3F> triangles, final String groupName, final String materialName, final String objectName, final boolean isUsingAccelerationStructure) {
-		this.triangles = new ArrayList<>(ParameterArguments.requireNonNullList(triangles, "triangles"));
-		this.bVHNode = isUsingAccelerationStructure ? doCreateBVHNode(this.triangles) : null;
-		this.boundingVolume = isUsingAccelerationStructure ? this.bVHNode.getBoundingVolume() : doCreateBoundingVolume(this.triangles);
+		this(VertexArrays.create(ParameterArguments.requireNonNullList(triangles, "triangles")), groupName, materialName, objectName, isUsingAccelerationStructure);
+	}
+	
+	/**
+	 * Constructs a new {@code TriangleMesh3F} instance.
+	 * <p>
+	 * If either {@code positions}, {@code normals}, {@code textureCoordinates}, {@code indices}, {@code groupName}, {@code materialName} or {@code objectName} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the lengths of the arrays do not describe the same number of vertices, or {@code indices} contains an invalid vertex index, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new TriangleMesh3F(positions, normals, textureCoordinates, indices, groupName, materialName, objectName, true);
+	 * }
+	 * </pre>
+	 * 
+	 * @param positions a {@code float[]} with the X-, Y- and Z-coordinates of the position of each vertex
+	 * @param normals a {@code float[]} with the X-, Y- and Z-components of the normal of each vertex
+	 * @param textureCoordinates a {@code float[]} with the U- and V-coordinates of the texture coordinates of each vertex
+	 * @param indices an {@code int[]} with the indices of the three vertices of each triangle
+	 * @param groupName the group name of this {@code TriangleMesh3F} instance
+	 * @param materialName the material name of this {@code TriangleMesh3F} instance
+	 * @param objectName the object name of this {@code TriangleMesh3F} instance
+	 * @throws IllegalArgumentException thrown if, and only if, the lengths of the arrays do not describe the same number of vertices, or {@code indices} contains an invalid vertex index
+	 * @throws NullPointerException thrown if, and only if, either {@code positions}, {@code normals}, {@code textureCoordinates}, {@code indices}, {@code groupName}, {@code materialName} or {@code objectName} are {@code null}
+	 */
+	public TriangleMesh3F(final float[] positions, final float[] normals, final float[] textureCoordinates, final int[] indices, final String groupName, final String materialName, final String objectName) {
+		this(positions, normals, textureCoordinates, indices, groupName, materialName, objectName, true);
+	}
+	
+	/**
+	 * Constructs a new {@code TriangleMesh3F} instance.
+	 * <p>
+	 * If either {@code positions}, {@code normals}, {@code textureCoordinates}, {@code indices}, {@code groupName}, {@code materialName} or {@code objectName} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the lengths of the arrays do not describe the same number of vertices, or {@code indices} contains an invalid vertex index, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The arrays are copied.
+	 * 
+	 * @param positions a {@code float[]} with the X-, Y- and Z-coordinates of the position of each vertex
+	 * @param normals a {@code float[]} with the X-, Y- and Z-components of the normal of each vertex
+	 * @param textureCoordinates a {@code float[]} with the U- and V-coordinates of the texture coordinates of each vertex
+	 * @param indices an {@code int[]} with the indices of the three vertices of each triangle
+	 * @param groupName the group name of this {@code TriangleMesh3F} instance
+	 * @param materialName the material name of this {@code TriangleMesh3F} instance
+	 * @param objectName the object name of this {@code TriangleMesh3F} instance
+	 * @param isUsingAccelerationStructure {@code true} if, and only if, an acceleration structure should be used, {@code false} otherwise
+	 * @throws IllegalArgumentException thrown if, and only if, the lengths of the arrays do not describe the same number of vertices, or {@code indices} contains an invalid vertex index
+	 * @throws NullPointerException thrown if, and only if, either {@code positions}, {@code normals}, {@code textureCoordinates}, {@code indices}, {@code groupName}, {@code materialName} or {@code objectName} are {@code null}
+	 */
+	public TriangleMesh3F(final float[] positions, final float[] normals, final float[] textureCoordinates, final int[] indices, final String groupName, final String materialName, final String objectName, final boolean isUsingAccelerationStructure) {
+		this(VertexArrays.create(Objects.requireNonNull(positions, "positions == null").clone(), Objects.requireNonNull(normals, "normals == null").clone(), Objects.requireNonNull(textureCoordinates, "textureCoordinates == null").clone(), Objects.requireNonNull(indices, "indices == null").clone()), groupName, materialName, objectName, isUsingAccelerationStructure);
+	}
+	
+	private TriangleMesh3F(final VertexArrays vertexArrays, final String groupName, final String materialName, final String objectName, final boolean isUsingAccelerationStructure) {
+		this(vertexArrays, isUsingAccelerationStructure ? TriangleBVH.create(vertexArrays.getPositions(), vertexArrays.getIndices()) : null, groupName, materialName, objectName);
+	}
+	
+	private TriangleMesh3F(final VertexArrays vertexArrays, final TriangleBVH triangleBVH, final String groupName, final String materialName, final String objectName) {
+		this.positions = vertexArrays.getPositions();
+		this.normals = vertexArrays.getNormals();
+		this.textureCoordinates = vertexArrays.getTextureCoordinates();
+		this.indices = vertexArrays.getIndices();
 		this.groupName = Objects.requireNonNull(groupName, "groupName == null");
 		this.materialName = Objects.requireNonNull(materialName, "materialName == null");
 		this.objectName = Objects.requireNonNull(objectName, "objectName == null");
-		this.isUsingAccelerationStructure = isUsingAccelerationStructure;
-		this.surfaceArea = isUsingAccelerationStructure ? this.bVHNode.getSurfaceArea() : doCalculateSurfaceArea(this.triangles);
+		this.isUsingAccelerationStructure = triangleBVH != null;
+		this.triangleBVH = triangleBVH;
+		this.boundingVolume = this.isUsingAccelerationStructure ? this.triangleBVH.getBoundingVolume(0) : doCreateBoundingVolume(this.positions, this.indices);
+		this.surfaceArea = this.isUsingAccelerationStructure ? this.triangleBVH.getSurfaceArea() : doCalculateSurfaceArea(this.positions, this.indices);
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -162,27 +239,45 @@ public final class TriangleMesh3F implements Shape3F {
 	 */
 //	TODO: Add Unit Tests!
 	public List<BoundingVolume3F> getBoundingVolumes() {
-		return this.isUsingAccelerationStructure ? NodeFilter.filterAll(this.bVHNode, BVHNode3F.class).stream().map(bVHNode -> bVHNode.getBoundingVolume()).collect(ArrayList::new, ArrayList::add, ArrayList::addAll) : new ArrayList<>();
+		final List<BoundingVolume3F> boundingVolumes = new ArrayList<>();
+		
+		if(this.isUsingAccelerationStructure) {
+			for(int index = 0; index < this.triangleBVH.getNodeCount(); index++) {
+				boundingVolumes.add(this.triangleBVH.getBoundingVolume(index));
+			}
+		}
+		
+		return boundingVolumes;
 	}
 	
 	/**
 	 * Returns a {@code List} that contains all {@link Triangle3F} instances.
+	 * <p>
+	 * The {@code Triangle3F} instances are created by this method.
 	 * 
 	 * @return a {@code List} that contains all {@code Triangle3F} instances
 	 */
 //	TODO: Add Unit Tests!
 	public List<Triangle3F> getTriangles() {
-		return new ArrayList<>(this.triangles);
+		final List<Triangle3F> triangles = new ArrayList<>(getTriangleCount());
+		
+		for(int triangle = 0; triangle < getTriangleCount(); triangle++) {
+			triangles.add(doCreateTriangle(triangle, true));
+		}
+		
+		return triangles;
 	}
 	
 	/**
 	 * Returns the optional {@link BVHNode3F} instance that is used by this {@code TriangleMesh3F} instance.
+	 * <p>
+	 * The {@code BVHNode3F} hierarchy and its {@link Triangle3F} instances are created by this method from the bounding volume hierarchy that is stored in primitive arrays.
 	 * 
 	 * @return the optional {@code BVHNode3F} instance that is used by this {@code TriangleMesh3F} instance
 	 */
 //	TODO: Add Unit Tests!
 	public Optional<BVHNode3F> getRootBVHNode() {
-		return this.isUsingAccelerationStructure ? Optional.of(this.bVHNode) : Optional.empty();
+		return this.isUsingAccelerationStructure ? Optional.of(doCreateBVHNode(0, 0)) : Optional.empty();
 	}
 	
 	/**
@@ -201,17 +296,11 @@ public final class TriangleMesh3F implements Shape3F {
 //	TODO: Add Unit Tests!
 	@Override
 	public Optional<SurfaceIntersection3F> intersection(final Ray3F ray, final float tMinimum, final float tMaximum) {
-		if(this.isUsingAccelerationStructure) {
-			return this.bVHNode.intersection(ray, tMinimum, tMaximum);
-		}
-		
-		final SurfaceIntersector3F surfaceIntersector = new SurfaceIntersector3F(ray, tMinimum, tMaximum);
+		final float[] t = {Float.NaN};
 		
-		for(final Triangle3F triangle : this.triangles) {
-			surfaceIntersector.intersection(triangle);
-		}
+		final int triangle = doIntersection(ray, tMinimum, tMaximum, t);
 		
-		return surfaceIntersector.computeSurfaceIntersection();
+		return triangle != -1 ? doCreateTriangle(triangle, false).computeSurfaceIntersection(ray, tMinimum, tMaximum, t[0]) : SurfaceIntersection3F.EMPTY;
 	}
 	
 	/**
@@ -281,6 +370,8 @@ public final class TriangleMesh3F implements Shape3F {
 	 * <li>throw a {@code NodeTraversalException} if {@code nodeHierarchicalVisitor} throws a {@code RuntimeException}.</li>
 	 * <li>traverse its child {@code Node} instances.</li>
 	 * </ul>
+	 * <p>
+	 * The child {@code Node} instances that represent triangles and the bounding volume hierarchy are created on demand.
 	 * 
 	 * @param nodeHierarchicalVisitor the {@code NodeHierarchicalVisitor} to accept
 	 * @return the result of {@code nodeHierarchicalVisitor.visitLeave(this)}
@@ -298,13 +389,13 @@ public final class TriangleMesh3F implements Shape3F {
 					return nodeHierarchicalVisitor.visitLeave(this);
 				}
 				
-				for(final Triangle3F triangle : this.triangles) {
-					if(!triangle.accept(nodeHierarchicalVisitor)) {
+				for(int triangle = 0; triangle < getTriangleCount(); triangle++) {
+					if(!doCreateTriangle(triangle, true).accept(nodeHierarchicalVisitor)) {
 						return nodeHierarchicalVisitor.visitLeave(this);
 					}
 				}
 				
-				if(this.bVHNode != null && !this.bVHNode.accept(nodeHierarchicalVisitor)) {
+				if(this.isUsingAccelerationStructure && !doCreateBVHNode(0, 0).accept(nodeHierarchicalVisitor)) {
 					return nodeHierarchicalVisitor.visitLeave(this);
 				}
 			}
@@ -329,8 +420,8 @@ public final class TriangleMesh3F implements Shape3F {
 	public boolean contains(final Point3F point) {
 		Objects.requireNonNull(point, "point == null");
 		
-		for(final Triangle3F triangle : this.triangles) {
-			if(triangle.contains(point)) {
+		for(int triangle = 0; triangle < getTriangleCount(); triangle++) {
+			if(doCreateTriangle(triangle, false).contains(point)) {
 				return true;
 			}
 		}
@@ -353,12 +444,8 @@ public final class TriangleMesh3F implements Shape3F {
 			return true;
 		} else if(!(object instanceof TriangleMesh3F)) {
 			return false;
-		} else if(!Objects.equals(this.bVHNode, TriangleMesh3F.class.cast(object).bVHNode)) {
-			return false;
 		} else if(!Objects.equals(this.boundingVolume, TriangleMesh3F.class.cast(object).boundingVolume)) {
 			return false;
-		} else if(!Objects.equals(this.triangles, TriangleMesh3F.class.cast(object).triangles)) {
-			return false;
 		} else if(!Objects.equals(this.groupName, TriangleMesh3F.class.cast(object).groupName)) {
 			return false;
 		} else if(!Objects.equals(this.materialName, TriangleMesh3F.class.cast(object).materialName)) {
@@ -367,8 +454,16 @@ public final class TriangleMesh3F implements Shape3F {
 			return false;
 		} else if(this.isUsingAccelerationStructure != TriangleMesh3F.class.cast(object).isUsingAccelerationStructure) {
 			return false;
+		} else if(!Arrays.equals(this.normals, TriangleMesh3F.class.cast(object).normals)) {
+			return false;
+		} else if(!Arrays.equals(this.positions, TriangleMesh3F.class.cast(object).positions)) {
+			return false;
+		} else if(!Arrays.equals(this.textureCoordinates, TriangleMesh3F.class.cast(object).textureCoordinates)) {
+			return false;
 		} else if(!Floats.equals(this.surfaceArea, TriangleMesh3F.class.cast(object).surfaceArea)) {
 			return false;
+		} else if(!Arrays.equals(this.indices, TriangleMesh3F.class.cast(object).indices)) {
+			return false;
 		} else {
 			return true;
 		}
@@ -388,7 +483,10 @@ public final class TriangleMesh3F implements Shape3F {
 //	TODO: Add Unit Tests!
 	@Override
 	public boolean intersection(final SurfaceIntersector3F surfaceIntersector) {
-		return this.isUsingAccelerationStructure ? this.bVHNode.intersection(surfaceIntersector) : surfaceIntersector.intersection(this);
+		final int triangle = doIntersection(surfaceIntersector.getRay(), surfaceIntersector.getTMinimum(), surfaceIntersector.getTMaximum(), new float[] {Float.NaN});
+		
+//		Only the closest Triangle3F is created. The SurfaceIntersector3F repeats the intersection test on it, which produces the same parametric distance:
+		return triangle != -1 && surfaceIntersector.intersection(doCreateTriangle(triangle, false));
 	}
 	
 	/**
@@ -405,7 +503,51 @@ public final class TriangleMesh3F implements Shape3F {
 //	TODO: Add Unit Tests!
 	@Override
 	public boolean intersects(final Ray3F ray, final float tMinimum, final float tMaximum) {
-		return this.isUsingAccelerationStructure ? this.bVHNode.intersects(ray, tMinimum, tMaximum) : !Floats.isNaN(intersectionT(ray, tMinimum, tMaximum));
+		final PrecomputedRay precomputedRay = new PrecomputedRay(ray);
+		
+		if(!this.isUsingAccelerationStructure) {
+			for(int triangle = 0; triangle < getTriangleCount(); triangle++) {
+				if(!Floats.isNaN(doIntersectionT(triangle, precomputedRay, tMinimum, tMaximum))) {
+					return true;
+				}
+			}
+			
+			return false;
+		}
+		
+		final float[] bounds = this.triangleBVH.getBounds();
+		
+		final int[] data = this.triangleBVH.getData();
+		final int[] triangles = this.triangleBVH.getTriangles();
+		final int[] stack = new int[this.triangleBVH.getStackSize()];
+		
+		int index = 0;
+		int stackIndex = 0;
+		
+		while(true) {
+			if(precomputedRay.intersects(bounds, index * TriangleBVH.BOUNDS_SIZE, tMinimum, tMaximum)) {
+				final int a = data[index * TriangleBVH.DATA_SIZE + 0];
+				final int b = data[index * TriangleBVH.DATA_SIZE + 1];
+				
+				if(b < 0) {
+					index = precomputedRay.pushFar(stack, stackIndex++, index, a, b);
+					
+					continue;
+				}
+				
+				for(int i = a; i < a + b; i++) {
+					if(!Floats.isNaN(doIntersectionT(triangles[i], precomputedRay, tMinimum, tMaximum))) {
+						return true;
+					}
+				}
+			}
+			
+			if(stackIndex == 0) {
+				return false;
+			}
+			
+			index = stack[--stackIndex];
+		}
 	}
 	
 	/**
@@ -435,23 +577,11 @@ public final class TriangleMesh3F implements Shape3F {
 //	TODO: Add Unit Tests!
 	@Override
 	public float intersectionT(final Ray3F ray, final float tMinimum, final float tMaximum) {
-		if(this.isUsingAccelerationStructure) {
-			return this.bVHNode.intersectionT(ray, tMinimum, tMaximum);
-		}
+		final float[] t = {Float.NaN};
 		
-		float t = Float.NaN;
-		float tMax = tMaximum;
-		float tMin = tMinimum;
+		doIntersection(ray, tMinimum, tMaximum, t);
 		
-		for(final Triangle3F triangle : this.triangles) {
-			t = minOrNaN(t, triangle.intersectionT(ray, tMin, tMax));
-			
-			if(!Floats.isNaN(t)) {
-				tMax = t;
-			}
-		}
-		
-		return t;
+		return t[0];
 	}
 	
 	/**
@@ -465,6 +595,24 @@ public final class TriangleMesh3F implements Shape3F {
 		return ID;
 	}
 	
+	/**
+	 * Returns the number of triangles in this {@code TriangleMesh3F} instance.
+	 * 
+	 * @return the number of triangles in this {@code TriangleMesh3F} instance
+	 */
+	public int getTriangleCount() {
+		return this.indices.length / 3;
+	}
+	
+	/**
+	 * Returns the number of vertices in this {@code TriangleMesh3F} instance.
+	 * 
+	 * @return the number of vertices in this {@code TriangleMesh3F} instance
+	 */
+	public int getVertexCount() {
+		return this.positions.length / 3;
+	}
+	
 	/**
 	 * Returns a hash code for this {@code TriangleMesh3F} instance.
 	 * 
@@ -473,7 +621,21 @@ public final class TriangleMesh3F implements Shape3F {
 //	TODO: Add Unit Tests!
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.bVHNode, this.boundingVolume, this.triangles, this.groupName, this.materialName, this.objectName, Boolean.valueOf(this.isUsingAccelerationStructure), Float.valueOf(this.surfaceArea));
+		return Objects.hash(this.boundingVolume, this.groupName, this.materialName, this.objectName, Boolean.valueOf(this.isUsingAccelerationStructure), Integer.valueOf(Arrays.hashCode(this.normals)), Integer.valueOf(Arrays.hashCode(this.positions)), Integer.valueOf(Arrays.hashCode(this.textureCoordinates)), Float.valueOf(this.surfaceArea), Integer.valueOf(Arrays.hashCode(this.indices)));
+	}
+	
+	/**
+	 * Returns the number of bytes used by the primitive arrays of this {@code TriangleMesh3F} instance.
+	 * <p>
+	 * This includes the vertices, the indices and the bounding volume hierarchy, if it is used.
+	 * 
+	 * @return the number of bytes used by the primitive arrays of this {@code TriangleMesh3F} instance
+	 */
+	public long getSizeInBytes() {
+		final long sizeInBytesA = (this.positions.length + this.normals.length + this.textureCoordinates.length + this.indices.length) * 4L;
+		final long sizeInBytesB = this.isUsingAccelerationStructure ? this.triangleBVH.getSizeInBytes() : 0L;
+		
+		return sizeInBytesA + sizeInBytesB;
 	}
 	
 	/**
@@ -492,10 +654,10 @@ public final class TriangleMesh3F implements Shape3F {
 	public void write(final DataOutput dataOutput) {
 		try {
 			dataOutput.writeInt(ID);
-			dataOutput.writeInt(this.triangles.size());
+			dataOutput.writeInt(getTriangleCount());
 			
-			for(final Triangle3F triangle : this.triangles) {
-				triangle.write(dataOutput);
+			for(int triangle = 0; triangle < getTriangleCount(); triangle++) {
+				doCreateTriangle(triangle, false).write(dataOutput);
 			}
 			
 			dataOutput.writeUTF(this.groupName);
@@ -598,6 +760,10 @@ public final class TriangleMesh3F implements Shape3F {
 	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
 	 * <p>
 	 * If an I/O-error occurs, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * The {@code TriangleMesh3F} instances, including their bounding volume hierarchies, are cached in a binary file next to {@code file}. Its name is the name of {@code file} followed by {@code ".dfmesh"}. The cache file is
+	 * memory-mapped and used instead of {@code file} if it is at least as new as {@code file} and was created from a file of the same length with the same parameter arguments. Otherwise it is replaced. If the cache file
+	 * cannot be written, the {@code TriangleMesh3F} instances are returned anyway.
 	 * 
 	 * @param file a {@code File} instance
 	 * @param isFlippingTextureCoordinateY {@code true} if, and only if, the Y-coordinate of the texture coordinates should be flipped, {@code false} otherwise
@@ -610,106 +776,19 @@ public final class TriangleMesh3F implements Shape3F {
 //	TODO: Add Unit Tests!
 	public static List<TriangleMesh3F> readWavefrontObject(final File file, final boolean isFlippingTextureCoordinateY, final float scale, final boolean isUsingAccelerationStructure) {
 		try {
-			System.out.printf("Loading triangle meshes from file '%s'...%n", file.getName());
-			
-			final DefaultObjectModel defaultObjectModel = DefaultObjectModel.parseDefaultObjectModel(Objects.requireNonNull(file, "file == null"), isFlippingTextureCoordinateY);
-			
-			final IndexedObjectModel indexedObjectModel = defaultObjectModel.toIndexedObjectModel();
-			
-			final List<Integer> indices = indexedObjectModel.getIndices();
-			final List<Point2F> textureCoordinates = indexedObjectModel.getTextureCoordinates();
-			final List<Point4F> positions = indexedObjectModel.getPositions();
-			final List<String> groupNames = indexedObjectModel.getGroupNames();
-			final List<String> materialNames = indexedObjectModel.getMaterialNames();
-			final List<String> objectNames = indexedObjectModel.getObjectNames();
-			final List<Vector3F> normals = indexedObjectModel.getNormals();
-//			final List<Vector3F> tangents = indexedObjectModel.getTangents();
-			final List<Triangle3F> triangles = new ArrayList<>();
-			final List<TriangleMesh3F> triangleMeshes = new ArrayList<>();
+			final MeshCache meshCache = new MeshCache(Objects.requireNonNull(file, "file == null"), isFlippingTextureCoordinateY, scale, isUsingAccelerationStructure);
 			
-			String previousGroupName = "";
-			String previousMaterialName = "";
-			String previousObjectName = "";
+			final Optional<List<TriangleMesh3F>> optionalTriangleMeshes = meshCache.read();
 			
-			final boolean isScaling = !Floats.equals(scale, 1.0F);
-			
-			final int maximumCount = Integer.MAX_VALUE;
-			
-			final Matrix44F matrix = isScaling ? Matrix44F.scale(scale) : null;
-			
-			if(matrix != null && !matrix.isInvertible()) {
-				return new ArrayList<>();
+			if(optionalTriangleMeshes.isPresent()) {
+				return optionalTriangleMeshes.get();
 			}
 			
-			final Matrix44F matrixInverse = isScaling ? Matrix44F.inverse(matrix) : null;
-			
-			for(int i = 0, j = 0; i < indices.size(); i += 3) {
-				final int indexA = indices.get(i + 0).intValue();
-				final int indexB = indices.get(i + 1).intValue();
-				final int indexC = indices.get(i + 2).intValue();
-				
-				final String currentGroupName = groupNames.get(indexA);
-				final String currentMaterialName = materialNames.get(indexA);
-				final String currentObjectName = objectNames.get(indexA);
-				
-				if(!previousGroupName.equals(currentGroupName) || !previousMaterialName.equals(currentMaterialName)) {
-					if(triangles.size() > 0) {
-						System.out.printf(" - Creating triangle mesh with group name '%s', material name '%s' and object name '%s'.%n", previousGroupName, previousMaterialName, previousObjectName);
-						
-						triangleMeshes.add(new TriangleMesh3F(triangles, previousGroupName, previousMaterialName, previousObjectName, isUsingAccelerationStructure));
-						triangles.clear();
-						
-						if(++j >= maximumCount) {
-							break;
-						}
-					}
-					
-					if(!previousGroupName.equals(currentGroupName)) {
-						previousGroupName = currentGroupName;
-					}
-					
-					if(!previousMaterialName.equals(currentMaterialName)) {
-						previousMaterialName = currentMaterialName;
-					}
-				}
-				
-				if(!previousObjectName.equals(currentObjectName)) {
-					previousObjectName = currentObjectName;
-				}
-				
-				final Point2F textureCoordinatesA = textureCoordinates.get(indexA);
-				final Point2F textureCoordinatesB = textureCoordinates.get(indexB);
-				final Point2F textureCoordinatesC = textureCoordinates.get(indexC);
-				
-				final Point4F positionA = isScaling ? Point4F.transformAndDivide(matrix, positions.get(indexA)) : positions.get(indexA);
-				final Point4F positionB = isScaling ? Point4F.transformAndDivide(matrix, positions.get(indexB)) : positions.get(indexB);
-				final Point4F positionC = isScaling ? Point4F.transformAndDivide(matrix, positions.get(indexC)) : positions.get(indexC);
-				
-				final Vector3F normalA = isScaling ? Vector3F.transformTranspose(matrixInverse, normals.get(indexA)) : normals.get(indexA);
-				final Vector3F normalB = isScaling ? Vector3F.transformTranspose(matrixInverse, normals.get(indexB)) : normals.get(indexB);
-				final Vector3F normalC = isScaling ? Vector3F.transformTranspose(matrixInverse, normals.get(indexC)) : normals.get(indexC);
-				
-//				final Vector3F tangentA = isScaling ? Vector3F.transformTranspose(matrixInverse, tangents.get(indexA)) : tangents.get(indexA);
-//				final Vector3F tangentB = isScaling ? Vector3F.transformTranspose(matrixInverse, tangents.get(indexB)) : tangents.get(indexB);
-//				final Vector3F tangentC = isScaling ? Vector3F.transformTranspose(matrixInverse, tangents.get(indexC)) : tangents.get(indexC);
-				
-				final Vertex3F a = new Vertex3F(textureCoordinatesA, positionA, normalA);
-				final Vertex3F b = new Vertex3F(textureCoordinatesB, positionB, normalB);
-				final Vertex3F c = new Vertex3F(textureCoordinatesC, positionC, normalC);
-				
-				final Triangle3F triangle = new Triangle3F(a, b, c);
-				
-				triangles.add(triangle);
-			}
+			System.out.printf("Loading triangle meshes from file '%s'...%n", file.getName());
 			
-			if(triangles.size() > 0) {
-				System.out.printf(" - Creating triangle mesh with group name '%s', material name '%s' and object name '%s'.%n", previousGroupName, previousMaterialName, previousObjectName);
-				
-				triangleMeshes.add(new TriangleMesh3F(triangles, previousGroupName, previousMaterialName, previousObjectName, isUsingAccelerationStructure));
-				triangles.clear();
-			}
+			final List<TriangleMesh3F> triangleMeshes = doCreateTriangleMeshes(new WavefrontObjectReader(isFlippingTextureCoordinateY, true).read(file), scale, isUsingAccelerationStructure);
 			
-			System.out.println(" - Done.");
+			meshCache.write(triangleMeshes);
 			
 			return triangleMeshes;
 		} catch(final IOException e) {
@@ -842,106 +921,7 @@ public final class TriangleMesh3F implements Shape3F {
 		try {
 			System.out.println("Loading triangle meshes from a string...");
 			
-			final DefaultObjectModel defaultObjectModel = DefaultObjectModel.parseDefaultObjectModel(Objects.requireNonNull(string, "string == null"), isFlippingTextureCoordinateY);
-			
-			final IndexedObjectModel indexedObjectModel = defaultObjectModel.toIndexedObjectModel();
-			
-			final List<Integer> indices = indexedObjectModel.getIndices();
-			final List<Point2F> textureCoordinates = indexedObjectModel.getTextureCoordinates();
-			final List<Point4F> positions = indexedObjectModel.getPositions();
-			final List<String> groupNames = indexedObjectModel.getGroupNames();
-			final List<String> materialNames = indexedObjectModel.getMaterialNames();
-			final List<String> objectNames = indexedObjectModel.getObjectNames();
-			final List<Vector3F> normals = indexedObjectModel.getNormals();
-//			final List<Vector3F> tangents = indexedObjectModel.getTangents();
-			final List<Triangle3F> triangles = new ArrayList<>();
-			final List<TriangleMesh3F> triangleMeshes = new ArrayList<>();
-			
-			String previousGroupName = "";
-			String previousMaterialName = "";
-			String previousObjectName = "";
-			
-			final boolean isScaling = !Floats.equals(scale, 1.0F);
-			
-			final int maximumCount = Integer.MAX_VALUE;
-			
-			final Matrix44F matrix = isScaling ? Matrix44F.scale(scale) : null;
-			
-			if(matrix != null && !matrix.isInvertible()) {
-				return new ArrayList<>();
-			}
-			
-			final Matrix44F matrixInverse = isScaling ? Matrix44F.inverse(matrix) : null;
-			
-			for(int i = 0, j = 0; i < indices.size(); i += 3) {
-				final int indexA = indices.get(i + 0).intValue();
-				final int indexB = indices.get(i + 1).intValue();
-				final int indexC = indices.get(i + 2).intValue();
-				
-				final String currentGroupName = groupNames.get(indexA);
-				final String currentMaterialName = materialNames.get(indexA);
-				final String currentObjectName = objectNames.get(indexA);
-				
-				if(!previousGroupName.equals(currentGroupName) || !previousMaterialName.equals(currentMaterialName)) {
-					if(triangles.size() > 0) {
-						System.out.printf(" - Creating triangle mesh with group name '%s', material name '%s' and object name '%s'.%n", previousGroupName, previousMaterialName, previousObjectName);
-						
-						triangleMeshes.add(new TriangleMesh3F(triangles, previousGroupName, previousMaterialName, previousObjectName, isUsingAccelerationStructure));
-						triangles.clear();
-						
-						if(++j >= maximumCount) {
-							break;
-						}
-					}
-					
-					if(!previousGroupName.equals(currentGroupName)) {
-						previousGroupName = currentGroupName;
-					}
-					
-					if(!previousMaterialName.equals(currentMaterialName)) {
-						previousMaterialName = currentMaterialName;
-					}
-				}
-				
-				if(!previousObjectName.equals(currentObjectName)) {
-					previousObjectName = currentObjectName;
-				}
-				
-				final Point2F textureCoordinatesA = textureCoordinates.get(indexA);
-				final Point2F textureCoordinatesB = textureCoordinates.get(indexB);
-				final Point2F textureCoordinatesC = textureCoordinates.get(indexC);
-				
-				final Point4F positionA = isScaling ? Point4F.transformAndDivide(matrix, positions.get(indexA)) : positions.get(indexA);
-				final Point4F positionB = isScaling ? Point4F.transformAndDivide(matrix, positions.get(indexB)) : positions.get(indexB);
-				final Point4F positionC = isScaling ? Point4F.transformAndDivide(matrix, positions.get(indexC)) : positions.get(indexC);
-				
-				final Vector3F normalA = isScaling ? Vector3F.transformTranspose(matrixInverse, normals.get(indexA)) : normals.get(indexA);
-				final Vector3F normalB = isScaling ? Vector3F.transformTranspose(matrixInverse, normals.get(indexB)) : normals.get(indexB);
-				final Vector3F normalC = isScaling ? Vector3F.transformTranspose(matrixInverse, normals.get(indexC)) : normals.get(indexC);
-				
-//				final Vector3F tangentA = isScaling ? Vector3F.transformTranspose(matrixInverse, tangents.get(indexA)) : tangents.get(indexA);
-//				final Vector3F tangentB = isScaling ? Vector3F.transformTranspose(matrixInverse, tangents.get(indexB)) : tangents.get(indexB);
-//				final Vector3F tangentC = isScaling ? Vector3F.transformTranspose(matrixInverse, tangents.get(indexC)) : tangents.get(indexC);
-				
-				final Vertex3F a = new Vertex3F(textureCoordinatesA, positionA, normalA);
-				final Vertex3F b = new Vertex3F(textureCoordinatesB, positionB, normalB);
-				final Vertex3F c = new Vertex3F(textureCoordinatesC, positionC, normalC);
-				
-				final Triangle3F triangle = new Triangle3F(a, b, c);
-				
-				triangles.add(triangle);
-			}
-			
-			if(triangles.size() > 0) {
-				System.out.printf(" - Creating triangle mesh with group name '%s', material name '%s' and object name '%s'.%n", previousGroupName, previousMaterialName, previousObjectName);
-				
-				triangleMeshes.add(new TriangleMesh3F(triangles, previousGroupName, previousMaterialName, previousObjectName, isUsingAccelerationStructure));
-				triangles.clear();
-			}
-			
-			System.out.println(" - Done.");
-			
-			return triangleMeshes;
+			return doCreateTriangleMeshes(new WavefrontObjectReader(isFlippingTextureCoordinateY, true).read(Objects.requireNonNull(string, "string == null")), scale, isUsingAccelerationStructure);
 		} catch(final IOException e) {
 			throw new UncheckedIOException(e);
 		}
@@ -1080,35 +1060,44 @@ public final class TriangleMesh3F implements Shape3F {
 				textureCoordinates[i] = new Point2F(Float.parseFloat(scanner.next()), Float.parseFloat(scanner.next()));
 			}
 			
-			final List<Triangle3F> triangles = new ArrayList<>();
+			final float[] meshNormals = new float[vertexIndexCount * 3];
+			final float[] meshPositions = new float[vertexIndexCount * 3];
+			final float[] meshTextureCoordinates = new float[vertexIndexCount * 2];
 			
-			for(int i = 0, j = 0; i < faceIndices.length; j += faceIndices[i], i++) {
+			for(int i = 0; i < vertexIndexCount; i++) {
+				final Point4F position = positions[vertexIndices[i]];
+				
+				final Vector3F normal = Vector3F.normalize(normals[i]);
+				
+				meshNormals[i * 3 + 0] = normal.x;
+				meshNormals[i * 3 + 1] = normal.y;
+				meshNormals[i * 3 + 2] = normal.z;
+				
+				meshPositions[i * 3 + 0] = position.x;
+				meshPositions[i * 3 + 1] = position.y;
+				meshPositions[i * 3 + 2] = position.z;
+				
+				meshTextureCoordinates[i * 2 + 0] = textureCoordinates[i].x;
+				meshTextureCoordinates[i * 2 + 1] = textureCoordinates[i].y;
+			}
+			
+			int triangleCount = 0;
+			
+			for(int i = 0; i < faceIndices.length; i++) {
+				triangleCount += Math.max(faceIndices[i] - 2, 0);
+			}
+			
+			final int[] indices = new int[triangleCount * 3];
+			
+			for(int i = 0, j = 0, l = 0; i < faceIndices.length; j += faceIndices[i], i++) {
 				for(int k = 0; k < faceIndices[i] - 2; k++) {
-					final int indexA = j;
-					final int indexB = j + k + 1;
-					final int indexC = j + k + 2;
-					
-					final Point4F positionA = positions[vertexIndices[indexA]];
-					final Point4F positionB = positions[vertexIndices[indexB]];
-					final Point4F positionC = positions[vertexIndices[indexC]];
-					
-					final Point2F textureCoordinatesA = textureCoordinates[indexA];
-					final Point2F textureCoordinatesB = textureCoordinates[indexB];
-					final Point2F textureCoordinatesC = textureCoordinates[indexC];
-					
-					final Vector3F normalA = Vector3F.normalize(normals[indexA]);
-					final Vector3F normalB = Vector3F.normalize(normals[indexB]);
-					final Vector3F normalC = Vector3F.normalize(normals[indexC]);
-					
-					final Vertex3F vertexA = new Vertex3F(textureCoordinatesA, positionA, normalA);
-					final Vertex3F vertexB = new Vertex3F(textureCoordinatesB, positionB, normalB);
-					final Vertex3F vertexC = new Vertex3F(textureCoordinatesC, positionC, normalC);
-					
-					triangles.add(new Triangle3F(vertexA, vertexB, vertexC));
+					indices[l++] = j;
+					indices[l++] = j + k + 1;
+					indices[l++] = j + k + 2;
 				}
 			}
 			
-			return new TriangleMesh3F(triangles, "", "", "");
+			return new TriangleMesh3F(VertexArrays.create(meshPositions, meshNormals, meshTextureCoordinates, indices), "", "", "", true);
 		} catch(final FileNotFoundException e) {
 			throw new UncheckedIOException(e);
 		}
@@ -1138,559 +1127,1045 @@ public final class TriangleMesh3F implements Shape3F {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static BVHNode3F doCreateBVHNode(final List<Triangle3F> triangles) {
-		final List<BVHItem3F<Triangle3F>> processableBVHItems = new ArrayList<>(triangles.size());
+	private BVHNode3F doCreateBVHNode(final int index, final int depth) {
+		final Point3F maximum = this.triangleBVH.getMaximum(index);
+		final Point3F minimum = this.triangleBVH.getMinimum(index);
+		
+		final int[] data = this.triangleBVH.getData();
+		
+		final int a = data[index * TriangleBVH.DATA_SIZE + 0];
+		final int b = data[index * TriangleBVH.DATA_SIZE + 1];
+		
+		if(b < 0) {
+			final BVHNode3F nodeFirst = doCreateBVHNode(index + 1, depth + 1);
+			final BVHNode3F nodeSecond = doCreateBVHNode(a, depth + 1);
+			
+			return TriangleBVH.isSwapped(b) ? new TreeBVHNode3F(maximum, minimum, depth, nodeSecond, nodeFirst) : new TreeBVHNode3F(maximum, minimum, depth, nodeFirst, nodeSecond);
+		}
+		
+		final int[] triangleIndices = this.triangleBVH.getTriangles();
+		
+		final List<Triangle3F> triangles = new ArrayList<>(b);
+		
+		for(int i = a; i < a + b; i++) {
+			triangles.add(doCreateTriangle(triangleIndices[i], true));
+		}
 		
-		float maximumX = Floats.MIN_VALUE;
-		float maximumY = Floats.MIN_VALUE;
-		float maximumZ = Floats.MIN_VALUE;
-		float minimumX = Floats.MAX_VALUE;
-		float minimumY = Floats.MAX_VALUE;
-		float minimumZ = Floats.MAX_VALUE;
+		return new LeafBVHNode3F<>(maximum, minimum, depth, triangles);
+	}
+	
+	private Triangle3F doCreateTriangle(final int triangle, final boolean isCached) {
+		final Vertex3F a = doCreateVertex(this.indices[triangle * 3 + 0], isCached);
+		final Vertex3F b = doCreateVertex(this.indices[triangle * 3 + 1], isCached);
+		final Vertex3F c = doCreateVertex(this.indices[triangle * 3 + 2], isCached);
 		
-		for(final Triangle3F triangle : triangles) {
-			final Point3F a = new Point3F(triangle.getA().getPosition());
-			final Point3F b = new Point3F(triangle.getB().getPosition());
-			final Point3F c = new Point3F(triangle.getC().getPosition());
+		return new Triangle3F(a, b, c, isCached);
+	}
+	
+	private Vertex3F doCreateVertex(final int vertex, final boolean isCached) {
+		final Point2F textureCoordinates = new Point2F(this.textureCoordinates[vertex * 2 + 0], this.textureCoordinates[vertex * 2 + 1]);
+		
+		final Point4F position = new Point4F(this.positions[vertex * 3 + 0], this.positions[vertex * 3 + 1], this.positions[vertex * 3 + 2]);
+		
+		final Vector3F normal = new Vector3F(this.normals[vertex * 3 + 0], this.normals[vertex * 3 + 1], this.normals[vertex * 3 + 2]);
+		
+		return new Vertex3F(textureCoordinates, position, normal, isCached);
+	}
+	
+	private float doIntersectionT(final int triangle, final PrecomputedRay precomputedRay, final float tMinimum, final float tMaximum) {
+		return precomputedRay.intersectionT(this.positions, this.indices[triangle * 3 + 0] * 3, this.indices[triangle * 3 + 1] * 3, this.indices[triangle * 3 + 2] * 3, tMinimum, tMaximum);
+	}
+	
+	private int doIntersection(final Ray3F ray, final float tMinimum, final float tMaximum, final float[] t) {
+		final PrecomputedRay precomputedRay = new PrecomputedRay(ray);
+		
+		float tMax = tMaximum;
+		
+		int triangle = -1;
+		
+		if(!this.isUsingAccelerationStructure) {
+			for(int i = 0; i < getTriangleCount(); i++) {
+				final float tCurrent = doIntersectionT(i, precomputedRay, tMinimum, tMax);
+				
+				if(!Floats.isNaN(tCurrent) && tCurrent > tMinimum && tCurrent < tMax) {
+					t[0] = tCurrent;
+					
+					tMax = tCurrent;
+					
+					triangle = i;
+				}
+			}
 			
-			final Point3F maximum = Point3F.maximum(a, b, c);
-			final Point3F minimum = Point3F.minimum(a, b, c);
+			return triangle;
+		}
+		
+		final float[] bounds = this.triangleBVH.getBounds();
+		
+		final int[] data = this.triangleBVH.getData();
+		final int[] triangles = this.triangleBVH.getTriangles();
+		final int[] stack = new int[this.triangleBVH.getStackSize()];
+		
+		int index = 0;
+		int stackIndex = 0;
+		
+		while(true) {
+			if(precomputedRay.intersects(bounds, index * TriangleBVH.BOUNDS_SIZE, tMinimum, tMax)) {
+				final int a = data[index * TriangleBVH.DATA_SIZE + 0];
+				final int b = data[index * TriangleBVH.DATA_SIZE + 1];
+				
+				if(b < 0) {
+					index = precomputedRay.pushFar(stack, stackIndex++, index, a, b);
+					
+					continue;
+				}
+				
+				for(int i = a; i < a + b; i++) {
+					final float tCurrent = doIntersectionT(triangles[i], precomputedRay, tMinimum, tMax);
+					
+					if(!Floats.isNaN(tCurrent) && tCurrent > tMinimum && tCurrent < tMax) {
+						t[0] = tCurrent;
+						
+						tMax = tCurrent;
+						
+						triangle = triangles[i];
+					}
+				}
+			}
 			
-			maximumX = Floats.max(maximumX, maximum.x);
-			maximumY = Floats.max(maximumY, maximum.y);
-			maximumZ = Floats.max(maximumZ, maximum.z);
-			minimumX = Floats.min(minimumX, minimum.x);
-			minimumY = Floats.min(minimumY, minimum.y);
-			minimumZ = Floats.min(minimumZ, minimum.z);
+			if(stackIndex == 0) {
+				return triangle;
+			}
 			
-			processableBVHItems.add(new BVHItem3F<>(new AxisAlignedBoundingBox3F(maximum, minimum), triangle));
+			index = stack[--stackIndex];
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static BoundingVolume3F doCreateBoundingVolume(final float[] positions, final int[] indices) {
+		float maximumX = Point3F.MINIMUM.x;
+		float maximumY = Point3F.MINIMUM.y;
+		float maximumZ = Point3F.MINIMUM.z;
+		float minimumX = Point3F.MAXIMUM.x;
+		float minimumY = Point3F.MAXIMUM.y;
+		float minimumZ = Point3F.MAXIMUM.z;
+		
+		for(final int index : indices) {
+			maximumX = Floats.max(maximumX, positions[index * 3 + 0]);
+			maximumY = Floats.max(maximumY, positions[index * 3 + 1]);
+			maximumZ = Floats.max(maximumZ, positions[index * 3 + 2]);
+			minimumX = Floats.min(minimumX, positions[index * 3 + 0]);
+			minimumY = Floats.min(minimumY, positions[index * 3 + 1]);
+			minimumZ = Floats.min(minimumZ, positions[index * 3 + 2]);
 		}
 		
-		return BVHNode3Fs.create(processableBVHItems, new Point3F(maximumX, maximumY, maximumZ), new Point3F(minimumX, minimumY, minimumZ), 0);
+		return new AxisAlignedBoundingBox3F(new Point3F(maximumX, maximumY, maximumZ), new Point3F(minimumX, minimumY, minimumZ));
 	}
 	
-	private static BoundingVolume3F doCreateBoundingVolume(final List<Triangle3F> triangles) {
-		Point3F maximum = Point3F.MINIMUM;
-		Point3F minimum = Point3F.MAXIMUM;
+	private static List<TriangleMesh3F> doCreateTriangleMeshes(final WavefrontObjectReader.Model model, final float scale, final boolean isUsingAccelerationStructure) {
+		final List<TriangleMesh3F> triangleMeshes = new ArrayList<>();
+		
+		final boolean isScaling = !Floats.equals(scale, 1.0F);
 		
-		for(final Triangle3F triangle : triangles) {
-			final Point3F a = new Point3F(triangle.getA().getPosition());
-			final Point3F b = new Point3F(triangle.getB().getPosition());
-			final Point3F c = new Point3F(triangle.getC().getPosition());
+		final Matrix44F matrix = isScaling ? Matrix44F.scale(scale) : null;
+		
+		if(matrix != null && !matrix.isInvertible()) {
+			return new ArrayList<>();
+		}
+		
+		final Matrix44F matrixInverse = isScaling ? Matrix44F.inverse(matrix) : null;
+		
+//		A triangle mesh is created for each sequence of runs that share group name and material name:
+		for(int run = 0; run < model.getRunCount();) {
+			final String groupName = model.getRunGroupName(run);
+			final String materialName = model.getRunMaterialName(run);
+			
+			final int start = model.getRunStart(run);
+			
+			while(run + 1 < model.getRunCount() && model.getRunGroupName(run + 1).equals(groupName) && model.getRunMaterialName(run + 1).equals(materialName)) {
+				run++;
+			}
 			
-			maximum = Point3F.maximum(maximum, Point3F.maximum(a, b, c));
-			minimum = Point3F.minimum(minimum, Point3F.minimum(a, b, c));
+			final String objectName = model.getRunObjectName(run);
+			
+			final int end = model.getRunEnd(run++);
+			
+			if(end > start) {
+				System.out.printf(" - Creating triangle mesh with group name '%s', material name '%s' and object name '%s'.%n", groupName, materialName, objectName);
+				
+				triangleMeshes.add(doCreateTriangleMesh(model.createMesh(start, end), matrix, matrixInverse, groupName, materialName, objectName, isUsingAccelerationStructure));
+			}
+		}
+		
+		System.out.println(" - Done.");
+		
+		return triangleMeshes;
+	}
+	
+	private static TriangleMesh3F doCreateTriangleMesh(final WavefrontObjectReader.Mesh mesh, final Matrix44F matrix, final Matrix44F matrixInverse, final String groupName, final String materialName, final String objectName, final boolean isUsingAccelerationStructure) {
+		final float[] normals = mesh.getNormals();
+		final float[] positions = mesh.getPositions();
+		
+		if(matrix != null && matrixInverse != null) {
+			for(int i = 0; i < positions.length; i += 3) {
+				final Point4F position = Point4F.transformAndDivide(matrix, new Point4F(positions[i + 0], positions[i + 1], positions[i + 2]));
+				
+				final Vector3F normal = Vector3F.transformTranspose(matrixInverse, new Vector3F(normals[i + 0], normals[i + 1], normals[i + 2]));
+				
+				normals[i + 0] = normal.x;
+				normals[i + 1] = normal.y;
+				normals[i + 2] = normal.z;
+				
+				positions[i + 0] = position.x;
+				positions[i + 1] = position.y;
+				positions[i + 2] = position.z;
+			}
 		}
 		
-		return new AxisAlignedBoundingBox3F(maximum, minimum);
+		return new TriangleMesh3F(VertexArrays.create(positions, normals, mesh.getTextureCoordinates(), mesh.getIndices()), groupName, materialName, objectName, isUsingAccelerationStructure);
 	}
 	
-	private static float doCalculateSurfaceArea(final List<Triangle3F> triangles) {
+	private static float doCalculateSurfaceArea(final float[] positions, final int[] indices) {
 		float surfaceArea = 0.0F;
 		
-		for(final Triangle3F triangle : triangles) {
-			surfaceArea += triangle.getSurfaceArea();
+		for(int triangle = 0; triangle < indices.length / 3; triangle++) {
+			surfaceArea += doCalculateSurfaceArea(positions, indices, triangle);
 		}
 		
 		return surfaceArea;
 	}
 	
+	private static float doCalculateSurfaceArea(final float[] positions, final int[] indices, final int triangle) {
+		final int offsetA = indices[triangle * 3 + 0] * 3;
+		final int offsetB = indices[triangle * 3 + 1] * 3;
+		final int offsetC = indices[triangle * 3 + 2] * 3;
+		
+		final float edgeABX = positions[offsetB + 0] - positions[offsetA + 0];
+		final float edgeABY = positions[offsetB + 1] - positions[offsetA + 1];
+		final float edgeABZ = positions[offsetB + 2] - positions[offsetA + 2];
+		final float edgeACX = positions[offsetC + 0] - positions[offsetA + 0];
+		final float edgeACY = positions[offsetC + 1] - positions[offsetA + 1];
+		final float edgeACZ = positions[offsetC + 2] - positions[offsetA + 2];
+		
+		final float x = edgeABY * edgeACZ - edgeABZ * edgeACY;
+		final float y = edgeABZ * edgeACX - edgeABX * edgeACZ;
+		final float z = edgeABX * edgeACY - edgeABY * edgeACX;
+		
+		return Floats.sqrt(x * x + y * y + z * z) * 0.5F;
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static final class DefaultObjectModel {
-		private final List<Point2F> textureCoordinates;
-		private final List<Point4F> positions;
-		private final List<String> groupNames;
-		private final List<String> materialNames;
-		private final List<String> objectNames;
-		private final List<Vector3F> normals;
-		private final List<Vertex> vertices;
+	private static final class MeshCache {
+		private static final String SUFFIX = ".dfmesh";
+		private static final int BUFFER_SIZE = 1 << 20;
+		private static final int HEADER_SIZE = 32;
+		private static final int MAGIC = 0x48534D44;
+		private static final int VERSION = 1;
 		
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
-		public DefaultObjectModel() {
-			this.textureCoordinates = new ArrayList<>();
-			this.positions = new ArrayList<>();
-			this.groupNames = new ArrayList<>();
-			this.materialNames = new ArrayList<>();
-			this.objectNames = new ArrayList<>();
-			this.normals = new ArrayList<>();
-			this.vertices = new ArrayList<>();
+		private final File cacheFile;
+		private final File file;
+		private final boolean isFlippingTextureCoordinateY;
+		private final boolean isUsingAccelerationStructure;
+		private final float scale;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public MeshCache(final File file, final boolean isFlippingTextureCoordinateY, final float scale, final boolean isUsingAccelerationStructure) {
+			this.file = file;
+			this.cacheFile = new File(file.getPath() + SUFFIX);
+			this.isFlippingTextureCoordinateY = isFlippingTextureCoordinateY;
+			this.scale = scale;
+			this.isUsingAccelerationStructure = isUsingAccelerationStructure;
 		}
 		
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
-		public IndexedObjectModel toIndexedObjectModel() {
-			final IndexedObjectModel indexedObjectModel0 = new IndexedObjectModel();
-			final IndexedObjectModel indexedObjectModel1 = new IndexedObjectModel();
-			
-			final Map<Integer, Integer> normalModelIndices0 = new HashMap<>();
-			final Map<Integer, Integer> normalModelIndices1 = new HashMap<>();
-			final Map<Vertex, Integer> modelVertexIndices = new HashMap<>();
-			
-			boolean hasNormals = false;
+//		The cache file consists of a header followed by one record per triangle mesh. All arrays are stored in little-endian byte order, so they can be copied from the mapped file in bulk:
+		public Optional<List<TriangleMesh3F>> read() throws IOException {
+			if(!this.cacheFile.isFile() || this.cacheFile.lastModified() < this.file.lastModified()) {
+				return Optional.empty();
+			}
 			
-			for(int i = 0; i < this.vertices.size(); i++) {
-				final Vertex vertex = this.vertices.get(i);
+			try(final FileChannel fileChannel = FileChannel.open(this.cacheFile.toPath(), StandardOpenOption.READ)) {
+				final long size = fileChannel.size();
 				
-				final Point2F textureCoordinates = vertex.hasTextureVertexIndex() ? this.textureCoordinates.get(vertex.getTextureVertexIndex()) : new Point2F();
-				
-				final Point4F position = vertex.hasGeometricVertexIndex() ? this.positions.get(vertex.getGeometricVertexIndex()) : new Point4F();
+				if(size < HEADER_SIZE) {
+					return Optional.empty();
+				}
 				
-				final Vector3F normal = vertex.hasVertexNormalIndex() ? this.normals.get(vertex.getVertexNormalIndex()) : new Vector3F();
+				final ByteBuffer header = fileChannel.map(MapMode.READ_ONLY, 0L, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
 				
-				if(vertex.hasVertexNormalIndex()) {
-					hasNormals = true;
+				if(header.getInt() != MAGIC || header.getInt() != VERSION || header.getLong() != this.file.length() || header.getInt() != Float.floatToIntBits(this.scale) || header.getInt() != doGetFlags()) {
+					return Optional.empty();
 				}
 				
-				final String groupName = this.groupNames.get(i);
-				final String materialName = this.materialNames.get(i);
-				final String objectName = this.objectNames.get(i);
+				final int triangleMeshCount = header.getInt();
 				
-				final Integer modelVertexIndex = modelVertexIndices.computeIfAbsent(vertex, keyVertex -> {
-					indexedObjectModel0.addGroupName(groupName);
-					indexedObjectModel0.addMaterialName(materialName);
-					indexedObjectModel0.addObjectName(objectName);
-					indexedObjectModel0.addPosition(position);
-					indexedObjectModel0.addTextureCoordinates(textureCoordinates);
+				System.out.printf("Loading triangle meshes from cache file '%s'...%n", this.cacheFile.getName());
+				
+				final List<TriangleMesh3F> triangleMeshes = new ArrayList<>(triangleMeshCount);
+				
+				long position = HEADER_SIZE;
+				
+				for(int i = 0; i < triangleMeshCount; i++) {
+					if(position + 8L > size) {
+						return Optional.empty();
+					}
 					
-					if(vertex.hasVertexNormalIndex()) {
-						indexedObjectModel0.addNormal(normal);
+					final long recordSize = fileChannel.map(MapMode.READ_ONLY, position, 8L).order(ByteOrder.LITTLE_ENDIAN).getLong();
+					
+					if(recordSize < 0L || recordSize > Integer.MAX_VALUE || position + 8L + recordSize > size) {
+						return Optional.empty();
 					}
 					
-					return Integer.valueOf(indexedObjectModel0.getPositionCount() - 1);
-				});
-				
-				final Integer normalModelIndex = normalModelIndices0.computeIfAbsent(Integer.valueOf(vertex.getGeometricVertexIndex()), keyGeometricVertexIndex -> {
-					indexedObjectModel1.addGroupName(groupName);
-					indexedObjectModel1.addMaterialName(materialName);
-					indexedObjectModel1.addNormal(normal);
-					indexedObjectModel1.addObjectName(objectName);
-					indexedObjectModel1.addPosition(position);
-//					indexedObjectModel1.addTangent(new Vector3F());
-					indexedObjectModel1.addTextureCoordinates(textureCoordinates);
+					try {
+						final Optional<TriangleMesh3F> optionalTriangleMesh = doRead(fileChannel.map(MapMode.READ_ONLY, position + 8L, recordSize).order(ByteOrder.LITTLE_ENDIAN));
+						
+						if(!optionalTriangleMesh.isPresent()) {
+							return Optional.empty();
+						}
+						
+						triangleMeshes.add(optionalTriangleMesh.get());
+					} catch(final RuntimeException e) {
+//						A corrupt record makes the cache file stale, so it will be replaced:
+						return Optional.empty();
+					}
 					
-					return Integer.valueOf(indexedObjectModel1.getPositionCount() - 1);
-				});
+					position += 8L + recordSize;
+				}
 				
-				indexedObjectModel0.addIndex(modelVertexIndex);
-				indexedObjectModel1.addIndex(normalModelIndex);
+				System.out.println(" - Done.");
 				
-				normalModelIndices1.put(modelVertexIndex, normalModelIndex);
+				return Optional.of(triangleMeshes);
 			}
+		}
+		
+		public void write(final List<TriangleMesh3F> triangleMeshes) {
+			final File temporaryFile = new File(this.cacheFile.getPath() + ".tmp");
 			
-			if(!hasNormals) {
-				indexedObjectModel1.calculateNormals();
-				
-				for(int i = 0; i < indexedObjectModel0.getPositionCount(); i++) {
-					indexedObjectModel0.addNormal(indexedObjectModel1.getNormal(normalModelIndices1.get(Integer.valueOf(i)).intValue()));
+			try {
+				try(final FileChannel fileChannel = FileChannel.open(temporaryFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+					final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+					
+					header.putInt(MAGIC);
+					header.putInt(VERSION);
+					header.putLong(this.file.length());
+					header.putInt(Float.floatToIntBits(this.scale));
+					header.putInt(doGetFlags());
+					header.putInt(triangleMeshes.size());
+					header.putInt(0);
+					header.flip();
+					
+					doWriteFully(fileChannel, header);
+					
+					final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+					
+					for(final TriangleMesh3F triangleMesh : triangleMeshes) {
+						doWrite(fileChannel, byteBuffer, triangleMesh);
+					}
+					
+					byteBuffer.flip();
+					
+					doWriteFully(fileChannel, byteBuffer);
 				}
+				
+				Files.move(temporaryFile.toPath(), this.cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			} catch(final IOException | RuntimeException e) {
+				temporaryFile.delete();
+				
+				System.out.printf(" - Unable to write cache file '%s': %s%n", this.cacheFile.getName(), e.getMessage());
+			}
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private int doGetFlags() {
+			return (this.isFlippingTextureCoordinateY ? 1 : 0) | (this.isUsingAccelerationStructure ? 2 : 0);
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private static Optional<TriangleMesh3F> doRead(final ByteBuffer byteBuffer) {
+			final String groupName = doReadString(byteBuffer);
+			final String materialName = doReadString(byteBuffer);
+			final String objectName = doReadString(byteBuffer);
+			
+			final int vertexCount = byteBuffer.getInt();
+			final int triangleCount = byteBuffer.getInt();
+			final int nodeCount = byteBuffer.getInt();
+			final int stackSize = byteBuffer.getInt();
+			
+			final float surfaceArea = byteBuffer.getFloat();
+			
+			if(vertexCount < 0 || triangleCount < 0 || nodeCount < 0 || byteBuffer.remaining() != (vertexCount * 8L + triangleCount * 3L + nodeCount * 8L + (nodeCount > 0 ? triangleCount : 0L)) * 4L) {
+				return Optional.empty();
+			}
+			
+			final float[] positions = doReadFloats(byteBuffer, vertexCount * 3);
+			final float[] normals = doReadFloats(byteBuffer, vertexCount * 3);
+			final float[] textureCoordinates = doReadFloats(byteBuffer, vertexCount * 2);
+			
+			final int[] indices = doReadInts(byteBuffer, triangleCount * 3);
+			
+			final VertexArrays vertexArrays = VertexArrays.create(positions, normals, textureCoordinates, indices);
+			
+			if(nodeCount == 0) {
+				return Optional.of(new TriangleMesh3F(vertexArrays, null, groupName, materialName, objectName));
 			}
 			
-//			indexedObjectModel1.calculateTangents();
+			final float[] bounds = doReadFloats(byteBuffer, nodeCount * TriangleBVH.BOUNDS_SIZE);
 			
-//			for(int i = 0; i < indexedObjectModel0.getPositionCount(); i++) {
-//				indexedObjectModel0.addTangent(indexedObjectModel1.getTangent(normalModelIndices1.get(Integer.valueOf(i)).intValue()));
-//			}
+			final int[] data = doReadInts(byteBuffer, nodeCount * TriangleBVH.DATA_SIZE);
+			final int[] triangles = doReadInts(byteBuffer, triangleCount);
 			
-			return indexedObjectModel0;
+			return Optional.of(new TriangleMesh3F(vertexArrays, TriangleBVH.create(bounds, data, triangles, surfaceArea, stackSize), groupName, materialName, objectName));
 		}
 		
-		public void addGroupName(final String groupName) {
-			this.groupNames.add(Objects.requireNonNull(groupName, "groupName == null"));
+		private static String doReadString(final ByteBuffer byteBuffer) {
+			final byte[] bytes = new byte[byteBuffer.getInt()];
+			
+			byteBuffer.get(bytes);
+			byteBuffer.position(byteBuffer.position() + doGetPadding(bytes.length));
+			
+			return new String(bytes, StandardCharsets.UTF_8);
 		}
 		
-		public void addMaterialName(final String materialName) {
-			this.materialNames.add(Objects.requireNonNull(materialName, "materialName == null"));
+		private static float[] doReadFloats(final ByteBuffer byteBuffer, final int length) {
+			final float[] floats = new float[length];
+			
+			byteBuffer.asFloatBuffer().get(floats);
+			byteBuffer.position(byteBuffer.position() + length * 4);
+			
+			return floats;
 		}
 		
-		public void addNormal(final Vector3F normal) {
-			this.normals.add(Objects.requireNonNull(normal, "normal == null"));
+		private static int doGetPadding(final int length) {
+			return -length & 3;
 		}
 		
-		public void addObjectName(final String objectName) {
-			this.objectNames.add(Objects.requireNonNull(objectName, "objectName == null"));
+		private static int[] doReadInts(final ByteBuffer byteBuffer, final int length) {
+			final int[] ints = new int[length];
+			
+			byteBuffer.asIntBuffer().get(ints);
+			byteBuffer.position(byteBuffer.position() + length * 4);
+			
+			return ints;
 		}
 		
-		public void addPosition(final Point4F position) {
-			this.positions.add(Objects.requireNonNull(position, "position == null"));
+		private static long doGetRecordSize(final TriangleMesh3F triangleMesh) {
+			long recordSize = 20L;
+			
+			for(final String string : new String[] {triangleMesh.groupName, triangleMesh.materialName, triangleMesh.objectName}) {
+				final int length = string.getBytes(StandardCharsets.UTF_8).length;
+				
+				recordSize += 4L + length + doGetPadding(length);
+			}
+			
+			recordSize += (triangleMesh.positions.length + triangleMesh.normals.length + triangleMesh.textureCoordinates.length + triangleMesh.indices.length) * 4L;
+			recordSize += triangleMesh.isUsingAccelerationStructure ? triangleMesh.triangleBVH.getSizeInBytes() : 0L;
+			
+			return recordSize;
 		}
 		
-		public void addTextureCoordinates(final Point2F textureCoordinates) {
-			this.textureCoordinates.add(Objects.requireNonNull(textureCoordinates, "textureCoordinates == null"));
+		private static void doWrite(final FileChannel fileChannel, final ByteBuffer byteBuffer, final TriangleMesh3F triangleMesh) throws IOException {
+			final TriangleBVH triangleBVH = triangleMesh.triangleBVH;
+			
+			doWriteSpace(fileChannel, byteBuffer, 8);
+			
+			byteBuffer.putLong(doGetRecordSize(triangleMesh));
+			
+			doWriteString(fileChannel, byteBuffer, triangleMesh.groupName);
+			doWriteString(fileChannel, byteBuffer, triangleMesh.materialName);
+			doWriteString(fileChannel, byteBuffer, triangleMesh.objectName);
+			doWriteSpace(fileChannel, byteBuffer, 20);
+			
+			byteBuffer.putInt(triangleMesh.getVertexCount());
+			byteBuffer.putInt(triangleMesh.getTriangleCount());
+			byteBuffer.putInt(triangleBVH != null ? triangleBVH.getNodeCount() : 0);
+			byteBuffer.putInt(triangleBVH != null ? triangleBVH.getStackSize() : 0);
+			byteBuffer.putFloat(triangleMesh.surfaceArea);
+			
+			doWriteFloats(fileChannel, byteBuffer, triangleMesh.positions);
+			doWriteFloats(fileChannel, byteBuffer, triangleMesh.normals);
+			doWriteFloats(fileChannel, byteBuffer, triangleMesh.textureCoordinates);
+			doWriteInts(fileChannel, byteBuffer, triangleMesh.indices);
+			
+			if(triangleBVH != null) {
+				doWriteFloats(fileChannel, byteBuffer, triangleBVH.getBounds());
+				doWriteInts(fileChannel, byteBuffer, triangleBVH.getData());
+				doWriteInts(fileChannel, byteBuffer, triangleBVH.getTriangles());
+			}
 		}
 		
-		public void addVertex(final Vertex vertex) {
-			this.vertices.add(Objects.requireNonNull(vertex, "vertex == null"));
+		private static void doWriteFloats(final FileChannel fileChannel, final ByteBuffer byteBuffer, final float[] floats) throws IOException {
+			for(int offset = 0; offset < floats.length;) {
+				doWriteSpace(fileChannel, byteBuffer, 4);
+				
+				final int length = Math.min(floats.length - offset, byteBuffer.remaining() / 4);
+				
+				byteBuffer.asFloatBuffer().put(floats, offset, length);
+				byteBuffer.position(byteBuffer.position() + length * 4);
+				
+				offset += length;
+			}
 		}
 		
-		////////////////////////////////////////////////////////////////////////////////////////////////////
+		private static void doWriteFully(final FileChannel fileChannel, final ByteBuffer byteBuffer) throws IOException {
+			while(byteBuffer.hasRemaining()) {
+				fileChannel.write(byteBuffer);
+			}
+		}
+		
+		private static void doWriteInts(final FileChannel fileChannel, final ByteBuffer byteBuffer, final int[] ints) throws IOException {
+			for(int offset = 0; offset < ints.length;) {
+				doWriteSpace(fileChannel, byteBuffer, 4);
+				
+				final int length = Math.min(ints.length - offset, byteBuffer.remaining() / 4);
+				
+				byteBuffer.asIntBuffer().put(ints, offset, length);
+				byteBuffer.position(byteBuffer.position() + length * 4);
+				
+				offset += length;
+			}
+		}
+		
+//		Writes the buffered bytes to the file if fewer than space bytes remain in the buffer:
+		private static void doWriteSpace(final FileChannel fileChannel, final ByteBuffer byteBuffer, final int space) throws IOException {
+			if(byteBuffer.remaining() < space) {
+				byteBuffer.flip();
+				
+				doWriteFully(fileChannel, byteBuffer);
+				
+				byteBuffer.clear();
+			}
+		}
 		
-		public static DefaultObjectModel parseDefaultObjectModel(final File file, final boolean isFlippingTextureCoordinateY) throws IOException {
-			final DefaultObjectModel defaultObjectModel = new DefaultObjectModel();
+		private static void doWriteString(final FileChannel fileChannel, final ByteBuffer byteBuffer, final String string) throws IOException {
+			final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
 			
-			String currentGroupName = "";
-			String currentMaterialName = "";
-			String currentObjectName = "";
+			doWriteSpace(fileChannel, byteBuffer, 4);
 			
-			try(final BufferedReader bufferedReader = new BufferedReader(new FileReader(Objects.requireNonNull(file, "file == null")))) {
-				for(String line = bufferedReader.readLine(); line != null; line = bufferedReader.readLine()) {
-					final String[] elements = line.split("\\s+");
-					
-					if(elements.length > 0) {
-						switch(elements[0]) {
-							case "#":
-								continue;
-							case "f":
-								for(int i = 0; i < elements.length - 3; i++) {
-									defaultObjectModel.addGroupName(currentGroupName);
-									defaultObjectModel.addGroupName(currentGroupName);
-									defaultObjectModel.addGroupName(currentGroupName);
-									defaultObjectModel.addMaterialName(currentMaterialName);
-									defaultObjectModel.addMaterialName(currentMaterialName);
-									defaultObjectModel.addMaterialName(currentMaterialName);
-									defaultObjectModel.addObjectName(currentObjectName);
-									defaultObjectModel.addObjectName(currentObjectName);
-									defaultObjectModel.addObjectName(currentObjectName);
-									defaultObjectModel.addVertex(Vertex.parseVertex(elements[1 + 0]));
-									defaultObjectModel.addVertex(Vertex.parseVertex(elements[2 + i]));
-									defaultObjectModel.addVertex(Vertex.parseVertex(elements[3 + i]));
-								}
-								
-								break;
-							case "g":
-								currentGroupName = elements[1];
-								
-								break;
-							case "o":
-								currentObjectName = elements[1];
-								
-								break;
-							case "usemtl":
-								currentMaterialName = elements[1];
-								
-								break;
-							case "v":
-								defaultObjectModel.addPosition(new Point4F(Float.parseFloat(elements[1]), Float.parseFloat(elements[2]), Float.parseFloat(elements[3])));
-								
-								break;
-							case "vn":
-								defaultObjectModel.addNormal(new Vector3F(Float.parseFloat(elements[1]), Float.parseFloat(elements[2]), Float.parseFloat(elements[3])));
-								
-								break;
-							case "vt":
-								defaultObjectModel.addTextureCoordinates(new Point2F(Float.parseFloat(elements[1]), isFlippingTextureCoordinateY ? 1.0F - Float.parseFloat(elements[2]) : Float.parseFloat(elements[2])));
-								
-								break;
-							default:
-								break;
-						}
-					}
+			byteBuffer.putInt(bytes.length);
+			
+			for(int offset = 0; offset < bytes.length + doGetPadding(bytes.length); offset++) {
+				doWriteSpace(fileChannel, byteBuffer, 1);
+				
+				byteBuffer.put(offset < bytes.length ? bytes[offset] : 0);
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class PrecomputedRay {
+		private final float directionReciprocalX;
+		private final float directionReciprocalY;
+		private final float directionReciprocalZ;
+		private final float originKX;
+		private final float originKY;
+		private final float originKZ;
+		private final float originX;
+		private final float originY;
+		private final float originZ;
+		private final float shearX;
+		private final float shearY;
+		private final float shearZ;
+		private final int directionSigns;
+		private final int kx;
+		private final int ky;
+		private final int kz;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public PrecomputedRay(final Ray3F ray) {
+			final Point3F origin = ray.getOrigin();
+			
+			final Vector3F direction = ray.getDirection();
+			final Vector3F directionAbsolute = Vector3F.absolute(direction);
+			
+			final int kz = directionAbsolute.getMaxDimension();
+			final int kx = kz + 1 == 3 ? 0 : kz + 1;
+			final int ky = kx + 1 == 3 ? 0 : kx + 1;
+			
+			this.directionReciprocalX = 1.0F / direction.x;
+			this.directionReciprocalY = 1.0F / direction.y;
+			this.directionReciprocalZ = 1.0F / direction.z;
+			this.originKX = origin.getComponent(kx);
+			this.originKY = origin.getComponent(ky);
+			this.originKZ = origin.getComponent(kz);
+			this.originX = origin.x;
+			this.originY = origin.y;
+			this.originZ = origin.z;
+			this.shearX = -direction.getComponentAt(kx) / direction.getComponentAt(kz);
+			this.shearY = -direction.getComponentAt(ky) / direction.getComponentAt(kz);
+			this.shearZ = 1.0F / direction.getComponentAt(kz);
+			this.directionSigns = (direction.x < 0.0F ? 1 : 0) | (direction.y < 0.0F ? 2 : 0) | (direction.z < 0.0F ? 4 : 0);
+			this.kx = kx;
+			this.ky = ky;
+			this.kz = kz;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public boolean intersects(final float[] bounds, final int offset, final float tMinimum, final float tMaximum) {
+			float tNear = tMinimum;
+			float tFar = tMaximum;
+			
+			for(int axis = 0; axis < 3; axis++) {
+				final float origin = axis == 0 ? this.originX : axis == 1 ? this.originY : this.originZ;
+				final float directionReciprocal = axis == 0 ? this.directionReciprocalX : axis == 1 ? this.directionReciprocalY : this.directionReciprocalZ;
+				
+				final float t0 = (bounds[offset + axis + 0] - origin) * directionReciprocal;
+				final float t1 = (bounds[offset + axis + 3] - origin) * directionReciprocal;
+				
+//				The comparisons are written so that a NaN, caused by a ray origin in a slab plane and a zero direction component, does not reject the node:
+				tNear = t0 < t1 ? t0 > tNear ? t0 : tNear : t1 > tNear ? t1 : tNear;
+				tFar = t0 < t1 ? t1 < tFar ? t1 : tFar : t0 < tFar ? t0 : tFar;
+				
+				if(tNear > tFar) {
+					return false;
 				}
 			}
 			
-			return defaultObjectModel;
+			return true;
 		}
 		
-		public static DefaultObjectModel parseDefaultObjectModel(final String string, final boolean isFlippingTextureCoordinateY) throws IOException {
-			final DefaultObjectModel defaultObjectModel = new DefaultObjectModel();
+//		This is the watertight ray-triangle intersection test of Triangle3F, with the permutation and shear of the ray computed once per ray:
+		public float intersectionT(final float[] positions, final int offsetA, final int offsetB, final int offsetC, final float tMinimum, final float tMaximum) {
+			final float p0tZ = positions[offsetA + this.kz] - this.originKZ;
+			final float p1tZ = positions[offsetB + this.kz] - this.originKZ;
+			final float p2tZ = positions[offsetC + this.kz] - this.originKZ;
+			
+			final float p0tX = positions[offsetA + this.kx] - this.originKX + this.shearX * p0tZ;
+			final float p0tY = positions[offsetA + this.ky] - this.originKY + this.shearY * p0tZ;
+			final float p1tX = positions[offsetB + this.kx] - this.originKX + this.shearX * p1tZ;
+			final float p1tY = positions[offsetB + this.ky] - this.originKY + this.shearY * p1tZ;
+			final float p2tX = positions[offsetC + this.kx] - this.originKX + this.shearX * p2tZ;
+			final float p2tY = positions[offsetC + this.ky] - this.originKY + this.shearY * p2tZ;
+			
+			float e0 = p1tX * p2tY - p1tY * p2tX;
+			float e1 = p2tX * p0tY - p2tY * p0tX;
+			float e2 = p0tX * p1tY - p0tY * p1tX;
+			
+			if(e0 == 0.0F || e1 == 0.0F || e2 == 0.0F) {
+				e0 = (float)((double)(p2tY) * (double)(p1tX) - (double)(p2tX) * (double)(p1tY));
+				e1 = (float)((double)(p0tY) * (double)(p2tX) - (double)(p0tX) * (double)(p2tY));
+				e2 = (float)((double)(p1tY) * (double)(p0tX) - (double)(p1tX) * (double)(p0tY));
+			}
 			
-			String currentGroupName = "";
-			String currentMaterialName = "";
-			String currentObjectName = "";
+			if((e0 < 0.0F || e1 < 0.0F || e2 < 0.0F) && (e0 > 0.0F || e1 > 0.0F || e2 > 0.0F)) {
+				return Float.NaN;
+			}
 			
-			try(final BufferedReader bufferedReader = new BufferedReader(new StringReader(Objects.requireNonNull(string, "string == null")))) {
-				for(String line = bufferedReader.readLine(); line != null; line = bufferedReader.readLine()) {
-					final String[] elements = line.split("\\s+");
-					
-					if(elements.length > 0) {
-						switch(elements[0]) {
-							case "#":
-								continue;
-							case "f":
-								for(int i = 0; i < elements.length - 3; i++) {
-									defaultObjectModel.addGroupName(currentGroupName);
-									defaultObjectModel.addGroupName(currentGroupName);
-									defaultObjectModel.addGroupName(currentGroupName);
-									defaultObjectModel.addMaterialName(currentMaterialName);
-									defaultObjectModel.addMaterialName(currentMaterialName);
-									defaultObjectModel.addMaterialName(currentMaterialName);
-									defaultObjectModel.addObjectName(currentObjectName);
-									defaultObjectModel.addObjectName(currentObjectName);
-									defaultObjectModel.addObjectName(currentObjectName);
-									defaultObjectModel.addVertex(Vertex.parseVertex(elements[1 + 0]));
-									defaultObjectModel.addVertex(Vertex.parseVertex(elements[2 + i]));
-									defaultObjectModel.addVertex(Vertex.parseVertex(elements[3 + i]));
-								}
-								
-								break;
-							case "g":
-								currentGroupName = elements[1];
-								
-								break;
-							case "o":
-								currentObjectName = elements[1];
-								
-								break;
-							case "usemtl":
-								currentMaterialName = elements[1];
-								
-								break;
-							case "v":
-								defaultObjectModel.addPosition(new Point4F(Float.parseFloat(elements[1]), Float.parseFloat(elements[2]), Float.parseFloat(elements[3])));
-								
-								break;
-							case "vn":
-								defaultObjectModel.addNormal(new Vector3F(Float.parseFloat(elements[1]), Float.parseFloat(elements[2]), Float.parseFloat(elements[3])));
-								
-								break;
-							case "vt":
-								defaultObjectModel.addTextureCoordinates(new Point2F(Float.parseFloat(elements[1]), isFlippingTextureCoordinateY ? 1.0F - Float.parseFloat(elements[2]) : Float.parseFloat(elements[2])));
-								
-								break;
-							default:
-								break;
-						}
-					}
-				}
+			final float det = e0 + e1 + e2;
+			
+			if(det == 0.0F) {
+				return Float.NaN;
+			}
+			
+			final float p0tZScaled = p0tZ * this.shearZ;
+			final float p1tZScaled = p1tZ * this.shearZ;
+			final float p2tZScaled = p2tZ * this.shearZ;
+			
+			final float tScaled = e0 * p0tZScaled + e1 * p1tZScaled + e2 * p2tZScaled;
+			
+			if(det < 0.0F && (tScaled >= tMinimum || tScaled < tMaximum * det)) {
+				return Float.NaN;
+			} else if(det > 0.0F && (tScaled <= tMinimum || tScaled > tMaximum * det)) {
+				return Float.NaN;
 			}
 			
-			return defaultObjectModel;
+			final float invDet = 1.0F / det;
+			
+			final float t = tScaled * invDet;
+			
+			final float maxZt = Floats.max(Floats.max(Floats.abs(p0tZScaled), Floats.abs(p1tZScaled)), Floats.abs(p2tZScaled));
+			final float maxXt = Floats.max(Floats.max(Floats.abs(p0tX), Floats.abs(p1tX)), Floats.abs(p2tX));
+			final float maxYt = Floats.max(Floats.max(Floats.abs(p0tY), Floats.abs(p1tY)), Floats.abs(p2tY));
+			
+			final float deltaZ = Floats.gamma(3) * maxZt;
+			final float deltaX = Floats.gamma(5) * (maxXt + maxZt);
+			final float deltaY = Floats.gamma(5) * (maxYt + maxZt);
+			final float deltaE = 2.0F * (Floats.gamma(2) * maxXt * maxYt + deltaY * maxXt + deltaX * maxYt);
+			
+			final float maxE = Floats.max(Floats.max(Floats.abs(e0), Floats.abs(e1)), Floats.abs(e2));
+			
+			final float deltaT = 3.0F * (Floats.gamma(3) * maxE * maxZt + deltaE * maxZt + deltaZ * maxE) * Floats.abs(invDet);
+			
+			if(t <= deltaT) {
+				return Float.NaN;
+			}
+			
+			return t;
+		}
+		
+		public int pushFar(final int[] stack, final int stackIndex, final int index, final int indexSecond, final int axisEncoded) {
+			final int axis = TriangleBVH.getAxis(axisEncoded);
+			
+			if((this.directionSigns & (1 << axis)) != 0) {
+				stack[stackIndex] = index + 1;
+				
+				return indexSecond;
+			}
+			
+			stack[stackIndex] = indexSecond;
+			
+			return index + 1;
 		}
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static final class IndexedObjectModel {
-		private final List<Integer> indices;
-		private final List<Point2F> textureCoordinates;
-		private final List<Point4F> positions;
-		private final List<String> groupNames;
-		private final List<String> materialNames;
-		private final List<String> objectNames;
-		private final List<Vector3F> normals;
-//		private final List<Vector3F> tangents;
+	private static final class TriangleBVH {
+		public static final int BOUNDS_SIZE = 6;
+		public static final int DATA_SIZE = 2;
 		
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
-		public IndexedObjectModel() {
-			this.indices = new ArrayList<>();
-			this.textureCoordinates = new ArrayList<>();
-			this.positions = new ArrayList<>();
-			this.groupNames = new ArrayList<>();
-			this.materialNames = new ArrayList<>();
-			this.objectNames = new ArrayList<>();
-			this.normals = new ArrayList<>();
-//			this.tangents = new ArrayList<>();
-		}
+		private final float[] bounds;
+		private final float surfaceArea;
+		private final int[] data;
+		private final int[] triangles;
+		private final int stackSize;
 		
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
-		public List<Integer> getIndices() {
-			return this.indices;
+		private TriangleBVH(final Node node, final int triangleCount) {
+			final int[] state = new int[2];
+			
+			this.bounds = new float[node.getNodeCount() * BOUNDS_SIZE];
+			this.data = new int[node.getNodeCount() * DATA_SIZE];
+			this.triangles = new int[triangleCount];
+			
+			doFlatten(node, 0, 0, state);
+			
+			this.surfaceArea = node.getSurfaceArea();
+			this.stackSize = state[1] + 1;
 		}
 		
-		public List<Point2F> getTextureCoordinates() {
-			return this.textureCoordinates;
+		private TriangleBVH(final float[] bounds, final int[] data, final int[] triangles, final float surfaceArea, final int stackSize) {
+			this.bounds = bounds;
+			this.data = data;
+			this.triangles = triangles;
+			this.surfaceArea = surfaceArea;
+			this.stackSize = stackSize;
 		}
 		
-		public List<Point4F> getPositions() {
-			return this.positions;
-		}
+		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
-		public List<String> getGroupNames() {
-			return this.groupNames;
+		public BoundingVolume3F getBoundingVolume(final int index) {
+			return new AxisAlignedBoundingBox3F(getMaximum(index), getMinimum(index));
 		}
 		
-		public List<String> getMaterialNames() {
-			return this.materialNames;
+		public Point3F getMaximum(final int index) {
+			return new Point3F(this.bounds[index * BOUNDS_SIZE + 3], this.bounds[index * BOUNDS_SIZE + 4], this.bounds[index * BOUNDS_SIZE + 5]);
 		}
 		
-		public List<String> getObjectNames() {
-			return this.objectNames;
+		public Point3F getMinimum(final int index) {
+			return new Point3F(this.bounds[index * BOUNDS_SIZE + 0], this.bounds[index * BOUNDS_SIZE + 1], this.bounds[index * BOUNDS_SIZE + 2]);
 		}
 		
-		public List<Vector3F> getNormals() {
-			return this.normals;
+		public float[] getBounds() {
+			return this.bounds;
 		}
 		
-//		public List<Vector3F> getTangents() {
-//			return this.tangents;
-//		}
-		
-		public Vector3F getNormal(final int index) {
-			return this.normals.get(index);
+		public float getSurfaceArea() {
+			return this.surfaceArea;
 		}
 		
-//		public Vector3F getTangent(final int index) {
-//			return this.tangents.get(index);
-//		}
-		
-		public int getPositionCount() {
-			return this.positions.size();
+		public int[] getData() {
+			return this.data;
 		}
 		
-		public void addGroupName(final String groupName) {
-			this.groupNames.add(Objects.requireNonNull(groupName, "groupName == null"));
+		public int[] getTriangles() {
+			return this.triangles;
 		}
 		
-		public void addIndex(final Integer index) {
-			this.indices.add(Objects.requireNonNull(index, "index == null"));
+		public int getNodeCount() {
+			return this.data.length / DATA_SIZE;
 		}
 		
-		public void addMaterialName(final String materialName) {
-			this.materialNames.add(Objects.requireNonNull(materialName, "materialName == null"));
+		public int getStackSize() {
+			return this.stackSize;
 		}
 		
-		public void addNormal(final Vector3F normal) {
-			this.normals.add(Objects.requireNonNull(normal, "normal == null"));
+		public long getSizeInBytes() {
+			return (this.bounds.length + this.data.length + this.triangles.length) * 4L;
 		}
 		
-		public void addObjectName(final String objectName) {
-			this.objectNames.add(Objects.requireNonNull(objectName, "objectName == null"));
-		}
+		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
-		public void addPosition(final Point4F position) {
-			this.positions.add(Objects.requireNonNull(position, "position == null"));
+		public static boolean isSwapped(final int axisEncoded) {
+			return ((-1 - axisEncoded) & 4) != 0;
 		}
 		
-//		public void addTangent(final Vector3F tangent) {
-//			this.tangents.add(Objects.requireNonNull(tangent, "tangent == null"));
-//		}
+		public static int getAxis(final int axisEncoded) {
+			return (-1 - axisEncoded) & 3;
+		}
 		
-		public void addTextureCoordinates(final Point2F textureCoordinates) {
-			this.textureCoordinates.add(Objects.requireNonNull(textureCoordinates, "textureCoordinates == null"));
+		public static TriangleBVH create(final float[] bounds, final int[] data, final int[] triangles, final float surfaceArea, final int stackSize) {
+			return new TriangleBVH(bounds, data, triangles, surfaceArea, stackSize);
 		}
 		
-		public void calculateNormals() {
-			for(int i = 0; i < this.indices.size(); i += 3) {
-				final int indexA = this.indices.get(i + 0).intValue();
-				final int indexB = this.indices.get(i + 1).intValue();
-				final int indexC = this.indices.get(i + 2).intValue();
-				
-				final Vector3F edgeAB = Vector3F.direction(this.positions.get(indexA), this.positions.get(indexB));
-				final Vector3F edgeAC = Vector3F.direction(this.positions.get(indexA), this.positions.get(indexC));
-				final Vector3F normal = Vector3F.normalize(Vector3F.crossProduct(edgeAB, edgeAC));
+		public static TriangleBVH create(final float[] positions, final int[] indices) {
+			final int triangleCount = indices.length / 3;
+			
+			final float[] triangleBounds = new float[triangleCount * BOUNDS_SIZE];
+			
+			for(int triangle = 0; triangle < triangleCount; triangle++) {
+				final int offsetA = indices[triangle * 3 + 0] * 3;
+				final int offsetB = indices[triangle * 3 + 1] * 3;
+				final int offsetC = indices[triangle * 3 + 2] * 3;
 				
-				this.normals.set(indexA, Vector3F.add(this.normals.get(indexA), normal));
-				this.normals.set(indexB, Vector3F.add(this.normals.get(indexB), normal));
-				this.normals.set(indexC, Vector3F.add(this.normals.get(indexC), normal));
+				for(int axis = 0; axis < 3; axis++) {
+					triangleBounds[triangle * BOUNDS_SIZE + axis + 0] = Floats.min(positions[offsetA + axis], positions[offsetB + axis], positions[offsetC + axis]);
+					triangleBounds[triangle * BOUNDS_SIZE + axis + 3] = Floats.max(positions[offsetA + axis], positions[offsetB + axis], positions[offsetC + axis]);
+				}
 			}
 			
-			for(int i = 0; i < this.normals.size(); i++) {
-				this.normals.set(i, Vector3F.normalize(this.normals.get(i)));
-			}
+			final Node node = new BVHBuilder3F().build(triangleBounds, new BVHBuilder3F.NodeFactory<Node>() {
+				@Override
+				public Node createLeafNode(final Point3F maximum, final Point3F minimum, final int depth, final int[] triangles) {
+					float surfaceArea = 0.0F;
+					
+					for(final int triangle : triangles) {
+						surfaceArea += doCalculateSurfaceArea(positions, indices, triangle);
+					}
+					
+					return new Node(maximum, minimum, null, null, triangles, surfaceArea);
+				}
+				
+				@Override
+				public Node createTreeNode(final Point3F maximum, final Point3F minimum, final int depth, final Node nodeL, final Node nodeR) {
+					return new Node(maximum, minimum, nodeL, nodeR, null, nodeL.getSurfaceArea() + nodeR.getSurfaceArea());
+				}
+			});
+			
+			return new TriangleBVH(node, triangleCount);
 		}
 		
-		/*
-		public void calculateTangents() {
-			for(int i = 0; i < this.indices.size(); i += 3) {
-				final int indexA = this.indices.get(i + 0).intValue();
-				final int indexB = this.indices.get(i + 1).intValue();
-				final int indexC = this.indices.get(i + 2).intValue();
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private int doFlatten(final Node node, final int index, final int depth, final int[] state) {
+			final Point3F maximum = node.getMaximum();
+			final Point3F minimum = node.getMinimum();
+			
+			final int boundsOffset = index * BOUNDS_SIZE;
+			final int dataOffset = index * DATA_SIZE;
+			
+			this.bounds[boundsOffset + 0] = minimum.x;
+			this.bounds[boundsOffset + 1] = minimum.y;
+			this.bounds[boundsOffset + 2] = minimum.z;
+			this.bounds[boundsOffset + 3] = maximum.x;
+			this.bounds[boundsOffset + 4] = maximum.y;
+			this.bounds[boundsOffset + 5] = maximum.z;
+			
+			state[1] = Math.max(state[1], depth);
+			
+			if(node.isTreeNode()) {
+				final Node nodeL = node.getNodeL();
+				final Node nodeR = node.getNodeR();
+				
+				final Point3F midpointL = Point3F.midpoint(nodeL.getMaximum(), nodeL.getMinimum());
+				final Point3F midpointR = Point3F.midpoint(nodeR.getMaximum(), nodeR.getMinimum());
 				
-				final Vector3F edgeAB = Vector3F.direction(this.positions.get(indexA), this.positions.get(indexB));
-				final Vector3F edgeAC = Vector3F.direction(this.positions.get(indexA), this.positions.get(indexC));
+				final float deltaX = Floats.abs(midpointL.x - midpointR.x);
+				final float deltaY = Floats.abs(midpointL.y - midpointR.y);
+				final float deltaZ = Floats.abs(midpointL.z - midpointR.z);
 				
-				final float deltaABU = this.textureCoordinates.get(indexB).getX() - this.textureCoordinates.get(indexA).getX();
-				final float deltaABV = this.textureCoordinates.get(indexB).getY() - this.textureCoordinates.get(indexA).getY();
-				final float deltaACU = this.textureCoordinates.get(indexC).getX() - this.textureCoordinates.get(indexA).getX();
-				final float deltaACV = this.textureCoordinates.get(indexC).getY() - this.textureCoordinates.get(indexA).getY();
+				final int axis = deltaX >= deltaY && deltaX >= deltaZ ? 0 : deltaY >= deltaZ ? 1 : 2;
 				
-				final float dividend = (deltaABU * deltaACV - deltaACU * deltaABV);
-				final float fraction = dividend < -0.0F || dividend > +0.0F ? 1.0F / dividend : 0.0F;
+//				The first child is the one with the lower midpoint along the split axis, so the traversal can visit the nearer child first:
+				final boolean isLeftFirst = midpointL.getComponent(axis) <= midpointR.getComponent(axis);
 				
-				final float x = fraction * (deltaACV * edgeAB.getX() - deltaABV * edgeAC.getX());
-				final float y = fraction * (deltaACV * edgeAB.getY() - deltaABV * edgeAC.getY());
-				final float z = fraction * (deltaACV * edgeAB.getZ() - deltaABV * edgeAC.getZ());
+				final int indexSecond = doFlatten(isLeftFirst ? nodeL : nodeR, index + 1, depth + 1, state);
 				
-				final Vector3F tangent = new Vector3F(x, y, z);
+//				A tree node stores the index of its second child and the encoded split axis. Bit 2 of the axis records if the children were swapped, so the BVHNode3F tree can be recreated in the order it was built:
+				this.data[dataOffset + 0] = indexSecond;
+				this.data[dataOffset + 1] = -1 - (isLeftFirst ? axis : axis | 4);
 				
-				this.tangents.set(indexA, Vector3F.add(this.tangents.get(indexA), tangent));
-				this.tangents.set(indexB, Vector3F.add(this.tangents.get(indexB), tangent));
-				this.tangents.set(indexC, Vector3F.add(this.tangents.get(indexC), tangent));
+				return doFlatten(isLeftFirst ? nodeR : nodeL, indexSecond, depth + 1, state);
 			}
 			
-			for(int i = 0; i < this.tangents.size(); i++) {
-				this.tangents.set(i, Vector3F.normalize(this.tangents.get(i)));
+			final int[] triangles = node.getTriangles();
+			
+			this.data[dataOffset + 0] = state[0];
+			this.data[dataOffset + 1] = triangles.length;
+			
+			System.arraycopy(triangles, 0, this.triangles, state[0], triangles.length);
+			
+			state[0] += triangles.length;
+			
+			return index + 1;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private static final class Node {
+			private final Node nodeL;
+			private final Node nodeR;
+			private final Point3F maximum;
+			private final Point3F minimum;
+			private final float surfaceArea;
+			private final int[] triangles;
+			private final int nodeCount;
+			
+			////////////////////////////////////////////////////////////////////////////////////////////////////
+			
+			public Node(final Point3F maximum, final Point3F minimum, final Node nodeL, final Node nodeR, final int[] triangles, final float surfaceArea) {
+				this.maximum = maximum;
+				this.minimum = minimum;
+				this.nodeL = nodeL;
+				this.nodeR = nodeR;
+				this.triangles = triangles;
+				this.surfaceArea = surfaceArea;
+				this.nodeCount = nodeL != null && nodeR != null ? 1 + nodeL.getNodeCount() + nodeR.getNodeCount() : 1;
+			}
+			
+			////////////////////////////////////////////////////////////////////////////////////////////////////
+			
+			public Node getNodeL() {
+				return this.nodeL;
+			}
+			
+			public Node getNodeR() {
+				return this.nodeR;
+			}
+			
+			public Point3F getMaximum() {
+				return this.maximum;
+			}
+			
+			public Point3F getMinimum() {
+				return this.minimum;
+			}
+			
+			public boolean isTreeNode() {
+				return this.nodeL != null && this.nodeR != null;
+			}
+			
+			public float getSurfaceArea() {
+				return this.surfaceArea;
+			}
+			
+			public int[] getTriangles() {
+				return this.triangles;
+			}
+			
+			public int getNodeCount() {
+				return this.nodeCount;
 			}
 		}
-		*/
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static final class Vertex {
-		private final int geometricVertexIndex;
-		private final int textureVertexIndex;
-		private final int vertexNormalIndex;
+	private static final class VertexArrays {
+		private final float[] normals;
+		private final float[] positions;
+		private final float[] textureCoordinates;
+		private final int[] indices;
 		
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
-		public Vertex(final int geometricVertexIndex, final int textureVertexIndex, final int vertexNormalIndex) {
-			this.geometricVertexIndex = geometricVertexIndex;
-			this.textureVertexIndex = textureVertexIndex;
-			this.vertexNormalIndex = vertexNormalIndex;
+		private VertexArrays(final float[] positions, final float[] normals, final float[] textureCoordinates, final int[] indices) {
+			this.positions = positions;
+			this.normals = normals;
+			this.textureCoordinates = textureCoordinates;
+			this.indices = indices;
 		}
 		
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
-		@Override
-		public boolean equals(final Object object) {
-			if(object == this) {
-				return true;
-			} else if(!(object instanceof Vertex)) {
-				return false;
-			} else if(this.geometricVertexIndex != Vertex.class.cast(object).geometricVertexIndex) {
-				return false;
-			} else if(this.textureVertexIndex != Vertex.class.cast(object).textureVertexIndex) {
-				return false;
-			} else if(this.vertexNormalIndex != Vertex.class.cast(object).vertexNormalIndex) {
-				return false;
-			} else {
-				return true;
-			}
-		}
-		
-		public boolean hasGeometricVertexIndex() {
-			return this.geometricVertexIndex != Integer.MIN_VALUE;
+		public float[] getNormals() {
+			return this.normals;
 		}
 		
-		public boolean hasTextureVertexIndex() {
-			return this.textureVertexIndex != Integer.MIN_VALUE;
+		public float[] getPositions() {
+			return this.positions;
 		}
 		
-		public boolean hasVertexNormalIndex() {
-			return this.vertexNormalIndex != Integer.MIN_VALUE;
+		public float[] getTextureCoordinates() {
+			return this.textureCoordinates;
 		}
 		
-		public int getGeometricVertexIndex() {
-			return this.geometricVertexIndex;
+		public int[] getIndices() {
+			return this.indices;
 		}
 		
-		public int getTextureVertexIndex() {
-			return this.textureVertexIndex;
-		}
+		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
-		public int getVertexNormalIndex() {
-			return this.vertexNormalIndex;
+		public static VertexArrays create(final List<Triangle3F> triangles) {
+			final List<Vertex3F> vertices = new ArrayList<>();
+			
+			final Map<Vertex3F, Integer> vertexIndices = new HashMap<>();
+			
+			final int[] indices = new int[triangles.size() * 3];
+			
+			for(int i = 0; i < triangles.size(); i++) {
+				final Triangle3F triangle = triangles.get(i);
+				
+				indices[i * 3 + 0] = doGetVertexIndex(triangle.getA(), vertices, vertexIndices);
+				indices[i * 3 + 1] = doGetVertexIndex(triangle.getB(), vertices, vertexIndices);
+				indices[i * 3 + 2] = doGetVertexIndex(triangle.getC(), vertices, vertexIndices);
+			}
+			
+			final float[] normals = new float[vertices.size() * 3];
+			final float[] positions = new float[vertices.size() * 3];
+			final float[] textureCoordinates = new float[vertices.size() * 2];
+			
+			for(int i = 0; i < vertices.size(); i++) {
+				final Vertex3F vertex = vertices.get(i);
+				
+				final Point2F textureCoordinate = vertex.getTextureCoordinates();
+				
+				final Point4F position = vertex.getPosition();
+				
+				final Vector3F normal = vertex.getNormal();
+				
+				normals[i * 3 + 0] = normal.x;
+				normals[i * 3 + 1] = normal.y;
+				normals[i * 3 + 2] = normal.z;
+				
+				positions[i * 3 + 0] = position.x;
+				positions[i * 3 + 1] = position.y;
+				positions[i * 3 + 2] = position.z;
+				
+				textureCoordinates[i * 2 + 0] = textureCoordinate.x;
+				textureCoordinates[i * 2 + 1] = textureCoordinate.y;
+			}
+			
+			return new VertexArrays(positions, normals, textureCoordinates, indices);
 		}
 		
-		@Override
-		public int hashCode() {
-			return Objects.hash(Integer.valueOf(this.geometricVertexIndex), Integer.valueOf(this.textureVertexIndex), Integer.valueOf(this.vertexNormalIndex));
+		public static VertexArrays create(final float[] positions, final float[] normals, final float[] textureCoordinates, final int[] indices) {
+			final int vertexCount = positions.length / 3;
+			
+			ParameterArguments.requireExact(positions.length % 3, 0, "positions.length % 3");
+			ParameterArguments.requireExactArrayLength(normals, vertexCount * 3, "normals");
+			ParameterArguments.requireExactArrayLength(textureCoordinates, vertexCount * 2, "textureCoordinates");
+			ParameterArguments.requireExact(indices.length % 3, 0, "indices.length % 3");
+			
+			if(vertexCount == 0) {
+				ParameterArguments.requireExact(indices.length, 0, "indices.length");
+			} else {
+				ParameterArguments.requireRange(indices, 0, vertexCount - 1, "indices");
+			}
+			
+			return new VertexArrays(positions, normals, textureCoordinates, indices);
 		}
 		
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
-		public static Vertex parseVertex(final String string) {
-			final String[] strings = string.split("/");
-			
-			final int geometricVertexIndex = strings.length > 0 && !strings[0].isEmpty() ? Integer.parseInt(strings[0]) - 1 : Integer.MIN_VALUE;
-			final int textureVertexIndex   = strings.length > 1 && !strings[1].isEmpty() ? Integer.parseInt(strings[1]) - 1 : Integer.MIN_VALUE;
-			final int vertexNormalIndex    = strings.length > 2 && !strings[2].isEmpty() ? Integer.parseInt(strings[2]) - 1 : Integer.MIN_VALUE;
-			
-			return new Vertex(geometricVertexIndex, textureVertexIndex, vertexNormalIndex);
+		private static int doGetVertexIndex(final Vertex3F vertex, final List<Vertex3F> vertices, final Map<Vertex3F, Integer> vertexIndices) {
+			return vertexIndices.computeIfAbsent(vertex, key -> {
+				vertices.add(key);
+				
+				return Integer.valueOf(vertices.size() - 1);
+			}).intValue();
 		}
 	}
-}
\ No newline at end of file
+}
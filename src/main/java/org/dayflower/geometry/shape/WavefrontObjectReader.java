@@ -0,0 +1,971 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.geometry.shape;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.RecursiveTask;
+
+import org.dayflower.geometry.Vector3F;
+import org.dayflower.utility.ParameterArguments;
+
+//The reader tokenizes the bytes of a Wavefront Object file directly into primitive arrays. A large file is split into chunks at line boundaries, which are parsed in parallel and merged afterwards.
+//Group, material and object names are tracked as runs of faces instead of per vertex.
+final class WavefrontObjectReader {
+	private static final double[] POWERS_OF_TEN = {1.0e0D, 1.0e1D, 1.0e2D, 1.0e3D, 1.0e4D, 1.0e5D, 1.0e6D, 1.0e7D, 1.0e8D, 1.0e9D, 1.0e10D, 1.0e11D, 1.0e12D, 1.0e13D, 1.0e14D, 1.0e15D, 1.0e16D, 1.0e17D, 1.0e18D, 1.0e19D, 1.0e20D, 1.0e21D, 1.0e22D};
+	private static final int ABSENT = Integer.MIN_VALUE;
+	private static final long CHUNK_SIZE_MAXIMUM = 1L << 30;
+	private static final int CHUNK_SIZE_MINIMUM = 1 << 23;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final boolean isFlippingTextureCoordinateY;
+	private final boolean isParallel;
+	private final int chunkSizeMinimum;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public WavefrontObjectReader(final boolean isFlippingTextureCoordinateY, final boolean isParallel) {
+		this(isFlippingTextureCoordinateY, isParallel, CHUNK_SIZE_MINIMUM);
+	}
+	
+	public WavefrontObjectReader(final boolean isFlippingTextureCoordinateY, final boolean isParallel, final int chunkSizeMinimum) {
+		this.isFlippingTextureCoordinateY = isFlippingTextureCoordinateY;
+		this.isParallel = isParallel;
+		this.chunkSizeMinimum = ParameterArguments.requireRange(chunkSizeMinimum, 1, Integer.MAX_VALUE, "chunkSizeMinimum");
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public Model read(final File file) throws IOException {
+		try(final FileChannel fileChannel = FileChannel.open(Objects.requireNonNull(file, "file == null").toPath(), StandardOpenOption.READ)) {
+			final long size = fileChannel.size();
+			
+			final int chunkCount = doGetChunkCount(size);
+			
+			final List<ParseTask> parseTasks = new ArrayList<>(chunkCount);
+			
+			for(int i = 0; i < chunkCount; i++) {
+				final long start = size * i / chunkCount;
+				final long end = size * (i + 1) / chunkCount;
+				
+//				The mapping starts one byte before the chunk, so the parser can tell if the chunk starts at a line, and extends past the chunk, so the last line can be completed:
+				final long mappingStart = Math.max(start - 1L, 0L);
+				final long mappingSize = Math.min(size - mappingStart, Integer.MAX_VALUE);
+				
+				parseTasks.add(new ParseTask(fileChannel.map(MapMode.READ_ONLY, mappingStart, mappingSize), (int)(start - mappingStart), (int)(end - mappingStart), this.isFlippingTextureCoordinateY));
+			}
+			
+			return doParse(parseTasks);
+		}
+	}
+	
+	public Model read(final String string) throws IOException {
+		final byte[] bytes = Objects.requireNonNull(string, "string == null").getBytes(StandardCharsets.UTF_8);
+		
+		final List<ParseTask> parseTasks = new ArrayList<>(1);
+		
+		parseTasks.add(new ParseTask(ByteBuffer.wrap(bytes), 0, bytes.length, this.isFlippingTextureCoordinateY));
+		
+		return doParse(parseTasks);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Model doParse(final List<ParseTask> parseTasks) throws IOException {
+		final boolean isForking = this.isParallel && parseTasks.size() > 1;
+		
+		if(isForking) {
+			for(final ParseTask parseTask : parseTasks) {
+				parseTask.fork();
+			}
+		}
+		
+		final List<Chunk> chunks = new ArrayList<>(parseTasks.size());
+		
+		for(final ParseTask parseTask : parseTasks) {
+			chunks.add(isForking ? parseTask.join() : parseTask.invoke());
+		}
+		
+		return Model.merge(chunks);
+	}
+	
+	private int doGetChunkCount(final long size) {
+		final long chunkCountMinimum = (size + CHUNK_SIZE_MAXIMUM - 1L) / CHUNK_SIZE_MAXIMUM;
+		final long chunkCountParallel = this.isParallel ? Math.min(size / this.chunkSizeMinimum, Runtime.getRuntime().availableProcessors() * 4L) : 1L;
+		
+		return (int)(Math.max(Math.max(chunkCountMinimum, chunkCountParallel), 1L));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	static final class Mesh {
+		private final float[] normals;
+		private final float[] positions;
+		private final float[] textureCoordinates;
+		private final int[] indices;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Mesh(final float[] positions, final float[] normals, final float[] textureCoordinates, final int[] indices) {
+			this.positions = positions;
+			this.normals = normals;
+			this.textureCoordinates = textureCoordinates;
+			this.indices = indices;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public float[] getNormals() {
+			return this.normals;
+		}
+		
+		public float[] getPositions() {
+			return this.positions;
+		}
+		
+		public float[] getTextureCoordinates() {
+			return this.textureCoordinates;
+		}
+		
+		public int[] getIndices() {
+			return this.indices;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	static final class Model {
+		private final String[] runGroupNames;
+		private final String[] runMaterialNames;
+		private final String[] runObjectNames;
+		private final float[] normals;
+		private final float[] positions;
+		private final float[] textureCoordinates;
+		private float[] smoothNormals;
+		private final int[] corners;
+		private final int[] runStarts;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private Model(final float[] positions, final float[] normals, final float[] textureCoordinates, final int[] corners, final int[] runStarts, final String[] runGroupNames, final String[] runMaterialNames, final String[] runObjectNames) {
+			this.positions = positions;
+			this.normals = normals;
+			this.textureCoordinates = textureCoordinates;
+			this.corners = corners;
+			this.runStarts = runStarts;
+			this.runGroupNames = runGroupNames;
+			this.runMaterialNames = runMaterialNames;
+			this.runObjectNames = runObjectNames;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+//		Creates the vertex arrays of the triangles from triangleStart (inclusive) to triangleEnd (exclusive). Each distinct combination of position, texture coordinates and normal becomes one vertex, in order of first appearance:
+		public Mesh createMesh(final int triangleStart, final int triangleEnd) {
+			final int cornerStart = triangleStart * 9;
+			final int cornerEnd = triangleEnd * 9;
+			final int cornerCount = (cornerEnd - cornerStart) / 3;
+			
+			final int[] indices = new int[cornerCount];
+			final int[] vertexCorners = new int[cornerCount];
+			final int[] table = new int[Integer.highestOneBit(Math.max(cornerCount, 1)) * 4];
+			
+			final int mask = table.length - 1;
+			
+			int vertexCount = 0;
+			
+			for(int i = cornerStart; i < cornerEnd; i += 3) {
+				final int v = this.corners[i + 0];
+				final int vt = this.corners[i + 1];
+				final int vn = this.corners[i + 2];
+				
+				int slot = ((v * 31 + vt) * 31 + vn) * 0x9E3779B9 >>> 7 & mask;
+				
+				while(true) {
+					final int vertex = table[slot] - 1;
+					
+					if(vertex == -1) {
+						table[slot] = vertexCount + 1;
+						
+						vertexCorners[vertexCount] = i;
+						
+						indices[(i - cornerStart) / 3] = vertexCount++;
+						
+						break;
+					}
+					
+					final int corner = vertexCorners[vertex];
+					
+					if(this.corners[corner + 0] == v && this.corners[corner + 1] == vt && this.corners[corner + 2] == vn) {
+						indices[(i - cornerStart) / 3] = vertex;
+						
+						break;
+					}
+					
+					slot = slot + 1 & mask;
+				}
+			}
+			
+			final float[] meshNormals = new float[vertexCount * 3];
+			final float[] meshPositions = new float[vertexCount * 3];
+			final float[] meshTextureCoordinates = new float[vertexCount * 2];
+			
+			for(int i = 0; i < vertexCount; i++) {
+				final int corner = vertexCorners[i];
+				
+				final int v = this.corners[corner + 0];
+				final int vt = this.corners[corner + 1];
+				final int vn = this.corners[corner + 2];
+				
+				final float[] normals = vn != ABSENT ? this.normals : doGetSmoothNormals();
+				
+				final int normalOffset = vn != ABSENT ? vn * 3 : v * 3;
+				
+				meshNormals[i * 3 + 0] = normals[normalOffset + 0];
+				meshNormals[i * 3 + 1] = normals[normalOffset + 1];
+				meshNormals[i * 3 + 2] = normals[normalOffset + 2];
+				
+				meshPositions[i * 3 + 0] = this.positions[v * 3 + 0];
+				meshPositions[i * 3 + 1] = this.positions[v * 3 + 1];
+				meshPositions[i * 3 + 2] = this.positions[v * 3 + 2];
+				
+				meshTextureCoordinates[i * 2 + 0] = vt != ABSENT ? this.textureCoordinates[vt * 2 + 0] : 0.0F;
+				meshTextureCoordinates[i * 2 + 1] = vt != ABSENT ? this.textureCoordinates[vt * 2 + 1] : 0.0F;
+			}
+			
+			return new Mesh(meshPositions, meshNormals, meshTextureCoordinates, indices);
+		}
+		
+		public String getRunGroupName(final int run) {
+			return this.runGroupNames[run];
+		}
+		
+		public String getRunMaterialName(final int run) {
+			return this.runMaterialNames[run];
+		}
+		
+		public String getRunObjectName(final int run) {
+			return this.runObjectNames[run];
+		}
+		
+		public int getRunCount() {
+			return this.runStarts.length;
+		}
+		
+		public int getRunEnd(final int run) {
+			return run + 1 < this.runStarts.length ? this.runStarts[run + 1] : getTriangleCount();
+		}
+		
+		public int getRunStart(final int run) {
+			return this.runStarts[run];
+		}
+		
+		public int getTriangleCount() {
+			return this.corners.length / 9;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public static Model merge(final List<Chunk> chunks) throws IOException {
+			int normalCount = 0;
+			int positionCount = 0;
+			int textureCoordinateCount = 0;
+			int cornerCount = 0;
+			
+			for(final Chunk chunk : chunks) {
+				normalCount += chunk.getNormals().size();
+				positionCount += chunk.getPositions().size();
+				textureCoordinateCount += chunk.getTextureCoordinates().size();
+				cornerCount += chunk.getCorners().size();
+			}
+			
+			final float[] normals = new float[normalCount];
+			final float[] positions = new float[positionCount];
+			final float[] textureCoordinates = new float[textureCoordinateCount];
+			
+			final int[] corners = new int[cornerCount];
+			
+			final IntArray runStarts = new IntArray();
+			
+			final List<String> runGroupNames = new ArrayList<>();
+			final List<String> runMaterialNames = new ArrayList<>();
+			final List<String> runObjectNames = new ArrayList<>();
+			
+			String groupName = "";
+			String materialName = "";
+			String objectName = "";
+			
+			int normalOffset = 0;
+			int positionOffset = 0;
+			int textureCoordinateOffset = 0;
+			int cornerOffset = 0;
+			
+			for(final Chunk chunk : chunks) {
+				chunk.getNormals().copyTo(normals, normalOffset);
+				chunk.getPositions().copyTo(positions, positionOffset);
+				chunk.getTextureCoordinates().copyTo(textureCoordinates, textureCoordinateOffset);
+				chunk.getCorners().copyTo(corners, cornerOffset);
+				
+//				Relative indices were resolved against the counts within the chunk, so the counts of the preceding chunks are added:
+				final int[] vertexOffsets = {positionOffset / 3, textureCoordinateOffset / 2, normalOffset / 3};
+				
+				final IntArray relativeCorners = chunk.getRelativeCorners();
+				
+				for(int i = 0; i < relativeCorners.size(); i++) {
+					final int corner = relativeCorners.get(i);
+					
+					corners[cornerOffset + corner] += vertexOffsets[corner % 3];
+				}
+				
+				for(int i = 0; i < chunk.getRunStarts().size(); i++) {
+					groupName = chunk.getRunGroupNames().get(i) != null ? chunk.getRunGroupNames().get(i) : groupName;
+					materialName = chunk.getRunMaterialNames().get(i) != null ? chunk.getRunMaterialNames().get(i) : materialName;
+					objectName = chunk.getRunObjectNames().get(i) != null ? chunk.getRunObjectNames().get(i) : objectName;
+					
+					final int runStart = cornerOffset / 9 + chunk.getRunStarts().get(i);
+					
+//					A run is replaced by a run starting at the same triangle and merged into a preceding run with the same names:
+					if(runStarts.size() > 0 && runStarts.get(runStarts.size() - 1) == runStart) {
+						runStarts.removeLast();
+						runGroupNames.remove(runGroupNames.size() - 1);
+						runMaterialNames.remove(runMaterialNames.size() - 1);
+						runObjectNames.remove(runObjectNames.size() - 1);
+					}
+					
+					final int run = runStarts.size() - 1;
+					
+					if(run < 0 || !runGroupNames.get(run).equals(groupName) || !runMaterialNames.get(run).equals(materialName) || !runObjectNames.get(run).equals(objectName)) {
+						runStarts.add(runStart);
+						runGroupNames.add(groupName);
+						runMaterialNames.add(materialName);
+						runObjectNames.add(objectName);
+					}
+				}
+				
+				normalOffset += chunk.getNormals().size();
+				positionOffset += chunk.getPositions().size();
+				textureCoordinateOffset += chunk.getTextureCoordinates().size();
+				cornerOffset += chunk.getCorners().size();
+			}
+			
+//			Statements after the last face do not start a run of faces:
+			if(runStarts.size() > 1 && runStarts.get(runStarts.size() - 1) == cornerCount / 9) {
+				runStarts.removeLast();
+				runGroupNames.remove(runGroupNames.size() - 1);
+				runMaterialNames.remove(runMaterialNames.size() - 1);
+				runObjectNames.remove(runObjectNames.size() - 1);
+			}
+			
+			final int[] vertexCounts = {positionCount / 3, textureCoordinateCount / 2, normalCount / 3};
+			
+			for(int i = 0; i < corners.length; i++) {
+				final int index = corners[i];
+				
+				if(index == ABSENT && i % 3 != 0) {
+					continue;
+				}
+				
+				if(index < 0 || index >= vertexCounts[i % 3]) {
+					throw new IOException(String.format("The %s index of face vertex %d is invalid.", i % 3 == 0 ? "geometric vertex" : i % 3 == 1 ? "texture vertex" : "vertex normal", Integer.valueOf(i / 3)));
+				}
+			}
+			
+			return new Model(positions, normals, textureCoordinates, corners, runStarts.toArray(), runGroupNames.toArray(new String[runGroupNames.size()]), runMaterialNames.toArray(new String[runMaterialNames.size()]), runObjectNames.toArray(new String[runObjectNames.size()]));
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+//		The smooth normal of a position is the normalized sum of the normalized face normals of all triangles using it. It is used for the vertices that do not reference a vertex normal:
+		private float[] doGetSmoothNormals() {
+			if(this.smoothNormals == null) {
+				final float[] smoothNormals = new float[this.positions.length];
+				
+				for(int i = 0; i < this.corners.length; i += 9) {
+					final int offsetA = this.corners[i + 0] * 3;
+					final int offsetB = this.corners[i + 3] * 3;
+					final int offsetC = this.corners[i + 6] * 3;
+					
+					final Vector3F edgeAB = new Vector3F(this.positions[offsetB + 0] - this.positions[offsetA + 0], this.positions[offsetB + 1] - this.positions[offsetA + 1], this.positions[offsetB + 2] - this.positions[offsetA + 2]);
+					final Vector3F edgeAC = new Vector3F(this.positions[offsetC + 0] - this.positions[offsetA + 0], this.positions[offsetC + 1] - this.positions[offsetA + 1], this.positions[offsetC + 2] - this.positions[offsetA + 2]);
+					final Vector3F normal = Vector3F.normalize(Vector3F.crossProduct(edgeAB, edgeAC));
+					
+					for(final int offset : new int[] {offsetA, offsetB, offsetC}) {
+						smoothNormals[offset + 0] += normal.x;
+						smoothNormals[offset + 1] += normal.y;
+						smoothNormals[offset + 2] += normal.z;
+					}
+				}
+				
+				for(int i = 0; i < smoothNormals.length; i += 3) {
+					final Vector3F normal = Vector3F.normalize(new Vector3F(smoothNormals[i + 0], smoothNormals[i + 1], smoothNormals[i + 2]));
+					
+					smoothNormals[i + 0] = normal.x;
+					smoothNormals[i + 1] = normal.y;
+					smoothNormals[i + 2] = normal.z;
+				}
+				
+				this.smoothNormals = smoothNormals;
+			}
+			
+			return this.smoothNormals;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Chunk {
+		private final FloatArray normals;
+		private final FloatArray positions;
+		private final FloatArray textureCoordinates;
+		private final IntArray corners;
+		private final IntArray relativeCorners;
+		private final IntArray runStarts;
+		private final List<String> runGroupNames;
+		private final List<String> runMaterialNames;
+		private final List<String> runObjectNames;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Chunk() {
+			this.normals = new FloatArray();
+			this.positions = new FloatArray();
+			this.textureCoordinates = new FloatArray();
+			this.corners = new IntArray();
+			this.relativeCorners = new IntArray();
+			this.runStarts = new IntArray();
+			this.runGroupNames = new ArrayList<>();
+			this.runMaterialNames = new ArrayList<>();
+			this.runObjectNames = new ArrayList<>();
+			
+//			The names in effect at the start of a chunk are inherited from the preceding chunks, which is denoted by null:
+			this.runStarts.add(0);
+			this.runGroupNames.add(null);
+			this.runMaterialNames.add(null);
+			this.runObjectNames.add(null);
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public FloatArray getNormals() {
+			return this.normals;
+		}
+		
+		public FloatArray getPositions() {
+			return this.positions;
+		}
+		
+		public FloatArray getTextureCoordinates() {
+			return this.textureCoordinates;
+		}
+		
+		public IntArray getCorners() {
+			return this.corners;
+		}
+		
+		public IntArray getRelativeCorners() {
+			return this.relativeCorners;
+		}
+		
+		public IntArray getRunStarts() {
+			return this.runStarts;
+		}
+		
+		public List<String> getRunGroupNames() {
+			return this.runGroupNames;
+		}
+		
+		public List<String> getRunMaterialNames() {
+			return this.runMaterialNames;
+		}
+		
+		public List<String> getRunObjectNames() {
+			return this.runObjectNames;
+		}
+		
+		public void setGroupName(final String groupName) {
+			doStartRun();
+			
+			this.runGroupNames.set(this.runGroupNames.size() - 1, groupName);
+		}
+		
+		public void setMaterialName(final String materialName) {
+			doStartRun();
+			
+			this.runMaterialNames.set(this.runMaterialNames.size() - 1, materialName);
+		}
+		
+		public void setObjectName(final String objectName) {
+			doStartRun();
+			
+			this.runObjectNames.set(this.runObjectNames.size() - 1, objectName);
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private void doStartRun() {
+			final int triangleCount = this.corners.size() / 9;
+			
+			if(this.runStarts.get(this.runStarts.size() - 1) != triangleCount) {
+				this.runStarts.add(triangleCount);
+				this.runGroupNames.add(null);
+				this.runMaterialNames.add(null);
+				this.runObjectNames.add(null);
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class FloatArray {
+		private float[] values;
+		private int size;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public FloatArray() {
+			this.values = new float[1024];
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public int size() {
+			return this.size;
+		}
+		
+		public void add(final float value) {
+			if(this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.values.length * 2);
+			}
+			
+			this.values[this.size++] = value;
+		}
+		
+		public void copyTo(final float[] values, final int offset) {
+			System.arraycopy(this.values, 0, values, offset, this.size);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class IntArray {
+		private int[] values;
+		private int size;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public IntArray() {
+			this.values = new int[16];
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public int get(final int index) {
+			return this.values[index];
+		}
+		
+		public int size() {
+			return this.size;
+		}
+		
+		public int[] toArray() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+		
+		public void add(final int value) {
+			if(this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.values.length * 2);
+			}
+			
+			this.values[this.size++] = value;
+		}
+		
+		public void copyTo(final int[] values, final int offset) {
+			System.arraycopy(this.values, 0, values, offset, this.size);
+		}
+		
+		public void removeLast() {
+			this.size--;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class ParseTask extends RecursiveTask<Chunk> {
+		private static final long serialVersionUID = 1L;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private final ByteBuffer byteBuffer;
+		private final boolean isFlippingTextureCoordinateY;
+		private final int end;
+		private final int limit;
+		private int position;
+		private int[] faceVertices;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public ParseTask(final ByteBuffer byteBuffer, final int start, final int end, final boolean isFlippingTextureCoordinateY) {
+			this.byteBuffer = byteBuffer;
+			this.position = start;
+			this.end = end;
+			this.limit = byteBuffer.limit();
+			this.isFlippingTextureCoordinateY = isFlippingTextureCoordinateY;
+			this.faceVertices = new int[24];
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		@Override
+		protected Chunk compute() {
+			final Chunk chunk = new Chunk();
+			
+//			A chunk that does not start at a line skips the partial line, which is parsed by the preceding chunk:
+			if(this.position > 0 && this.byteBuffer.get(this.position - 1) != '\n') {
+				doSkipLine();
+			}
+			
+			while(this.position < this.end) {
+				doParseLine(chunk);
+			}
+			
+			return chunk;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private String doParseName() {
+			doSkipSpaces();
+			
+			final int start = this.position;
+			
+			while(this.position < this.limit && !doIsSeparator(this.byteBuffer.get(this.position))) {
+				this.position++;
+			}
+			
+			final byte[] bytes = new byte[this.position - start];
+			
+			for(int i = 0; i < bytes.length; i++) {
+				bytes[i] = this.byteBuffer.get(start + i);
+			}
+			
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+		
+		private boolean doHasToken() {
+			doSkipSpaces();
+			
+			return this.position < this.limit && !doIsLineBreak(this.byteBuffer.get(this.position));
+		}
+		
+		private boolean doIsKeyword(final String keyword) {
+			final int length = keyword.length();
+			
+			if(this.position + length > this.limit) {
+				return false;
+			}
+			
+			for(int i = 0; i < length; i++) {
+				if(this.byteBuffer.get(this.position + i) != keyword.charAt(i)) {
+					return false;
+				}
+			}
+			
+			if(this.position + length < this.limit && !doIsSeparator(this.byteBuffer.get(this.position + length))) {
+				return false;
+			}
+			
+			this.position += length;
+			
+			return true;
+		}
+		
+		private byte doPeek() {
+			return this.position < this.limit ? this.byteBuffer.get(this.position) : (byte)('\n');
+		}
+		
+//		Parses a float without creating a String. The value is computed with a single correctly rounded double operation when the significand and exponent allow it, which matches Float.parseFloat unless
+//		the double result lies exactly halfway between two floats. All other cases fall back to Float.parseFloat:
+		private float doParseFloat() {
+			if(!doHasToken()) {
+				throw new NumberFormatException("A number was expected.");
+			}
+			
+			final int start = this.position;
+			
+			final boolean isNegative = doPeek() == '-';
+			
+			if(isNegative || doPeek() == '+') {
+				this.position++;
+			}
+			
+			long significand = 0L;
+			
+			int digitCount = 0;
+			int exponent = 0;
+			
+			boolean hasDigits = false;
+			
+			for(byte b = doPeek(); b >= '0' && b <= '9'; b = doPeek()) {
+				if(digitCount < 18) {
+					significand = significand * 10L + (b - '0');
+					
+					digitCount += significand != 0L ? 1 : 0;
+				} else {
+					exponent++;
+				}
+				
+				hasDigits = true;
+				
+				this.position++;
+			}
+			
+			if(doPeek() == '.') {
+				this.position++;
+				
+				for(byte b = doPeek(); b >= '0' && b <= '9'; b = doPeek()) {
+					if(digitCount < 18) {
+						significand = significand * 10L + (b - '0');
+						
+						digitCount += significand != 0L ? 1 : 0;
+						
+						exponent--;
+					}
+					
+					hasDigits = true;
+					
+					this.position++;
+				}
+			}
+			
+			if(hasDigits && (doPeek() == 'e' || doPeek() == 'E')) {
+				this.position++;
+				
+				final boolean isExponentNegative = doPeek() == '-';
+				
+				if(isExponentNegative || doPeek() == '+') {
+					this.position++;
+				}
+				
+				int exponentValue = 0;
+				
+				for(byte b = doPeek(); b >= '0' && b <= '9'; b = doPeek()) {
+					exponentValue = Math.min(exponentValue * 10 + (b - '0'), 100000);
+					
+					this.position++;
+				}
+				
+				exponent += isExponentNegative ? -exponentValue : exponentValue;
+			}
+			
+			if(hasDigits && doIsSeparator(doPeek()) && digitCount <= 15 && exponent >= -22 && exponent <= 22) {
+				if(significand == 0L) {
+					return isNegative ? -0.0F : 0.0F;
+				}
+				
+				final double value = exponent < 0 ? significand / POWERS_OF_TEN[-exponent] : significand * POWERS_OF_TEN[exponent];
+				
+				if(value >= Float.MIN_NORMAL && value <= Float.MAX_VALUE && (Double.doubleToRawLongBits(value) & 0x1FFFFFFFL) != 0x10000000L) {
+					return isNegative ? -(float)(value) : (float)(value);
+				}
+			}
+			
+			while(!doIsSeparator(doPeek())) {
+				this.position++;
+			}
+			
+			final byte[] bytes = new byte[this.position - start];
+			
+			for(int i = 0; i < bytes.length; i++) {
+				bytes[i] = this.byteBuffer.get(start + i);
+			}
+			
+			return Float.parseFloat(new String(bytes, StandardCharsets.US_ASCII));
+		}
+		
+//		Parses a vertex reference index of a face vertex. A positive index is converted to a zero-based index and a negative index is resolved against the count parsed so far in this chunk:
+		private int doParseIndex(final int count, final int faceVertexComponent, final int[] relativeComponents) {
+			final boolean isNegative = doPeek() == '-';
+			
+			if(isNegative || doPeek() == '+') {
+				this.position++;
+			}
+			
+			long value = 0L;
+			
+			boolean hasDigits = false;
+			
+			for(byte b = doPeek(); b >= '0' && b <= '9'; b = doPeek()) {
+				value = Math.min(value * 10L + (b - '0'), Integer.MAX_VALUE);
+				
+				hasDigits = true;
+				
+				this.position++;
+			}
+			
+			if(!hasDigits) {
+				return ABSENT;
+			}
+			
+			if(isNegative) {
+				relativeComponents[0] |= 1 << faceVertexComponent;
+				
+				return count - (int)(value);
+			}
+			
+			return (int)(value) - 1;
+		}
+		
+		private void doParseFace(final Chunk chunk) {
+			final int positionCount = chunk.getPositions().size() / 3;
+			final int textureCoordinateCount = chunk.getTextureCoordinates().size() / 2;
+			final int normalCount = chunk.getNormals().size() / 3;
+			
+			final int[] relativeComponents = new int[1];
+			
+			int faceVertexCount = 0;
+			
+			while(doHasToken()) {
+				if(faceVertexCount * 4 + 4 > this.faceVertices.length) {
+					this.faceVertices = Arrays.copyOf(this.faceVertices, this.faceVertices.length * 2);
+				}
+				
+				relativeComponents[0] = 0;
+				
+				final int v = doParseIndex(positionCount, 0, relativeComponents);
+				
+				int vt = ABSENT;
+				int vn = ABSENT;
+				
+				if(doPeek() == '/') {
+					this.position++;
+					
+					vt = doParseIndex(textureCoordinateCount, 1, relativeComponents);
+					
+					if(doPeek() == '/') {
+						this.position++;
+						
+						vn = doParseIndex(normalCount, 2, relativeComponents);
+					}
+				}
+				
+				while(!doIsSeparator(doPeek())) {
+					this.position++;
+				}
+				
+				this.faceVertices[faceVertexCount * 4 + 0] = v;
+				this.faceVertices[faceVertexCount * 4 + 1] = vt;
+				this.faceVertices[faceVertexCount * 4 + 2] = vn;
+				this.faceVertices[faceVertexCount * 4 + 3] = relativeComponents[0];
+				
+				faceVertexCount++;
+			}
+			
+//			A polygon is triangulated as a fan around its first vertex:
+			for(int i = 0; i < faceVertexCount - 2; i++) {
+				doAddCorner(chunk, 0);
+				doAddCorner(chunk, i + 1);
+				doAddCorner(chunk, i + 2);
+			}
+		}
+		
+		private void doAddCorner(final Chunk chunk, final int faceVertex) {
+			final IntArray corners = chunk.getCorners();
+			
+			final int relativeComponents = this.faceVertices[faceVertex * 4 + 3];
+			
+			for(int component = 0; component < 3; component++) {
+				if((relativeComponents & 1 << component) != 0) {
+					chunk.getRelativeCorners().add(corners.size());
+				}
+				
+				corners.add(this.faceVertices[faceVertex * 4 + component]);
+			}
+		}
+		
+		private void doParseLine(final Chunk chunk) {
+			doSkipSpaces();
+			
+			if(doIsKeyword("v")) {
+				final float x = doParseFloat();
+				final float y = doParseFloat();
+				final float z = doParseFloat();
+				
+				chunk.getPositions().add(x);
+				chunk.getPositions().add(y);
+				chunk.getPositions().add(z);
+			} else if(doIsKeyword("vt")) {
+				final float u = doParseFloat();
+				final float v = doHasToken() ? doParseFloat() : 0.0F;
+				
+				chunk.getTextureCoordinates().add(u);
+				chunk.getTextureCoordinates().add(this.isFlippingTextureCoordinateY ? 1.0F - v : v);
+			} else if(doIsKeyword("vn")) {
+				final float x = doParseFloat();
+				final float y = doParseFloat();
+				final float z = doParseFloat();
+				
+				chunk.getNormals().add(x);
+				chunk.getNormals().add(y);
+				chunk.getNormals().add(z);
+			} else if(doIsKeyword("f")) {
+				doParseFace(chunk);
+			} else if(doIsKeyword("g")) {
+				chunk.setGroupName(doParseName());
+			} else if(doIsKeyword("o")) {
+				chunk.setObjectName(doParseName());
+			} else if(doIsKeyword("usemtl")) {
+				chunk.setMaterialName(doParseName());
+			}
+			
+			doSkipLine();
+		}
+		
+		private void doSkipLine() {
+			while(this.position < this.limit && this.byteBuffer.get(this.position++) != '\n') {
+//				The loop advances to the byte after the next line break.
+			}
+		}
+		
+		private void doSkipSpaces() {
+			while(this.position < this.limit && (this.byteBuffer.get(this.position) == ' ' || this.byteBuffer.get(this.position) == '\t')) {
+				this.position++;
+			}
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private static boolean doIsLineBreak(final byte b) {
+			return b == '\n' || b == '\r';
+		}
+		
+		private static boolean doIsSeparator(final byte b) {
+			return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+		}
+	}
+}
@@ -0,0 +1,972 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.image;
+
+import static org.dayflower.utility.Ints.min;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.dayflower.color.Color4F;
+
+/**
+ * The class {@code HDRImageIO} reads and writes high dynamic range images in the PFM and OpenEXR formats.
+ * <p>
+ * PFM files can be read with three channels ({@code "PF"}) or one channel ({@code "Pf"}) in either byte order. They are written with three channels in little-endian byte order.
+ * <p>
+ * OpenEXR files can be read if they are single-part scanline files with {@code UINT}, {@code HALF} or {@code FLOAT} channels that are compressed using {@link Compression#NONE}, {@link Compression#RLE}, {@link Compression#ZIPS} or
+ * {@link Compression#ZIP}. The channels {@code R}, {@code G}, {@code B} and {@code A} are read and all other channels are skipped. They are written with the {@code FLOAT} channels {@code A}, {@code B}, {@code G} and {@code R}.
+ * <p>
+ * The pixel data is streamed through a {@code FileChannel} one scanline or one block of scanlines at a time. It is taken directly from the {@code float[]} of a {@link FloatImageF} or {@link PixelImageF} instance, so no
+ * {@link Color4F} instance is created per pixel. Files are read using a memory-mapped {@code ByteBuffer} into the {@code float[]} of a new {@code FloatImageF} instance.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class HDRImageIO {
+	private static final String[] EXR_CHANNEL_NAMES = {"A", "B", "G", "R"};
+	private static final int EXR_MAGIC_NUMBER = 20000630;
+	private static final int EXR_PIXEL_TYPE_FLOAT = 2;
+	private static final int EXR_PIXEL_TYPE_HALF = 1;
+	private static final int EXR_PIXEL_TYPE_UINT = 0;
+	private static final int EXR_VERSION = 2;
+	private static final int EXR_VERSION_FLAG_DEEP = 0x800;
+	private static final int EXR_VERSION_FLAG_MULTI_PART = 0x1000;
+	private static final int EXR_VERSION_FLAG_TILED = 0x200;
+	private static final int RLE_RUN_LENGTH_MAXIMUM = 127;
+	private static final int RLE_RUN_LENGTH_MINIMUM = 3;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private HDRImageIO() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@link FloatImageF} instance with the colors read from the OpenEXR file represented by {@code file}.
+	 * <p>
+	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, or the file is malformed or not supported, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * The A-component of each pixel is {@code 1.0F} if the file does not contain an {@code A} channel.
+	 * 
+	 * @param file a {@code File} that represents the file to read from
+	 * @return a {@code FloatImageF} instance with the colors read from the OpenEXR file represented by {@code file}
+	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs, or the file is malformed or not supported
+	 */
+	public static FloatImageF readEXR(final File file) {
+		Objects.requireNonNull(file, "file == null");
+		
+		try(final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			return doReadEXR(doMap(fileChannel));
+		} catch(final BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new UncheckedIOException(new IOException(String.format("The OpenEXR file \"%s\" is malformed.", file.getPath()), e));
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Returns a {@link FloatImageF} instance with the colors read from the PFM file represented by {@code file}.
+	 * <p>
+	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, or the file is malformed, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * The absolute value of the scale factor in the header is only used to determine the byte order. The A-component of each pixel is {@code 1.0F}.
+	 * 
+	 * @param file a {@code File} that represents the file to read from
+	 * @return a {@code FloatImageF} instance with the colors read from the PFM file represented by {@code file}
+	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs, or the file is malformed
+	 */
+	public static FloatImageF readPFM(final File file) {
+		Objects.requireNonNull(file, "file == null");
+		
+		try(final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			return doReadPFM(doMap(fileChannel));
+		} catch(final BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new UncheckedIOException(new IOException(String.format("The PFM file \"%s\" is malformed.", file.getPath()), e));
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Writes the colors of {@code image} to the OpenEXR file represented by {@code file} using {@code compression}.
+	 * <p>
+	 * If either {@code file}, {@code image} or {@code compression} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * The colors are written as they are stored in {@code image}. Use {@link #writeFilmEXR(File, PixelImageF, Compression)} to write the linear colors of the film of a {@link PixelImageF} instance.
+	 * 
+	 * @param file a {@code File} that represents the file to write to
+	 * @param image the {@link ImageF} instance to write
+	 * @param compression the {@link Compression} to use
+	 * @throws NullPointerException thrown if, and only if, either {@code file}, {@code image} or {@code compression} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public static void writeEXR(final File file, final ImageF image, final Compression compression) {
+		Objects.requireNonNull(file, "file == null");
+		Objects.requireNonNull(image, "image == null");
+		Objects.requireNonNull(compression, "compression == null");
+		
+		doWriteEXR(file, image.getResolutionX(), image.getResolutionY(), doCreateScanlineSource(image), compression);
+	}
+	
+	/**
+	 * Writes the linear colors of the film of {@code pixelImage} to the OpenEXR file represented by {@code file} using {@code compression}.
+	 * <p>
+	 * If either {@code file}, {@code pixelImage} or {@code compression} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param file a {@code File} that represents the file to write to
+	 * @param pixelImage the {@link PixelImageF} instance to write
+	 * @param compression the {@link Compression} to use
+	 * @throws NullPointerException thrown if, and only if, either {@code file}, {@code pixelImage} or {@code compression} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public static void writeFilmEXR(final File file, final PixelImageF pixelImage, final Compression compression) {
+		Objects.requireNonNull(file, "file == null");
+		Objects.requireNonNull(pixelImage, "pixelImage == null");
+		Objects.requireNonNull(compression, "compression == null");
+		
+		doWriteEXR(file, pixelImage.getResolutionX(), pixelImage.getResolutionY(), pixelImage::filmCopyScanlineTo, compression);
+	}
+	
+	/**
+	 * Writes the linear colors of the film of {@code pixelImage} to the PFM file represented by {@code file}.
+	 * <p>
+	 * If either {@code file} or {@code pixelImage} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param file a {@code File} that represents the file to write to
+	 * @param pixelImage the {@link PixelImageF} instance to write
+	 * @throws NullPointerException thrown if, and only if, either {@code file} or {@code pixelImage} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public static void writeFilmPFM(final File file, final PixelImageF pixelImage) {
+		Objects.requireNonNull(file, "file == null");
+		Objects.requireNonNull(pixelImage, "pixelImage == null");
+		
+		doWritePFM(file, pixelImage.getResolutionX(), pixelImage.getResolutionY(), pixelImage::filmCopyScanlineTo);
+	}
+	
+	/**
+	 * Writes the colors of {@code image} to the PFM file represented by {@code file}.
+	 * <p>
+	 * If either {@code file} or {@code image} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * The colors are written as they are stored in {@code image}. Use {@link #writeFilmPFM(File, PixelImageF)} to write the linear colors of the film of a {@link PixelImageF} instance.
+	 * 
+	 * @param file a {@code File} that represents the file to write to
+	 * @param image the {@link ImageF} instance to write
+	 * @throws NullPointerException thrown if, and only if, either {@code file} or {@code image} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public static void writePFM(final File file, final ImageF image) {
+		Objects.requireNonNull(file, "file == null");
+		Objects.requireNonNull(image, "image == null");
+		
+		doWritePFM(file, image.getResolutionX(), image.getResolutionY(), doCreateScanlineSource(image));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static ByteBuffer doCreateEXRHeader(final int resolutionX, final int resolutionY, final Compression compression) {
+		final ByteBuffer byteBuffer = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+		
+		byteBuffer.putInt(EXR_MAGIC_NUMBER);
+		byteBuffer.putInt(EXR_VERSION);
+		
+		doPutAttribute(byteBuffer, "channels", "chlist", EXR_CHANNEL_NAMES.length * 18 + 1);
+		
+		for(final String channelName : EXR_CHANNEL_NAMES) {
+			doPutString(byteBuffer, channelName);
+			
+			byteBuffer.putInt(EXR_PIXEL_TYPE_FLOAT);
+			byteBuffer.putInt(0);
+			byteBuffer.putInt(1);
+			byteBuffer.putInt(1);
+		}
+		
+		byteBuffer.put((byte)(0));
+		
+		doPutAttribute(byteBuffer, "compression", "compression", 1);
+		
+		byteBuffer.put((byte)(compression.id));
+		
+		doPutAttribute(byteBuffer, "dataWindow", "box2i", 16);
+		
+		byteBuffer.putInt(0);
+		byteBuffer.putInt(0);
+		byteBuffer.putInt(resolutionX - 1);
+		byteBuffer.putInt(resolutionY - 1);
+		
+		doPutAttribute(byteBuffer, "displayWindow", "box2i", 16);
+		
+		byteBuffer.putInt(0);
+		byteBuffer.putInt(0);
+		byteBuffer.putInt(resolutionX - 1);
+		byteBuffer.putInt(resolutionY - 1);
+		
+		doPutAttribute(byteBuffer, "lineOrder", "lineOrder", 1);
+		
+		byteBuffer.put((byte)(0));
+		
+		doPutAttribute(byteBuffer, "pixelAspectRatio", "float", 4);
+		
+		byteBuffer.putFloat(1.0F);
+		
+		doPutAttribute(byteBuffer, "screenWindowCenter", "v2f", 8);
+		
+		byteBuffer.putFloat(0.0F);
+		byteBuffer.putFloat(0.0F);
+		
+		doPutAttribute(byteBuffer, "screenWindowWidth", "float", 4);
+		
+		byteBuffer.putFloat(1.0F);
+		byteBuffer.put((byte)(0));
+		byteBuffer.flip();
+		
+		return byteBuffer;
+	}
+	
+	private static ByteBuffer doMap(final FileChannel fileChannel) throws IOException {
+		final long size = fileChannel.size();
+		
+		if(size > Integer.MAX_VALUE) {
+			throw new IOException("Files larger than 2 GB are not supported.");
+		}
+		
+		return fileChannel.map(MapMode.READ_ONLY, 0L, size);
+	}
+	
+	private static FileChannel doOpenForWriting(final File file) throws IOException {
+		final File parentFile = file.getAbsoluteFile().getParentFile();
+		
+		if(parentFile != null && !parentFile.isDirectory()) {
+			parentFile.mkdirs();
+		}
+		
+		return FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+	}
+	
+	private static FloatImageF doReadEXR(final ByteBuffer byteBuffer) throws IOException {
+		byteBuffer.order(ByteOrder.LITTLE_ENDIAN);
+		
+		if(byteBuffer.getInt() != EXR_MAGIC_NUMBER) {
+			throw new IOException("The file is not an OpenEXR file.");
+		}
+		
+		final int version = byteBuffer.getInt();
+		
+		if((version & 0xFF) != EXR_VERSION) {
+			throw new IOException(String.format("The OpenEXR version %d is not supported.", Integer.valueOf(version & 0xFF)));
+		}
+		
+		if((version & (EXR_VERSION_FLAG_DEEP | EXR_VERSION_FLAG_MULTI_PART | EXR_VERSION_FLAG_TILED)) != 0) {
+			throw new IOException("Only single-part scanline OpenEXR files are supported.");
+		}
+		
+		final List<String> channelNames = new ArrayList<>();
+		final List<Integer> channelPixelTypes = new ArrayList<>();
+		
+		int compressionId = -1;
+		
+		int[] dataWindow = null;
+		
+		while(true) {
+			final String attributeName = doGetString(byteBuffer);
+			
+			if(attributeName.isEmpty()) {
+				break;
+			}
+			
+			final String attributeType = doGetString(byteBuffer);
+			
+			final int attributeSize = byteBuffer.getInt();
+			final int attributeEnd = byteBuffer.position() + attributeSize;
+			
+			if(attributeName.equals("channels") && attributeType.equals("chlist")) {
+				for(String channelName = doGetString(byteBuffer); !channelName.isEmpty(); channelName = doGetString(byteBuffer)) {
+					final int pixelType = byteBuffer.getInt();
+					
+					byteBuffer.getInt();
+					
+					final int samplingX = byteBuffer.getInt();
+					final int samplingY = byteBuffer.getInt();
+					
+					if(pixelType < EXR_PIXEL_TYPE_UINT || pixelType > EXR_PIXEL_TYPE_FLOAT) {
+						throw new IOException(String.format("The pixel type %d of channel \"%s\" is not supported.", Integer.valueOf(pixelType), channelName));
+					}
+					
+					if(samplingX != 1 || samplingY != 1) {
+						throw new IOException(String.format("The subsampled channel \"%s\" is not supported.", channelName));
+					}
+					
+					channelNames.add(channelName);
+					channelPixelTypes.add(Integer.valueOf(pixelType));
+				}
+			} else if(attributeName.equals("compression") && attributeType.equals("compression")) {
+				compressionId = byteBuffer.get();
+			} else if(attributeName.equals("dataWindow") && attributeType.equals("box2i")) {
+				dataWindow = new int[] {byteBuffer.getInt(), byteBuffer.getInt(), byteBuffer.getInt(), byteBuffer.getInt()};
+			}
+			
+			byteBuffer.position(attributeEnd);
+		}
+		
+		if(channelNames.isEmpty() || dataWindow == null) {
+			throw new IOException("The OpenEXR file is missing the channels or dataWindow attribute.");
+		}
+		
+		final Compression compression = doGetCompression(compressionId);
+		
+		final int minimumX = dataWindow[0];
+		final int minimumY = dataWindow[1];
+		
+		final long resolutionX = (long)(dataWindow[2]) - minimumX + 1L;
+		final long resolutionY = (long)(dataWindow[3]) - minimumY + 1L;
+		
+		if(resolutionX < 1L || resolutionY < 1L || resolutionX * resolutionY * 4L > Integer.MAX_VALUE - 8) {
+			throw new IOException(String.format("The resolution %d x %d is not supported.", Long.valueOf(resolutionX), Long.valueOf(resolutionY)));
+		}
+		
+		final int channelCount = channelNames.size();
+		final int linesPerBlock = compression.linesPerBlock;
+		final int blockCount = (int)((resolutionY + linesPerBlock - 1) / linesPerBlock);
+		final int width = (int)(resolutionX);
+		final int height = (int)(resolutionY);
+		
+		final int[] channelComponents = new int[channelCount];
+		final int[] channelPixelSizes = new int[channelCount];
+		final int[] channelPixelTypeArray = new int[channelCount];
+		
+		long lineSize = 0L;
+		
+		boolean hasA = false;
+		
+		for(int i = 0; i < channelCount; i++) {
+			final String channelName = channelNames.get(i);
+			
+			channelComponents[i] = channelName.length() == 1 ? "RGBA".indexOf(channelName.charAt(0)) : -1;
+			channelPixelTypeArray[i] = channelPixelTypes.get(i).intValue();
+			channelPixelSizes[i] = channelPixelTypeArray[i] == EXR_PIXEL_TYPE_HALF ? 2 : 4;
+			
+			hasA |= channelComponents[i] == 3;
+			
+			lineSize += channelPixelSizes[i] * resolutionX;
+		}
+		
+		if(lineSize * linesPerBlock > Integer.MAX_VALUE - 8) {
+			throw new IOException("The OpenEXR file has too many channels.");
+		}
+		
+		final long[] offsets = new long[blockCount];
+		
+		for(int i = 0; i < blockCount; i++) {
+			offsets[i] = byteBuffer.getLong();
+		}
+		
+		final float[] data = new float[width * height * 4];
+		
+		if(!hasA) {
+			for(int i = 3; i < data.length; i += 4) {
+				data[i] = 1.0F;
+			}
+		}
+		
+		final byte[] block = new byte[(int)(lineSize * linesPerBlock)];
+		final byte[] blockTemporary = new byte[block.length];
+		
+		final ByteBuffer blockBuffer = ByteBuffer.allocateDirect(block.length).order(ByteOrder.LITTLE_ENDIAN);
+		
+		final Inflater inflater = new Inflater();
+		
+		byte[] compressed = new byte[0];
+		
+		try {
+			for(final long offset : offsets) {
+				if(offset < 0L || offset > byteBuffer.limit() - 8) {
+					throw new IOException("The OpenEXR file contains an invalid offset.");
+				}
+				
+				byteBuffer.position((int)(offset));
+				
+				final int y = byteBuffer.getInt() - minimumY;
+				final int dataSize = byteBuffer.getInt();
+				
+				if(y < 0 || y >= height || dataSize < 0 || dataSize > byteBuffer.remaining()) {
+					throw new IOException("The OpenEXR file contains an invalid chunk.");
+				}
+				
+				final int lineCount = min(linesPerBlock, height - y);
+				final int blockSize = (int)(lineSize * lineCount);
+				
+				final ByteBuffer source;
+				
+				final int sourceOffset;
+				
+				if(dataSize == blockSize) {
+					source = byteBuffer;
+					sourceOffset = byteBuffer.position();
+				} else {
+					if(compressed.length < dataSize) {
+						compressed = new byte[dataSize];
+					}
+					
+					byteBuffer.get(compressed, 0, dataSize);
+					
+					final int length = compression == Compression.RLE ? doRLEDecompress(compressed, dataSize, blockTemporary) : compression == Compression.NONE ? -1 : doZIPDecompress(inflater, compressed, dataSize, blockTemporary, blockSize);
+					
+					if(length != blockSize) {
+						throw new IOException("The OpenEXR file contains a chunk that could not be decompressed.");
+					}
+					
+					doUnpredictAndDeinterleave(blockTemporary, blockSize, block);
+					
+					blockBuffer.clear();
+					blockBuffer.put(block, 0, blockSize);
+					
+					source = blockBuffer;
+					sourceOffset = 0;
+				}
+				
+				int position = sourceOffset;
+				
+				for(int line = 0; line < lineCount; line++) {
+					final int dataOffset = (y + line) * width * 4;
+					
+					for(int channel = 0; channel < channelCount; channel++) {
+						final int component = channelComponents[channel];
+						final int pixelSize = channelPixelSizes[channel];
+						final int pixelType = channelPixelTypeArray[channel];
+						
+						if(component < 0) {
+							position += pixelSize * width;
+							
+							continue;
+						}
+						
+						for(int x = 0; x < width; x++, position += pixelSize) {
+							switch(pixelType) {
+								case EXR_PIXEL_TYPE_FLOAT:
+									data[dataOffset + x * 4 + component] = source.getFloat(position);
+									
+									break;
+								case EXR_PIXEL_TYPE_HALF:
+									data[dataOffset + x * 4 + component] = doHalfToFloat(source.getShort(position) & 0xFFFF);
+									
+									break;
+								default:
+									data[dataOffset + x * 4 + component] = source.getInt(position) & 0xFFFFFFFFL;
+									
+									break;
+							}
+						}
+					}
+				}
+			}
+		} finally {
+			inflater.end();
+		}
+		
+		return new FloatImageF(width, height, data, true);
+	}
+	
+	private static FloatImageF doReadPFM(final ByteBuffer byteBuffer) throws IOException {
+		final String type = doGetToken(byteBuffer);
+		
+		final int componentCount = type.equals("PF") ? 3 : type.equals("Pf") ? 1 : 0;
+		
+		if(componentCount == 0) {
+			throw new IOException("The file is not a PFM file.");
+		}
+		
+		final int resolutionX;
+		final int resolutionY;
+		
+		final float scale;
+		
+		try {
+			resolutionX = Integer.parseInt(doGetToken(byteBuffer));
+			resolutionY = Integer.parseInt(doGetToken(byteBuffer));
+			
+			scale = Float.parseFloat(doGetToken(byteBuffer));
+		} catch(final NumberFormatException e) {
+			throw new IOException("The PFM file has a malformed header.", e);
+		}
+		
+		if(resolutionX < 1 || resolutionY < 1 || (long)(resolutionX) * resolutionY * 4L > Integer.MAX_VALUE - 8) {
+			throw new IOException(String.format("The resolution %d x %d is not supported.", Integer.valueOf(resolutionX), Integer.valueOf(resolutionY)));
+		}
+		
+		if(byteBuffer.remaining() < (long)(resolutionX) * resolutionY * componentCount * 4L) {
+			throw new IOException("The PFM file is truncated.");
+		}
+		
+		final FloatBuffer floatBuffer = byteBuffer.slice().order(scale < 0.0F ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN).asFloatBuffer();
+		
+		final float[] data = new float[resolutionX * resolutionY * 4];
+		final float[] scanline = new float[resolutionX * componentCount];
+		
+//		The scanlines are stored from the bottom to the top:
+		for(int y = resolutionY - 1; y >= 0; y--) {
+			floatBuffer.get(scanline);
+			
+			final int offset = y * resolutionX * 4;
+			
+			for(int x = 0; x < resolutionX; x++) {
+				data[offset + x * 4 + 0] = scanline[x * componentCount + 0];
+				data[offset + x * 4 + 1] = scanline[x * componentCount + (componentCount == 3 ? 1 : 0)];
+				data[offset + x * 4 + 2] = scanline[x * componentCount + (componentCount == 3 ? 2 : 0)];
+				data[offset + x * 4 + 3] = 1.0F;
+			}
+		}
+		
+		return new FloatImageF(resolutionX, resolutionY, data, true);
+	}
+	
+	private static Compression doGetCompression(final int id) throws IOException {
+		for(final Compression compression : Compression.values()) {
+			if(compression.id == id) {
+				return compression;
+			}
+		}
+		
+		throw new IOException(String.format("The OpenEXR compression %d is not supported.", Integer.valueOf(id)));
+	}
+	
+	private static ScanlineSource doCreateScanlineSource(final ImageF image) {
+		final int resolutionX = image.getResolutionX();
+		
+		if(image instanceof FloatImageF) {
+			final float[] data = FloatImageF.class.cast(image).getData(true);
+			
+			return (y, scanline) -> System.arraycopy(data, y * resolutionX * 4, scanline, 0, resolutionX * 4);
+		}
+		
+		if(image instanceof PixelImageF) {
+			return PixelImageF.class.cast(image)::copyScanlineTo;
+		}
+		
+		return (y, scanline) -> {
+			for(int x = 0; x < resolutionX; x++) {
+				final Color4F colorRGBA = image.getColorRGBA(x, y);
+				
+				scanline[x * 4 + 0] = colorRGBA.r;
+				scanline[x * 4 + 1] = colorRGBA.g;
+				scanline[x * 4 + 2] = colorRGBA.b;
+				scanline[x * 4 + 3] = colorRGBA.a;
+			}
+		};
+	}
+	
+	private static String doGetString(final ByteBuffer byteBuffer) throws IOException {
+		final int position = byteBuffer.position();
+		
+		int length = 0;
+		
+		while(byteBuffer.get() != 0) {
+			if(++length > 255) {
+				throw new IOException("The OpenEXR file contains a name that is too long.");
+			}
+		}
+		
+		final byte[] bytes = new byte[length];
+		
+		for(int i = 0; i < length; i++) {
+			bytes[i] = byteBuffer.get(position + i);
+		}
+		
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	private static String doGetToken(final ByteBuffer byteBuffer) throws IOException {
+		final StringBuilder stringBuilder = new StringBuilder();
+		
+		byte b = byteBuffer.get();
+		
+		while(Character.isWhitespace(b)) {
+			b = byteBuffer.get();
+		}
+		
+		while(!Character.isWhitespace(b)) {
+			if(stringBuilder.length() >= 64) {
+				throw new IOException("The PFM file has a malformed header.");
+			}
+			
+			stringBuilder.append((char)(b & 0xFF));
+			
+			b = byteBuffer.get();
+		}
+		
+		return stringBuilder.toString();
+	}
+	
+	private static float doHalfToFloat(final int half) {
+		final int sign = (half >>> 15) & 0x1;
+		final int exponent = (half >>> 10) & 0x1F;
+		final int mantissa = half & 0x3FF;
+		
+		if(exponent == 0) {
+			final float value = mantissa * 5.9604645E-8F;
+			
+			return sign == 0 ? value : -value;
+		}
+		
+		if(exponent == 31) {
+			return mantissa == 0 ? sign == 0 ? Float.POSITIVE_INFINITY : Float.NEGATIVE_INFINITY : Float.NaN;
+		}
+		
+		return Float.intBitsToFloat((sign << 31) | ((exponent - 15 + 127) << 23) | (mantissa << 13));
+	}
+	
+	private static int doCompress(final Compression compression, final Deflater deflater, final byte[] block, final int length, final byte[] blockTemporary, final byte[] compressed) {
+		if(compression == Compression.NONE) {
+			return -1;
+		}
+		
+		doInterleaveAndPredict(block, length, blockTemporary);
+		
+		final int compressedLength = compression == Compression.RLE ? doRLECompress(blockTemporary, length, compressed) : doZIPCompress(deflater, blockTemporary, length, compressed);
+		
+		return compressedLength < length ? compressedLength : -1;
+	}
+	
+	private static int doRLECompress(final byte[] source, final int length, final byte[] target) {
+		int runStart = 0;
+		int runEnd = 1;
+		int targetLength = 0;
+		
+		while(runStart < length) {
+			while(runEnd < length && source[runStart] == source[runEnd] && runEnd - runStart - 1 < RLE_RUN_LENGTH_MAXIMUM) {
+				runEnd++;
+			}
+			
+			if(runEnd - runStart >= RLE_RUN_LENGTH_MINIMUM) {
+				target[targetLength++] = (byte)(runEnd - runStart - 1);
+				target[targetLength++] = source[runStart];
+				
+				runStart = runEnd;
+			} else {
+				while(runEnd < length && (runEnd + 1 >= length || source[runEnd] != source[runEnd + 1] || runEnd + 2 >= length || source[runEnd + 1] != source[runEnd + 2]) && runEnd - runStart < RLE_RUN_LENGTH_MAXIMUM) {
+					runEnd++;
+				}
+				
+				target[targetLength++] = (byte)(runStart - runEnd);
+				
+				while(runStart < runEnd) {
+					target[targetLength++] = source[runStart++];
+				}
+			}
+			
+			runEnd++;
+		}
+		
+		return targetLength;
+	}
+	
+	private static int doRLEDecompress(final byte[] source, final int length, final byte[] target) {
+		int sourceLength = 0;
+		int targetLength = 0;
+		
+		while(sourceLength < length) {
+			final int count = source[sourceLength++];
+			
+			if(count < 0) {
+				if(sourceLength - count > length || targetLength - count > target.length) {
+					return -1;
+				}
+				
+				System.arraycopy(source, sourceLength, target, targetLength, -count);
+				
+				sourceLength -= count;
+				targetLength -= count;
+			} else {
+				if(sourceLength >= length || targetLength + count + 1 > target.length) {
+					return -1;
+				}
+				
+				Arrays.fill(target, targetLength, targetLength + count + 1, source[sourceLength++]);
+				
+				targetLength += count + 1;
+			}
+		}
+		
+		return targetLength;
+	}
+	
+	private static int doZIPCompress(final Deflater deflater, final byte[] source, final int length, final byte[] target) {
+		deflater.reset();
+		deflater.setInput(source, 0, length);
+		deflater.finish();
+		
+		int targetLength = 0;
+		
+		while(!deflater.finished() && targetLength < length) {
+			targetLength += deflater.deflate(target, targetLength, length - targetLength);
+		}
+		
+		return deflater.finished() ? targetLength : length;
+	}
+	
+	private static int doZIPDecompress(final Inflater inflater, final byte[] source, final int length, final byte[] target, final int targetLengthExpected) throws IOException {
+		inflater.reset();
+		inflater.setInput(source, 0, length);
+		
+		int targetLength = 0;
+		
+		try {
+			while(!inflater.finished() && targetLength < targetLengthExpected) {
+				final int count = inflater.inflate(target, targetLength, targetLengthExpected - targetLength);
+				
+				if(count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				
+				targetLength += count;
+			}
+		} catch(final DataFormatException e) {
+			throw new IOException("The OpenEXR file contains a chunk that could not be decompressed.", e);
+		}
+		
+		return targetLength;
+	}
+	
+	private static void doInterleaveAndPredict(final byte[] source, final int length, final byte[] target) {
+//		The bytes at even indices are stored in the first half and the bytes at odd indices in the second half:
+		for(int i = 0, j = 0, k = (length + 1) / 2; i < length; i++) {
+			target[(i & 1) == 0 ? j++ : k++] = source[i];
+		}
+		
+		int previous = target[0] & 0xFF;
+		
+		for(int i = 1; i < length; i++) {
+			final int current = target[i] & 0xFF;
+			
+			target[i] = (byte)(current - previous + (128 + 256));
+			
+			previous = current;
+		}
+	}
+	
+	private static void doPutAttribute(final ByteBuffer byteBuffer, final String name, final String type, final int size) {
+		doPutString(byteBuffer, name);
+		doPutString(byteBuffer, type);
+		
+		byteBuffer.putInt(size);
+	}
+	
+	private static void doPutString(final ByteBuffer byteBuffer, final String string) {
+		byteBuffer.put(string.getBytes(StandardCharsets.US_ASCII));
+		byteBuffer.put((byte)(0));
+	}
+	
+	private static void doUnpredictAndDeinterleave(final byte[] source, final int length, final byte[] target) {
+		for(int i = 1; i < length; i++) {
+			source[i] = (byte)(source[i - 1] + source[i] - 128);
+		}
+		
+		for(int i = 0, j = 0, k = (length + 1) / 2; i < length; i++) {
+			target[i] = source[(i & 1) == 0 ? j++ : k++];
+		}
+	}
+	
+	private static void doWriteEXR(final File file, final int resolutionX, final int resolutionY, final ScanlineSource scanlineSource, final Compression compression) {
+		final int linesPerBlock = compression.linesPerBlock;
+		final int blockCount = (resolutionY + linesPerBlock - 1) / linesPerBlock;
+		final int blockSizeMaximum = resolutionX * EXR_CHANNEL_NAMES.length * 4 * linesPerBlock;
+		
+		final byte[] block = new byte[blockSizeMaximum];
+		final byte[] blockTemporary = new byte[blockSizeMaximum];
+		final byte[] compressed = new byte[blockSizeMaximum + blockSizeMaximum / RLE_RUN_LENGTH_MAXIMUM + 2];
+		
+		final float[] scanline = new float[resolutionX * 4];
+		
+		final ByteBuffer blockBuffer = ByteBuffer.allocateDirect(blockSizeMaximum).order(ByteOrder.LITTLE_ENDIAN);
+		final ByteBuffer chunkBuffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+		final ByteBuffer offsetBuffer = ByteBuffer.allocate(blockCount * 8).order(ByteOrder.LITTLE_ENDIAN);
+		
+		final Deflater deflater = new Deflater();
+		
+		try(final FileChannel fileChannel = doOpenForWriting(file)) {
+			doWriteFully(fileChannel, doCreateEXRHeader(resolutionX, resolutionY, compression));
+			
+			final long offsetPosition = fileChannel.position();
+			
+			fileChannel.position(offsetPosition + offsetBuffer.capacity());
+			
+			for(int y = 0; y < resolutionY; y += linesPerBlock) {
+				blockBuffer.clear();
+				
+				for(int line = y; line < min(y + linesPerBlock, resolutionY); line++) {
+					scanlineSource.copyScanlineTo(line, scanline);
+					
+//					The channels are stored in alphabetical order, A, B, G and R, which is the reverse of the order in scanline:
+					for(int component = 3; component >= 0; component--) {
+						for(int x = 0; x < resolutionX; x++) {
+							blockBuffer.putFloat(scanline[x * 4 + component]);
+						}
+					}
+				}
+				
+				blockBuffer.flip();
+				
+				final int length = blockBuffer.remaining();
+				
+				if(compression != Compression.NONE) {
+					blockBuffer.get(block, 0, length);
+					blockBuffer.rewind();
+				}
+				
+				final int compressedLength = doCompress(compression, deflater, block, length, blockTemporary, compressed);
+				
+				offsetBuffer.putLong(fileChannel.position());
+				
+				chunkBuffer.clear();
+				chunkBuffer.putInt(y);
+				chunkBuffer.putInt(compressedLength >= 0 ? compressedLength : length);
+				chunkBuffer.flip();
+				
+				doWriteFully(fileChannel, chunkBuffer);
+				doWriteFully(fileChannel, compressedLength >= 0 ? ByteBuffer.wrap(compressed, 0, compressedLength) : blockBuffer);
+			}
+			
+			offsetBuffer.flip();
+			
+			for(long position = offsetPosition; offsetBuffer.hasRemaining();) {
+				position += fileChannel.write(offsetBuffer, position);
+			}
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			deflater.end();
+		}
+	}
+	
+	private static void doWriteFully(final FileChannel fileChannel, final ByteBuffer byteBuffer) throws IOException {
+		while(byteBuffer.hasRemaining()) {
+			fileChannel.write(byteBuffer);
+		}
+	}
+	
+	private static void doWritePFM(final File file, final int resolutionX, final int resolutionY, final ScanlineSource scanlineSource) {
+		final float[] scanline = new float[resolutionX * 4];
+		
+		final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(resolutionX * 3 * 4).order(ByteOrder.LITTLE_ENDIAN);
+		
+		try(final FileChannel fileChannel = doOpenForWriting(file)) {
+			doWriteFully(fileChannel, ByteBuffer.wrap(("PF\n" + resolutionX + " " + resolutionY + "\n-1.0\n").getBytes(StandardCharsets.US_ASCII)));
+			
+//			The scanlines are stored from the bottom to the top:
+			for(int y = resolutionY - 1; y >= 0; y--) {
+				scanlineSource.copyScanlineTo(y, scanline);
+				
+				byteBuffer.clear();
+				
+				for(int x = 0; x < resolutionX; x++) {
+					byteBuffer.putFloat(scanline[x * 4 + 0]);
+					byteBuffer.putFloat(scanline[x * 4 + 1]);
+					byteBuffer.putFloat(scanline[x * 4 + 2]);
+				}
+				
+				byteBuffer.flip();
+				
+				doWriteFully(fileChannel, byteBuffer);
+			}
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * A {@code Compression} represents the compression of the pixel data in an OpenEXR file.
+	 * 
+	 * @since 1.0.0
+	 * @author J&#246;rgen Lundgren
+	 */
+	public enum Compression {
+		/**
+		 * The pixel data is not compressed.
+		 */
+		NONE(0, 1),
+		
+		/**
+		 * The pixel data is compressed using run-length encoding, one scanline at a time.
+		 */
+		RLE(1, 1),
+		
+		/**
+		 * The pixel data is compressed using zlib, one scanline at a time.
+		 */
+		ZIPS(2, 1),
+		
+		/**
+		 * The pixel data is compressed using zlib, 16 scanlines at a time.
+		 */
+		ZIP(3, 16);
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private final int id;
+		private final int linesPerBlock;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private Compression(final int id, final int linesPerBlock) {
+			this.id = id;
+			this.linesPerBlock = linesPerBlock;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private interface ScanlineSource {
+		void copyScanlineTo(final int y, final float[] scanline);
+	}
+}
@@ -381,6 +381,54 @@ public abstract class Image {
 		System.arraycopy(sourceArray, 0, targetArray, 0, targetArray.length);
 	}
 	
+	/**
+	 * Copies the colors in this {@code Image} instance in a packed form to the {@code int[]} {@code array}.
+	 * <p>
+	 * If {@code array} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code array.length != image.getResolution()}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * image.copyTo(array, PackedIntComponentOrder.ARGB);
+	 * }
+	 * </pre>
+	 * 
+	 * @param array the {@code int[]} to copy the colors in this {@code Image} instance to
+	 * @throws IllegalArgumentException thrown if, and only if, {@code array.length != image.getResolution()}
+	 * @throws NullPointerException thrown if, and only if, {@code array} is {@code null}
+	 */
+	public final void copyTo(final int[] array) {
+		copyTo(array, PackedIntComponentOrder.ARGB);
+	}
+	
+	/**
+	 * Copies the colors in this {@code Image} instance in a packed form to the {@code int[]} {@code array}.
+	 * <p>
+	 * If either {@code array} or {@code packedIntComponentOrder} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code array.length != image.getResolution()}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * This method can be overridden by implementations that are able to copy the colors without allocating a temporary {@code int[]}.
+	 * 
+	 * @param array the {@code int[]} to copy the colors in this {@code Image} instance to
+	 * @param packedIntComponentOrder a {@link PackedIntComponentOrder}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code array.length != image.getResolution()}
+	 * @throws NullPointerException thrown if, and only if, either {@code array} or {@code packedIntComponentOrder} are {@code null}
+	 */
+	public void copyTo(final int[] array, final PackedIntComponentOrder packedIntComponentOrder) {
+		Objects.requireNonNull(array, "array == null");
+		Objects.requireNonNull(packedIntComponentOrder, "packedIntComponentOrder == null");
+		
+		ParameterArguments.requireExact(array.length, this.resolution, "array");
+		
+		final int[] sourceArray = toIntArrayPackedForm(packedIntComponentOrder);
+		final int[] targetArray = array;
+		
+		System.arraycopy(sourceArray, 0, targetArray, 0, targetArray.length);
+	}
+	
 	/**
 	 * Flips this {@code Image} instance along the X-axis.
 	 */
@@ -23,9 +23,11 @@ import static org.dayflower.utility.Ints.min;
 import static org.dayflower.utility.Ints.toInt;
 
 import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Field;//TODO: Add Unit Tests!
 import java.net.URL;
@@ -52,7 +54,9 @@ import org.macroing.java.awt.image.BufferedImages;
 import org.macroing.java.lang.Floats;
 
 /**
- * A {@code PixelImageF} is an {@link ImageF} implementation that stores individual pixels as {@link PixelF} instances.
+ * A {@code PixelImageF} is an {@link ImageF} implementation that stores the pixels and the film in {@code float[]} channels.
+ * <p>
+ * The channels contain the current RGBA colors, the XYZ color sums, the XYZ splat sums and the filter weight sums. The {@link PixelF} instances that are returned by this class are copies of the pixels.
  * <p>
  * An instance of this class requires a lot of memory. It is therefore not advised to keep multiple instances of it in memory at once, only to retrieve the pixel colors.
  * <p>
@@ -66,13 +70,20 @@ import org.macroing.java.lang.Floats;
  * @author J&#246;rgen Lundgren
  */
 public final class PixelImageF extends ImageF {
+	private static final float SAMPLE_LUMINANCE_MINIMUM = 0.01F;
 	private static final float[] EXPONENT = new float[256];
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private final Filter2F filter;
-	private final PixelF[] pixels;
+	private final float[] colorRGBAs;
+	private final float[] colorXYZs;
 	private final float[] filterTable;
+	private final float[] filterWeightSums;
+	private final float[] sampleLuminanceMeans;
+	private final float[] sampleLuminanceSquaredDeviations;
+	private final float[] splatXYZs;
+	private final int[] sampleCounts;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -155,8 +166,14 @@ public final class PixelImageF extends ImageF {
 		super(bufferedImage.getWidth(), bufferedImage.getHeight());
 		
 		this.filter = Objects.requireNonNull(filter, "filter == null");
-		this.pixels = PixelF.createPixels(bufferedImage);
+		this.colorRGBAs = doCreateColorRGBAs(bufferedImage);
+		this.colorXYZs = new float[getResolution() * 3];
 		this.filterTable = filter.getTable();
+		this.filterWeightSums = new float[getResolution()];
+		this.sampleLuminanceMeans = new float[getResolution()];
+		this.sampleLuminanceSquaredDeviations = new float[getResolution()];
+		this.splatXYZs = new float[getResolution() * 3];
+		this.sampleCounts = new int[getResolution()];
 	}
 	
 	/**
@@ -172,8 +189,14 @@ public final class PixelImageF extends ImageF {
 		super(pixelImage.getResolutionX(), pixelImage.getResolutionY());
 		
 		this.filter = pixelImage.filter;
-		this.pixels = Arrays.stream(pixelImage.pixels).map(pixel -> pixel.copy()).toArray(PixelF[]::new);
+		this.colorRGBAs = pixelImage.colorRGBAs.clone();
+		this.colorXYZs = pixelImage.colorXYZs.clone();
 		this.filterTable = pixelImage.filterTable.clone();
+		this.filterWeightSums = pixelImage.filterWeightSums.clone();
+		this.sampleLuminanceMeans = pixelImage.sampleLuminanceMeans.clone();
+		this.sampleLuminanceSquaredDeviations = pixelImage.sampleLuminanceSquaredDeviations.clone();
+		this.splatXYZs = pixelImage.splatXYZs.clone();
+		this.sampleCounts = pixelImage.sampleCounts.clone();
 	}
 	
 	/**
@@ -240,9 +263,15 @@ public final class PixelImageF extends ImageF {
 	public PixelImageF(final int resolutionX, final int resolutionY, final Color4F colorRGBA, final Filter2F filter) {
 		super(resolutionX, resolutionY);
 		
-		this.pixels = PixelF.createPixels(resolutionX, resolutionY, colorRGBA);
 		this.filter = Objects.requireNonNull(filter, "filter == null");
+		this.colorRGBAs = doCreateColorRGBAs(resolutionX, resolutionY, colorRGBA);
+		this.colorXYZs = new float[resolutionX * resolutionY * 3];
 		this.filterTable = filter.getTable();
+		this.filterWeightSums = new float[resolutionX * resolutionY];
+		this.sampleLuminanceMeans = new float[resolutionX * resolutionY];
+		this.sampleLuminanceSquaredDeviations = new float[resolutionX * resolutionY];
+		this.splatXYZs = new float[resolutionX * resolutionY * 3];
+		this.sampleCounts = new int[resolutionX * resolutionY];
 	}
 	
 	/**
@@ -288,9 +317,15 @@ public final class PixelImageF extends ImageF {
 	public PixelImageF(final int resolutionX, final int resolutionY, final Color4F[] colorRGBAs, final Filter2F filter) {
 		super(resolutionX, resolutionY);
 		
-		this.pixels = PixelF.createPixels(resolutionX, resolutionY, colorRGBAs);
 		this.filter = Objects.requireNonNull(filter, "filter == null");
+		this.colorRGBAs = doCreateColorRGBAs(resolutionX, resolutionY, colorRGBAs);
+		this.colorXYZs = new float[resolutionX * resolutionY * 3];
 		this.filterTable = filter.getTable();
+		this.filterWeightSums = new float[resolutionX * resolutionY];
+		this.sampleLuminanceMeans = new float[resolutionX * resolutionY];
+		this.sampleLuminanceSquaredDeviations = new float[resolutionX * resolutionY];
+		this.splatXYZs = new float[resolutionX * resolutionY * 3];
+		this.sampleCounts = new int[resolutionX * resolutionY];
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -310,7 +345,15 @@ public final class PixelImageF extends ImageF {
 //	TODO: Add Unit Tests!
 	@Override
 	public Color4F getColorRGBA(final int index, final PixelOperation pixelOperation) {
-		return getPixel(index, pixelOperation).map(pixel -> pixel.getColorRGBA()).orElse(Color4F.BLACK);
+		final int resolution = getResolution();
+		
+		final int indexTransformed = pixelOperation.getIndex(index, resolution);
+		
+		if(indexTransformed >= 0 && indexTransformed < resolution) {
+			return doGetColorRGBA(indexTransformed);
+		}
+		
+		return Color4F.BLACK;
 	}
 	
 	/**
@@ -329,7 +372,14 @@ public final class PixelImageF extends ImageF {
 	public Color4F getColorRGBA(final int x, final int y, final Function<Point2I, Color4F> function) {
 		Objects.requireNonNull(function, "function == null");
 		
-		return getPixel(x, y).map(pixel -> pixel.getColorRGBA()).orElseGet(() -> Objects.requireNonNull(function.apply(new Point2I(x, y))));
+		final int resolutionX = getResolutionX();
+		final int resolutionY = getResolutionY();
+		
+		if(x >= 0 && x < resolutionX && y >= 0 && y < resolutionY) {
+			return doGetColorRGBA(y * resolutionX + x);
+		}
+		
+		return Objects.requireNonNull(function.apply(new Point2I(x, y)));
 	}
 	
 	/**
@@ -348,24 +398,44 @@ public final class PixelImageF extends ImageF {
 //	TODO: Add Unit Tests!
 	@Override
 	public Color4F getColorRGBA(final int x, final int y, final PixelOperation pixelOperation) {
-		return getPixel(x, y, pixelOperation).map(pixel -> pixel.getColorRGBA()).orElse(Color4F.BLACK);
+		final int resolutionX = getResolutionX();
+		final int resolutionY = getResolutionY();
+		
+		final int xTransformed = pixelOperation.getX(x, resolutionX);
+		final int yTransformed = pixelOperation.getY(y, resolutionY);
+		
+		if(xTransformed >= 0 && xTransformed < resolutionX && yTransformed >= 0 && yTransformed < resolutionY) {
+			return doGetColorRGBA(yTransformed * resolutionX + xTransformed);
+		}
+		
+		return Color4F.BLACK;
 	}
 	
 	/**
 	 * Returns a {@code List} with all {@link PixelF} instances associated with this {@code PixelImageF} instance.
 	 * <p>
-	 * Modifications to the returned {@code List} will not affect this {@code PixelImageF} instance.
+	 * Modifications to the returned {@code List} or its {@code PixelF} instances will not affect this {@code PixelImageF} instance.
 	 * 
 	 * @return a {@code List} with all {@code PixelF} instances associated with this {@code PixelImageF} instance
 	 */
 //	TODO: Add Unit Tests!
 	public List<PixelF> getPixels() {
-		return new ArrayList<>(Arrays.asList(this.pixels));
+		final int resolution = getResolution();
+		
+		final List<PixelF> pixels = new ArrayList<>(resolution);
+		
+		for(int i = 0; i < resolution; i++) {
+			pixels.add(doCreatePixel(i));
+		}
+		
+		return pixels;
 	}
 	
 	/**
 	 * Returns the optional {@link PixelF} located at {@code index}.
 	 * <p>
+	 * The returned {@code PixelF} is a copy. Modifications to it will not affect this {@code PixelImageF} instance.
+	 * <p>
 	 * Calling this method is equivalent to the following:
 	 * <pre>
 	 * {@code
@@ -384,6 +454,8 @@ public final class PixelImageF extends ImageF {
 	/**
 	 * Returns the optional {@link PixelF} located at {@code index}.
 	 * <p>
+	 * The returned {@code PixelF} is a copy. Modifications to it will not affect this {@code PixelImageF} instance.
+	 * <p>
 	 * If {@code pixelOperation} is {@code null}, a {@code NullPointerException} will be thrown.
 	 * <p>
 	 * See the documentation for {@link PixelOperation} to get a more detailed explanation for different pixel operations.
@@ -400,7 +472,7 @@ public final class PixelImageF extends ImageF {
 		final int indexTransformed = pixelOperation.getIndex(index, resolution);
 		
 		if(indexTransformed >= 0 && indexTransformed < resolution) {
-			return Optional.of(this.pixels[indexTransformed]);
+			return Optional.of(doCreatePixel(indexTransformed));
 		}
 		
 		return Optional.empty();
@@ -409,6 +481,8 @@ public final class PixelImageF extends ImageF {
 	/**
 	 * Returns the optional {@link PixelF} located at {@code x} and {@code y}.
 	 * <p>
+	 * The returned {@code PixelF} is a copy. Modifications to it will not affect this {@code PixelImageF} instance.
+	 * <p>
 	 * Calling this method is equivalent to the following:
 	 * <pre>
 	 * {@code
@@ -428,6 +502,8 @@ public final class PixelImageF extends ImageF {
 	/**
 	 * Returns the optional {@link PixelF} located at {@code x} and {@code y}.
 	 * <p>
+	 * The returned {@code PixelF} is a copy. Modifications to it will not affect this {@code PixelImageF} instance.
+	 * <p>
 	 * If {@code pixelOperation} is {@code null}, a {@code NullPointerException} will be thrown.
 	 * <p>
 	 * See the documentation for {@link PixelOperation} to get a more detailed explanation for different pixel operations.
@@ -447,7 +523,7 @@ public final class PixelImageF extends ImageF {
 		final int yTransformed = pixelOperation.getY(y, resolutionY);
 		
 		if(xTransformed >= 0 && xTransformed < resolutionX && yTransformed >= 0 && yTransformed < resolutionY) {
-			return Optional.of(this.pixels[yTransformed * resolutionX + xTransformed]);
+			return Optional.of(doCreatePixel(yTransformed * resolutionX + xTransformed));
 		}
 		
 		return Optional.empty();
@@ -487,15 +563,94 @@ public final class PixelImageF extends ImageF {
 			return false;
 		} else if(!Objects.equals(this.filter, PixelImageF.class.cast(object).filter)) {
 			return false;
-		} else if(!Arrays.equals(this.pixels, PixelImageF.class.cast(object).pixels)) {
+		} else if(!Arrays.equals(this.colorRGBAs, PixelImageF.class.cast(object).colorRGBAs)) {
+			return false;
+		} else if(!Arrays.equals(this.colorXYZs, PixelImageF.class.cast(object).colorXYZs)) {
 			return false;
 		} else if(!Arrays.equals(this.filterTable, PixelImageF.class.cast(object).filterTable)) {
 			return false;
+		} else if(!Arrays.equals(this.filterWeightSums, PixelImageF.class.cast(object).filterWeightSums)) {
+			return false;
+		} else if(!Arrays.equals(this.sampleLuminanceMeans, PixelImageF.class.cast(object).sampleLuminanceMeans)) {
+			return false;
+		} else if(!Arrays.equals(this.sampleLuminanceSquaredDeviations, PixelImageF.class.cast(object).sampleLuminanceSquaredDeviations)) {
+			return false;
+		} else if(!Arrays.equals(this.splatXYZs, PixelImageF.class.cast(object).splatXYZs)) {
+			return false;
+		} else if(!Arrays.equals(this.sampleCounts, PixelImageF.class.cast(object).sampleCounts)) {
+			return false;
 		} else {
 			return true;
 		}
 	}
 	
+	/**
+	 * Returns a {@code boolean[]} that contains {@code true} for each pixel that needs more samples to reach the error threshold {@code errorThreshold}, {@code false} otherwise.
+	 * <p>
+	 * A pixel needs more samples if its error, as returned by {@link #filmGetSampleError(int)}, is greater than {@code errorThreshold}. The result is dilated by twice the radius of the {@link Filter2F}. The filter of a sample covers
+	 * neighbouring pixels, so a pixel that stops receiving samples while its neighbours continue would be weighted towards the neighbours. The dilation keeps the sample counts balanced within the filter of every pixel that needs more samples.
+	 * 
+	 * @param errorThreshold the error threshold
+	 * @return a {@code boolean[]} that contains {@code true} for each pixel that needs more samples to reach the error threshold {@code errorThreshold}, {@code false} otherwise
+	 */
+	public boolean[] filmComputeSamplingMask(final float errorThreshold) {
+		final int resolution = getResolution();
+		final int resolutionX = getResolutionX();
+		final int resolutionY = getResolutionY();
+		
+		final int radiusX = toInt(Floats.ceil(this.filter.getResolutionX())) * 2;
+		final int radiusY = toInt(Floats.ceil(this.filter.getResolutionY())) * 2;
+		
+		final boolean[] samplingMask = new boolean[resolution];
+		
+		for(int i = 0; i < resolution; i++) {
+			samplingMask[i] = filmGetSampleError(i) > errorThreshold;
+		}
+		
+		return doDilate(doDilate(samplingMask, resolutionY, resolutionX, resolutionX, 1, radiusX), resolutionX, resolutionY, 1, resolutionX, radiusY);
+	}
+	
+	/**
+	 * Returns the relative standard error of the mean sample luminance of the pixel represented by {@code index}.
+	 * <p>
+	 * If {@code index} is less than {@code 0} or greater than or equal to {@code getResolution()}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The samples are added using {@link #filmAddSample(int, int, float)}. If fewer than two samples have been added, {@code Float.POSITIVE_INFINITY} is returned. The mean luminance is clamped to a small minimum, so the error of dark pixels remains
+	 * bounded.
+	 * 
+	 * @param index the index of the pixel
+	 * @return the relative standard error of the mean sample luminance of the pixel represented by {@code index}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code index} is less than {@code 0} or greater than or equal to {@code getResolution()}
+	 */
+	public float filmGetSampleError(final int index) {
+		ParameterArguments.requireRange(index, 0, getResolution() - 1, "index");
+		
+		final int sampleCount = this.sampleCounts[index];
+		
+		if(sampleCount < 2) {
+			return Float.POSITIVE_INFINITY;
+		}
+		
+		final float sampleLuminanceMean = this.sampleLuminanceMeans[index];
+		final float sampleLuminanceVariance = this.sampleLuminanceSquaredDeviations[index] / (sampleCount - 1);
+		final float sampleLuminanceStandardError = Floats.sqrt(sampleLuminanceVariance / sampleCount);
+		
+		return sampleLuminanceStandardError / Floats.max(sampleLuminanceMean, SAMPLE_LUMINANCE_MINIMUM);
+	}
+	
+	/**
+	 * Returns the number of samples added to the pixel represented by {@code index} using {@link #filmAddSample(int, int, float)}.
+	 * <p>
+	 * If {@code index} is less than {@code 0} or greater than or equal to {@code getResolution()}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param index the index of the pixel
+	 * @return the number of samples added to the pixel represented by {@code index}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code index} is less than {@code 0} or greater than or equal to {@code getResolution()}
+	 */
+	public int filmGetSampleCount(final int index) {
+		return this.sampleCounts[ParameterArguments.requireRange(index, 0, getResolution() - 1, "index")];
+	}
+	
 	/**
 	 * Returns a hash code for this {@code PixelImageF} instance.
 	 * 
@@ -504,7 +659,7 @@ public final class PixelImageF extends ImageF {
 //	TODO: Add Unit Tests!
 	@Override
 	public int hashCode() {
-		return Objects.hash(Integer.valueOf(getResolution()), Integer.valueOf(getResolutionX()), Integer.valueOf(getResolutionY()), this.filter, Integer.valueOf(Arrays.hashCode(this.pixels)), Integer.valueOf(Arrays.hashCode(this.filterTable)));
+		return Objects.hash(Integer.valueOf(getResolution()), Integer.valueOf(getResolutionX()), Integer.valueOf(getResolutionY()), this.filter, Integer.valueOf(Arrays.hashCode(this.colorRGBAs)), Integer.valueOf(Arrays.hashCode(this.colorXYZs)), Integer.valueOf(Arrays.hashCode(this.filterTable)), Integer.valueOf(Arrays.hashCode(this.filterWeightSums)), Integer.valueOf(Arrays.hashCode(this.sampleLuminanceMeans)), Integer.valueOf(Arrays.hashCode(this.sampleLuminanceSquaredDeviations)), Integer.valueOf(Arrays.hashCode(this.splatXYZs)), Integer.valueOf(Arrays.hashCode(this.sampleCounts)));
 	}
 	
 	/**
@@ -521,19 +676,69 @@ public final class PixelImageF extends ImageF {
 	public int[] toIntArrayPackedForm(final PackedIntComponentOrder packedIntComponentOrder) {
 		Objects.requireNonNull(packedIntComponentOrder, "packedIntComponentOrder == null");
 		
-		final int resolution = getResolution();
+		final int[] intArray = new int[getResolution()];
 		
-		final int[] intArray = new int[resolution];
-		
-		for(int i = 0; i < resolution; i++) {
-			intArray[i] = this.pixels[i].getColorRGBA().pack(packedIntComponentOrder);
-		}
+		copyTo(intArray, packedIntComponentOrder);
 		
 		return intArray;
 	}
 	
 	/**
-	 * Adds {@code colorXYZ} to the {@link PixelF} instances located around {@code x} and {@code y}.
+	 * Copies the colors of the pixels in scanline {@code y} of this {@code PixelImageF} instance to {@code scanline}.
+	 * <p>
+	 * If {@code scanline} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code y} is less than {@code 0} or greater than or equal to {@code pixelImage.getResolutionY()}, or {@code scanline.length != pixelImage.getResolutionX() * 4}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The colors are copied as four {@code float} values per pixel, in the order R, G, B and A.
+	 * 
+	 * @param y the Y-coordinate of the scanline
+	 * @param scanline the {@code float[]} to copy the colors to
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code y} is less than {@code 0} or greater than or equal to {@code pixelImage.getResolutionY()}, or {@code scanline.length != pixelImage.getResolutionX() * 4}
+	 * @throws NullPointerException thrown if, and only if, {@code scanline} is {@code null}
+	 */
+	public void copyScanlineTo(final int y, final float[] scanline) {
+		ParameterArguments.requireRange(y, 0, getResolutionY() - 1, "y");
+		ParameterArguments.requireExactArrayLength(scanline, getResolutionX() * 4, "scanline");
+		
+		System.arraycopy(this.colorRGBAs, y * getResolutionX() * 4, scanline, 0, scanline.length);
+	}
+	
+	/**
+	 * Copies the colors in this {@code PixelImageF} instance in a packed form to the {@code int[]} {@code array}.
+	 * <p>
+	 * If either {@code array} or {@code packedIntComponentOrder} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code array.length != pixelImage.getResolution()}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * This method does not allocate any memory, so it can be used to take repeated snapshots of the film into the same {@code int[]}.
+	 * 
+	 * @param array the {@code int[]} to copy the colors in this {@code PixelImageF} instance to
+	 * @param packedIntComponentOrder a {@link PackedIntComponentOrder}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code array.length != pixelImage.getResolution()}
+	 * @throws NullPointerException thrown if, and only if, either {@code array} or {@code packedIntComponentOrder} are {@code null}
+	 */
+	@Override
+	public void copyTo(final int[] array, final PackedIntComponentOrder packedIntComponentOrder) {
+		Objects.requireNonNull(array, "array == null");
+		Objects.requireNonNull(packedIntComponentOrder, "packedIntComponentOrder == null");
+		
+		ParameterArguments.requireExact(array.length, getResolution(), "array");
+		
+		final float[] colorRGBAs = this.colorRGBAs;
+		
+		for(int i = 0; i < array.length; i++) {
+			final int r = Color4F.toIntR(colorRGBAs[i * 4 + 0]);
+			final int g = Color4F.toIntG(colorRGBAs[i * 4 + 1]);
+			final int b = Color4F.toIntB(colorRGBAs[i * 4 + 2]);
+			final int a = Color4F.toIntA(colorRGBAs[i * 4 + 3]);
+			
+			array[i] = packedIntComponentOrder.pack(r, g, b, a);
+		}
+	}
+	
+	/**
+	 * Adds {@code colorXYZ} to the pixels located around {@code x} and {@code y}.
 	 * <p>
 	 * If {@code colorXYZ} is {@code null}, a {@code NullPointerException} will be thrown.
 	 * <p>
@@ -544,8 +749,8 @@ public final class PixelImageF extends ImageF {
 	 * }
 	 * </pre>
 	 * 
-	 * @param x the X-coordinate of the {@code PixelF}
-	 * @param y the Y-coordinate of the {@code PixelF}
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
 	 * @param colorXYZ the color to add
 	 * @throws NullPointerException thrown if, and only if, {@code colorXYZ} is {@code null}
 	 */
@@ -555,23 +760,68 @@ public final class PixelImageF extends ImageF {
 	}
 	
 	/**
-	 * Adds {@code colorXYZ} to the {@link PixelF} instances located around {@code x} and {@code y}.
+	 * Adds {@code colorXYZ} to the pixels located around {@code x} and {@code y}.
 	 * <p>
 	 * If {@code colorXYZ} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * pixelImage.filmAddColorXYZ(x, y, colorXYZ.r, colorXYZ.g, colorXYZ.b, sampleWeight);
+	 * }
+	 * </pre>
 	 * 
-	 * @param x the X-coordinate of the {@code PixelF}
-	 * @param y the Y-coordinate of the {@code PixelF}
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
 	 * @param colorXYZ the color to add
 	 * @param sampleWeight the sample weight to use
 	 * @throws NullPointerException thrown if, and only if, {@code colorXYZ} is {@code null}
 	 */
 //	TODO: Add Unit Tests!
 	public void filmAddColorXYZ(final float x, final float y, final Color3F colorXYZ, final float sampleWeight) {
+		filmAddColorXYZ(x, y, colorXYZ.r, colorXYZ.g, colorXYZ.b, sampleWeight);
+	}
+	
+	/**
+	 * Adds the color represented by {@code colorX}, {@code colorY} and {@code colorZ} to the pixels located around {@code x} and {@code y}.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * pixelImage.filmAddColorXYZ(x, y, colorX, colorY, colorZ, 1.0F);
+	 * }
+	 * </pre>
+	 * 
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
+	 * @param colorX the X-component of the color to add
+	 * @param colorY the Y-component of the color to add
+	 * @param colorZ the Z-component of the color to add
+	 */
+//	TODO: Add Unit Tests!
+	public void filmAddColorXYZ(final float x, final float y, final float colorX, final float colorY, final float colorZ) {
+		filmAddColorXYZ(x, y, colorX, colorY, colorZ, 1.0F);
+	}
+	
+	/**
+	 * Adds the color represented by {@code colorX}, {@code colorY} and {@code colorZ} to the pixels located around {@code x} and {@code y}.
+	 * <p>
+	 * This method does not allocate any objects.
+	 * 
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
+	 * @param colorX the X-component of the color to add
+	 * @param colorY the Y-component of the color to add
+	 * @param colorZ the Z-component of the color to add
+	 * @param sampleWeight the sample weight to use
+	 */
+//	TODO: Add Unit Tests!
+	public void filmAddColorXYZ(final float x, final float y, final float colorX, final float colorY, final float colorZ, final float sampleWeight) {
 		final Filter2F filter = this.filter;
 		
-		final PixelF[] pixels = this.pixels;
-		
+		final float[] colorXYZs = this.colorXYZs;
 		final float[] filterTable = this.filterTable;
+		final float[] filterWeightSums = this.filterWeightSums;
 		
 		final float filterResolutionX = filter.getResolutionX();
 		final float filterResolutionY = filter.getResolutionY();
@@ -588,36 +838,59 @@ public final class PixelImageF extends ImageF {
 		final int maximumFilterX = toInt(Floats.min(Floats.floor(deltaX + filterResolutionX), resolutionX - 1));
 		final int minimumFilterY = toInt(Floats.max(Floats.ceil(deltaY - filterResolutionY), 0));
 		final int maximumFilterY = toInt(Floats.min(Floats.floor(deltaY + filterResolutionY), resolutionY - 1));
-		final int maximumFilterXMinimumFilterX = maximumFilterX - minimumFilterX;
-		final int maximumFilterYMinimumFilterY = maximumFilterY - minimumFilterY;
 		
-		if(maximumFilterXMinimumFilterX >= 0 && maximumFilterYMinimumFilterY >= 0) {
-			final int[] filterOffsetX = new int[maximumFilterXMinimumFilterX + 1];
-			final int[] filterOffsetY = new int[maximumFilterYMinimumFilterY + 1];
+		for(int filterY = minimumFilterY; filterY <= maximumFilterY; filterY++) {
+			final int filterYResolutionX = filterY * resolutionX;
+			final int filterOffsetYFilterTableSize = min(toInt(Floats.floor(Floats.abs((filterY - deltaY) * filterResolutionYReciprocal * Filter2F.TABLE_SIZE))), Filter2F.TABLE_SIZE - 1) * Filter2F.TABLE_SIZE;
 			
 			for(int filterX = minimumFilterX; filterX <= maximumFilterX; filterX++) {
-				filterOffsetX[filterX - minimumFilterX] = min(toInt(Floats.floor(Floats.abs((filterX - deltaX) * filterResolutionXReciprocal * Filter2F.TABLE_SIZE))), Filter2F.TABLE_SIZE - 1);
+				final int filterOffsetX = min(toInt(Floats.floor(Floats.abs((filterX - deltaX) * filterResolutionXReciprocal * Filter2F.TABLE_SIZE))), Filter2F.TABLE_SIZE - 1);
+				
+				final int index = filterYResolutionX + filterX;
+				
+				final float filterWeight = filterTable[filterOffsetYFilterTableSize + filterOffsetX];
+				final float weight = sampleWeight * filterWeight;
+				
+				colorXYZs[index * 3 + 0] += colorX * weight;
+				colorXYZs[index * 3 + 1] += colorY * weight;
+				colorXYZs[index * 3 + 2] += colorZ * weight;
+				
+				filterWeightSums[index] += filterWeight;
 			}
+		}
+	}
+	
+	/**
+	 * Adds a sample with the luminance {@code luminance} to the statistics of the pixel located at {@code x} and {@code y}.
+	 * <p>
+	 * The statistics are used to estimate the error of the pixel. They do not affect the color of the pixel, so this method should be called in addition to {@link #filmAddColorXYZ(float, float, float, float, float)}.
+	 * <p>
+	 * This method does not allocate any objects.
+	 * 
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
+	 * @param luminance the luminance of the sample
+	 */
+	public void filmAddSample(final int x, final int y, final float luminance) {
+		final int resolutionX = getResolutionX();
+		final int resolutionY = getResolutionY();
+		
+		if(x >= 0 && x < resolutionX && y >= 0 && y < resolutionY) {
+			final int index = y * resolutionX + x;
 			
-			for(int filterY = minimumFilterY; filterY <= maximumFilterY; filterY++) {
-				filterOffsetY[filterY - minimumFilterY] = min(toInt(Floats.floor(Floats.abs((filterY - deltaY) * filterResolutionYReciprocal * Filter2F.TABLE_SIZE))), Filter2F.TABLE_SIZE - 1);
-			}
+//			The mean and the sum of squared deviations are updated using Welford's algorithm, which is stable for a large number of samples:
+			final int sampleCount = ++this.sampleCounts[index];
 			
-			for(int filterY = minimumFilterY; filterY <= maximumFilterY; filterY++) {
-				final int filterYResolutionX = filterY * resolutionX;
-				final int filterOffsetYOffsetFilterTableSize = filterOffsetY[filterY - minimumFilterY] * Filter2F.TABLE_SIZE;
-				
-				for(int filterX = minimumFilterX; filterX <= maximumFilterX; filterX++) {
-					final
-					PixelF pixelF = pixels[filterYResolutionX + filterX];
-					pixelF.addColorXYZ(colorXYZ, sampleWeight, filterTable[filterOffsetYOffsetFilterTableSize + filterOffsetX[filterX - minimumFilterX]]);
-				}
-			}
+			final float oldSampleLuminanceMean = this.sampleLuminanceMeans[index];
+			final float newSampleLuminanceMean = oldSampleLuminanceMean + (luminance - oldSampleLuminanceMean) / sampleCount;
+			
+			this.sampleLuminanceMeans[index] = newSampleLuminanceMean;
+			this.sampleLuminanceSquaredDeviations[index] += (luminance - oldSampleLuminanceMean) * (luminance - newSampleLuminanceMean);
 		}
 	}
 	
 	/**
-	 * Adds {@code splatXYZ} to the {@link PixelF} instance located at {@code x} and {@code y}.
+	 * Adds {@code splatXYZ} to the pixel located at {@code x} and {@code y}.
 	 * <p>
 	 * If {@code splatXYZ} is {@code null}, a {@code NullPointerException} will be thrown.
 	 * <p>
@@ -628,8 +901,8 @@ public final class PixelImageF extends ImageF {
 	 * }
 	 * </pre>
 	 * 
-	 * @param x the X-coordinate of the {@code PixelF}
-	 * @param y the Y-coordinate of the {@code PixelF}
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
 	 * @param splatXYZ the splat to add
 	 * @throws NullPointerException thrown if, and only if, {@code splatXYZ} is {@code null}
 	 */
@@ -639,12 +912,12 @@ public final class PixelImageF extends ImageF {
 	}
 	
 	/**
-	 * Adds {@code splatXYZ} to the {@link PixelF} instance located at {@code x} and {@code y}.
+	 * Adds {@code splatXYZ} to the pixel located at {@code x} and {@code y}.
 	 * <p>
 	 * If {@code splatXYZ} is {@code null}, a {@code NullPointerException} will be thrown.
 	 * 
-	 * @param x the X-coordinate of the {@code PixelF}
-	 * @param y the Y-coordinate of the {@code PixelF}
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
 	 * @param splatXYZ the splat to add
 	 * @throws NullPointerException thrown if, and only if, {@code splatXYZ} is {@code null}
 	 */
@@ -652,7 +925,32 @@ public final class PixelImageF extends ImageF {
 	public void filmAddSplatXYZ(final int x, final int y, final Color3F splatXYZ) {
 		Objects.requireNonNull(splatXYZ, "splatXYZ == null");
 		
-		getPixel(x, y).ifPresent(pixel -> pixel.addSplatXYZ(splatXYZ));
+		filmAddSplatXYZ(x, y, splatXYZ.r, splatXYZ.g, splatXYZ.b);
+	}
+	
+	/**
+	 * Adds the splat represented by {@code splatX}, {@code splatY} and {@code splatZ} to the pixel located at {@code x} and {@code y}.
+	 * <p>
+	 * This method does not allocate any objects.
+	 * 
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
+	 * @param splatX the X-component of the splat to add
+	 * @param splatY the Y-component of the splat to add
+	 * @param splatZ the Z-component of the splat to add
+	 */
+//	TODO: Add Unit Tests!
+	public void filmAddSplatXYZ(final int x, final int y, final float splatX, final float splatY, final float splatZ) {
+		final int resolutionX = getResolutionX();
+		final int resolutionY = getResolutionY();
+		
+		if(x >= 0 && x < resolutionX && y >= 0 && y < resolutionY) {
+			final int index = y * resolutionX + x;
+			
+			this.splatXYZs[index * 3 + 0] += splatX;
+			this.splatXYZs[index * 3 + 1] += splatY;
+			this.splatXYZs[index * 3 + 2] += splatZ;
+		}
 	}
 	
 	/**
@@ -660,10 +958,38 @@ public final class PixelImageF extends ImageF {
 	 */
 //	TODO: Add Unit Tests!
 	public void filmClear() {
-		for(final PixelF pixel : this.pixels) {
-			pixel.setColorXYZ(new Color3F());
-			pixel.setSplatXYZ(new Color3F());
-			pixel.setFilterWeightSum(0.0F);
+		Arrays.fill(this.colorXYZs, 0.0F);
+		Arrays.fill(this.filterWeightSums, 0.0F);
+		Arrays.fill(this.sampleLuminanceMeans, 0.0F);
+		Arrays.fill(this.sampleLuminanceSquaredDeviations, 0.0F);
+		Arrays.fill(this.splatXYZs, 0.0F);
+		Arrays.fill(this.sampleCounts, 0);
+	}
+	
+	/**
+	 * Copies the linear colors of the film in scanline {@code y} of this {@code PixelImageF} instance to {@code scanline}.
+	 * <p>
+	 * If {@code scanline} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code y} is less than {@code 0} or greater than or equal to {@code pixelImage.getResolutionY()}, or {@code scanline.length != pixelImage.getResolutionX() * 4}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The colors are computed in the same way as by {@link #filmRender()}, but without gamma correction, and copied as four {@code float} values per pixel, in the order R, G, B and A. This method does not modify the image.
+	 * 
+	 * @param y the Y-coordinate of the scanline
+	 * @param scanline the {@code float[]} to copy the colors to
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code y} is less than {@code 0} or greater than or equal to {@code pixelImage.getResolutionY()}, or {@code scanline.length != pixelImage.getResolutionX() * 4}
+	 * @throws NullPointerException thrown if, and only if, {@code scanline} is {@code null}
+	 */
+	public void filmCopyScanlineTo(final int y, final float[] scanline) {
+		ParameterArguments.requireRange(y, 0, getResolutionY() - 1, "y");
+		ParameterArguments.requireExactArrayLength(scanline, getResolutionX() * 4, "scanline");
+		
+		final float[] matrix = ColorSpaceF.getDefault().getMatrixXYZToRGB();
+		
+		final int resolutionX = getResolutionX();
+		
+		for(int x = 0; x < resolutionX; x++) {
+			doFilmGetColorRGBA(y * resolutionX + x, 1.0F, matrix, scanline, x * 4);
 		}
 	}
 	
@@ -691,16 +1017,17 @@ public final class PixelImageF extends ImageF {
 	public void filmRender(final float splatScale) {
 		final ColorSpaceF colorSpace = ColorSpaceF.getDefault();
 		
-		for(final PixelF pixel : this.pixels) {
-			Color3F colorRGB = colorSpace.convertXYZToRGB(pixel.getColorXYZ());
-			
-			if(!Floats.isZero(pixel.getFilterWeightSum())) {
-				colorRGB = Color3F.multiplyAndSaturateNegative(colorRGB, 1.0F / pixel.getFilterWeightSum());
-			}
-			
-			colorRGB = colorSpace.redoGammaCorrection(Color3F.add(colorRGB, Color3F.multiply(colorSpace.convertXYZToRGB(pixel.getSplatXYZ()), splatScale)));
+		final float[] colorRGBAs = this.colorRGBAs;
+		final float[] matrix = colorSpace.getMatrixXYZToRGB();
+		
+		final int resolution = getResolution();
+		
+		for(int i = 0; i < resolution; i++) {
+			doFilmGetColorRGBA(i, splatScale, matrix, colorRGBAs, i * 4);
 			
-			pixel.setColorRGB(colorRGB);
+			colorRGBAs[i * 4 + 0] = colorSpace.redoGammaCorrection(colorRGBAs[i * 4 + 0]);
+			colorRGBAs[i * 4 + 1] = colorSpace.redoGammaCorrection(colorRGBAs[i * 4 + 1]);
+			colorRGBAs[i * 4 + 2] = colorSpace.redoGammaCorrection(colorRGBAs[i * 4 + 2]);
 		}
 	}
 	
@@ -719,7 +1046,13 @@ public final class PixelImageF extends ImageF {
 		ParameterArguments.requireRange(indexA, 0, getResolution() - 1, "indexA");
 		ParameterArguments.requireRange(indexB, 0, getResolution() - 1, "indexB");
 		
-		PixelF.swap(this.pixels[indexA], this.pixels[indexB]);
+		doSwap(this.colorRGBAs, indexA * 4, indexB * 4, 4);
+		doSwap(this.colorXYZs, indexA * 3, indexB * 3, 3);
+		doSwap(this.filterWeightSums, indexA, indexB, 1);
+		doSwap(this.sampleLuminanceMeans, indexA, indexB, 1);
+		doSwap(this.sampleLuminanceSquaredDeviations, indexA, indexB, 1);
+		doSwap(this.splatXYZs, indexA * 3, indexB * 3, 3);
+		doSwap(this.sampleCounts, indexA, indexB);
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -815,6 +1148,45 @@ public final class PixelImageF extends ImageF {
 		return pixelImageC;
 	}
 	
+	/**
+	 * Returns a new {@code PixelImageF} instance with a grayscale map of the sample counts in {@code sampleCounts}.
+	 * <p>
+	 * If either {@code resolutionX}, {@code resolutionY} or {@code resolutionX * resolutionY} are less than {@code 0}, or {@code resolutionX * resolutionY != sampleCounts.length}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If {@code sampleCounts} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * The pixel with the most samples is white and a pixel without samples is black. This is useful to inspect where adaptive sampling spends its samples.
+	 * 
+	 * @param resolutionX the resolution of the X-axis
+	 * @param resolutionY the resolution of the Y-axis
+	 * @param sampleCounts an {@code int[]} with the sample count of each pixel
+	 * @return a new {@code PixelImageF} instance with a grayscale map of the sample counts in {@code sampleCounts}
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code resolutionX}, {@code resolutionY} or {@code resolutionX * resolutionY} are less than {@code 0}, or {@code resolutionX * resolutionY != sampleCounts.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sampleCounts} is {@code null}
+	 */
+	public static PixelImageF createSampleDensity(final int resolutionX, final int resolutionY, final int[] sampleCounts) {
+		ParameterArguments.requireRange(resolutionX, 0, Integer.MAX_VALUE, "resolutionX");
+		ParameterArguments.requireRange(resolutionY, 0, Integer.MAX_VALUE, "resolutionY");
+		ParameterArguments.requireRange(resolutionX * resolutionY, 0, Integer.MAX_VALUE, "resolutionX * resolutionY");
+		ParameterArguments.requireExactArrayLength(sampleCounts, resolutionX * resolutionY, "sampleCounts");
+		
+		int sampleCountMaximum = 0;
+		
+		for(final int sampleCount : sampleCounts) {
+			sampleCountMaximum = max(sampleCountMaximum, sampleCount);
+		}
+		
+		final Color4F[] colorRGBAs = new Color4F[sampleCounts.length];
+		
+		for(int i = 0; i < sampleCounts.length; i++) {
+			final float density = sampleCountMaximum > 0 ? (float)(sampleCounts[i]) / sampleCountMaximum : 0.0F;
+			
+			colorRGBAs[i] = new Color4F(density, density, density, 1.0F);
+		}
+		
+		return new PixelImageF(resolutionX, resolutionY, colorRGBAs);
+	}
+	
 	/**
 	 * Creates a {@code PixelImageF} by capturing the contents of the screen, without the mouse cursor.
 	 * <p>
@@ -1034,7 +1406,7 @@ public final class PixelImageF extends ImageF {
 	 */
 //	TODO: Add Unit Tests!
 	public static PixelImageF loadHDR(final File file) {
-		try(final FileInputStream fileInputStream = new FileInputStream(file)) {
+		try(final InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
 			boolean parseResolutionX = false;
 			boolean parseResolutionY = false;
 			
@@ -1044,7 +1416,7 @@ public final class PixelImageF extends ImageF {
 			int last = 0;
 			
 			while(resolutionX == 0 || resolutionY == 0 || last != '\n') {
-				int n = fileInputStream.read();
+				int n = inputStream.read();
 				
 				switch(n) {
 					case 'Y':
@@ -1091,7 +1463,7 @@ public final class PixelImageF extends ImageF {
 			final int[] pixels = new int[resolutionX * resolutionY];
 			
 			if(resolutionX < 8 || resolutionX > 0x7FFF) {
-				doReadFlatRGBE(fileInputStream, 0, resolutionX * resolutionY, pixels);
+				doReadFlatRGBE(inputStream, 0, resolutionX * resolutionY, pixels);
 				
 				return doCreatePixelImageF(pixels, resolutionX, resolutionY);
 			}
@@ -1102,15 +1474,15 @@ public final class PixelImageF extends ImageF {
 			int[] scanlineBuffer = new int[4 * resolutionX];
 			
 			while(numScanlines > 0) {
-				int r = fileInputStream.read();
-				int g = fileInputStream.read();
-				int b = fileInputStream.read();
-				int e = fileInputStream.read();
+				int r = inputStream.read();
+				int g = inputStream.read();
+				int b = inputStream.read();
+				int e = inputStream.read();
 				
 				if(r != 2 || g != 2 || (b & 0x80) != 0) {
 					pixels[rasterPos] = (r << 24) | (g << 16) | (b << 8) | e;
 					
-					doReadFlatRGBE(fileInputStream, rasterPos + 1, resolutionX * numScanlines - 1, pixels);
+					doReadFlatRGBE(inputStream, rasterPos + 1, resolutionX * numScanlines - 1, pixels);
 					
 					return doCreatePixelImageF(pixels, resolutionX, resolutionY);
 				}
@@ -1131,8 +1503,8 @@ public final class PixelImageF extends ImageF {
 					int end = (i + 1) * resolutionX;
 					
 					while(p < end) {
-						int b0 = fileInputStream.read();
-						int b1 = fileInputStream.read();
+						int b0 = inputStream.read();
+						int b1 = inputStream.read();
 						
 						if(b0 > 128) {
 							int count = b0 - 128;
@@ -1159,7 +1531,7 @@ public final class PixelImageF extends ImageF {
 							
 							if(--count > 0) {
 								for(int x = 0; x < count; x++) {
-									scanlineBuffer[p + x] = fileInputStream.read();
+									scanlineBuffer[p + x] = inputStream.read();
 								}
 								
 								p += count;
@@ -1224,6 +1596,8 @@ public final class PixelImageF extends ImageF {
 	
 	/**
 	 * A {@code PixelF} represents a pixel in a {@link PixelImageF} instance.
+	 * <p>
+	 * The {@code PixelF} instances returned by a {@code PixelImageF} instance are copies of its pixels.
 	 * 
 	 * @since 1.0.0
 	 * @author J&#246;rgen Lundgren
@@ -1729,44 +2103,213 @@ public final class PixelImageF extends ImageF {
 	protected void putColorRGBA(final Color4F colorRGBA, final int index) {
 		Objects.requireNonNull(colorRGBA, "colorRGBA == null");
 		
-		if(index >= 0 && index < this.pixels.length) {
-			this.pixels[index].setColorRGBA(colorRGBA);
+		if(index >= 0 && index < getResolution()) {
+			this.colorRGBAs[index * 4 + 0] = colorRGBA.r;
+			this.colorRGBAs[index * 4 + 1] = colorRGBA.g;
+			this.colorRGBAs[index * 4 + 2] = colorRGBA.b;
+			this.colorRGBAs[index * 4 + 3] = colorRGBA.a;
 		}
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private Color4F doGetColorRGBA(final int index) {
+		return new Color4F(this.colorRGBAs[index * 4 + 0], this.colorRGBAs[index * 4 + 1], this.colorRGBAs[index * 4 + 2], this.colorRGBAs[index * 4 + 3]);
+	}
+	
+	private PixelF doCreatePixel(final int index) {
+		final Color3F colorXYZ = new Color3F(this.colorXYZs[index * 3 + 0], this.colorXYZs[index * 3 + 1], this.colorXYZs[index * 3 + 2]);
+		final Color3F splatXYZ = new Color3F(this.splatXYZs[index * 3 + 0], this.splatXYZs[index * 3 + 1], this.splatXYZs[index * 3 + 2]);
+		
+		final Color4F colorRGBA = doGetColorRGBA(index);
+		
+		final float filterWeightSum = this.filterWeightSums[index];
+		
+		final int resolutionX = getResolutionX();
+		
+		final int x = index % resolutionX;
+		final int y = index / resolutionX;
+		
+		return new PixelF(colorRGBA, colorXYZ, splatXYZ, filterWeightSum, index, x, y);
+	}
+	
+	private void doFilmGetColorRGBA(final int index, final float splatScale, final float[] matrix, final float[] array, final int offset) {
+		final float[] colorXYZs = this.colorXYZs;
+		final float[] filterWeightSums = this.filterWeightSums;
+		final float[] splatXYZs = this.splatXYZs;
+		
+		final float colorX = colorXYZs[index * 3 + 0];
+		final float colorY = colorXYZs[index * 3 + 1];
+		final float colorZ = colorXYZs[index * 3 + 2];
+		
+		final float splatX = splatXYZs[index * 3 + 0];
+		final float splatY = splatXYZs[index * 3 + 1];
+		final float splatZ = splatXYZs[index * 3 + 2];
+		
+		final float filterWeightSum = filterWeightSums[index];
+		
+		float colorR = matrix[0] * colorX + matrix[1] * colorY + matrix[2] * colorZ;
+		float colorG = matrix[3] * colorX + matrix[4] * colorY + matrix[5] * colorZ;
+		float colorB = matrix[6] * colorX + matrix[7] * colorY + matrix[8] * colorZ;
+		
+		if(!Floats.isZero(filterWeightSum)) {
+			final float filterWeightSumReciprocal = 1.0F / filterWeightSum;
+			
+			colorR = Floats.max(colorR * filterWeightSumReciprocal, 0.0F);
+			colorG = Floats.max(colorG * filterWeightSumReciprocal, 0.0F);
+			colorB = Floats.max(colorB * filterWeightSumReciprocal, 0.0F);
+		}
+		
+		final float splatR = matrix[0] * splatX + matrix[1] * splatY + matrix[2] * splatZ;
+		final float splatG = matrix[3] * splatX + matrix[4] * splatY + matrix[5] * splatZ;
+		final float splatB = matrix[6] * splatX + matrix[7] * splatY + matrix[8] * splatZ;
+		
+		array[offset + 0] = colorR + splatR * splatScale;
+		array[offset + 1] = colorG + splatG * splatScale;
+		array[offset + 2] = colorB + splatB * splatScale;
+		array[offset + 3] = 1.0F;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
 	private static PixelImageF doCreatePixelImageF(final int[] pixels, final int resolutionX, final int resolutionY) {
 		final PixelImageF pixelImageF = new PixelImageF(resolutionX, resolutionY);
 		
+		final float[] colorRGBAs = pixelImageF.colorRGBAs;
+		
 		for(int i = 0; i < pixels.length; i++) {
 			final int colorRGBE = pixels[i];
 			
 			final float f = EXPONENT[colorRGBE & 0xFF];
 			
-			final float r = f * ((colorRGBE >>> 24) + 0.5F);
-			final float g = f * (((colorRGBE >> 16) & 0xFF) + 0.5F);
-			final float b = f * (((colorRGBE >>  8) & 0xFF) + 0.5F);
-			
-			pixelImageF.setColorRGB(new Color3F(r, g, b), i);
+			colorRGBAs[i * 4 + 0] = f * ((colorRGBE >>> 24) + 0.5F);
+			colorRGBAs[i * 4 + 1] = f * (((colorRGBE >> 16) & 0xFF) + 0.5F);
+			colorRGBAs[i * 4 + 2] = f * (((colorRGBE >>  8) & 0xFF) + 0.5F);
 		}
 		
 		return pixelImageF;
 	}
 	
-	private static void doReadFlatRGBE(final FileInputStream fileInputStream, final int rasterPos, final int numPixels, final int[] pixels) throws IOException {
+	private static boolean[] doDilate(final boolean[] mask, final int lineCount, final int lineLength, final int lineStride, final int elementStride, final int radius) {
+		final boolean[] result = new boolean[mask.length];
+		
+		for(int line = 0; line < lineCount; line++) {
+			final int offset = line * lineStride;
+			
+//			The number of set elements in the window [i - radius, i + radius] is updated as the window slides along the line:
+			int count = 0;
+			
+			for(int i = 0; i < min(radius, lineLength); i++) {
+				count += mask[offset + i * elementStride] ? 1 : 0;
+			}
+			
+			for(int i = 0; i < lineLength; i++) {
+				if(i + radius < lineLength && mask[offset + (i + radius) * elementStride]) {
+					count++;
+				}
+				
+				result[offset + i * elementStride] = count > 0;
+				
+				if(i - radius >= 0 && mask[offset + (i - radius) * elementStride]) {
+					count--;
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	private static float[] doCreateColorRGBAs(final BufferedImage bufferedImage) {
+		final BufferedImage compatibleBufferedImage = BufferedImages.getCompatibleBufferedImage(bufferedImage);
+		
+		final int resolutionX = compatibleBufferedImage.getWidth();
+		final int resolutionY = compatibleBufferedImage.getHeight();
+		
+		final float[] colorRGBAs = new float[resolutionX * resolutionY * 4];
+		
+		for(int i = 0; i < resolutionX * resolutionY; i++) {
+			final Color4F colorRGBA = Color4F.unpack(compatibleBufferedImage.getRGB(i % resolutionX, i / resolutionX));
+			
+			colorRGBAs[i * 4 + 0] = colorRGBA.r;
+			colorRGBAs[i * 4 + 1] = colorRGBA.g;
+			colorRGBAs[i * 4 + 2] = colorRGBA.b;
+			colorRGBAs[i * 4 + 3] = colorRGBA.a;
+		}
+		
+		return colorRGBAs;
+	}
+	
+	private static float[] doCreateColorRGBAs(final int resolutionX, final int resolutionY, final Color4F colorRGBA) {
+		ParameterArguments.requireRange(resolutionX, 0, Integer.MAX_VALUE, "resolutionX");
+		ParameterArguments.requireRange(resolutionY, 0, Integer.MAX_VALUE, "resolutionY");
+		ParameterArguments.requireRange(resolutionX * resolutionY, 0, Integer.MAX_VALUE, "resolutionX * resolutionY");
+		
+		Objects.requireNonNull(colorRGBA, "colorRGBA == null");
+		
+		final float[] colorRGBAs = new float[resolutionX * resolutionY * 4];
+		
+		for(int i = 0; i < resolutionX * resolutionY; i++) {
+			colorRGBAs[i * 4 + 0] = colorRGBA.r;
+			colorRGBAs[i * 4 + 1] = colorRGBA.g;
+			colorRGBAs[i * 4 + 2] = colorRGBA.b;
+			colorRGBAs[i * 4 + 3] = colorRGBA.a;
+		}
+		
+		return colorRGBAs;
+	}
+	
+	private static float[] doCreateColorRGBAs(final int resolutionX, final int resolutionY, final Color4F[] colorRGBAs) {
+		ParameterArguments.requireRange(resolutionX, 0, Integer.MAX_VALUE, "resolutionX");
+		ParameterArguments.requireRange(resolutionY, 0, Integer.MAX_VALUE, "resolutionY");
+		ParameterArguments.requireRange(resolutionX * resolutionY, 0, Integer.MAX_VALUE, "resolutionX * resolutionY");
+		
+		Objects.requireNonNull(colorRGBAs, "colorRGBAs == null");
+		
+		ParameterArguments.requireExact(colorRGBAs.length, resolutionX * resolutionY, "colorRGBAs.length");
+		
+		final float[] newColorRGBAs = new float[resolutionX * resolutionY * 4];
+		
+		for(int i = 0; i < resolutionX * resolutionY; i++) {
+			final Color4F colorRGBA = Objects.requireNonNull(colorRGBAs[i], String.format("colorRGBAs[%d] == null", Integer.valueOf(i)));
+			
+			newColorRGBAs[i * 4 + 0] = colorRGBA.r;
+			newColorRGBAs[i * 4 + 1] = colorRGBA.g;
+			newColorRGBAs[i * 4 + 2] = colorRGBA.b;
+			newColorRGBAs[i * 4 + 3] = colorRGBA.a;
+		}
+		
+		return newColorRGBAs;
+	}
+	
+	private static void doReadFlatRGBE(final InputStream inputStream, final int rasterPos, final int numPixels, final int[] pixels) throws IOException {
 		int currentNumPixels = numPixels;
 		int currentRasterPos = rasterPos;
 		
 		while(currentNumPixels-- > 0) {
-			int r = fileInputStream.read();
-			int g = fileInputStream.read();
-			int b = fileInputStream.read();
-			int e = fileInputStream.read();
+			int r = inputStream.read();
+			int g = inputStream.read();
+			int b = inputStream.read();
+			int e = inputStream.read();
 			
 			pixels[currentRasterPos] = (r << 24) | (g << 16) | (b << 8) | e;
 			
 			currentRasterPos++;
 		}
 	}
+	
+	private static void doSwap(final int[] array, final int indexA, final int indexB) {
+		final int value = array[indexA];
+		
+		array[indexA] = array[indexB];
+		array[indexB] = value;
+	}
+	
+	private static void doSwap(final float[] array, final int offsetA, final int offsetB, final int length) {
+		for(int i = 0; i < length; i++) {
+			final float value = array[offsetA + i];
+			
+			array[offsetA + i] = array[offsetB + i];
+			array[offsetB + i] = value;
+		}
+	}
 }
\ No newline at end of file
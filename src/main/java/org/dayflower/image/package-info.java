@@ -8,6 +8,7 @@
  * <ul>
  * <li>{@link org.dayflower.image.Image Image} represents an image.</li>
  * <li>{@link org.dayflower.image.ImageF ImageF} is an extension of {@code Image} that adds additional methods that operates on {@code float}-based data types.</li>
+ * <li>{@link org.dayflower.image.HDRImageIO HDRImageIO} reads and writes high dynamic range images in the PFM and OpenEXR formats.</li>
  * <li>{@link org.dayflower.image.PixelOperation PixelOperation} provides a set of operations to perform on a pixel when it is outside the boundaries of an image.</li>
  * </ul>
  * <p>
@@ -16,8 +17,8 @@
  * <li>{@link org.dayflower.image.ByteImageF ByteImageF} is an {@code ImageF} implementation that stores individual pixels as four {@code byte} values in a {@code byte[]}.</li>
  * <li>{@link org.dayflower.image.FloatImageF FloatImageF} is an {@code ImageF} implementation that stores individual pixels as four {@code float} values in a {@code float[]}.</li>
  * <li>{@link org.dayflower.image.IntImageF IntImageF} is an {@code ImageF} implementation that stores individual pixels as a packed {@code int} value in an {@code int[]}.</li>
- * <li>{@link org.dayflower.image.PixelImageF PixelImageF} is an {@code ImageF} implementation that stores individual pixels as {@code PixelF} instances.</li>
- * <li>{@link org.dayflower.image.PixelImageF.PixelF PixelImageF.PixelF} represents a pixel in a {@code PixelImageF} instance.</li>
+ * <li>{@link org.dayflower.image.PixelImageF PixelImageF} is an {@code ImageF} implementation that stores individual pixels and a film in {@code float[]} channels.</li>
+ * <li>{@link org.dayflower.image.PixelImageF.PixelF PixelImageF.PixelF} represents a copy of a pixel in a {@code PixelImageF} instance.</li>
  * </ul>
  * <p>
  * The following list contains information about convolution kernels in this API.
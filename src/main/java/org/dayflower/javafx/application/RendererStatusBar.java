@@ -25,6 +25,7 @@ import org.dayflower.javafx.scene.layout.Regions;
 import org.dayflower.renderer.ProgressiveImageOrderRenderer;
 import org.dayflower.renderer.Renderer;
 import org.dayflower.renderer.RendererObserver;
+import org.dayflower.renderer.gpu.AbstractGPURenderer;
 
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -39,9 +40,11 @@ import javafx.scene.layout.HBox;
 import javafx.scene.paint.Color;
 
 final class RendererStatusBar extends HBox {
+	private final Label labelExecutionDevice;
 	private final Label labelRenderPass;
 	private final Label labelRenderTime;
 	private final Label labelRenderTimePerPass;
+	private final Label labelUploadPerPass;
 	private final ProgressBar progressBar;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -49,14 +52,22 @@ final class RendererStatusBar extends HBox {
 	public RendererStatusBar(final Renderer renderer) {
 		Objects.requireNonNull(renderer, "renderer == null");
 		
+		this.labelExecutionDevice = new Label("Device: Unknown");
 		this.labelRenderPass = new Label("Render Pass: 0");
 		this.labelRenderTime = new Label("Render Time: 00:00:00");
 		this.labelRenderTimePerPass = new Label("Render Time Per Pass: 0");
+		this.labelUploadPerPass = new Label("Upload Per Pass: 0 B");
 		this.progressBar = new ProgressBar(0.0D);
 		
 		getChildren().add(this.labelRenderPass);
 		getChildren().add(this.labelRenderTime);
 		getChildren().add(this.labelRenderTimePerPass);
+		
+		if(renderer instanceof AbstractGPURenderer) {
+			getChildren().add(this.labelUploadPerPass);
+			getChildren().add(this.labelExecutionDevice);
+		}
+		
 		getChildren().add(Regions.createRegionHBoxHorizontalGrowAlways());
 		getChildren().add(this.progressBar);
 		
@@ -81,6 +92,14 @@ final class RendererStatusBar extends HBox {
 		}
 	}
 	
+	public void setExecutionDevice(final String executionDevice) {
+		if(Platform.isFxApplicationThread()) {
+			this.labelExecutionDevice.setText("Device: " + executionDevice);
+		} else {
+			Platform.runLater(() -> setExecutionDevice(executionDevice));
+		}
+	}
+	
 	public void setProgress(final int renderPass, final String renderTime, final double percent) {
 		if(Platform.isFxApplicationThread()) {
 			this.labelRenderPass.setText("Render Pass: " + renderPass);
@@ -92,6 +111,14 @@ final class RendererStatusBar extends HBox {
 		}
 	}
 	
+	public void setUploadPerPass(final long uploadPerPass) {
+		if(Platform.isFxApplicationThread()) {
+			this.labelUploadPerPass.setText("Upload Per Pass: " + uploadPerPass + " B");
+		} else {
+			Platform.runLater(() -> setUploadPerPass(uploadPerPass));
+		}
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private final class RendererObserverImpl implements RendererObserver {
@@ -113,6 +140,13 @@ final class RendererStatusBar extends HBox {
 				
 				setComplete(progressiveImageOrderRenderer.getRenderPass(), progressiveImageOrderRenderer.getTimer().getTime(), elapsedTimeMillis);
 			}
+			
+			if(renderer instanceof AbstractGPURenderer) {
+				final AbstractGPURenderer abstractGPURenderer = AbstractGPURenderer.class.cast(renderer);
+				
+				setExecutionDevice(abstractGPURenderer.getExecutionDevice().map(executionDevice -> executionDevice.getShortDescription()).orElse("Unknown"));
+				setUploadPerPass(abstractGPURenderer.getUploadByteCountRenderPass());
+			}
 		}
 		
 		@Override
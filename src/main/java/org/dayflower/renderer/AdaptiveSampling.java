@@ -0,0 +1,107 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.renderer;
+
+import org.dayflower.image.ImageF;
+
+/**
+ * An {@code AdaptiveSampling} is a {@link ProgressiveImageOrderRenderer} that can spend its samples where the estimated error of the image is high.
+ * <p>
+ * The error of each pixel is the relative standard error of the mean luminance of its samples. Once the minimum number of render passes has been performed, pixels with an error at or below the error threshold are skipped. When all pixels are
+ * converged, or the render time limit has been reached, the {@code render()} methods return {@code false} without rendering.
+ * <p>
+ * Adaptive sampling is disabled by default. It is enabled by setting an error threshold greater than {@code 0.0F}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public interface AdaptiveSampling extends ProgressiveImageOrderRenderer {
+	/**
+	 * Returns a new {@link ImageF} instance with a grayscale map of the number of samples per pixel.
+	 * <p>
+	 * The pixel with the most samples is white and a pixel without samples is black.
+	 * 
+	 * @return a new {@code ImageF} instance with a grayscale map of the number of samples per pixel
+	 */
+	ImageF getSampleDensityImage();
+	
+	/**
+	 * Returns {@code true} if, and only if, all pixels have converged to the error threshold, {@code false} otherwise.
+	 * <p>
+	 * This method always returns {@code false} if adaptive sampling is disabled.
+	 * 
+	 * @return {@code true} if, and only if, all pixels have converged to the error threshold, {@code false} otherwise
+	 */
+	boolean isConverged();
+	
+	/**
+	 * Returns the error threshold used by adaptive sampling, or {@code 0.0F} if adaptive sampling is disabled.
+	 * 
+	 * @return the error threshold used by adaptive sampling, or {@code 0.0F} if adaptive sampling is disabled
+	 */
+	float getAdaptiveSamplingErrorThreshold();
+	
+	/**
+	 * Returns the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels.
+	 * 
+	 * @return the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels
+	 */
+	int getAdaptiveSamplingMinimumRenderPasses();
+	
+	/**
+	 * Returns the render time limit in milliseconds, or {@code 0L} if there is no limit.
+	 * 
+	 * @return the render time limit in milliseconds, or {@code 0L} if there is no limit
+	 */
+	long getRenderTimeLimit();
+	
+	/**
+	 * Sets the error threshold used by adaptive sampling to {@code adaptiveSamplingErrorThreshold}.
+	 * <p>
+	 * If {@code adaptiveSamplingErrorThreshold} is less than {@code 0.0F} or is not finite, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * An error threshold of {@code 0.0F} disables adaptive sampling.
+	 * 
+	 * @param adaptiveSamplingErrorThreshold the error threshold used by adaptive sampling
+	 * @throws IllegalArgumentException thrown if, and only if, {@code adaptiveSamplingErrorThreshold} is less than {@code 0.0F} or is not finite
+	 */
+	void setAdaptiveSamplingErrorThreshold(final float adaptiveSamplingErrorThreshold);
+	
+	/**
+	 * Sets the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels to {@code adaptiveSamplingMinimumRenderPasses}.
+	 * <p>
+	 * If {@code adaptiveSamplingMinimumRenderPasses} is less than {@code 2}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param adaptiveSamplingMinimumRenderPasses the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels
+	 * @throws IllegalArgumentException thrown if, and only if, {@code adaptiveSamplingMinimumRenderPasses} is less than {@code 2}
+	 */
+	void setAdaptiveSamplingMinimumRenderPasses(final int adaptiveSamplingMinimumRenderPasses);
+	
+	/**
+	 * Sets the render time limit in milliseconds to {@code renderTimeLimit}.
+	 * <p>
+	 * If {@code renderTimeLimit} is less than {@code 0L}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The render time is measured from the first render pass after the image was cleared. A render time limit of {@code 0L} means there is no limit.
+	 * 
+	 * @param renderTimeLimit the render time limit in milliseconds
+	 * @throws IllegalArgumentException thrown if, and only if, {@code renderTimeLimit} is less than {@code 0L}
+	 */
+	void setRenderTimeLimit(final long renderTimeLimit);
+}
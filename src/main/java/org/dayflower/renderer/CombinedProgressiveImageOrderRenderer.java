@@ -21,12 +21,12 @@ package org.dayflower.renderer;
 /**
  * A {@code CombinedProgressiveImageOrderRenderer} is a {@link ProgressiveImageOrderRenderer} that performs progressive image order rendering using different algorithms.
  * <p>
- * This interface also extends {@link AmbientOcclusion} and {@link PathTracer} for configuration purposes.
+ * This interface also extends {@link AdaptiveSampling}, {@link AmbientOcclusion} and {@link PathTracer} for configuration purposes.
  * 
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
  */
-public interface CombinedProgressiveImageOrderRenderer extends AmbientOcclusion, PathTracer, ProgressiveImageOrderRenderer {
+public interface CombinedProgressiveImageOrderRenderer extends AdaptiveSampling, AmbientOcclusion, PathTracer, ProgressiveImageOrderRenderer {
 	/**
 	 * Returns the {@link RenderingAlgorithm} instance associated with this {@code CombinedProgressiveImageOrderRenderer} instance.
 	 * 
@@ -20,19 +20,22 @@ package org.dayflower.renderer.cpu;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.dayflower.color.Color3F;
 import org.dayflower.color.ColorSpaceF;
-import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.RayDifferential3F;
 import org.dayflower.image.ImageF;
 import org.dayflower.image.PixelImageF;
+import org.dayflower.renderer.AdaptiveSampling;
 import org.dayflower.renderer.CombinedProgressiveImageOrderRenderer;
 import org.dayflower.renderer.RendererObserver;
 import org.dayflower.renderer.RenderingAlgorithm;
-import org.dayflower.sampler.Sample2F;
 import org.dayflower.sampler.Sampler;
 import org.dayflower.scene.Camera;
 import org.dayflower.scene.Scene;
@@ -42,24 +45,39 @@ import org.macroing.java.util.Timer;
 
 /**
  * An {@code AbstractCPURenderer} is an abstract implementation of {@link CombinedProgressiveImageOrderRenderer} that takes care of most aspects.
+ * <p>
+ * Each render pass splits the {@link ImageF} instance into square tiles that are rendered in parallel by a {@code ForkJoinPool} using work stealing. Every tile collects its samples locally and adds them to the film when it is complete, so filter splats that
+ * cross tile borders are accumulated correctly.
+ * <p>
+ * Every tile uses its own copy of the {@link Sampler} instance associated with the {@link Scene} instance. The copy is prepared for each pixel using {@link Sampler#setPixelSample(int, int, int)} with the current render pass as sample index.
+ * <p>
+ * The luminance of every sample is added to the statistics of its pixel using {@link PixelImageF#filmAddSample(int, int, float)}. If adaptive sampling is enabled, as described by {@link AdaptiveSampling}, the pixels that are not in the
+ * mask returned by {@link PixelImageF#filmComputeSamplingMask(float)} are skipped.
  * 
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
  */
 public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrderRenderer {
 	private final AtomicBoolean isClearing;
+	private final AtomicBoolean isConverged;
 	private final AtomicBoolean isPreviewMode;
 	private final AtomicBoolean isRendering;
 	private final AtomicInteger renderPass;
+	private final AtomicLong renderTimeMillis;
+	private final AtomicReference<ForkJoinPool> forkJoinPool;
 	private final AtomicReference<ImageF> image;
 	private final AtomicReference<RendererObserver> rendererObserver;
 	private final AtomicReference<RenderingAlgorithm> renderingAlgorithm;
 	private final AtomicReference<Scene> scene;
 	private final Timer timer;
+	private float adaptiveSamplingErrorThreshold;
 	private float maximumDistance;
+	private int adaptiveSamplingMinimumRenderPasses;
 	private int maximumBounce;
 	private int minimumBounceRussianRoulette;
 	private int samples;
+	private int tileSize;
+	private long renderTimeLimit;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -73,18 +91,25 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 	 */
 	protected AbstractCPURenderer(final RendererObserver rendererObserver) {
 		this.isClearing = new AtomicBoolean();
+		this.isConverged = new AtomicBoolean();
 		this.isPreviewMode = new AtomicBoolean();
 		this.isRendering = new AtomicBoolean();
 		this.renderPass = new AtomicInteger();
+		this.renderTimeMillis = new AtomicLong();
+		this.forkJoinPool = new AtomicReference<>();
 		this.image = new AtomicReference<>(new PixelImageF(800, 800));
 		this.rendererObserver = new AtomicReference<>(Objects.requireNonNull(rendererObserver, "rendererObserver == null"));
 		this.renderingAlgorithm = new AtomicReference<>(RenderingAlgorithm.PATH_TRACING);
 		this.scene = new AtomicReference<>(new Scene());
 		this.timer = new Timer();
+		this.adaptiveSamplingErrorThreshold = 0.0F;
 		this.maximumDistance = 20.0F;
+		this.adaptiveSamplingMinimumRenderPasses = 16;
 		this.maximumBounce = 20;
 		this.minimumBounceRussianRoulette = 5;
 		this.samples = 10;
+		this.tileSize = 32;
+		this.renderTimeLimit = 0L;
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -99,6 +124,33 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 		return this.image.get();
 	}
 	
+	/**
+	 * Returns a new {@link ImageF} instance with a grayscale map of the number of samples per pixel.
+	 * <p>
+	 * The pixel with the most samples is white and a pixel without samples is black.
+	 * 
+	 * @return a new {@code ImageF} instance with a grayscale map of the number of samples per pixel
+	 */
+	@Override
+	public final ImageF getSampleDensityImage() {
+		final ImageF image = getImage();
+		
+		final int resolutionX = image.getResolutionX();
+		final int resolutionY = image.getResolutionY();
+		
+		final int[] sampleCounts = new int[resolutionX * resolutionY];
+		
+		if(image instanceof PixelImageF) {
+			final PixelImageF pixelImage = PixelImageF.class.cast(image);
+			
+			for(int i = 0; i < sampleCounts.length; i++) {
+				sampleCounts[i] = pixelImage.filmGetSampleCount(i);
+			}
+		}
+		
+		return PixelImageF.createSampleDensity(resolutionX, resolutionY, sampleCounts);
+	}
+	
 	/**
 	 * Returns the {@link RendererObserver} instance associated with this {@code AbstractCPURenderer} instance.
 	 * 
@@ -149,6 +201,18 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 		return this.isClearing.get();
 	}
 	
+	/**
+	 * Returns {@code true} if, and only if, all pixels have converged to the error threshold, {@code false} otherwise.
+	 * <p>
+	 * This method always returns {@code false} if adaptive sampling is disabled.
+	 * 
+	 * @return {@code true} if, and only if, all pixels have converged to the error threshold, {@code false} otherwise
+	 */
+	@Override
+	public final boolean isConverged() {
+		return this.isConverged.get();
+	}
+	
 	/**
 	 * Returns the preview mode state associated with this {@code AbstractCPURenderer} instance.
 	 * 
@@ -163,6 +227,8 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 	 * Renders the associated {@link Scene} instance to the associated {@link ImageF} instance and, optionally, updates the associated {@link RendererObserver} instance.
 	 * <p>
 	 * Returns {@code true} if, and only if, rendering was performed, {@code false} otherwise.
+	 * <p>
+	 * Rendering is not performed if all pixels have converged or the render time limit has been reached.
 	 * 
 	 * @return {@code true} if, and only if, rendering was performed, {@code false} otherwise
 	 */
@@ -182,8 +248,6 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 		
 		final PixelImageF pixelImage = PixelImageF.class.cast(image);
 		
-		final Sampler sampler = getScene().getSampler();
-		
 		final Scene scene = getScene();
 		
 		final int resolutionX = image.getResolutionX();
@@ -204,45 +268,35 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 			timer.restart();
 		}
 		
+		if(this.renderPass.get() == 0) {
+			this.renderTimeMillis.set(System.currentTimeMillis());
+		}
+		
+		final boolean[] isSampling = doCreateSamplingMask(pixelImage, getRenderPass() + 1);
+		
+		if(this.isConverged.get() || doIsRenderTimeLimitReached()) {
+			this.isRendering.set(false);
+			
+			return false;
+		}
+		
 		this.renderPass.incrementAndGet();
 		
 		rendererObserver.onRenderPassProgress(this, getRenderPass(), 0.0D);
 		
 		final long currentTimeMillis = System.currentTimeMillis();
 		
-		final ColorSpaceF colorSpace = ColorSpaceF.getDefault();
+		final int tileSize = this.tileSize;
+		final int tileCountX = (resolutionX + tileSize - 1) / tileSize;
+		final int tileCountY = (resolutionY + tileSize - 1) / tileSize;
+		final int tileCount = tileCountX * tileCountY;
 		
-		for(int y = 0; y < resolutionY; y++) {
-			for(int x = 0; x < resolutionX; x++) {
-				final Sample2F sample = sampler.sample2();
-				
-				final float imageX = x;
-				final float imageY = y;
-				final float pixelX = sample.getX();
-				final float pixelY = sample.getY();
-				
-				final Optional<Ray3F> optionalRay = camera.createPrimaryRay(imageX, imageY, pixelX, pixelY);
-				
-				if(optionalRay.isPresent()) {
-					final Ray3F ray = optionalRay.get();
-					
-					final Color3F colorRGB = radiance(ray);
-					
-					if(!colorRGB.hasInfinites() && !colorRGB.hasNaNs() && colorRGB.relativeLuminance() >= -1.0e-5F) {
-						final Color3F colorXYZ = colorSpace.convertRGBToXYZ(colorRGB);
-						
-						pixelImage.filmAddColorXYZ(imageX + pixelX, imageY + pixelY, colorXYZ);
-					}
-				}
-			}
-			
-			final double percent = ((y + 1.0D) * resolutionX) / (resolutionX * resolutionY);
-			
-			rendererObserver.onRenderPassProgress(this, getRenderPass(), percent);
-			
-			if(!this.isRendering.get()) {
-				return false;
-			}
+		final RenderPass renderPass = new RenderPass(camera, pixelImage, rendererObserver, scene.getSampler(), isSampling, getRenderPass(), tileCount, tileCountX, tileSize);
+		
+		doGetForkJoinPool().invoke(new TileRenderAction(renderPass, 0, tileCount));
+		
+		if(!this.isRendering.get()) {
+			return false;
 		}
 		
 		final long elapsedTimeMillis = System.currentTimeMillis() - currentTimeMillis;
@@ -304,6 +358,16 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 		return this.isRendering.compareAndSet(true, false);
 	}
 	
+	/**
+	 * Returns the error threshold used by adaptive sampling, or {@code 0.0F} if adaptive sampling is disabled.
+	 * 
+	 * @return the error threshold used by adaptive sampling, or {@code 0.0F} if adaptive sampling is disabled
+	 */
+	@Override
+	public final float getAdaptiveSamplingErrorThreshold() {
+		return this.adaptiveSamplingErrorThreshold;
+	}
+	
 	/**
 	 * Returns the maximum distance.
 	 * 
@@ -314,6 +378,26 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 		return this.maximumDistance;
 	}
 	
+	/**
+	 * Returns the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels.
+	 * 
+	 * @return the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels
+	 */
+	@Override
+	public final int getAdaptiveSamplingMinimumRenderPasses() {
+		return this.adaptiveSamplingMinimumRenderPasses;
+	}
+	
+	/**
+	 * Returns the render time limit in milliseconds, or {@code 0L} if there is no limit.
+	 * 
+	 * @return the render time limit in milliseconds, or {@code 0L} if there is no limit
+	 */
+	@Override
+	public final long getRenderTimeLimit() {
+		return this.renderTimeLimit;
+	}
+	
 	/**
 	 * Returns the maximum bounce.
 	 * 
@@ -354,6 +438,15 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 		return this.samples;
 	}
 	
+	/**
+	 * Returns the width and height of the tiles that are rendered in parallel.
+	 * 
+	 * @return the width and height of the tiles that are rendered in parallel
+	 */
+	public final int getTileSize() {
+		return this.tileSize;
+	}
+	
 	/**
 	 * Call this method to clear the {@link ImageF} in the next {@link #render()} call.
 	 */
@@ -362,12 +455,44 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 		this.isClearing.set(true);
 	}
 	
+	/**
+	 * Sets the error threshold used by adaptive sampling to {@code adaptiveSamplingErrorThreshold}.
+	 * <p>
+	 * If {@code adaptiveSamplingErrorThreshold} is less than {@code 0.0F} or is not finite, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * An error threshold of {@code 0.0F} disables adaptive sampling.
+	 * 
+	 * @param adaptiveSamplingErrorThreshold the error threshold used by adaptive sampling
+	 * @throws IllegalArgumentException thrown if, and only if, {@code adaptiveSamplingErrorThreshold} is less than {@code 0.0F} or is not finite
+	 */
+	@Override
+	public final void setAdaptiveSamplingErrorThreshold(final float adaptiveSamplingErrorThreshold) {
+		this.adaptiveSamplingErrorThreshold = ParameterArguments.requireRange(ParameterArguments.requireFiniteValue(adaptiveSamplingErrorThreshold, "adaptiveSamplingErrorThreshold"), 0.0F, Float.MAX_VALUE, "adaptiveSamplingErrorThreshold");
+	}
+	
+	/**
+	 * Sets the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels to {@code adaptiveSamplingMinimumRenderPasses}.
+	 * <p>
+	 * If {@code adaptiveSamplingMinimumRenderPasses} is less than {@code 2}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param adaptiveSamplingMinimumRenderPasses the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels
+	 * @throws IllegalArgumentException thrown if, and only if, {@code adaptiveSamplingMinimumRenderPasses} is less than {@code 2}
+	 */
+	@Override
+	public final void setAdaptiveSamplingMinimumRenderPasses(final int adaptiveSamplingMinimumRenderPasses) {
+		this.adaptiveSamplingMinimumRenderPasses = ParameterArguments.requireRange(adaptiveSamplingMinimumRenderPasses, 2, Integer.MAX_VALUE, "adaptiveSamplingMinimumRenderPasses");
+	}
+	
 	/**
 	 * Disposes of any resources created by this {@code AbstractCPURenderer} instance.
 	 */
 	@Override
 	public final void dispose() {
-//		Do nothing!
+		final ForkJoinPool forkJoinPool = this.forkJoinPool.getAndSet(null);
+		
+		if(forkJoinPool != null) {
+			forkJoinPool.shutdown();
+		}
 	}
 	
 	/**
@@ -464,6 +589,25 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 		this.renderingAlgorithm.set(Objects.requireNonNull(renderingAlgorithm, "renderingAlgorithm == null"));
 	}
 	
+	/**
+	 * Sets the render time limit in milliseconds to {@code renderTimeLimit}.
+	 * <p>
+	 * If {@code renderTimeLimit} is less than {@code 0L}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The render time is measured from the first render pass after the image was cleared. A render time limit of {@code 0L} means there is no limit.
+	 * 
+	 * @param renderTimeLimit the render time limit in milliseconds
+	 * @throws IllegalArgumentException thrown if, and only if, {@code renderTimeLimit} is less than {@code 0L}
+	 */
+	@Override
+	public final void setRenderTimeLimit(final long renderTimeLimit) {
+		if(renderTimeLimit < 0L) {
+			throw new IllegalArgumentException(String.format("renderTimeLimit < 0: renderTimeLimit == %d", Long.valueOf(renderTimeLimit)));
+		}
+		
+		this.renderTimeLimit = renderTimeLimit;
+	}
+	
 	/**
 	 * Sets the samples to use per render pass to {@code samples}.
 	 * 
@@ -474,6 +618,18 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 		this.samples = samples;
 	}
 	
+	/**
+	 * Sets the width and height of the tiles that are rendered in parallel to {@code tileSize}.
+	 * <p>
+	 * If {@code tileSize} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param tileSize the width and height of the tiles that are rendered in parallel
+	 * @throws IllegalArgumentException thrown if, and only if, {@code tileSize} is less than {@code 1}
+	 */
+	public final void setTileSize(final int tileSize) {
+		this.tileSize = ParameterArguments.requireRange(tileSize, 1, Integer.MAX_VALUE, "tileSize");
+	}
+	
 	/**
 	 * Sets the {@link Scene} instance associated with this {@code AbstractCPURenderer} instance to {@code scene}.
 	 * <p>
@@ -498,13 +654,269 @@ public abstract class AbstractCPURenderer implements CombinedProgressiveImageOrd
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
-	 * Returns a {@link Color3F} instance with the radiance along {@code ray}.
+	 * Renders the pixels from {@code minimumX} and {@code minimumY} (inclusive) to {@code maximumX} and {@code maximumY} (exclusive) for render pass {@code renderPass}.
 	 * <p>
-	 * If {@code ray} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * Returns the number of samples that were added to {@code samples}, or {@code -1} if {@code isCancellable} is {@code true} and rendering was shut down.
+	 * <p>
+	 * Every valid sample is added to {@code samples} as five values, the image X and Y coordinates followed by the X, Y and Z components of the XYZ color. The luminance that
+	 * should be added to the statistics of each pixel, in row-major order within the tile, is stored in {@code luminances}. If no sample should be added for a pixel, {@code Float.NaN} is stored.
+	 * <p>
+	 * This method is used both by the tiles of a render pass and by {@link RenderNode}, so that a tile rendered on another machine gets exactly the same samples.
 	 * 
-	 * @param ray a {@link Ray3F} instance
-	 * @return a {@code Color3F} instance with the radiance along {@code ray}
-	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
+	 * @param camera the {@link Camera} instance to use
+	 * @param sampler the {@link Sampler} instance to use, which is owned by the caller
+	 * @param isSampling the sampling mask of the image, or {@code null} if all pixels should be sampled
+	 * @param renderPass the render pass, starting at {@code 1}
+	 * @param resolutionX the resolution of the image on the X-axis
+	 * @param minimumX the minimum X-coordinate of the tile
+	 * @param minimumY the minimum Y-coordinate of the tile
+	 * @param maximumX the maximum X-coordinate of the tile
+	 * @param maximumY the maximum Y-coordinate of the tile
+	 * @param samples a {@code float[]} with room for five values per pixel of the tile
+	 * @param luminances a {@code float[]} with room for one value per pixel of the tile
+	 * @param isCancellable {@code true} if, and only if, this method should return {@code -1} when rendering is shut down
+	 * @return the number of samples that were added to {@code samples}, or {@code -1} if {@code isCancellable} is {@code true} and rendering was shut down
 	 */
-	protected abstract Color3F radiance(final Ray3F ray);
-}
\ No newline at end of file
+	final int renderTile(final Camera camera, final Sampler sampler, final boolean[] isSampling, final int renderPass, final int resolutionX, final int minimumX, final int minimumY, final int maximumX, final int maximumY, final float[] samples, final float[] luminances, final boolean isCancellable) {
+		final ColorSpaceF colorSpace = ColorSpaceF.getDefault();
+		
+		final float[] sample = new float[2];
+		
+		int sampleCount = 0;
+		
+		for(int y = minimumY, i = 0; y < maximumY; y++) {
+			if(isCancellable && !this.isRendering.get()) {
+				return -1;
+			}
+			
+			for(int x = minimumX; x < maximumX; x++, i++) {
+				luminances[i] = Float.NaN;
+				
+				if(isSampling != null && !isSampling[y * resolutionX + x]) {
+					continue;
+				}
+				
+				sampler.setPixelSample(x, y, renderPass - 1);
+				sampler.sample2(sample, 0);
+				
+				final float imageX = x;
+				final float imageY = y;
+				final float pixelX = sample[0];
+				final float pixelY = sample[1];
+				
+				final Optional<RayDifferential3F> optionalRayDifferential = camera.createPrimaryRayDifferential(imageX, imageY, pixelX, pixelY);
+				
+				if(optionalRayDifferential.isPresent()) {
+					final RayDifferential3F rayDifferential = optionalRayDifferential.get();
+					
+					final Color3F colorRGB = radiance(rayDifferential, sampler);
+					
+					if(!colorRGB.hasInfinites() && !colorRGB.hasNaNs() && colorRGB.relativeLuminance() >= -1.0e-5F) {
+						final Color3F colorXYZ = colorSpace.convertRGBToXYZ(colorRGB);
+						
+						samples[sampleCount * 5 + 0] = imageX + pixelX;
+						samples[sampleCount * 5 + 1] = imageY + pixelY;
+						samples[sampleCount * 5 + 2] = colorXYZ.r;
+						samples[sampleCount * 5 + 3] = colorXYZ.g;
+						samples[sampleCount * 5 + 4] = colorXYZ.b;
+						
+						sampleCount++;
+						
+						luminances[i] = colorXYZ.g;
+					}
+				} else {
+					luminances[i] = 0.0F;
+				}
+			}
+		}
+		
+		return sampleCount;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@link Color3F} instance with the radiance along {@code rayDifferential}.
+	 * <p>
+	 * If either {@code rayDifferential} or {@code sampler} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * This method is called concurrently by multiple threads. Each thread passes its own {@link Sampler} instance.
+	 * 
+	 * @param rayDifferential a {@link RayDifferential3F} instance with the primary ray and its offset rays
+	 * @param sampler the {@code Sampler} instance to use
+	 * @return a {@code Color3F} instance with the radiance along {@code rayDifferential}
+	 * @throws NullPointerException thrown if, and only if, either {@code rayDifferential} or {@code sampler} are {@code null}
+	 */
+	protected abstract Color3F radiance(final RayDifferential3F rayDifferential, final Sampler sampler);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private ForkJoinPool doGetForkJoinPool() {
+		return this.forkJoinPool.updateAndGet(forkJoinPool -> forkJoinPool != null ? forkJoinPool : new ForkJoinPool());
+	}
+	
+	private boolean doIsRenderTimeLimitReached() {
+		final long renderTimeLimit = this.renderTimeLimit;
+		
+		return renderTimeLimit > 0L && System.currentTimeMillis() - this.renderTimeMillis.get() >= renderTimeLimit;
+	}
+	
+	private boolean[] doCreateSamplingMask(final PixelImageF pixelImage, final int renderPass) {
+		final float adaptiveSamplingErrorThreshold = this.adaptiveSamplingErrorThreshold;
+		
+		if(adaptiveSamplingErrorThreshold <= 0.0F || renderPass <= this.adaptiveSamplingMinimumRenderPasses) {
+			this.isConverged.set(false);
+			
+			return null;
+		}
+		
+		final boolean[] isSampling = pixelImage.filmComputeSamplingMask(adaptiveSamplingErrorThreshold);
+		
+		boolean isConverged = true;
+		
+		for(int i = 0; i < isSampling.length && isConverged; i++) {
+			isConverged = !isSampling[i];
+		}
+		
+		this.isConverged.set(isConverged);
+		
+		return isSampling;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final class RenderPass {
+		private final AtomicInteger tileCountCompleted;
+		private final Camera camera;
+		private final PixelImageF pixelImage;
+		private final RendererObserver rendererObserver;
+		private final Sampler sampler;
+		private final boolean[] isSampling;
+		private final float[][] tileSamples;
+		private final int renderPass;
+		private final int tileCount;
+		private final int tileCountX;
+		private final int tileSize;
+		private final int[] tileSampleCounts;
+		private int tileCommitIndex;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public RenderPass(final Camera camera, final PixelImageF pixelImage, final RendererObserver rendererObserver, final Sampler sampler, final boolean[] isSampling, final int renderPass, final int tileCount, final int tileCountX, final int tileSize) {
+			this.tileCountCompleted = new AtomicInteger();
+			this.camera = camera;
+			this.pixelImage = pixelImage;
+			this.rendererObserver = rendererObserver;
+			this.sampler = sampler;
+			this.isSampling = isSampling;
+			this.tileSamples = new float[tileCount][];
+			this.renderPass = renderPass;
+			this.tileCount = tileCount;
+			this.tileCountX = tileCountX;
+			this.tileSize = tileSize;
+			this.tileSampleCounts = new int[tileCount];
+			this.tileCommitIndex = 0;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public void renderTile(final int tile) {
+			final PixelImageF pixelImage = this.pixelImage;
+			
+			final int resolutionX = pixelImage.getResolutionX();
+			final int resolutionY = pixelImage.getResolutionY();
+			
+			final int minimumX = (tile % this.tileCountX) * this.tileSize;
+			final int minimumY = (tile / this.tileCountX) * this.tileSize;
+			final int maximumX = Math.min(minimumX + this.tileSize, resolutionX);
+			final int maximumY = Math.min(minimumY + this.tileSize, resolutionY);
+			
+			final float[] luminances = new float[(maximumX - minimumX) * (maximumY - minimumY)];
+			final float[] samples = new float[luminances.length * 5];
+			
+			final int sampleCount = AbstractCPURenderer.this.renderTile(this.camera, doCopySampler(), this.isSampling, this.renderPass, resolutionX, minimumX, minimumY, maximumX, maximumY, samples, luminances, true);
+			
+			if(sampleCount < 0) {
+				return;
+			}
+			
+//			Each pixel belongs to a single tile, so its statistics can be updated without holding the lock of the film:
+			for(int y = minimumY, i = 0; y < maximumY; y++) {
+				for(int x = minimumX; x < maximumX; x++, i++) {
+					if(!Float.isNaN(luminances[i])) {
+						pixelImage.filmAddSample(x, y, luminances[i]);
+					}
+				}
+			}
+			
+//			The filter of a sample may cover pixels owned by neighbouring tiles, so the samples of the tiles are added to the film while holding its lock.
+//			The tiles are added in the order of their indices, regardless of the order in which they complete. This makes the result independent of the thread count:
+			synchronized(pixelImage) {
+				this.tileSamples[tile] = samples;
+				this.tileSampleCounts[tile] = sampleCount;
+				
+				while(this.tileCommitIndex < this.tileCount && this.tileSamples[this.tileCommitIndex] != null) {
+					final float[] tileSamples = this.tileSamples[this.tileCommitIndex];
+					
+					final int tileSampleCount = this.tileSampleCounts[this.tileCommitIndex];
+					
+					for(int i = 0; i < tileSampleCount; i++) {
+						pixelImage.filmAddColorXYZ(tileSamples[i * 5 + 0], tileSamples[i * 5 + 1], tileSamples[i * 5 + 2], tileSamples[i * 5 + 3], tileSamples[i * 5 + 4]);
+					}
+					
+					this.tileSamples[this.tileCommitIndex++] = null;
+				}
+				
+				this.rendererObserver.onRenderPassProgress(AbstractCPURenderer.this, this.renderPass, (double)(this.tileCountCompleted.incrementAndGet()) / this.tileCount);
+			}
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private Sampler doCopySampler() {
+//			The Sampler associated with the Scene is not necessarily thread-safe, so copying it is serialized:
+			synchronized(this.sampler) {
+				return this.sampler.copy();
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final class TileRenderAction extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private final RenderPass renderPass;
+		private final int tileFrom;
+		private final int tileTo;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public TileRenderAction(final RenderPass renderPass, final int tileFrom, final int tileTo) {
+			this.renderPass = renderPass;
+			this.tileFrom = tileFrom;
+			this.tileTo = tileTo;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		@Override
+		protected void compute() {
+			if(!AbstractCPURenderer.this.isRendering.get()) {
+				return;
+			}
+			
+			final int tileCount = this.tileTo - this.tileFrom;
+			
+			if(tileCount == 1) {
+				this.renderPass.renderTile(this.tileFrom);
+			} else if(tileCount > 1) {
+				final int tileMid = (this.tileFrom + this.tileTo) >>> 1;
+				
+				invokeAll(new TileRenderAction(this.renderPass, this.tileFrom, tileMid), new TileRenderAction(this.renderPass, tileMid, this.tileTo));
+			}
+		}
+	}
+}
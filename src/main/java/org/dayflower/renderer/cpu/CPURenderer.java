@@ -22,8 +22,10 @@ import java.util.Objects;
 
 import org.dayflower.color.Color3F;
 import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.RayDifferential3F;
 import org.dayflower.renderer.RendererObserver;
 import org.dayflower.renderer.observer.FileRendererObserver;
+import org.dayflower.sampler.Sampler;
 import org.dayflower.scene.Scene;
 
 /**
@@ -62,29 +64,33 @@ public final class CPURenderer extends AbstractCPURenderer {
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
-	 * Returns a {@link Color3F} instance with the radiance along {@code ray}.
+	 * Returns a {@link Color3F} instance with the radiance along {@code rayDifferential}.
 	 * <p>
-	 * If {@code ray} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * If either {@code rayDifferential} or {@code sampler} are {@code null}, a {@code NullPointerException} will be thrown.
 	 * 
-	 * @param ray a {@link Ray3F} instance
-	 * @return a {@code Color3F} instance with the radiance along {@code ray}
-	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
+	 * @param rayDifferential a {@link RayDifferential3F} instance
+	 * @param sampler the {@link Sampler} instance to use
+	 * @return a {@code Color3F} instance with the radiance along {@code rayDifferential}
+	 * @throws NullPointerException thrown if, and only if, either {@code rayDifferential} or {@code sampler} are {@code null}
 	 */
 	@Override
-	protected Color3F radiance(final Ray3F ray) {
-		Objects.requireNonNull(ray, "ray == null");
+	protected Color3F radiance(final RayDifferential3F rayDifferential, final Sampler sampler) {
+		Objects.requireNonNull(rayDifferential, "rayDifferential == null");
+		Objects.requireNonNull(sampler, "sampler == null");
+		
+		final Ray3F ray = rayDifferential.getRay();
 		
 		switch(getRenderingAlgorithm()) {
 			case AMBIENT_OCCLUSION:
-				return getScene().radianceAmbientOcclusion(ray, Scene.T_MINIMUM, Scene.T_MAXIMUM, isPreviewMode(), getMaximumDistance(), getSamples());
+				return getScene().radianceAmbientOcclusion(ray, Scene.T_MINIMUM, Scene.T_MAXIMUM, isPreviewMode(), getMaximumDistance(), getSamples(), sampler);
 			case DEPTH_CAMERA:
 				return getScene().radianceDepthCamera(ray, Scene.T_MINIMUM, Scene.T_MAXIMUM, isPreviewMode());
 			case PATH_TRACING:
-				return getScene().radiancePathTracer(ray, Scene.T_MINIMUM, Scene.T_MAXIMUM, isPreviewMode(), getMaximumBounce(), getMinimumBounceRussianRoulette());
+				return getScene().radiancePathTracer(rayDifferential, Scene.T_MINIMUM, Scene.T_MAXIMUM, isPreviewMode(), getMaximumBounce(), getMinimumBounceRussianRoulette(), sampler);
 			case RAY_CASTING:
-				return getScene().radianceRayCaster(ray, Scene.T_MINIMUM, Scene.T_MAXIMUM, isPreviewMode());
+				return getScene().radianceRayCaster(rayDifferential, Scene.T_MINIMUM, Scene.T_MAXIMUM, isPreviewMode());
 			case RAY_TRACING:
-				return getScene().radianceRayTracer(ray, Scene.T_MINIMUM, Scene.T_MAXIMUM, isPreviewMode(), getMaximumBounce());
+				return getScene().radianceRayTracer(rayDifferential, Scene.T_MINIMUM, Scene.T_MAXIMUM, isPreviewMode(), getMaximumBounce(), sampler);
 			default:
 				return Color3F.BLACK;
 		}
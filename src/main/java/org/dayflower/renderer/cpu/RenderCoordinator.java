@@ -0,0 +1,998 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.renderer.cpu;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.dayflower.image.PixelImageF;
+import org.dayflower.renderer.AdaptiveSampling;
+import org.dayflower.renderer.RenderingAlgorithm;
+import org.dayflower.utility.ParameterArguments;
+
+/**
+ * A {@code RenderCoordinator} renders a scene with a number of {@link RenderNode} instances and merges their tiles into a single {@link PixelImageF} instance.
+ * <p>
+ * The source code of the scene is sent to every {@code RenderNode} once, when it is connected. Each render pass splits the image into square tiles that are handed out to the nodes on demand, so faster nodes render more tiles. A node
+ * has a number of tiles in flight that is twice its parallelism, which hides the latency of the network.
+ * <p>
+ * A node sends back the samples of a tile, not a partial film. The samples are added to the film in the order of the tile indices, just like {@link AbstractCPURenderer} does. This makes the image bit-identical to the image of a
+ * {@link CPURenderer} with the same settings, regardless of the number of nodes and the order in which the tiles complete. Adding partial films together would change the order of the floating-point additions.
+ * <p>
+ * Adaptive sampling, as described by {@link AdaptiveSampling}, is supported. The sampling mask is computed by the {@code RenderCoordinator} and sent along with each tile.
+ * <p>
+ * If a node fails, its tiles are rendered by the remaining nodes. If no node remains, an {@code UncheckedIOException} is thrown.
+ * <p>
+ * The render settings are sent to the nodes when they are connected, so they cannot be changed afterwards.
+ * <p>
+ * A {@code RenderNode} only accepts a {@code RenderCoordinator} that knows its shared secret. The secret is verified by a challenge-response handshake and is never sent over the network.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class RenderCoordinator implements AutoCloseable {
+	private final ExecutorService executorService;
+	private final File file;
+	private final List<Node> nodes;
+	private final String secret;
+	private PixelImageF pixelImage;
+	private RenderingAlgorithm renderingAlgorithm;
+	private boolean isConverged;
+	private boolean isPreviewMode;
+	private float adaptiveSamplingErrorThreshold;
+	private float maximumDistance;
+	private int adaptiveSamplingMinimumRenderPasses;
+	private int maximumBounce;
+	private int minimumBounceRussianRoulette;
+	private int renderPass;
+	private int resolutionX;
+	private int resolutionY;
+	private int samples;
+	private int tileSize;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code RenderCoordinator} instance for the scene in the file represented by {@code file}.
+	 * <p>
+	 * If either {@code file} or {@code secret} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code secret} is empty, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The file has to contain Java source code that can be loaded by {@link org.dayflower.scene.loader.JavaSceneLoader JavaSceneLoader}. The {@link RenderNode} instances have to be started with {@code secret} as their shared secret.
+	 * 
+	 * @param file a {@code File} instance that represents the file of the scene
+	 * @param secret the shared secret of the {@code RenderNode} instances
+	 * @throws IllegalArgumentException thrown if, and only if, {@code secret} is empty
+	 * @throws NullPointerException thrown if, and only if, either {@code file} or {@code secret} are {@code null}
+	 */
+	public RenderCoordinator(final File file, final String secret) {
+		this.executorService = Executors.newCachedThreadPool(RenderCoordinator::doCreateThread);
+		this.file = Objects.requireNonNull(file, "file == null");
+		this.nodes = new ArrayList<>();
+		this.secret = RenderNodeProtocol.requireSecret(secret);
+		this.pixelImage = null;
+		this.renderingAlgorithm = RenderingAlgorithm.PATH_TRACING;
+		this.isConverged = false;
+		this.isPreviewMode = false;
+		this.adaptiveSamplingErrorThreshold = 0.0F;
+		this.maximumDistance = 20.0F;
+		this.adaptiveSamplingMinimumRenderPasses = 16;
+		this.maximumBounce = 20;
+		this.minimumBounceRussianRoulette = 5;
+		this.renderPass = 0;
+		this.resolutionX = 0;
+		this.resolutionY = 0;
+		this.samples = 10;
+		this.tileSize = 32;
+	}
+	
+	/**
+	 * Constructs a new {@code RenderCoordinator} instance for the scene in the file represented by {@code pathname}.
+	 * <p>
+	 * If either {@code pathname} or {@code secret} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code secret} is empty, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new RenderCoordinator(new File(pathname), secret);
+	 * }
+	 * </pre>
+	 * 
+	 * @param pathname a {@code String} instance that represents the pathname of the file of the scene
+	 * @param secret the shared secret of the {@code RenderNode} instances
+	 * @throws IllegalArgumentException thrown if, and only if, {@code secret} is empty
+	 * @throws NullPointerException thrown if, and only if, either {@code pathname} or {@code secret} are {@code null}
+	 */
+	public RenderCoordinator(final String pathname, final String secret) {
+		this(new File(Objects.requireNonNull(pathname, "pathname == null")), secret);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@link PixelImageF} instance that the tiles are merged into.
+	 * <p>
+	 * If no {@link RenderNode} has been connected, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @return the {@code PixelImageF} instance that the tiles are merged into
+	 * @throws IllegalStateException thrown if, and only if, no {@code RenderNode} has been connected
+	 */
+	public PixelImageF getImage() {
+		if(this.pixelImage == null) {
+			throw new IllegalStateException("No RenderNode has been connected");
+		}
+		
+		return this.pixelImage;
+	}
+	
+	/**
+	 * Returns the {@link RenderingAlgorithm} instance associated with this {@code RenderCoordinator} instance.
+	 * 
+	 * @return the {@code RenderingAlgorithm} instance associated with this {@code RenderCoordinator} instance
+	 */
+	public RenderingAlgorithm getRenderingAlgorithm() {
+		return this.renderingAlgorithm;
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, all pixels have converged to the error threshold, {@code false} otherwise.
+	 * <p>
+	 * This method always returns {@code false} if adaptive sampling is disabled.
+	 * 
+	 * @return {@code true} if, and only if, all pixels have converged to the error threshold, {@code false} otherwise
+	 */
+	public boolean isConverged() {
+		return this.isConverged;
+	}
+	
+	/**
+	 * Returns the preview mode state associated with this {@code RenderCoordinator} instance.
+	 * 
+	 * @return the preview mode state associated with this {@code RenderCoordinator} instance
+	 */
+	public boolean isPreviewMode() {
+		return this.isPreviewMode;
+	}
+	
+	/**
+	 * Renders a render pass with the connected {@link RenderNode} instances.
+	 * <p>
+	 * Returns {@code true} if, and only if, rendering was performed, {@code false} otherwise.
+	 * <p>
+	 * Rendering is not performed if all pixels have converged.
+	 * <p>
+	 * If no {@code RenderNode} has been connected, an {@code IllegalStateException} will be thrown.
+	 * <p>
+	 * If all {@code RenderNode} instances have failed, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @return {@code true} if, and only if, rendering was performed, {@code false} otherwise
+	 * @throws IllegalStateException thrown if, and only if, no {@code RenderNode} has been connected
+	 * @throws UncheckedIOException thrown if, and only if, all {@code RenderNode} instances have failed
+	 */
+	public boolean render() {
+		final PixelImageF pixelImage = getImage();
+		
+		final boolean[] isSampling = doCreateSamplingMask(pixelImage, this.renderPass + 1);
+		
+		if(this.isConverged) {
+			return false;
+		}
+		
+		final int renderPass = ++this.renderPass;
+		final int tileCountX = (pixelImage.getResolutionX() + this.tileSize - 1) / this.tileSize;
+		final int tileCountY = (pixelImage.getResolutionY() + this.tileSize - 1) / this.tileSize;
+		
+		final RenderPass pass = new RenderPass(pixelImage, isSampling, renderPass, tileCountX * tileCountY, tileCountX, this.tileSize);
+		
+		while(!pass.isComplete()) {
+			final List<Future<?>> futures = new ArrayList<>();
+			
+			for(final Node node : this.nodes) {
+				if(node.isAlive()) {
+					futures.add(this.executorService.submit(() -> doRenderPass(node, pass)));
+				}
+			}
+			
+			if(futures.isEmpty()) {
+				throw new UncheckedIOException(new IOException("All RenderNodes have failed"));
+			}
+			
+			for(final Future<?> future : futures) {
+				doWaitFor(future);
+			}
+		}
+		
+		pixelImage.filmRender();
+		
+		return true;
+	}
+	
+	/**
+	 * Renders {@code renderPasses} render passes with the connected {@link RenderNode} instances.
+	 * <p>
+	 * Returns {@code true} if, and only if, rendering was performed for all render passes, {@code false} otherwise.
+	 * <p>
+	 * If {@code renderPasses} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If no {@code RenderNode} has been connected, an {@code IllegalStateException} will be thrown.
+	 * <p>
+	 * If all {@code RenderNode} instances have failed, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param renderPasses the number of render passes to perform rendering
+	 * @return {@code true} if, and only if, rendering was performed for all render passes, {@code false} otherwise
+	 * @throws IllegalArgumentException thrown if, and only if, {@code renderPasses} is less than {@code 1}
+	 * @throws IllegalStateException thrown if, and only if, no {@code RenderNode} has been connected
+	 * @throws UncheckedIOException thrown if, and only if, all {@code RenderNode} instances have failed
+	 */
+	public boolean render(final int renderPasses) {
+		ParameterArguments.requireRange(renderPasses, 1, Integer.MAX_VALUE, "renderPasses");
+		
+		for(int renderPass = 0; renderPass < renderPasses; renderPass++) {
+			if(!render()) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns the error threshold used by adaptive sampling, or {@code 0.0F} if adaptive sampling is disabled.
+	 * 
+	 * @return the error threshold used by adaptive sampling, or {@code 0.0F} if adaptive sampling is disabled
+	 */
+	public float getAdaptiveSamplingErrorThreshold() {
+		return this.adaptiveSamplingErrorThreshold;
+	}
+	
+	/**
+	 * Returns the maximum distance.
+	 * 
+	 * @return the maximum distance
+	 */
+	public float getMaximumDistance() {
+		return this.maximumDistance;
+	}
+	
+	/**
+	 * Returns the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels.
+	 * 
+	 * @return the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels
+	 */
+	public int getAdaptiveSamplingMinimumRenderPasses() {
+		return this.adaptiveSamplingMinimumRenderPasses;
+	}
+	
+	/**
+	 * Returns the maximum bounce.
+	 * 
+	 * @return the maximum bounce
+	 */
+	public int getMaximumBounce() {
+		return this.maximumBounce;
+	}
+	
+	/**
+	 * Returns the minimum bounce before Russian roulette termination occurs.
+	 * 
+	 * @return the minimum bounce before Russian roulette termination occurs
+	 */
+	public int getMinimumBounceRussianRoulette() {
+		return this.minimumBounceRussianRoulette;
+	}
+	
+	/**
+	 * Returns the number of connected {@link RenderNode} instances that have not failed.
+	 * 
+	 * @return the number of connected {@code RenderNode} instances that have not failed
+	 */
+	public int getNodeCount() {
+		int nodeCount = 0;
+		
+		for(final Node node : this.nodes) {
+			if(node.isAlive()) {
+				nodeCount++;
+			}
+		}
+		
+		return nodeCount;
+	}
+	
+	/**
+	 * Returns the resolution on the X-axis that the camera of the scene is set to, or {@code 0} if the resolution of the scene is used.
+	 * 
+	 * @return the resolution on the X-axis that the camera of the scene is set to, or {@code 0} if the resolution of the scene is used
+	 */
+	public int getResolutionX() {
+		return this.resolutionX;
+	}
+	
+	/**
+	 * Returns the resolution on the Y-axis that the camera of the scene is set to, or {@code 0} if the resolution of the scene is used.
+	 * 
+	 * @return the resolution on the Y-axis that the camera of the scene is set to, or {@code 0} if the resolution of the scene is used
+	 */
+	public int getResolutionY() {
+		return this.resolutionY;
+	}
+	
+	/**
+	 * Returns the current render pass.
+	 * 
+	 * @return the current render pass
+	 */
+	public int getRenderPass() {
+		return this.renderPass;
+	}
+	
+	/**
+	 * Returns the samples to use per render pass.
+	 * 
+	 * @return the samples to use per render pass
+	 */
+	public int getSamples() {
+		return this.samples;
+	}
+	
+	/**
+	 * Returns the width and height of the tiles that are handed out to the {@link RenderNode} instances.
+	 * 
+	 * @return the width and height of the tiles that are handed out to the {@code RenderNode} instances
+	 */
+	public int getTileSize() {
+		return this.tileSize;
+	}
+	
+	/**
+	 * Clears the {@link PixelImageF} instance and restarts from the first render pass.
+	 * <p>
+	 * If no {@link RenderNode} has been connected, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @throws IllegalStateException thrown if, and only if, no {@code RenderNode} has been connected
+	 */
+	public void clear() {
+		final
+		PixelImageF pixelImage = getImage();
+		pixelImage.filmClear();
+		pixelImage.filmRender();
+		
+		this.isConverged = false;
+		this.renderPass = 0;
+	}
+	
+	/**
+	 * Ends the sessions with all {@link RenderNode} instances and releases the resources of this {@code RenderCoordinator} instance.
+	 */
+	@Override
+	public void close() {
+		for(final Node node : this.nodes) {
+			node.close();
+		}
+		
+		this.executorService.shutdown();
+	}
+	
+	/**
+	 * Connects to the {@link RenderNode} instances at {@code addresses} and sends the scene and the render settings to them.
+	 * <p>
+	 * The scene is sent to all nodes before waiting for any of them, so they load it in parallel. It is only sent to a node after the node has accepted the shared secret.
+	 * <p>
+	 * If either {@code addresses} or an element in {@code addresses} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If a {@code RenderNode} reports a resolution that is different from the resolution of the other nodes, an {@code IllegalStateException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, including a {@code RenderNode} rejecting the shared secret, an {@code UncheckedIOException} will be thrown. The nodes that were connected before the error remain connected.
+	 * 
+	 * @param addresses a {@code List} with the addresses of the {@code RenderNode} instances
+	 * @throws IllegalStateException thrown if, and only if, a {@code RenderNode} reports a resolution that is different from the resolution of the other nodes
+	 * @throws NullPointerException thrown if, and only if, either {@code addresses} or an element in {@code addresses} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public void connect(final List<InetSocketAddress> addresses) {
+		ParameterArguments.requireNonNullList(addresses, "addresses");
+		
+		final List<Node> nodes = new ArrayList<>();
+		
+		try {
+			final byte[] sourceCode = Files.readAllBytes(this.file.toPath());
+			
+			final File directory = this.file.getParentFile() != null ? this.file.getParentFile() : new File(".");
+			
+			for(final InetSocketAddress address : addresses) {
+				final Node node = new Node(new Socket(address.getAddress(), address.getPort()));
+				
+				nodes.add(node);
+				
+				node.authenticate(this.secret);
+				node.writeSession(directory.getPath(), sourceCode, this.renderingAlgorithm, this.isPreviewMode, this.maximumDistance, this.maximumBounce, this.minimumBounceRussianRoulette, this.samples, this.resolutionX, this.resolutionY);
+			}
+			
+			for(final Node node : nodes) {
+				node.readSession();
+				
+				if(this.pixelImage == null) {
+					this.pixelImage = new PixelImageF(node.getResolutionX(), node.getResolutionY());
+				} else if(node.getResolutionX() != this.pixelImage.getResolutionX() || node.getResolutionY() != this.pixelImage.getResolutionY()) {
+					throw new IllegalStateException(String.format("A RenderNode reported the resolution %d x %d, but %d x %d was expected", Integer.valueOf(node.getResolutionX()), Integer.valueOf(node.getResolutionY()), Integer.valueOf(this.pixelImage.getResolutionX()), Integer.valueOf(this.pixelImage.getResolutionY())));
+				}
+				
+				this.nodes.add(node);
+			}
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			for(final Node node : nodes) {
+				if(!this.nodes.contains(node)) {
+					node.close();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Connects to the {@link RenderNode} at {@code host} and {@code port} and sends the scene and the render settings to it.
+	 * <p>
+	 * If {@code host} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code port} is less than {@code 0} or greater than {@code 65535}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If the {@code RenderNode} reports a resolution that is different from the resolution of the other nodes, an {@code IllegalStateException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * renderCoordinator.connect(Arrays.asList(new InetSocketAddress(host, port)));
+	 * }
+	 * </pre>
+	 * 
+	 * @param host the host of the {@code RenderNode}
+	 * @param port the port of the {@code RenderNode}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code port} is less than {@code 0} or greater than {@code 65535}
+	 * @throws IllegalStateException thrown if, and only if, the {@code RenderNode} reports a resolution that is different from the resolution of the other nodes
+	 * @throws NullPointerException thrown if, and only if, {@code host} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public void connect(final String host, final int port) {
+		connect(Arrays.asList(new InetSocketAddress(Objects.requireNonNull(host, "host == null"), ParameterArguments.requireRange(port, 0, 65535, "port"))));
+	}
+	
+	/**
+	 * Sets the error threshold used by adaptive sampling to {@code adaptiveSamplingErrorThreshold}.
+	 * <p>
+	 * If {@code adaptiveSamplingErrorThreshold} is less than {@code 0.0F} or is not finite, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * An error threshold of {@code 0.0F} disables adaptive sampling. Unlike the other settings, it can be changed after the {@link RenderNode} instances have been connected.
+	 * 
+	 * @param adaptiveSamplingErrorThreshold the error threshold used by adaptive sampling
+	 * @throws IllegalArgumentException thrown if, and only if, {@code adaptiveSamplingErrorThreshold} is less than {@code 0.0F} or is not finite
+	 */
+	public void setAdaptiveSamplingErrorThreshold(final float adaptiveSamplingErrorThreshold) {
+		this.adaptiveSamplingErrorThreshold = ParameterArguments.requireRange(ParameterArguments.requireFiniteValue(adaptiveSamplingErrorThreshold, "adaptiveSamplingErrorThreshold"), 0.0F, Float.MAX_VALUE, "adaptiveSamplingErrorThreshold");
+	}
+	
+	/**
+	 * Sets the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels to {@code adaptiveSamplingMinimumRenderPasses}.
+	 * <p>
+	 * If {@code adaptiveSamplingMinimumRenderPasses} is less than {@code 2}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param adaptiveSamplingMinimumRenderPasses the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels
+	 * @throws IllegalArgumentException thrown if, and only if, {@code adaptiveSamplingMinimumRenderPasses} is less than {@code 2}
+	 */
+	public void setAdaptiveSamplingMinimumRenderPasses(final int adaptiveSamplingMinimumRenderPasses) {
+		this.adaptiveSamplingMinimumRenderPasses = ParameterArguments.requireRange(adaptiveSamplingMinimumRenderPasses, 2, Integer.MAX_VALUE, "adaptiveSamplingMinimumRenderPasses");
+	}
+	
+	/**
+	 * Sets the maximum bounce to {@code maximumBounce}.
+	 * <p>
+	 * If a {@link RenderNode} has been connected, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param maximumBounce the maximum bounce
+	 * @throws IllegalStateException thrown if, and only if, a {@code RenderNode} has been connected
+	 */
+	public void setMaximumBounce(final int maximumBounce) {
+		doRequireNotConnected();
+		
+		this.maximumBounce = maximumBounce;
+	}
+	
+	/**
+	 * Sets the maximum distance to {@code maximumDistance}.
+	 * <p>
+	 * If a {@link RenderNode} has been connected, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param maximumDistance the maximum distance
+	 * @throws IllegalStateException thrown if, and only if, a {@code RenderNode} has been connected
+	 */
+	public void setMaximumDistance(final float maximumDistance) {
+		doRequireNotConnected();
+		
+		this.maximumDistance = maximumDistance;
+	}
+	
+	/**
+	 * Sets the minimum bounce before Russian roulette termination occurs to {@code minimumBounceRussianRoulette}.
+	 * <p>
+	 * If a {@link RenderNode} has been connected, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param minimumBounceRussianRoulette the minimum bounce before Russian roulette termination occurs
+	 * @throws IllegalStateException thrown if, and only if, a {@code RenderNode} has been connected
+	 */
+	public void setMinimumBounceRussianRoulette(final int minimumBounceRussianRoulette) {
+		doRequireNotConnected();
+		
+		this.minimumBounceRussianRoulette = minimumBounceRussianRoulette;
+	}
+	
+	/**
+	 * Sets the preview mode state associated with this {@code RenderCoordinator} instance to {@code isPreviewMode}.
+	 * <p>
+	 * If a {@link RenderNode} has been connected, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param isPreviewMode the preview mode state associated with this {@code RenderCoordinator} instance
+	 * @throws IllegalStateException thrown if, and only if, a {@code RenderNode} has been connected
+	 */
+	public void setPreviewMode(final boolean isPreviewMode) {
+		doRequireNotConnected();
+		
+		this.isPreviewMode = isPreviewMode;
+	}
+	
+	/**
+	 * Sets the {@link RenderingAlgorithm} instance associated with this {@code RenderCoordinator} instance to {@code renderingAlgorithm}.
+	 * <p>
+	 * If {@code renderingAlgorithm} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If a {@link RenderNode} has been connected, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param renderingAlgorithm the {@code RenderingAlgorithm} instance associated with this {@code RenderCoordinator} instance
+	 * @throws IllegalStateException thrown if, and only if, a {@code RenderNode} has been connected
+	 * @throws NullPointerException thrown if, and only if, {@code renderingAlgorithm} is {@code null}
+	 */
+	public void setRenderingAlgorithm(final RenderingAlgorithm renderingAlgorithm) {
+		Objects.requireNonNull(renderingAlgorithm, "renderingAlgorithm == null");
+		
+		doRequireNotConnected();
+		
+		this.renderingAlgorithm = renderingAlgorithm;
+	}
+	
+	/**
+	 * Sets the resolution that the camera of the scene is set to.
+	 * <p>
+	 * If either {@code resolutionX} or {@code resolutionY} are less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If a {@link RenderNode} has been connected, an {@code IllegalStateException} will be thrown.
+	 * <p>
+	 * If both {@code resolutionX} and {@code resolutionY} are greater than {@code 0}, every {@code RenderNode} calls {@code camera.setResolution(resolutionX, resolutionY)} and {@code camera.setFieldOfViewY()} on the camera of the scene.
+	 * Otherwise the resolution of the scene is used.
+	 * 
+	 * @param resolutionX the resolution on the X-axis, or {@code 0} to use the resolution of the scene
+	 * @param resolutionY the resolution on the Y-axis, or {@code 0} to use the resolution of the scene
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code resolutionX} or {@code resolutionY} are less than {@code 0}
+	 * @throws IllegalStateException thrown if, and only if, a {@code RenderNode} has been connected
+	 */
+	public void setResolution(final int resolutionX, final int resolutionY) {
+		ParameterArguments.requireRange(resolutionX, 0, Integer.MAX_VALUE, "resolutionX");
+		ParameterArguments.requireRange(resolutionY, 0, Integer.MAX_VALUE, "resolutionY");
+		
+		doRequireNotConnected();
+		
+		this.resolutionX = resolutionX;
+		this.resolutionY = resolutionY;
+	}
+	
+	/**
+	 * Sets the samples to use per render pass to {@code samples}.
+	 * <p>
+	 * If a {@link RenderNode} has been connected, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param samples the samples to use per render pass
+	 * @throws IllegalStateException thrown if, and only if, a {@code RenderNode} has been connected
+	 */
+	public void setSamples(final int samples) {
+		doRequireNotConnected();
+		
+		this.samples = samples;
+	}
+	
+	/**
+	 * Sets the width and height of the tiles that are handed out to the {@link RenderNode} instances to {@code tileSize}.
+	 * <p>
+	 * If {@code tileSize} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The image is only bit-identical to the image of a {@link CPURenderer} if both use the same tile size.
+	 * 
+	 * @param tileSize the width and height of the tiles that are handed out to the {@code RenderNode} instances
+	 * @throws IllegalArgumentException thrown if, and only if, {@code tileSize} is less than {@code 1}
+	 */
+	public void setTileSize(final int tileSize) {
+		this.tileSize = ParameterArguments.requireRange(tileSize, 1, Integer.MAX_VALUE, "tileSize");
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private boolean[] doCreateSamplingMask(final PixelImageF pixelImage, final int renderPass) {
+		final float adaptiveSamplingErrorThreshold = this.adaptiveSamplingErrorThreshold;
+		
+		if(adaptiveSamplingErrorThreshold <= 0.0F || renderPass <= this.adaptiveSamplingMinimumRenderPasses) {
+			this.isConverged = false;
+			
+			return null;
+		}
+		
+		final boolean[] isSampling = pixelImage.filmComputeSamplingMask(adaptiveSamplingErrorThreshold);
+		
+		boolean isConverged = true;
+		
+		for(int i = 0; i < isSampling.length && isConverged; i++) {
+			isConverged = !isSampling[i];
+		}
+		
+		this.isConverged = isConverged;
+		
+		return isSampling;
+	}
+	
+	private void doRequireNotConnected() {
+		if(this.pixelImage != null) {
+			throw new IllegalStateException("The render settings cannot be changed after a RenderNode has been connected");
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Thread doCreateThread(final Runnable runnable) {
+		final Thread thread = new Thread(runnable, "RenderCoordinator");
+		
+		thread.setDaemon(true);
+		
+		return thread;
+	}
+	
+	private static void doRenderPass(final Node node, final RenderPass pass) {
+		final Deque<Integer> tiles = new ArrayDeque<>();
+		
+		try {
+			while(true) {
+				while(tiles.size() < node.getParallelism() * 2) {
+					final Integer tile = pass.poll();
+					
+					if(tile == null) {
+						break;
+					}
+					
+					pass.writeTile(node, tile.intValue());
+					
+					tiles.add(tile);
+				}
+				
+				node.flush();
+				
+				if(tiles.isEmpty()) {
+					return;
+				}
+				
+				final int tile = pass.readTile(node);
+				
+				tiles.remove(Integer.valueOf(tile));
+			}
+		} catch(final IOException | RuntimeException e) {
+//			The tiles that were in flight are handed out to the remaining nodes:
+			pass.offer(tiles);
+			
+			node.fail(e);
+		}
+	}
+	
+	private static void doWaitFor(final Future<?> future) {
+		try {
+			future.get();
+		} catch(final ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Node {
+		private final DataInputStream dataInputStream;
+		private final DataOutputStream dataOutputStream;
+		private final Socket socket;
+		private volatile boolean isAlive;
+		private int parallelism;
+		private int resolutionX;
+		private int resolutionY;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Node(final Socket socket) throws IOException {
+			this.socket = socket;
+			this.socket.setTcpNoDelay(true);
+			this.dataInputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			this.dataOutputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			this.isAlive = true;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public DataInputStream getDataInputStream() {
+			return this.dataInputStream;
+		}
+		
+		public DataOutputStream getDataOutputStream() {
+			return this.dataOutputStream;
+		}
+		
+		public boolean isAlive() {
+			return this.isAlive;
+		}
+		
+		public int getParallelism() {
+			return this.parallelism;
+		}
+		
+		public int getResolutionX() {
+			return this.resolutionX;
+		}
+		
+		public int getResolutionY() {
+			return this.resolutionY;
+		}
+		
+		public void authenticate(final String secret) throws IOException {
+			this.dataOutputStream.writeInt(RenderNodeProtocol.MAGIC);
+			this.dataOutputStream.flush();
+			
+			if(this.dataInputStream.readInt() != RenderNodeProtocol.MAGIC) {
+				throw new IOException("The RenderNode does not use the RenderNode protocol");
+			}
+			
+			final byte[] nonce = new byte[RenderNodeProtocol.NONCE_LENGTH];
+			
+			this.dataInputStream.readFully(nonce);
+			this.dataOutputStream.write(RenderNodeProtocol.computeMAC(secret, nonce));
+		}
+		
+		public void close() {
+			if(this.isAlive) {
+				this.isAlive = false;
+				
+				try {
+					this.dataOutputStream.writeInt(RenderNodeProtocol.TILE_END);
+					this.dataOutputStream.flush();
+				} catch(final IOException e) {
+//					The session ends when the socket is closed anyway.
+				}
+			}
+			
+			try {
+				this.socket.close();
+			} catch(final IOException e) {
+//				Do nothing!
+			}
+		}
+		
+		public void fail(final Exception exception) {
+			this.isAlive = false;
+			
+			System.err.printf("RenderCoordinator: The RenderNode at %s failed: %s%n", this.socket.getRemoteSocketAddress(), exception);
+			
+			close();
+		}
+		
+		public void flush() throws IOException {
+			this.dataOutputStream.flush();
+		}
+		
+		public void readSession() throws IOException {
+			if(this.dataInputStream.readInt() != RenderNodeProtocol.MAGIC) {
+				throw new IOException("The RenderNode does not use the RenderNode protocol");
+			}
+			
+			this.resolutionX = this.dataInputStream.readInt();
+			this.resolutionY = this.dataInputStream.readInt();
+			this.parallelism = Math.max(this.dataInputStream.readInt(), 1);
+		}
+		
+		public void writeSession(final String directory, final byte[] sourceCode, final RenderingAlgorithm renderingAlgorithm, final boolean isPreviewMode, final float maximumDistance, final int maximumBounce, final int minimumBounceRussianRoulette, final int samples, final int resolutionX, final int resolutionY) throws IOException {
+			this.dataOutputStream.writeUTF(directory);
+			this.dataOutputStream.writeInt(sourceCode.length);
+			this.dataOutputStream.write(sourceCode);
+			this.dataOutputStream.writeInt(renderingAlgorithm.ordinal());
+			this.dataOutputStream.writeBoolean(isPreviewMode);
+			this.dataOutputStream.writeFloat(maximumDistance);
+			this.dataOutputStream.writeInt(maximumBounce);
+			this.dataOutputStream.writeInt(minimumBounceRussianRoulette);
+			this.dataOutputStream.writeInt(samples);
+			this.dataOutputStream.writeInt(resolutionX);
+			this.dataOutputStream.writeInt(resolutionY);
+			this.dataOutputStream.flush();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class RenderPass {
+		private final PixelImageF pixelImage;
+		private final Queue<Integer> tiles;
+		private final boolean[] isSampling;
+		private final float[][] tileSamples;
+		private final int renderPass;
+		private final int tileCount;
+		private final int tileCountX;
+		private final int tileSize;
+		private final int[] tileSampleCounts;
+		private int tileCommitIndex;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public RenderPass(final PixelImageF pixelImage, final boolean[] isSampling, final int renderPass, final int tileCount, final int tileCountX, final int tileSize) {
+			this.pixelImage = pixelImage;
+			this.tiles = new ConcurrentLinkedQueue<>();
+			this.isSampling = isSampling;
+			this.tileSamples = new float[tileCount][];
+			this.renderPass = renderPass;
+			this.tileCount = tileCount;
+			this.tileCountX = tileCountX;
+			this.tileSize = tileSize;
+			this.tileSampleCounts = new int[tileCount];
+			this.tileCommitIndex = 0;
+			
+			for(int tile = 0; tile < tileCount; tile++) {
+				this.tiles.add(Integer.valueOf(tile));
+			}
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Integer poll() {
+			return this.tiles.poll();
+		}
+		
+		public boolean isComplete() {
+			synchronized(this.pixelImage) {
+				return this.tileCommitIndex == this.tileCount;
+			}
+		}
+		
+		public int readTile(final Node node) throws IOException {
+			final DataInputStream dataInputStream = node.getDataInputStream();
+			
+			final int tile = dataInputStream.readInt();
+			
+			if(tile < 0 || tile >= this.tileCount) {
+				throw new IOException(String.format("The RenderNode sent the tile %d, but there are only %d tiles", Integer.valueOf(tile), Integer.valueOf(this.tileCount)));
+			}
+			
+			final PixelImageF pixelImage = this.pixelImage;
+			
+			final int resolutionX = pixelImage.getResolutionX();
+			final int resolutionY = pixelImage.getResolutionY();
+			
+			final int minimumX = (tile % this.tileCountX) * this.tileSize;
+			final int minimumY = (tile / this.tileCountX) * this.tileSize;
+			final int maximumX = Math.min(minimumX + this.tileSize, resolutionX);
+			final int maximumY = Math.min(minimumY + this.tileSize, resolutionY);
+			
+			final float[] luminances = new float[(maximumX - minimumX) * (maximumY - minimumY)];
+			
+			final int sampleCount = dataInputStream.readInt();
+			
+			if(sampleCount < 0 || sampleCount > luminances.length) {
+				throw new IOException(String.format("The RenderNode sent %d samples for a tile with %d pixels", Integer.valueOf(sampleCount), Integer.valueOf(luminances.length)));
+			}
+			
+			final float[] samples = new float[sampleCount * 5];
+			
+			RenderNodeProtocol.readFloats(dataInputStream, samples, samples.length);
+			RenderNodeProtocol.readFloats(dataInputStream, luminances, luminances.length);
+			
+//			Each pixel belongs to a single tile, so its statistics can be updated without holding the lock of the film:
+			for(int y = minimumY, i = 0; y < maximumY; y++) {
+				for(int x = minimumX; x < maximumX; x++, i++) {
+					if(!Float.isNaN(luminances[i])) {
+						pixelImage.filmAddSample(x, y, luminances[i]);
+					}
+				}
+			}
+			
+//			The tiles are added in the order of their indices, regardless of the order in which they arrive. This makes the result identical to the result of AbstractCPURenderer:
+			synchronized(pixelImage) {
+				this.tileSamples[tile] = samples;
+				this.tileSampleCounts[tile] = sampleCount;
+				
+				while(this.tileCommitIndex < this.tileCount && this.tileSamples[this.tileCommitIndex] != null) {
+					final float[] tileSamples = this.tileSamples[this.tileCommitIndex];
+					
+					final int tileSampleCount = this.tileSampleCounts[this.tileCommitIndex];
+					
+					for(int j = 0; j < tileSampleCount; j++) {
+						pixelImage.filmAddColorXYZ(tileSamples[j * 5 + 0], tileSamples[j * 5 + 1], tileSamples[j * 5 + 2], tileSamples[j * 5 + 3], tileSamples[j * 5 + 4]);
+					}
+					
+					this.tileSamples[this.tileCommitIndex++] = null;
+				}
+			}
+			
+			return tile;
+		}
+		
+		public void offer(final Deque<Integer> tiles) {
+			this.tiles.addAll(tiles);
+		}
+		
+		public void writeTile(final Node node, final int tile) throws IOException {
+			final DataOutputStream dataOutputStream = node.getDataOutputStream();
+			
+			final int resolutionX = this.pixelImage.getResolutionX();
+			final int resolutionY = this.pixelImage.getResolutionY();
+			
+			final int minimumX = (tile % this.tileCountX) * this.tileSize;
+			final int minimumY = (tile / this.tileCountX) * this.tileSize;
+			final int maximumX = Math.min(minimumX + this.tileSize, resolutionX);
+			final int maximumY = Math.min(minimumY + this.tileSize, resolutionY);
+			
+			dataOutputStream.writeInt(tile);
+			dataOutputStream.writeInt(this.renderPass);
+			dataOutputStream.writeInt(minimumX);
+			dataOutputStream.writeInt(minimumY);
+			dataOutputStream.writeInt(maximumX);
+			dataOutputStream.writeInt(maximumY);
+			dataOutputStream.writeBoolean(this.isSampling != null);
+			
+			if(this.isSampling != null) {
+				for(int y = minimumY; y < maximumY; y++) {
+					for(int x = minimumX; x < maximumX; x++) {
+						dataOutputStream.writeBoolean(this.isSampling[y * resolutionX + x]);
+					}
+				}
+			}
+		}
+	}
+}
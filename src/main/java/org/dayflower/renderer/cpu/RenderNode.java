@@ -0,0 +1,435 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.renderer.cpu;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.dayflower.parameter.ParameterList;
+import org.dayflower.renderer.RenderingAlgorithm;
+import org.dayflower.renderer.observer.NoOpRendererObserver;
+import org.dayflower.sampler.Sampler;
+import org.dayflower.scene.Camera;
+import org.dayflower.scene.Scene;
+import org.dayflower.scene.loader.JavaSceneLoader;
+import org.dayflower.utility.ParameterArguments;
+
+/**
+ * A {@code RenderNode} renders tiles for a {@link RenderCoordinator} on another machine, or in another process, over a TCP connection.
+ * <p>
+ * A {@code RenderNode} serves one coordinator at a time. The coordinator sends the source code of the scene once per session. The scene is compiled by a {@link JavaSceneLoader} that is kept for the lifetime of the {@code RenderNode}, so
+ * a scene that is sent again is not recompiled.
+ * <p>
+ * The tiles are rendered in parallel by a fixed number of threads, using the same code path as {@link CPURenderer}. A tile rendered by a {@code RenderNode} therefore contains exactly the same samples as the same tile rendered locally.
+ * <p>
+ * The files that are referenced by the scene are resolved against the directory of the scene on the coordinator. Every machine should therefore have the same files at the same locations, for example by sharing a checkout.
+ * <p>
+ * <b>Trust model:</b> A {@code RenderNode} compiles and runs the Java source code it receives, so a coordinator that is allowed to connect can run arbitrary code on the machine with the permissions of the {@code RenderNode}. A
+ * coordinator is allowed to connect if, and only if, it knows the shared secret of the {@code RenderNode}. This is verified by an HMAC-SHA256 challenge-response handshake, before the source code is read. The secret itself is never
+ * sent. The connection is not encrypted, so the scene and the tiles can be read by anyone on the network path.
+ * <p>
+ * A {@code RenderNode} binds to the loopback address by default, so only coordinators on the same machine can reach it. An explicit bind address should only be used on a trusted network, such as the private network of a render farm,
+ * with a secret that is not used for anything else.
+ * <p>
+ * A {@code RenderNode} can be started from the command line with the port and the bind address as optional arguments. They default to {@link #DEFAULT_PORT} and the loopback address. A port of {@code 0} uses any free port. The
+ * secret is read from the environment variable {@link #SECRET_ENVIRONMENT_VARIABLE}, so it does not show up in the process list. The address and port that are used are printed when the {@code RenderNode} is ready.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class RenderNode implements AutoCloseable {
+	/**
+	 * The default port of a {@code RenderNode}.
+	 */
+	public static final int DEFAULT_PORT = 7575;
+	
+	/**
+	 * The name of the environment variable that contains the shared secret when a {@code RenderNode} is started from the command line.
+	 */
+	public static final String SECRET_ENVIRONMENT_VARIABLE = "DAYFLOWER_RENDER_NODE_SECRET";
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final int HANDSHAKE_TIMEOUT = 10000;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final JavaSceneLoader javaSceneLoader;
+	private final ServerSocket serverSocket;
+	private final String secret;
+	private final int parallelism;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code RenderNode} instance that listens on {@code port} of the loopback address and only serves coordinators that know {@code secret}.
+	 * <p>
+	 * If {@code secret} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code port} is less than {@code 0} or greater than {@code 65535}, or {@code secret} is empty, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new RenderNode(InetAddress.getLoopbackAddress(), port, secret);
+	 * }
+	 * </pre>
+	 * 
+	 * @param port the port to listen on, or {@code 0} to use any free port
+	 * @param secret the shared secret a coordinator has to know
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code port} is less than {@code 0} or greater than {@code 65535}, or {@code secret} is empty
+	 * @throws NullPointerException thrown if, and only if, {@code secret} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public RenderNode(final int port, final String secret) {
+		this(InetAddress.getLoopbackAddress(), port, secret);
+	}
+	
+	/**
+	 * Constructs a new {@code RenderNode} instance that listens on {@code port} of {@code bindAddress} and only serves coordinators that know {@code secret}.
+	 * <p>
+	 * If either {@code bindAddress} or {@code secret} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code port} is less than {@code 0} or greater than {@code 65535}, or {@code secret} is empty, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new RenderNode(bindAddress, port, Runtime.getRuntime().availableProcessors(), secret);
+	 * }
+	 * </pre>
+	 * 
+	 * @param bindAddress the address to listen on
+	 * @param port the port to listen on, or {@code 0} to use any free port
+	 * @param secret the shared secret a coordinator has to know
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code port} is less than {@code 0} or greater than {@code 65535}, or {@code secret} is empty
+	 * @throws NullPointerException thrown if, and only if, either {@code bindAddress} or {@code secret} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public RenderNode(final InetAddress bindAddress, final int port, final String secret) {
+		this(bindAddress, port, Runtime.getRuntime().availableProcessors(), secret);
+	}
+	
+	/**
+	 * Constructs a new {@code RenderNode} instance that listens on {@code port} of {@code bindAddress}, renders {@code parallelism} tiles at a time and only serves coordinators that know {@code secret}.
+	 * <p>
+	 * Binding to an address other than the loopback address lets any host that can reach it try to connect. See the class documentation for the trust model.
+	 * <p>
+	 * If either {@code bindAddress} or {@code secret} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code port} is less than {@code 0} or greater than {@code 65535}, {@code parallelism} is less than {@code 1} or {@code secret} is empty, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param bindAddress the address to listen on
+	 * @param port the port to listen on, or {@code 0} to use any free port
+	 * @param parallelism the number of tiles to render at a time
+	 * @param secret the shared secret a coordinator has to know
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code port} is less than {@code 0} or greater than {@code 65535}, {@code parallelism} is less than {@code 1} or {@code secret} is empty
+	 * @throws NullPointerException thrown if, and only if, either {@code bindAddress} or {@code secret} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public RenderNode(final InetAddress bindAddress, final int port, final int parallelism, final String secret) {
+		Objects.requireNonNull(bindAddress, "bindAddress == null");
+		
+		ParameterArguments.requireRange(port, 0, 65535, "port");
+		ParameterArguments.requireRange(parallelism, 1, Integer.MAX_VALUE, "parallelism");
+		
+		RenderNodeProtocol.requireSecret(secret);
+		
+		this.javaSceneLoader = new JavaSceneLoader();
+		this.serverSocket = doCreateServerSocket(bindAddress, port);
+		this.secret = secret;
+		this.parallelism = parallelism;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the address this {@code RenderNode} instance listens on.
+	 * 
+	 * @return the address this {@code RenderNode} instance listens on
+	 */
+	public InetAddress getBindAddress() {
+		return this.serverSocket.getInetAddress();
+	}
+	
+	/**
+	 * Returns the port this {@code RenderNode} instance listens on.
+	 * 
+	 * @return the port this {@code RenderNode} instance listens on
+	 */
+	public int getPort() {
+		return this.serverSocket.getLocalPort();
+	}
+	
+	/**
+	 * Returns the number of tiles this {@code RenderNode} instance renders at a time.
+	 * 
+	 * @return the number of tiles this {@code RenderNode} instance renders at a time
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+	
+	/**
+	 * Closes this {@code RenderNode} instance.
+	 * <p>
+	 * A call to {@link #serve()} returns when the current session, if any, has ended.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	@Override
+	public void close() {
+		try {
+			this.serverSocket.close();
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Serves coordinators, one session at a time, until this {@code RenderNode} instance is closed.
+	 * <p>
+	 * A session that fails, for example because the coordinator disconnects, is ended and the next coordinator is served.
+	 */
+	public void serve() {
+		while(!this.serverSocket.isClosed()) {
+			try(final Socket socket = this.serverSocket.accept()) {
+				doServe(socket);
+			} catch(final IOException | RuntimeException e) {
+				if(!this.serverSocket.isClosed()) {
+					System.err.printf("RenderNode: The session ended with an error: %s%n", e);
+				}
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Starts a {@code RenderNode} from the command line.
+	 * <p>
+	 * The first argument is the port to listen on. It defaults to {@link #DEFAULT_PORT}. The second argument is the address to listen on. It defaults to the loopback address, so only coordinators on the same machine can connect.
+	 * <p>
+	 * The shared secret is read from the environment variable {@link #SECRET_ENVIRONMENT_VARIABLE}. If it is not set, the {@code RenderNode} is not started.
+	 * <p>
+	 * Any coordinator that knows the secret can run arbitrary code with the permissions of this process. Only pass a bind address that is reachable from a trusted network, and run the {@code RenderNode} as a user with as few
+	 * permissions as possible.
+	 * 
+	 * @param args the command line arguments
+	 */
+	public static void main(final String[] args) {
+		final String secret = System.getenv(SECRET_ENVIRONMENT_VARIABLE);
+		
+		if(secret == null || secret.isEmpty()) {
+			System.err.printf("RenderNode: The environment variable %s has to contain the shared secret%n", SECRET_ENVIRONMENT_VARIABLE);
+			
+			return;
+		}
+		
+		final int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		
+		try(final RenderNode renderNode = new RenderNode(args.length > 1 ? InetAddress.getByName(args[1]) : InetAddress.getLoopbackAddress(), port, secret)) {
+			System.out.printf("RenderNode: Listening on %s port %d%n", renderNode.getBindAddress().getHostAddress(), Integer.valueOf(renderNode.getPort()));
+			System.out.flush();
+			
+			renderNode.serve();
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private void doServe(final Socket socket) throws IOException {
+		socket.setTcpNoDelay(true);
+		
+		final DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		final DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		
+//		A client that never completes the handshake must not block the RenderNode:
+		socket.setSoTimeout(HANDSHAKE_TIMEOUT);
+		
+		if(dataInputStream.readInt() != RenderNodeProtocol.MAGIC) {
+			throw new IOException("The coordinator does not use the RenderNode protocol");
+		}
+		
+		final byte[] nonce = RenderNodeProtocol.createNonce();
+		
+		dataOutputStream.writeInt(RenderNodeProtocol.MAGIC);
+		dataOutputStream.write(nonce);
+		dataOutputStream.flush();
+		
+		final byte[] mac = new byte[RenderNodeProtocol.MAC_LENGTH];
+		
+		dataInputStream.readFully(mac);
+		
+		if(!RenderNodeProtocol.isAuthentic(this.secret, nonce, mac)) {
+			throw new IOException(String.format("The coordinator at %s does not know the shared secret", socket.getRemoteSocketAddress()));
+		}
+		
+		socket.setSoTimeout(0);
+		
+		final String directory = dataInputStream.readUTF();
+		
+		final byte[] sourceCode = new byte[dataInputStream.readInt()];
+		
+		dataInputStream.readFully(sourceCode);
+		
+		final RenderingAlgorithm renderingAlgorithm = RenderingAlgorithm.values()[dataInputStream.readInt()];
+		
+		final boolean isPreviewMode = dataInputStream.readBoolean();
+		
+		final float maximumDistance = dataInputStream.readFloat();
+		
+		final int maximumBounce = dataInputStream.readInt();
+		final int minimumBounceRussianRoulette = dataInputStream.readInt();
+		final int samples = dataInputStream.readInt();
+		final int resolutionX = dataInputStream.readInt();
+		final int resolutionY = dataInputStream.readInt();
+		
+		final
+		Scene scene = this.javaSceneLoader.loadSourceCode(new String(sourceCode, StandardCharsets.UTF_8), new File(directory), new Scene(), new ParameterList());
+		scene.buildAccelerationStructure();
+		
+		if(resolutionX > 0 && resolutionY > 0) {
+			final
+			Camera camera = scene.getCamera();
+			camera.setResolution(resolutionX, resolutionY);
+			camera.setFieldOfViewY();
+		}
+		
+		final
+		CPURenderer cPURenderer = new CPURenderer(new NoOpRendererObserver());
+		cPURenderer.setMaximumBounce(maximumBounce);
+		cPURenderer.setMaximumDistance(maximumDistance);
+		cPURenderer.setMinimumBounceRussianRoulette(minimumBounceRussianRoulette);
+		cPURenderer.setPreviewMode(isPreviewMode);
+		cPURenderer.setRenderingAlgorithm(renderingAlgorithm);
+		cPURenderer.setSamples(samples);
+		cPURenderer.setScene(scene);
+		
+		final Camera camera = scene.getCameraCopy();
+		
+		final Sampler sampler = scene.getSampler();
+		
+		final int imageResolutionX = (int)(camera.getResolutionX());
+		final int imageResolutionY = (int)(camera.getResolutionY());
+		
+		dataOutputStream.writeInt(RenderNodeProtocol.MAGIC);
+		dataOutputStream.writeInt(imageResolutionX);
+		dataOutputStream.writeInt(imageResolutionY);
+		dataOutputStream.writeInt(this.parallelism);
+		dataOutputStream.flush();
+		
+//		The sampling masks of the tiles are written into a mask for the whole image. The tiles that are in flight never overlap, and the task of a tile is submitted after its mask has been written:
+		final boolean[] isSampling = new boolean[imageResolutionX * imageResolutionY];
+		
+		final ExecutorService executorService = Executors.newFixedThreadPool(this.parallelism);
+		
+		try {
+			for(int tile = dataInputStream.readInt(); tile != RenderNodeProtocol.TILE_END; tile = dataInputStream.readInt()) {
+				final int currentTile = tile;
+				final int renderPass = dataInputStream.readInt();
+				final int minimumX = dataInputStream.readInt();
+				final int minimumY = dataInputStream.readInt();
+				final int maximumX = dataInputStream.readInt();
+				final int maximumY = dataInputStream.readInt();
+				
+				final boolean hasSamplingMask = dataInputStream.readBoolean();
+				
+				if(hasSamplingMask) {
+					for(int y = minimumY; y < maximumY; y++) {
+						for(int x = minimumX; x < maximumX; x++) {
+							isSampling[y * imageResolutionX + x] = dataInputStream.readBoolean();
+						}
+					}
+				}
+				
+				executorService.execute(() -> doRenderTile(socket, dataOutputStream, cPURenderer, camera, sampler, hasSamplingMask ? isSampling : null, currentTile, renderPass, imageResolutionX, minimumX, minimumY, maximumX, maximumY));
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static ServerSocket doCreateServerSocket(final InetAddress bindAddress, final int port) {
+		try {
+			return new ServerSocket(port, 50, bindAddress);
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static void doRenderTile(final Socket socket, final DataOutputStream dataOutputStream, final CPURenderer cPURenderer, final Camera camera, final Sampler sampler, final boolean[] isSampling, final int tile, final int renderPass, final int resolutionX, final int minimumX, final int minimumY, final int maximumX, final int maximumY) {
+		try {
+			final Sampler samplerCopy;
+			
+//			The Sampler associated with the Scene is not necessarily thread-safe, so copying it is serialized:
+			synchronized(sampler) {
+				samplerCopy = sampler.copy();
+			}
+			
+			final float[] luminances = new float[(maximumX - minimumX) * (maximumY - minimumY)];
+			final float[] samples = new float[luminances.length * 5];
+			
+			final int sampleCount = cPURenderer.renderTile(camera, samplerCopy, isSampling, renderPass, resolutionX, minimumX, minimumY, maximumX, maximumY, samples, luminances, false);
+			
+			synchronized(dataOutputStream) {
+				dataOutputStream.writeInt(tile);
+				dataOutputStream.writeInt(sampleCount);
+				
+				RenderNodeProtocol.writeFloats(dataOutputStream, samples, sampleCount * 5);
+				RenderNodeProtocol.writeFloats(dataOutputStream, luminances, luminances.length);
+				
+				dataOutputStream.flush();
+			}
+		} catch(final IOException | RuntimeException e) {
+//			Closing the socket ends the session, so the coordinator renders the tiles of this node elsewhere:
+			try {
+				socket.close();
+			} catch(final IOException f) {
+				e.addSuppressed(f);
+			}
+			
+			System.err.printf("RenderNode: Rendering tile %d failed: %s%n", Integer.valueOf(tile), e);
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.renderer.cpu;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Objects;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * The constants and helpers of the protocol that is used between a {@link RenderCoordinator} and its {@link RenderNode} instances.
+ * <p>
+ * A session starts with a handshake. The coordinator sends {@link #MAGIC} and the node replies with {@code MAGIC} and a random nonce of {@link #NONCE_LENGTH} bytes. The coordinator proves that it knows the shared secret by sending the
+ * HMAC-SHA256 of the nonce, keyed with the secret. The node closes the connection if the HMAC does not match, before it reads anything else.
+ * <p>
+ * The coordinator then sends the directory and source code of the scene and the render settings. The node loads the scene and replies with {@code MAGIC}, the resolution of the camera and its parallelism.
+ * <p>
+ * The coordinator then sends tile requests, each with the index of the tile, the render pass, the bounds of the tile and an optional sampling mask. The node replies with the index of the tile, the number of samples, the samples and the
+ * luminances of the pixels, in the order the tiles complete. The session ends when the coordinator sends the tile index {@link #TILE_END}.
+ * <p>
+ * All values are written in big-endian byte order.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+final class RenderNodeProtocol {
+	public static final int MAC_LENGTH = 32;
+	public static final int MAGIC = 0x44464E31;
+	public static final int NONCE_LENGTH = 32;
+	public static final int TILE_END = -1;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private RenderNodeProtocol() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static boolean isAuthentic(final String secret, final byte[] nonce, final byte[] mac) {
+		return MessageDigest.isEqual(computeMAC(secret, nonce), mac);
+	}
+	
+	public static byte[] computeMAC(final String secret, final byte[] nonce) {
+		try {
+			final
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+			
+			return mac.doFinal(nonce);
+		} catch(final GeneralSecurityException e) {
+//			Every Java platform is required to support HmacSHA256:
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	public static byte[] createNonce() {
+		final byte[] nonce = new byte[NONCE_LENGTH];
+		
+		SECURE_RANDOM.nextBytes(nonce);
+		
+		return nonce;
+	}
+	
+	public static String requireSecret(final String secret) {
+		if(Objects.requireNonNull(secret, "secret == null").isEmpty()) {
+			throw new IllegalArgumentException("secret is empty");
+		}
+		
+		return secret;
+	}
+	
+	public static void readFloats(final DataInputStream dataInputStream, final float[] floats, final int count) throws IOException {
+		final byte[] bytes = new byte[count * 4];
+		
+		dataInputStream.readFully(bytes);
+		
+		ByteBuffer.wrap(bytes).asFloatBuffer().get(floats, 0, count);
+	}
+	
+	public static void writeFloats(final DataOutputStream dataOutputStream, final float[] floats, final int count) throws IOException {
+		final byte[] bytes = new byte[count * 4];
+		
+		ByteBuffer.wrap(bytes).asFloatBuffer().put(floats, 0, count);
+		
+		dataOutputStream.write(bytes);
+	}
+}
@@ -21,15 +21,17 @@ package org.dayflower.renderer.gpu;
 import static org.dayflower.utility.Ints.toInt;
 
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
-import org.dayflower.color.Color3F;
 import org.dayflower.color.ColorSpaceF;
 import org.dayflower.image.ByteImageF;
 import org.dayflower.image.ImageF;
 import org.dayflower.image.PixelImageF;
+import org.dayflower.renderer.AdaptiveSampling;
 import org.dayflower.renderer.CombinedProgressiveImageOrderRenderer;
 import org.dayflower.renderer.RendererObserver;
 import org.dayflower.renderer.RenderingAlgorithm;
@@ -40,9 +42,13 @@ import org.dayflower.utility.ParameterArguments;
 import org.macroing.java.util.Timer;
 
 import com.aparapi.Range;
+import com.aparapi.device.Device;
+import com.aparapi.device.JavaDevice;
 
 /**
  * An {@code AbstractGPURenderer} is an abstract implementation of {@link CombinedProgressiveImageOrderRenderer} that takes care of most aspects.
+ * <p>
+ * If adaptive sampling is enabled, as described by {@link AdaptiveSampling}, the film error threshold is set for each render pass and the kernel is expected to skip the pixels for which {@link #filmIsConverged()} returns {@code true}.
  * 
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
@@ -121,14 +127,23 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private final AtomicBoolean isClearing;
+	private final AtomicBoolean isConverged;
 	private final AtomicBoolean isPreviewMode;
 	private final AtomicBoolean isRendering;
 	private final AtomicInteger renderPass;
+	private final AtomicInteger threadCount;
+	private final AtomicLong executionTimeMillisRenderPass;
+	private final AtomicLong renderTimeMillis;
+	private final AtomicReference<Device> executionDevice;
+	private final AtomicReference<ExecutionTarget> executionTarget;
 	private final AtomicReference<ImageF> image;
 	private final AtomicReference<Range> range;
 	private final AtomicReference<RendererObserver> rendererObserver;
 	private final AtomicReference<RenderingAlgorithm> renderingAlgorithm;
 	private final Timer timer;
+	private float adaptiveSamplingErrorThreshold;
+	private int adaptiveSamplingMinimumRenderPasses;
+	private long renderTimeLimit;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -142,15 +157,24 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 	 */
 	protected AbstractGPURenderer(final RendererObserver rendererObserver) {
 		this.isClearing = new AtomicBoolean();
+		this.isConverged = new AtomicBoolean();
 		this.isPreviewMode = new AtomicBoolean();
 		this.isRendering = new AtomicBoolean();
 		this.renderPass = new AtomicInteger();
+		this.threadCount = new AtomicInteger(Math.min(Runtime.getRuntime().availableProcessors(), Range.MAX_GROUP_SIZE));
+		this.executionTimeMillisRenderPass = new AtomicLong();
+		this.renderTimeMillis = new AtomicLong();
+		this.executionDevice = new AtomicReference<>();
+		this.executionTarget = new AtomicReference<>(ExecutionTarget.AUTOMATIC);
 		this.image = new AtomicReference<>(new ByteImageF(800, 800));
-		this.range = new AtomicReference<>(Range.create(this.image.get().getResolution()));
+		this.range = new AtomicReference<>(doCreateRange(this.image.get(), this.executionTarget.get(), this.threadCount.get()));
 		this.rendererObserver = new AtomicReference<>(Objects.requireNonNull(rendererObserver, "rendererObserver == null"));
 		this.renderingAlgorithm = new AtomicReference<>(RenderingAlgorithm.PATH_TRACING);
 		this.renderingAlgorithmOrdinal = this.renderingAlgorithm.get().ordinal();
 		this.timer = new Timer();
+		this.adaptiveSamplingErrorThreshold = 0.0F;
+		this.adaptiveSamplingMinimumRenderPasses = 16;
+		this.renderTimeLimit = 0L;
 		this.maximumDistance = 20.0F;
 		this.maximumBounce = 20;
 		this.minimumBounceRussianRoulette = 5;
@@ -160,6 +184,15 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Returns the {@link ExecutionTarget} instance associated with this {@code AbstractGPURenderer} instance.
+	 * 
+	 * @return the {@code ExecutionTarget} instance associated with this {@code AbstractGPURenderer} instance
+	 */
+	public final ExecutionTarget getExecutionTarget() {
+		return this.executionTarget.get();
+	}
+	
 	/**
 	 * Returns the {@link ImageF} instance associated with this {@code AbstractGPURenderer} instance.
 	 * 
@@ -170,6 +203,38 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 		return this.image.get();
 	}
 	
+	/**
+	 * Returns an {@code Optional} with the {@code Device} instance that executed the last render pass.
+	 * <p>
+	 * If no render pass has been executed, {@code Optional.empty()} will be returned.
+	 * <p>
+	 * If the {@link ExecutionTarget} is {@link ExecutionTarget#AUTOMATIC}, the returned {@code Device} is the one Aparapi selected, which is {@code JavaDevice.THREAD_POOL} if it fell back to the Java thread pool.
+	 * 
+	 * @return an {@code Optional} with the {@code Device} instance that executed the last render pass
+	 */
+	public final Optional<Device> getExecutionDevice() {
+		return Optional.ofNullable(this.executionDevice.get());
+	}
+	
+	/**
+	 * Returns a new {@link ImageF} instance with a grayscale map of the number of samples per pixel.
+	 * <p>
+	 * The pixel with the most samples is white and a pixel without samples is black.
+	 * 
+	 * @return a new {@code ImageF} instance with a grayscale map of the number of samples per pixel
+	 */
+	@Override
+	public final ImageF getSampleDensityImage() {
+		final int resolutionX = getResolutionX();
+		final int resolutionY = getResolutionY();
+		
+		if(this.filmSampleIntArray.length == 0 || this.filmSampleIntArray.length != resolutionX * resolutionY) {
+			return PixelImageF.createSampleDensity(resolutionX, resolutionY, new int[resolutionX * resolutionY]);
+		}
+		
+		return PixelImageF.createSampleDensity(resolutionX, resolutionY, getFilmSampleIntArray().clone());
+	}
+	
 	/**
 	 * Returns the {@link RendererObserver} instance associated with this {@code AbstractGPURenderer} instance.
 	 * 
@@ -210,6 +275,18 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 		return this.isClearing.get();
 	}
 	
+	/**
+	 * Returns {@code true} if, and only if, all pixels have converged to the error threshold, {@code false} otherwise.
+	 * <p>
+	 * This method always returns {@code false} if adaptive sampling is disabled.
+	 * 
+	 * @return {@code true} if, and only if, all pixels have converged to the error threshold, {@code false} otherwise
+	 */
+	@Override
+	public final boolean isConverged() {
+		return this.isConverged.get();
+	}
+	
 	/**
 	 * Returns the preview mode state associated with this {@code AbstractGPURenderer} instance.
 	 * 
@@ -224,6 +301,8 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 	 * Renders the associated {@link Scene} instance to the associated {@link ImageF} instance and, optionally, updates the associated {@link RendererObserver} instance.
 	 * <p>
 	 * Returns {@code true} if, and only if, rendering was performed, {@code false} otherwise.
+	 * <p>
+	 * Rendering is not performed if all pixels have converged or the render time limit has been reached.
 	 * 
 	 * @return {@code true} if, and only if, rendering was performed, {@code false} otherwise
 	 */
@@ -274,16 +353,44 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 				filmClearFilmFlags();
 			}
 			
+			if(this.renderPass.get() == 0) {
+				this.isConverged.set(false);
+				this.renderTimeMillis.set(System.currentTimeMillis());
+			}
+			
+			if(this.isConverged.get() || doIsRenderTimeLimitReached()) {
+				this.isRendering.set(false);
+				
+				return false;
+			}
+			
 			final int renderPass = this.renderPass.incrementAndGet();
 			
+			final float adaptiveSamplingErrorThreshold = this.adaptiveSamplingErrorThreshold;
+			
+			final int adaptiveSamplingMinimumRenderPasses = this.adaptiveSamplingMinimumRenderPasses;
+			
+			filmSetErrorThreshold(renderPass > adaptiveSamplingMinimumRenderPasses ? adaptiveSamplingErrorThreshold : 0.0F);
+			
 			rendererObserver.onRenderPassProgress(this, renderPass, 0.0D);
 			
+			updateUploadByteCountRenderPass();
+			
 			final long currentTimeMillis = System.currentTimeMillis();
 			
 			execute(range);
 			
+			this.executionDevice.set(range.getDevice() != null ? range.getDevice() : getTargetDevice());
+			this.executionTimeMillisRenderPass.set(System.currentTimeMillis() - currentTimeMillis);
+			
 			doUpdateImageF(image);
 			
+			if(adaptiveSamplingErrorThreshold > 0.0F && renderPass >= adaptiveSamplingMinimumRenderPasses) {
+				filmSetErrorThreshold(adaptiveSamplingErrorThreshold);
+				
+				this.isConverged.set(isFilmConverged());
+			}
+			
 			final long elapsedTimeMillis = System.currentTimeMillis() - currentTimeMillis;
 			
 			rendererObserver.onRenderPassProgress(this, renderPass, 1.0D);
@@ -343,6 +450,16 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 		return this.isRendering.compareAndSet(true, false);
 	}
 	
+	/**
+	 * Returns the error threshold used by adaptive sampling, or {@code 0.0F} if adaptive sampling is disabled.
+	 * 
+	 * @return the error threshold used by adaptive sampling, or {@code 0.0F} if adaptive sampling is disabled
+	 */
+	@Override
+	public final float getAdaptiveSamplingErrorThreshold() {
+		return this.adaptiveSamplingErrorThreshold;
+	}
+	
 	/**
 	 * Returns the maximum distance.
 	 * 
@@ -353,6 +470,37 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 		return this.maximumDistance;
 	}
 	
+	/**
+	 * Returns the number of milliseconds it took to execute the kernel in the last render pass.
+	 * <p>
+	 * The time it takes to update the {@link ImageF} instance afterwards is not included.
+	 * 
+	 * @return the number of milliseconds it took to execute the kernel in the last render pass
+	 */
+	public final long getExecutionTimeMillisRenderPass() {
+		return this.executionTimeMillisRenderPass.get();
+	}
+	
+	/**
+	 * Returns the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels.
+	 * 
+	 * @return the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels
+	 */
+	@Override
+	public final int getAdaptiveSamplingMinimumRenderPasses() {
+		return this.adaptiveSamplingMinimumRenderPasses;
+	}
+	
+	/**
+	 * Returns the render time limit in milliseconds, or {@code 0L} if there is no limit.
+	 * 
+	 * @return the render time limit in milliseconds, or {@code 0L} if there is no limit
+	 */
+	@Override
+	public final long getRenderTimeLimit() {
+		return this.renderTimeLimit;
+	}
+	
 	/**
 	 * Returns the maximum bounce.
 	 * 
@@ -393,6 +541,17 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 		return this.samples;
 	}
 	
+	/**
+	 * Returns the number of threads to use if the {@link ExecutionTarget} is {@link ExecutionTarget#JAVA_THREAD_POOL}.
+	 * <p>
+	 * The default is the number of available processors.
+	 * 
+	 * @return the number of threads to use if the {@code ExecutionTarget} is {@code ExecutionTarget.JAVA_THREAD_POOL}
+	 */
+	public final int getThreadCount() {
+		return this.threadCount.get();
+	}
+	
 	/**
 	 * Returns the tone map operator.
 	 * 
@@ -410,6 +569,49 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 		this.isClearing.set(true);
 	}
 	
+	/**
+	 * Sets the error threshold used by adaptive sampling to {@code adaptiveSamplingErrorThreshold}.
+	 * <p>
+	 * If {@code adaptiveSamplingErrorThreshold} is less than {@code 0.0F} or is not finite, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * An error threshold of {@code 0.0F} disables adaptive sampling.
+	 * 
+	 * @param adaptiveSamplingErrorThreshold the error threshold used by adaptive sampling
+	 * @throws IllegalArgumentException thrown if, and only if, {@code adaptiveSamplingErrorThreshold} is less than {@code 0.0F} or is not finite
+	 */
+	@Override
+	public final void setAdaptiveSamplingErrorThreshold(final float adaptiveSamplingErrorThreshold) {
+		this.adaptiveSamplingErrorThreshold = ParameterArguments.requireRange(ParameterArguments.requireFiniteValue(adaptiveSamplingErrorThreshold, "adaptiveSamplingErrorThreshold"), 0.0F, Float.MAX_VALUE, "adaptiveSamplingErrorThreshold");
+	}
+	
+	/**
+	 * Sets the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels to {@code adaptiveSamplingMinimumRenderPasses}.
+	 * <p>
+	 * If {@code adaptiveSamplingMinimumRenderPasses} is less than {@code 2}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param adaptiveSamplingMinimumRenderPasses the number of render passes that are performed for all pixels before adaptive sampling starts to skip pixels
+	 * @throws IllegalArgumentException thrown if, and only if, {@code adaptiveSamplingMinimumRenderPasses} is less than {@code 2}
+	 */
+	@Override
+	public final void setAdaptiveSamplingMinimumRenderPasses(final int adaptiveSamplingMinimumRenderPasses) {
+		this.adaptiveSamplingMinimumRenderPasses = ParameterArguments.requireRange(adaptiveSamplingMinimumRenderPasses, 2, Integer.MAX_VALUE, "adaptiveSamplingMinimumRenderPasses");
+	}
+	
+	/**
+	 * Sets the {@link ExecutionTarget} instance associated with this {@code AbstractGPURenderer} instance to {@code executionTarget}.
+	 * <p>
+	 * If {@code executionTarget} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code executionTarget} is {@link ExecutionTarget#JAVA_THREAD_POOL}, the kernel will be executed by {@link #getThreadCount()} threads in the Java thread pool of Aparapi. The range will contain one work-item per thread in each work-group. Each thread will render every {@code getThreadCount()}th pixel, so all threads work on nearby pixels and share the scene data in the CPU caches.
+	 * 
+	 * @param executionTarget the {@code ExecutionTarget} instance associated with this {@code AbstractGPURenderer} instance
+	 * @throws NullPointerException thrown if, and only if, {@code executionTarget} is {@code null}
+	 */
+	public final void setExecutionTarget(final ExecutionTarget executionTarget) {
+		this.executionTarget.set(Objects.requireNonNull(executionTarget, "executionTarget == null"));
+		this.range.set(doCreateRange(getImage(), executionTarget, getThreadCount()));
+	}
+	
 	/**
 	 * Sets the {@link ImageF} instance associated with this {@code AbstractGPURenderer} instance based on the current setup.
 	 */
@@ -436,7 +638,7 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 	@Override
 	public final void setImage(final ImageF image) {
 		this.image.set(Objects.requireNonNull(image, "image == null"));
-		this.range.set(Range.create(this.image.get().getResolution()));
+		this.range.set(doCreateRange(image, getExecutionTarget(), getThreadCount()));
 	}
 	
 	/**
@@ -506,6 +708,25 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 		this.renderingAlgorithmOrdinal = this.renderingAlgorithm.get().ordinal();
 	}
 	
+	/**
+	 * Sets the render time limit in milliseconds to {@code renderTimeLimit}.
+	 * <p>
+	 * If {@code renderTimeLimit} is less than {@code 0L}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The render time is measured from the first render pass after the image was cleared. A render time limit of {@code 0L} means there is no limit.
+	 * 
+	 * @param renderTimeLimit the render time limit in milliseconds
+	 * @throws IllegalArgumentException thrown if, and only if, {@code renderTimeLimit} is less than {@code 0L}
+	 */
+	@Override
+	public final void setRenderTimeLimit(final long renderTimeLimit) {
+		if(renderTimeLimit < 0L) {
+			throw new IllegalArgumentException(String.format("renderTimeLimit < 0: renderTimeLimit == %d", Long.valueOf(renderTimeLimit)));
+		}
+		
+		this.renderTimeLimit = renderTimeLimit;
+	}
+	
 	/**
 	 * Sets the samples to use per render pass to {@code samples}.
 	 * 
@@ -516,6 +737,19 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 		this.samples = samples;
 	}
 	
+	/**
+	 * Sets the number of threads to use if the {@link ExecutionTarget} is {@link ExecutionTarget#JAVA_THREAD_POOL} to {@code threadCount}.
+	 * <p>
+	 * If {@code threadCount} is less than {@code 1} or greater than {@code Range.MAX_GROUP_SIZE}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param threadCount the number of threads to use if the {@code ExecutionTarget} is {@code ExecutionTarget.JAVA_THREAD_POOL}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code threadCount} is less than {@code 1} or greater than {@code Range.MAX_GROUP_SIZE}
+	 */
+	public final void setThreadCount(final int threadCount) {
+		this.threadCount.set(ParameterArguments.requireRange(threadCount, 1, Range.MAX_GROUP_SIZE, "threadCount"));
+		this.range.set(doCreateRange(getImage(), getExecutionTarget(), threadCount));
+	}
+	
 	/**
 	 * Sets the tone map operator to {@code toneMapper}.
 	 * 
@@ -658,6 +892,12 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private boolean doIsRenderTimeLimitReached() {
+		final long renderTimeLimit = this.renderTimeLimit;
+		
+		return renderTimeLimit > 0L && System.currentTimeMillis() - this.renderTimeMillis.get() >= renderTimeLimit;
+	}
+	
 	private void doUpdateByteImageF(final ByteImageF byteImage) {
 		final byte[] bytes = byteImage.getData(true);
 		final byte[] imageColorByteArray = getImageColorByteArray();
@@ -682,7 +922,7 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 		final float[] imageColorFloatArray = getImageColorFloatArray();
 		final float[] pixelArray = getPixelArray();
 		
-		final ColorSpaceF colorSpace = ColorSpaceF.getDefault();
+		final float[] matrix = ColorSpaceF.getDefault().getMatrixRGBToXYZ();
 		
 		for(int y = 0; y < resolutionY; y++) {
 			for(int x = 0; x < resolutionX; x++) {
@@ -699,11 +939,12 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 				final float pixelX = pixelArray[indexPixelArray + 0];
 				final float pixelY = pixelArray[indexPixelArray + 1];
 				
-				final Color3F colorRGB = new Color3F(r, g, b);
-				final Color3F colorXYZ = colorSpace.convertRGBToXYZ(colorRGB);
+				final float colorX = matrix[0] * r + matrix[3] * g + matrix[6] * b;
+				final float colorY = matrix[1] * r + matrix[4] * g + matrix[7] * b;
+				final float colorZ = matrix[2] * r + matrix[5] * g + matrix[8] * b;
 				
-				if(!colorXYZ.hasInfinites() && !colorXYZ.hasNaNs()) {
-					pixelImage.filmAddColorXYZ(imageX + pixelX, imageY + pixelY, colorXYZ);
+				if(Float.isFinite(colorX) && Float.isFinite(colorY) && Float.isFinite(colorZ)) {
+					pixelImage.filmAddColorXYZ(imageX + pixelX, imageY + pixelY, colorX, colorY, colorZ);
 				}
 			}
 		}
@@ -713,6 +954,18 @@ public abstract class AbstractGPURenderer extends AbstractSceneKernel implements
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private static Range doCreateRange(final ImageF image, final ExecutionTarget executionTarget, final int threadCount) {
+		final int resolution = image.getResolution();
+		
+		if(executionTarget == ExecutionTarget.JAVA_THREAD_POOL) {
+			final int globalSize = (resolution + threadCount - 1) / threadCount * threadCount;
+			
+			return Range.create(JavaDevice.THREAD_POOL, globalSize, threadCount);
+		}
+		
+		return Range.create(resolution);
+	}
+	
 	private static void doClearImageF(final ImageF image) {
 		synchronized(image) {
 			if(image instanceof PixelImageF) {
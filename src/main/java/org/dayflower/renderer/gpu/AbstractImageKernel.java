@@ -53,6 +53,7 @@ public abstract class AbstractImageKernel extends AbstractKernel {
 	private static final int COLOR_3_F_R_H_S_ARRAY_OFFSET_COMPONENT_2 = 1;
 	private static final int COLOR_3_F_R_H_S_ARRAY_OFFSET_COMPONENT_3 = 2;
 	private static final int COLOR_3_F_R_H_S_ARRAY_SIZE = 3;
+	private static final float FILM_ERROR_LUMINANCE_MINIMUM = 0.01F;
 	private static final int FILM_FLAG_CLEAR = 0x0001;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -82,11 +83,21 @@ public abstract class AbstractImageKernel extends AbstractKernel {
 	 */
 	protected float[] filmColorFloatArray;
 	
+	/**
+	 * A {@code float[]} with the sum of squared deviations from the mean luminance of the film samples.
+	 */
+	protected float[] filmSquaredDeviationFloatArray;
+	
 	/**
 	 * A {@code float[]} with image colors.
 	 */
 	protected float[] imageColorFloatArray;
 	
+	/**
+	 * A {@code float} with the error threshold at or below which a pixel of the film is converged, or {@code 0.0F} if no pixel is converged.
+	 */
+	protected float filmErrorThreshold;
+	
 	/**
 	 * An {@code int} with film flags.
 	 */
@@ -111,8 +122,10 @@ public abstract class AbstractImageKernel extends AbstractKernel {
 		
 //		Initialize the film variables:
 		this.filmColorFloatArray = new float[0];
+		this.filmErrorThreshold = 0.0F;
 		this.filmFlags = 0;
 		this.filmSampleIntArray = new int[0];
+		this.filmSquaredDeviationFloatArray = new float[0];
 		
 //		Initialize the image variables:
 		this.imageColorByteArray = new byte[0];
@@ -139,6 +152,45 @@ public abstract class AbstractImageKernel extends AbstractKernel {
 		return getAndReturn(this.imageColorFloatArray);
 	}
 	
+	/**
+	 * Returns the {@code int[]} with the number of samples per pixel of the film.
+	 * 
+	 * @return the {@code int[]} with the number of samples per pixel of the film
+	 */
+	public final int[] getFilmSampleIntArray() {
+		return getAndReturn(this.filmSampleIntArray);
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, all pixels of the film are converged, {@code false} otherwise.
+	 * <p>
+	 * A pixel is converged if the relative standard error of the mean luminance of its samples is at or below the error threshold set by {@link #filmSetErrorThreshold(float)}. If the error threshold is {@code 0.0F}, this method returns
+	 * {@code false}.
+	 * <p>
+	 * This method transfers the film arrays from the device.
+	 * 
+	 * @return {@code true} if, and only if, all pixels of the film are converged, {@code false} otherwise
+	 */
+	public final boolean isFilmConverged() {
+		if(this.filmErrorThreshold <= 0.0F) {
+			return false;
+		}
+		
+		get(this.filmColorFloatArray);
+		get(this.filmSampleIntArray);
+		get(this.filmSquaredDeviationFloatArray);
+		
+		final int resolution = getResolution();
+		
+		for(int i = 0; i < resolution; i++) {
+			if(!doFilmIsConverged(i)) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
 	/**
 	 * Call this method to hint to this {@code AbstractImageKernel} instance that it should clear the film before rendering to it in the next render pass.
 	 */
@@ -153,6 +205,17 @@ public abstract class AbstractImageKernel extends AbstractKernel {
 		this.filmFlags = 0;
 	}
 	
+	/**
+	 * Sets the error threshold at or below which a pixel of the film is converged to {@code filmErrorThreshold}.
+	 * <p>
+	 * An error threshold of {@code 0.0F} means that no pixel is converged.
+	 * 
+	 * @param filmErrorThreshold the error threshold at or below which a pixel of the film is converged
+	 */
+	public final void filmSetErrorThreshold(final float filmErrorThreshold) {
+		this.filmErrorThreshold = filmErrorThreshold;
+	}
+	
 	/**
 	 * Sets up all necessary resources for this {@code AbstractImageKernel} instance.
 	 * <p>
@@ -165,6 +228,7 @@ public abstract class AbstractImageKernel extends AbstractKernel {
 		doSetupExponents();
 		doSetupFilmColorFloatArray();
 		doSetupFilmSampleIntArray();
+		doSetupFilmSquaredDeviationFloatArray();
 		doSetupImageColorByteArray();
 		doSetupImageColorFloatArray();
 	}
@@ -946,6 +1010,17 @@ public abstract class AbstractImageKernel extends AbstractKernel {
 		return getGlobalId() / super.resolutionX;
 	}
 	
+	/**
+	 * Returns {@code true} if, and only if, the current pixel of the film is converged, {@code false} otherwise.
+	 * <p>
+	 * A pixel is converged if the relative standard error of the mean luminance of its samples is at or below the error threshold set by {@link #filmSetErrorThreshold(float)}. A pixel that is about to be cleared is never converged.
+	 * 
+	 * @return {@code true} if, and only if, the current pixel of the film is converged, {@code false} otherwise
+	 */
+	protected final boolean filmIsConverged() {
+		return doFilmIsConverged(getGlobalId());
+	}
+	
 	/**
 	 * Adds the sample RGB component values {@code colorR}, {@code colorG} and {@code colorB} to the current pixel of the film.
 	 * <p>
@@ -966,6 +1041,7 @@ public abstract class AbstractImageKernel extends AbstractKernel {
 			this.filmColorFloatArray[filmColorFloatArrayOffset + 1] = 0.0F;
 			this.filmColorFloatArray[filmColorFloatArrayOffset + 2] = 0.0F;
 			this.filmSampleIntArray[filmSampleIntArrayOffset] = 0;
+			this.filmSquaredDeviationFloatArray[filmSampleIntArrayOffset] = 0.0F;
 		}
 		
 		final int oldFilmSample = this.filmSampleIntArray[filmSampleIntArrayOffset];
@@ -979,10 +1055,16 @@ public abstract class AbstractImageKernel extends AbstractKernel {
 		final float newFilmColorG = oldFilmColorG + ((colorG - oldFilmColorG) / newFilmSample);
 		final float newFilmColorB = oldFilmColorB + ((colorB - oldFilmColorB) / newFilmSample);
 		
+		final float luminance = color3FLuminance(colorR, colorG, colorB);
+		
+		final float oldFilmLuminance = color3FLuminance(oldFilmColorR, oldFilmColorG, oldFilmColorB);
+		final float newFilmLuminance = color3FLuminance(newFilmColorR, newFilmColorG, newFilmColorB);
+		
 		this.filmColorFloatArray[filmColorFloatArrayOffset + 0] = newFilmColorR;
 		this.filmColorFloatArray[filmColorFloatArrayOffset + 1] = newFilmColorG;
 		this.filmColorFloatArray[filmColorFloatArrayOffset + 2] = newFilmColorB;
 		this.filmSampleIntArray[filmSampleIntArrayOffset] = newFilmSample;
+		this.filmSquaredDeviationFloatArray[filmSampleIntArrayOffset] += (luminance - oldFilmLuminance) * (luminance - newFilmLuminance);
 	}
 	
 	/**
@@ -1002,6 +1084,7 @@ public abstract class AbstractImageKernel extends AbstractKernel {
 		this.filmColorFloatArray[filmColorFloatArrayOffset + 1] = colorG;
 		this.filmColorFloatArray[filmColorFloatArrayOffset + 2] = colorB;
 		this.filmSampleIntArray[filmSampleIntArrayOffset] = 1;
+		this.filmSquaredDeviationFloatArray[filmSampleIntArrayOffset] = 0.0F;
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -1340,6 +1423,24 @@ public abstract class AbstractImageKernel extends AbstractKernel {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private boolean doFilmIsConverged(final int index) {
+		if(this.filmErrorThreshold <= 0.0F || this.filmFlags == FILM_FLAG_CLEAR) {
+			return false;
+		}
+		
+		final int sampleCount = this.filmSampleIntArray[index];
+		
+		if(sampleCount < 2) {
+			return false;
+		}
+		
+		final float luminance = color3FLuminance(this.filmColorFloatArray[index * 3 + 0], this.filmColorFloatArray[index * 3 + 1], this.filmColorFloatArray[index * 3 + 2]);
+		final float luminanceVariance = this.filmSquaredDeviationFloatArray[index] / (sampleCount - 1);
+		final float luminanceStandardError = sqrt(luminanceVariance / sampleCount);
+		
+		return luminanceStandardError / max(luminance, FILM_ERROR_LUMINANCE_MINIMUM) <= this.filmErrorThreshold;
+	}
+	
 	private void doSetupExponents() {
 		put(this.exponents);
 	}
@@ -1352,6 +1453,10 @@ public abstract class AbstractImageKernel extends AbstractKernel {
 		put(this.filmSampleIntArray = Arrays.repeat(new int[] {0}, getResolution()));
 	}
 	
+	private void doSetupFilmSquaredDeviationFloatArray() {
+		put(this.filmSquaredDeviationFloatArray = Arrays.repeat(new float[] {0.0F}, getResolution()));
+	}
+	
 	private void doSetupImageColorByteArray() {
 		put(this.imageColorByteArray = Arrays.repeat(new byte[] {(byte)(0)}, getResolution() * 4));
 	}
@@ -159,6 +159,23 @@ public abstract class AbstractKernel extends Kernel {
 		return array;
 	}
 	
+	/**
+	 * Returns the {@code int[]} {@code array} after a call to {@code get(array)}.
+	 * <p>
+	 * If {@code array} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param array the {@code int[]} to get and return
+	 * @return the {@code int[]} {@code array} after a call to {@code get(array)}
+	 * @throws NullPointerException thrown if, and only if, {@code array} is {@code null}
+	 */
+	public final int[] getAndReturn(final int[] array) {
+		Objects.requireNonNull(array, "array == null");
+		
+		get(array);
+		
+		return array;
+	}
+	
 	/**
 	 * Disposes of any resources created by this {@code AbstractKernel} instance.
 	 */
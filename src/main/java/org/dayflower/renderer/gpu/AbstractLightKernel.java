@@ -24,6 +24,7 @@ import org.dayflower.scene.compiler.CompiledLightCache;
 import org.dayflower.scene.light.DiffuseAreaLight;
 import org.dayflower.scene.light.DirectionalLight;
 import org.dayflower.scene.light.ImageLight;
+import org.dayflower.scene.light.LightBVHLightDistribution;
 import org.dayflower.scene.light.PerezLight;
 import org.dayflower.scene.light.PointLight;
 import org.dayflower.scene.light.SpotLight;
@@ -58,6 +59,11 @@ public abstract class AbstractLightKernel extends AbstractMaterialKernel {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * A {@code float[]} that contains a {@link LightBVHLightDistribution} of all {@link Light} instances.
+	 */
+	protected float[] lightBVHArray;
+	
 	/**
 	 * A {@code float[]} that contains {@link DiffuseAreaLight} instances.
 	 */
@@ -157,6 +163,7 @@ public abstract class AbstractLightKernel extends AbstractMaterialKernel {
 		this.lightArray_$private$2 = new int[LIGHT_ARRAY_LENGTH];
 		this.lightCount = 0;
 		this.lightIDAndOffsetArray = new int[1];
+		this.lightBVHArray = new float[2];
 		this.lightDiffuseAreaLightArray = new float[1];
 		this.lightDiffuseAreaLightCount = 0;
 		this.lightDirectionalLightArray = new float[1];
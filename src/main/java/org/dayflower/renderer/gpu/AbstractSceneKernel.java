@@ -21,11 +21,14 @@ package org.dayflower.renderer.gpu;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.dayflower.geometry.Matrix44F;
 import org.dayflower.geometry.boundingvolume.AxisAlignedBoundingBox3F;
 import org.dayflower.geometry.boundingvolume.BoundingSphere3F;
 import org.dayflower.geometry.boundingvolume.InfiniteBoundingVolume3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.LeafBVHNode3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.TreeBVHNode3F;
 import org.dayflower.geometry.shape.Cone3F;
 import org.dayflower.geometry.shape.Cylinder3F;
 import org.dayflower.geometry.shape.Disk3F;
@@ -45,10 +48,12 @@ import org.dayflower.scene.Material;
 import org.dayflower.scene.Primitive;
 import org.dayflower.scene.Scene;
 import org.dayflower.scene.SceneObserver;
+import org.dayflower.scene.compiler.CompiledBoundingVolume3FCache;
 import org.dayflower.scene.compiler.CompiledCameraCache;
 import org.dayflower.scene.compiler.CompiledPrimitiveCache;
 import org.dayflower.scene.compiler.CompiledScene;
 import org.dayflower.scene.compiler.SceneCompiler;
+import org.dayflower.scene.light.LightBVHLightDistribution;
 
 import org.macroing.java.lang.Floats;
 import org.macroing.java.util.Arrays;
@@ -76,6 +81,11 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 	 */
 	protected float[] primitiveMatrix44FArray;
 	
+	/**
+	 * A {@code float[]} that contains the axis aligned bounding boxes of the bounding volume hierarchy (BVH) over the {@link Primitive} instances.
+	 */
+	protected float[] primitiveBVHAxisAlignedBoundingBox3FArray;
+	
 	/**
 	 * A {@code float[]} that contains X- and Y-components for the pixels.
 	 */
@@ -86,6 +96,11 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 	 */
 	protected int primitiveCount;
 	
+	/**
+	 * The count of {@link Primitive} instances with an infinite bounding volume.
+	 */
+	protected int primitiveInfiniteCount;
+	
 	/**
 	 * The current {@link Primitive} instance ID.
 	 */
@@ -96,9 +111,22 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 	 */
 	protected int[] primitiveArray;
 	
+	/**
+	 * An {@code int[]} that contains the bounding volume hierarchy (BVH) over the {@link Primitive} instances with a finite bounding volume.
+	 */
+	protected int[] primitiveBVHNodeArray;
+	
+	/**
+	 * An {@code int[]} that contains the indices of the {@link Primitive} instances with an infinite bounding volume.
+	 */
+	protected int[] primitiveInfiniteArray;
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private final AtomicBoolean isUpdateCompiledSceneRequested;
+	private final AtomicLong uploadByteCount;
+	private final AtomicLong uploadByteCountPending;
+	private final AtomicLong uploadByteCountRenderPass;
 	private CompiledScene compiledScene;
 	private Scene scene;
 	private SceneObserver sceneObserver;
@@ -111,11 +139,18 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 	protected AbstractSceneKernel() {
 		this.cameraArray = new float[1];
 		this.primitiveMatrix44FArray = new float[1];
+		this.primitiveBVHAxisAlignedBoundingBox3FArray = new float[CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_LENGTH];
 		this.pixelArray = new float[1];
 		this.primitiveCount = 0;
+		this.primitiveInfiniteCount = 0;
 		this.primitiveInstanceID = -1;
 		this.primitiveArray = new int[1];
+		this.primitiveBVHNodeArray = new int[] {LeafBVHNode3F.ID, 0, -1, 0};
+		this.primitiveInfiniteArray = new int[1];
 		this.isUpdateCompiledSceneRequested = new AtomicBoolean();
+		this.uploadByteCount = new AtomicLong();
+		this.uploadByteCountPending = new AtomicLong();
+		this.uploadByteCountRenderPass = new AtomicLong();
 		this.compiledScene = null;
 		this.scene = new Scene();
 		this.sceneObserver = new SceneObserverImpl(this);
@@ -141,10 +176,30 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 		return this.scene;
 	}
 	
+	/**
+	 * Returns the total number of bytes of scene data that has been transferred to the device by this {@code AbstractSceneKernel} instance.
+	 * 
+	 * @return the total number of bytes of scene data that has been transferred to the device by this {@code AbstractSceneKernel} instance
+	 */
+	public final long getUploadByteCount() {
+		return this.uploadByteCount.get();
+	}
+	
+	/**
+	 * Returns the number of bytes of scene data that was transferred to the device before the current render pass.
+	 * 
+	 * @return the number of bytes of scene data that was transferred to the device before the current render pass
+	 */
+	public final long getUploadByteCountRenderPass() {
+		return this.uploadByteCountRenderPass.get();
+	}
+	
 	/**
 	 * Updates this {@code AbstractSceneKernel} instance with data from the {@link CompiledScene} instance.
 	 * <p>
 	 * Returns {@code true} if, and only if, an update occurred, {@code false} otherwise.
+	 * <p>
+	 * Only the arrays that have been replaced in the {@code CompiledScene} instance since the last update are transferred to the device. The caches in the {@code CompiledScene} instance never modify an array that has been handed out, but replace it with a modified copy.
 	 * 
 	 * @return {@code true} if, and only if, an update occurred, {@code false} otherwise
 	 */
@@ -153,62 +208,66 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 			final CompiledScene compiledScene = this.compiledScene;
 			
 			if(compiledScene != null) {
-				put(super.boundingVolume3FAxisAlignedBoundingBox3FArray = doGetCompatibleArray(compiledScene.getCompiledBoundingVolume3FCache().getAxisAlignedBoundingBox3Fs()));
-				put(super.boundingVolume3FBoundingSphere3FArray = doGetCompatibleArray(compiledScene.getCompiledBoundingVolume3FCache().getBoundingSphere3Fs()));
+				super.boundingVolume3FAxisAlignedBoundingBox3FArray = doPut(super.boundingVolume3FAxisAlignedBoundingBox3FArray, compiledScene.getCompiledBoundingVolume3FCache().getAxisAlignedBoundingBox3Fs());
+				super.boundingVolume3FBoundingSphere3FArray = doPut(super.boundingVolume3FBoundingSphere3FArray, compiledScene.getCompiledBoundingVolume3FCache().getBoundingSphere3Fs());
 				
-				put(super.shape3FCone3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getCone3Fs()));
-				put(super.shape3FCylinder3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getCylinder3Fs()));
-				put(super.shape3FDisk3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getDisk3Fs()));
-				put(super.shape3FHyperboloid3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getHyperboloid3Fs()));
-				put(super.shape3FParaboloid3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getParaboloid3Fs()));
-				put(super.shape3FPolygon3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getPolygon3Fs()));
-				put(super.shape3FRectangle3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getRectangle3Fs()));
-				put(super.shape3FRectangularCuboid3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getRectangularCuboid3Fs()));
-				put(super.shape3FTorus3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getTorus3Fs()));
-				put(super.shape3FTriangle3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getTriangle3Fs()));
-				put(super.shape3FTriangleMesh3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getTriangleMesh3Fs()));
+				super.shape3FCone3FArray = doPut(super.shape3FCone3FArray, compiledScene.getCompiledShape3FCache().getCone3Fs());
+				super.shape3FCylinder3FArray = doPut(super.shape3FCylinder3FArray, compiledScene.getCompiledShape3FCache().getCylinder3Fs());
+				super.shape3FDisk3FArray = doPut(super.shape3FDisk3FArray, compiledScene.getCompiledShape3FCache().getDisk3Fs());
+				super.shape3FHyperboloid3FArray = doPut(super.shape3FHyperboloid3FArray, compiledScene.getCompiledShape3FCache().getHyperboloid3Fs());
+				super.shape3FParaboloid3FArray = doPut(super.shape3FParaboloid3FArray, compiledScene.getCompiledShape3FCache().getParaboloid3Fs());
+				super.shape3FPolygon3FArray = doPut(super.shape3FPolygon3FArray, compiledScene.getCompiledShape3FCache().getPolygon3Fs());
+				super.shape3FRectangle3FArray = doPut(super.shape3FRectangle3FArray, compiledScene.getCompiledShape3FCache().getRectangle3Fs());
+				super.shape3FRectangularCuboid3FArray = doPut(super.shape3FRectangularCuboid3FArray, compiledScene.getCompiledShape3FCache().getRectangularCuboid3Fs());
+				super.shape3FTorus3FArray = doPut(super.shape3FTorus3FArray, compiledScene.getCompiledShape3FCache().getTorus3Fs());
+				super.shape3FTriangle3FArray = doPut(super.shape3FTriangle3FArray, compiledScene.getCompiledShape3FCache().getTriangle3Fs());
+				super.shape3FTriangleMesh3FArray = doPut(super.shape3FTriangleMesh3FArray, compiledScene.getCompiledShape3FCache().getTriangleMesh3Fs());
 				
-				put(super.textureBlendTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getBlendTextures()));
-				put(super.textureBullseyeTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getBullseyeTextures()));
-				put(super.textureCheckerboardTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getCheckerboardTextures()));
-				put(super.textureConstantTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getConstantTextures()));
-				put(super.textureLDRImageTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getLDRImageTextures()));
-				put(super.textureLDRImageTextureOffsetArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getLDRImageTextureOffsets()));
-				put(super.textureMarbleTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getMarbleTextures()));
-				put(super.texturePolkaDotTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getPolkaDotTextures()));
-				put(super.textureSimplexFractionalBrownianMotionTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getSimplexFractionalBrownianMotionTextures()));
+				super.textureBlendTextureArray = doPut(super.textureBlendTextureArray, compiledScene.getCompiledTextureCache().getBlendTextures());
+				super.textureBullseyeTextureArray = doPut(super.textureBullseyeTextureArray, compiledScene.getCompiledTextureCache().getBullseyeTextures());
+				super.textureCheckerboardTextureArray = doPut(super.textureCheckerboardTextureArray, compiledScene.getCompiledTextureCache().getCheckerboardTextures());
+				super.textureConstantTextureArray = doPut(super.textureConstantTextureArray, compiledScene.getCompiledTextureCache().getConstantTextures());
+				super.textureLDRImageTextureArray = doPut(super.textureLDRImageTextureArray, compiledScene.getCompiledTextureCache().getLDRImageTextures());
+				super.textureLDRImageTextureOffsetArray = doPut(super.textureLDRImageTextureOffsetArray, compiledScene.getCompiledTextureCache().getLDRImageTextureOffsets());
+				super.textureMarbleTextureArray = doPut(super.textureMarbleTextureArray, compiledScene.getCompiledTextureCache().getMarbleTextures());
+				super.texturePolkaDotTextureArray = doPut(super.texturePolkaDotTextureArray, compiledScene.getCompiledTextureCache().getPolkaDotTextures());
+				super.textureSimplexFractionalBrownianMotionTextureArray = doPut(super.textureSimplexFractionalBrownianMotionTextureArray, compiledScene.getCompiledTextureCache().getSimplexFractionalBrownianMotionTextures());
 				
-				put(super.materialBullseyeMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getBullseyeMaterials()));
-				put(super.materialCheckerboardMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getCheckerboardMaterials()));
-				put(super.materialClearCoatMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getClearCoatMaterials()));
-				put(super.materialDisneyMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getDisneyMaterials()));
-				put(super.materialGlassMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getGlassMaterials()));
-				put(super.materialGlossyMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getGlossyMaterials()));
-				put(super.materialMatteMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getMatteMaterials()));
-				put(super.materialMetalMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getMetalMaterials()));
-				put(super.materialMirrorMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getMirrorMaterials()));
-				put(super.materialPlasticMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getPlasticMaterials()));
-				put(super.materialPolkaDotMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getPolkaDotMaterials()));
-				put(super.materialSubstrateMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getSubstrateMaterials()));
-				put(super.materialTranslucentMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getTranslucentMaterials()));
-				put(super.materialUberMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getUberMaterials()));
+				super.materialBullseyeMaterialArray = doPut(super.materialBullseyeMaterialArray, compiledScene.getCompiledMaterialCache().getBullseyeMaterials());
+				super.materialCheckerboardMaterialArray = doPut(super.materialCheckerboardMaterialArray, compiledScene.getCompiledMaterialCache().getCheckerboardMaterials());
+				super.materialClearCoatMaterialArray = doPut(super.materialClearCoatMaterialArray, compiledScene.getCompiledMaterialCache().getClearCoatMaterials());
+				super.materialDisneyMaterialArray = doPut(super.materialDisneyMaterialArray, compiledScene.getCompiledMaterialCache().getDisneyMaterials());
+				super.materialGlassMaterialArray = doPut(super.materialGlassMaterialArray, compiledScene.getCompiledMaterialCache().getGlassMaterials());
+				super.materialGlossyMaterialArray = doPut(super.materialGlossyMaterialArray, compiledScene.getCompiledMaterialCache().getGlossyMaterials());
+				super.materialMatteMaterialArray = doPut(super.materialMatteMaterialArray, compiledScene.getCompiledMaterialCache().getMatteMaterials());
+				super.materialMetalMaterialArray = doPut(super.materialMetalMaterialArray, compiledScene.getCompiledMaterialCache().getMetalMaterials());
+				super.materialMirrorMaterialArray = doPut(super.materialMirrorMaterialArray, compiledScene.getCompiledMaterialCache().getMirrorMaterials());
+				super.materialPlasticMaterialArray = doPut(super.materialPlasticMaterialArray, compiledScene.getCompiledMaterialCache().getPlasticMaterials());
+				super.materialPolkaDotMaterialArray = doPut(super.materialPolkaDotMaterialArray, compiledScene.getCompiledMaterialCache().getPolkaDotMaterials());
+				super.materialSubstrateMaterialArray = doPut(super.materialSubstrateMaterialArray, compiledScene.getCompiledMaterialCache().getSubstrateMaterials());
+				super.materialTranslucentMaterialArray = doPut(super.materialTranslucentMaterialArray, compiledScene.getCompiledMaterialCache().getTranslucentMaterials());
+				super.materialUberMaterialArray = doPut(super.materialUberMaterialArray, compiledScene.getCompiledMaterialCache().getUberMaterials());
 				
-				put(super.modifierNormalMapLDRImageModifierArray = doGetCompatibleArray(compiledScene.getCompiledModifierCache().getNormalMapLDRImageModifiers()));
-				put(super.modifierNormalMapLDRImageModifierOffsetArray = doGetCompatibleArray(compiledScene.getCompiledModifierCache().getNormalMapLDRImageModifierOffsets()));
-				put(super.modifierSimplexNoiseNormalMapModifierArray = doGetCompatibleArray(compiledScene.getCompiledModifierCache().getSimplexNoiseNormalMapModifiers()));
+				super.modifierNormalMapLDRImageModifierArray = doPut(super.modifierNormalMapLDRImageModifierArray, compiledScene.getCompiledModifierCache().getNormalMapLDRImageModifiers());
+				super.modifierNormalMapLDRImageModifierOffsetArray = doPut(super.modifierNormalMapLDRImageModifierOffsetArray, compiledScene.getCompiledModifierCache().getNormalMapLDRImageModifierOffsets());
+				super.modifierSimplexNoiseNormalMapModifierArray = doPut(super.modifierSimplexNoiseNormalMapModifierArray, compiledScene.getCompiledModifierCache().getSimplexNoiseNormalMapModifiers());
 				
-				put(super.lightIDAndOffsetArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getLightIDsAndOffsets()));
-				put(super.lightDiffuseAreaLightArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getDiffuseAreaLights()));
-				put(super.lightDirectionalLightArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getDirectionalLights()));
-				put(super.lightImageLightArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getImageLights()));
-				put(super.lightImageLightOffsetArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getImageLightOffsets()));
-				put(super.lightPerezLightArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getPerezLights()));
-				put(super.lightPerezLightOffsetArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getPerezLightOffsets()));
-				put(super.lightPointLightArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getPointLights()));
-				put(super.lightSpotLightArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getSpotLights()));
+				super.lightIDAndOffsetArray = doPut(super.lightIDAndOffsetArray, compiledScene.getCompiledLightCache().getLightIDsAndOffsets());
+				super.lightBVHArray = doPut(super.lightBVHArray, compiledScene.getCompiledLightCache().getLightBVH());
+				super.lightDiffuseAreaLightArray = doPut(super.lightDiffuseAreaLightArray, compiledScene.getCompiledLightCache().getDiffuseAreaLights());
+				super.lightDirectionalLightArray = doPut(super.lightDirectionalLightArray, compiledScene.getCompiledLightCache().getDirectionalLights());
+				super.lightImageLightArray = doPut(super.lightImageLightArray, compiledScene.getCompiledLightCache().getImageLights());
+				super.lightImageLightOffsetArray = doPut(super.lightImageLightOffsetArray, compiledScene.getCompiledLightCache().getImageLightOffsets());
+				super.lightPerezLightArray = doPut(super.lightPerezLightArray, compiledScene.getCompiledLightCache().getPerezLights());
+				super.lightPerezLightOffsetArray = doPut(super.lightPerezLightOffsetArray, compiledScene.getCompiledLightCache().getPerezLightOffsets());
+				super.lightPointLightArray = doPut(super.lightPointLightArray, compiledScene.getCompiledLightCache().getPointLights());
+				super.lightSpotLightArray = doPut(super.lightSpotLightArray, compiledScene.getCompiledLightCache().getSpotLights());
 				
-				put(this.primitiveArray = doGetCompatibleArray(compiledScene.getCompiledPrimitiveCache().getPrimitives()));
-				put(this.primitiveMatrix44FArray = doGetCompatibleArray(compiledScene.getCompiledPrimitiveCache().getMatrix44Fs()));
+				this.primitiveArray = doPut(this.primitiveArray, compiledScene.getCompiledPrimitiveCache().getPrimitives());
+				this.primitiveMatrix44FArray = doPut(this.primitiveMatrix44FArray, compiledScene.getCompiledPrimitiveCache().getMatrix44Fs());
+				this.primitiveBVHAxisAlignedBoundingBox3FArray = doPut(this.primitiveBVHAxisAlignedBoundingBox3FArray, compiledScene.getCompiledPrimitiveCache().getBVHAxisAlignedBoundingBox3Fs());
+				this.primitiveBVHNodeArray = doPut(this.primitiveBVHNodeArray, compiledScene.getCompiledPrimitiveCache().getBVHNodes());
+				this.primitiveInfiniteArray = doPut(this.primitiveInfiniteArray, compiledScene.getCompiledPrimitiveCache().getInfinitePrimitives());
 				
 				super.lightCount = compiledScene.getCompiledLightCache().getLightCount();
 				super.lightDiffuseAreaLightCount = compiledScene.getCompiledLightCache().getDiffuseAreaLightCount();
@@ -219,6 +278,7 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 				super.lightSpotLightCount = compiledScene.getCompiledLightCache().getSpotLightCount();
 				
 				this.primitiveCount = compiledScene.getCompiledPrimitiveCache().getPrimitiveCount();
+				this.primitiveInfiniteCount = compiledScene.getCompiledPrimitiveCache().getInfinitePrimitiveCount();
 				
 				return true;
 			}
@@ -276,7 +336,7 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 	 * Updates the {@link Camera} instance.
 	 */
 	public final void updateCamera() {
-		put(this.cameraArray = CompiledCameraCache.toCamera(getScene().getCamera()));
+		this.cameraArray = doPut(CompiledCameraCache.toCamera(getScene().getCamera()));
 	}
 	
 	/**
@@ -288,17 +348,28 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 	
 	/**
 	 * Updates the {@link Matrix44F} instances.
+	 * <p>
+	 * The {@code Matrix44F} instances are only transferred to the device if they have changed.
 	 */
 	public final void updateMatrix44Fs() {
 		final float[] oldPrimitiveMatrix44FArray = this.primitiveMatrix44FArray;
 		final float[] newPrimitiveMatrix44FArray = doGetCompatibleArray(CompiledPrimitiveCache.toMatrix44Fs(getScene().getPrimitives()));
 		
 //		It is possible that the GPU-renderer will crash if the length of the old array differs from the length of the new array:
-		if(oldPrimitiveMatrix44FArray.length == newPrimitiveMatrix44FArray.length) {
-			put(this.primitiveMatrix44FArray = newPrimitiveMatrix44FArray);
+		if(oldPrimitiveMatrix44FArray.length == newPrimitiveMatrix44FArray.length && !Arrays.equals(oldPrimitiveMatrix44FArray, newPrimitiveMatrix44FArray)) {
+			this.primitiveMatrix44FArray = doPut(newPrimitiveMatrix44FArray);
 		}
 	}
 	
+	/**
+	 * Updates the number of bytes of scene data that was transferred to the device before the current render pass.
+	 * <p>
+	 * This method should be called once per render pass, after all updates have been performed.
+	 */
+	protected final void updateUploadByteCountRenderPass() {
+		this.uploadByteCountRenderPass.set(this.uploadByteCountPending.getAndSet(0L));
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
@@ -311,81 +382,9 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 	 * @return {@code true} if, and only if, an intersection was found, {@code false} otherwise
 	 */
 	protected final boolean primitiveIntersectionComputeLHS() {
-		int primitiveIndex = -1;
-		
 		super.shape3FTriangleMesh3FArrayToShape3FTriangle3FArrayLHS_$private$1[0] = -1;
 		
-		for(int index = 0; index < this.primitiveCount; index++) {
-			final int primitiveArrayOffset = index * CompiledPrimitiveCache.PRIMITIVE_LENGTH;
-			final int primitiveArrayOffsetBoundingVolumeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_ID;
-			final int primitiveArrayOffsetBoundingVolumeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_OFFSET;
-			final int primitiveArrayOffsetShapeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_ID;
-			final int primitiveArrayOffsetShapeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_OFFSET;
-			
-			final int boundingVolumeID = this.primitiveArray[primitiveArrayOffsetBoundingVolumeID];
-			final int boundingVolumeOffset = this.primitiveArray[primitiveArrayOffsetBoundingVolumeOffset];
-			final int shapeID = this.primitiveArray[primitiveArrayOffsetShapeID];
-			final int shapeOffset = this.primitiveArray[primitiveArrayOffsetShapeOffset];
-			
-			final float tMinimumWorldSpace = ray3FGetTMinimum();
-			final float tMaximumWorldSpace = ray3FGetTMaximum();
-			
-			boolean isIntersectingBoundingVolume = false;
-			
-//			Find out what causes the order of the if-statements to fail. If InfiniteBoundingVolume3F.ID is checked in the last if-statement, the plane will disappear.
-			if(boundingVolumeID == InfiniteBoundingVolume3F.ID) {
-				isIntersectingBoundingVolume = true;
-			} else if(boundingVolumeID == AxisAlignedBoundingBox3F.ID) {
-				isIntersectingBoundingVolume = boundingVolume3FAxisAlignedBoundingBox3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
-			} else if(boundingVolumeID == BoundingSphere3F.ID) {
-				isIntersectingBoundingVolume = boundingVolume3FBoundingSphere3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
-			}
-			
-			if(isIntersectingBoundingVolume) {
-				ray3FSetMatrix44FTransformWorldToObject(index);
-				
-				float tObjectSpace = 0.0F;
-				
-				final float tMinimumObjectSpace = ray3FGetTMinimum();
-				final float tMaximumObjectSpace = ray3FGetTMaximum();
-				
-				if(shapeID == Cone3F.ID) {
-					tObjectSpace = shape3FCone3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Cylinder3F.ID) {
-					tObjectSpace = shape3FCylinder3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Disk3F.ID) {
-					tObjectSpace = shape3FDisk3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Hyperboloid3F.ID) {
-					tObjectSpace = shape3FHyperboloid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Paraboloid3F.ID) {
-					tObjectSpace = shape3FParaboloid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Plane3F.ID) {
-					tObjectSpace = shape3FPlane3FIntersectionT(tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Polygon3F.ID) {
-					tObjectSpace = shape3FPolygon3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Rectangle3F.ID) {
-					tObjectSpace = shape3FRectangle3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == RectangularCuboid3F.ID) {
-					tObjectSpace = shape3FRectangularCuboid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Sphere3F.ID) {
-					tObjectSpace = shape3FSphere3FIntersectionT(tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Torus3F.ID) {
-					tObjectSpace = shape3FTorus3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Triangle3F.ID) {
-					tObjectSpace = shape3FTriangle3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == TriangleMesh3F.ID) {
-					tObjectSpace = shape3FTriangleMesh3FIntersectionTLHS(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				}
-				
-				if(tObjectSpace > tMinimumObjectSpace && tObjectSpace < tMaximumObjectSpace) {
-					ray3FSetTMaximum(tObjectSpace);
-					
-					primitiveIndex = index;
-				}
-				
-				ray3FSetMatrix44FTransformObjectToWorld(index);
-			}
-		}
+		final int primitiveIndex = doPrimitiveIntersectionLHS();
 		
 		if(primitiveIndex != -1) {
 			final int primitiveArrayOffset = primitiveIndex * CompiledPrimitiveCache.PRIMITIVE_LENGTH;
@@ -447,81 +446,9 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 	 * @return {@code true} if, and only if, an intersection was found, {@code false} otherwise
 	 */
 	protected final boolean primitiveIntersectionComputeRHS() {
-		int primitiveIndex = -1;
-		
 		super.shape3FTriangleMesh3FArrayToShape3FTriangle3FArrayRHS_$private$1[0] = -1;
 		
-		for(int index = 0; index < this.primitiveCount; index++) {
-			final int primitiveArrayOffset = index * CompiledPrimitiveCache.PRIMITIVE_LENGTH;
-			final int primitiveArrayOffsetBoundingVolumeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_ID;
-			final int primitiveArrayOffsetBoundingVolumeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_OFFSET;
-			final int primitiveArrayOffsetShapeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_ID;
-			final int primitiveArrayOffsetShapeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_OFFSET;
-			
-			final int boundingVolumeID = this.primitiveArray[primitiveArrayOffsetBoundingVolumeID];
-			final int boundingVolumeOffset = this.primitiveArray[primitiveArrayOffsetBoundingVolumeOffset];
-			final int shapeID = this.primitiveArray[primitiveArrayOffsetShapeID];
-			final int shapeOffset = this.primitiveArray[primitiveArrayOffsetShapeOffset];
-			
-			final float tMinimumWorldSpace = ray3FGetTMinimum();
-			final float tMaximumWorldSpace = ray3FGetTMaximum();
-			
-			boolean isIntersectingBoundingVolume = false;
-			
-//			Find out what causes the order of the if-statements to fail. If InfiniteBoundingVolume3F.ID is checked in the last if-statement, the plane will disappear.
-			if(boundingVolumeID == InfiniteBoundingVolume3F.ID) {
-				isIntersectingBoundingVolume = true;
-			} else if(boundingVolumeID == AxisAlignedBoundingBox3F.ID) {
-				isIntersectingBoundingVolume = boundingVolume3FAxisAlignedBoundingBox3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
-			} else if(boundingVolumeID == BoundingSphere3F.ID) {
-				isIntersectingBoundingVolume = boundingVolume3FBoundingSphere3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
-			}
-			
-			if(isIntersectingBoundingVolume) {
-				ray3FSetMatrix44FTransformWorldToObject(index);
-				
-				float tObjectSpace = 0.0F;
-				
-				final float tMinimumObjectSpace = ray3FGetTMinimum();
-				final float tMaximumObjectSpace = ray3FGetTMaximum();
-				
-				if(shapeID == Cone3F.ID) {
-					tObjectSpace = shape3FCone3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Cylinder3F.ID) {
-					tObjectSpace = shape3FCylinder3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Disk3F.ID) {
-					tObjectSpace = shape3FDisk3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Hyperboloid3F.ID) {
-					tObjectSpace = shape3FHyperboloid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Paraboloid3F.ID) {
-					tObjectSpace = shape3FParaboloid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Plane3F.ID) {
-					tObjectSpace = shape3FPlane3FIntersectionT(tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Polygon3F.ID) {
-					tObjectSpace = shape3FPolygon3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Rectangle3F.ID) {
-					tObjectSpace = shape3FRectangle3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == RectangularCuboid3F.ID) {
-					tObjectSpace = shape3FRectangularCuboid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Sphere3F.ID) {
-					tObjectSpace = shape3FSphere3FIntersectionT(tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Torus3F.ID) {
-					tObjectSpace = shape3FTorus3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Triangle3F.ID) {
-					tObjectSpace = shape3FTriangle3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == TriangleMesh3F.ID) {
-					tObjectSpace = shape3FTriangleMesh3FIntersectionTRHS(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				}
-				
-				if(tObjectSpace > tMinimumObjectSpace && tObjectSpace < tMaximumObjectSpace) {
-					ray3FSetTMaximum(tObjectSpace);
-					
-					primitiveIndex = index;
-				}
-				
-				ray3FSetMatrix44FTransformObjectToWorld(index);
-			}
-		}
+		final int primitiveIndex = doPrimitiveIntersectionRHS();
 		
 		if(primitiveIndex != -1) {
 			final int primitiveArrayOffset = primitiveIndex * CompiledPrimitiveCache.PRIMITIVE_LENGTH;
@@ -579,73 +506,35 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 	 * @return {@code true} if, and only if, the current ray intersects a given primitive in world space, {@code false} otherwise
 	 */
 	protected final boolean primitiveIntersects() {
-		for(int index = 0; index < this.primitiveCount; index++) {
-			final int primitiveArrayOffset = index * CompiledPrimitiveCache.PRIMITIVE_LENGTH;
-			final int primitiveArrayOffsetBoundingVolumeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_ID;
-			final int primitiveArrayOffsetBoundingVolumeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_OFFSET;
-			final int primitiveArrayOffsetShapeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_ID;
-			final int primitiveArrayOffsetShapeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_OFFSET;
-			
-			final int boundingVolumeID = this.primitiveArray[primitiveArrayOffsetBoundingVolumeID];
-			final int boundingVolumeOffset = this.primitiveArray[primitiveArrayOffsetBoundingVolumeOffset];
-			final int shapeID = this.primitiveArray[primitiveArrayOffsetShapeID];
-			final int shapeOffset = this.primitiveArray[primitiveArrayOffsetShapeOffset];
-			
-			final float tMinimumWorldSpace = ray3FGetTMinimum();
-			final float tMaximumWorldSpace = ray3FGetTMaximum();
-			
-			boolean isIntersectingBoundingVolume = false;
-			
-//			Find out what causes the order of the if-statements to fail. If InfiniteBoundingVolume3F.ID is checked in the last if-statement, the plane will disappear.
-			if(boundingVolumeID == InfiniteBoundingVolume3F.ID) {
-				isIntersectingBoundingVolume = true;
-			} else if(boundingVolumeID == AxisAlignedBoundingBox3F.ID) {
-				isIntersectingBoundingVolume = boundingVolume3FAxisAlignedBoundingBox3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
-			} else if(boundingVolumeID == BoundingSphere3F.ID) {
-				isIntersectingBoundingVolume = boundingVolume3FBoundingSphere3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
+		for(int i = 0; i < this.primitiveInfiniteCount; i++) {
+			if(doPrimitiveIntersects(this.primitiveInfiniteArray[i])) {
+				return true;
 			}
+		}
+		
+//		The BVH is only traversed if it contains any primitives:
+		int offset = this.primitiveCount > this.primitiveInfiniteCount ? 0 : -1;
+		
+		while(offset != -1) {
+			final int id = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_ID];
+			final int boundingVolumeOffset = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_BOUNDING_VOLUME_OFFSET];
+			final int nextOffset = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_NEXT_OFFSET];
+			final int leftOffsetOrPrimitiveCount = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_LEFT_OFFSET_OR_PRIMITIVE_COUNT];
 			
-			if(isIntersectingBoundingVolume) {
-				ray3FSetMatrix44FTransformWorldToObject(index);
-				
-				boolean isIntersectingShape = false;
-				
-				final float tMinimumObjectSpace = ray3FGetTMinimum();
-				final float tMaximumObjectSpace = ray3FGetTMaximum();
-				
-				if(shapeID == Cone3F.ID) {
-					isIntersectingShape = shape3FCone3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Cylinder3F.ID) {
-					isIntersectingShape = shape3FCylinder3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Disk3F.ID) {
-					isIntersectingShape = shape3FDisk3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Hyperboloid3F.ID) {
-					isIntersectingShape = shape3FHyperboloid3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Paraboloid3F.ID) {
-					isIntersectingShape = shape3FParaboloid3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Plane3F.ID) {
-					isIntersectingShape = shape3FPlane3FIntersects(tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Polygon3F.ID) {
-					isIntersectingShape = shape3FPolygon3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Rectangle3F.ID) {
-					isIntersectingShape = shape3FRectangle3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == RectangularCuboid3F.ID) {
-					isIntersectingShape = shape3FRectangularCuboid3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Sphere3F.ID) {
-					isIntersectingShape = shape3FSphere3FIntersects(tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Torus3F.ID) {
-					isIntersectingShape = shape3FTorus3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Triangle3F.ID) {
-					isIntersectingShape = shape3FTriangle3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == TriangleMesh3F.ID) {
-					isIntersectingShape = shape3FTriangleMesh3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			final boolean isIntersectingBoundingVolume = doPrimitiveBVHNodeContainsOrIntersects(boundingVolumeOffset, ray3FGetTMinimum(), ray3FGetTMaximum());
+			
+			if(isIntersectingBoundingVolume && id == LeafBVHNode3F.ID) {
+				for(int i = 0; i < leftOffsetOrPrimitiveCount; i++) {
+					if(doPrimitiveIntersects(this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_PRIMITIVE_INDICES + i])) {
+						return true;
+					}
 				}
 				
-				ray3FSetMatrix44FTransformObjectToWorld(index);
-				
-				if(isIntersectingShape) {
-					return true;
-				}
+				offset = nextOffset;
+			} else if(isIntersectingBoundingVolume && id == TreeBVHNode3F.ID) {
+				offset = leftOffsetOrPrimitiveCount;
+			} else {
+				offset = nextOffset;
 			}
 		}
 		
@@ -783,81 +672,7 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 	 * @return the parametric T value for the closest primitive in world space, or {@code 0.0F} if no intersection was found
 	 */
 	protected final float primitiveIntersectionTLHS() {
-		boolean hasFoundIntersection = false;
-		
-		for(int index = 0; index < this.primitiveCount; index++) {
-			final int primitiveArrayOffset = index * CompiledPrimitiveCache.PRIMITIVE_LENGTH;
-			final int primitiveArrayOffsetBoundingVolumeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_ID;
-			final int primitiveArrayOffsetBoundingVolumeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_OFFSET;
-			final int primitiveArrayOffsetShapeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_ID;
-			final int primitiveArrayOffsetShapeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_OFFSET;
-			
-			final int boundingVolumeID = this.primitiveArray[primitiveArrayOffsetBoundingVolumeID];
-			final int boundingVolumeOffset = this.primitiveArray[primitiveArrayOffsetBoundingVolumeOffset];
-			final int shapeID = this.primitiveArray[primitiveArrayOffsetShapeID];
-			final int shapeOffset = this.primitiveArray[primitiveArrayOffsetShapeOffset];
-			
-			final float tMinimumWorldSpace = ray3FGetTMinimum();
-			final float tMaximumWorldSpace = ray3FGetTMaximum();
-			
-			boolean isIntersectingBoundingVolume = false;
-			
-//			Find out what causes the order of the if-statements to fail. If InfiniteBoundingVolume3F.ID is checked in the last if-statement, the plane will disappear.
-			if(boundingVolumeID == InfiniteBoundingVolume3F.ID) {
-				isIntersectingBoundingVolume = true;
-			} else if(boundingVolumeID == AxisAlignedBoundingBox3F.ID) {
-				isIntersectingBoundingVolume = boundingVolume3FAxisAlignedBoundingBox3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
-			} else if(boundingVolumeID == BoundingSphere3F.ID) {
-				isIntersectingBoundingVolume = boundingVolume3FBoundingSphere3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
-			}
-			
-			if(isIntersectingBoundingVolume) {
-				ray3FSetMatrix44FTransformWorldToObject(index);
-				
-				float tObjectSpace = 0.0F;
-				
-				final float tMinimumObjectSpace = ray3FGetTMinimum();
-				final float tMaximumObjectSpace = ray3FGetTMaximum();
-				
-				if(shapeID == Cone3F.ID) {
-					tObjectSpace = shape3FCone3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Cylinder3F.ID) {
-					tObjectSpace = shape3FCylinder3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Disk3F.ID) {
-					tObjectSpace = shape3FDisk3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Hyperboloid3F.ID) {
-					tObjectSpace = shape3FHyperboloid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Paraboloid3F.ID) {
-					tObjectSpace = shape3FParaboloid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Plane3F.ID) {
-					tObjectSpace = shape3FPlane3FIntersectionT(tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Polygon3F.ID) {
-					tObjectSpace = shape3FPolygon3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Rectangle3F.ID) {
-					tObjectSpace = shape3FRectangle3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == RectangularCuboid3F.ID) {
-					tObjectSpace = shape3FRectangularCuboid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Sphere3F.ID) {
-					tObjectSpace = shape3FSphere3FIntersectionT(tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Torus3F.ID) {
-					tObjectSpace = shape3FTorus3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Triangle3F.ID) {
-					tObjectSpace = shape3FTriangle3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == TriangleMesh3F.ID) {
-					tObjectSpace = shape3FTriangleMesh3FIntersectionTLHS(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				}
-				
-				if(tObjectSpace > tMinimumObjectSpace && tObjectSpace < tMaximumObjectSpace) {
-					ray3FSetTMaximum(tObjectSpace);
-					
-					hasFoundIntersection = true;
-				}
-				
-				ray3FSetMatrix44FTransformObjectToWorld(index);
-			}
-		}
-		
-		return hasFoundIntersection ? ray3FGetTMaximum() : 0.0F;
+		return doPrimitiveIntersectionLHS() != -1 ? ray3FGetTMaximum() : 0.0F;
 	}
 	
 	/**
@@ -866,81 +681,7 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 	 * @return the parametric T value for the closest primitive in world space, or {@code 0.0F} if no intersection was found
 	 */
 	protected final float primitiveIntersectionTRHS() {
-		boolean hasFoundIntersection = false;
-		
-		for(int index = 0; index < this.primitiveCount; index++) {
-			final int primitiveArrayOffset = index * CompiledPrimitiveCache.PRIMITIVE_LENGTH;
-			final int primitiveArrayOffsetBoundingVolumeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_ID;
-			final int primitiveArrayOffsetBoundingVolumeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_OFFSET;
-			final int primitiveArrayOffsetShapeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_ID;
-			final int primitiveArrayOffsetShapeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_OFFSET;
-			
-			final int boundingVolumeID = this.primitiveArray[primitiveArrayOffsetBoundingVolumeID];
-			final int boundingVolumeOffset = this.primitiveArray[primitiveArrayOffsetBoundingVolumeOffset];
-			final int shapeID = this.primitiveArray[primitiveArrayOffsetShapeID];
-			final int shapeOffset = this.primitiveArray[primitiveArrayOffsetShapeOffset];
-			
-			final float tMinimumWorldSpace = ray3FGetTMinimum();
-			final float tMaximumWorldSpace = ray3FGetTMaximum();
-			
-			boolean isIntersectingBoundingVolume = false;
-			
-//			Find out what causes the order of the if-statements to fail. If InfiniteBoundingVolume3F.ID is checked in the last if-statement, the plane will disappear.
-			if(boundingVolumeID == InfiniteBoundingVolume3F.ID) {
-				isIntersectingBoundingVolume = true;
-			} else if(boundingVolumeID == AxisAlignedBoundingBox3F.ID) {
-				isIntersectingBoundingVolume = boundingVolume3FAxisAlignedBoundingBox3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
-			} else if(boundingVolumeID == BoundingSphere3F.ID) {
-				isIntersectingBoundingVolume = boundingVolume3FBoundingSphere3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
-			}
-			
-			if(isIntersectingBoundingVolume) {
-				ray3FSetMatrix44FTransformWorldToObject(index);
-				
-				float tObjectSpace = 0.0F;
-				
-				final float tMinimumObjectSpace = ray3FGetTMinimum();
-				final float tMaximumObjectSpace = ray3FGetTMaximum();
-				
-				if(shapeID == Cone3F.ID) {
-					tObjectSpace = shape3FCone3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Cylinder3F.ID) {
-					tObjectSpace = shape3FCylinder3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Disk3F.ID) {
-					tObjectSpace = shape3FDisk3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Hyperboloid3F.ID) {
-					tObjectSpace = shape3FHyperboloid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Paraboloid3F.ID) {
-					tObjectSpace = shape3FParaboloid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Plane3F.ID) {
-					tObjectSpace = shape3FPlane3FIntersectionT(tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Polygon3F.ID) {
-					tObjectSpace = shape3FPolygon3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Rectangle3F.ID) {
-					tObjectSpace = shape3FRectangle3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == RectangularCuboid3F.ID) {
-					tObjectSpace = shape3FRectangularCuboid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Sphere3F.ID) {
-					tObjectSpace = shape3FSphere3FIntersectionT(tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Torus3F.ID) {
-					tObjectSpace = shape3FTorus3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == Triangle3F.ID) {
-					tObjectSpace = shape3FTriangle3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				} else if(shapeID == TriangleMesh3F.ID) {
-					tObjectSpace = shape3FTriangleMesh3FIntersectionTRHS(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
-				}
-				
-				if(tObjectSpace > tMinimumObjectSpace && tObjectSpace < tMaximumObjectSpace) {
-					ray3FSetTMaximum(tObjectSpace);
-					
-					hasFoundIntersection = true;
-				}
-				
-				ray3FSetMatrix44FTransformObjectToWorld(index);
-			}
-		}
-		
-		return hasFoundIntersection ? ray3FGetTMaximum() : 0.0F;
+		return doPrimitiveIntersectionRHS() != -1 ? ray3FGetTMaximum() : 0.0F;
 	}
 	
 	/**
@@ -1042,6 +783,106 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 		return this.primitiveArray[intersectionRHSGetPrimitiveIndex() * CompiledPrimitiveCache.PRIMITIVE_LENGTH + CompiledPrimitiveCache.PRIMITIVE_OFFSET_MATERIAL_OFFSET];
 	}
 	
+	/**
+	 * Samples one {@link Light} instance using the {@link LightBVHLightDistribution} in {@link #lightBVHArray}.
+	 * <p>
+	 * The result will be set using {@link #color3FLHSSet(float, float, float)}.
+	 * <p>
+	 * To retrieve the color components of the result, the methods {@link #color3FLHSGetComponent1()}, {@link #color3FLHSGetComponent2()} or {@link #color3FLHSGetComponent3()} may be used.
+	 * <p>
+	 * If {@code lightBVHArray} does not match the current {@code Light} count, {@link #lightSampleOneLightUniformDistribution()} will be called instead.
+	 */
+	protected final void lightSampleOneLightLightBVHDistribution() {
+		final int lightCount = super.lightCount;
+		
+		if(lightCount == 0) {
+			color3FLHSSet(0.0F, 0.0F, 0.0F);
+			
+			return;
+		}
+		
+		if((int)(super.lightBVHArray[LightBVHLightDistribution.ARRAY_OFFSET_LIGHT_COUNT]) != lightCount) {
+			lightSampleOneLightUniformDistribution();
+			
+			return;
+		}
+		
+		final int infiniteLightCount = (int)(super.lightBVHArray[LightBVHLightDistribution.ARRAY_OFFSET_INFINITE_LIGHT_COUNT]);
+		final int nodeOffset = LightBVHLightDistribution.ARRAY_OFFSET_INFINITE_LIGHTS + infiniteLightCount;
+		
+		final float probabilityInfinite = infiniteLightCount > 0 ? infiniteLightCount / (infiniteLightCount + (lightCount > infiniteLightCount ? 1.0F : 0.0F)) : 0.0F;
+		final float value = random();
+		
+		float probabilityMassFunctionValue = 0.0F;
+		
+		int index = -1;
+		
+		if(value < probabilityInfinite) {
+			index = (int)(super.lightBVHArray[LightBVHLightDistribution.ARRAY_OFFSET_INFINITE_LIGHTS + min((int)(value / probabilityInfinite * infiniteLightCount), infiniteLightCount - 1)]);
+			
+			probabilityMassFunctionValue = probabilityInfinite / infiniteLightCount;
+		} else {
+			final float surfaceIntersectionPointX = intersectionLHSGetSurfaceIntersectionPointX();
+			final float surfaceIntersectionPointY = intersectionLHSGetSurfaceIntersectionPointY();
+			final float surfaceIntersectionPointZ = intersectionLHSGetSurfaceIntersectionPointZ();
+			
+			float sample = min((value - probabilityInfinite) / (1.0F - probabilityInfinite), 0.99999994F);
+			
+			probabilityMassFunctionValue = 1.0F - probabilityInfinite;
+			
+			int node = 0;
+			
+			while(index == -1) {
+				final int offset = nodeOffset + node * LightBVHLightDistribution.NODE_LENGTH;
+				final int childOrLight = (int)(super.lightBVHArray[offset + LightBVHLightDistribution.NODE_OFFSET_CHILD_OR_LIGHT]);
+				
+				if(childOrLight < 0) {
+					index = -childOrLight - 1;
+				} else {
+					final float importanceL = doLightBVHImportance(offset + LightBVHLightDistribution.NODE_LENGTH, surfaceIntersectionPointX, surfaceIntersectionPointY, surfaceIntersectionPointZ);
+					final float importanceR = doLightBVHImportance(nodeOffset + childOrLight * LightBVHLightDistribution.NODE_LENGTH, surfaceIntersectionPointX, surfaceIntersectionPointY, surfaceIntersectionPointZ);
+					final float importance = importanceL + importanceR;
+					
+					final float probabilityL = importance > 0.0F && importance <= Floats.MAX_VALUE ? importanceL / importance : 0.5F;
+					
+					if(sample < probabilityL) {
+						sample = min(sample / probabilityL, 0.99999994F);
+						
+						probabilityMassFunctionValue *= probabilityL;
+						
+						node = node + 1;
+					} else {
+						sample = min((sample - probabilityL) / (1.0F - probabilityL), 0.99999994F);
+						
+						probabilityMassFunctionValue *= 1.0F - probabilityL;
+						
+						node = childOrLight;
+					}
+				}
+			}
+		}
+		
+		if(probabilityMassFunctionValue <= 0.0F) {
+			color3FLHSSet(0.0F, 0.0F, 0.0F);
+			
+			return;
+		}
+		
+		final int light = super.lightIDAndOffsetArray[index];
+		final int lightID = (light >>> 16) & 0xFFFF;
+		final int lightOffset = lightToOffset(lightID, light & 0xFFFF);
+		
+		lightSet(lightID, lightOffset);
+		
+		doLightEstimateDirectLight(random(), random(), random(), random(), false);
+		
+		final float lightR = finiteOrZero(color3FLHSGetComponent1() / probabilityMassFunctionValue);
+		final float lightG = finiteOrZero(color3FLHSGetComponent2() / probabilityMassFunctionValue);
+		final float lightB = finiteOrZero(color3FLHSGetComponent3() / probabilityMassFunctionValue);
+		
+		color3FLHSSet(lightR, lightG, lightB);
+	}
+	
 	/**
 	 * Samples one {@link Light} instance using a uniform distribution.
 	 * <p>
@@ -1101,6 +942,405 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private boolean doPrimitiveBVHNodeContainsOrIntersects(final int primitiveBVHAxisAlignedBoundingBox3FArrayOffset, final float rayTMinimum, final float rayTMaximum) {
+		final int primitiveBVHAxisAlignedBoundingBox3FArrayOffsetAbsolute = primitiveBVHAxisAlignedBoundingBox3FArrayOffset * CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_LENGTH;
+		
+//		Retrieve the ray variables:
+		final float rayOriginX = ray3FGetOriginX();
+		final float rayOriginY = ray3FGetOriginY();
+		final float rayOriginZ = ray3FGetOriginZ();
+		final float rayDirectionReciprocalX = ray3FGetDirectionReciprocalX();
+		final float rayDirectionReciprocalY = ray3FGetDirectionReciprocalY();
+		final float rayDirectionReciprocalZ = ray3FGetDirectionReciprocalZ();
+		
+//		Retrieve the axis aligned bounding box variables:
+		final float axisAlignedBoundingBoxMaximumX = this.primitiveBVHAxisAlignedBoundingBox3FArray[primitiveBVHAxisAlignedBoundingBox3FArrayOffsetAbsolute + CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_OFFSET_MAXIMUM + 0];
+		final float axisAlignedBoundingBoxMaximumY = this.primitiveBVHAxisAlignedBoundingBox3FArray[primitiveBVHAxisAlignedBoundingBox3FArrayOffsetAbsolute + CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_OFFSET_MAXIMUM + 1];
+		final float axisAlignedBoundingBoxMaximumZ = this.primitiveBVHAxisAlignedBoundingBox3FArray[primitiveBVHAxisAlignedBoundingBox3FArrayOffsetAbsolute + CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_OFFSET_MAXIMUM + 2];
+		final float axisAlignedBoundingBoxMinimumX = this.primitiveBVHAxisAlignedBoundingBox3FArray[primitiveBVHAxisAlignedBoundingBox3FArrayOffsetAbsolute + CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_OFFSET_MINIMUM + 0];
+		final float axisAlignedBoundingBoxMinimumY = this.primitiveBVHAxisAlignedBoundingBox3FArray[primitiveBVHAxisAlignedBoundingBox3FArrayOffsetAbsolute + CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_OFFSET_MINIMUM + 1];
+		final float axisAlignedBoundingBoxMinimumZ = this.primitiveBVHAxisAlignedBoundingBox3FArray[primitiveBVHAxisAlignedBoundingBox3FArrayOffsetAbsolute + CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_OFFSET_MINIMUM + 2];
+		
+		final boolean containsX = rayOriginX >= axisAlignedBoundingBoxMinimumX && rayOriginX <= axisAlignedBoundingBoxMaximumX;
+		final boolean containsY = rayOriginY >= axisAlignedBoundingBoxMinimumY && rayOriginY <= axisAlignedBoundingBoxMaximumY;
+		final boolean containsZ = rayOriginZ >= axisAlignedBoundingBoxMinimumZ && rayOriginZ <= axisAlignedBoundingBoxMaximumZ;
+		
+		if(containsX && containsY && containsZ) {
+			return true;
+		}
+		
+//		Compute the intersection:
+		final float intersectionTMinimumX = (axisAlignedBoundingBoxMinimumX - rayOriginX) * rayDirectionReciprocalX;
+		final float intersectionTMinimumY = (axisAlignedBoundingBoxMinimumY - rayOriginY) * rayDirectionReciprocalY;
+		final float intersectionTMinimumZ = (axisAlignedBoundingBoxMinimumZ - rayOriginZ) * rayDirectionReciprocalZ;
+		final float intersectionTMaximumX = (axisAlignedBoundingBoxMaximumX - rayOriginX) * rayDirectionReciprocalX;
+		final float intersectionTMaximumY = (axisAlignedBoundingBoxMaximumY - rayOriginY) * rayDirectionReciprocalY;
+		final float intersectionTMaximumZ = (axisAlignedBoundingBoxMaximumZ - rayOriginZ) * rayDirectionReciprocalZ;
+		final float intersectionTMinimum = max(min(intersectionTMinimumX, intersectionTMaximumX), min(intersectionTMinimumY, intersectionTMaximumY), min(intersectionTMinimumZ, intersectionTMaximumZ));
+		final float intersectionTMaximum = min(max(intersectionTMinimumX, intersectionTMaximumX), max(intersectionTMinimumY, intersectionTMaximumY), max(intersectionTMinimumZ, intersectionTMaximumZ));
+		
+		if(intersectionTMinimum > intersectionTMaximum) {
+			return false;
+		}
+		
+		return intersectionTMinimum < rayTMaximum && intersectionTMaximum > rayTMinimum;
+	}
+	
+	private boolean doPrimitiveIntersectionTLHS(final int index) {
+		final int primitiveArrayOffset = index * CompiledPrimitiveCache.PRIMITIVE_LENGTH;
+		final int primitiveArrayOffsetBoundingVolumeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_ID;
+		final int primitiveArrayOffsetBoundingVolumeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_OFFSET;
+		final int primitiveArrayOffsetShapeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_ID;
+		final int primitiveArrayOffsetShapeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_OFFSET;
+		
+		final int boundingVolumeID = this.primitiveArray[primitiveArrayOffsetBoundingVolumeID];
+		final int boundingVolumeOffset = this.primitiveArray[primitiveArrayOffsetBoundingVolumeOffset];
+		final int shapeID = this.primitiveArray[primitiveArrayOffsetShapeID];
+		final int shapeOffset = this.primitiveArray[primitiveArrayOffsetShapeOffset];
+		
+		boolean isIntersecting = false;
+		
+		final float tMinimumWorldSpace = ray3FGetTMinimum();
+		final float tMaximumWorldSpace = ray3FGetTMaximum();
+		
+		boolean isIntersectingBoundingVolume = false;
+		
+//			Find out what causes the order of the if-statements to fail. If InfiniteBoundingVolume3F.ID is checked in the last if-statement, the plane will disappear.
+		if(boundingVolumeID == InfiniteBoundingVolume3F.ID) {
+			isIntersectingBoundingVolume = true;
+		} else if(boundingVolumeID == AxisAlignedBoundingBox3F.ID) {
+			isIntersectingBoundingVolume = boundingVolume3FAxisAlignedBoundingBox3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
+		} else if(boundingVolumeID == BoundingSphere3F.ID) {
+			isIntersectingBoundingVolume = boundingVolume3FBoundingSphere3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
+		}
+		
+		if(isIntersectingBoundingVolume) {
+			ray3FSetMatrix44FTransformWorldToObject(index);
+			
+			float tObjectSpace = 0.0F;
+			
+			final float tMinimumObjectSpace = ray3FGetTMinimum();
+			final float tMaximumObjectSpace = ray3FGetTMaximum();
+			
+			if(shapeID == Cone3F.ID) {
+				tObjectSpace = shape3FCone3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Cylinder3F.ID) {
+				tObjectSpace = shape3FCylinder3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Disk3F.ID) {
+				tObjectSpace = shape3FDisk3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Hyperboloid3F.ID) {
+				tObjectSpace = shape3FHyperboloid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Paraboloid3F.ID) {
+				tObjectSpace = shape3FParaboloid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Plane3F.ID) {
+				tObjectSpace = shape3FPlane3FIntersectionT(tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Polygon3F.ID) {
+				tObjectSpace = shape3FPolygon3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Rectangle3F.ID) {
+				tObjectSpace = shape3FRectangle3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == RectangularCuboid3F.ID) {
+				tObjectSpace = shape3FRectangularCuboid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Sphere3F.ID) {
+				tObjectSpace = shape3FSphere3FIntersectionT(tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Torus3F.ID) {
+				tObjectSpace = shape3FTorus3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Triangle3F.ID) {
+				tObjectSpace = shape3FTriangle3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == TriangleMesh3F.ID) {
+				tObjectSpace = shape3FTriangleMesh3FIntersectionTLHS(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			}
+			
+			if(tObjectSpace > tMinimumObjectSpace && tObjectSpace < tMaximumObjectSpace) {
+				ray3FSetTMaximum(tObjectSpace);
+				
+				isIntersecting = true;
+			}
+			
+			ray3FSetMatrix44FTransformObjectToWorld(index);
+		}
+		
+		return isIntersecting;
+	}
+	
+	private boolean doPrimitiveIntersectionTRHS(final int index) {
+		final int primitiveArrayOffset = index * CompiledPrimitiveCache.PRIMITIVE_LENGTH;
+		final int primitiveArrayOffsetBoundingVolumeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_ID;
+		final int primitiveArrayOffsetBoundingVolumeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_OFFSET;
+		final int primitiveArrayOffsetShapeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_ID;
+		final int primitiveArrayOffsetShapeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_OFFSET;
+		
+		final int boundingVolumeID = this.primitiveArray[primitiveArrayOffsetBoundingVolumeID];
+		final int boundingVolumeOffset = this.primitiveArray[primitiveArrayOffsetBoundingVolumeOffset];
+		final int shapeID = this.primitiveArray[primitiveArrayOffsetShapeID];
+		final int shapeOffset = this.primitiveArray[primitiveArrayOffsetShapeOffset];
+		
+		boolean isIntersecting = false;
+		
+		final float tMinimumWorldSpace = ray3FGetTMinimum();
+		final float tMaximumWorldSpace = ray3FGetTMaximum();
+		
+		boolean isIntersectingBoundingVolume = false;
+		
+//			Find out what causes the order of the if-statements to fail. If InfiniteBoundingVolume3F.ID is checked in the last if-statement, the plane will disappear.
+		if(boundingVolumeID == InfiniteBoundingVolume3F.ID) {
+			isIntersectingBoundingVolume = true;
+		} else if(boundingVolumeID == AxisAlignedBoundingBox3F.ID) {
+			isIntersectingBoundingVolume = boundingVolume3FAxisAlignedBoundingBox3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
+		} else if(boundingVolumeID == BoundingSphere3F.ID) {
+			isIntersectingBoundingVolume = boundingVolume3FBoundingSphere3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
+		}
+		
+		if(isIntersectingBoundingVolume) {
+			ray3FSetMatrix44FTransformWorldToObject(index);
+			
+			float tObjectSpace = 0.0F;
+			
+			final float tMinimumObjectSpace = ray3FGetTMinimum();
+			final float tMaximumObjectSpace = ray3FGetTMaximum();
+			
+			if(shapeID == Cone3F.ID) {
+				tObjectSpace = shape3FCone3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Cylinder3F.ID) {
+				tObjectSpace = shape3FCylinder3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Disk3F.ID) {
+				tObjectSpace = shape3FDisk3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Hyperboloid3F.ID) {
+				tObjectSpace = shape3FHyperboloid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Paraboloid3F.ID) {
+				tObjectSpace = shape3FParaboloid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Plane3F.ID) {
+				tObjectSpace = shape3FPlane3FIntersectionT(tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Polygon3F.ID) {
+				tObjectSpace = shape3FPolygon3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Rectangle3F.ID) {
+				tObjectSpace = shape3FRectangle3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == RectangularCuboid3F.ID) {
+				tObjectSpace = shape3FRectangularCuboid3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Sphere3F.ID) {
+				tObjectSpace = shape3FSphere3FIntersectionT(tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Torus3F.ID) {
+				tObjectSpace = shape3FTorus3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Triangle3F.ID) {
+				tObjectSpace = shape3FTriangle3FIntersectionT(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == TriangleMesh3F.ID) {
+				tObjectSpace = shape3FTriangleMesh3FIntersectionTRHS(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			}
+			
+			if(tObjectSpace > tMinimumObjectSpace && tObjectSpace < tMaximumObjectSpace) {
+				ray3FSetTMaximum(tObjectSpace);
+				
+				isIntersecting = true;
+			}
+			
+			ray3FSetMatrix44FTransformObjectToWorld(index);
+		}
+		
+		return isIntersecting;
+	}
+	
+	private boolean doPrimitiveIntersects(final int index) {
+		final int primitiveArrayOffset = index * CompiledPrimitiveCache.PRIMITIVE_LENGTH;
+		final int primitiveArrayOffsetBoundingVolumeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_ID;
+		final int primitiveArrayOffsetBoundingVolumeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_BOUNDING_VOLUME_OFFSET;
+		final int primitiveArrayOffsetShapeID = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_ID;
+		final int primitiveArrayOffsetShapeOffset = primitiveArrayOffset + CompiledPrimitiveCache.PRIMITIVE_OFFSET_SHAPE_OFFSET;
+		
+		final int boundingVolumeID = this.primitiveArray[primitiveArrayOffsetBoundingVolumeID];
+		final int boundingVolumeOffset = this.primitiveArray[primitiveArrayOffsetBoundingVolumeOffset];
+		final int shapeID = this.primitiveArray[primitiveArrayOffsetShapeID];
+		final int shapeOffset = this.primitiveArray[primitiveArrayOffsetShapeOffset];
+		
+		final float tMinimumWorldSpace = ray3FGetTMinimum();
+		final float tMaximumWorldSpace = ray3FGetTMaximum();
+		
+		boolean isIntersectingBoundingVolume = false;
+		
+//			Find out what causes the order of the if-statements to fail. If InfiniteBoundingVolume3F.ID is checked in the last if-statement, the plane will disappear.
+		if(boundingVolumeID == InfiniteBoundingVolume3F.ID) {
+			isIntersectingBoundingVolume = true;
+		} else if(boundingVolumeID == AxisAlignedBoundingBox3F.ID) {
+			isIntersectingBoundingVolume = boundingVolume3FAxisAlignedBoundingBox3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
+		} else if(boundingVolumeID == BoundingSphere3F.ID) {
+			isIntersectingBoundingVolume = boundingVolume3FBoundingSphere3FContainsOrIntersects(boundingVolumeOffset, tMinimumWorldSpace, tMaximumWorldSpace);
+		}
+		
+		if(isIntersectingBoundingVolume) {
+			ray3FSetMatrix44FTransformWorldToObject(index);
+			
+			boolean isIntersectingShape = false;
+			
+			final float tMinimumObjectSpace = ray3FGetTMinimum();
+			final float tMaximumObjectSpace = ray3FGetTMaximum();
+			
+			if(shapeID == Cone3F.ID) {
+				isIntersectingShape = shape3FCone3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Cylinder3F.ID) {
+				isIntersectingShape = shape3FCylinder3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Disk3F.ID) {
+				isIntersectingShape = shape3FDisk3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Hyperboloid3F.ID) {
+				isIntersectingShape = shape3FHyperboloid3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Paraboloid3F.ID) {
+				isIntersectingShape = shape3FParaboloid3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Plane3F.ID) {
+				isIntersectingShape = shape3FPlane3FIntersects(tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Polygon3F.ID) {
+				isIntersectingShape = shape3FPolygon3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Rectangle3F.ID) {
+				isIntersectingShape = shape3FRectangle3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == RectangularCuboid3F.ID) {
+				isIntersectingShape = shape3FRectangularCuboid3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Sphere3F.ID) {
+				isIntersectingShape = shape3FSphere3FIntersects(tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Torus3F.ID) {
+				isIntersectingShape = shape3FTorus3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == Triangle3F.ID) {
+				isIntersectingShape = shape3FTriangle3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			} else if(shapeID == TriangleMesh3F.ID) {
+				isIntersectingShape = shape3FTriangleMesh3FIntersects(shapeOffset, tMinimumObjectSpace, tMaximumObjectSpace);
+			}
+			
+			ray3FSetMatrix44FTransformObjectToWorld(index);
+			
+			return isIntersectingShape;
+		}
+		
+		return false;
+	}
+	
+	private float doLightBVHImportance(final int offset, final float surfaceIntersectionPointX, final float surfaceIntersectionPointY, final float surfaceIntersectionPointZ) {
+		final float minimumX = super.lightBVHArray[offset + LightBVHLightDistribution.NODE_OFFSET_MINIMUM + 0];
+		final float minimumY = super.lightBVHArray[offset + LightBVHLightDistribution.NODE_OFFSET_MINIMUM + 1];
+		final float minimumZ = super.lightBVHArray[offset + LightBVHLightDistribution.NODE_OFFSET_MINIMUM + 2];
+		final float maximumX = super.lightBVHArray[offset + LightBVHLightDistribution.NODE_OFFSET_MAXIMUM + 0];
+		final float maximumY = super.lightBVHArray[offset + LightBVHLightDistribution.NODE_OFFSET_MAXIMUM + 1];
+		final float maximumZ = super.lightBVHArray[offset + LightBVHLightDistribution.NODE_OFFSET_MAXIMUM + 2];
+		
+		final float radiusX = (maximumX - minimumX) * 0.5F;
+		final float radiusY = (maximumY - minimumY) * 0.5F;
+		final float radiusZ = (maximumZ - minimumZ) * 0.5F;
+		final float radiusSquared = radiusX * radiusX + radiusY * radiusY + radiusZ * radiusZ;
+		
+		final float deltaX = surfaceIntersectionPointX - (minimumX + radiusX);
+		final float deltaY = surfaceIntersectionPointY - (minimumY + radiusY);
+		final float deltaZ = surfaceIntersectionPointZ - (minimumZ + radiusZ);
+		final float distanceSquared = deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ;
+		
+		return super.lightBVHArray[offset + LightBVHLightDistribution.NODE_OFFSET_POWER] / max(max(distanceSquared, radiusSquared), 1.0E-6F);
+	}
+	
+	private float[] doPut(final float[] array) {
+		put(array);
+		
+		doUpdateUploadByteCount(array.length * 4L);
+		
+		return array;
+	}
+	
+	private float[] doPut(final float[] oldArray, final float[] newArray) {
+		final float[] array = newArray.length > 0 ? newArray : oldArray.length == 1 ? oldArray : new float[1];
+		
+		return array != oldArray ? doPut(array) : oldArray;
+	}
+	
+	private int doPrimitiveIntersectionLHS() {
+		int primitiveIndex = -1;
+		
+		for(int i = 0; i < this.primitiveInfiniteCount; i++) {
+			final int index = this.primitiveInfiniteArray[i];
+			
+			if(doPrimitiveIntersectionTLHS(index)) {
+				primitiveIndex = index;
+			}
+		}
+		
+//		The BVH is only traversed if it contains any primitives:
+		int offset = this.primitiveCount > this.primitiveInfiniteCount ? 0 : -1;
+		
+		while(offset != -1) {
+			final int id = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_ID];
+			final int boundingVolumeOffset = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_BOUNDING_VOLUME_OFFSET];
+			final int nextOffset = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_NEXT_OFFSET];
+			final int leftOffsetOrPrimitiveCount = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_LEFT_OFFSET_OR_PRIMITIVE_COUNT];
+			
+			final boolean isIntersectingBoundingVolume = doPrimitiveBVHNodeContainsOrIntersects(boundingVolumeOffset, ray3FGetTMinimum(), ray3FGetTMaximum());
+			
+			if(isIntersectingBoundingVolume && id == LeafBVHNode3F.ID) {
+				for(int i = 0; i < leftOffsetOrPrimitiveCount; i++) {
+					final int index = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_PRIMITIVE_INDICES + i];
+					
+					if(doPrimitiveIntersectionTLHS(index)) {
+						primitiveIndex = index;
+					}
+				}
+				
+				offset = nextOffset;
+			} else if(isIntersectingBoundingVolume && id == TreeBVHNode3F.ID) {
+				offset = leftOffsetOrPrimitiveCount;
+			} else {
+				offset = nextOffset;
+			}
+		}
+		
+		return primitiveIndex;
+	}
+	
+	private int doPrimitiveIntersectionRHS() {
+		int primitiveIndex = -1;
+		
+		for(int i = 0; i < this.primitiveInfiniteCount; i++) {
+			final int index = this.primitiveInfiniteArray[i];
+			
+			if(doPrimitiveIntersectionTRHS(index)) {
+				primitiveIndex = index;
+			}
+		}
+		
+//		The BVH is only traversed if it contains any primitives:
+		int offset = this.primitiveCount > this.primitiveInfiniteCount ? 0 : -1;
+		
+		while(offset != -1) {
+			final int id = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_ID];
+			final int boundingVolumeOffset = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_BOUNDING_VOLUME_OFFSET];
+			final int nextOffset = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_NEXT_OFFSET];
+			final int leftOffsetOrPrimitiveCount = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_LEFT_OFFSET_OR_PRIMITIVE_COUNT];
+			
+			final boolean isIntersectingBoundingVolume = doPrimitiveBVHNodeContainsOrIntersects(boundingVolumeOffset, ray3FGetTMinimum(), ray3FGetTMaximum());
+			
+			if(isIntersectingBoundingVolume && id == LeafBVHNode3F.ID) {
+				for(int i = 0; i < leftOffsetOrPrimitiveCount; i++) {
+					final int index = this.primitiveBVHNodeArray[offset + CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_PRIMITIVE_INDICES + i];
+					
+					if(doPrimitiveIntersectionTRHS(index)) {
+						primitiveIndex = index;
+					}
+				}
+				
+				offset = nextOffset;
+			} else if(isIntersectingBoundingVolume && id == TreeBVHNode3F.ID) {
+				offset = leftOffsetOrPrimitiveCount;
+			} else {
+				offset = nextOffset;
+			}
+		}
+		
+		return primitiveIndex;
+	}
+	
+	private int[] doPut(final int[] array) {
+		put(array);
+		
+		doUpdateUploadByteCount(array.length * 4L);
+		
+		return array;
+	}
+	
+	private int[] doPut(final int[] oldArray, final int[] newArray) {
+		final int[] array = newArray.length > 0 ? newArray : oldArray.length == 1 ? oldArray : new int[1];
+		
+		return array != oldArray ? doPut(array) : oldArray;
+	}
+	
 	private void doIntersectionTransformLHS(final int primitiveMatrix44FArrayOffsetMatrix, final int primitiveMatrix44FArrayOffsetMatrixInverse) {
 //		Retrieve the matrix elements:
 		final float matrixElement11 = this.primitiveMatrix44FArray[primitiveMatrix44FArrayOffsetMatrix + Matrix44F.ARRAY_OFFSET_ELEMENT_1_1];
@@ -1779,64 +2019,68 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 		
 		final CompiledScene compiledScene = sceneCompiler.compile(getScene());
 		
-		put(super.boundingVolume3FAxisAlignedBoundingBox3FArray = doGetCompatibleArray(compiledScene.getCompiledBoundingVolume3FCache().getAxisAlignedBoundingBox3Fs()));
-		put(super.boundingVolume3FBoundingSphere3FArray = doGetCompatibleArray(compiledScene.getCompiledBoundingVolume3FCache().getBoundingSphere3Fs()));
-		
-		put(super.shape3FCone3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getCone3Fs()));
-		put(super.shape3FCylinder3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getCylinder3Fs()));
-		put(super.shape3FDisk3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getDisk3Fs()));
-		put(super.shape3FHyperboloid3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getHyperboloid3Fs()));
-		put(super.shape3FParaboloid3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getParaboloid3Fs()));
-		put(super.shape3FPolygon3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getPolygon3Fs()));
-		put(super.shape3FRectangle3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getRectangle3Fs()));
-		put(super.shape3FRectangularCuboid3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getRectangularCuboid3Fs()));
-		put(super.shape3FTorus3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getTorus3Fs()));
-		put(super.shape3FTriangle3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getTriangle3Fs()));
-		put(super.shape3FTriangleMesh3FArray = doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getTriangleMesh3Fs()));
-		
-		put(super.textureBlendTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getBlendTextures()));
-		put(super.textureBullseyeTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getBullseyeTextures()));
-		put(super.textureCheckerboardTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getCheckerboardTextures()));
-		put(super.textureConstantTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getConstantTextures()));
-		put(super.textureLDRImageTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getLDRImageTextures()));
-		put(super.textureLDRImageTextureOffsetArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getLDRImageTextureOffsets()));
-		put(super.textureMarbleTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getMarbleTextures()));
-		put(super.texturePolkaDotTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getPolkaDotTextures()));
-		put(super.textureSimplexFractionalBrownianMotionTextureArray = doGetCompatibleArray(compiledScene.getCompiledTextureCache().getSimplexFractionalBrownianMotionTextures()));
-		
-		put(super.materialBullseyeMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getBullseyeMaterials()));
-		put(super.materialCheckerboardMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getCheckerboardMaterials()));
-		put(super.materialClearCoatMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getClearCoatMaterials()));
-		put(super.materialDisneyMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getDisneyMaterials()));
-		put(super.materialGlassMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getGlassMaterials()));
-		put(super.materialGlossyMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getGlossyMaterials()));
-		put(super.materialMatteMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getMatteMaterials()));
-		put(super.materialMetalMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getMetalMaterials()));
-		put(super.materialMirrorMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getMirrorMaterials()));
-		put(super.materialPlasticMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getPlasticMaterials()));
-		put(super.materialPolkaDotMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getPolkaDotMaterials()));
-		put(super.materialSubstrateMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getSubstrateMaterials()));
-		put(super.materialTranslucentMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getTranslucentMaterials()));
-		put(super.materialUberMaterialArray = doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getUberMaterials()));
-		
-		put(super.modifierNormalMapLDRImageModifierArray = doGetCompatibleArray(compiledScene.getCompiledModifierCache().getNormalMapLDRImageModifiers()));
-		put(super.modifierNormalMapLDRImageModifierOffsetArray = doGetCompatibleArray(compiledScene.getCompiledModifierCache().getNormalMapLDRImageModifierOffsets()));
-		put(super.modifierSimplexNoiseNormalMapModifierArray = doGetCompatibleArray(compiledScene.getCompiledModifierCache().getSimplexNoiseNormalMapModifiers()));
-		
-		put(super.lightIDAndOffsetArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getLightIDsAndOffsets()));
-		put(super.lightDiffuseAreaLightArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getDiffuseAreaLights()));
-		put(super.lightDirectionalLightArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getDirectionalLights()));
-		put(super.lightImageLightArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getImageLights()));
-		put(super.lightImageLightOffsetArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getImageLightOffsets()));
-		put(super.lightPerezLightArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getPerezLights()));
-		put(super.lightPerezLightOffsetArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getPerezLightOffsets()));
-		put(super.lightPointLightArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getPointLights()));
-		put(super.lightSpotLightArray = doGetCompatibleArray(compiledScene.getCompiledLightCache().getSpotLights()));
-		
-		put(this.cameraArray = doGetCompatibleArray(compiledScene.getCompiledCameraCache().getCamera()));
-		
-		put(this.primitiveArray = doGetCompatibleArray(compiledScene.getCompiledPrimitiveCache().getPrimitives()));
-		put(this.primitiveMatrix44FArray = doGetCompatibleArray(compiledScene.getCompiledPrimitiveCache().getMatrix44Fs()));
+		super.boundingVolume3FAxisAlignedBoundingBox3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledBoundingVolume3FCache().getAxisAlignedBoundingBox3Fs()));
+		super.boundingVolume3FBoundingSphere3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledBoundingVolume3FCache().getBoundingSphere3Fs()));
+		
+		super.shape3FCone3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getCone3Fs()));
+		super.shape3FCylinder3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getCylinder3Fs()));
+		super.shape3FDisk3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getDisk3Fs()));
+		super.shape3FHyperboloid3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getHyperboloid3Fs()));
+		super.shape3FParaboloid3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getParaboloid3Fs()));
+		super.shape3FPolygon3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getPolygon3Fs()));
+		super.shape3FRectangle3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getRectangle3Fs()));
+		super.shape3FRectangularCuboid3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getRectangularCuboid3Fs()));
+		super.shape3FTorus3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getTorus3Fs()));
+		super.shape3FTriangle3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getTriangle3Fs()));
+		super.shape3FTriangleMesh3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledShape3FCache().getTriangleMesh3Fs()));
+		
+		super.textureBlendTextureArray = doPut(doGetCompatibleArray(compiledScene.getCompiledTextureCache().getBlendTextures()));
+		super.textureBullseyeTextureArray = doPut(doGetCompatibleArray(compiledScene.getCompiledTextureCache().getBullseyeTextures()));
+		super.textureCheckerboardTextureArray = doPut(doGetCompatibleArray(compiledScene.getCompiledTextureCache().getCheckerboardTextures()));
+		super.textureConstantTextureArray = doPut(doGetCompatibleArray(compiledScene.getCompiledTextureCache().getConstantTextures()));
+		super.textureLDRImageTextureArray = doPut(doGetCompatibleArray(compiledScene.getCompiledTextureCache().getLDRImageTextures()));
+		super.textureLDRImageTextureOffsetArray = doPut(doGetCompatibleArray(compiledScene.getCompiledTextureCache().getLDRImageTextureOffsets()));
+		super.textureMarbleTextureArray = doPut(doGetCompatibleArray(compiledScene.getCompiledTextureCache().getMarbleTextures()));
+		super.texturePolkaDotTextureArray = doPut(doGetCompatibleArray(compiledScene.getCompiledTextureCache().getPolkaDotTextures()));
+		super.textureSimplexFractionalBrownianMotionTextureArray = doPut(doGetCompatibleArray(compiledScene.getCompiledTextureCache().getSimplexFractionalBrownianMotionTextures()));
+		
+		super.materialBullseyeMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getBullseyeMaterials()));
+		super.materialCheckerboardMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getCheckerboardMaterials()));
+		super.materialClearCoatMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getClearCoatMaterials()));
+		super.materialDisneyMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getDisneyMaterials()));
+		super.materialGlassMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getGlassMaterials()));
+		super.materialGlossyMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getGlossyMaterials()));
+		super.materialMatteMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getMatteMaterials()));
+		super.materialMetalMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getMetalMaterials()));
+		super.materialMirrorMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getMirrorMaterials()));
+		super.materialPlasticMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getPlasticMaterials()));
+		super.materialPolkaDotMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getPolkaDotMaterials()));
+		super.materialSubstrateMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getSubstrateMaterials()));
+		super.materialTranslucentMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getTranslucentMaterials()));
+		super.materialUberMaterialArray = doPut(doGetCompatibleArray(compiledScene.getCompiledMaterialCache().getUberMaterials()));
+		
+		super.modifierNormalMapLDRImageModifierArray = doPut(doGetCompatibleArray(compiledScene.getCompiledModifierCache().getNormalMapLDRImageModifiers()));
+		super.modifierNormalMapLDRImageModifierOffsetArray = doPut(doGetCompatibleArray(compiledScene.getCompiledModifierCache().getNormalMapLDRImageModifierOffsets()));
+		super.modifierSimplexNoiseNormalMapModifierArray = doPut(doGetCompatibleArray(compiledScene.getCompiledModifierCache().getSimplexNoiseNormalMapModifiers()));
+		
+		super.lightIDAndOffsetArray = doPut(doGetCompatibleArray(compiledScene.getCompiledLightCache().getLightIDsAndOffsets()));
+		super.lightBVHArray = doPut(doGetCompatibleArray(compiledScene.getCompiledLightCache().getLightBVH()));
+		super.lightDiffuseAreaLightArray = doPut(doGetCompatibleArray(compiledScene.getCompiledLightCache().getDiffuseAreaLights()));
+		super.lightDirectionalLightArray = doPut(doGetCompatibleArray(compiledScene.getCompiledLightCache().getDirectionalLights()));
+		super.lightImageLightArray = doPut(doGetCompatibleArray(compiledScene.getCompiledLightCache().getImageLights()));
+		super.lightImageLightOffsetArray = doPut(doGetCompatibleArray(compiledScene.getCompiledLightCache().getImageLightOffsets()));
+		super.lightPerezLightArray = doPut(doGetCompatibleArray(compiledScene.getCompiledLightCache().getPerezLights()));
+		super.lightPerezLightOffsetArray = doPut(doGetCompatibleArray(compiledScene.getCompiledLightCache().getPerezLightOffsets()));
+		super.lightPointLightArray = doPut(doGetCompatibleArray(compiledScene.getCompiledLightCache().getPointLights()));
+		super.lightSpotLightArray = doPut(doGetCompatibleArray(compiledScene.getCompiledLightCache().getSpotLights()));
+		
+		this.cameraArray = doPut(doGetCompatibleArray(compiledScene.getCompiledCameraCache().getCamera()));
+		
+		this.primitiveArray = doPut(doGetCompatibleArray(compiledScene.getCompiledPrimitiveCache().getPrimitives()));
+		this.primitiveMatrix44FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledPrimitiveCache().getMatrix44Fs()));
+		this.primitiveBVHAxisAlignedBoundingBox3FArray = doPut(doGetCompatibleArray(compiledScene.getCompiledPrimitiveCache().getBVHAxisAlignedBoundingBox3Fs()));
+		this.primitiveBVHNodeArray = doPut(doGetCompatibleArray(compiledScene.getCompiledPrimitiveCache().getBVHNodes()));
+		this.primitiveInfiniteArray = doPut(doGetCompatibleArray(compiledScene.getCompiledPrimitiveCache().getInfinitePrimitives()));
 		
 		super.lightCount = compiledScene.getCompiledLightCache().getLightCount();
 		super.lightDiffuseAreaLightCount = compiledScene.getCompiledLightCache().getDiffuseAreaLightCount();
@@ -1847,10 +2091,16 @@ public abstract class AbstractSceneKernel extends AbstractLightKernel {
 		super.lightSpotLightCount = compiledScene.getCompiledLightCache().getSpotLightCount();
 		
 		this.primitiveCount = compiledScene.getCompiledPrimitiveCache().getPrimitiveCount();
+		this.primitiveInfiniteCount = compiledScene.getCompiledPrimitiveCache().getInfinitePrimitiveCount();
 		
 		this.compiledScene = compiledScene;
 	}
 	
+	private void doUpdateUploadByteCount(final long byteCount) {
+		this.uploadByteCount.addAndGet(byteCount);
+		this.uploadByteCountPending.addAndGet(byteCount);
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private static float[] doGetCompatibleArray(final float[] array) {
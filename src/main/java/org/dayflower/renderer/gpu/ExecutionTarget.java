@@ -0,0 +1,85 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.renderer.gpu;
+
+import java.util.Objects;
+
+/**
+ * An {@code ExecutionTarget} represents where an {@link AbstractGPURenderer} instance executes its kernel.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public enum ExecutionTarget {
+	/**
+	 * An {@code ExecutionTarget} that lets Aparapi select the device.
+	 * <p>
+	 * Aparapi prefers an OpenCL device and falls back to its Java thread pool if no OpenCL device is available. When falling back, the work-group size chosen for the OpenCL device decides the number of threads.
+	 */
+	AUTOMATIC("Automatic", "Automatic"),
+	
+	/**
+	 * An {@code ExecutionTarget} that executes the kernel on the CPU using the Java thread pool of Aparapi.
+	 * <p>
+	 * The range is created for CPU execution, with one work-item per thread in each work-group.
+	 */
+	JAVA_THREAD_POOL("JavaThreadPool", "Java Thread Pool");
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final String name;
+	private final String nameExternal;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private ExecutionTarget(final String name, final String nameExternal) {
+		this.name = Objects.requireNonNull(name, "name == null");
+		this.nameExternal = Objects.requireNonNull(nameExternal, "nameExternal == null");
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the name of this {@code ExecutionTarget} instance.
+	 * 
+	 * @return the name of this {@code ExecutionTarget} instance
+	 */
+	public String getName() {
+		return this.name;
+	}
+	
+	/**
+	 * Returns the name of this {@code ExecutionTarget} instance in external form.
+	 * 
+	 * @return the name of this {@code ExecutionTarget} instance in external form
+	 */
+	public String getNameExternal() {
+		return this.nameExternal;
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code ExecutionTarget} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code ExecutionTarget} instance
+	 */
+	@Override
+	public String toString() {
+		return this.nameExternal;
+	}
+}
@@ -60,19 +60,23 @@ public final class GPURenderer extends AbstractGPURenderer {
 	
 	/**
 	 * Runs the rendering on the GPU or CPU.
+	 * <p>
+	 * The range may be padded beyond the resolution, so work-items without a pixel do nothing. If adaptive sampling is enabled, work-items with a converged pixel do nothing either.
 	 */
 	@Override
 	public void run() {
-		if(renderingAlgorithmIsAmbientOcclusion()) {
-			doRunAmbientOcclusion(getMaximumDistance(), getSamples());
-		} else if(renderingAlgorithmIsDepthCamera()) {
-			doRunDepthCamera();
-		} else if(renderingAlgorithmIsPathTracing()) {
-			doRunPathTracing(getMaximumBounce(), getMinimumBounceRussianRoulette());
-		} else if(renderingAlgorithmIsRayCasting()) {
-			doRunRayCasting();
-		} else if(renderingAlgorithmIsRayTracing()) {
-			doRunRayTracing();
+		if(getGlobalId() < getResolution() && !filmIsConverged()) {
+			if(renderingAlgorithmIsAmbientOcclusion()) {
+				doRunAmbientOcclusion(getMaximumDistance(), getSamples());
+			} else if(renderingAlgorithmIsDepthCamera()) {
+				doRunDepthCamera();
+			} else if(renderingAlgorithmIsPathTracing()) {
+				doRunPathTracing(getMaximumBounce(), getMinimumBounceRussianRoulette());
+			} else if(renderingAlgorithmIsRayCasting()) {
+				doRunRayCasting();
+			} else if(renderingAlgorithmIsRayTracing()) {
+				doRunRayTracing();
+			}
 		}
 	}
 	
@@ -202,10 +206,10 @@ public final class GPURenderer extends AbstractGPURenderer {
 					if(materialBSDFCompute(primitiveGetMaterialIDLHS(), primitiveGetMaterialOffsetLHS(), rayDirectionX, rayDirectionY, rayDirectionZ)) {
 						if(materialBSDFCountBXDFsBySpecularType(false) > 0) {
 							/*
-							 * A call to lightSampleOneLightUniformDistribution() will start of with a ray in world space and end up with the same ray in world space.
+							 * A call to lightSampleOneLightLightBVHDistribution() will start of with a ray in world space and end up with the same ray in world space.
 							 */
 							
-							lightSampleOneLightUniformDistribution();
+							lightSampleOneLightLightBVHDistribution();
 							
 							radianceR += throughputR * color3FLHSGetR();
 							radianceG += throughputG * color3FLHSGetG();
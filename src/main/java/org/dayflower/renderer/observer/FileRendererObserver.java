@@ -18,8 +18,19 @@
  */
 package org.dayflower.renderer.observer;
 
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
 
 import org.dayflower.image.ImageF;
 import org.dayflower.renderer.ProgressiveImageOrderRenderer;
@@ -28,16 +39,34 @@ import org.dayflower.renderer.RendererObserver;
 
 /**
  * A {@code FileRendererObserver} is a {@link RendererObserver} implementation that writes the {@link ImageF} to a file.
+ * <p>
+ * By default the {@code ImageF} is saved synchronously on the thread that calls {@link #onRenderDisplay(Renderer, ImageF)}. If asynchronous saving is enabled, that thread only takes a snapshot of the {@code ImageF} into a reusable
+ * back buffer. A background thread swaps the back buffer with its front buffer, encodes the front buffer as PNG and writes it to a temporary file, which is then moved to the target file. Readers of the target file will therefore never
+ * see a partially written image. If a snapshot is taken while the background thread is busy, it replaces the snapshot that is still waiting to be saved, so saves are coalesced rather than queued.
+ * <p>
+ * Call {@link #flush()} before exiting to make sure the last snapshot has been written.
  * 
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
  */
 public final class FileRendererObserver implements RendererObserver {
+	private BufferedImage bufferedImageBack;
+	private BufferedImage bufferedImageFront;
+	private final ExecutorService executorService;
 	private final File file;
+	private final Object lock;
+	private RuntimeException exception;
+	private final boolean isAsynchronous;
 	private final boolean isPrintingOnComplete;
 	private final boolean isPrintingOnDisplay;
 	private final boolean isPrintingOnProgress;
+	private boolean isSavePending;
+	private boolean isSaving;
 	private final int renderPassesPerFileSave;
+	private int coalescedSaveCount;
+	private int saveCount;
+	private long encodingTimeNanos;
+	private long snapshotTimeNanos;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -141,6 +170,13 @@ public final class FileRendererObserver implements RendererObserver {
 	 * Constructs a new {@code FileRendererObserver} instance.
 	 * <p>
 	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new FileRendererObserver(file, isPrintingOnComplete, isPrintingOnProgress, isPrintingOnDisplay, renderPassesPerFileSave, false);
+	 * }
+	 * </pre>
 	 * 
 	 * @param file a {@code File} instance
 	 * @param isPrintingOnComplete {@code true} if, and only if, printing to standard output on complete should be enabled, {@code false} otherwise
@@ -150,11 +186,40 @@ public final class FileRendererObserver implements RendererObserver {
 	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
 	 */
 	public FileRendererObserver(final File file, final boolean isPrintingOnComplete, final boolean isPrintingOnProgress, final boolean isPrintingOnDisplay, final int renderPassesPerFileSave) {
+		this(file, isPrintingOnComplete, isPrintingOnProgress, isPrintingOnDisplay, renderPassesPerFileSave, false);
+	}
+	
+	/**
+	 * Constructs a new {@code FileRendererObserver} instance.
+	 * <p>
+	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param file a {@code File} instance
+	 * @param isPrintingOnComplete {@code true} if, and only if, printing to standard output on complete should be enabled, {@code false} otherwise
+	 * @param isPrintingOnProgress {@code true} if, and only if, printing to standard output on progress should be enabled, {@code false} otherwise
+	 * @param isPrintingOnDisplay {@code true} if, and only if, printing to standard output on display should be enabled, {@code false} otherwise
+	 * @param renderPassesPerFileSave the number of render passes per file save
+	 * @param isAsynchronous {@code true} if, and only if, the file should be encoded and written on a background thread, {@code false} otherwise
+	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
+	 */
+	public FileRendererObserver(final File file, final boolean isPrintingOnComplete, final boolean isPrintingOnProgress, final boolean isPrintingOnDisplay, final int renderPassesPerFileSave, final boolean isAsynchronous) {
+		this.bufferedImageBack = null;
+		this.bufferedImageFront = null;
+		this.executorService = isAsynchronous ? Executors.newSingleThreadExecutor(FileRendererObserver::doCreateThread) : null;
 		this.file = Objects.requireNonNull(file, "file == null");
+		this.lock = new Object();
+		this.exception = null;
+		this.isAsynchronous = isAsynchronous;
 		this.isPrintingOnComplete = isPrintingOnComplete;
 		this.isPrintingOnProgress = isPrintingOnProgress;
 		this.isPrintingOnDisplay = isPrintingOnDisplay;
+		this.isSavePending = false;
+		this.isSaving = false;
 		this.renderPassesPerFileSave = renderPassesPerFileSave;
+		this.coalescedSaveCount = 0;
+		this.saveCount = 0;
+		this.encodingTimeNanos = 0L;
+		this.snapshotTimeNanos = 0L;
 	}
 	
 	/**
@@ -247,7 +312,7 @@ public final class FileRendererObserver implements RendererObserver {
 	 * Calling this constructor is equivalent to the following:
 	 * <pre>
 	 * {@code
-	 * new FileRendererObserver(new File(pathname), isPrintingOnComplete, isPrintingOnProgress, isPrintingOnDisplay, renderPassesPerFileSave);
+	 * new FileRendererObserver(pathname, isPrintingOnComplete, isPrintingOnProgress, isPrintingOnDisplay, renderPassesPerFileSave, false);
 	 * }
 	 * </pre>
 	 * 
@@ -259,19 +324,130 @@ public final class FileRendererObserver implements RendererObserver {
 	 * @throws NullPointerException thrown if, and only if, {@code pathname} is {@code null}
 	 */
 	public FileRendererObserver(final String pathname, final boolean isPrintingOnComplete, final boolean isPrintingOnProgress, final boolean isPrintingOnDisplay, final int renderPassesPerFileSave) {
-		this(new File(pathname), isPrintingOnComplete, isPrintingOnProgress, isPrintingOnDisplay, renderPassesPerFileSave);
+		this(pathname, isPrintingOnComplete, isPrintingOnProgress, isPrintingOnDisplay, renderPassesPerFileSave, false);
+	}
+	
+	/**
+	 * Constructs a new {@code FileRendererObserver} instance.
+	 * <p>
+	 * If {@code pathname} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new FileRendererObserver(new File(pathname), isPrintingOnComplete, isPrintingOnProgress, isPrintingOnDisplay, renderPassesPerFileSave, isAsynchronous);
+	 * }
+	 * </pre>
+	 * 
+	 * @param pathname a {@code String} instance with the pathname to a {@code File} instance
+	 * @param isPrintingOnComplete {@code true} if, and only if, printing to standard output on complete should be enabled, {@code false} otherwise
+	 * @param isPrintingOnProgress {@code true} if, and only if, printing to standard output on progress should be enabled, {@code false} otherwise
+	 * @param isPrintingOnDisplay {@code true} if, and only if, printing to standard output on display should be enabled, {@code false} otherwise
+	 * @param renderPassesPerFileSave the number of render passes per file save
+	 * @param isAsynchronous {@code true} if, and only if, the file should be encoded and written on a background thread, {@code false} otherwise
+	 * @throws NullPointerException thrown if, and only if, {@code pathname} is {@code null}
+	 */
+	public FileRendererObserver(final String pathname, final boolean isPrintingOnComplete, final boolean isPrintingOnProgress, final boolean isPrintingOnDisplay, final int renderPassesPerFileSave, final boolean isAsynchronous) {
+		this(new File(pathname), isPrintingOnComplete, isPrintingOnProgress, isPrintingOnDisplay, renderPassesPerFileSave, isAsynchronous);
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Returns {@code true} if, and only if, the file is encoded and written on a background thread, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, the file is encoded and written on a background thread, {@code false} otherwise
+	 */
+	public boolean isAsynchronous() {
+		return this.isAsynchronous;
+	}
+	
+	/**
+	 * Returns the number of snapshots that replaced a snapshot that was still waiting to be saved.
+	 * <p>
+	 * This method always returns {@code 0} if this {@code FileRendererObserver} instance is not asynchronous.
+	 * 
+	 * @return the number of snapshots that replaced a snapshot that was still waiting to be saved
+	 */
+	public int getCoalescedSaveCount() {
+		synchronized(this.lock) {
+			return this.coalescedSaveCount;
+		}
+	}
+	
+	/**
+	 * Returns the number of times the file has been written.
+	 * 
+	 * @return the number of times the file has been written
+	 */
+	public int getSaveCount() {
+		synchronized(this.lock) {
+			return this.saveCount;
+		}
+	}
+	
+	/**
+	 * Returns the total number of nanoseconds spent encoding and writing the file.
+	 * <p>
+	 * In asynchronous mode, this time is spent on the background thread.
+	 * 
+	 * @return the total number of nanoseconds spent encoding and writing the file
+	 */
+	public long getEncodingTimeNanos() {
+		synchronized(this.lock) {
+			return this.encodingTimeNanos;
+		}
+	}
+	
+	/**
+	 * Returns the total number of nanoseconds spent taking snapshots of the {@link ImageF} on the render thread.
+	 * <p>
+	 * This method always returns {@code 0L} if this {@code FileRendererObserver} instance is not asynchronous.
+	 * 
+	 * @return the total number of nanoseconds spent taking snapshots of the {@code ImageF} on the render thread
+	 */
+	public long getSnapshotTimeNanos() {
+		synchronized(this.lock) {
+			return this.snapshotTimeNanos;
+		}
+	}
+	
+	/**
+	 * Waits until the last snapshot has been written to the file.
+	 * <p>
+	 * If an I/O error occurred in the background thread, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * This method returns immediately if this {@code FileRendererObserver} instance is not asynchronous.
+	 * 
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurred in the background thread
+	 */
+	public void flush() {
+		synchronized(this.lock) {
+			while(this.isSaving) {
+				try {
+					this.lock.wait();
+				} catch(final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					
+					break;
+				}
+			}
+			
+			doThrowException();
+		}
+	}
+	
 	/**
 	 * This method is called by {@code renderer} when {@code image} should be displayed.
 	 * <p>
 	 * If either {@code renderer} or {@code image} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown. In asynchronous mode, this is an I/O error that occurred in the background thread since the previous call.
 	 * 
 	 * @param renderer the {@link Renderer} instance that called this method
 	 * @param image the {@link ImageF} instance that is rendered to
 	 * @throws NullPointerException thrown if, and only if, either {@code renderer} or {@code image} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
 	 */
 	@Override
 	public void onRenderDisplay(final Renderer renderer, final ImageF image) {
@@ -284,18 +460,10 @@ public final class FileRendererObserver implements RendererObserver {
 			final int renderPass = progressiveImageOrderRenderer.getRenderPass();
 			
 			if(renderPass % this.renderPassesPerFileSave == 0) {
-				if(this.isPrintingOnDisplay) {
-					System.out.printf("Saving image to \"%s\"...%n", this.file.getPath());
-				}
-				
-				image.save(this.file);
+				doSave(image);
 			}
 		} else {
-			if(this.isPrintingOnDisplay) {
-				System.out.printf("Saving image to \"%s\"...%n", this.file.getPath());
-			}
-			
-			image.save(this.file);
+			doSave(image);
 		}
 	}
 	
@@ -336,4 +504,155 @@ public final class FileRendererObserver implements RendererObserver {
 			System.out.printf("%f%n", Double.valueOf(percent * 100.0D));
 		}
 	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private void doEncodeAndWrite() {
+		while(true) {
+			final BufferedImage bufferedImage;
+			
+			synchronized(this.lock) {
+				if(!this.isSavePending) {
+					this.isSaving = false;
+					this.lock.notifyAll();
+					
+					return;
+				}
+				
+				bufferedImage = this.bufferedImageBack;
+				
+				this.bufferedImageBack = this.bufferedImageFront;
+				this.bufferedImageFront = bufferedImage;
+				this.isSavePending = false;
+			}
+			
+			final long encodingTimeNanos = System.nanoTime();
+			
+			RuntimeException exception = null;
+			
+			try {
+				doWrite(bufferedImage, this.file);
+			} catch(final IOException e) {
+				exception = new UncheckedIOException(e);
+			} catch(final RuntimeException e) {
+				exception = e;
+			}
+			
+			final long elapsedTimeNanos = System.nanoTime() - encodingTimeNanos;
+			
+			synchronized(this.lock) {
+				if(exception != null && this.exception == null) {
+					this.exception = exception;
+				}
+				
+				if(exception == null) {
+					this.saveCount++;
+				}
+				
+				this.encodingTimeNanos += elapsedTimeNanos;
+			}
+			
+			if(this.isPrintingOnDisplay && exception == null) {
+				System.out.printf("Saved image to \"%s\", Encoding Millis: %.3f%n", this.file.getPath(), Double.valueOf(elapsedTimeNanos / 1_000_000.0D));
+			}
+		}
+	}
+	
+	private void doSave(final ImageF image) {
+		if(!this.isAsynchronous) {
+			if(this.isPrintingOnDisplay) {
+				System.out.printf("Saving image to \"%s\"...%n", this.file.getPath());
+			}
+			
+			final long encodingTimeNanos = System.nanoTime();
+			
+			image.save(this.file);
+			
+			final long elapsedTimeNanos = System.nanoTime() - encodingTimeNanos;
+			
+			synchronized(this.lock) {
+				this.saveCount++;
+				this.encodingTimeNanos += elapsedTimeNanos;
+			}
+			
+			return;
+		}
+		
+		final long snapshotTimeNanos = System.nanoTime();
+		
+		synchronized(this.lock) {
+			doThrowException();
+			
+			final int resolutionX = image.getResolutionX();
+			final int resolutionY = image.getResolutionY();
+			
+			if(this.bufferedImageBack == null || this.bufferedImageBack.getWidth() != resolutionX || this.bufferedImageBack.getHeight() != resolutionY) {
+				this.bufferedImageBack = new BufferedImage(resolutionX, resolutionY, BufferedImage.TYPE_INT_ARGB);
+			}
+			
+			image.copyTo(DataBufferInt.class.cast(this.bufferedImageBack.getRaster().getDataBuffer()).getData());
+			
+			if(this.isSavePending) {
+				this.coalescedSaveCount++;
+			}
+			
+			this.isSavePending = true;
+			this.snapshotTimeNanos += System.nanoTime() - snapshotTimeNanos;
+			
+			if(!this.isSaving) {
+				this.isSaving = true;
+				
+				this.executorService.execute(this::doEncodeAndWrite);
+			}
+		}
+		
+		if(this.isPrintingOnDisplay) {
+			System.out.printf("Saving image to \"%s\"..., Snapshot Millis: %.3f%n", this.file.getPath(), Double.valueOf((System.nanoTime() - snapshotTimeNanos) / 1_000_000.0D));
+		}
+	}
+	
+	private void doThrowException() {
+		final RuntimeException exception = this.exception;
+		
+		if(exception != null) {
+			this.exception = null;
+			
+			throw exception;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Thread doCreateThread(final Runnable runnable) {
+		final Thread thread = new Thread(runnable, "FileRendererObserver");
+		
+		thread.setDaemon(true);
+		
+		return thread;
+	}
+	
+	private static void doWrite(final BufferedImage bufferedImage, final File file) throws IOException {
+		final File absoluteFile = file.getAbsoluteFile();
+		final File parentFile = absoluteFile.getParentFile();
+		
+		if(parentFile != null && !parentFile.isDirectory()) {
+			parentFile.mkdirs();
+		}
+		
+		final File temporaryFile = File.createTempFile("." + absoluteFile.getName() + ".", ".tmp", parentFile);
+		
+		try {
+			if(!ImageIO.write(bufferedImage, "png", temporaryFile)) {
+				throw new IOException("No ImageWriter was found for the format \"png\".");
+			}
+			
+			try {
+				Files.move(temporaryFile.toPath(), absoluteFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch(final AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile.toPath(), absoluteFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporaryFile.toPath());
+		}
+	}
 }
\ No newline at end of file
@@ -94,6 +94,18 @@ public final class ConstantSampler implements Sampler {
 		return new Sample3F(this.component1, this.component2, this.component3);
 	}
 	
+	/**
+	 * Returns a copy of this {@code ConstantSampler} instance.
+	 * <p>
+	 * Because this class is immutable, this method returns this {@code ConstantSampler} instance.
+	 * 
+	 * @return a copy of this {@code ConstantSampler} instance
+	 */
+	@Override
+	public Sampler copy() {
+		return this;
+	}
+	
 	/**
 	 * Returns a {@code String} representation of this {@code ConstantSampler} instance.
 	 * 
@@ -0,0 +1,349 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.sampler;
+
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A {@code HaltonSampler} is a {@link Sampler} implementation that produces samples based on the scrambled Halton sequence.
+ * <p>
+ * Each component of a sample is one dimension of the Halton sequence, where dimension {@code i} uses the radical inverse in a base given by the {@code i}th prime. The digits of each dimension are scrambled by a random permutation, which removes the
+ * correlation between dimensions with large bases. The permutation tables are created from the seed and are shared between copies.
+ * <p>
+ * The samples of a pixel are decorrelated from those of other pixels by a Cranley-Patterson rotation, based on a hash of the seed, the pixel and the dimension. If more than {@link #getDimensionCount()} dimensions are consumed, the dimensions are
+ * reused with a different rotation.
+ * <p>
+ * The samples only depend on the seed and the arguments passed to {@link #setPixelSample(int, int, int)}. The methods {@link #sample1(float[], int)}, {@link #sample2(float[], int)} and {@link #sample3(float[], int)} do not allocate any objects.
+ * <p>
+ * This class is mutable and not thread-safe. Use {@link #copy()} to get an instance for each thread.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class HaltonSampler implements Sampler {
+	private static final int DIMENSION_COUNT = 128;
+	private static final int[] PRIMES = doCreatePrimes(DIMENSION_COUNT);
+	private static final int[] PERMUTATION_OFFSETS = doCreatePermutationOffsets(PRIMES);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final long seed;
+	private final short[] permutations;
+	private int dimension;
+	private int pixelX;
+	private int pixelY;
+	private int sampleIndex;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code HaltonSampler} instance.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new HaltonSampler(0L);
+	 * }
+	 * </pre>
+	 */
+	public HaltonSampler() {
+		this(0L);
+	}
+	
+	/**
+	 * Constructs a new {@code HaltonSampler} instance.
+	 * 
+	 * @param seed the seed to use
+	 */
+	public HaltonSampler(final long seed) {
+		this(seed, doCreatePermutations(seed));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private HaltonSampler(final long seed, final short[] permutations) {
+		this.seed = seed;
+		this.permutations = permutations;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@link Sample1F} with a 1-dimensional sample.
+	 * 
+	 * @return a {@code Sample1F} with a 1-dimensional sample
+	 */
+	@Override
+	public Sample1F sample1() {
+		return new Sample1F(doNextComponent());
+	}
+	
+	/**
+	 * Returns a {@link Sample2F} with a 2-dimensional sample.
+	 * 
+	 * @return a {@code Sample2F} with a 2-dimensional sample
+	 */
+	@Override
+	public Sample2F sample2() {
+		final float component1 = doNextComponent();
+		final float component2 = doNextComponent();
+		
+		return new Sample2F(component1, component2);
+	}
+	
+	/**
+	 * Returns a {@link Sample3F} with a 3-dimensional sample.
+	 * 
+	 * @return a {@code Sample3F} with a 3-dimensional sample
+	 */
+	@Override
+	public Sample3F sample3() {
+		final float component1 = doNextComponent();
+		final float component2 = doNextComponent();
+		final float component3 = doNextComponent();
+		
+		return new Sample3F(component1, component2, component3);
+	}
+	
+	/**
+	 * Returns a copy of this {@code HaltonSampler} instance.
+	 * <p>
+	 * The returned instance uses the same seed and permutation tables as this {@code HaltonSampler} instance.
+	 * 
+	 * @return a copy of this {@code HaltonSampler} instance
+	 */
+	@Override
+	public Sampler copy() {
+		return new HaltonSampler(this.seed, this.permutations);
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code HaltonSampler} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code HaltonSampler} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format("new HaltonSampler(%dL)", Long.valueOf(this.seed));
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code HaltonSampler} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code HaltonSampler}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code HaltonSampler} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code HaltonSampler}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof HaltonSampler)) {
+			return false;
+		} else if(this.seed != HaltonSampler.class.cast(object).seed) {
+			return false;
+		} else if(this.dimension != HaltonSampler.class.cast(object).dimension) {
+			return false;
+		} else if(this.pixelX != HaltonSampler.class.cast(object).pixelX) {
+			return false;
+		} else if(this.pixelY != HaltonSampler.class.cast(object).pixelY) {
+			return false;
+		} else if(this.sampleIndex != HaltonSampler.class.cast(object).sampleIndex) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns the seed associated with this {@code HaltonSampler} instance.
+	 * 
+	 * @return the seed associated with this {@code HaltonSampler} instance
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+	
+	/**
+	 * Returns a hash code for this {@code HaltonSampler} instance.
+	 * 
+	 * @return a hash code for this {@code HaltonSampler} instance
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(Long.valueOf(this.seed), Integer.valueOf(this.dimension), Integer.valueOf(this.pixelX), Integer.valueOf(this.pixelY), Integer.valueOf(this.sampleIndex));
+	}
+	
+	/**
+	 * Writes a 1-dimensional sample to {@code sample} at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to write the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	@Override
+	public void sample1(final float[] sample, final int offset) {
+		sample[offset + 0] = doNextComponent();
+	}
+	
+	/**
+	 * Writes a 2-dimensional sample to {@code sample}, starting at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or {@code offset + 1} is greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to start writing the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or {@code offset + 1} is greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	@Override
+	public void sample2(final float[] sample, final int offset) {
+		sample[offset + 0] = doNextComponent();
+		sample[offset + 1] = doNextComponent();
+	}
+	
+	/**
+	 * Writes a 3-dimensional sample to {@code sample}, starting at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or {@code offset + 2} is greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to start writing the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or {@code offset + 2} is greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	@Override
+	public void sample3(final float[] sample, final int offset) {
+		sample[offset + 0] = doNextComponent();
+		sample[offset + 1] = doNextComponent();
+		sample[offset + 2] = doNextComponent();
+	}
+	
+	/**
+	 * Prepares this {@code HaltonSampler} instance for sample {@code sampleIndex} of the pixel at {@code x} and {@code y}.
+	 * <p>
+	 * The samples that follow a call to this method only depend on the seed and the arguments.
+	 * 
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
+	 * @param sampleIndex the index of the sample, such as the current render pass
+	 */
+	@Override
+	public void setPixelSample(final int x, final int y, final int sampleIndex) {
+		this.dimension = 0;
+		this.pixelX = x;
+		this.pixelY = y;
+		this.sampleIndex = sampleIndex;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the number of distinct dimensions of the Halton sequence that are used by {@code HaltonSampler}.
+	 * 
+	 * @return the number of distinct dimensions of the Halton sequence that are used by {@code HaltonSampler}
+	 */
+	public static int getDimensionCount() {
+		return DIMENSION_COUNT;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private float doNextComponent() {
+		final int dimension = this.dimension++;
+		final int dimensionHalton = dimension % DIMENSION_COUNT;
+		
+		final float component = Sequences.radicalInverseScrambled(this.sampleIndex, PRIMES[dimensionHalton], this.permutations, PERMUTATION_OFFSETS[dimensionHalton]);
+		final float rotation = Sequences.toFloat(Sequences.hash(this.seed, this.pixelX, this.pixelY, dimension));
+		final float rotated = component + rotation;
+		
+		return rotated < 1.0F ? rotated : rotated - 1.0F;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static int[] doCreatePermutationOffsets(final int[] primes) {
+		final int[] permutationOffsets = new int[primes.length];
+		
+		for(int i = 1; i < primes.length; i++) {
+			permutationOffsets[i] = permutationOffsets[i - 1] + primes[i - 1];
+		}
+		
+		return permutationOffsets;
+	}
+	
+	private static int[] doCreatePrimes(final int count) {
+		final int[] primes = new int[count];
+		
+		for(int candidate = 2, index = 0; index < count; candidate++) {
+			boolean isPrime = true;
+			
+			for(int i = 0; i < index && primes[i] * primes[i] <= candidate; i++) {
+				if(candidate % primes[i] == 0) {
+					isPrime = false;
+					
+					break;
+				}
+			}
+			
+			if(isPrime) {
+				primes[index++] = candidate;
+			}
+		}
+		
+		return primes;
+	}
+	
+	private static short[] doCreatePermutations(final long seed) {
+		final Random random = new Random(seed);
+		
+		final short[] permutations = new short[PERMUTATION_OFFSETS[DIMENSION_COUNT - 1] + PRIMES[DIMENSION_COUNT - 1]];
+		
+		for(int i = 0; i < DIMENSION_COUNT; i++) {
+			final int base = PRIMES[i];
+			final int offset = PERMUTATION_OFFSETS[i];
+			
+			for(int j = 0; j < base; j++) {
+				permutations[offset + j] = (short)(j);
+			}
+			
+			for(int j = base - 1; j > 0; j--) {
+				final int k = random.nextInt(j + 1);
+				
+				final short permutation = permutations[offset + j];
+				
+				permutations[offset + j] = permutations[offset + k];
+				permutations[offset + k] = permutation;
+			}
+		}
+		
+		return permutations;
+	}
+}
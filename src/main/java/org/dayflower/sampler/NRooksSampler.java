@@ -120,6 +120,18 @@ public final class NRooksSampler implements Sampler {
 		return new Sample3F(sample2());
 	}
 	
+	/**
+	 * Returns a copy of this {@code NRooksSampler} instance.
+	 * <p>
+	 * The returned instance uses a new {@code Random} instance that is seeded by the {@code Random} instance of this {@code NRooksSampler} instance. It generates its own samples.
+	 * 
+	 * @return a copy of this {@code NRooksSampler} instance
+	 */
+	@Override
+	public Sampler copy() {
+		return new NRooksSampler(new Random(this.random.nextLong()), this.samples.length);
+	}
+	
 	/**
 	 * Returns a {@code String} representation of this {@code NRooksSampler} instance.
 	 * 
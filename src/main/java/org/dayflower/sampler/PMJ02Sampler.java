@@ -0,0 +1,491 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.sampler;
+
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A {@code PMJ02Sampler} is a {@link Sampler} implementation that produces samples based on progressive multi-jittered (0,2) sequences.
+ * <p>
+ * The sequences are generated once, using the algorithm described by Per Christensen, Andrew Kensler and Charlie Kilpatrick in "Progressive Multi-Jittered Sample Sequences". Every prefix of a sequence, whose length is a power of two, is stratified
+ * in all 2-dimensional elementary intervals. There are {@link #getSetCount()} sequences of {@link #getSetSize()} points each.
+ * <p>
+ * Each call to {@link #sample1()}, {@link #sample2()} or {@link #sample3()} (or their array-based equivalents) consumes one dimension of the sample, except for 3-dimensional samples, which consume two. The sequence that is used for a dimension
+ * is chosen based on a hash of the seed, the pixel and the dimension. The bits of the points are then scrambled by an exclusive or with a mask based on the same hash, which preserves the stratification.
+ * <p>
+ * The samples only depend on the seed and the arguments passed to {@link #setPixelSample(int, int, int)}. The methods {@link #sample1(float[], int)}, {@link #sample2(float[], int)} and {@link #sample3(float[], int)} do not allocate any objects.
+ * <p>
+ * This class is mutable and not thread-safe. Use {@link #copy()} to get an instance for each thread.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class PMJ02Sampler implements Sampler {
+	private static final int SET_COUNT = 16;
+	private static final int SET_SIZE = 4096;
+	private static final int[][] SETS = doCreateSets();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final long seed;
+	private int dimension;
+	private int pixelX;
+	private int pixelY;
+	private int sampleIndex;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code PMJ02Sampler} instance.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new PMJ02Sampler(0L);
+	 * }
+	 * </pre>
+	 */
+	public PMJ02Sampler() {
+		this(0L);
+	}
+	
+	/**
+	 * Constructs a new {@code PMJ02Sampler} instance.
+	 * 
+	 * @param seed the seed to use
+	 */
+	public PMJ02Sampler(final long seed) {
+		this.seed = seed;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@link Sample1F} with a 1-dimensional sample.
+	 * 
+	 * @return a {@code Sample1F} with a 1-dimensional sample
+	 */
+	@Override
+	public Sample1F sample1() {
+		final int hash = doNextDimensionHash();
+		
+		return new Sample1F(doComponent(hash, 0));
+	}
+	
+	/**
+	 * Returns a {@link Sample2F} with a 2-dimensional sample.
+	 * 
+	 * @return a {@code Sample2F} with a 2-dimensional sample
+	 */
+	@Override
+	public Sample2F sample2() {
+		final int hash = doNextDimensionHash();
+		
+		return new Sample2F(doComponent(hash, 0), doComponent(hash, 1));
+	}
+	
+	/**
+	 * Returns a {@link Sample3F} with a 3-dimensional sample.
+	 * 
+	 * @return a {@code Sample3F} with a 3-dimensional sample
+	 */
+	@Override
+	public Sample3F sample3() {
+		final int hashA = doNextDimensionHash();
+		final int hashB = doNextDimensionHash();
+		
+		return new Sample3F(doComponent(hashA, 0), doComponent(hashA, 1), doComponent(hashB, 0));
+	}
+	
+	/**
+	 * Returns a copy of this {@code PMJ02Sampler} instance.
+	 * <p>
+	 * The returned instance uses the same seed as this {@code PMJ02Sampler} instance.
+	 * 
+	 * @return a copy of this {@code PMJ02Sampler} instance
+	 */
+	@Override
+	public Sampler copy() {
+		return new PMJ02Sampler(this.seed);
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code PMJ02Sampler} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code PMJ02Sampler} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format("new PMJ02Sampler(%dL)", Long.valueOf(this.seed));
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code PMJ02Sampler} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code PMJ02Sampler}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code PMJ02Sampler} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code PMJ02Sampler}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof PMJ02Sampler)) {
+			return false;
+		} else if(this.seed != PMJ02Sampler.class.cast(object).seed) {
+			return false;
+		} else if(this.dimension != PMJ02Sampler.class.cast(object).dimension) {
+			return false;
+		} else if(this.pixelX != PMJ02Sampler.class.cast(object).pixelX) {
+			return false;
+		} else if(this.pixelY != PMJ02Sampler.class.cast(object).pixelY) {
+			return false;
+		} else if(this.sampleIndex != PMJ02Sampler.class.cast(object).sampleIndex) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns the seed associated with this {@code PMJ02Sampler} instance.
+	 * 
+	 * @return the seed associated with this {@code PMJ02Sampler} instance
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+	
+	/**
+	 * Returns a hash code for this {@code PMJ02Sampler} instance.
+	 * 
+	 * @return a hash code for this {@code PMJ02Sampler} instance
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(Long.valueOf(this.seed), Integer.valueOf(this.dimension), Integer.valueOf(this.pixelX), Integer.valueOf(this.pixelY), Integer.valueOf(this.sampleIndex));
+	}
+	
+	/**
+	 * Writes a 1-dimensional sample to {@code sample} at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to write the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	@Override
+	public void sample1(final float[] sample, final int offset) {
+		final int hash = doNextDimensionHash();
+		
+		sample[offset + 0] = doComponent(hash, 0);
+	}
+	
+	/**
+	 * Writes a 2-dimensional sample to {@code sample}, starting at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or {@code offset + 1} is greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to start writing the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or {@code offset + 1} is greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	@Override
+	public void sample2(final float[] sample, final int offset) {
+		final int hash = doNextDimensionHash();
+		
+		sample[offset + 0] = doComponent(hash, 0);
+		sample[offset + 1] = doComponent(hash, 1);
+	}
+	
+	/**
+	 * Writes a 3-dimensional sample to {@code sample}, starting at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or {@code offset + 2} is greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to start writing the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or {@code offset + 2} is greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	@Override
+	public void sample3(final float[] sample, final int offset) {
+		final int hashA = doNextDimensionHash();
+		final int hashB = doNextDimensionHash();
+		
+		sample[offset + 0] = doComponent(hashA, 0);
+		sample[offset + 1] = doComponent(hashA, 1);
+		sample[offset + 2] = doComponent(hashB, 0);
+	}
+	
+	/**
+	 * Prepares this {@code PMJ02Sampler} instance for sample {@code sampleIndex} of the pixel at {@code x} and {@code y}.
+	 * <p>
+	 * The samples that follow a call to this method only depend on the seed and the arguments. The first {@code 2^n} sample indices of a pixel are stratified in all 2-dimensional elementary intervals, as long as {@code 2^n} is less than or equal
+	 * to {@link #getSetSize()}.
+	 * 
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
+	 * @param sampleIndex the index of the sample, such as the current render pass
+	 */
+	@Override
+	public void setPixelSample(final int x, final int y, final int sampleIndex) {
+		this.dimension = 0;
+		this.pixelX = x;
+		this.pixelY = y;
+		this.sampleIndex = sampleIndex;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the number of progressive multi-jittered (0,2) sequences used by {@code PMJ02Sampler}.
+	 * 
+	 * @return the number of progressive multi-jittered (0,2) sequences used by {@code PMJ02Sampler}
+	 */
+	public static int getSetCount() {
+		return SET_COUNT;
+	}
+	
+	/**
+	 * Returns the number of points in each progressive multi-jittered (0,2) sequence used by {@code PMJ02Sampler}.
+	 * 
+	 * @return the number of points in each progressive multi-jittered (0,2) sequence used by {@code PMJ02Sampler}
+	 */
+	public static int getSetSize() {
+		return SET_SIZE;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private float doComponent(final int hash, final int component) {
+		final int index = this.sampleIndex & Integer.MAX_VALUE;
+		final int set = ((hash & Integer.MAX_VALUE) % SET_COUNT + index / SET_SIZE) % SET_COUNT;
+		final int point = index % SET_SIZE;
+		
+		return Sequences.toFloat(SETS[set][point * 2 + component] ^ Sequences.hash(hash, component));
+	}
+	
+	private int doNextDimensionHash() {
+		return Sequences.hash(this.seed, this.pixelX, this.pixelY, this.dimension++);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static int[][] doCreateSets() {
+		final int[][] sets = new int[SET_COUNT][];
+		
+		for(int i = 0; i < SET_COUNT; i++) {
+			sets[i] = new PMJ02Generator(new Random(i), SET_SIZE).generate();
+		}
+		
+		return sets;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class PMJ02Generator {
+		private final Random random;
+		private final int[] points;
+		private boolean[] isOccupied;
+		private int level;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public PMJ02Generator(final Random random, final int size) {
+			this.random = random;
+			this.points = new int[size * 2];
+			this.isOccupied = new boolean[0];
+			this.level = 0;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public int[] generate() {
+			final int size = this.points.length / 2;
+			
+			this.points[0] = this.random.nextInt();
+			this.points[1] = this.random.nextInt();
+			
+//			The sequence is extended from N = 4^k to 2N points by placing a point in the diagonally opposite subquadrant of each existing point, and from 2N to 4N points by placing points in the two remaining subquadrants:
+//			A dead end is very unlikely, but if it happens, the extension is attempted again with other random choices:
+			for(int n = 1, k = 0; n < size; n *= 4, k++) {
+				while(!doExtendEven(n, k)) {
+//					Do nothing!
+				}
+				
+				while(n * 2 < size && !doExtendOdd(n, k)) {
+//					Do nothing!
+				}
+			}
+			
+			return this.points;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private boolean doExtendOdd(final int n, final int k) {
+			doResetOccupied(n * 2, 2 * k + 2);
+			
+			final boolean[] isFlippingX = new boolean[n];
+			
+			for(int i = 0; i < n; i++) {
+				isFlippingX[i] = this.random.nextBoolean();
+				
+				final int subquadrantX = doTop(this.points[i * 2 + 0], k + 1) ^ (isFlippingX[i] ? 1 : 0);
+				final int subquadrantY = doTop(this.points[i * 2 + 1], k + 1) ^ (isFlippingX[i] ? 0 : 1);
+				
+				if(!doGeneratePoint(n * 2 + i, subquadrantX, subquadrantY, k + 1)) {
+					return false;
+				}
+			}
+			
+			for(int i = 0; i < n; i++) {
+				final int subquadrantX = doTop(this.points[i * 2 + 0], k + 1) ^ (isFlippingX[i] ? 0 : 1);
+				final int subquadrantY = doTop(this.points[i * 2 + 1], k + 1) ^ (isFlippingX[i] ? 1 : 0);
+				
+				if(!doGeneratePoint(n * 3 + i, subquadrantX, subquadrantY, k + 1)) {
+					return false;
+				}
+			}
+			
+			return true;
+		}
+		
+		private boolean doGeneratePoint(final int index, final int subquadrantX, final int subquadrantY, final int subquadrantBits) {
+			final int level = this.level;
+			final int freeBits = level - subquadrantBits;
+			final int freeCount = 1 << freeBits;
+			final int freeStart = this.random.nextInt(freeCount);
+			
+			for(int i = 0; i < freeCount; i++) {
+				final int cellX = (subquadrantX << freeBits) | ((freeStart + i) & (freeCount - 1));
+				
+				if(!doIsValidPrefix(cellX, subquadrantY, subquadrantBits)) {
+					continue;
+				}
+				
+				final int cellY = doFindCellY(cellX, subquadrantY, subquadrantBits);
+				
+				if(cellY >= 0) {
+					final int x = (cellX << (32 - level)) | (this.random.nextInt() >>> level);
+					final int y = (cellY << (32 - level)) | (this.random.nextInt() >>> level);
+					
+					this.points[index * 2 + 0] = x;
+					this.points[index * 2 + 1] = y;
+					
+					doMarkOccupied(x, y);
+					
+					return true;
+				}
+			}
+			
+			return false;
+		}
+		
+		private boolean doIsValidPrefix(final int cellX, final int cellYPrefix, final int cellYPrefixBits) {
+			for(int bits = 0; bits < cellYPrefixBits; bits++) {
+				if(this.isOccupied[doIndex(this.level - bits, cellX, (cellYPrefix >>> (cellYPrefixBits - bits)) << (this.level - bits))]) {
+					return false;
+				}
+			}
+			
+			return true;
+		}
+		
+		private int doFindCellY(final int cellX, final int cellYPrefix, final int cellYPrefixBits) {
+			final int level = this.level;
+			
+			if(this.isOccupied[doIndex(level - cellYPrefixBits, cellX, cellYPrefix << (level - cellYPrefixBits))]) {
+				return -1;
+			}
+			
+			if(cellYPrefixBits == level) {
+				return cellYPrefix;
+			}
+			
+			final int bit = this.random.nextInt(2);
+			
+			for(int i = 0; i < 2; i++) {
+				final int cellY = doFindCellY(cellX, (cellYPrefix << 1) | (bit ^ i), cellYPrefixBits + 1);
+				
+				if(cellY >= 0) {
+					return cellY;
+				}
+			}
+			
+			return -1;
+		}
+		
+//		The elementary intervals with an X-resolution of 2^k and a Y-resolution of 2^(level - k) are stored after each other, for k = 0 to level:
+		private int doIndex(final int k, final int cellX, final int cellY) {
+			return (k << this.level) + (((cellX >>> (this.level - k)) << (this.level - k)) | (cellY >>> k));
+		}
+		
+		private boolean doExtendEven(final int n, final int k) {
+			doResetOccupied(n, 2 * k + 1);
+			
+			for(int i = 0; i < n; i++) {
+				final int subquadrantX = doTop(this.points[i * 2 + 0], k + 1) ^ 1;
+				final int subquadrantY = doTop(this.points[i * 2 + 1], k + 1) ^ 1;
+				
+				if(!doGeneratePoint(n + i, subquadrantX, subquadrantY, k + 1)) {
+					return false;
+				}
+			}
+			
+			return true;
+		}
+		
+		private void doResetOccupied(final int count, final int level) {
+			this.isOccupied = new boolean[(level + 1) << level];
+			this.level = level;
+			
+			for(int i = 0; i < count; i++) {
+				doMarkOccupied(this.points[i * 2 + 0], this.points[i * 2 + 1]);
+			}
+		}
+		
+		private void doMarkOccupied(final int x, final int y) {
+			final int cellX = doTop(x, this.level);
+			final int cellY = doTop(y, this.level);
+			
+			for(int k = 0; k <= this.level; k++) {
+				this.isOccupied[doIndex(k, cellX, cellY)] = true;
+			}
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private static int doTop(final int value, final int bits) {
+			return bits == 0 ? 0 : value >>> (32 - bits);
+		}
+	}
+}
@@ -90,6 +90,18 @@ public final class RandomSampler implements Sampler {
 		return new Sample3F(this.random.nextFloat(), this.random.nextFloat(), this.random.nextFloat());
 	}
 	
+	/**
+	 * Returns a copy of this {@code RandomSampler} instance.
+	 * <p>
+	 * The returned instance uses a new {@code Random} instance that is seeded by the {@code Random} instance of this {@code RandomSampler} instance.
+	 * 
+	 * @return a copy of this {@code RandomSampler} instance
+	 */
+	@Override
+	public Sampler copy() {
+		return new RandomSampler(new Random(this.random.nextLong()));
+	}
+	
 	/**
 	 * Returns a {@code String} representation of this {@code RandomSampler} instance.
 	 * 
@@ -20,6 +20,9 @@ package org.dayflower.sampler;
 
 /**
  * A {@code Sampler} is used for sampling in different dimensions.
+ * <p>
+ * A {@code Sampler} instance is not required to be thread-safe. Call {@link #copy()} to get an instance for each thread that samples concurrently. Call {@link #setPixelSample(int, int, int)} before sampling a pixel, to make the samples of that pixel
+ * independent of the order in which pixels are sampled.
  * 
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
@@ -45,4 +48,89 @@ public interface Sampler {
 	 * @return a {@code Sample3F} with a 3-dimensional sample
 	 */
 	Sample3F sample3();
-}
\ No newline at end of file
+	
+	/**
+	 * Returns a copy of this {@code Sampler} instance.
+	 * <p>
+	 * The returned instance can be used by another thread than this {@code Sampler} instance.
+	 * 
+	 * @return a copy of this {@code Sampler} instance
+	 */
+	Sampler copy();
+	
+	/**
+	 * Writes a 1-dimensional sample to {@code sample} at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * The default implementation delegates to {@link #sample1()}. Implementations that do not want to allocate objects should override this method.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to write the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	default void sample1(final float[] sample, final int offset) {
+		final Sample1F sample1 = sample1();
+		
+		sample[offset + 0] = sample1.getComponent1();
+	}
+	
+	/**
+	 * Writes a 2-dimensional sample to {@code sample}, starting at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or {@code offset + 1} is greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * The default implementation delegates to {@link #sample2()}. Implementations that do not want to allocate objects should override this method.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to start writing the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or {@code offset + 1} is greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	default void sample2(final float[] sample, final int offset) {
+		final Sample2F sample2 = sample2();
+		
+		sample[offset + 0] = sample2.getComponent1();
+		sample[offset + 1] = sample2.getComponent2();
+	}
+	
+	/**
+	 * Writes a 3-dimensional sample to {@code sample}, starting at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or {@code offset + 2} is greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * The default implementation delegates to {@link #sample3()}. Implementations that do not want to allocate objects should override this method.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to start writing the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or {@code offset + 2} is greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	default void sample3(final float[] sample, final int offset) {
+		final Sample3F sample3 = sample3();
+		
+		sample[offset + 0] = sample3.getComponent1();
+		sample[offset + 1] = sample3.getComponent2();
+		sample[offset + 2] = sample3.getComponent3();
+	}
+	
+	/**
+	 * Prepares this {@code Sampler} instance for sample {@code sampleIndex} of the pixel at {@code x} and {@code y}.
+	 * <p>
+	 * Implementations that support it will produce the same sequence of samples every time this method is called with the same arguments. The default implementation does nothing.
+	 * 
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
+	 * @param sampleIndex the index of the sample, such as the current render pass
+	 */
+	default void setPixelSample(final int x, final int y, final int sampleIndex) {
+//		Do nothing!
+	}
+}
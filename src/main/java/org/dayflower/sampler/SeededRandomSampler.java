@@ -0,0 +1,260 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.sampler;
+
+import java.util.Objects;
+
+/**
+ * A {@code SeededRandomSampler} is a {@link Sampler} implementation that produces random samples that are seeded for each pixel sample.
+ * <p>
+ * The samples are generated by a SplitMix64 generator whose state is derived from the seed, the pixel and the sample index in {@link #setPixelSample(int, int, int)}. This means that the samples of a pixel do not depend on which thread renders it
+ * or on the order in which pixels are rendered.
+ * <p>
+ * The methods {@link #sample1(float[], int)}, {@link #sample2(float[], int)} and {@link #sample3(float[], int)} do not allocate any objects.
+ * <p>
+ * This class is mutable and not thread-safe. Use {@link #copy()} to get an instance for each thread.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class SeededRandomSampler implements Sampler {
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final long seed;
+	private long state;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code SeededRandomSampler} instance.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new SeededRandomSampler(0L);
+	 * }
+	 * </pre>
+	 */
+	public SeededRandomSampler() {
+		this(0L);
+	}
+	
+	/**
+	 * Constructs a new {@code SeededRandomSampler} instance.
+	 * 
+	 * @param seed the seed to use
+	 */
+	public SeededRandomSampler(final long seed) {
+		this.seed = seed;
+		this.state = doMix(seed);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@link Sample1F} with a 1-dimensional sample.
+	 * 
+	 * @return a {@code Sample1F} with a 1-dimensional sample
+	 */
+	@Override
+	public Sample1F sample1() {
+		return new Sample1F(doNextFloat());
+	}
+	
+	/**
+	 * Returns a {@link Sample2F} with a 2-dimensional sample.
+	 * 
+	 * @return a {@code Sample2F} with a 2-dimensional sample
+	 */
+	@Override
+	public Sample2F sample2() {
+		final float component1 = doNextFloat();
+		final float component2 = doNextFloat();
+		
+		return new Sample2F(component1, component2);
+	}
+	
+	/**
+	 * Returns a {@link Sample3F} with a 3-dimensional sample.
+	 * 
+	 * @return a {@code Sample3F} with a 3-dimensional sample
+	 */
+	@Override
+	public Sample3F sample3() {
+		final float component1 = doNextFloat();
+		final float component2 = doNextFloat();
+		final float component3 = doNextFloat();
+		
+		return new Sample3F(component1, component2, component3);
+	}
+	
+	/**
+	 * Returns a copy of this {@code SeededRandomSampler} instance.
+	 * <p>
+	 * The returned instance uses the same seed as this {@code SeededRandomSampler} instance.
+	 * 
+	 * @return a copy of this {@code SeededRandomSampler} instance
+	 */
+	@Override
+	public Sampler copy() {
+		return new SeededRandomSampler(this.seed);
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code SeededRandomSampler} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code SeededRandomSampler} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format("new SeededRandomSampler(%dL)", Long.valueOf(this.seed));
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code SeededRandomSampler} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code SeededRandomSampler}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code SeededRandomSampler} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code SeededRandomSampler}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof SeededRandomSampler)) {
+			return false;
+		} else if(this.seed != SeededRandomSampler.class.cast(object).seed) {
+			return false;
+		} else if(this.state != SeededRandomSampler.class.cast(object).state) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns the seed associated with this {@code SeededRandomSampler} instance.
+	 * 
+	 * @return the seed associated with this {@code SeededRandomSampler} instance
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+	
+	/**
+	 * Returns a hash code for this {@code SeededRandomSampler} instance.
+	 * 
+	 * @return a hash code for this {@code SeededRandomSampler} instance
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(Long.valueOf(this.seed), Long.valueOf(this.state));
+	}
+	
+	/**
+	 * Writes a 1-dimensional sample to {@code sample} at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to write the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	@Override
+	public void sample1(final float[] sample, final int offset) {
+		sample[offset + 0] = doNextFloat();
+	}
+	
+	/**
+	 * Writes a 2-dimensional sample to {@code sample}, starting at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or {@code offset + 1} is greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to start writing the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or {@code offset + 1} is greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	@Override
+	public void sample2(final float[] sample, final int offset) {
+		sample[offset + 0] = doNextFloat();
+		sample[offset + 1] = doNextFloat();
+	}
+	
+	/**
+	 * Writes a 3-dimensional sample to {@code sample}, starting at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or {@code offset + 2} is greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to start writing the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or {@code offset + 2} is greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	@Override
+	public void sample3(final float[] sample, final int offset) {
+		sample[offset + 0] = doNextFloat();
+		sample[offset + 1] = doNextFloat();
+		sample[offset + 2] = doNextFloat();
+	}
+	
+	/**
+	 * Prepares this {@code SeededRandomSampler} instance for sample {@code sampleIndex} of the pixel at {@code x} and {@code y}.
+	 * <p>
+	 * The samples that follow a call to this method only depend on the seed and the arguments.
+	 * 
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
+	 * @param sampleIndex the index of the sample, such as the current render pass
+	 */
+	@Override
+	public void setPixelSample(final int x, final int y, final int sampleIndex) {
+		this.state = doMix(doMix(doMix(this.seed ^ x) ^ y) ^ sampleIndex);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private float doNextFloat() {
+		this.state += GOLDEN_GAMMA;
+		
+		return (int)(doMix(this.state) >>> 40) * 0x1.0p-24F;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static long doMix(final long value) {
+		long z = value + GOLDEN_GAMMA;
+		
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		z = z ^ (z >>> 31);
+		
+		return z;
+	}
+}
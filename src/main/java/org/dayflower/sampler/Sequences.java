@@ -0,0 +1,217 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.sampler;
+
+/**
+ * A class that consists exclusively of static methods used by the low-discrepancy {@link Sampler} implementations in this package.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+final class Sequences {
+	private static final float ONE_MINUS_EPSILON = 0x1.fffffep-1F;
+	private static final int[] SOBOL_DIRECTIONS = doCreateSobolDirections();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * The number of dimensions supported by {@link #sobol(int, int)}.
+	 */
+	public static final int SOBOL_DIMENSIONS = 4;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Sequences() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@code float} in the interval {@code [0.0, 1.0)} based on the 32 bits of {@code value}, interpreted as a fixed point number.
+	 * 
+	 * @param value the bits to convert
+	 * @return a {@code float} in the interval {@code [0.0, 1.0)} based on the 32 bits of {@code value}, interpreted as a fixed point number
+	 */
+	public static float toFloat(final int value) {
+		return Math.min((value >>> 8) * 0x1.0p-24F, ONE_MINUS_EPSILON);
+	}
+	
+	/**
+	 * Returns the radical inverse of {@code index} in base {@code base}, where each digit is permuted by {@code permutation}.
+	 * <p>
+	 * The first {@code base} elements of {@code permutation}, starting at {@code permutationOffset}, define the permutation.
+	 * 
+	 * @param index the index
+	 * @param base the base
+	 * @param permutation a {@code short[]} with the permutation
+	 * @param permutationOffset the offset in {@code permutation}
+	 * @return the radical inverse of {@code index} in base {@code base}, where each digit is permuted by {@code permutation}
+	 */
+	public static float radicalInverseScrambled(final int index, final int base, final short[] permutation, final int permutationOffset) {
+		final double baseReciprocal = 1.0D / base;
+		
+		double baseReciprocalN = 1.0D;
+		
+		long a = index & 0xFFFFFFFFL;
+		long reversedDigits = 0L;
+		
+		while(a > 0L) {
+			final long next = a / base;
+			
+			final int digit = (int)(a - next * base);
+			
+			reversedDigits = reversedDigits * base + permutation[permutationOffset + digit];
+			
+			baseReciprocalN *= baseReciprocal;
+			
+			a = next;
+		}
+		
+//		The permutation of digit 0 is applied to the infinite number of trailing zero digits, which is a geometric series:
+		final double value = baseReciprocalN * (reversedDigits + baseReciprocal * permutation[permutationOffset] / (1.0D - baseReciprocal));
+		
+		return Math.min((float)(value), ONE_MINUS_EPSILON);
+	}
+	
+	/**
+	 * Returns a hash of {@code a} and {@code b}.
+	 * 
+	 * @param a a value
+	 * @param b a value
+	 * @return a hash of {@code a} and {@code b}
+	 */
+	public static int hash(final long a, final long b) {
+		return (int)(mix(mix(a) ^ b) >>> 32);
+	}
+	
+	/**
+	 * Returns a hash of {@code a}, {@code b}, {@code c} and {@code d}.
+	 * 
+	 * @param a a value
+	 * @param b a value
+	 * @param c a value
+	 * @param d a value
+	 * @return a hash of {@code a}, {@code b}, {@code c} and {@code d}
+	 */
+	public static int hash(final long a, final long b, final long c, final long d) {
+		return (int)(mix(mix(mix(mix(a) ^ b) ^ c) ^ d) >>> 32);
+	}
+	
+	/**
+	 * Returns {@code value} with a nested uniform scramble (Owen scrambling) applied to its bits, based on {@code seed}.
+	 * <p>
+	 * This method uses the hash-based approach described by Brent Burley in "Practical Hash-based Owen Scrambling".
+	 * 
+	 * @param value the value to scramble
+	 * @param seed the seed to use
+	 * @return {@code value} with a nested uniform scramble (Owen scrambling) applied to its bits, based on {@code seed}
+	 */
+	public static int owenScramble(final int value, final int seed) {
+		int x = Integer.reverse(value);
+		
+		x += seed;
+		x ^= x * 0x6C50B47C;
+		x ^= x * 0xB82F1E52;
+		x ^= x * 0xC7AFE638;
+		x ^= x * 0x8D22F6E6;
+		
+		return Integer.reverse(x);
+	}
+	
+	/**
+	 * Returns the bits of dimension {@code dimension} of the Sobol sequence at {@code index}, as a 32-bit fixed point number.
+	 * <p>
+	 * If {@code dimension} is less than {@code 0} or greater than or equal to {@link #SOBOL_DIMENSIONS}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param index the index
+	 * @param dimension the dimension
+	 * @return the bits of dimension {@code dimension} of the Sobol sequence at {@code index}, as a 32-bit fixed point number
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code dimension} is less than {@code 0} or greater than or equal to {@code Sequences.SOBOL_DIMENSIONS}
+	 */
+	public static int sobol(final int index, final int dimension) {
+		final int offset = dimension * 32;
+		
+		int result = 0;
+		
+		for(int i = 0, j = index; j != 0; i++, j >>>= 1) {
+			if((j & 1) != 0) {
+				result ^= SOBOL_DIRECTIONS[offset + i];
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the SplitMix64 finalizer applied to {@code value}.
+	 * 
+	 * @param value the value to mix
+	 * @return the SplitMix64 finalizer applied to {@code value}
+	 */
+	public static long mix(final long value) {
+		long z = value + 0x9E3779B97F4A7C15L;
+		
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		z = z ^ (z >>> 31);
+		
+		return z;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static int[] doCreateSobolDirections() {
+//		The primitive polynomials and initial direction numbers for dimensions 2 to 4 are the ones by Joe and Kuo:
+		final int[] s = {1, 2, 3};
+		final int[] a = {0, 1, 1};
+		final int[][] m = {{1}, {1, 3}, {1, 3, 1}};
+		
+		final int[] directions = new int[SOBOL_DIMENSIONS * 32];
+		
+		for(int i = 0; i < 32; i++) {
+			directions[i] = 1 << (31 - i);
+		}
+		
+		for(int dimension = 1; dimension < SOBOL_DIMENSIONS; dimension++) {
+			final int offset = dimension * 32;
+			
+			final int currentS = s[dimension - 1];
+			final int currentA = a[dimension - 1];
+			
+			final int[] currentM = m[dimension - 1];
+			
+			for(int i = 0; i < 32; i++) {
+				if(i < currentS) {
+					directions[offset + i] = currentM[i] << (31 - i);
+				} else {
+					int direction = directions[offset + i - currentS] ^ (directions[offset + i - currentS] >>> currentS);
+					
+					for(int k = 1; k < currentS; k++) {
+						direction ^= ((currentA >>> (currentS - 1 - k)) & 1) * directions[offset + i - k];
+					}
+					
+					directions[offset + i] = direction;
+				}
+			}
+		}
+		
+		return directions;
+	}
+}
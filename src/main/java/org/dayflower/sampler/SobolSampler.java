@@ -0,0 +1,270 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.sampler;
+
+import java.util.Objects;
+
+/**
+ * A {@code SobolSampler} is a {@link Sampler} implementation that produces samples based on the Owen-scrambled Sobol sequence.
+ * <p>
+ * Each call to {@link #sample1()}, {@link #sample2()} or {@link #sample3()} (or their array-based equivalents) consumes one dimension of the sample. The components of a dimension are taken from the first dimensions of the Sobol sequence. The dimensions
+ * are decorrelated by shuffling the sample index and scrambling the components, based on a hash of the seed, the pixel and the dimension. This is the approach described by Brent Burley in "Practical Hash-based Owen Scrambling".
+ * <p>
+ * The samples only depend on the seed and the arguments passed to {@link #setPixelSample(int, int, int)}. The methods {@link #sample1(float[], int)}, {@link #sample2(float[], int)} and {@link #sample3(float[], int)} do not allocate any objects.
+ * <p>
+ * This class is mutable and not thread-safe. Use {@link #copy()} to get an instance for each thread.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class SobolSampler implements Sampler {
+	private final long seed;
+	private int dimension;
+	private int pixelX;
+	private int pixelY;
+	private int sampleIndex;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code SobolSampler} instance.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new SobolSampler(0L);
+	 * }
+	 * </pre>
+	 */
+	public SobolSampler() {
+		this(0L);
+	}
+	
+	/**
+	 * Constructs a new {@code SobolSampler} instance.
+	 * 
+	 * @param seed the seed to use
+	 */
+	public SobolSampler(final long seed) {
+		this.seed = seed;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@link Sample1F} with a 1-dimensional sample.
+	 * 
+	 * @return a {@code Sample1F} with a 1-dimensional sample
+	 */
+	@Override
+	public Sample1F sample1() {
+		final int seed = doNextDimensionSeed();
+		final int index = Sequences.owenScramble(this.sampleIndex, seed);
+		
+		return new Sample1F(doComponent(index, 0, seed));
+	}
+	
+	/**
+	 * Returns a {@link Sample2F} with a 2-dimensional sample.
+	 * 
+	 * @return a {@code Sample2F} with a 2-dimensional sample
+	 */
+	@Override
+	public Sample2F sample2() {
+		final int seed = doNextDimensionSeed();
+		final int index = Sequences.owenScramble(this.sampleIndex, seed);
+		
+		return new Sample2F(doComponent(index, 0, seed), doComponent(index, 1, seed));
+	}
+	
+	/**
+	 * Returns a {@link Sample3F} with a 3-dimensional sample.
+	 * 
+	 * @return a {@code Sample3F} with a 3-dimensional sample
+	 */
+	@Override
+	public Sample3F sample3() {
+		final int seed = doNextDimensionSeed();
+		final int index = Sequences.owenScramble(this.sampleIndex, seed);
+		
+		return new Sample3F(doComponent(index, 0, seed), doComponent(index, 1, seed), doComponent(index, 2, seed));
+	}
+	
+	/**
+	 * Returns a copy of this {@code SobolSampler} instance.
+	 * <p>
+	 * The returned instance uses the same seed as this {@code SobolSampler} instance.
+	 * 
+	 * @return a copy of this {@code SobolSampler} instance
+	 */
+	@Override
+	public Sampler copy() {
+		return new SobolSampler(this.seed);
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code SobolSampler} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code SobolSampler} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format("new SobolSampler(%dL)", Long.valueOf(this.seed));
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code SobolSampler} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code SobolSampler}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code SobolSampler} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code SobolSampler}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof SobolSampler)) {
+			return false;
+		} else if(this.seed != SobolSampler.class.cast(object).seed) {
+			return false;
+		} else if(this.dimension != SobolSampler.class.cast(object).dimension) {
+			return false;
+		} else if(this.pixelX != SobolSampler.class.cast(object).pixelX) {
+			return false;
+		} else if(this.pixelY != SobolSampler.class.cast(object).pixelY) {
+			return false;
+		} else if(this.sampleIndex != SobolSampler.class.cast(object).sampleIndex) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns the seed associated with this {@code SobolSampler} instance.
+	 * 
+	 * @return the seed associated with this {@code SobolSampler} instance
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+	
+	/**
+	 * Returns a hash code for this {@code SobolSampler} instance.
+	 * 
+	 * @return a hash code for this {@code SobolSampler} instance
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(Long.valueOf(this.seed), Integer.valueOf(this.dimension), Integer.valueOf(this.pixelX), Integer.valueOf(this.pixelY), Integer.valueOf(this.sampleIndex));
+	}
+	
+	/**
+	 * Writes a 1-dimensional sample to {@code sample} at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to write the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	@Override
+	public void sample1(final float[] sample, final int offset) {
+		final int seed = doNextDimensionSeed();
+		final int index = Sequences.owenScramble(this.sampleIndex, seed);
+		
+		sample[offset + 0] = doComponent(index, 0, seed);
+	}
+	
+	/**
+	 * Writes a 2-dimensional sample to {@code sample}, starting at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or {@code offset + 1} is greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to start writing the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or {@code offset + 1} is greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	@Override
+	public void sample2(final float[] sample, final int offset) {
+		final int seed = doNextDimensionSeed();
+		final int index = Sequences.owenScramble(this.sampleIndex, seed);
+		
+		sample[offset + 0] = doComponent(index, 0, seed);
+		sample[offset + 1] = doComponent(index, 1, seed);
+	}
+	
+	/**
+	 * Writes a 3-dimensional sample to {@code sample}, starting at index {@code offset}.
+	 * <p>
+	 * If {@code sample} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or {@code offset + 2} is greater than or equal to {@code sample.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param sample the {@code float[]} to write the sample to
+	 * @param offset the offset in {@code sample} to start writing the sample to
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or {@code offset + 2} is greater than or equal to {@code sample.length}
+	 * @throws NullPointerException thrown if, and only if, {@code sample} is {@code null}
+	 */
+	@Override
+	public void sample3(final float[] sample, final int offset) {
+		final int seed = doNextDimensionSeed();
+		final int index = Sequences.owenScramble(this.sampleIndex, seed);
+		
+		sample[offset + 0] = doComponent(index, 0, seed);
+		sample[offset + 1] = doComponent(index, 1, seed);
+		sample[offset + 2] = doComponent(index, 2, seed);
+	}
+	
+	/**
+	 * Prepares this {@code SobolSampler} instance for sample {@code sampleIndex} of the pixel at {@code x} and {@code y}.
+	 * <p>
+	 * The samples that follow a call to this method only depend on the seed and the arguments. The first {@code 2^n} sample indices of a pixel are stratified in each dimension.
+	 * 
+	 * @param x the X-coordinate of the pixel
+	 * @param y the Y-coordinate of the pixel
+	 * @param sampleIndex the index of the sample, such as the current render pass
+	 */
+	@Override
+	public void setPixelSample(final int x, final int y, final int sampleIndex) {
+		this.dimension = 0;
+		this.pixelX = x;
+		this.pixelY = y;
+		this.sampleIndex = sampleIndex;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private int doNextDimensionSeed() {
+		return Sequences.hash(this.seed, this.pixelX, this.pixelY, this.dimension++);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static float doComponent(final int index, final int component, final int seed) {
+		return Sequences.toFloat(Sequences.owenScramble(Sequences.sobol(index, component), Sequences.hash(seed, component)));
+	}
+}
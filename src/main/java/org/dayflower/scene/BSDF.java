@@ -324,6 +324,27 @@ public final class BSDF {
 		Objects.requireNonNull(bXDFType, "bXDFType == null");
 		Objects.requireNonNull(sample, "sample == null");
 		
+		return sampleDistributionFunction(bXDFType, sample.x, sample.y);
+	}
+	
+	/**
+	 * Samples the distribution function.
+	 * <p>
+	 * Returns an optional {@link BSDFResult} with the result of the sampling.
+	 * <p>
+	 * If {@code bXDFType} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * This method is equivalent to {@link #sampleDistributionFunction(BXDFType, Point2F)}, but lets the caller pass the sample values without creating a {@link Point2F} instance.
+	 * 
+	 * @param bXDFType a {@link BXDFType} instance to match against
+	 * @param sampleU the U-component of the sample point
+	 * @param sampleV the V-component of the sample point
+	 * @return an optional {@code BSDFResult} with the result of the sampling
+	 * @throws NullPointerException thrown if, and only if, {@code bXDFType} is {@code null}
+	 */
+	public Optional<BSDFResult> sampleDistributionFunction(final BXDFType bXDFType, final float sampleU, final float sampleV) {
+		Objects.requireNonNull(bXDFType, "bXDFType == null");
+		
 		final Vector3F outgoing = this.outgoingLocalSpace;
 		final Vector3F normal = this.normalLocalSpace;
 		
@@ -339,11 +360,11 @@ public final class BSDF {
 			return Optional.empty();
 		}
 		
-		final int match = min((int)(Floats.floor(sample.x * matches)), matches - 1);
+		final int match = min((int)(Floats.floor(sampleU * matches)), matches - 1);
 		
 		final BXDF matchingBXDF = matchingBXDFs[match];
 		
-		final Point2F sampleRemapped = new Point2F(Floats.min(sample.x * matches - match, 0.99999994F), sample.y);
+		final Point2F sampleRemapped = new Point2F(Floats.min(sampleU * matches - match, 0.99999994F), sampleV);
 		
 		final Optional<BXDFResult> optionalBXDFResult = matchingBXDF.sampleDistributionFunction(outgoing, normal, sampleRemapped);
 		
@@ -29,6 +29,7 @@ import org.dayflower.geometry.OrthonormalBasis33F;
 import org.dayflower.geometry.Point2F;
 import org.dayflower.geometry.Point3F;
 import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.RayDifferential3F;
 import org.dayflower.geometry.SampleGeneratorF;
 import org.dayflower.geometry.Vector3F;
 import org.dayflower.utility.ParameterArguments;
@@ -241,47 +242,39 @@ public final class Camera implements Node {
 	 * @return an {@code Optional} with an optional {@code Ray3F} instance
 	 */
 	public Optional<Ray3F> createPrimaryRay(final float imageX, final float imageY, final float pixelX, final float pixelY) {
-		final float apertureRadius = this.apertureRadius;
-		final float fieldOfViewX = Floats.tan(+this.fieldOfViewX.getRadians() * 0.5F);
-		final float fieldOfViewY = Floats.tan(-this.fieldOfViewY.getRadians() * 0.5F);
-		final float focalDistance = this.focalDistance;
-		final float resolutionX = this.resolutionX;
-		final float resolutionY = this.resolutionY;
-		
-		final Point3F eye = this.eye;
-		
-		final OrthonormalBasis33F orthonormalBasis = this.orthonormalBasis;
-		
-		final Vector3F u = orthonormalBasis.u;
-		final Vector3F v = orthonormalBasis.v;
-		final Vector3F w = orthonormalBasis.w;
-		
-		final float cameraX = 2.0F * ((imageX + pixelX) / (resolutionX - 1.0F)) - 1.0F;
-		final float cameraY = 2.0F * ((imageY + pixelY) / (resolutionY - 1.0F)) - 1.0F;
+		return doCreatePrimaryRay(imageX, imageY, pixelX, pixelY, doSampleLens());
+	}
+	
+	/**
+	 * Creates a new primary {@link RayDifferential3F} instance given {@code imageX} and {@code imageY} as the image coordinates and {@code pixelX} and {@code pixelY} as the pixel coordinates.
+	 * <p>
+	 * Returns an {@code Optional} with an optional {@code RayDifferential3F} instance.
+	 * <p>
+	 * The offset rays of the {@code RayDifferential3F} instance are created for the pixels at {@code imageX + 1.0F} and {@code imageY + 1.0F}, using the same point on the lens as the primary ray. If an offset ray cannot be created, such as outside the circle of a fisheye lens, the {@code RayDifferential3F} instance will not have differentials.
+	 * 
+	 * @param imageX the X-coordinate of the image
+	 * @param imageY the Y-coordinate of the image
+	 * @param pixelX the X-coordinate of the pixel
+	 * @param pixelY the Y-coordinate of the pixel
+	 * @return an {@code Optional} with an optional {@code RayDifferential3F} instance
+	 */
+	public Optional<RayDifferential3F> createPrimaryRayDifferential(final float imageX, final float imageY, final float pixelX, final float pixelY) {
+		final Point2F point = doSampleLens();
 		
-		float wFactor = 1.0F;
+		final Optional<Ray3F> optionalRay = doCreatePrimaryRay(imageX, imageY, pixelX, pixelY, point);
 		
-		if(this.lens == Lens.FISHEYE) {
-			final float dotProduct = cameraX * cameraX + cameraY * cameraY;
-			
-			if(dotProduct > 1.0F) {
-				return Optional.empty();
-			}
-			
-			wFactor = Floats.sqrt(1.0F - dotProduct);
+		if(!optionalRay.isPresent()) {
+			return Optional.empty();
 		}
 		
-		final Point2F point = this.isSamplingCenter ? new Point2F() : SampleGeneratorF.sampleDiskUniformDistribution();
-		
-		final Point3F pointOnPlaneOneUnitAwayFromEye = new Point3F(Vector3F.add(Vector3F.add(Vector3F.multiply(u, fieldOfViewX * cameraX), Vector3F.multiply(v, fieldOfViewY * cameraY)), Vector3F.add(new Vector3F(eye), Vector3F.multiply(w, wFactor))));
-		final Point3F pointOnImagePlane = Point3F.add(eye, Vector3F.direction(eye, pointOnPlaneOneUnitAwayFromEye), focalDistance);
-		final Point3F origin = apertureRadius > 0.00001F ? Point3F.add(eye, Vector3F.add(Vector3F.multiply(u, point.x * apertureRadius), Vector3F.multiply(v, point.y * apertureRadius))) : eye;
+		final Optional<Ray3F> optionalRayX = doCreatePrimaryRay(imageX + 1.0F, imageY, pixelX, pixelY, point);
+		final Optional<Ray3F> optionalRayY = doCreatePrimaryRay(imageX, imageY + 1.0F, pixelX, pixelY, point);
 		
-		final Vector3F direction = Vector3F.directionNormalized(origin, pointOnImagePlane);
-		
-		final Ray3F ray = new Ray3F(origin, direction);
+		if(optionalRayX.isPresent() && optionalRayY.isPresent()) {
+			return Optional.of(new RayDifferential3F(optionalRay.get(), optionalRayX.get(), optionalRayY.get()));
+		}
 		
-		return Optional.of(ray);
+		return Optional.of(new RayDifferential3F(optionalRay.get()));
 	}
 	
 	/**
@@ -1070,4 +1063,52 @@ public final class Camera implements Node {
 			}
 		}
 	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Optional<Ray3F> doCreatePrimaryRay(final float imageX, final float imageY, final float pixelX, final float pixelY, final Point2F point) {
+		final float apertureRadius = this.apertureRadius;
+		final float fieldOfViewX = Floats.tan(+this.fieldOfViewX.getRadians() * 0.5F);
+		final float fieldOfViewY = Floats.tan(-this.fieldOfViewY.getRadians() * 0.5F);
+		final float focalDistance = this.focalDistance;
+		final float resolutionX = this.resolutionX;
+		final float resolutionY = this.resolutionY;
+		
+		final Point3F eye = this.eye;
+		
+		final OrthonormalBasis33F orthonormalBasis = this.orthonormalBasis;
+		
+		final Vector3F u = orthonormalBasis.u;
+		final Vector3F v = orthonormalBasis.v;
+		final Vector3F w = orthonormalBasis.w;
+		
+		final float cameraX = 2.0F * ((imageX + pixelX) / (resolutionX - 1.0F)) - 1.0F;
+		final float cameraY = 2.0F * ((imageY + pixelY) / (resolutionY - 1.0F)) - 1.0F;
+		
+		float wFactor = 1.0F;
+		
+		if(this.lens == Lens.FISHEYE) {
+			final float dotProduct = cameraX * cameraX + cameraY * cameraY;
+			
+			if(dotProduct > 1.0F) {
+				return Optional.empty();
+			}
+			
+			wFactor = Floats.sqrt(1.0F - dotProduct);
+		}
+		
+		final Point3F pointOnPlaneOneUnitAwayFromEye = new Point3F(Vector3F.add(Vector3F.add(Vector3F.multiply(u, fieldOfViewX * cameraX), Vector3F.multiply(v, fieldOfViewY * cameraY)), Vector3F.add(new Vector3F(eye), Vector3F.multiply(w, wFactor))));
+		final Point3F pointOnImagePlane = Point3F.add(eye, Vector3F.direction(eye, pointOnPlaneOneUnitAwayFromEye), focalDistance);
+		final Point3F origin = apertureRadius > 0.00001F ? Point3F.add(eye, Vector3F.add(Vector3F.multiply(u, point.x * apertureRadius), Vector3F.multiply(v, point.y * apertureRadius))) : eye;
+		
+		final Vector3F direction = Vector3F.directionNormalized(origin, pointOnImagePlane);
+		
+		final Ray3F ray = new Ray3F(origin, direction);
+		
+		return Optional.of(ray);
+	}
+	
+	private Point2F doSampleLens() {
+		return this.isSamplingCenter ? new Point2F() : SampleGeneratorF.sampleDiskUniformDistribution();
+	}
 }
\ No newline at end of file
@@ -26,8 +26,10 @@ import org.dayflower.geometry.OrthonormalBasis33F;
 import org.dayflower.geometry.Point2F;
 import org.dayflower.geometry.Point3F;
 import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.RayDifferential3F;
 import org.dayflower.geometry.Shape3F;
 import org.dayflower.geometry.SurfaceIntersection3F;
+import org.dayflower.geometry.Vector2F;
 import org.dayflower.geometry.Vector3F;
 
 /**
@@ -49,6 +51,8 @@ public final class Intersection {
 	private OrthonormalBasis33F orthonormalBasisG;
 	private OrthonormalBasis33F orthonormalBasisS;
 	private Point2F textureCoordinates;
+	private Vector2F textureCoordinatesDerivativeX;
+	private Vector2F textureCoordinatesDerivativeY;
 	private final Primitive primitive;
 	private final SurfaceIntersection3F surfaceIntersectionObjectSpace;
 	private final SurfaceIntersection3F surfaceIntersectionWorldSpace;
@@ -71,6 +75,8 @@ public final class Intersection {
 		this.orthonormalBasisG = this.surfaceIntersectionWorldSpace.getOrthonormalBasisG();
 		this.orthonormalBasisS = this.surfaceIntersectionWorldSpace.getOrthonormalBasisS();
 		this.textureCoordinates = this.surfaceIntersectionWorldSpace.getTextureCoordinates();
+		this.textureCoordinatesDerivativeX = Vector2F.ZERO;
+		this.textureCoordinatesDerivativeY = Vector2F.ZERO;
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -127,6 +133,28 @@ public final class Intersection {
 		return this.textureCoordinates;
 	}
 	
+	/**
+	 * Returns the {@link Vector2F} instance that represents the change in texture coordinates for a step of one pixel along the X-axis of the image.
+	 * <p>
+	 * If no differentials have been computed, {@code Vector2F.ZERO} will be returned.
+	 * 
+	 * @return the {@code Vector2F} instance that represents the change in texture coordinates for a step of one pixel along the X-axis of the image
+	 */
+	public Vector2F getTextureCoordinatesDerivativeX() {
+		return this.textureCoordinatesDerivativeX;
+	}
+	
+	/**
+	 * Returns the {@link Vector2F} instance that represents the change in texture coordinates for a step of one pixel along the Y-axis of the image.
+	 * <p>
+	 * If no differentials have been computed, {@code Vector2F.ZERO} will be returned.
+	 * 
+	 * @return the {@code Vector2F} instance that represents the change in texture coordinates for a step of one pixel along the Y-axis of the image
+	 */
+	public Vector2F getTextureCoordinatesDerivativeY() {
+		return this.textureCoordinatesDerivativeY;
+	}
+	
 	/**
 	 * Returns the {@link Point3F} instance that is used as the surface intersection point in world space.
 	 * 
@@ -273,6 +301,10 @@ public final class Intersection {
 			return false;
 		} else if(!Objects.equals(this.textureCoordinates, Intersection.class.cast(object).textureCoordinates)) {
 			return false;
+		} else if(!Objects.equals(this.textureCoordinatesDerivativeX, Intersection.class.cast(object).textureCoordinatesDerivativeX)) {
+			return false;
+		} else if(!Objects.equals(this.textureCoordinatesDerivativeY, Intersection.class.cast(object).textureCoordinatesDerivativeY)) {
+			return false;
 		} else if(!Objects.equals(this.primitive, Intersection.class.cast(object).primitive)) {
 			return false;
 		} else if(!Objects.equals(this.surfaceIntersectionObjectSpace, Intersection.class.cast(object).surfaceIntersectionObjectSpace)) {
@@ -300,7 +332,29 @@ public final class Intersection {
 	 */
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.orthonormalBasisG, this.orthonormalBasisS, this.textureCoordinates, this.primitive, this.surfaceIntersectionObjectSpace, this.surfaceIntersectionWorldSpace);
+		return Objects.hash(this.orthonormalBasisG, this.orthonormalBasisS, this.textureCoordinates, this.textureCoordinatesDerivativeX, this.textureCoordinatesDerivativeY, this.primitive, this.surfaceIntersectionObjectSpace, this.surfaceIntersectionWorldSpace);
+	}
+	
+	/**
+	 * Computes the texture coordinate derivatives of this {@code Intersection} instance given {@code rayDifferential}.
+	 * <p>
+	 * If {@code rayDifferential} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * The offset rays of {@code rayDifferential} are intersected with the {@link Primitive} instance associated with this {@code Intersection} instance. The derivatives are the differences between the texture coordinates found by the offset rays and the texture coordinates of this {@code Intersection} instance. If {@code rayDifferential} does not have differentials, or an offset ray misses the {@code Primitive} instance, the corresponding derivative will be set to {@code Vector2F.ZERO}.
+	 * 
+	 * @param rayDifferential a {@link RayDifferential3F} instance
+	 * @throws NullPointerException thrown if, and only if, {@code rayDifferential} is {@code null}
+	 */
+	public void computeDifferentials(final RayDifferential3F rayDifferential) {
+		Objects.requireNonNull(rayDifferential, "rayDifferential == null");
+		
+		if(rayDifferential.hasDifferentials()) {
+			this.textureCoordinatesDerivativeX = doComputeTextureCoordinatesDerivative(rayDifferential.getRayX());
+			this.textureCoordinatesDerivativeY = doComputeTextureCoordinatesDerivative(rayDifferential.getRayY());
+		} else {
+			this.textureCoordinatesDerivativeX = Vector2F.ZERO;
+			this.textureCoordinatesDerivativeY = Vector2F.ZERO;
+		}
 	}
 	
 	/**
@@ -389,4 +443,16 @@ public final class Intersection {
 			return EMPTY;
 		}
 	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Vector2F doComputeTextureCoordinatesDerivative(final Ray3F ray) {
+		final Optional<Intersection> optionalIntersection = this.primitive.intersection(ray, Scene.T_MINIMUM, Scene.T_MAXIMUM);
+		
+		if(optionalIntersection.isPresent()) {
+			return Vector2F.direction(this.textureCoordinates, optionalIntersection.get().getTextureCoordinates());
+		}
+		
+		return Vector2F.ZERO;
+	}
 }
\ No newline at end of file
@@ -22,7 +22,6 @@ import java.util.Objects;
 import java.util.Optional;
 
 import org.dayflower.geometry.BoundingVolume3F;
-import org.dayflower.geometry.Matrix44F;
 import org.dayflower.geometry.Ray3F;
 import org.dayflower.geometry.Shape3F;
 import org.dayflower.geometry.SurfaceIntersection3F;
@@ -52,7 +51,9 @@ public final class Intersector {
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private Primitive primitive;
+	private Ray3F rayObjectSpace;
 	private SurfaceIntersector3F surfaceIntersector;
+	private float tObjectSpace;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -87,7 +88,9 @@ public final class Intersector {
 	 */
 	public Intersector(final Ray3F ray, final float tMinimum, final float tMaximum) {
 		this.primitive = null;
+		this.rayObjectSpace = null;
 		this.surfaceIntersector = new SurfaceIntersector3F(Objects.requireNonNull(ray, "ray == null"), tMinimum, tMaximum);
+		this.tObjectSpace = Float.NaN;
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -96,6 +99,8 @@ public final class Intersector {
 	 * Computes an {@link Intersection} for the current intersection.
 	 * <p>
 	 * Returns an optional {@code Intersection} instance.
+	 * <p>
+	 * The {@code Intersection} is computed from the object space ray and parametric {@code t} value that were recorded when the closest {@link Primitive} was found, so the ray is not tested against its {@link Shape3F} a second time.
 	 * 
 	 * @return an optional {@code Intersection} instance
 	 */
@@ -103,19 +108,12 @@ public final class Intersector {
 		final Primitive primitive = this.primitive;
 		
 		if(primitive != null) {
-			final Transform transform = primitive.getTransform();
-			
-			final Matrix44F worldToObject = transform.getWorldToObject();
-			
-			final Ray3F rayWorldSpace = this.surfaceIntersector.getRay();
-			final Ray3F rayObjectSpace = Ray3F.transform(worldToObject, rayWorldSpace);
-			
 			final Optional<Shape3F> optionalShape = this.surfaceIntersector.getShape();
 			
 			if(optionalShape.isPresent()) {
 				final Shape3F shape = optionalShape.get();
 				
-				final Optional<SurfaceIntersection3F> optionalSurfaceIntersectionObjectSpace = shape.intersection(rayObjectSpace, T_MINIMUM, T_MAXIMUM);
+				final Optional<SurfaceIntersection3F> optionalSurfaceIntersectionObjectSpace = shape.computeSurfaceIntersection(this.rayObjectSpace, T_MINIMUM, T_MAXIMUM, this.tObjectSpace);
 				
 				if(optionalSurfaceIntersectionObjectSpace.isPresent()) {
 					final SurfaceIntersection3F surfaceIntersectionObjectSpace = optionalSurfaceIntersectionObjectSpace.get();
@@ -204,6 +202,8 @@ public final class Intersector {
 			
 			if(primitive.getShape().intersection(this.surfaceIntersector)) {
 				this.primitive = primitive;
+				this.rayObjectSpace = this.surfaceIntersector.getRay();
+				this.tObjectSpace = this.surfaceIntersector.getT();
 				
 				isIntersecting = true;
 			}
@@ -277,6 +277,8 @@ public final class Intersector {
 	 */
 	public void initialize(final Ray3F ray, final float tMinimum, final float tMaximum) {
 		this.primitive = null;
+		this.rayObjectSpace = null;
 		this.surfaceIntersector = new SurfaceIntersector3F(Objects.requireNonNull(ray, "ray == null"), tMinimum, tMaximum);
+		this.tObjectSpace = Float.NaN;
 	}
 }
\ No newline at end of file
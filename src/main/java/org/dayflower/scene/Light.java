@@ -22,9 +22,11 @@ import java.util.Objects;
 import java.util.Optional;
 
 import org.dayflower.color.Color3F;
+import org.dayflower.geometry.BoundingVolume3F;
 import org.dayflower.geometry.Point2F;
 import org.dayflower.geometry.Ray3F;
 import org.dayflower.geometry.Vector3F;
+import org.dayflower.geometry.boundingvolume.InfiniteBoundingVolume3F;
 import org.dayflower.utility.ParameterArguments;
 
 import org.macroing.java.util.visitor.Node;
@@ -63,6 +65,18 @@ public abstract class Light implements Node {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Returns a {@link BoundingVolume3F} instance that contains this {@code Light} instance in world space.
+	 * <p>
+	 * This method returns an {@link InfiniteBoundingVolume3F} instance by default. A {@code Light} instance that is bounded in space should override it, so it can be sampled based on its location.
+	 * 
+	 * @return a {@code BoundingVolume3F} instance that contains this {@code Light} instance in world space
+	 */
+	@SuppressWarnings("static-method")
+	public BoundingVolume3F getBoundingVolume() {
+		return new InfiniteBoundingVolume3F();
+	}
+	
 	/**
 	 * Returns a {@link Color3F} instance with the radiance emitted along {@code ray}.
 	 * <p>
@@ -0,0 +1,371 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.dayflower.geometry.BoundingVolume3F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.SurfaceIntersector3F;
+import org.dayflower.geometry.Vector3F;
+
+import org.macroing.java.lang.Floats;
+
+final class LinearBVH {
+	private static final int BOUNDS_SIZE = 6;
+	private static final int DATA_SIZE = 2;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final Primitive[] primitives;
+	private final float[] bounds;
+	private final int[] data;
+	private final int stackSize;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public LinearBVH(final BVHNode bVHNode) {
+		final int nodeCount = doCountNodes(Objects.requireNonNull(bVHNode, "bVHNode == null"));
+		
+		final List<Primitive> primitives = new ArrayList<>();
+		
+		final int[] maximumDepth = new int[1];
+		
+		this.bounds = new float[nodeCount * BOUNDS_SIZE];
+		this.data = new int[nodeCount * DATA_SIZE];
+		
+		doFlatten(bVHNode, 0, 0, primitives, maximumDepth);
+		
+		this.primitives = primitives.toArray(new Primitive[primitives.size()]);
+		this.stackSize = maximumDepth[0] + 1;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public boolean intersection(final Intersector intersector) {
+		final SurfaceIntersector3F surfaceIntersector = intersector.getSurfaceIntersector();
+		
+		final Ray3F ray = surfaceIntersector.getRay();
+		
+		final Point3F origin = ray.getOrigin();
+		
+		final Vector3F direction = ray.getDirection();
+		
+		final float originX = origin.x;
+		final float originY = origin.y;
+		final float originZ = origin.z;
+		
+		final float directionReciprocalX = 1.0F / direction.x;
+		final float directionReciprocalY = 1.0F / direction.y;
+		final float directionReciprocalZ = 1.0F / direction.z;
+		
+		final int directionSigns = doGetDirectionSigns(direction);
+		
+		final int[] stack = new int[this.stackSize];
+		
+		boolean isIntersecting = false;
+		
+		int index = 0;
+		int stackIndex = 0;
+		
+		while(true) {
+			if(doIntersects(this.bounds, index * BOUNDS_SIZE, originX, originY, originZ, directionReciprocalX, directionReciprocalY, directionReciprocalZ, surfaceIntersector.getTMinimum(), surfaceIntersector.getTMaximum())) {
+				final int a = this.data[index * DATA_SIZE + 0];
+				final int b = this.data[index * DATA_SIZE + 1];
+				
+				if(b < 0) {
+					index = doPushFar(stack, stackIndex++, index, a, b, directionSigns);
+					
+					continue;
+				}
+				
+				for(int i = a; i < a + b; i++) {
+					if(intersector.intersection(this.primitives[i])) {
+						isIntersecting = true;
+					}
+				}
+			}
+			
+			if(stackIndex == 0) {
+				return isIntersecting;
+			}
+			
+			index = stack[--stackIndex];
+		}
+	}
+	
+	public boolean intersects(final Ray3F ray, final float tMinimum, final float tMaximum) {
+		final Point3F origin = ray.getOrigin();
+		
+		final Vector3F direction = ray.getDirection();
+		
+		final float originX = origin.x;
+		final float originY = origin.y;
+		final float originZ = origin.z;
+		
+		final float directionReciprocalX = 1.0F / direction.x;
+		final float directionReciprocalY = 1.0F / direction.y;
+		final float directionReciprocalZ = 1.0F / direction.z;
+		
+		final int directionSigns = doGetDirectionSigns(direction);
+		
+		final int[] stack = new int[this.stackSize];
+		
+		int index = 0;
+		int stackIndex = 0;
+		
+		while(true) {
+			if(doIntersects(this.bounds, index * BOUNDS_SIZE, originX, originY, originZ, directionReciprocalX, directionReciprocalY, directionReciprocalZ, tMinimum, tMaximum)) {
+				final int a = this.data[index * DATA_SIZE + 0];
+				final int b = this.data[index * DATA_SIZE + 1];
+				
+				if(b < 0) {
+					index = doPushFar(stack, stackIndex++, index, a, b, directionSigns);
+					
+					continue;
+				}
+				
+				for(int i = a; i < a + b; i++) {
+					if(this.primitives[i].intersects(ray, tMinimum, tMaximum)) {
+						return true;
+					}
+				}
+			}
+			
+			if(stackIndex == 0) {
+				return false;
+			}
+			
+			index = stack[--stackIndex];
+		}
+	}
+	
+	public float intersectionT(final Ray3F ray, final float tMinimum, final float tMaximum) {
+		final Point3F origin = ray.getOrigin();
+		
+		final Vector3F direction = ray.getDirection();
+		
+		final float originX = origin.x;
+		final float originY = origin.y;
+		final float originZ = origin.z;
+		
+		final float directionReciprocalX = 1.0F / direction.x;
+		final float directionReciprocalY = 1.0F / direction.y;
+		final float directionReciprocalZ = 1.0F / direction.z;
+		
+		final int directionSigns = doGetDirectionSigns(direction);
+		
+		final int[] stack = new int[this.stackSize];
+		
+		float t = Float.NaN;
+		float tMax = tMaximum;
+		
+		int index = 0;
+		int stackIndex = 0;
+		
+		while(true) {
+			if(doIntersects(this.bounds, index * BOUNDS_SIZE, originX, originY, originZ, directionReciprocalX, directionReciprocalY, directionReciprocalZ, tMinimum, tMax)) {
+				final int a = this.data[index * DATA_SIZE + 0];
+				final int b = this.data[index * DATA_SIZE + 1];
+				
+				if(b < 0) {
+					index = doPushFar(stack, stackIndex++, index, a, b, directionSigns);
+					
+					continue;
+				}
+				
+				for(int i = a; i < a + b; i++) {
+					final float tCurrent = this.primitives[i].intersectionT(ray, tMinimum, tMax);
+					
+					if(!Floats.isNaN(tCurrent) && tCurrent > tMinimum && tCurrent < tMax) {
+						t = tCurrent;
+						tMax = tCurrent;
+					}
+				}
+			}
+			
+			if(stackIndex == 0) {
+				return t;
+			}
+			
+			index = stack[--stackIndex];
+		}
+	}
+	
+	public float getSAHCost() {
+		final float surfaceAreaRoot = doGetHalfSurfaceArea(this.bounds, 0);
+		
+		if(surfaceAreaRoot <= 0.0F) {
+			return 0.0F;
+		}
+		
+		float cost = 0.0F;
+		
+		for(int index = 0; index < getNodeCount(); index++) {
+			final int b = this.data[index * DATA_SIZE + 1];
+			
+			cost += (b < 0 ? 1.0F : b) * doGetHalfSurfaceArea(this.bounds, index * BOUNDS_SIZE) / surfaceAreaRoot;
+		}
+		
+		return cost;
+	}
+	
+	public int getLeafCount() {
+		int leafCount = 0;
+		
+		for(int index = 0; index < getNodeCount(); index++) {
+			if(this.data[index * DATA_SIZE + 1] >= 0) {
+				leafCount++;
+			}
+		}
+		
+		return leafCount;
+	}
+	
+	public int getMaximumDepth() {
+		return this.stackSize - 1;
+	}
+	
+	public int getNodeCount() {
+		return this.data.length / DATA_SIZE;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private int doFlatten(final BVHNode bVHNode, final int index, final int depth, final List<Primitive> primitives, final int[] maximumDepth) {
+		final BoundingVolume3F boundingVolume = bVHNode.getBoundingVolume();
+		
+		final Point3F maximum = boundingVolume.getMaximum();
+		final Point3F minimum = boundingVolume.getMinimum();
+		
+		final int boundsOffset = index * BOUNDS_SIZE;
+		final int dataOffset = index * DATA_SIZE;
+		
+		this.bounds[boundsOffset + 0] = minimum.x;
+		this.bounds[boundsOffset + 1] = minimum.y;
+		this.bounds[boundsOffset + 2] = minimum.z;
+		this.bounds[boundsOffset + 3] = maximum.x;
+		this.bounds[boundsOffset + 4] = maximum.y;
+		this.bounds[boundsOffset + 5] = maximum.z;
+		
+		maximumDepth[0] = Math.max(maximumDepth[0], depth);
+		
+		if(bVHNode instanceof TreeBVHNode) {
+			final TreeBVHNode treeBVHNode = TreeBVHNode.class.cast(bVHNode);
+			
+			final BVHNode bVHNodeL = treeBVHNode.getBVHNodeL();
+			final BVHNode bVHNodeR = treeBVHNode.getBVHNodeR();
+			
+			final Point3F midpointL = bVHNodeL.getBoundingVolume().getMidpoint();
+			final Point3F midpointR = bVHNodeR.getBoundingVolume().getMidpoint();
+			
+			final int axis = doGetSplitAxis(midpointL, midpointR);
+			
+			final boolean isLeftFirst = midpointL.getComponent(axis) <= midpointR.getComponent(axis);
+			
+			final int indexSecond = doFlatten(isLeftFirst ? bVHNodeL : bVHNodeR, index + 1, depth + 1, primitives, maximumDepth);
+			
+			this.data[dataOffset + 0] = indexSecond;
+			this.data[dataOffset + 1] = -1 - axis;
+			
+			return doFlatten(isLeftFirst ? bVHNodeR : bVHNodeL, indexSecond, depth + 1, primitives, maximumDepth);
+		}
+		
+		final List<Primitive> leafPrimitives = LeafBVHNode.class.cast(bVHNode).getPrimitives();
+		
+		this.data[dataOffset + 0] = primitives.size();
+		this.data[dataOffset + 1] = leafPrimitives.size();
+		
+		primitives.addAll(leafPrimitives);
+		
+		return index + 1;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static boolean doIntersects(final float[] bounds, final int offset, final float originX, final float originY, final float originZ, final float directionReciprocalX, final float directionReciprocalY, final float directionReciprocalZ, final float tMinimum, final float tMaximum) {
+		float tNear = tMinimum;
+		float tFar = tMaximum;
+		
+		for(int axis = 0; axis < 3; axis++) {
+			final float origin = axis == 0 ? originX : axis == 1 ? originY : originZ;
+			final float directionReciprocal = axis == 0 ? directionReciprocalX : axis == 1 ? directionReciprocalY : directionReciprocalZ;
+			
+			final float t0 = (bounds[offset + axis + 0] - origin) * directionReciprocal;
+			final float t1 = (bounds[offset + axis + 3] - origin) * directionReciprocal;
+			
+//			The comparisons are written so that a NaN, caused by a ray origin in a slab plane and a zero direction component, does not reject the node:
+			tNear = t0 < t1 ? t0 > tNear ? t0 : tNear : t1 > tNear ? t1 : tNear;
+			tFar = t0 < t1 ? t1 < tFar ? t1 : tFar : t0 < tFar ? t0 : tFar;
+			
+			if(tNear > tFar) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	private static float doGetHalfSurfaceArea(final float[] bounds, final int offset) {
+		final float x = bounds[offset + 3] - bounds[offset + 0];
+		final float y = bounds[offset + 4] - bounds[offset + 1];
+		final float z = bounds[offset + 5] - bounds[offset + 2];
+		
+		return x * y + y * z + z * x;
+	}
+	
+	private static int doCountNodes(final BVHNode bVHNode) {
+		if(bVHNode instanceof TreeBVHNode) {
+			final TreeBVHNode treeBVHNode = TreeBVHNode.class.cast(bVHNode);
+			
+			return 1 + doCountNodes(treeBVHNode.getBVHNodeL()) + doCountNodes(treeBVHNode.getBVHNodeR());
+		}
+		
+		return 1;
+	}
+	
+	private static int doGetDirectionSigns(final Vector3F direction) {
+		return (direction.x < 0.0F ? 1 : 0) | (direction.y < 0.0F ? 2 : 0) | (direction.z < 0.0F ? 4 : 0);
+	}
+	
+	private static int doGetSplitAxis(final Point3F midpointL, final Point3F midpointR) {
+		final float deltaX = Floats.abs(midpointL.x - midpointR.x);
+		final float deltaY = Floats.abs(midpointL.y - midpointR.y);
+		final float deltaZ = Floats.abs(midpointL.z - midpointR.z);
+		
+		return deltaX >= deltaY && deltaX >= deltaZ ? 0 : deltaY >= deltaZ ? 1 : 2;
+	}
+	
+	private static int doPushFar(final int[] stack, final int stackIndex, final int index, final int indexSecond, final int axisEncoded, final int directionSigns) {
+		final int axis = -1 - axisEncoded;
+		
+		if((directionSigns & (1 << axis)) != 0) {
+			stack[stackIndex] = index + 1;
+			
+			return indexSecond;
+		}
+		
+		stack[stackIndex] = indexSecond;
+		
+		return index + 1;
+	}
+}
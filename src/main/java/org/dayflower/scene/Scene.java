@@ -23,11 +23,11 @@ import static org.dayflower.utility.Ints.min;
 import static org.dayflower.utility.Ints.toInt;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 
 import org.dayflower.color.Color3F;
 import org.dayflower.geometry.BoundingVolume3F;
@@ -35,17 +35,19 @@ import org.dayflower.geometry.OrthonormalBasis33F;
 import org.dayflower.geometry.Point2F;
 import org.dayflower.geometry.Point3F;
 import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.RayDifferential3F;
 import org.dayflower.geometry.SampleGeneratorF;
 import org.dayflower.geometry.Vector3F;
 import org.dayflower.geometry.boundingvolume.InfiniteBoundingVolume3F;
-import org.dayflower.sampler.NRooksSampler;
-import org.dayflower.sampler.Sample1F;
-import org.dayflower.sampler.Sample2F;
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHBuilder3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHBuilder3F.NodeFactory;
 import org.dayflower.sampler.Sampler;
+import org.dayflower.sampler.SeededRandomSampler;
+import org.dayflower.scene.light.LightBVHLightDistribution;
+import org.dayflower.scene.light.LightDistribution;
 import org.dayflower.utility.ParameterArguments;
 
 import org.macroing.java.lang.Floats;
-import org.macroing.java.util.Randoms;
 import org.macroing.java.util.visitor.Node;
 import org.macroing.java.util.visitor.NodeHierarchicalVisitor;
 import org.macroing.java.util.visitor.NodeTraversalException;
@@ -71,13 +73,21 @@ public final class Scene implements Node {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private static final ThreadLocal<float[]> SAMPLE = ThreadLocal.withInitial(() -> new float[5]);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
 	private BVHNode bVHNode;
 	private Camera camera;
 	private final CameraObserver cameraObserver;
+	private Function<Scene, LightDistribution> lightDistributionFunction;
+	private volatile LightDistribution lightDistribution;
+	private LinearBVH linearBVH;
 	private final List<Light> lights;
 	private final List<Primitive> primitives;
 	private final List<Primitive> primitivesExternalToBVH;
 	private final List<SceneObserver> sceneObservers;
+	private final Object lightDistributionLock;
 	private final PrimitiveObserver primitiveObserver;
 	private Sampler sampler;
 	private String name;
@@ -130,15 +140,19 @@ public final class Scene implements Node {
 	 */
 	public Scene(final Camera camera, final String name) {
 		this.bVHNode = null;
+		this.linearBVH = null;
 		this.sceneObservers = new CopyOnWriteArrayList<>();
 		this.cameraObserver = new CameraObserverImpl(this, this.sceneObservers);
 		this.camera = Objects.requireNonNull(camera, "camera == null");
 		this.camera.addCameraObserver(this.cameraObserver);
+		this.lightDistribution = null;
+		this.lightDistributionFunction = LightBVHLightDistribution::new;
+		this.lightDistributionLock = new Object();
 		this.lights = new CopyOnWriteArrayList<>();
 		this.primitives = new CopyOnWriteArrayList<>();
 		this.primitivesExternalToBVH = new CopyOnWriteArrayList<>();
 		this.primitiveObserver = new PrimitiveObserverImpl(this, this.sceneObservers);
-		this.sampler = new NRooksSampler();
+		this.sampler = new SeededRandomSampler();
 		this.name = Objects.requireNonNull(name, "name == null");
 		this.primitiveInstanceID = -1;
 		this.updatedAt = 0L;
@@ -270,6 +284,27 @@ public final class Scene implements Node {
 	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
 	 */
 	public Color3F radianceAmbientOcclusion(final Ray3F ray, final float tMinimum, final float tMaximum, final boolean isPreviewMode, final float maximumDistance, final int samples) {
+		return radianceAmbientOcclusion(ray, tMinimum, tMaximum, isPreviewMode, maximumDistance, samples, getSampler());
+	}
+	
+	/**
+	 * Returns a {@link Color3F} instance with the radiance along {@code ray} using an Ambient Occlusion algorithm.
+	 * <p>
+	 * If either {@code ray} or {@code sampler} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param ray the {@link Ray3F} instance to trace
+	 * @param tMinimum the minimum parametric distance
+	 * @param tMaximum the maximum parametric distance
+	 * @param isPreviewMode {@code true} if, and only if, preview mode is enabled, {@code false} otherwise
+	 * @param maximumDistance the maximum distance
+	 * @param samples the samples to use
+	 * @param sampler the {@link Sampler} instance to use
+	 * @return a {@code Color3F} instance with the radiance along {@code ray} using an Ambient Occlusion algorithm
+	 * @throws NullPointerException thrown if, and only if, either {@code ray} or {@code sampler} are {@code null}
+	 */
+	public Color3F radianceAmbientOcclusion(final Ray3F ray, final float tMinimum, final float tMaximum, final boolean isPreviewMode, final float maximumDistance, final int samples, final Sampler sampler) {
+		Objects.requireNonNull(sampler, "sampler == null");
+		
 		final Optional<Intersection> optionalIntersection = intersection(ray, tMinimum, tMaximum);
 		
 		if(optionalIntersection.isPresent()) {
@@ -279,8 +314,12 @@ public final class Scene implements Node {
 			
 			final OrthonormalBasis33F orthonormalBasisGWorldSpace = intersection.getOrthonormalBasisG();
 			
+			final float[] sampleUV = SAMPLE.get();
+			
 			for(int sample = 0; sample < samples; sample++) {
-				final Vector3F directionWorldSpace = Vector3F.normalize(Vector3F.transform(SampleGeneratorF.sampleHemisphereUniformDistribution(), orthonormalBasisGWorldSpace));
+				sampler.sample2(sampleUV, 0);
+				
+				final Vector3F directionWorldSpace = Vector3F.normalize(Vector3F.transform(SampleGeneratorF.sampleHemisphereUniformDistribution(sampleUV[0], sampleUV[1]), orthonormalBasisGWorldSpace));
 				
 				final Ray3F rayWorldSpaceShadow = intersection.createRay(directionWorldSpace);
 				
@@ -449,21 +488,68 @@ public final class Scene implements Node {
 	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
 	 */
 	public Color3F radiancePathTracer(final Ray3F ray, final float tMinimum, final float tMaximum, final boolean isPreviewMode, final int maximumBounce, final int minimumBounceRussianRoulette) {
+		return radiancePathTracer(ray, tMinimum, tMaximum, isPreviewMode, maximumBounce, minimumBounceRussianRoulette, getSampler());
+	}
+	
+	/**
+	 * Returns a {@link Color3F} instance with the radiance along {@code ray} using a Path Tracer algorithm.
+	 * <p>
+	 * If either {@code ray} or {@code sampler} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * All random numbers are taken from {@code sampler}. A renderer that traces paths in parallel should therefore pass a separate {@link Sampler} instance for each thread, as returned by {@link Sampler#copy()}.
+	 * 
+	 * @param ray the {@link Ray3F} instance to trace
+	 * @param tMinimum the minimum parametric distance
+	 * @param tMaximum the maximum parametric distance
+	 * @param isPreviewMode {@code true} if, and only if, preview mode is enabled, {@code false} otherwise
+	 * @param maximumBounce the maximum bounce
+	 * @param minimumBounceRussianRoulette the minimum bounce before Russian roulette termination occurs
+	 * @param sampler the {@code Sampler} instance to use
+	 * @return a {@code Color3F} instance with the radiance along {@code ray} using a Path Tracer algorithm
+	 * @throws NullPointerException thrown if, and only if, either {@code ray} or {@code sampler} are {@code null}
+	 */
+	public Color3F radiancePathTracer(final Ray3F ray, final float tMinimum, final float tMaximum, final boolean isPreviewMode, final int maximumBounce, final int minimumBounceRussianRoulette, final Sampler sampler) {
+		return radiancePathTracer(new RayDifferential3F(ray), tMinimum, tMaximum, isPreviewMode, maximumBounce, minimumBounceRussianRoulette, sampler);
+	}
+	
+	/**
+	 * Returns a {@link Color3F} instance with the radiance along {@code rayDifferential} using a Path Tracer algorithm.
+	 * <p>
+	 * If either {@code rayDifferential} or {@code sampler} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code rayDifferential} has differentials, they are used to compute the texture coordinate derivatives of the first intersection, so that image textures can be filtered.
+	 * <p>
+	 * All random numbers are taken from {@code sampler}. A renderer that traces paths in parallel should therefore pass a separate {@link Sampler} instance for each thread, as returned by {@link Sampler#copy()}.
+	 * 
+	 * @param rayDifferential the {@link RayDifferential3F} instance to trace
+	 * @param tMinimum the minimum parametric distance
+	 * @param tMaximum the maximum parametric distance
+	 * @param isPreviewMode {@code true} if, and only if, preview mode is enabled, {@code false} otherwise
+	 * @param maximumBounce the maximum bounce
+	 * @param minimumBounceRussianRoulette the minimum bounce before Russian roulette termination occurs
+	 * @param sampler the {@code Sampler} instance to use
+	 * @return a {@code Color3F} instance with the radiance along {@code rayDifferential} using a Path Tracer algorithm
+	 * @throws NullPointerException thrown if, and only if, either {@code rayDifferential} or {@code sampler} are {@code null}
+	 */
+	public Color3F radiancePathTracer(final RayDifferential3F rayDifferential, final float tMinimum, final float tMaximum, final boolean isPreviewMode, final int maximumBounce, final int minimumBounceRussianRoulette, final Sampler sampler) {
+		Objects.requireNonNull(rayDifferential, "rayDifferential == null");
+		Objects.requireNonNull(sampler, "sampler == null");
+		
 		final List<Light> lights = this.lights;
 		
-		final Sampler sampler = getSampler();
+		final float[] sample = SAMPLE.get();
 		
 		Color3F radiance = Color3F.BLACK;
 		Color3F throughput = Color3F.WHITE;
 		
-		Ray3F currentRay = ray;
+		Ray3F currentRay = rayDifferential.getRay();
 		
 		boolean isSpecularBounce = false;
 		
 		float etaScale = 1.0F;
 		
 		for(int currentBounce = 0; true; currentBounce++) {
-			final Optional<Intersection> optionalIntersection = intersection(currentRay, tMinimum, tMaximum);
+			final Optional<Intersection> optionalIntersection = currentRay == rayDifferential.getRay() ? intersection(rayDifferential, tMinimum, tMaximum) : intersection(currentRay, tMinimum, tMaximum);
 			
 			if(optionalIntersection.isPresent()) {
 				final Intersection intersection = optionalIntersection.get();
@@ -497,15 +583,15 @@ public final class Scene implements Node {
 				final BSDF bSDF = optionalBSDF.get();
 				
 				if(bSDF.countBXDFsBySpecularType(false) > 0) {
-					radiance = Color3F.add(radiance, Color3F.multiply(throughput, sampleOneLightUniformDistribution(bSDF, intersection)));
+					radiance = Color3F.add(radiance, Color3F.multiply(throughput, sampleOneLight(bSDF, intersection, sampler)));
 				}
 				
 				final Vector3F surfaceNormalG = intersection.getSurfaceNormalG();
 				final Vector3F surfaceNormalS = intersection.getSurfaceNormalS();
 				
-				final Sample2F sample = sampler.sample2();
+				sampler.sample2(sample, 0);
 				
-				final Optional<BSDFResult> optionalBSDFResult = bSDF.sampleDistributionFunction(BXDFType.ALL, new Point2F(sample.getU(), sample.getV()));
+				final Optional<BSDFResult> optionalBSDFResult = bSDF.sampleDistributionFunction(BXDFType.ALL, sample[0], sample[1]);
 				
 				if(!optionalBSDFResult.isPresent()) {
 					break;
@@ -540,11 +626,15 @@ public final class Scene implements Node {
 				if(optionalBSSRDF.isPresent() && bXDFType.hasTransmission()) {
 					final BSSRDF bSSRDF = optionalBSSRDF.get();
 					
-					final Sample1F u1 = sampler.sample1();
-					final Sample2F u2 = sampler.sample2();
-					final Sample2F u3 = sampler.sample2();
+					sampler.sample1(sample, 0);
+					sampler.sample2(sample, 1);
+					sampler.sample2(sample, 3);
+					
+//					The sample values are shared with sampleOneLight(BSDF, Intersection, Sampler), so the last two are read before they are overwritten:
+					final float sampleU3 = sample[3];
+					final float sampleV3 = sample[4];
 					
-					final BSSRDFResult bSSRDFResult = bSSRDF.sampleS(this, u1.getComponent1(), new Point2F(u2.getComponent1(), u2.getComponent2()));
+					final BSSRDFResult bSSRDFResult = bSSRDF.sampleS(this, sample[0], new Point2F(sample[1], sample[2]));
 					
 					final Color3F result2 = bSSRDFResult.getResult();
 					
@@ -562,9 +652,9 @@ public final class Scene implements Node {
 					
 					throughput = Color3F.multiply(throughput, Color3F.divide(result2, probabilityDensityFunctionValue2));
 					
-					radiance = Color3F.add(radiance, Color3F.multiply(throughput, sampleOneLightUniformDistribution(bSDF2, intersection2)));
+					radiance = Color3F.add(radiance, Color3F.multiply(throughput, sampleOneLight(bSDF2, intersection2, sampler)));
 					
-					final Optional<BSDFResult> optionalBSDFResult2 = bSDF2.sampleDistributionFunction(BXDFType.ALL, new Point2F(u3.getComponent1(), u3.getComponent2()));
+					final Optional<BSDFResult> optionalBSDFResult2 = bSDF2.sampleDistributionFunction(BXDFType.ALL, sampleU3, sampleV3);
 					
 					if(!optionalBSDFResult2.isPresent()) {
 						break;
@@ -594,7 +684,9 @@ public final class Scene implements Node {
 				if(russianRouletteThroughput.max() < 1.0F && currentBounce >= minimumBounceRussianRoulette) {
 					final float probability = Floats.max(0.05F, 1.0F - russianRouletteThroughput.max());
 					
-					if(sampler.sample1().getU() < probability) {
+					sampler.sample1(sample, 0);
+					
+					if(sample[0] < probability) {
 						break;
 					}
 					
@@ -673,9 +765,27 @@ public final class Scene implements Node {
 	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
 	 */
 	public Color3F radianceRayCaster(final Ray3F ray, final float tMinimum, final float tMaximum, final boolean isPreviewMode) {
+		return radianceRayCaster(new RayDifferential3F(ray), tMinimum, tMaximum, isPreviewMode);
+	}
+	
+	/**
+	 * Returns a {@link Color3F} instance with the radiance along {@code rayDifferential} using a Ray Caster algorithm.
+	 * <p>
+	 * If {@code rayDifferential} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param rayDifferential the {@link RayDifferential3F} instance to trace
+	 * @param tMinimum the minimum parametric distance
+	 * @param tMaximum the maximum parametric distance
+	 * @param isPreviewMode {@code true} if, and only if, preview mode is enabled, {@code false} otherwise
+	 * @return a {@code Color3F} instance with the radiance along {@code rayDifferential} using a Ray Caster algorithm
+	 * @throws NullPointerException thrown if, and only if, {@code rayDifferential} is {@code null}
+	 */
+	public Color3F radianceRayCaster(final RayDifferential3F rayDifferential, final float tMinimum, final float tMaximum, final boolean isPreviewMode) {
+		final Ray3F ray = rayDifferential.getRay();
+		
 		Color3F radiance = Color3F.BLACK;
 		
-		final Optional<Intersection> optionalIntersection = intersection(ray, tMinimum, tMaximum);
+		final Optional<Intersection> optionalIntersection = intersection(rayDifferential, tMinimum, tMaximum);
 		
 		if(optionalIntersection.isPresent()) {
 			final Intersection intersection = optionalIntersection.get();
@@ -779,7 +889,106 @@ public final class Scene implements Node {
 	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
 	 */
 	public Color3F radianceRayTracer(final Ray3F ray, final float tMinimum, final float tMaximum, final boolean isPreviewMode, final int maximumBounce) {
-		return doRadianceRayTracer(ray, tMinimum, tMaximum, isPreviewMode, maximumBounce, 0);
+		return radianceRayTracer(ray, tMinimum, tMaximum, isPreviewMode, maximumBounce, getSampler());
+	}
+	
+	/**
+	 * Returns a {@link Color3F} instance with the radiance along {@code ray} using a Ray Tracer algorithm.
+	 * <p>
+	 * If either {@code ray} or {@code sampler} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param ray the {@link Ray3F} instance to trace
+	 * @param tMinimum the minimum parametric distance
+	 * @param tMaximum the maximum parametric distance
+	 * @param isPreviewMode {@code true} if, and only if, preview mode is enabled, {@code false} otherwise
+	 * @param maximumBounce the maximum bounce
+	 * @param sampler the {@link Sampler} instance to use
+	 * @return a {@code Color3F} instance with the radiance along {@code ray} using a Ray Tracer algorithm
+	 * @throws NullPointerException thrown if, and only if, either {@code ray} or {@code sampler} are {@code null}
+	 */
+	public Color3F radianceRayTracer(final Ray3F ray, final float tMinimum, final float tMaximum, final boolean isPreviewMode, final int maximumBounce, final Sampler sampler) {
+		return radianceRayTracer(new RayDifferential3F(ray), tMinimum, tMaximum, isPreviewMode, maximumBounce, sampler);
+	}
+	
+	/**
+	 * Returns a {@link Color3F} instance with the radiance along {@code rayDifferential} using a Ray Tracer algorithm.
+	 * <p>
+	 * If either {@code rayDifferential} or {@code sampler} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param rayDifferential the {@link RayDifferential3F} instance to trace
+	 * @param tMinimum the minimum parametric distance
+	 * @param tMaximum the maximum parametric distance
+	 * @param isPreviewMode {@code true} if, and only if, preview mode is enabled, {@code false} otherwise
+	 * @param maximumBounce the maximum bounce
+	 * @param sampler the {@link Sampler} instance to use
+	 * @return a {@code Color3F} instance with the radiance along {@code rayDifferential} using a Ray Tracer algorithm
+	 * @throws NullPointerException thrown if, and only if, either {@code rayDifferential} or {@code sampler} are {@code null}
+	 */
+	public Color3F radianceRayTracer(final RayDifferential3F rayDifferential, final float tMinimum, final float tMaximum, final boolean isPreviewMode, final int maximumBounce, final Sampler sampler) {
+		return doRadianceRayTracer(Objects.requireNonNull(rayDifferential, "rayDifferential == null"), tMinimum, tMaximum, Objects.requireNonNull(sampler, "sampler == null"), SAMPLE.get(), isPreviewMode, maximumBounce, 0);
+	}
+	
+	/**
+	 * Samples one {@link Light} instance using the {@link LightDistribution} instance returned by {@link #getLightDistribution()}.
+	 * <p>
+	 * Returns a {@link Color3F} instance with the radiance of the sampled {@code Light} instance.
+	 * <p>
+	 * If either {@code bSDF} or {@code intersection} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param bSDF a {@link BSDF} instance
+	 * @param intersection an {@link Intersection} instance
+	 * @return a {@code Color3F} instance with the radiance of the sampled {@code Light} instance
+	 * @throws NullPointerException thrown if, and only if, either {@code bSDF} or {@code intersection} are {@code null}
+	 */
+	public Color3F sampleOneLight(final BSDF bSDF, final Intersection intersection) {
+		return sampleOneLight(bSDF, intersection, getSampler());
+	}
+	
+	/**
+	 * Samples one {@link Light} instance using the {@link LightDistribution} instance returned by {@link #getLightDistribution()}.
+	 * <p>
+	 * Returns a {@link Color3F} instance with the radiance of the sampled {@code Light} instance.
+	 * <p>
+	 * If either {@code bSDF}, {@code intersection} or {@code sampler} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param bSDF a {@link BSDF} instance
+	 * @param intersection an {@link Intersection} instance
+	 * @param sampler the {@link Sampler} instance to use
+	 * @return a {@code Color3F} instance with the radiance of the sampled {@code Light} instance
+	 * @throws NullPointerException thrown if, and only if, either {@code bSDF}, {@code intersection} or {@code sampler} are {@code null}
+	 */
+	public Color3F sampleOneLight(final BSDF bSDF, final Intersection intersection, final Sampler sampler) {
+		Objects.requireNonNull(sampler, "sampler == null");
+		
+		if(getLightCount() == 0) {
+			return Color3F.BLACK;
+		}
+		
+		final LightDistribution lightDistribution = getLightDistribution();
+		
+		final Point3F point = intersection.getSurfaceIntersectionPoint();
+		
+		final float[] sample = SAMPLE.get();
+		
+		sampler.sample1(sample, 0);
+		sampler.sample2(sample, 1);
+		sampler.sample2(sample, 3);
+		
+		final int index = lightDistribution.sampleIndex(point, sample[0]);
+		
+		if(index < 0) {
+			return Color3F.BLACK;
+		}
+		
+		final float probabilityMassFunctionValue = lightDistribution.evaluateProbabilityMassFunction(point, index);
+		
+		if(probabilityMassFunctionValue <= 0.0F) {
+			return Color3F.BLACK;
+		}
+		
+		final Light light = getLight(index);
+		
+		return Color3F.divide(doEstimateDirectLight(bSDF, intersection, light, sample[1], sample[2], sample[3], sample[4], false), probabilityMassFunctionValue);
 	}
 	
 	/**
@@ -795,21 +1004,40 @@ public final class Scene implements Node {
 	 * @throws NullPointerException thrown if, and only if, either {@code bSDF} or {@code intersection} are {@code null}
 	 */
 	public Color3F sampleOneLightUniformDistribution(final BSDF bSDF, final Intersection intersection) {
+		return sampleOneLightUniformDistribution(bSDF, intersection, getSampler());
+	}
+	
+	/**
+	 * Samples one {@link Light} instance using a uniform distribution.
+	 * <p>
+	 * Returns a {@link Color3F} instance with the radiance of the sampled {@code Light} instance.
+	 * <p>
+	 * If either {@code bSDF}, {@code intersection} or {@code sampler} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param bSDF a {@link BSDF} instance
+	 * @param intersection an {@link Intersection} instance
+	 * @param sampler the {@link Sampler} instance to use
+	 * @return a {@code Color3F} instance with the radiance of the sampled {@code Light} instance
+	 * @throws NullPointerException thrown if, and only if, either {@code bSDF}, {@code intersection} or {@code sampler} are {@code null}
+	 */
+	public Color3F sampleOneLightUniformDistribution(final BSDF bSDF, final Intersection intersection, final Sampler sampler) {
+		Objects.requireNonNull(sampler, "sampler == null");
+		
 		final int lightCount = getLightCount();
 		
 		if(lightCount == 0) {
 			return Color3F.BLACK;
 		}
 		
-		final Light light = getLight(min(toInt(Randoms.nextFloat() * lightCount), lightCount - 1));
+		final float[] sample = SAMPLE.get();
 		
-		final Sample2F sampleA = this.sampler.sample2();
-		final Sample2F sampleB = this.sampler.sample2();
+		sampler.sample1(sample, 0);
+		sampler.sample2(sample, 1);
+		sampler.sample2(sample, 3);
 		
-		final Point2F pointA = new Point2F(sampleA.getU(), sampleA.getV());
-		final Point2F pointB = new Point2F(sampleB.getU(), sampleB.getV());
+		final Light light = getLight(min(toInt(sample[0] * lightCount), lightCount - 1));
 		
-		return Color3F.divide(doEstimateDirectLight(bSDF, intersection, light, pointA, pointB, false), 1.0F / lightCount);
+		return Color3F.divide(doEstimateDirectLight(bSDF, intersection, light, sample[1], sample[2], sample[3], sample[4], false), 1.0F / lightCount);
 	}
 	
 	/**
@@ -825,6 +1053,32 @@ public final class Scene implements Node {
 		return this.lights.get(index);
 	}
 	
+	/**
+	 * Returns the {@link LightDistribution} instance that is used when sampling the {@link Light} instances associated with this {@code Scene} instance.
+	 * <p>
+	 * The {@code LightDistribution} instance is created by the {@code Function} set by {@link #setLightDistributionFunction(Function)} when the acceleration structure is built. If it has been cleared since, such as when a {@code Light}
+	 * instance is added or removed, or when the {@code Function} is changed, it is created again on demand.
+	 * <p>
+	 * This method may be called by multiple threads at the same time. The {@code LightDistribution} instance is only created once by one of them.
+	 * 
+	 * @return the {@code LightDistribution} instance that is used when sampling the {@code Light} instances associated with this {@code Scene} instance
+	 */
+	public LightDistribution getLightDistribution() {
+		LightDistribution lightDistribution = this.lightDistribution;
+		
+		if(lightDistribution == null) {
+			synchronized(this.lightDistributionLock) {
+				lightDistribution = this.lightDistribution;
+				
+				if(lightDistribution == null) {
+					lightDistribution = this.lightDistribution = Objects.requireNonNull(this.lightDistributionFunction.apply(this), "lightDistributionFunction.apply(this) == null");
+				}
+			}
+		}
+		
+		return lightDistribution;
+	}
+	
 	/**
 	 * Returns a {@code List} with all {@link Light} instances currently associated with this {@code Scene} instance.
 	 * <p>
@@ -874,14 +1128,14 @@ public final class Scene implements Node {
 	public Optional<Intersection> intersection(final Ray3F ray, final float tMinimum, final float tMaximum) {
 		final Intersector intersector = new Intersector(ray, tMinimum, tMaximum);
 		
-		final BVHNode bVHNode = this.bVHNode;
+		final LinearBVH linearBVH = this.linearBVH;
 		
-		if(bVHNode != null) {
+		if(linearBVH != null) {
 			for(final Primitive primitive : this.primitivesExternalToBVH) {
 				intersector.intersection(primitive);
 			}
 			
-			bVHNode.intersection(intersector);
+			linearBVH.intersection(intersector);
 			
 			return intersector.computeIntersection();
 		}
@@ -893,6 +1147,31 @@ public final class Scene implements Node {
 		return intersector.computeIntersection();
 	}
 	
+	/**
+	 * Performs an intersection test between {@code rayDifferential} and this {@code Scene} instance.
+	 * <p>
+	 * Returns an {@code Optional} with an optional {@link Intersection} instance that contains information about the intersection, if it was found.
+	 * <p>
+	 * If {@code rayDifferential} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code rayDifferential} has differentials, the texture coordinate derivatives of the {@code Intersection} instance will be computed using {@link Intersection#computeDifferentials(RayDifferential3F)}.
+	 * 
+	 * @param rayDifferential the {@link RayDifferential3F} in world space to perform an intersection test against this {@code Scene} instance
+	 * @param tMinimum the minimum parametric distance
+	 * @param tMaximum the maximum parametric distance
+	 * @return an {@code Optional} with an optional {@code Intersection} instance that contains information about the intersection, if it was found
+	 * @throws NullPointerException thrown if, and only if, {@code rayDifferential} is {@code null}
+	 */
+	public Optional<Intersection> intersection(final RayDifferential3F rayDifferential, final float tMinimum, final float tMaximum) {
+		final Optional<Intersection> optionalIntersection = intersection(rayDifferential.getRay(), tMinimum, tMaximum);
+		
+		if(optionalIntersection.isPresent() && rayDifferential.hasDifferentials()) {
+			optionalIntersection.get().computeDifferentials(rayDifferential);
+		}
+		
+		return optionalIntersection;
+	}
+	
 	/**
 	 * Returns the {@link Sampler} instance associated with this {@code Scene} instance.
 	 * 
@@ -1134,16 +1413,16 @@ public final class Scene implements Node {
 	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
 	 */
 	public boolean intersects(final Ray3F ray, final float tMinimum, final float tMaximum) {
-		final BVHNode bVHNode = this.bVHNode;
+		final LinearBVH linearBVH = this.linearBVH;
 		
-		if(bVHNode != null) {
+		if(linearBVH != null) {
 			for(final Primitive primitive : this.primitivesExternalToBVH) {
 				if(primitive.intersects(ray, tMinimum, tMaximum)) {
 					return true;
 				}
 			}
 			
-			return bVHNode.intersects(ray, tMinimum, tMaximum);
+			return linearBVH.intersects(ray, tMinimum, tMaximum);
 		}
 		
 		for(final Primitive primitive : this.primitives) {
@@ -1272,9 +1551,9 @@ public final class Scene implements Node {
 		float tMax = tMaximum;
 		float tMin = tMinimum;
 		
-		final BVHNode bVHNode = this.bVHNode;
+		final LinearBVH linearBVH = this.linearBVH;
 		
-		if(bVHNode != null) {
+		if(linearBVH != null) {
 			for(final Primitive primitive : this.primitivesExternalToBVH) {
 				t = minOrNaN(t, primitive.intersectionT(ray, tMin, tMax));
 				
@@ -1283,7 +1562,7 @@ public final class Scene implements Node {
 				}
 			}
 			
-			t = minOrNaN(t, bVHNode.intersectionT(ray, new float[] {tMin, tMax}));
+			t = minOrNaN(t, linearBVH.intersectionT(ray, tMin, tMax));
 			
 			return t;
 		}
@@ -1329,21 +1608,37 @@ public final class Scene implements Node {
 	
 	/**
 	 * Builds an acceleration structure for this {@code Scene} instance.
+	 * <p>
+	 * The {@link LightDistribution} instance returned by {@link #getLightDistribution()} is created as well, so it does not have to be created while rendering.
 	 */
 	public void buildAccelerationStructure() {
+		System.out.println("Generating acceleration structure...");
+		
+		final long currentTimeMillis = System.currentTimeMillis();
+		
 		final List<Primitive> primitives = this.primitives;
 		final List<Primitive> primitivesExternalToBVH = new ArrayList<>();
 		
 		this.bVHNode = doCreateBVHNode(primitives, primitivesExternalToBVH);
+		this.linearBVH = new LinearBVH(this.bVHNode);
 		this.primitivesExternalToBVH.clear();
 		this.primitivesExternalToBVH.addAll(primitivesExternalToBVH);
+		this.lightDistribution = null;
+		
+		getLightDistribution();
+		
+		System.out.printf(" - Done in %d ms. Nodes: %d, leaves: %d, maximum depth: %d, SAH cost: %.2f.%n", Long.valueOf(System.currentTimeMillis() - currentTimeMillis), Integer.valueOf(this.linearBVH.getNodeCount()), Integer.valueOf(this.linearBVH.getLeafCount()), Integer.valueOf(this.linearBVH.getMaximumDepth()), Float.valueOf(this.linearBVH.getSAHCost()));
 	}
 	
 	/**
 	 * Clears the acceleration structure for this {@code Scene} instance.
+	 * <p>
+	 * The {@link LightDistribution} instance returned by {@link #getLightDistribution()} is cleared as well.
 	 */
 	public void clearAccelerationStructure() {
 		this.bVHNode = null;
+		this.lightDistribution = null;
+		this.linearBVH = null;
 		this.primitivesExternalToBVH.clear();
 	}
 	
@@ -1370,6 +1665,21 @@ public final class Scene implements Node {
 		}
 	}
 	
+	/**
+	 * Sets the {@code Function} that creates the {@link LightDistribution} instance used when sampling the {@link Light} instances associated with this {@code Scene} instance to {@code lightDistributionFunction}.
+	 * <p>
+	 * If {@code lightDistributionFunction} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * By default a {@link LightBVHLightDistribution} instance is created.
+	 * 
+	 * @param lightDistributionFunction the {@code Function} that creates the {@code LightDistribution} instance
+	 * @throws NullPointerException thrown if, and only if, {@code lightDistributionFunction} is {@code null}
+	 */
+	public void setLightDistributionFunction(final Function<Scene, LightDistribution> lightDistributionFunction) {
+		this.lightDistributionFunction = Objects.requireNonNull(lightDistributionFunction, "lightDistributionFunction == null");
+		this.lightDistribution = null;
+	}
+	
 	/**
 	 * Sets the {@code List} with all {@link Light} instances associated with this {@code Scene} instance to a copy of {@code lights}.
 	 * <p>
@@ -1473,12 +1783,12 @@ public final class Scene implements Node {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private Color3F doComputeSpecularReflection(final float tMinimum, final float tMaximum, final Sampler sampler, final boolean isPreviewMode, final int maximumBounce, final int currentBounce, final BSDF bSDF, final Intersection intersection) {
+	private Color3F doComputeSpecularReflection(final float tMinimum, final float tMaximum, final Sampler sampler, final float[] sample, final boolean isPreviewMode, final int maximumBounce, final int currentBounce, final BSDF bSDF, final Intersection intersection) {
 		final Vector3F normal = intersection.getSurfaceNormalS();
 		
-		final Sample2F sample = sampler.sample2();
+		sampler.sample2(sample, 0);
 		
-		final Optional<BSDFResult> optionalBSDFResult = bSDF.sampleDistributionFunction(BXDFType.SPECULAR_REFLECTION, new Point2F(sample.getU(), sample.getV()));
+		final Optional<BSDFResult> optionalBSDFResult = bSDF.sampleDistributionFunction(BXDFType.SPECULAR_REFLECTION, sample[0], sample[1]);
 		
 		if(optionalBSDFResult.isPresent()) {
 			final BSDFResult bSDFResult = optionalBSDFResult.get();
@@ -1493,19 +1803,19 @@ public final class Scene implements Node {
 			final float incomingDotNormalAbs = Floats.abs(incomingDotNormal);
 			
 			if(!result.isBlack() && probabilityDensityFunctionValue > 0.0F && incomingDotNormalAbs > 0.0F) {
-				return Color3F.addMultiplyAndDivide(Color3F.BLACK, result, doRadianceRayTracer(intersection.createRay(incoming), tMinimum, tMaximum, isPreviewMode, maximumBounce, currentBounce + 1), incomingDotNormalAbs, probabilityDensityFunctionValue);
+				return Color3F.addMultiplyAndDivide(Color3F.BLACK, result, doRadianceRayTracer(new RayDifferential3F(intersection.createRay(incoming)), tMinimum, tMaximum, sampler, sample, isPreviewMode, maximumBounce, currentBounce + 1), incomingDotNormalAbs, probabilityDensityFunctionValue);
 			}
 		}
 		
 		return Color3F.BLACK;
 	}
 	
-	private Color3F doComputeSpecularTransmission(final float tMinimum, final float tMaximum, final Sampler sampler, final boolean isPreviewMode, final int maximumBounce, final int currentBounce, final BSDF bSDF, final Intersection intersection) {
+	private Color3F doComputeSpecularTransmission(final float tMinimum, final float tMaximum, final Sampler sampler, final float[] sample, final boolean isPreviewMode, final int maximumBounce, final int currentBounce, final BSDF bSDF, final Intersection intersection) {
 		final Vector3F normal = intersection.getSurfaceNormalS();
 		
-		final Sample2F sample = sampler.sample2();
+		sampler.sample2(sample, 0);
 		
-		final Optional<BSDFResult> optionalBSDFResult = bSDF.sampleDistributionFunction(BXDFType.SPECULAR_TRANSMISSION, new Point2F(sample.getU(), sample.getV()));
+		final Optional<BSDFResult> optionalBSDFResult = bSDF.sampleDistributionFunction(BXDFType.SPECULAR_TRANSMISSION, sample[0], sample[1]);
 		
 		if(optionalBSDFResult.isPresent()) {
 			final BSDFResult bSDFResult = optionalBSDFResult.get();
@@ -1520,19 +1830,19 @@ public final class Scene implements Node {
 			final float incomingDotNormalAbs = Floats.abs(incomingDotNormal);
 			
 			if(!result.isBlack() && probabilityDensityFunctionValue > 0.0F && incomingDotNormalAbs > 0.0F) {
-				return Color3F.addMultiplyAndDivide(Color3F.BLACK, result, doRadianceRayTracer(intersection.createRay(incoming), tMinimum, tMaximum, isPreviewMode, maximumBounce, currentBounce + 1), incomingDotNormalAbs, probabilityDensityFunctionValue);
+				return Color3F.addMultiplyAndDivide(Color3F.BLACK, result, doRadianceRayTracer(new RayDifferential3F(intersection.createRay(incoming)), tMinimum, tMaximum, sampler, sample, isPreviewMode, maximumBounce, currentBounce + 1), incomingDotNormalAbs, probabilityDensityFunctionValue);
 			}
 		}
 		
 		return Color3F.BLACK;
 	}
 	
-	private Color3F doEstimateDirectLight(final BSDF bSDF, final Intersection intersection, final Light light, final Point2F sampleA, final Point2F sampleB, final boolean isSpecular) {
+	private Color3F doEstimateDirectLight(final BSDF bSDF, final Intersection intersection, final Light light, final float sampleAU, final float sampleAV, final float sampleBU, final float sampleBV, final boolean isSpecular) {
 		Color3F lightDirect = Color3F.BLACK;
 		
 		final BXDFType bXDFType = isSpecular ? BXDFType.ALL : BXDFType.ALL_EXCEPT_SPECULAR;
 		
-		final Optional<LightSample> optionalLightSample = light.sampleRadianceIncoming(intersection, sampleA);
+		final Optional<LightSample> optionalLightSample = light.sampleRadianceIncoming(intersection, new Point2F(sampleAU, sampleAV));
 		
 		final Vector3F normal = intersection.getSurfaceNormalS();
 		
@@ -1575,7 +1885,7 @@ public final class Scene implements Node {
 				}
 			}
 			
-			final Optional<BSDFResult> optionalBSDFResult = bSDF.sampleDistributionFunction(bXDFType, sampleB);
+			final Optional<BSDFResult> optionalBSDFResult = bSDF.sampleDistributionFunction(bXDFType, sampleBU, sampleBV);
 			
 			if(optionalBSDFResult.isPresent()) {
 				final BSDFResult bSDFResult = optionalBSDFResult.get();
@@ -1631,12 +1941,12 @@ public final class Scene implements Node {
 		return lightDirect;
 	}
 	
-	private Color3F doRadianceRayTracer(final Ray3F ray, final float tMinimum, final float tMaximum, final boolean isPreviewMode, final int maximumBounce, final int currentBounce) {
+	private Color3F doRadianceRayTracer(final RayDifferential3F rayDifferential, final float tMinimum, final float tMaximum, final Sampler sampler, final float[] sample, final boolean isPreviewMode, final int maximumBounce, final int currentBounce) {
 		Color3F radiance = Color3F.BLACK;
 		
-		final Sampler sampler = getSampler();
+		final Ray3F ray = rayDifferential.getRay();
 		
-		final Optional<Intersection> optionalIntersection = intersection(ray, tMinimum, tMaximum);
+		final Optional<Intersection> optionalIntersection = intersection(rayDifferential, tMinimum, tMaximum);
 		
 		if(optionalIntersection.isPresent()) {
 			final Intersection intersection = optionalIntersection.get();
@@ -1650,7 +1960,7 @@ public final class Scene implements Node {
 			final Optional<BSDF> optionalBSDF = scatteringFunctions.getBSDF();
 			
 			if(!optionalBSDF.isPresent()) {
-				return doRadianceRayTracer(intersection.createRay(ray.getDirection()), tMinimum, tMaximum, isPreviewMode, maximumBounce, currentBounce);
+				return doRadianceRayTracer(new RayDifferential3F(intersection.createRay(ray.getDirection())), tMinimum, tMaximum, sampler, sample, isPreviewMode, maximumBounce, currentBounce);
 			}
 			
 			final BSDF bSDF = optionalBSDF.get();
@@ -1661,9 +1971,9 @@ public final class Scene implements Node {
 			radiance = Color3F.add(radiance, intersection.evaluateRadianceEmitted(outgoing));
 			
 			for(final Light light : this.lights) {
-				final Sample2F sample = sampler.sample2();
+				sampler.sample2(sample, 0);
 				
-				final Optional<LightSample> optionalLightSample = light.sampleRadianceIncoming(intersection, new Point2F(sample.getU(), sample.getV()));
+				final Optional<LightSample> optionalLightSample = light.sampleRadianceIncoming(intersection, new Point2F(sample[0], sample[1]));
 				
 				if(optionalLightSample.isPresent()) {
 					final LightSample lightSample = optionalLightSample.get();
@@ -1685,8 +1995,8 @@ public final class Scene implements Node {
 			}
 			
 			if(currentBounce + 1 < maximumBounce) {
-				radiance = Color3F.add(radiance, doComputeSpecularReflection(tMinimum, tMaximum, sampler, isPreviewMode, maximumBounce, currentBounce, bSDF, intersection));
-				radiance = Color3F.add(radiance, doComputeSpecularTransmission(tMinimum, tMaximum, sampler, isPreviewMode, maximumBounce, currentBounce, bSDF, intersection));
+				radiance = Color3F.add(radiance, doComputeSpecularReflection(tMinimum, tMaximum, sampler, sample, isPreviewMode, maximumBounce, currentBounce, bSDF, intersection));
+				radiance = Color3F.add(radiance, doComputeSpecularTransmission(tMinimum, tMaximum, sampler, sample, isPreviewMode, maximumBounce, currentBounce, bSDF, intersection));
 			}
 		} else {
 			for(final Light light : this.lights) {
@@ -1699,224 +2009,37 @@ public final class Scene implements Node {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private static BVHNode doCreateBVHNode(final List<LeafBVHNode> processableLeafBVHNodes, final Point3F maximum, final Point3F minimum, final int depth) {
-		final int size = processableLeafBVHNodes.size();
-		final int sizeHalf = size / 2;
+	private static BVHNode doCreateBVHNode(final List<Primitive> primitives, final List<Primitive> primitivesExternalToBVH) {
+		final List<BoundingVolume3F> boundingVolumes = new ArrayList<>(primitives.size());
+		final List<Primitive> primitivesInternalToBVH = new ArrayList<>(primitives.size());
 		
-		if(size < 4) {
-			final List<Primitive> primitives = new ArrayList<>();
+		for(final Primitive primitive : primitives) {
+			final BoundingVolume3F boundingVolume = primitive.getBoundingVolume();
 			
-			for(final LeafBVHNode processableLeafBVHNode : processableLeafBVHNodes) {
-				for(final Primitive primitive : processableLeafBVHNode.getPrimitives()) {
-					primitives.add(primitive);
-				}
+			if(boundingVolume instanceof InfiniteBoundingVolume3F) {
+				primitivesExternalToBVH.add(primitive);
+			} else {
+				boundingVolumes.add(boundingVolume);
+				primitivesInternalToBVH.add(primitive);
 			}
-			
-			return new LeafBVHNode(maximum, minimum, depth, primitives);
 		}
 		
-		final float sideX = maximum.x - minimum.x;
-		final float sideY = maximum.y - minimum.y;
-		final float sideZ = maximum.z - minimum.z;
-		
-		float minimumCost = size * (sideX * sideY + sideY * sideZ + sideZ * sideX);
-		float bestSplit = Floats.MAX_VALUE;
-		
-		int bestAxis = -1;
-		
-		for(int axis = 0; axis < 3; axis++) {
-			final float start = minimum.getComponent(axis);
-			final float stop  = maximum.getComponent(axis);
-			
-			if(Floats.abs(stop - start) < 1.0e-4F) {
-				continue;
-			}
-			
-			final float step = (stop - start) / (1024.0F / (depth + 1.0F));
-			
-			for(float oldSplit = 0.0F, newSplit = start + step; newSplit < stop - step; oldSplit = newSplit, newSplit += step) {
-//				The following test prevents an infinite loop from occurring:
-				if(Floats.equals(oldSplit, newSplit)) {
-					break;
-				}
-				
-				float maximumLX = Floats.MIN_VALUE;
-				float maximumLY = Floats.MIN_VALUE;
-				float maximumLZ = Floats.MIN_VALUE;
-				float minimumLX = Floats.MAX_VALUE;
-				float minimumLY = Floats.MAX_VALUE;
-				float minimumLZ = Floats.MAX_VALUE;
-				float maximumRX = Floats.MIN_VALUE;
-				float maximumRY = Floats.MIN_VALUE;
-				float maximumRZ = Floats.MIN_VALUE;
-				float minimumRX = Floats.MAX_VALUE;
-				float minimumRY = Floats.MAX_VALUE;
-				float minimumRZ = Floats.MAX_VALUE;
-				
-				int countL = 0;
-				int countR = 0;
-				
-				for(final LeafBVHNode processableLeafBVHNode : processableLeafBVHNodes) {
-					final BoundingVolume3F boundingVolume = processableLeafBVHNode.getBoundingVolume();
-					
-					final Point3F max = boundingVolume.getMaximum();
-					final Point3F mid = boundingVolume.getMidpoint();
-					final Point3F min = boundingVolume.getMinimum();
-					
-					final float value = mid.getComponent(axis);
-					
-					if(value < newSplit) {
-						maximumLX = Floats.max(maximumLX, max.x);
-						maximumLY = Floats.max(maximumLY, max.y);
-						maximumLZ = Floats.max(maximumLZ, max.z);
-						minimumLX = Floats.min(minimumLX, min.x);
-						minimumLY = Floats.min(minimumLY, min.y);
-						minimumLZ = Floats.min(minimumLZ, min.z);
-						
-						countL++;
-					} else {
-						maximumRX = Floats.max(maximumRX, max.x);
-						maximumRY = Floats.max(maximumRY, max.y);
-						maximumRZ = Floats.max(maximumRZ, max.z);
-						minimumRX = Floats.min(minimumRX, min.x);
-						minimumRY = Floats.min(minimumRY, min.y);
-						minimumRZ = Floats.min(minimumRZ, min.z);
-						
-						countR++;
-					}
-				}
+		return new BVHBuilder3F().build(boundingVolumes, new NodeFactory<BVHNode>() {
+			@Override
+			public BVHNode createLeafNode(final Point3F maximum, final Point3F minimum, final int depth, final int[] indices) {
+				final List<Primitive> primitives = new ArrayList<>(indices.length);
 				
-				if(countL <= 1 || countR <= 1) {
-					continue;
+				for(final int index : indices) {
+					primitives.add(primitivesInternalToBVH.get(index));
 				}
 				
-				final float sideLX = maximumLX - minimumLX;
-				final float sideLY = maximumLY - minimumLY;
-				final float sideLZ = maximumLZ - minimumLZ;
-				final float sideRX = maximumRX - minimumRX;
-				final float sideRY = maximumRY - minimumRY;
-				final float sideRZ = maximumRZ - minimumRZ;
-				
-				final float surfaceL = sideLX * sideLY + sideLY * sideLZ + sideLZ * sideLX;
-				final float surfaceR = sideRX * sideRY + sideRY * sideRZ + sideRZ * sideRX;
-				
-				final float cost = surfaceL * countL + surfaceR * countR;
-				
-				if(cost < minimumCost) {
-					minimumCost = cost;
-					bestSplit = newSplit;
-					bestAxis = axis;
-				}
+				return new LeafBVHNode(maximum, minimum, depth, primitives);
 			}
-		}
-		
-		if(bestAxis == -1) {
-			final List<Primitive> primitives = new ArrayList<>();
 			
-			for(final LeafBVHNode processableLeafBVHNode : processableLeafBVHNodes) {
-				for(final Primitive primitive : processableLeafBVHNode.getPrimitives()) {
-					primitives.add(primitive);
-				}
+			@Override
+			public BVHNode createTreeNode(final Point3F maximum, final Point3F minimum, final int depth, final BVHNode bVHNodeL, final BVHNode bVHNodeR) {
+				return new TreeBVHNode(maximum, minimum, depth, bVHNodeL, bVHNodeR);
 			}
-			
-			return new LeafBVHNode(maximum, minimum, depth, primitives);
-		}
-		
-		final List<LeafBVHNode> leafBVHNodesL = new ArrayList<>(sizeHalf);
-		final List<LeafBVHNode> leafBVHNodesR = new ArrayList<>(sizeHalf);
-		
-		float maximumLX = Floats.MIN_VALUE;
-		float maximumLY = Floats.MIN_VALUE;
-		float maximumLZ = Floats.MIN_VALUE;
-		float minimumLX = Floats.MAX_VALUE;
-		float minimumLY = Floats.MAX_VALUE;
-		float minimumLZ = Floats.MAX_VALUE;
-		float maximumRX = Floats.MIN_VALUE;
-		float maximumRY = Floats.MIN_VALUE;
-		float maximumRZ = Floats.MIN_VALUE;
-		float minimumRX = Floats.MAX_VALUE;
-		float minimumRY = Floats.MAX_VALUE;
-		float minimumRZ = Floats.MAX_VALUE;
-		
-		for(final LeafBVHNode processableLeafBVHNode : processableLeafBVHNodes) {
-			final BoundingVolume3F boundingVolume = processableLeafBVHNode.getBoundingVolume();
-			
-			final Point3F max = boundingVolume.getMaximum();
-			final Point3F mid = boundingVolume.getMidpoint();
-			final Point3F min = boundingVolume.getMinimum();
-			
-			final float value = mid.getComponent(bestAxis);
-			
-			if(value < bestSplit) {
-				leafBVHNodesL.add(processableLeafBVHNode);
-				
-				maximumLX = Floats.max(maximumLX, max.x);
-				maximumLY = Floats.max(maximumLY, max.y);
-				maximumLZ = Floats.max(maximumLZ, max.z);
-				minimumLX = Floats.min(minimumLX, min.x);
-				minimumLY = Floats.min(minimumLY, min.y);
-				minimumLZ = Floats.min(minimumLZ, min.z);
-			} else {
-				leafBVHNodesR.add(processableLeafBVHNode);
-				
-				maximumRX = Floats.max(maximumRX, max.x);
-				maximumRY = Floats.max(maximumRY, max.y);
-				maximumRZ = Floats.max(maximumRZ, max.z);
-				minimumRX = Floats.min(minimumRX, min.x);
-				minimumRY = Floats.min(minimumRY, min.y);
-				minimumRZ = Floats.min(minimumRZ, min.z);
-			}
-		}
-		
-		final Point3F maximumL = new Point3F(maximumLX, maximumLY, maximumLZ);
-		final Point3F minimumL = new Point3F(minimumLX, minimumLY, minimumLZ);
-		final Point3F maximumR = new Point3F(maximumRX, maximumRY, maximumRZ);
-		final Point3F minimumR = new Point3F(minimumRX, minimumRY, minimumRZ);
-		
-		final BVHNode bVHNodeL = doCreateBVHNode(leafBVHNodesL, maximumL, minimumL, depth + 1);
-		final BVHNode bVHNodeR = doCreateBVHNode(leafBVHNodesR, maximumR, minimumR, depth + 1);
-		
-		return new TreeBVHNode(maximum, minimum, depth, bVHNodeL, bVHNodeR);
-	}
-	
-	private static BVHNode doCreateBVHNode(final List<Primitive> primitives, final List<Primitive> primitivesExternalToBVH) {
-		System.out.println("Generating acceleration structure...");
-		
-		final List<LeafBVHNode> processableLeafBVHNodes = new ArrayList<>(primitives.size());
-		
-		float maximumX = Floats.MIN_VALUE;
-		float maximumY = Floats.MIN_VALUE;
-		float maximumZ = Floats.MIN_VALUE;
-		float minimumX = Floats.MAX_VALUE;
-		float minimumY = Floats.MAX_VALUE;
-		float minimumZ = Floats.MAX_VALUE;
-		
-		for(final Primitive primitive : primitives) {
-			final BoundingVolume3F boundingVolume = primitive.getBoundingVolume();
-			
-			if(boundingVolume instanceof InfiniteBoundingVolume3F) {
-				primitivesExternalToBVH.add(primitive);
-				
-				continue;
-			}
-			
-			final Point3F maximum = boundingVolume.getMaximum();
-			final Point3F minimum = boundingVolume.getMinimum();
-			
-			maximumX = Floats.max(maximumX, maximum.x);
-			maximumY = Floats.max(maximumY, maximum.y);
-			maximumZ = Floats.max(maximumZ, maximum.z);
-			minimumX = Floats.min(minimumX, minimum.x);
-			minimumY = Floats.min(minimumY, minimum.y);
-			minimumZ = Floats.min(minimumZ, minimum.z);
-			
-			processableLeafBVHNodes.add(new LeafBVHNode(maximum, minimum, 0, Arrays.asList(primitive)));
-		}
-		
-		final BVHNode bVHNode = doCreateBVHNode(processableLeafBVHNodes, new Point3F(maximumX, maximumY, maximumZ), new Point3F(minimumX, minimumY, minimumZ), 0);
-		
-		System.out.println(" - Done.");
-		
-		return bVHNode;
+		});
 	}
 }
\ No newline at end of file
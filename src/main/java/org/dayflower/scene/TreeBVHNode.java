@@ -43,6 +43,14 @@ final class TreeBVHNode extends BVHNode {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	public BVHNode getBVHNodeL() {
+		return this.bVHNodeL;
+	}
+	
+	public BVHNode getBVHNodeR() {
+		return this.bVHNodeR;
+	}
+	
 	@Override
 	public boolean accept(final NodeHierarchicalVisitor nodeHierarchicalVisitor) {
 		Objects.requireNonNull(nodeHierarchicalVisitor, "nodeHierarchicalVisitor == null");
@@ -18,15 +18,35 @@
  */
 package org.dayflower.scene.bssrdf;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Field;//TODO: Add Javadocs!
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.dayflower.color.Color3F;
 import org.dayflower.interpolation.Interpolation;
+import org.dayflower.utility.InterningCache;
+import org.dayflower.utility.ParameterArguments;
 
 import org.macroing.java.lang.Floats;
 
 //TODO: Add Javadocs!
 public final class BSSRDFTable {
+	private static final AtomicReference<File> CACHE_DIRECTORY = new AtomicReference<>();
+	private static final InterningCache<Key> CACHE = new InterningCache<>("BSSRDFTable", 64);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
 	private final float[] profile;
 	private final float[] profileCDF;
 	private final float[] radiusSamples;
@@ -44,6 +64,14 @@ public final class BSSRDFTable {
 		this.rhoSamples = new float[rhoSamples];
 	}
 	
+	private BSSRDFTable(final float[] profile, final float[] profileCDF, final float[] radiusSamples, final float[] rhoEff, final float[] rhoSamples) {
+		this.profile = profile;
+		this.profileCDF = profileCDF;
+		this.radiusSamples = radiusSamples;
+		this.rhoEff = rhoEff;
+		this.rhoSamples = rhoSamples;
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 //	TODO: Add Javadocs!
@@ -121,6 +149,54 @@ public final class BSSRDFTable {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Returns a shared {@code BSSRDFTable} instance with {@code rhoSamples} rho samples and {@code radiusSamples} radius samples, for which {@link #computeBeamDiffusionBSSRDF(float, float)} has been called with {@code g} and {@code eta}.
+	 * <p>
+	 * If either {@code rhoSamples} or {@code radiusSamples} are less than {@code 2}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The computation is expensive, so the tables are kept in a process-wide {@link InterningCache} that is keyed by all four parameters. Materials with equal parameters will therefore share a single table. If a cache directory has been set
+	 * using {@link #setCacheDirectory(File)}, tables are also read from and written to that directory, so repeated runs do not have to compute them again. A cache file that is missing or cannot be read is ignored.
+	 * <p>
+	 * The returned {@code BSSRDFTable} instance is shared and must not be modified.
+	 * 
+	 * @param rhoSamples the number of rho samples
+	 * @param radiusSamples the number of radius samples
+	 * @param g the asymmetry parameter
+	 * @param eta the index of refraction
+	 * @return a shared {@code BSSRDFTable} instance with {@code rhoSamples} rho samples and {@code radiusSamples} radius samples, for which {@code computeBeamDiffusionBSSRDF(float, float)} has been called with {@code g} and {@code eta}
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code rhoSamples} or {@code radiusSamples} are less than {@code 2}
+	 */
+	public static BSSRDFTable beamDiffusion(final int rhoSamples, final int radiusSamples, final float g, final float eta) {
+		ParameterArguments.requireRange(rhoSamples, 2, Integer.MAX_VALUE, "rhoSamples");
+		ParameterArguments.requireRange(radiusSamples, 2, Integer.MAX_VALUE, "radiusSamples");
+		
+		return CACHE.intern(new Key(rhoSamples, radiusSamples, g, eta), key -> key.load()).bSSRDFTable;
+	}
+	
+	/**
+	 * Returns an optional {@code File} that represents the directory to which tables created by {@link #beamDiffusion(int, int, float, float)} are persisted.
+	 * 
+	 * @return an optional {@code File} that represents the directory to which tables created by {@code beamDiffusion(int, int, float, float)} are persisted
+	 */
+	public static Optional<File> getCacheDirectory() {
+		return Optional.ofNullable(CACHE_DIRECTORY.get());
+	}
+	
+	/**
+	 * Sets the directory to which tables created by {@link #beamDiffusion(int, int, float, float)} are persisted to {@code cacheDirectory}.
+	 * <p>
+	 * If {@code cacheDirectory} is {@code null}, tables will not be persisted.
+	 * <p>
+	 * The directory will be created when the first table is written to it.
+	 * 
+	 * @param cacheDirectory a {@code File} that represents the directory to which tables are persisted, or {@code null}
+	 */
+	public static void setCacheDirectory(final File cacheDirectory) {
+		CACHE_DIRECTORY.set(cacheDirectory);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
 	private static float doGetComponentAt(final Color3F color, final int index) {
 		switch(index) {
 			case 0:
@@ -133,4 +209,161 @@ public final class BSSRDFTable {
 				throw new IllegalArgumentException();
 		}
 	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Key {
+		private static final String SUFFIX = ".dfbssrdf";
+		private static final int HEADER_SIZE = 24;
+		private static final int MAGIC = 0x53535342;
+		private static final int VERSION = 1;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public final BSSRDFTable bSSRDFTable;
+		public final float eta;
+		public final float g;
+		public final int radiusSamples;
+		public final int rhoSamples;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Key(final int rhoSamples, final int radiusSamples, final float g, final float eta) {
+			this(rhoSamples, radiusSamples, g, eta, null);
+		}
+		
+		public Key(final int rhoSamples, final int radiusSamples, final float g, final float eta, final BSSRDFTable bSSRDFTable) {
+			this.rhoSamples = rhoSamples;
+			this.radiusSamples = radiusSamples;
+			this.g = g;
+			this.eta = eta;
+			this.bSSRDFTable = bSSRDFTable;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Key load() {
+			final File cacheDirectory = CACHE_DIRECTORY.get();
+			final File cacheFile = cacheDirectory != null ? new File(cacheDirectory, String.format("%d-%d-%08X-%08X%s", Integer.valueOf(this.rhoSamples), Integer.valueOf(this.radiusSamples), Integer.valueOf(Float.floatToIntBits(this.g)), Integer.valueOf(Float.floatToIntBits(this.eta)), SUFFIX)) : null;
+			
+			if(cacheFile != null) {
+				final Optional<BSSRDFTable> optionalBSSRDFTable = doRead(cacheFile);
+				
+				if(optionalBSSRDFTable.isPresent()) {
+					return new Key(this.rhoSamples, this.radiusSamples, this.g, this.eta, optionalBSSRDFTable.get());
+				}
+			}
+			
+			final BSSRDFTable bSSRDFTable = new BSSRDFTable(this.rhoSamples, this.radiusSamples);
+			
+			bSSRDFTable.computeBeamDiffusionBSSRDF(this.g, this.eta);
+			
+			if(cacheFile != null) {
+				doWrite(cacheFile, bSSRDFTable);
+			}
+			
+			return new Key(this.rhoSamples, this.radiusSamples, this.g, this.eta, bSSRDFTable);
+		}
+		
+		@Override
+		public boolean equals(final Object object) {
+			if(object == this) {
+				return true;
+			} else if(!(object instanceof Key)) {
+				return false;
+			} else if(Float.compare(this.eta, Key.class.cast(object).eta) != 0) {
+				return false;
+			} else if(Float.compare(this.g, Key.class.cast(object).g) != 0) {
+				return false;
+			} else if(this.radiusSamples != Key.class.cast(object).radiusSamples) {
+				return false;
+			} else if(this.rhoSamples != Key.class.cast(object).rhoSamples) {
+				return false;
+			} else {
+				return true;
+			}
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(Float.valueOf(this.eta), Float.valueOf(this.g), Integer.valueOf(this.radiusSamples), Integer.valueOf(this.rhoSamples));
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private int doGetSize() {
+			return HEADER_SIZE + (this.radiusSamples + this.rhoSamples * 2 + this.rhoSamples * this.radiusSamples * 2) * Float.BYTES;
+		}
+		
+//		The cache file consists of a header followed by the five arrays of the table. All values are stored in little-endian byte order:
+		private Optional<BSSRDFTable> doRead(final File cacheFile) {
+			if(!cacheFile.isFile() || cacheFile.length() != doGetSize()) {
+				return Optional.empty();
+			}
+			
+			try(final FileChannel fileChannel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+				final ByteBuffer byteBuffer = fileChannel.map(MapMode.READ_ONLY, 0L, doGetSize()).order(ByteOrder.LITTLE_ENDIAN);
+				
+				if(byteBuffer.getInt() != MAGIC || byteBuffer.getInt() != VERSION || byteBuffer.getInt() != this.rhoSamples || byteBuffer.getInt() != this.radiusSamples || byteBuffer.getInt() != Float.floatToIntBits(this.g) || byteBuffer.getInt() != Float.floatToIntBits(this.eta)) {
+					return Optional.empty();
+				}
+				
+				final FloatBuffer floatBuffer = byteBuffer.asFloatBuffer();
+				
+				final float[] radiusSamples = new float[this.radiusSamples];
+				final float[] rhoSamples = new float[this.rhoSamples];
+				final float[] rhoEff = new float[this.rhoSamples];
+				final float[] profile = new float[this.rhoSamples * this.radiusSamples];
+				final float[] profileCDF = new float[this.rhoSamples * this.radiusSamples];
+				
+				floatBuffer.get(radiusSamples);
+				floatBuffer.get(rhoSamples);
+				floatBuffer.get(rhoEff);
+				floatBuffer.get(profile);
+				floatBuffer.get(profileCDF);
+				
+				return Optional.of(new BSSRDFTable(profile, profileCDF, radiusSamples, rhoEff, rhoSamples));
+			} catch(final IOException | RuntimeException e) {
+//				A cache file that cannot be read is stale, so it will be replaced:
+				return Optional.empty();
+			}
+		}
+		
+		private void doWrite(final File cacheFile, final BSSRDFTable bSSRDFTable) {
+			final File parentFile = cacheFile.getAbsoluteFile().getParentFile();
+			
+			File temporaryFile = null;
+			
+			try {
+				Files.createDirectories(parentFile.toPath());
+				
+				temporaryFile = File.createTempFile("." + cacheFile.getName() + ".", ".tmp", parentFile);
+				
+				final ByteBuffer byteBuffer = ByteBuffer.allocate(doGetSize()).order(ByteOrder.LITTLE_ENDIAN);
+				
+				byteBuffer.putInt(MAGIC);
+				byteBuffer.putInt(VERSION);
+				byteBuffer.putInt(this.rhoSamples);
+				byteBuffer.putInt(this.radiusSamples);
+				byteBuffer.putInt(Float.floatToIntBits(this.g));
+				byteBuffer.putInt(Float.floatToIntBits(this.eta));
+				byteBuffer.asFloatBuffer().put(bSSRDFTable.radiusSamples).put(bSSRDFTable.rhoSamples).put(bSSRDFTable.rhoEff).put(bSSRDFTable.profile).put(bSSRDFTable.profileCDF);
+				byteBuffer.rewind();
+				
+				try(final FileChannel fileChannel = FileChannel.open(temporaryFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+					while(byteBuffer.hasRemaining()) {
+						fileChannel.write(byteBuffer);
+					}
+				}
+				
+				Files.move(temporaryFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			} catch(final IOException | RuntimeException e) {
+				if(temporaryFile != null) {
+					temporaryFile.delete();
+				}
+				
+				System.out.printf("Unable to write cache file '%s': %s%n", cacheFile.getName(), e.getMessage());
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -171,7 +171,13 @@ public final class CompiledBoundingVolume3FCache {
 		final int absoluteOffset = getAxisAlignedBoundingBox3FOffsetAbsolute(oldAxisAlignedBoundingBox3F);
 		
 		if(absoluteOffset != -1) {
-			return Structures.updateStructure(this.axisAlignedBoundingBox3Fs, oldAxisAlignedBoundingBox3F, newAxisAlignedBoundingBox3F, absoluteOffset);
+			final float[] axisAlignedBoundingBox3Fs = this.axisAlignedBoundingBox3Fs.clone();
+			
+			if(Structures.updateStructure(axisAlignedBoundingBox3Fs, oldAxisAlignedBoundingBox3F, newAxisAlignedBoundingBox3F, absoluteOffset)) {
+				setAxisAlignedBoundingBox3Fs(axisAlignedBoundingBox3Fs);
+				
+				return true;
+			}
 		}
 		
 		return false;
@@ -202,7 +208,13 @@ public final class CompiledBoundingVolume3FCache {
 		final int absoluteOffset = getBoundingSphere3FOffsetAbsolute(oldBoundingSphere3F);
 		
 		if(absoluteOffset != -1) {
-			return Structures.updateStructure(this.boundingSphere3Fs, oldBoundingSphere3F, newBoundingSphere3F, absoluteOffset);
+			final float[] boundingSphere3Fs = this.boundingSphere3Fs.clone();
+			
+			if(Structures.updateStructure(boundingSphere3Fs, oldBoundingSphere3F, newBoundingSphere3F, absoluteOffset)) {
+				setBoundingSphere3Fs(boundingSphere3Fs);
+				
+				return true;
+			}
 		}
 		
 		return false;
@@ -21,6 +21,7 @@ package org.dayflower.scene.compiler;
 import static org.dayflower.utility.Ints.pack;
 import static org.dayflower.utility.Ints.padding;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.ToIntFunction;
@@ -38,6 +39,7 @@ import org.dayflower.scene.Light;
 import org.dayflower.scene.light.DiffuseAreaLight;
 import org.dayflower.scene.light.DirectionalLight;
 import org.dayflower.scene.light.ImageLight;
+import org.dayflower.scene.light.LightBVHLightDistribution;
 import org.dayflower.scene.light.PerezLight;
 import org.dayflower.scene.light.PointLight;
 import org.dayflower.scene.light.SpotLight;
@@ -267,6 +269,7 @@ public final class CompiledLightCache {
 	private float[] diffuseAreaLights;
 	private float[] directionalLights;
 	private float[] imageLights;
+	private float[] lightBVH;
 	private float[] perezLights;
 	private float[] pointLights;
 	private float[] spotLights;
@@ -284,6 +287,7 @@ public final class CompiledLightCache {
 		setDirectionalLights(new float[0]);
 		setImageLightOffsets(new int[0]);
 		setImageLights(new float[0]);
+		setLightBVH(toLightBVH(new ArrayList<>()));
 		setLightIDsAndOffsets(new int[0]);
 		setPerezLightOffsets(new int[0]);
 		setPerezLights(new float[0]);
@@ -490,6 +494,17 @@ public final class CompiledLightCache {
 		return this.imageLights;
 	}
 	
+	/**
+	 * Returns a {@code float[]} that contains the {@link LightBVHLightDistribution} of all {@link Light} instances in compiled form that is associated with this {@code CompiledLightCache} instance.
+	 * <p>
+	 * The {@code Light} indices in the {@code float[]} refer to the order of {@link #getLightIDsAndOffsets()}.
+	 * 
+	 * @return a {@code float[]} that contains the {@code LightBVHLightDistribution} of all {@code Light} instances in compiled form that is associated with this {@code CompiledLightCache} instance
+	 */
+	public float[] getLightBVH() {
+		return this.lightBVH;
+	}
+	
 	/**
 	 * Returns a {@code float[]} that contains all {@link PerezLight} instances in compiled form that are associated with this {@code CompiledLightCache} instance.
 	 * 
@@ -1095,6 +1110,25 @@ public final class CompiledLightCache {
 		this.imageLights = imageLights;
 	}
 	
+	/**
+	 * Sets the {@link LightBVHLightDistribution} of all {@link Light} instances in compiled form to {@code lightBVH}.
+	 * <p>
+	 * If {@code lightBVH} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code lightBVH.length} is less than {@code 2}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param lightBVH the {@code LightBVHLightDistribution} of all {@code Light} instances in compiled form
+	 * @throws IllegalArgumentException thrown if, and only if, {@code lightBVH.length} is less than {@code 2}
+	 * @throws NullPointerException thrown if, and only if, {@code lightBVH} is {@code null}
+	 */
+	public void setLightBVH(final float[] lightBVH) {
+		Objects.requireNonNull(lightBVH, "lightBVH == null");
+		
+		ParameterArguments.requireRange(lightBVH.length, 2, Integer.MAX_VALUE, "lightBVH.length");
+		
+		this.lightBVH = lightBVH;
+	}
+	
 	/**
 	 * Sets the {@code int[]} that contains the ID and offset for all {@link Light} instances to {@code lightIDsAndOffsets}.
 	 * <p>
@@ -1483,6 +1517,21 @@ public final class CompiledLightCache {
 		return Arrays.toFloatArray(imageLights, imageLight -> toImageLight(imageLight));
 	}
 	
+	/**
+	 * Returns a {@code float[]} with the {@link LightBVHLightDistribution} of all {@link Light} instances in {@code lights} in compiled form.
+	 * <p>
+	 * If {@code lights} or at least one of its elements are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * The layout of the returned {@code float[]} is described by {@link LightBVHLightDistribution#toArray()}.
+	 * 
+	 * @param lights a {@code List} of {@code Light} instances
+	 * @return a {@code float[]} with the {@code LightBVHLightDistribution} of all {@code Light} instances in {@code lights} in compiled form
+	 * @throws NullPointerException thrown if, and only if, {@code lights} or at least one of its elements are {@code null}
+	 */
+	public static float[] toLightBVH(final List<Light> lights) {
+		return new LightBVHLightDistribution(lights).toArray();
+	}
+	
 	/**
 	 * Returns a {@code float[]} with {@code perezLight} in compiled form.
 	 * <p>
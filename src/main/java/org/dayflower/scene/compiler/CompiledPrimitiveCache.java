@@ -20,13 +20,23 @@ package org.dayflower.scene.compiler;
 
 import static org.dayflower.utility.Ints.pack;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.ToIntFunction;
 
 import org.dayflower.geometry.BoundingVolume3F;
 import org.dayflower.geometry.Matrix44F;
+import org.dayflower.geometry.Point3F;
 import org.dayflower.geometry.Shape3F;
+import org.dayflower.geometry.boundingvolume.AxisAlignedBoundingBox3F;
+import org.dayflower.geometry.boundingvolume.BoundingSphere3F;
+import org.dayflower.geometry.boundingvolume.InfiniteBoundingVolume3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHBuilder3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHBuilder3F.NodeFactory;
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHNode3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.LeafBVHNode3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.TreeBVHNode3F;
 import org.dayflower.scene.AreaLight;
 import org.dayflower.scene.Material;
 import org.dayflower.scene.Primitive;
@@ -42,6 +52,41 @@ import org.macroing.java.util.Arrays;
  * @author J&#246;rgen Lundgren
  */
 public final class CompiledPrimitiveCache {
+	/**
+	 * The offset for the offset of the {@link AxisAlignedBoundingBox3F} of a given {@link BVHNode3F} in a compiled bounding volume hierarchy (BVH) over {@link Primitive} instances.
+	 * <p>
+	 * This offset is used for both {@link LeafBVHNode3F} and {@link TreeBVHNode3F}.
+	 */
+	public static final int B_V_H_NODE_3_F_OFFSET_BOUNDING_VOLUME_OFFSET = 1;
+	
+	/**
+	 * The offset for the ID of a given {@link BVHNode3F} in a compiled bounding volume hierarchy (BVH) over {@link Primitive} instances.
+	 * <p>
+	 * This offset is used for both {@link LeafBVHNode3F} and {@link TreeBVHNode3F}.
+	 */
+	public static final int B_V_H_NODE_3_F_OFFSET_ID = 0;
+	
+	/**
+	 * The offset for the left {@link BVHNode3F} in a {@link TreeBVHNode3F} or the {@link Primitive} count in a {@link LeafBVHNode3F} in a compiled bounding volume hierarchy (BVH) over {@code Primitive} instances.
+	 * <p>
+	 * This offset is used for both {@code LeafBVHNode3F} and {@code TreeBVHNode3F}.
+	 */
+	public static final int B_V_H_NODE_3_F_OFFSET_LEFT_OFFSET_OR_PRIMITIVE_COUNT = 3;
+	
+	/**
+	 * The offset for the next {@link BVHNode3F} of a given {@code BVHNode3F} in a compiled bounding volume hierarchy (BVH) over {@link Primitive} instances.
+	 * <p>
+	 * This offset is used for both {@link LeafBVHNode3F} and {@link TreeBVHNode3F}.
+	 */
+	public static final int B_V_H_NODE_3_F_OFFSET_NEXT_OFFSET = 2;
+	
+	/**
+	 * The offset for the first {@link Primitive} index in a {@link LeafBVHNode3F} in a compiled bounding volume hierarchy (BVH) over {@code Primitive} instances.
+	 * <p>
+	 * This offset is used for {@code LeafBVHNode3F} only.
+	 */
+	public static final int B_V_H_NODE_3_F_OFFSET_PRIMITIVE_INDICES = 4;
+	
 	/**
 	 * The length of a compiled {@link Matrix44F} instance.
 	 */
@@ -94,15 +139,23 @@ public final class CompiledPrimitiveCache {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private float[] bVHAxisAlignedBoundingBox3Fs;
 	private float[] matrix44Fs;
+	private int[] bVHNodes;
+	private int[] infinitePrimitives;
 	private int[] primitives;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
 	 * Constructs a new {@code CompiledPrimitiveCache} instance.
+	 * <p>
+	 * The bounding volume hierarchy (BVH) is initially a single {@link LeafBVHNode3F} without {@link Primitive} instances, so it can be traversed before {@link #buildBVH(CompiledBoundingVolume3FCache)} has been called.
 	 */
 	public CompiledPrimitiveCache() {
+		setBVHAxisAlignedBoundingBox3Fs(new float[CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_LENGTH]);
+		setBVHNodes(new int[] {LeafBVHNode3F.ID, 0, -1, 0});
+		setInfinitePrimitives(new int[0]);
 		setMatrix44Fs(new float[0]);
 		setPrimitives(new int[0]);
 	}
@@ -139,6 +192,17 @@ public final class CompiledPrimitiveCache {
 		return false;
 	}
 	
+	/**
+	 * Returns a {@code float[]} that contains the {@link AxisAlignedBoundingBox3F} instances of the bounding volume hierarchy (BVH) in compiled form.
+	 * <p>
+	 * The layout of each {@code AxisAlignedBoundingBox3F} is the same as in {@link CompiledBoundingVolume3FCache}.
+	 * 
+	 * @return a {@code float[]} that contains the {@code AxisAlignedBoundingBox3F} instances of the bounding volume hierarchy (BVH) in compiled form
+	 */
+	public float[] getBVHAxisAlignedBoundingBox3Fs() {
+		return this.bVHAxisAlignedBoundingBox3Fs;
+	}
+	
 	/**
 	 * Returns a {@code float[]} that contains all {@link Matrix44F} instances in compiled form that are associated with this {@code CompiledPrimitiveCache} instance.
 	 * 
@@ -179,6 +243,15 @@ public final class CompiledPrimitiveCache {
 		return relativeOffsetNew;
 	}
 	
+	/**
+	 * Returns the number of {@link Primitive} instances with an {@link InfiniteBoundingVolume3F} in this {@code CompiledPrimitiveCache} instance.
+	 * 
+	 * @return the number of {@code Primitive} instances with an {@code InfiniteBoundingVolume3F} in this {@code CompiledPrimitiveCache} instance
+	 */
+	public int getInfinitePrimitiveCount() {
+		return this.infinitePrimitives.length;
+	}
+	
 	/**
 	 * Returns the {@link Matrix44F} count in this {@code CompiledPrimitiveCache} instance.
 	 * 
@@ -237,6 +310,31 @@ public final class CompiledPrimitiveCache {
 		return Structures.getStructureOffsetRelative(this.primitives, primitive);
 	}
 	
+	/**
+	 * Returns an {@code int[]} that contains the bounding volume hierarchy (BVH) over all {@link Primitive} instances with a finite {@link BoundingVolume3F} in compiled form.
+	 * <p>
+	 * The {@link BVHNode3F} instances are stored depth-first. Each node has an ID, the relative offset of its {@link AxisAlignedBoundingBox3F} in {@link #getBVHAxisAlignedBoundingBox3Fs()} and the absolute offset of the next node to visit if the node is missed,
+	 * or {@code -1} if there is none. A {@link TreeBVHNode3F} also has the absolute offset of its left node. A {@link LeafBVHNode3F} has the {@code Primitive} count, followed by the relative offsets of the {@code Primitive} instances.
+	 * <p>
+	 * The root node is always present. If there are no {@code Primitive} instances with a finite {@code BoundingVolume3F}, it is a {@code LeafBVHNode3F} without {@code Primitive} instances.
+	 * 
+	 * @return an {@code int[]} that contains the bounding volume hierarchy (BVH) over all {@code Primitive} instances with a finite {@code BoundingVolume3F} in compiled form
+	 */
+	public int[] getBVHNodes() {
+		return this.bVHNodes;
+	}
+	
+	/**
+	 * Returns an {@code int[]} that contains the relative offsets of all {@link Primitive} instances with an {@link InfiniteBoundingVolume3F}.
+	 * <p>
+	 * These {@code Primitive} instances are not part of the bounding volume hierarchy (BVH) and have to be tested separately.
+	 * 
+	 * @return an {@code int[]} that contains the relative offsets of all {@code Primitive} instances with an {@code InfiniteBoundingVolume3F}
+	 */
+	public int[] getInfinitePrimitives() {
+		return this.infinitePrimitives;
+	}
+	
 	/**
 	 * Returns an {@code int[]} that contains all {@link Primitive} instances in compiled form that are associated with this {@code CompiledPrimitiveCache} instance.
 	 * 
@@ -246,6 +344,92 @@ public final class CompiledPrimitiveCache {
 		return this.primitives;
 	}
 	
+	/**
+	 * Builds the bounding volume hierarchy (BVH) over the {@link Primitive} instances in this {@code CompiledPrimitiveCache} instance.
+	 * <p>
+	 * The world space bounds of each {@code Primitive} instance are looked up in {@code compiledBoundingVolume3FCache}. The {@code Primitive} instances with an {@link InfiniteBoundingVolume3F} are not part of the BVH. Their relative offsets are
+	 * instead returned by {@link #getInfinitePrimitives()}.
+	 * <p>
+	 * This method has to be called whenever the {@code Primitive} instances change.
+	 * <p>
+	 * If {@code compiledBoundingVolume3FCache} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param compiledBoundingVolume3FCache the {@link CompiledBoundingVolume3FCache} instance that contains the {@link BoundingVolume3F} instances of the {@code Primitive} instances
+	 * @throws NullPointerException thrown if, and only if, {@code compiledBoundingVolume3FCache} is {@code null}
+	 */
+	public void buildBVH(final CompiledBoundingVolume3FCache compiledBoundingVolume3FCache) {
+		Objects.requireNonNull(compiledBoundingVolume3FCache, "compiledBoundingVolume3FCache == null");
+		
+		final int primitiveCount = getPrimitiveCount();
+		
+		final List<BoundingVolume3F> boundingVolumes = new ArrayList<>(primitiveCount);
+		final List<Integer> finitePrimitives = new ArrayList<>(primitiveCount);
+		final List<Integer> infinitePrimitives = new ArrayList<>();
+		
+		for(int i = 0; i < primitiveCount; i++) {
+			final int boundingVolumeID = this.primitives[i * PRIMITIVE_LENGTH + PRIMITIVE_OFFSET_BOUNDING_VOLUME_ID];
+			final int boundingVolumeOffset = this.primitives[i * PRIMITIVE_LENGTH + PRIMITIVE_OFFSET_BOUNDING_VOLUME_OFFSET];
+			
+			if(boundingVolumeID == AxisAlignedBoundingBox3F.ID) {
+				boundingVolumes.add(doCreateAxisAlignedBoundingBox3F(compiledBoundingVolume3FCache.getAxisAlignedBoundingBox3Fs(), boundingVolumeOffset));
+				finitePrimitives.add(Integer.valueOf(i));
+			} else if(boundingVolumeID == BoundingSphere3F.ID) {
+				boundingVolumes.add(doCreateBoundingSphere3F(compiledBoundingVolume3FCache.getBoundingSphere3Fs(), boundingVolumeOffset));
+				finitePrimitives.add(Integer.valueOf(i));
+			} else {
+				infinitePrimitives.add(Integer.valueOf(i));
+			}
+		}
+		
+		final CompiledBVHNode compiledBVHNode = new BVHBuilder3F().build(boundingVolumes, new CompiledBVHNodeFactory(finitePrimitives));
+		
+		final int[] bVHNodes = new int[compiledBVHNode.getLength()];
+		
+		final float[] bVHAxisAlignedBoundingBox3Fs = new float[compiledBVHNode.getNodeCount() * CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_LENGTH];
+		
+		compiledBVHNode.compile(bVHNodes, bVHAxisAlignedBoundingBox3Fs, 0, 0, -1);
+		
+		setBVHAxisAlignedBoundingBox3Fs(bVHAxisAlignedBoundingBox3Fs);
+		setBVHNodes(bVHNodes);
+		setInfinitePrimitives(infinitePrimitives.stream().mapToInt(Integer::intValue).toArray());
+	}
+	
+	/**
+	 * Sets the {@link AxisAlignedBoundingBox3F} instances of the bounding volume hierarchy (BVH) in compiled form to {@code bVHAxisAlignedBoundingBox3Fs}.
+	 * <p>
+	 * If {@code bVHAxisAlignedBoundingBox3Fs} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param bVHAxisAlignedBoundingBox3Fs the {@code AxisAlignedBoundingBox3F} instances of the bounding volume hierarchy (BVH) in compiled form
+	 * @throws NullPointerException thrown if, and only if, {@code bVHAxisAlignedBoundingBox3Fs} is {@code null}
+	 */
+	public void setBVHAxisAlignedBoundingBox3Fs(final float[] bVHAxisAlignedBoundingBox3Fs) {
+		this.bVHAxisAlignedBoundingBox3Fs = Objects.requireNonNull(bVHAxisAlignedBoundingBox3Fs, "bVHAxisAlignedBoundingBox3Fs == null");
+	}
+	
+	/**
+	 * Sets the bounding volume hierarchy (BVH) in compiled form to {@code bVHNodes}.
+	 * <p>
+	 * If {@code bVHNodes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param bVHNodes the bounding volume hierarchy (BVH) in compiled form
+	 * @throws NullPointerException thrown if, and only if, {@code bVHNodes} is {@code null}
+	 */
+	public void setBVHNodes(final int[] bVHNodes) {
+		this.bVHNodes = Objects.requireNonNull(bVHNodes, "bVHNodes == null");
+	}
+	
+	/**
+	 * Sets the relative offsets of all {@link Primitive} instances with an {@link InfiniteBoundingVolume3F} to {@code infinitePrimitives}.
+	 * <p>
+	 * If {@code infinitePrimitives} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param infinitePrimitives the relative offsets of all {@code Primitive} instances with an {@code InfiniteBoundingVolume3F}
+	 * @throws NullPointerException thrown if, and only if, {@code infinitePrimitives} is {@code null}
+	 */
+	public void setInfinitePrimitives(final int[] infinitePrimitives) {
+		this.infinitePrimitives = Objects.requireNonNull(infinitePrimitives, "infinitePrimitives == null");
+	}
+	
 	/**
 	 * Sets all {@link Matrix44F} instances in compiled form to {@code matrix44Fs}.
 	 * <p>
@@ -433,4 +617,130 @@ public final class CompiledPrimitiveCache {
 	public static int[] toPrimitives(final List<Primitive> primitives, final ToIntFunction<AreaLight> areaLightOffsetFunction, final ToIntFunction<BoundingVolume3F> boundingVolume3FOffsetFunction, final ToIntFunction<Material> materialOffsetFunction, final ToIntFunction<Shape3F> shape3FOffsetFunction) {
 		return Arrays.toIntArray(primitives, primitive -> toPrimitive(primitive, areaLightOffsetFunction, boundingVolume3FOffsetFunction, materialOffsetFunction, shape3FOffsetFunction));
 	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static AxisAlignedBoundingBox3F doCreateAxisAlignedBoundingBox3F(final float[] axisAlignedBoundingBox3Fs, final int offset) {
+		final int offsetAbsolute = offset * CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_LENGTH;
+		final int offsetMaximum = offsetAbsolute + CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_OFFSET_MAXIMUM;
+		final int offsetMinimum = offsetAbsolute + CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_OFFSET_MINIMUM;
+		
+		final Point3F maximum = new Point3F(axisAlignedBoundingBox3Fs[offsetMaximum + 0], axisAlignedBoundingBox3Fs[offsetMaximum + 1], axisAlignedBoundingBox3Fs[offsetMaximum + 2]);
+		final Point3F minimum = new Point3F(axisAlignedBoundingBox3Fs[offsetMinimum + 0], axisAlignedBoundingBox3Fs[offsetMinimum + 1], axisAlignedBoundingBox3Fs[offsetMinimum + 2]);
+		
+		return new AxisAlignedBoundingBox3F(maximum, minimum);
+	}
+	
+	private static AxisAlignedBoundingBox3F doCreateBoundingSphere3F(final float[] boundingSphere3Fs, final int offset) {
+		final int offsetAbsolute = offset * CompiledBoundingVolume3FCache.BOUNDING_SPHERE_3_F_LENGTH;
+		final int offsetCenter = offsetAbsolute + CompiledBoundingVolume3FCache.BOUNDING_SPHERE_3_F_OFFSET_CENTER;
+		final int offsetRadius = offsetAbsolute + CompiledBoundingVolume3FCache.BOUNDING_SPHERE_3_F_OFFSET_RADIUS;
+		
+		final float centerX = boundingSphere3Fs[offsetCenter + 0];
+		final float centerY = boundingSphere3Fs[offsetCenter + 1];
+		final float centerZ = boundingSphere3Fs[offsetCenter + 2];
+		final float radius = boundingSphere3Fs[offsetRadius];
+		
+		return new AxisAlignedBoundingBox3F(new Point3F(centerX + radius, centerY + radius, centerZ + radius), new Point3F(centerX - radius, centerY - radius, centerZ - radius));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class CompiledBVHNode {
+		private final CompiledBVHNode compiledBVHNodeL;
+		private final CompiledBVHNode compiledBVHNodeR;
+		private final Point3F maximum;
+		private final Point3F minimum;
+		private final int[] primitives;
+		private final int length;
+		private final int nodeCount;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public CompiledBVHNode(final Point3F maximum, final Point3F minimum, final int[] primitives) {
+			this.compiledBVHNodeL = null;
+			this.compiledBVHNodeR = null;
+			this.maximum = maximum;
+			this.minimum = minimum;
+			this.primitives = primitives;
+			this.length = B_V_H_NODE_3_F_OFFSET_PRIMITIVE_INDICES + primitives.length;
+			this.nodeCount = 1;
+		}
+		
+		public CompiledBVHNode(final Point3F maximum, final Point3F minimum, final CompiledBVHNode compiledBVHNodeL, final CompiledBVHNode compiledBVHNodeR) {
+			this.compiledBVHNodeL = compiledBVHNodeL;
+			this.compiledBVHNodeR = compiledBVHNodeR;
+			this.maximum = maximum;
+			this.minimum = minimum;
+			this.primitives = null;
+			this.length = B_V_H_NODE_3_F_OFFSET_PRIMITIVE_INDICES + compiledBVHNodeL.length + compiledBVHNodeR.length;
+			this.nodeCount = 1 + compiledBVHNodeL.nodeCount + compiledBVHNodeR.nodeCount;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public int compile(final int[] bVHNodes, final float[] bVHAxisAlignedBoundingBox3Fs, final int offset, final int boundingVolumeOffset, final int nextOffset) {
+			System.arraycopy(CompiledBoundingVolume3FCache.toAxisAlignedBoundingBox3F(new AxisAlignedBoundingBox3F(this.maximum, this.minimum)), 0, bVHAxisAlignedBoundingBox3Fs, boundingVolumeOffset * CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_LENGTH, CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_LENGTH);
+			
+			bVHNodes[offset + B_V_H_NODE_3_F_OFFSET_BOUNDING_VOLUME_OFFSET] = boundingVolumeOffset;
+			bVHNodes[offset + B_V_H_NODE_3_F_OFFSET_NEXT_OFFSET] = nextOffset;
+			
+			if(this.primitives != null) {
+				bVHNodes[offset + B_V_H_NODE_3_F_OFFSET_ID] = LeafBVHNode3F.ID;
+				bVHNodes[offset + B_V_H_NODE_3_F_OFFSET_LEFT_OFFSET_OR_PRIMITIVE_COUNT] = this.primitives.length;
+				
+				System.arraycopy(this.primitives, 0, bVHNodes, offset + B_V_H_NODE_3_F_OFFSET_PRIMITIVE_INDICES, this.primitives.length);
+				
+				return boundingVolumeOffset + 1;
+			}
+			
+			final int offsetL = offset + B_V_H_NODE_3_F_OFFSET_PRIMITIVE_INDICES;
+			final int offsetR = offsetL + this.compiledBVHNodeL.length;
+			
+			bVHNodes[offset + B_V_H_NODE_3_F_OFFSET_ID] = TreeBVHNode3F.ID;
+			bVHNodes[offset + B_V_H_NODE_3_F_OFFSET_LEFT_OFFSET_OR_PRIMITIVE_COUNT] = offsetL;
+			
+			final int boundingVolumeOffsetR = this.compiledBVHNodeL.compile(bVHNodes, bVHAxisAlignedBoundingBox3Fs, offsetL, boundingVolumeOffset + 1, offsetR);
+			
+			return this.compiledBVHNodeR.compile(bVHNodes, bVHAxisAlignedBoundingBox3Fs, offsetR, boundingVolumeOffsetR, nextOffset);
+		}
+		
+		public int getLength() {
+			return this.length;
+		}
+		
+		public int getNodeCount() {
+			return this.nodeCount;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class CompiledBVHNodeFactory implements NodeFactory<CompiledBVHNode> {
+		private final List<Integer> primitives;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public CompiledBVHNodeFactory(final List<Integer> primitives) {
+			this.primitives = primitives;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		@Override
+		public CompiledBVHNode createLeafNode(final Point3F maximum, final Point3F minimum, final int depth, final int[] indices) {
+			final int[] primitives = new int[indices.length];
+			
+			for(int i = 0; i < indices.length; i++) {
+				primitives[i] = this.primitives.get(indices[i]).intValue();
+			}
+			
+			return new CompiledBVHNode(maximum, minimum, primitives);
+		}
+		
+		@Override
+		public CompiledBVHNode createTreeNode(final Point3F maximum, final Point3F minimum, final int depth, final CompiledBVHNode compiledBVHNodeL, final CompiledBVHNode compiledBVHNodeR) {
+			return new CompiledBVHNode(maximum, minimum, compiledBVHNodeL, compiledBVHNodeR);
+		}
+	}
 }
\ No newline at end of file
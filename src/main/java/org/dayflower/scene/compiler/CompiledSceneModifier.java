@@ -162,7 +162,13 @@ public final class CompiledSceneModifier {
 		final int primitiveCount = this.compiledScene.getCompiledPrimitiveCache().getPrimitiveCount();
 		final int primitiveOffset = this.compiledScene.getCompiledPrimitiveCache().addPrimitive(CompiledPrimitiveCache.toPrimitive(primitive, areaLight -> areaLightOffset, boundingVolume3F -> boundingVolumeOffset, material -> materialOffset, shape3F -> shapeOffset), CompiledPrimitiveCache.toMatrix44Fs(primitive.getTransform()));
 		
-		return primitiveOffset == primitiveCount;
+		if(primitiveOffset == primitiveCount) {
+			this.compiledScene.getCompiledPrimitiveCache().buildBVH(this.compiledScene.getCompiledBoundingVolume3FCache());
+			
+			return true;
+		}
+		
+		return false;
 	}
 	
 	/**
@@ -211,7 +217,13 @@ public final class CompiledSceneModifier {
 		final int materialOffset = doAddMaterial(primitive.getMaterial());
 		final int shapeOffset = doAddShape3F(primitive.getShape());
 		
-		return this.compiledScene.getCompiledPrimitiveCache().removePrimitive(CompiledPrimitiveCache.toPrimitive(primitive, areaLight -> areaLightOffset, boundingVolume3F -> boundingVolumeOffset, material -> materialOffset, shape3F -> shapeOffset));
+		if(this.compiledScene.getCompiledPrimitiveCache().removePrimitive(CompiledPrimitiveCache.toPrimitive(primitive, areaLight -> areaLightOffset, boundingVolume3F -> boundingVolumeOffset, material -> materialOffset, shape3F -> shapeOffset))) {
+			this.compiledScene.getCompiledPrimitiveCache().buildBVH(this.compiledScene.getCompiledBoundingVolume3FCache());
+			
+			return true;
+		}
+		
+		return false;
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
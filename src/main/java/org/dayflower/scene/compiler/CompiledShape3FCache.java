@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
 
 import org.dayflower.geometry.AngleF;
 import org.dayflower.geometry.BoundingVolume3F;
@@ -419,6 +420,19 @@ public final class CompiledShape3FCache {
 	private float[] rectangularCuboid3Fs;
 	private float[] torus3Fs;
 	private float[] triangle3Fs;
+	private int cone3FsLength;
+	private int cylinder3FsLength;
+	private int disk3FsLength;
+	private int hyperboloid3FsLength;
+	private int paraboloid3FsLength;
+	private int polygon3FOffsetsLength;
+	private int polygon3FsLength;
+	private int rectangle3FsLength;
+	private int rectangularCuboid3FsLength;
+	private int torus3FsLength;
+	private int triangle3FsLength;
+	private int triangleMesh3FOffsetsLength;
+	private int triangleMesh3FsLength;
 	private int[] polygon3FOffsets;
 	private int[] triangleMesh3FOffsets;
 	private int[] triangleMesh3Fs;
@@ -740,6 +754,8 @@ public final class CompiledShape3FCache {
 	 * @return a {@code float[]} that contains all {@code Cone3F} instances in compiled form that are associated with this {@code CompiledShape3FCache} instance
 	 */
 	public float[] getCone3Fs() {
+		this.cone3Fs = doTrim(this.cone3Fs, this.cone3FsLength);
+		
 		return this.cone3Fs;
 	}
 	
@@ -749,6 +765,8 @@ public final class CompiledShape3FCache {
 	 * @return a {@code float[]} that contains all {@code Cylinder3F} instances in compiled form that are associated with this {@code CompiledShape3FCache} instance
 	 */
 	public float[] getCylinder3Fs() {
+		this.cylinder3Fs = doTrim(this.cylinder3Fs, this.cylinder3FsLength);
+		
 		return this.cylinder3Fs;
 	}
 	
@@ -758,6 +776,8 @@ public final class CompiledShape3FCache {
 	 * @return a {@code float[]} that contains all {@code Disk3F} instances in compiled form that are associated with this {@code CompiledShape3FCache} instance
 	 */
 	public float[] getDisk3Fs() {
+		this.disk3Fs = doTrim(this.disk3Fs, this.disk3FsLength);
+		
 		return this.disk3Fs;
 	}
 	
@@ -767,6 +787,8 @@ public final class CompiledShape3FCache {
 	 * @return a {@code float[]} that contains all {@code Hyperboloid3F} instances in compiled form that are associated with this {@code CompiledShape3FCache} instance
 	 */
 	public float[] getHyperboloid3Fs() {
+		this.hyperboloid3Fs = doTrim(this.hyperboloid3Fs, this.hyperboloid3FsLength);
+		
 		return this.hyperboloid3Fs;
 	}
 	
@@ -776,6 +798,8 @@ public final class CompiledShape3FCache {
 	 * @return a {@code float[]} that contains all {@code Paraboloid3F} instances in compiled form that are associated with this {@code CompiledShape3FCache} instance
 	 */
 	public float[] getParaboloid3Fs() {
+		this.paraboloid3Fs = doTrim(this.paraboloid3Fs, this.paraboloid3FsLength);
+		
 		return this.paraboloid3Fs;
 	}
 	
@@ -785,6 +809,8 @@ public final class CompiledShape3FCache {
 	 * @return a {@code float[]} that contains all {@code Polygon3F} instances in compiled form that are associated with this {@code CompiledShape3FCache} instance
 	 */
 	public float[] getPolygon3Fs() {
+		this.polygon3Fs = doTrim(this.polygon3Fs, this.polygon3FsLength);
+		
 		return this.polygon3Fs;
 	}
 	
@@ -794,6 +820,8 @@ public final class CompiledShape3FCache {
 	 * @return a {@code float[]} that contains all {@code Rectangle3F} instances in compiled form that are associated with this {@code CompiledShape3FCache} instance
 	 */
 	public float[] getRectangle3Fs() {
+		this.rectangle3Fs = doTrim(this.rectangle3Fs, this.rectangle3FsLength);
+		
 		return this.rectangle3Fs;
 	}
 	
@@ -803,6 +831,8 @@ public final class CompiledShape3FCache {
 	 * @return a {@code float[]} that contains all {@code RectangularCuboid3F} instances in compiled form that are associated with this {@code CompiledShape3FCache} instance
 	 */
 	public float[] getRectangularCuboid3Fs() {
+		this.rectangularCuboid3Fs = doTrim(this.rectangularCuboid3Fs, this.rectangularCuboid3FsLength);
+		
 		return this.rectangularCuboid3Fs;
 	}
 	
@@ -812,6 +842,8 @@ public final class CompiledShape3FCache {
 	 * @return a {@code float[]} that contains all {@code Torus3F} instances in compiled form that are associated with this {@code CompiledShape3FCache} instance
 	 */
 	public float[] getTorus3Fs() {
+		this.torus3Fs = doTrim(this.torus3Fs, this.torus3FsLength);
+		
 		return this.torus3Fs;
 	}
 	
@@ -821,6 +853,8 @@ public final class CompiledShape3FCache {
 	 * @return a {@code float[]} that contains all {@code Triangle3F} instances in compiled form that are associated with this {@code CompiledShape3FCache} instance
 	 */
 	public float[] getTriangle3Fs() {
+		this.triangle3Fs = doTrim(this.triangle3Fs, this.triangle3FsLength);
+		
 		return this.triangle3Fs;
 	}
 	
@@ -846,7 +880,8 @@ public final class CompiledShape3FCache {
 			return relativeOffsetOld;
 		}
 		
-		setCone3Fs(Arrays.merge(getCone3Fs(), cone3F));
+		this.cone3Fs = doAppend(this.cone3Fs, this.cone3FsLength, cone3F);
+		this.cone3FsLength += cone3F.length;
 		
 		return relativeOffsetNew;
 	}
@@ -873,7 +908,8 @@ public final class CompiledShape3FCache {
 			return relativeOffsetOld;
 		}
 		
-		setCylinder3Fs(Arrays.merge(getCylinder3Fs(), cylinder3F));
+		this.cylinder3Fs = doAppend(this.cylinder3Fs, this.cylinder3FsLength, cylinder3F);
+		this.cylinder3FsLength += cylinder3F.length;
 		
 		return relativeOffsetNew;
 	}
@@ -900,7 +936,8 @@ public final class CompiledShape3FCache {
 			return relativeOffsetOld;
 		}
 		
-		setDisk3Fs(Arrays.merge(getDisk3Fs(), disk3F));
+		this.disk3Fs = doAppend(this.disk3Fs, this.disk3FsLength, disk3F);
+		this.disk3FsLength += disk3F.length;
 		
 		return relativeOffsetNew;
 	}
@@ -927,7 +964,8 @@ public final class CompiledShape3FCache {
 			return relativeOffsetOld;
 		}
 		
-		setHyperboloid3Fs(Arrays.merge(getHyperboloid3Fs(), hyperboloid3F));
+		this.hyperboloid3Fs = doAppend(this.hyperboloid3Fs, this.hyperboloid3FsLength, hyperboloid3F);
+		this.hyperboloid3FsLength += hyperboloid3F.length;
 		
 		return relativeOffsetNew;
 	}
@@ -954,7 +992,8 @@ public final class CompiledShape3FCache {
 			return relativeOffsetOld;
 		}
 		
-		setParaboloid3Fs(Arrays.merge(getParaboloid3Fs(), paraboloid3F));
+		this.paraboloid3Fs = doAppend(this.paraboloid3Fs, this.paraboloid3FsLength, paraboloid3F);
+		this.paraboloid3FsLength += paraboloid3F.length;
 		
 		return relativeOffsetNew;
 	}
@@ -974,7 +1013,7 @@ public final class CompiledShape3FCache {
 	 * @throws NullPointerException thrown if, and only if, {@code polygon3F} is {@code null}
 	 */
 	public int addPolygon3F(final float[] polygon3F) {
-		final int absoluteOffsetNew = this.polygon3Fs.length;
+		final int absoluteOffsetNew = this.polygon3FsLength;
 		final int relativeOffsetOld = getPolygon3FOffsetRelative(polygon3F);
 		final int relativeOffsetNew = getPolygon3FCount();
 		
@@ -982,8 +1021,10 @@ public final class CompiledShape3FCache {
 			return relativeOffsetOld;
 		}
 		
-		setPolygon3FOffsets(Arrays.merge(getPolygon3FOffsets(), new int[] {absoluteOffsetNew}));
-		setPolygon3Fs(Arrays.merge(getPolygon3Fs(), polygon3F));
+		this.polygon3FOffsets = doAppend(this.polygon3FOffsets, this.polygon3FOffsetsLength, new int[] {absoluteOffsetNew});
+		this.polygon3FOffsetsLength++;
+		this.polygon3Fs = doAppend(this.polygon3Fs, this.polygon3FsLength, polygon3F);
+		this.polygon3FsLength += polygon3F.length;
 		
 		return relativeOffsetNew;
 	}
@@ -1010,7 +1051,8 @@ public final class CompiledShape3FCache {
 			return relativeOffsetOld;
 		}
 		
-		setRectangle3Fs(Arrays.merge(getRectangle3Fs(), rectangle3F));
+		this.rectangle3Fs = doAppend(this.rectangle3Fs, this.rectangle3FsLength, rectangle3F);
+		this.rectangle3FsLength += rectangle3F.length;
 		
 		return relativeOffsetNew;
 	}
@@ -1037,7 +1079,8 @@ public final class CompiledShape3FCache {
 			return relativeOffsetOld;
 		}
 		
-		setRectangularCuboid3Fs(Arrays.merge(getRectangularCuboid3Fs(), rectangularCuboid3F));
+		this.rectangularCuboid3Fs = doAppend(this.rectangularCuboid3Fs, this.rectangularCuboid3FsLength, rectangularCuboid3F);
+		this.rectangularCuboid3FsLength += rectangularCuboid3F.length;
 		
 		return relativeOffsetNew;
 	}
@@ -1064,7 +1107,8 @@ public final class CompiledShape3FCache {
 			return relativeOffsetOld;
 		}
 		
-		setTorus3Fs(Arrays.merge(getTorus3Fs(), torus3F));
+		this.torus3Fs = doAppend(this.torus3Fs, this.torus3FsLength, torus3F);
+		this.torus3FsLength += torus3F.length;
 		
 		return relativeOffsetNew;
 	}
@@ -1091,7 +1135,8 @@ public final class CompiledShape3FCache {
 			return relativeOffsetOld;
 		}
 		
-		setTriangle3Fs(Arrays.merge(getTriangle3Fs(), triangle3F));
+		this.triangle3Fs = doAppend(this.triangle3Fs, this.triangle3FsLength, triangle3F);
+		this.triangle3FsLength += triangle3F.length;
 		
 		return relativeOffsetNew;
 	}
@@ -1111,7 +1156,7 @@ public final class CompiledShape3FCache {
 	 * @throws NullPointerException thrown if, and only if, {@code triangleMesh3F} is {@code null}
 	 */
 	public int addTriangleMesh3F(final int[] triangleMesh3F) {
-		final int absoluteOffsetNew = this.triangleMesh3Fs.length;
+		final int absoluteOffsetNew = this.triangleMesh3FsLength;
 		final int relativeOffsetOld = getTriangleMesh3FOffsetRelative(triangleMesh3F);
 		final int relativeOffsetNew = getTriangleMesh3FCount();
 		
@@ -1119,8 +1164,10 @@ public final class CompiledShape3FCache {
 			return relativeOffsetOld;
 		}
 		
-		setTriangleMesh3FOffsets(Arrays.merge(getTriangleMesh3FOffsets(), new int[] {absoluteOffsetNew}));
-		setTriangleMesh3Fs(Arrays.merge(getTriangleMesh3Fs(), triangleMesh3F));
+		this.triangleMesh3FOffsets = doAppend(this.triangleMesh3FOffsets, this.triangleMesh3FOffsetsLength, new int[] {absoluteOffsetNew});
+		this.triangleMesh3FOffsetsLength++;
+		this.triangleMesh3Fs = doAppend(this.triangleMesh3Fs, this.triangleMesh3FsLength, triangleMesh3F);
+		this.triangleMesh3FsLength += triangleMesh3F.length;
 		
 		return relativeOffsetNew;
 	}
@@ -1131,7 +1178,7 @@ public final class CompiledShape3FCache {
 	 * @return the {@code Cone3F} count in this {@code CompiledShape3FCache} instance
 	 */
 	public int getCone3FCount() {
-		return Structures.getStructureCount(this.cone3Fs, CONE_3_F_LENGTH);
+		return Structures.getStructureCount(this.cone3FsLength, CONE_3_F_LENGTH);
 	}
 	
 	/**
@@ -1151,7 +1198,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(cone3F, CONE_3_F_LENGTH, "cone3F");
 		
-		return Structures.getStructureOffsetAbsolute(this.cone3Fs, cone3F);
+		return Structures.getStructureOffsetAbsolute(this.cone3Fs, this.cone3FsLength, cone3F);
 	}
 	
 	/**
@@ -1171,7 +1218,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(cone3F, CONE_3_F_LENGTH, "cone3F");
 		
-		return Structures.getStructureOffsetRelative(this.cone3Fs, cone3F);
+		return Structures.getStructureOffsetRelative(this.cone3Fs, this.cone3FsLength, cone3F);
 	}
 	
 	/**
@@ -1180,7 +1227,7 @@ public final class CompiledShape3FCache {
 	 * @return the {@code Cylinder3F} count in this {@code CompiledShape3FCache} instance
 	 */
 	public int getCylinder3FCount() {
-		return Structures.getStructureCount(this.cylinder3Fs, CYLINDER_3_F_LENGTH);
+		return Structures.getStructureCount(this.cylinder3FsLength, CYLINDER_3_F_LENGTH);
 	}
 	
 	/**
@@ -1200,7 +1247,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(cylinder3F, CYLINDER_3_F_LENGTH, "cylinder3F");
 		
-		return Structures.getStructureOffsetAbsolute(this.cylinder3Fs, cylinder3F);
+		return Structures.getStructureOffsetAbsolute(this.cylinder3Fs, this.cylinder3FsLength, cylinder3F);
 	}
 	
 	/**
@@ -1220,7 +1267,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(cylinder3F, CYLINDER_3_F_LENGTH, "cylinder3F");
 		
-		return Structures.getStructureOffsetRelative(this.cylinder3Fs, cylinder3F);
+		return Structures.getStructureOffsetRelative(this.cylinder3Fs, this.cylinder3FsLength, cylinder3F);
 	}
 	
 	/**
@@ -1229,7 +1276,7 @@ public final class CompiledShape3FCache {
 	 * @return the {@code Disk3F} count in this {@code CompiledShape3FCache} instance
 	 */
 	public int getDisk3FCount() {
-		return Structures.getStructureCount(this.disk3Fs, DISK_3_F_LENGTH);
+		return Structures.getStructureCount(this.disk3FsLength, DISK_3_F_LENGTH);
 	}
 	
 	/**
@@ -1249,7 +1296,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(disk3F, DISK_3_F_LENGTH, "disk3F");
 		
-		return Structures.getStructureOffsetAbsolute(this.disk3Fs, disk3F);
+		return Structures.getStructureOffsetAbsolute(this.disk3Fs, this.disk3FsLength, disk3F);
 	}
 	
 	/**
@@ -1269,7 +1316,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(disk3F, DISK_3_F_LENGTH, "disk3F");
 		
-		return Structures.getStructureOffsetRelative(this.disk3Fs, disk3F);
+		return Structures.getStructureOffsetRelative(this.disk3Fs, this.disk3FsLength, disk3F);
 	}
 	
 	/**
@@ -1278,7 +1325,7 @@ public final class CompiledShape3FCache {
 	 * @return the {@code Hyperboloid3F} count in this {@code CompiledShape3FCache} instance
 	 */
 	public int getHyperboloid3FCount() {
-		return Structures.getStructureCount(this.hyperboloid3Fs, HYPERBOLOID_3_F_LENGTH);
+		return Structures.getStructureCount(this.hyperboloid3FsLength, HYPERBOLOID_3_F_LENGTH);
 	}
 	
 	/**
@@ -1298,7 +1345,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(hyperboloid3F, HYPERBOLOID_3_F_LENGTH, "hyperboloid3F");
 		
-		return Structures.getStructureOffsetAbsolute(this.hyperboloid3Fs, hyperboloid3F);
+		return Structures.getStructureOffsetAbsolute(this.hyperboloid3Fs, this.hyperboloid3FsLength, hyperboloid3F);
 	}
 	
 	/**
@@ -1318,7 +1365,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(hyperboloid3F, HYPERBOLOID_3_F_LENGTH, "hyperboloid3F");
 		
-		return Structures.getStructureOffsetRelative(this.hyperboloid3Fs, hyperboloid3F);
+		return Structures.getStructureOffsetRelative(this.hyperboloid3Fs, this.hyperboloid3FsLength, hyperboloid3F);
 	}
 	
 	/**
@@ -1327,7 +1374,7 @@ public final class CompiledShape3FCache {
 	 * @return the {@code Paraboloid3F} count in this {@code CompiledShape3FCache} instance
 	 */
 	public int getParaboloid3FCount() {
-		return Structures.getStructureCount(this.paraboloid3Fs, PARABOLOID_3_F_LENGTH);
+		return Structures.getStructureCount(this.paraboloid3FsLength, PARABOLOID_3_F_LENGTH);
 	}
 	
 	/**
@@ -1347,7 +1394,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(paraboloid3F, PARABOLOID_3_F_LENGTH, "paraboloid3F");
 		
-		return Structures.getStructureOffsetAbsolute(this.paraboloid3Fs, paraboloid3F);
+		return Structures.getStructureOffsetAbsolute(this.paraboloid3Fs, this.paraboloid3FsLength, paraboloid3F);
 	}
 	
 	/**
@@ -1367,7 +1414,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(paraboloid3F, PARABOLOID_3_F_LENGTH, "paraboloid3F");
 		
-		return Structures.getStructureOffsetRelative(this.paraboloid3Fs, paraboloid3F);
+		return Structures.getStructureOffsetRelative(this.paraboloid3Fs, this.paraboloid3FsLength, paraboloid3F);
 	}
 	
 	/**
@@ -1376,7 +1423,7 @@ public final class CompiledShape3FCache {
 	 * @return the {@code Polygon3F} count in this {@code CompiledShape3FCache} instance
 	 */
 	public int getPolygon3FCount() {
-		return this.polygon3FOffsets.length;
+		return this.polygon3FOffsetsLength;
 	}
 	
 	/**
@@ -1396,7 +1443,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExact(polygon3F.length % 8, 0, "polygon3F.length % 8");
 		
-		return Structures.getStructureOffsetAbsolute(this.polygon3Fs, polygon3F, this.polygon3FOffsets);
+		return Structures.getStructureOffsetAbsolute(this.polygon3Fs, this.polygon3FsLength, polygon3F, this.polygon3FOffsets, this.polygon3FOffsetsLength);
 	}
 	
 	/**
@@ -1416,7 +1463,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExact(polygon3F.length % 8, 0, "polygon3F.length % 8");
 		
-		return Structures.getStructureOffsetRelative(this.polygon3Fs, polygon3F, this.polygon3FOffsets);
+		return Structures.getStructureOffsetRelative(this.polygon3Fs, this.polygon3FsLength, polygon3F, this.polygon3FOffsets, this.polygon3FOffsetsLength);
 	}
 	
 	/**
@@ -1425,7 +1472,7 @@ public final class CompiledShape3FCache {
 	 * @return the {@code Rectangle3F} count in this {@code CompiledShape3FCache} instance
 	 */
 	public int getRectangle3FCount() {
-		return Structures.getStructureCount(this.rectangle3Fs, RECTANGLE_3_F_LENGTH);
+		return Structures.getStructureCount(this.rectangle3FsLength, RECTANGLE_3_F_LENGTH);
 	}
 	
 	/**
@@ -1445,7 +1492,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(rectangle3F, RECTANGLE_3_F_LENGTH, "rectangle3F");
 		
-		return Structures.getStructureOffsetAbsolute(this.rectangle3Fs, rectangle3F);
+		return Structures.getStructureOffsetAbsolute(this.rectangle3Fs, this.rectangle3FsLength, rectangle3F);
 	}
 	
 	/**
@@ -1465,7 +1512,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(rectangle3F, RECTANGLE_3_F_LENGTH, "rectangle3F");
 		
-		return Structures.getStructureOffsetRelative(this.rectangle3Fs, rectangle3F);
+		return Structures.getStructureOffsetRelative(this.rectangle3Fs, this.rectangle3FsLength, rectangle3F);
 	}
 	
 	/**
@@ -1474,7 +1521,7 @@ public final class CompiledShape3FCache {
 	 * @return the {@code RectangularCuboid3F} count in this {@code CompiledShape3FCache} instance
 	 */
 	public int getRectangularCuboid3FCount() {
-		return Structures.getStructureCount(this.rectangularCuboid3Fs, RECTANGULAR_CUBOID_3_F_LENGTH);
+		return Structures.getStructureCount(this.rectangularCuboid3FsLength, RECTANGULAR_CUBOID_3_F_LENGTH);
 	}
 	
 	/**
@@ -1494,7 +1541,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(rectangularCuboid3F, RECTANGULAR_CUBOID_3_F_LENGTH, "rectangularCuboid3F");
 		
-		return Structures.getStructureOffsetAbsolute(this.rectangularCuboid3Fs, rectangularCuboid3F);
+		return Structures.getStructureOffsetAbsolute(this.rectangularCuboid3Fs, this.rectangularCuboid3FsLength, rectangularCuboid3F);
 	}
 	
 	/**
@@ -1514,7 +1561,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(rectangularCuboid3F, RECTANGULAR_CUBOID_3_F_LENGTH, "rectangularCuboid3F");
 		
-		return Structures.getStructureOffsetRelative(this.rectangularCuboid3Fs, rectangularCuboid3F);
+		return Structures.getStructureOffsetRelative(this.rectangularCuboid3Fs, this.rectangularCuboid3FsLength, rectangularCuboid3F);
 	}
 	
 	/**
@@ -1523,7 +1570,7 @@ public final class CompiledShape3FCache {
 	 * @return the {@code Torus3F} count in this {@code CompiledShape3FCache} instance
 	 */
 	public int getTorus3FCount() {
-		return Structures.getStructureCount(this.torus3Fs, TORUS_3_F_LENGTH);
+		return Structures.getStructureCount(this.torus3FsLength, TORUS_3_F_LENGTH);
 	}
 	
 	/**
@@ -1543,7 +1590,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(torus3F, TORUS_3_F_LENGTH, "torus3F");
 		
-		return Structures.getStructureOffsetAbsolute(this.torus3Fs, torus3F);
+		return Structures.getStructureOffsetAbsolute(this.torus3Fs, this.torus3FsLength, torus3F);
 	}
 	
 	/**
@@ -1563,7 +1610,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(torus3F, TORUS_3_F_LENGTH, "torus3F");
 		
-		return Structures.getStructureOffsetRelative(this.torus3Fs, torus3F);
+		return Structures.getStructureOffsetRelative(this.torus3Fs, this.torus3FsLength, torus3F);
 	}
 	
 	/**
@@ -1572,7 +1619,7 @@ public final class CompiledShape3FCache {
 	 * @return the {@code Triangle3F} count in this {@code CompiledShape3FCache} instance
 	 */
 	public int getTriangle3FCount() {
-		return Structures.getStructureCount(this.triangle3Fs, TRIANGLE_3_F_LENGTH);
+		return Structures.getStructureCount(this.triangle3FsLength, TRIANGLE_3_F_LENGTH);
 	}
 	
 	/**
@@ -1592,7 +1639,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(triangle3F, TRIANGLE_3_F_LENGTH, "triangle3F");
 		
-		return Structures.getStructureOffsetAbsolute(this.triangle3Fs, triangle3F);
+		return Structures.getStructureOffsetAbsolute(this.triangle3Fs, this.triangle3FsLength, triangle3F);
 	}
 	
 	/**
@@ -1612,7 +1659,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExactArrayLength(triangle3F, TRIANGLE_3_F_LENGTH, "triangle3F");
 		
-		return Structures.getStructureOffsetRelative(this.triangle3Fs, triangle3F);
+		return Structures.getStructureOffsetRelative(this.triangle3Fs, this.triangle3FsLength, triangle3F);
 	}
 	
 	/**
@@ -1621,7 +1668,7 @@ public final class CompiledShape3FCache {
 	 * @return the {@code TriangleMesh3F} count in this {@code CompiledShape3FCache} instance
 	 */
 	public int getTriangleMesh3FCount() {
-		return this.triangleMesh3FOffsets.length;
+		return this.triangleMesh3FOffsetsLength;
 	}
 	
 	/**
@@ -1641,7 +1688,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExact(triangleMesh3F.length % 8, 0, "triangleMesh3F.length % 8");
 		
-		return Structures.getStructureOffsetAbsolute(this.triangleMesh3Fs, triangleMesh3F, this.triangleMesh3FOffsets);
+		return Structures.getStructureOffsetAbsolute(this.triangleMesh3Fs, this.triangleMesh3FsLength, triangleMesh3F, this.triangleMesh3FOffsets, this.triangleMesh3FOffsetsLength);
 	}
 	
 	/**
@@ -1661,7 +1708,7 @@ public final class CompiledShape3FCache {
 		
 		ParameterArguments.requireExact(triangleMesh3F.length % 8, 0, "triangleMesh3F.length % 8");
 		
-		return Structures.getStructureOffsetRelative(this.triangleMesh3Fs, triangleMesh3F, this.triangleMesh3FOffsets);
+		return Structures.getStructureOffsetRelative(this.triangleMesh3Fs, this.triangleMesh3FsLength, triangleMesh3F, this.triangleMesh3FOffsets, this.triangleMesh3FOffsetsLength);
 	}
 	
 	/**
@@ -1670,6 +1717,8 @@ public final class CompiledShape3FCache {
 	 * @return an {@code int[]} that contains the offsets for all {@code Polygon3F} instances in this {@code CompiledShape3FCache} instance
 	 */
 	public int[] getPolygon3FOffsets() {
+		this.polygon3FOffsets = doTrim(this.polygon3FOffsets, this.polygon3FOffsetsLength);
+		
 		return this.polygon3FOffsets;
 	}
 	
@@ -1679,6 +1728,8 @@ public final class CompiledShape3FCache {
 	 * @return an {@code int[]} that contains the offsets for all {@code TriangleMesh3F} instances in this {@code CompiledShape3FCache} instance
 	 */
 	public int[] getTriangleMesh3FOffsets() {
+		this.triangleMesh3FOffsets = doTrim(this.triangleMesh3FOffsets, this.triangleMesh3FOffsetsLength);
+		
 		return this.triangleMesh3FOffsets;
 	}
 	
@@ -1688,6 +1739,8 @@ public final class CompiledShape3FCache {
 	 * @return an {@code int[]} that contains all {@code TriangleMesh3F} instances in compiled form that are associated with this {@code CompiledShape3FCache} instance
 	 */
 	public int[] getTriangleMesh3Fs() {
+		this.triangleMesh3Fs = doTrim(this.triangleMesh3Fs, this.triangleMesh3FsLength);
+		
 		return this.triangleMesh3Fs;
 	}
 	
@@ -1708,6 +1761,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireExact(cone3Fs.length % CONE_3_F_LENGTH, 0, "cone3Fs.length % CompiledShape3FCache.CONE_3_F_LENGTH");
 		
 		this.cone3Fs = cone3Fs;
+		this.cone3FsLength = cone3Fs.length;
 	}
 	
 	/**
@@ -1727,6 +1781,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireExact(cylinder3Fs.length % CYLINDER_3_F_LENGTH, 0, "cylinder3Fs.length % CompiledShape3FCache.CYLINDER_3_F_LENGTH");
 		
 		this.cylinder3Fs = cylinder3Fs;
+		this.cylinder3FsLength = cylinder3Fs.length;
 	}
 	
 	/**
@@ -1746,6 +1801,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireExact(disk3Fs.length % DISK_3_F_LENGTH, 0, "disk3Fs.length % CompiledShape3FCache.DISK_3_F_LENGTH");
 		
 		this.disk3Fs = disk3Fs;
+		this.disk3FsLength = disk3Fs.length;
 	}
 	
 	/**
@@ -1765,6 +1821,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireExact(hyperboloid3Fs.length % HYPERBOLOID_3_F_LENGTH, 0, "hyperboloid3Fs.length % CompiledShape3FCache.HYPERBOLOID_3_F_LENGTH");
 		
 		this.hyperboloid3Fs = hyperboloid3Fs;
+		this.hyperboloid3FsLength = hyperboloid3Fs.length;
 	}
 	
 	/**
@@ -1784,6 +1841,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireExact(paraboloid3Fs.length % PARABOLOID_3_F_LENGTH, 0, "paraboloid3Fs.length % CompiledShape3FCache.PARABOLOID_3_F_LENGTH");
 		
 		this.paraboloid3Fs = paraboloid3Fs;
+		this.paraboloid3FsLength = paraboloid3Fs.length;
 	}
 	
 	/**
@@ -1803,6 +1861,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireRange(polygon3FOffsets, 0, Integer.MAX_VALUE, "polygon3FOffsets");
 		
 		this.polygon3FOffsets = polygon3FOffsets;
+		this.polygon3FOffsetsLength = polygon3FOffsets.length;
 	}
 	
 	/**
@@ -1822,6 +1881,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireExact(polygon3Fs.length % 8, 0, "polygon3Fs.length % 8");
 		
 		this.polygon3Fs = polygon3Fs;
+		this.polygon3FsLength = polygon3Fs.length;
 	}
 	
 	/**
@@ -1841,6 +1901,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireExact(rectangle3Fs.length % RECTANGLE_3_F_LENGTH, 0, "rectangle3Fs.length % CompiledShape3FCache.RECTANGLE_3_F_LENGTH");
 		
 		this.rectangle3Fs = rectangle3Fs;
+		this.rectangle3FsLength = rectangle3Fs.length;
 	}
 	
 	/**
@@ -1860,6 +1921,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireExact(rectangularCuboid3Fs.length % RECTANGULAR_CUBOID_3_F_LENGTH, 0, "rectangularCuboid3Fs.length % CompiledShape3FCache.RECTANGULAR_CUBOID_3_F_LENGTH");
 		
 		this.rectangularCuboid3Fs = rectangularCuboid3Fs;
+		this.rectangularCuboid3FsLength = rectangularCuboid3Fs.length;
 	}
 	
 	/**
@@ -1879,6 +1941,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireExact(torus3Fs.length % TORUS_3_F_LENGTH, 0, "torus3Fs.length % CompiledShape3FCache.TORUS_3_F_LENGTH");
 		
 		this.torus3Fs = torus3Fs;
+		this.torus3FsLength = torus3Fs.length;
 	}
 	
 	/**
@@ -1898,6 +1961,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireExact(triangle3Fs.length % TRIANGLE_3_F_LENGTH, 0, "triangle3Fs.length % CompiledShape3FCache.TRIANGLE_3_F_LENGTH");
 		
 		this.triangle3Fs = triangle3Fs;
+		this.triangle3FsLength = triangle3Fs.length;
 	}
 	
 	/**
@@ -1917,6 +1981,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireRange(triangleMesh3FOffsets, 0, Integer.MAX_VALUE, "triangleMesh3FOffsets");
 		
 		this.triangleMesh3FOffsets = triangleMesh3FOffsets;
+		this.triangleMesh3FOffsetsLength = triangleMesh3FOffsets.length;
 	}
 	
 	/**
@@ -1936,6 +2001,7 @@ public final class CompiledShape3FCache {
 		ParameterArguments.requireExact(triangleMesh3Fs.length % 8, 0, "triangleMesh3Fs.length % 8");
 		
 		this.triangleMesh3Fs = triangleMesh3Fs;
+		this.triangleMesh3FsLength = triangleMesh3Fs.length;
 	}
 	
 	/**
@@ -2444,12 +2510,21 @@ public final class CompiledShape3FCache {
 	 * <p>
 	 * If {@code triangle3Fs} or at least one of its elements are {@code null}, a {@code NullPointerException} will be thrown.
 	 * 
+	 * <p>
+	 * The {@code Triangle3F} instances are compiled in parallel, directly into their slots in the returned array.
+	 * 
 	 * @param triangle3Fs a {@code List} of {@code Triangle3F} instances
 	 * @return a {@code float[]} with all {@code Triangle3F} instances in {@code triangle3Fs} in compiled form
 	 * @throws NullPointerException thrown if, and only if, {@code triangle3Fs} or at least one of its elements are {@code null}
 	 */
 	public static float[] toTriangle3Fs(final List<Triangle3F> triangle3Fs) {
-		return Arrays.toFloatArray(triangle3Fs, triangle3F -> toTriangle3F(triangle3F));
+		ParameterArguments.requireNonNullList(triangle3Fs, "triangle3Fs");
+		
+		final float[] array = new float[triangle3Fs.size() * TRIANGLE_3_F_LENGTH];
+		
+		IntStream.range(0, triangle3Fs.size()).parallel().forEach(i -> System.arraycopy(toTriangle3F(triangle3Fs.get(i)), 0, array, i * TRIANGLE_3_F_LENGTH, TRIANGLE_3_F_LENGTH));
+		
+		return array;
 	}
 	
 	/**
@@ -2561,6 +2636,9 @@ public final class CompiledShape3FCache {
 	 * <p>
 	 * If {@code triangleMesh3Fs} or at least one of its elements are {@code null}, a {@code NullPointerException} will be thrown.
 	 * 
+	 * <p>
+	 * The lengths of the {@code TriangleMesh3F} instances are computed in parallel. The offsets are then assigned in order by a prefix sum over the lengths, so they are the same for every call.
+	 * 
 	 * @param triangleMesh3Fs a {@code List} of {@code TriangleMesh3F} instances
 	 * @return an {@code int[]} with the offsets for all {@code TriangleMesh3F} instances in {@code triangleMesh3Fs} in compiled form
 	 * @throws NullPointerException thrown if, and only if, {@code triangleMesh3Fs} or at least one of its elements are {@code null}
@@ -2568,9 +2646,10 @@ public final class CompiledShape3FCache {
 	public static int[] toTriangleMesh3FOffsets(final List<TriangleMesh3F> triangleMesh3Fs) {
 		ParameterArguments.requireNonNullList(triangleMesh3Fs, "triangleMesh3Fs");
 		
+		final int[] triangleMesh3FLengths = triangleMesh3Fs.parallelStream().mapToInt(triangleMesh3F -> getTriangleMesh3FLength(triangleMesh3F)).toArray();
 		final int[] triangleMesh3FOffsets = new int[triangleMesh3Fs.size()];
 		
-		for(int i = 0, j = 0; i < triangleMesh3Fs.size(); j += getTriangleMesh3FLength(triangleMesh3Fs.get(i)), i++) {
+		for(int i = 0, j = 0; i < triangleMesh3FLengths.length; j += triangleMesh3FLengths[i], i++) {
 			triangleMesh3FOffsets[i] = j;
 		}
 		
@@ -2601,6 +2680,9 @@ public final class CompiledShape3FCache {
 	 * Returns an {@code int[]} with all {@link TriangleMesh3F} instances in {@code triangleMesh3Fs} in compiled form.
 	 * <p>
 	 * If either {@code triangleMesh3Fs}, at least one of its elements, {@code boundingVolume3FOffsetFunction} or {@code triangle3FOffsetFunction} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * The BVH of each {@code TriangleMesh3F} instance is flattened in parallel, so {@code boundingVolume3FOffsetFunction} and {@code triangle3FOffsetFunction} may be called concurrently. The flattened BVHs are then copied into the returned array in
+	 * the order of {@code triangleMesh3Fs}, at the offsets returned by {@link #toTriangleMesh3FOffsets(List)}.
 	 * 
 	 * @param triangleMesh3Fs a {@code List} of {@code TriangleMesh3F} instances
 	 * @param boundingVolume3FOffsetFunction a {@code ToIntFunction} that returns {@link BoundingVolume3F} offsets
@@ -2609,11 +2691,57 @@ public final class CompiledShape3FCache {
 	 * @throws NullPointerException thrown if, and only if, either {@code triangleMesh3Fs}, at least one of its elements, {@code boundingVolume3FOffsetFunction} or {@code triangle3FOffsetFunction} are {@code null}
 	 */
 	public static int[] toTriangleMesh3Fs(final List<TriangleMesh3F> triangleMesh3Fs, final ToIntFunction<BoundingVolume3F> boundingVolume3FOffsetFunction, final ToIntFunction<Triangle3F> triangle3FOffsetFunction) {
-		return Arrays.toIntArray(triangleMesh3Fs, triangleMesh3F -> toTriangleMesh3F(triangleMesh3F, boundingVolume3FOffsetFunction, triangle3FOffsetFunction));
+		ParameterArguments.requireNonNullList(triangleMesh3Fs, "triangleMesh3Fs");
+		
+		Objects.requireNonNull(boundingVolume3FOffsetFunction, "boundingVolume3FOffsetFunction == null");
+		Objects.requireNonNull(triangle3FOffsetFunction, "triangle3FOffsetFunction == null");
+		
+		final int[][] triangleMesh3FArrays = triangleMesh3Fs.parallelStream().map(triangleMesh3F -> toTriangleMesh3F(triangleMesh3F, boundingVolume3FOffsetFunction, triangle3FOffsetFunction)).toArray(int[][]::new);
+		
+		int length = 0;
+		
+		for(final int[] triangleMesh3FArray : triangleMesh3FArrays) {
+			length += triangleMesh3FArray.length;
+		}
+		
+		final int[] array = new int[length];
+		
+		for(int i = 0, j = 0; i < triangleMesh3FArrays.length; j += triangleMesh3FArrays[i].length, i++) {
+			System.arraycopy(triangleMesh3FArrays[i], 0, array, j, triangleMesh3FArrays[i].length);
+		}
+		
+		return array;
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private static float[] doAppend(final float[] array, final int length, final float[] values) {
+		if(length + values.length <= array.length) {
+			System.arraycopy(values, 0, array, length, values.length);
+			
+			return array;
+		}
+		
+		final float[] newArray = new float[Math.max(length + values.length, array.length * 2)];
+		
+		System.arraycopy(array, 0, newArray, 0, length);
+		System.arraycopy(values, 0, newArray, length, values.length);
+		
+		return newArray;
+	}
+	
+	private static float[] doTrim(final float[] array, final int length) {
+		if(length == array.length) {
+			return array;
+		}
+		
+		final float[] newArray = new float[length];
+		
+		System.arraycopy(array, 0, newArray, 0, length);
+		
+		return newArray;
+	}
+	
 	private static int doFindLeftOffset(final List<BVHNode3F> bVHNodes, final int depth, final int index, final int[] offsets) {
 		for(int i = index; i < bVHNodes.size(); i++) {
 			if(bVHNodes.get(i).getDepth() == depth + 1) {
@@ -2649,6 +2777,21 @@ public final class CompiledShape3FCache {
 		}
 	}
 	
+	private static int[] doAppend(final int[] array, final int length, final int[] values) {
+		if(length + values.length <= array.length) {
+			System.arraycopy(values, 0, array, length, values.length);
+			
+			return array;
+		}
+		
+		final int[] newArray = new int[Math.max(length + values.length, array.length * 2)];
+		
+		System.arraycopy(array, 0, newArray, 0, length);
+		System.arraycopy(values, 0, newArray, length, values.length);
+		
+		return newArray;
+	}
+	
 	private static int[] doToBVHNode3F(final BVHNode3F rootBVHNode3F, final ToIntFunction<BoundingVolume3F> boundingVolume3FOffsetFunction, final ToIntFunction<Triangle3F> triangle3FOffsetFunction) {
 		Objects.requireNonNull(rootBVHNode3F, "rootBVHNode3F == null");
 		
@@ -2730,6 +2873,18 @@ public final class CompiledShape3FCache {
 		}
 	}
 	
+	private static int[] doTrim(final int[] array, final int length) {
+		if(length == array.length) {
+			return array;
+		}
+		
+		final int[] newArray = new int[length];
+		
+		System.arraycopy(array, 0, newArray, 0, length);
+		
+		return newArray;
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private static final class CompiledBVHNode3F {
@@ -172,8 +172,15 @@ public final class CompiledTextureCache {
 	
 	/**
 	 * The offset for the image in a compiled {@link LDRImageTexture} instance.
+	 * <p>
+	 * The image is followed by the remaining MIP map levels, stored contiguously from the largest to the smallest. Each level is half the resolution of the previous one, rounded up.
+	 */
+	public static final int L_D_R_IMAGE_TEXTURE_OFFSET_IMAGE = 6;
+	
+	/**
+	 * The offset for the MIP map level count in a compiled {@link LDRImageTexture} instance.
 	 */
-	public static final int L_D_R_IMAGE_TEXTURE_OFFSET_IMAGE = 5;
+	public static final int L_D_R_IMAGE_TEXTURE_OFFSET_MIP_MAP_LEVEL_COUNT = 5;
 	
 	/**
 	 * The offset for the resolution of the X-axis in a compiled {@link LDRImageTexture} instance.
@@ -555,7 +562,13 @@ public final class CompiledTextureCache {
 		final int absoluteOffset = getBlendTextureOffsetAbsolute(oldBlendTexture);
 		
 		if(absoluteOffset != -1) {
-			return Structures.updateStructure(this.blendTextures, oldBlendTexture, newBlendTexture, absoluteOffset);
+			final float[] blendTextures = this.blendTextures.clone();
+			
+			if(Structures.updateStructure(blendTextures, oldBlendTexture, newBlendTexture, absoluteOffset)) {
+				setBlendTextures(blendTextures);
+				
+				return true;
+			}
 		}
 		
 		return false;
@@ -586,7 +599,13 @@ public final class CompiledTextureCache {
 		final int absoluteOffset = getBullseyeTextureOffsetAbsolute(oldBullseyeTexture);
 		
 		if(absoluteOffset != -1) {
-			return Structures.updateStructure(this.bullseyeTextures, oldBullseyeTexture, newBullseyeTexture, absoluteOffset);
+			final float[] bullseyeTextures = this.bullseyeTextures.clone();
+			
+			if(Structures.updateStructure(bullseyeTextures, oldBullseyeTexture, newBullseyeTexture, absoluteOffset)) {
+				setBullseyeTextures(bullseyeTextures);
+				
+				return true;
+			}
 		}
 		
 		return false;
@@ -1841,7 +1860,7 @@ public final class CompiledTextureCache {
 		final int resolutionX = lDRImageTexture.getResolutionX();
 		final int resolutionY = lDRImageTexture.getResolutionY();
 		
-		final int[] image = lDRImageTexture.getImage();
+		final int mipMapLevelCount = lDRImageTexture.getMipMapLevelCount();
 		
 		final float[] array = new float[getLDRImageTextureLength(lDRImageTexture)];
 		
@@ -1850,12 +1869,21 @@ public final class CompiledTextureCache {
 		array[L_D_R_IMAGE_TEXTURE_OFFSET_SCALE + 1] = scale.y;
 		array[L_D_R_IMAGE_TEXTURE_OFFSET_RESOLUTION_X] = resolutionX;
 		array[L_D_R_IMAGE_TEXTURE_OFFSET_RESOLUTION_Y] = resolutionY;
+		array[L_D_R_IMAGE_TEXTURE_OFFSET_MIP_MAP_LEVEL_COUNT] = mipMapLevelCount;
 		
-		for(int i = 0; i < image.length; i++) {
-			array[L_D_R_IMAGE_TEXTURE_OFFSET_IMAGE + i] = image[i];
+		int offset = L_D_R_IMAGE_TEXTURE_OFFSET_IMAGE;
+		
+		for(int level = 0; level < mipMapLevelCount; level++) {
+			final int[] image = lDRImageTexture.getMipMapLevel(level);
+			
+			for(int i = 0; i < image.length; i++) {
+				array[offset + i] = image[i];
+			}
+			
+			offset += image.length;
 		}
 		
-		for(int i = L_D_R_IMAGE_TEXTURE_OFFSET_IMAGE + image.length; i < array.length; i++) {
+		for(int i = offset; i < array.length; i++) {
 			array[i] = 0.0F;
 		}
 		
@@ -2065,8 +2093,13 @@ public final class CompiledTextureCache {
 	 * @throws NullPointerException thrown if, and only if, {@code lDRImageTexture} is {@code null}
 	 */
 	public static int getLDRImageTextureLength(final LDRImageTexture lDRImageTexture) {
-		final int a = 5;
-		final int b = lDRImageTexture.getResolution();
+		int b = 0;
+		
+		for(int level = 0; level < lDRImageTexture.getMipMapLevelCount(); level++) {
+			b += lDRImageTexture.getMipMapResolutionX(level) * lDRImageTexture.getMipMapResolutionY(level);
+		}
+		
+		final int a = 6;
 		final int c = padding(a + b);
 		
 		return a + b + c;
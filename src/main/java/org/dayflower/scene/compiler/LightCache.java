@@ -94,6 +94,10 @@ final class LightCache {
 		return CompiledLightCache.toImageLights(this.distinctImageLights);
 	}
 	
+	public float[] toLightBVH() {
+		return CompiledLightCache.toLightBVH(this.distinctLights);
+	}
+	
 	public float[] toPerezLights() {
 		return CompiledLightCache.toPerezLights(this.distinctPerezLights);
 	}
@@ -143,6 +147,7 @@ final class LightCache {
 		compiledLightCache.setDirectionalLights(toDirectionalLights());
 		compiledLightCache.setImageLightOffsets(toImageLightOffsets());
 		compiledLightCache.setImageLights(toImageLights());
+		compiledLightCache.setLightBVH(toLightBVH());
 		compiledLightCache.setLightIDsAndOffsets(toLightIDsAndOffsets());
 		compiledLightCache.setPerezLightOffsets(toPerezLightOffsets());
 		compiledLightCache.setPerezLights(toPerezLights());
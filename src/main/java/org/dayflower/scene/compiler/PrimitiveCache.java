@@ -61,6 +61,8 @@ final class PrimitiveCache {
 	
 	public void build(final CompiledScene compiledScene) {
 		build(compiledScene.getCompiledPrimitiveCache());
+		
+		compiledScene.getCompiledPrimitiveCache().buildBVH(compiledScene.getCompiledBoundingVolume3FCache());
 	}
 	
 	public void clear() {
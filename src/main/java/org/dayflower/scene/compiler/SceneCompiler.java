@@ -18,7 +18,13 @@
  */
 package org.dayflower.scene.compiler;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -29,6 +35,8 @@ import org.macroing.java.util.visitor.NodeCache;
 
 /**
  * A {@code SceneCompiler} compiles a {@link Scene} instance into a {@link CompiledScene} instance.
+ * <p>
+ * The caches that do not depend on each other are set up and built concurrently. The time spent in each cache is reported together with the total time.
  * 
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
@@ -36,6 +44,7 @@ import org.macroing.java.util.visitor.NodeCache;
 public final class SceneCompiler {
 	private final AtomicLong timeMillis;
 	private final AtomicReference<CompiledScene> compiledScene;
+	private final Map<String, AtomicLong> timeMillisByCache;
 	private final BoundingVolume3FCache boundingVolume3FCache;
 	private final CameraCache cameraCache;
 	private final LightCache lightCache;
@@ -54,6 +63,7 @@ public final class SceneCompiler {
 	public SceneCompiler() {
 		this.timeMillis = new AtomicLong();
 		this.compiledScene = new AtomicReference<>();
+		this.timeMillisByCache = doCreateTimeMillisByCache();
 		this.nodeCache = new NodeCache();
 		this.boundingVolume3FCache = new BoundingVolume3FCache(this.nodeCache);
 		this.cameraCache = new CameraCache();
@@ -98,14 +108,17 @@ public final class SceneCompiler {
 	private void doBuildCompiledScene() {
 		final CompiledScene compiledScene = new CompiledScene();
 		
-		this.boundingVolume3FCache.build(compiledScene);
-		this.cameraCache.build(compiledScene);
-		this.lightCache.build(compiledScene);
-		this.materialCache.build(compiledScene);
-		this.modifierCache.build(compiledScene);
-		this.primitiveCache.build(compiledScene);
-		this.shape3FCache.build(compiledScene);
-		this.textureCache.build(compiledScene);
+//		Every cache builds into its own part of the CompiledScene, so they can be built concurrently. The PrimitiveCache builds its BVH from the compiled BoundingVolume3FCache, so it has to wait for it:
+		doJoin(
+			doRunAsync("BoundingVolume3FCache", () -> this.boundingVolume3FCache.build(compiledScene)).thenRun(() -> doRun("PrimitiveCache", () -> this.primitiveCache.build(compiledScene))),
+			doRunAsync("CameraCache", () -> this.cameraCache.build(compiledScene)),
+			doRunAsync("LightCache", () -> this.lightCache.build(compiledScene)),
+			doRunAsync("MaterialCache", () -> this.materialCache.build(compiledScene)),
+			doRunAsync("ModifierCache", () -> this.modifierCache.build(compiledScene)),
+			doRunAsync("Shape3FCache", () -> this.shape3FCache.build(compiledScene)),
+			doRunAsync("TextureCache", () -> this.textureCache.build(compiledScene))
+		);
+		
 		this.compiledScene.set(compiledScene);
 	}
 	
@@ -123,6 +136,10 @@ public final class SceneCompiler {
 	
 	private void doReportDone() {
 		System.out.println("- Compilation took " + this.timeMillis.get() + " milliseconds.");
+		
+		for(final Entry<String, AtomicLong> entry : this.timeMillisByCache.entrySet()) {
+			System.out.println("  - " + entry.getKey() + " took " + entry.getValue().get() + " milliseconds.");
+		}
 	}
 	
 	@SuppressWarnings("static-method")
@@ -130,8 +147,24 @@ public final class SceneCompiler {
 		System.out.println("Compiling...");
 	}
 	
+	private void doRun(final String cache, final Runnable runnable) {
+		final long currentTimeMillis = System.currentTimeMillis();
+		
+		runnable.run();
+		
+		this.timeMillisByCache.get(cache).addAndGet(System.currentTimeMillis() - currentTimeMillis);
+	}
+	
+	private CompletableFuture<Void> doRunAsync(final String cache, final Runnable runnable) {
+		return CompletableFuture.runAsync(() -> doRun(cache, runnable));
+	}
+	
 	private void doSetCurrentTimeMillis() {
 		this.timeMillis.set(System.currentTimeMillis());
+		
+		for(final AtomicLong timeMillis : this.timeMillisByCache.values()) {
+			timeMillis.set(0L);
+		}
 	}
 	
 	private void doSetElapsedTimeMillis() {
@@ -140,21 +173,21 @@ public final class SceneCompiler {
 	
 	private void doSetup(final Scene scene) {
 //		Prepare the NodeCache that will be used by BoundingVolume3FCache, LightCache, MaterialCache, Shape3FCache and TextureCache:
-		this.nodeCache.add(scene, SceneCompiler::doFilter);
-		
-//		Setup the CameraCache:
-		this.cameraCache.setup(scene);
+		doRun("NodeCache", () -> this.nodeCache.add(scene, SceneCompiler::doFilter));
 		
-//		Setup the BoundingVolume3FCache, LightCache, MaterialCache, Shape3FCache and TextureCache:
-		this.boundingVolume3FCache.setup();
-		this.lightCache.setup();
-		this.materialCache.setup();
-		this.modifierCache.setup();
-		this.shape3FCache.setup();
-		this.textureCache.setup();
+//		Setup the BoundingVolume3FCache, CameraCache, LightCache, MaterialCache, ModifierCache, Shape3FCache and TextureCache concurrently, because they only read from the NodeCache and the Scene:
+		doJoin(
+			doRunAsync("BoundingVolume3FCache", () -> this.boundingVolume3FCache.setup()),
+			doRunAsync("CameraCache", () -> this.cameraCache.setup(scene)),
+			doRunAsync("LightCache", () -> this.lightCache.setup()),
+			doRunAsync("MaterialCache", () -> this.materialCache.setup()),
+			doRunAsync("ModifierCache", () -> this.modifierCache.setup()),
+			doRunAsync("Shape3FCache", () -> this.shape3FCache.setup()),
+			doRunAsync("TextureCache", () -> this.textureCache.setup())
+		);
 		
 //		Setup the PrimitiveCache that will use the BoundingVolume3FCache, LightCache, MaterialCache and Shape3FCache:
-		this.primitiveCache.setup(scene);
+		doRun("PrimitiveCache", () -> this.primitiveCache.setup(scene));
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -162,4 +195,36 @@ public final class SceneCompiler {
 	private static boolean doFilter(final Node node) {
 		return BoundingVolume3FCache.filter(node) || LightCache.filter(node) || MaterialCache.filter(node) || ModifierCache.filter(node) || Shape3FCache.filter(node) || TextureCache.filter(node);
 	}
+	
+	private static Map<String, AtomicLong> doCreateTimeMillisByCache() {
+		final Map<String, AtomicLong> timeMillisByCache = new LinkedHashMap<>();
+		
+		timeMillisByCache.put("NodeCache", new AtomicLong());
+		timeMillisByCache.put("BoundingVolume3FCache", new AtomicLong());
+		timeMillisByCache.put("CameraCache", new AtomicLong());
+		timeMillisByCache.put("LightCache", new AtomicLong());
+		timeMillisByCache.put("MaterialCache", new AtomicLong());
+		timeMillisByCache.put("ModifierCache", new AtomicLong());
+		timeMillisByCache.put("PrimitiveCache", new AtomicLong());
+		timeMillisByCache.put("Shape3FCache", new AtomicLong());
+		timeMillisByCache.put("TextureCache", new AtomicLong());
+		
+		return Collections.unmodifiableMap(timeMillisByCache);
+	}
+	
+	private static void doJoin(final CompletableFuture<?>... completableFutures) {
+		try {
+			CompletableFuture.allOf(completableFutures).join();
+		} catch(final CompletionException e) {
+			final Throwable cause = e.getCause();
+			
+			if(cause instanceof RuntimeException) {
+				throw RuntimeException.class.cast(cause);
+			} else if(cause instanceof Error) {
+				throw Error.class.cast(cause);
+			} else {
+				throw e;
+			}
+		}
+	}
 }
\ No newline at end of file
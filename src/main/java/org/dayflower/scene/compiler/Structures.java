@@ -52,35 +52,65 @@ final class Structures {
 		return false;
 	}
 	
+	public static int getStructureCount(final int structuresLength, final int structureLength) {
+		ParameterArguments.requireRange(structuresLength, 0, Integer.MAX_VALUE, "structuresLength");
+		ParameterArguments.requireRange(structureLength, 1, Integer.MAX_VALUE, "structureLength");
+		
+		return structuresLength % structureLength == 0 ? structuresLength / structureLength : 0;
+	}
+	
 	public static int getStructureCount(final float[] structures, final int structureLength) {
 		Objects.requireNonNull(structures, "structures == null");
 		
-		ParameterArguments.requireRange(structureLength, 1, Integer.MAX_VALUE, "structureLength");
-		
-		return structures.length % structureLength == 0 ? structures.length / structureLength : 0;
+		return getStructureCount(structures.length, structureLength);
 	}
 	
 	public static int getStructureCount(final int[] structures, final int structureLength) {
 		Objects.requireNonNull(structures, "structures == null");
 		
-		ParameterArguments.requireRange(structureLength, 1, Integer.MAX_VALUE, "structureLength");
-		
-		return structures.length % structureLength == 0 ? structures.length / structureLength : 0;
+		return getStructureCount(structures.length, structureLength);
 	}
 	
 	public static int getStructureOffsetAbsolute(final float[] structures, final float[] structure) {
 		return Arrays.indexOf(structure, structures, true, false);
 	}
 	
+	public static int getStructureOffsetAbsolute(final float[] structures, final int structuresLength, final float[] structure) {
+		Objects.requireNonNull(structures, "structures == null");
+		Objects.requireNonNull(structure, "structure == null");
+		
+		ParameterArguments.requireRange(structuresLength, 0, structures.length, "structuresLength");
+		
+		if(structure.length == 0) {
+			return -1;
+		}
+		
+		for(int offsetAbsolute = 0; offsetAbsolute + structure.length <= structuresLength; offsetAbsolute += structure.length) {
+			if(Arrays.equals(structures, structure, offsetAbsolute, 0, structure.length)) {
+				return offsetAbsolute;
+			}
+		}
+		
+		return -1;
+	}
+	
 	public static int getStructureOffsetAbsolute(final float[] structures, final float[] structure, final int[] structureOffsets) {
+		Objects.requireNonNull(structures, "structures == null");
+		Objects.requireNonNull(structureOffsets, "structureOffsets == null");
+		
+		return getStructureOffsetAbsolute(structures, structures.length, structure, structureOffsets, structureOffsets.length);
+	}
+	
+	public static int getStructureOffsetAbsolute(final float[] structures, final int structuresLength, final float[] structure, final int[] structureOffsets, final int structureOffsetsLength) {
 		Objects.requireNonNull(structures, "structures == null");
 		Objects.requireNonNull(structure, "structure == null");
 		Objects.requireNonNull(structureOffsets, "structureOffsets == null");
 		
-		final int structureCount = structureOffsets.length;
+		ParameterArguments.requireRange(structuresLength, 0, structures.length, "structuresLength");
+		ParameterArguments.requireRange(structureOffsetsLength, 0, structureOffsets.length, "structureOffsetsLength");
 		
-		for(int offsetAbsolute = 0, offsetRelative = 0; offsetRelative < structureCount; offsetRelative++) {
-			final int structureLength = offsetRelative + 1 < structureOffsets.length ? structureOffsets[offsetRelative + 1] - structureOffsets[offsetRelative] : structures.length - structureOffsets[offsetRelative];
+		for(int offsetAbsolute = 0, offsetRelative = 0; offsetRelative < structureOffsetsLength; offsetRelative++) {
+			final int structureLength = offsetRelative + 1 < structureOffsetsLength ? structureOffsets[offsetRelative + 1] - structureOffsets[offsetRelative] : structuresLength - structureOffsets[offsetRelative];
 			
 			if(structure.length == structureLength && Arrays.equals(structures, structure, offsetAbsolute, 0, structureLength)) {
 				return offsetAbsolute;
@@ -96,15 +126,42 @@ final class Structures {
 		return Arrays.indexOf(structure, structures, true, false);
 	}
 	
+	public static int getStructureOffsetAbsolute(final int[] structures, final int structuresLength, final int[] structure) {
+		Objects.requireNonNull(structures, "structures == null");
+		Objects.requireNonNull(structure, "structure == null");
+		
+		ParameterArguments.requireRange(structuresLength, 0, structures.length, "structuresLength");
+		
+		if(structure.length == 0) {
+			return -1;
+		}
+		
+		for(int offsetAbsolute = 0; offsetAbsolute + structure.length <= structuresLength; offsetAbsolute += structure.length) {
+			if(Arrays.equals(structures, structure, offsetAbsolute, 0, structure.length)) {
+				return offsetAbsolute;
+			}
+		}
+		
+		return -1;
+	}
+	
 	public static int getStructureOffsetAbsolute(final int[] structures, final int[] structure, final int[] structureOffsets) {
+		Objects.requireNonNull(structures, "structures == null");
+		Objects.requireNonNull(structureOffsets, "structureOffsets == null");
+		
+		return getStructureOffsetAbsolute(structures, structures.length, structure, structureOffsets, structureOffsets.length);
+	}
+	
+	public static int getStructureOffsetAbsolute(final int[] structures, final int structuresLength, final int[] structure, final int[] structureOffsets, final int structureOffsetsLength) {
 		Objects.requireNonNull(structures, "structures == null");
 		Objects.requireNonNull(structure, "structure == null");
 		Objects.requireNonNull(structureOffsets, "structureOffsets == null");
 		
-		final int structureCount = structureOffsets.length;
+		ParameterArguments.requireRange(structuresLength, 0, structures.length, "structuresLength");
+		ParameterArguments.requireRange(structureOffsetsLength, 0, structureOffsets.length, "structureOffsetsLength");
 		
-		for(int offsetAbsolute = 0, offsetRelative = 0; offsetRelative < structureCount; offsetRelative++) {
-			final int structureLength = offsetRelative + 1 < structureOffsets.length ? structureOffsets[offsetRelative + 1] - structureOffsets[offsetRelative] : structures.length - structureOffsets[offsetRelative];
+		for(int offsetAbsolute = 0, offsetRelative = 0; offsetRelative < structureOffsetsLength; offsetRelative++) {
+			final int structureLength = offsetRelative + 1 < structureOffsetsLength ? structureOffsets[offsetRelative + 1] - structureOffsets[offsetRelative] : structuresLength - structureOffsets[offsetRelative];
 			
 			if(structure.length == structureLength && Arrays.equals(structures, structure, offsetAbsolute, 0, structureLength)) {
 				return offsetAbsolute;
@@ -120,15 +177,29 @@ final class Structures {
 		return Arrays.indexOf(structure, structures, true, true);
 	}
 	
+	public static int getStructureOffsetRelative(final float[] structures, final int structuresLength, final float[] structure) {
+		final int offsetAbsolute = getStructureOffsetAbsolute(structures, structuresLength, structure);
+		
+		return offsetAbsolute != -1 ? offsetAbsolute / structure.length : -1;
+	}
+	
 	public static int getStructureOffsetRelative(final float[] structures, final float[] structure, final int[] structureOffsets) {
+		Objects.requireNonNull(structures, "structures == null");
+		Objects.requireNonNull(structureOffsets, "structureOffsets == null");
+		
+		return getStructureOffsetRelative(structures, structures.length, structure, structureOffsets, structureOffsets.length);
+	}
+	
+	public static int getStructureOffsetRelative(final float[] structures, final int structuresLength, final float[] structure, final int[] structureOffsets, final int structureOffsetsLength) {
 		Objects.requireNonNull(structures, "structures == null");
 		Objects.requireNonNull(structure, "structure == null");
 		Objects.requireNonNull(structureOffsets, "structureOffsets == null");
 		
-		final int structureCount = structureOffsets.length;
+		ParameterArguments.requireRange(structuresLength, 0, structures.length, "structuresLength");
+		ParameterArguments.requireRange(structureOffsetsLength, 0, structureOffsets.length, "structureOffsetsLength");
 		
-		for(int offsetAbsolute = 0, offsetRelative = 0; offsetRelative < structureCount; offsetRelative++) {
-			final int structureLength = offsetRelative + 1 < structureOffsets.length ? structureOffsets[offsetRelative + 1] - structureOffsets[offsetRelative] : structures.length - structureOffsets[offsetRelative];
+		for(int offsetAbsolute = 0, offsetRelative = 0; offsetRelative < structureOffsetsLength; offsetRelative++) {
+			final int structureLength = offsetRelative + 1 < structureOffsetsLength ? structureOffsets[offsetRelative + 1] - structureOffsets[offsetRelative] : structuresLength - structureOffsets[offsetRelative];
 			
 			if(structure.length == structureLength && Arrays.equals(structures, structure, offsetAbsolute, 0, structureLength)) {
 				return offsetRelative;
@@ -144,15 +215,29 @@ final class Structures {
 		return Arrays.indexOf(structure, structures, true, true);
 	}
 	
+	public static int getStructureOffsetRelative(final int[] structures, final int structuresLength, final int[] structure) {
+		final int offsetAbsolute = getStructureOffsetAbsolute(structures, structuresLength, structure);
+		
+		return offsetAbsolute != -1 ? offsetAbsolute / structure.length : -1;
+	}
+	
 	public static int getStructureOffsetRelative(final int[] structures, final int[] structure, final int[] structureOffsets) {
+		Objects.requireNonNull(structures, "structures == null");
+		Objects.requireNonNull(structureOffsets, "structureOffsets == null");
+		
+		return getStructureOffsetRelative(structures, structures.length, structure, structureOffsets, structureOffsets.length);
+	}
+	
+	public static int getStructureOffsetRelative(final int[] structures, final int structuresLength, final int[] structure, final int[] structureOffsets, final int structureOffsetsLength) {
 		Objects.requireNonNull(structures, "structures == null");
 		Objects.requireNonNull(structure, "structure == null");
 		Objects.requireNonNull(structureOffsets, "structureOffsets == null");
 		
-		final int structureCount = structureOffsets.length;
+		ParameterArguments.requireRange(structuresLength, 0, structures.length, "structuresLength");
+		ParameterArguments.requireRange(structureOffsetsLength, 0, structureOffsets.length, "structureOffsetsLength");
 		
-		for(int offsetAbsolute = 0, offsetRelative = 0; offsetRelative < structureCount; offsetRelative++) {
-			final int structureLength = offsetRelative + 1 < structureOffsets.length ? structureOffsets[offsetRelative + 1] - structureOffsets[offsetRelative] : structures.length - structureOffsets[offsetRelative];
+		for(int offsetAbsolute = 0, offsetRelative = 0; offsetRelative < structureOffsetsLength; offsetRelative++) {
+			final int structureLength = offsetRelative + 1 < structureOffsetsLength ? structureOffsets[offsetRelative + 1] - structureOffsets[offsetRelative] : structuresLength - structureOffsets[offsetRelative];
 			
 			if(structure.length == structureLength && Arrays.equals(structures, structure, offsetAbsolute, 0, structureLength)) {
 				return offsetRelative;
@@ -24,6 +24,7 @@ import java.util.Objects;
 import java.util.Optional;
 
 import org.dayflower.color.Color3F;
+import org.dayflower.geometry.BoundingVolume3F;
 import org.dayflower.geometry.Matrix44F;
 import org.dayflower.geometry.Point2F;
 import org.dayflower.geometry.Point3F;
@@ -199,6 +200,16 @@ public final class DiffuseAreaLight extends AreaLight {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Returns a {@link BoundingVolume3F} instance that contains this {@code DiffuseAreaLight} instance in world space.
+	 * 
+	 * @return a {@code BoundingVolume3F} instance that contains this {@code DiffuseAreaLight} instance in world space
+	 */
+	@Override
+	public BoundingVolume3F getBoundingVolume() {
+		return this.shape.getBoundingVolume().transform(getTransform().getObjectToWorld());
+	}
+	
 	/**
 	 * Returns a {@link Color3F} instance with the radiance on {@code intersection} emitted in the direction of {@code direction}.
 	 * <p>
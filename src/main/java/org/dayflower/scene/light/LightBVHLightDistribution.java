@@ -0,0 +1,521 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.light;
+
+import static org.dayflower.utility.Floats.NEXT_DOWN_1_1;
+import static org.dayflower.utility.Floats.max;
+import static org.dayflower.utility.Floats.min;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.dayflower.geometry.BoundingVolume3F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHBuilder3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHBuilder3F.NodeFactory;
+import org.dayflower.sampler.Distribution1F;
+import org.dayflower.scene.Light;
+import org.dayflower.scene.Scene;
+
+/**
+ * A {@code LightBVHLightDistribution} is an implementation of {@link LightDistribution} that is using a bounding volume hierarchy (BVH) of {@link Light} instances.
+ * <p>
+ * Each node in the hierarchy stores the bounds and the power of the {@code Light} instances below it. A {@code Light} instance is sampled by descending the hierarchy from the root, choosing a child with a probability proportional to its estimated
+ * contribution at the point being shaded. The estimated contribution of a node is its power divided by the squared distance to its center, where the distance is clamped to the radius of its bounds.
+ * <p>
+ * A {@code Light} instance that is not bounded in space, such as a {@link DirectionalLight}, is sampled uniformly with the same probability as the hierarchy as a whole. A {@code Light} instance that reports no power is given the average power of
+ * the {@code Light} instances that do. This ensures that every {@code Light} instance can be sampled.
+ * <p>
+ * Sampling a {@code Light} instance and evaluating its probability is done in time proportional to the depth of the hierarchy. The method {@link #find(Point3F)} evaluates the probabilities of all {@code Light} instances.
+ * <p>
+ * This class is immutable and therefore thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class LightBVHLightDistribution implements LightDistribution {
+	/**
+	 * The offset in the array returned by {@link #toArray()} for the number of infinite {@link Light} instances.
+	 */
+	public static final int ARRAY_OFFSET_INFINITE_LIGHT_COUNT = 1;
+	
+	/**
+	 * The offset in the array returned by {@link #toArray()} for the indices of the infinite {@link Light} instances.
+	 * <p>
+	 * The nodes of the hierarchy follow directly after the indices.
+	 */
+	public static final int ARRAY_OFFSET_INFINITE_LIGHTS = 2;
+	
+	/**
+	 * The offset in the array returned by {@link #toArray()} for the number of {@link Light} instances.
+	 */
+	public static final int ARRAY_OFFSET_LIGHT_COUNT = 0;
+	
+	/**
+	 * The length of a node in the array returned by {@link #toArray()}.
+	 */
+	public static final int NODE_LENGTH = 8;
+	
+	/**
+	 * The offset in a node for the index of the right child node or the {@link Light} instance.
+	 * <p>
+	 * If the value is greater than or equal to {@code 0}, the node is a tree node and the value is the index of its right child node. Its left child node follows directly after it.
+	 * <p>
+	 * If the value is less than {@code 0}, the node is a leaf node and the value is {@code -index - 1}, where {@code index} is the index of its {@code Light} instance.
+	 */
+	public static final int NODE_OFFSET_CHILD_OR_LIGHT = 7;
+	
+	/**
+	 * The offset in a node for the maximum point of its bounds.
+	 */
+	public static final int NODE_OFFSET_MAXIMUM = 3;
+	
+	/**
+	 * The offset in a node for the minimum point of its bounds.
+	 */
+	public static final int NODE_OFFSET_MINIMUM = 0;
+	
+	/**
+	 * The offset in a node for its power.
+	 */
+	public static final int NODE_OFFSET_POWER = 6;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final float DISTANCE_SQUARED_MINIMUM = 1.0E-6F;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final float probabilityInfinite;
+	private final float[] nodes;
+	private final int[] infiniteLights;
+	private final int[] lightNodes;
+	private final int[] nodeParents;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code LightBVHLightDistribution} instance.
+	 * <p>
+	 * If either {@code lights} or at least one of its elements are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param lights a {@code List} of {@link Light} instances
+	 * @throws NullPointerException thrown if, and only if, either {@code lights} or at least one of its elements are {@code null}
+	 */
+	public LightBVHLightDistribution(final List<Light> lights) {
+		final float[] powers = PowerLightDistribution.computePowers(lights);
+		
+		final List<Integer> boundedLights = new ArrayList<>();
+		final List<Integer> infiniteLights = new ArrayList<>();
+		final List<Point3F> maximums = new ArrayList<>();
+		final List<Point3F> minimums = new ArrayList<>();
+		
+		for(int i = 0; i < lights.size(); i++) {
+			final BoundingVolume3F boundingVolume = lights.get(i).getBoundingVolume();
+			
+			final Point3F maximum = boundingVolume.getMaximum();
+			final Point3F minimum = boundingVolume.getMinimum();
+			
+			if(doIsFinite(maximum) && doIsFinite(minimum)) {
+				boundedLights.add(Integer.valueOf(i));
+				
+				maximums.add(maximum);
+				minimums.add(minimum);
+			} else {
+				infiniteLights.add(Integer.valueOf(i));
+			}
+		}
+		
+		final float[] bounds = new float[boundedLights.size() * 6];
+		
+		for(int i = 0; i < boundedLights.size(); i++) {
+			final Point3F maximum = maximums.get(i);
+			final Point3F minimum = minimums.get(i);
+			
+			bounds[i * 6 + 0] = minimum.x;
+			bounds[i * 6 + 1] = minimum.y;
+			bounds[i * 6 + 2] = minimum.z;
+			bounds[i * 6 + 3] = maximum.x;
+			bounds[i * 6 + 4] = maximum.y;
+			bounds[i * 6 + 5] = maximum.z;
+		}
+		
+		final BuildNode buildNode = boundedLights.isEmpty() ? null : new BVHBuilder3F(BVHBuilder3F.DEFAULT_BIN_COUNT, 1, true).build(bounds, new BuildNodeFactory(boundedLights, maximums, minimums, powers));
+		
+		final int nodeCount = buildNode != null ? buildNode.getNodeCount() : 0;
+		
+		this.nodes = new float[nodeCount * NODE_LENGTH];
+		this.nodeParents = new int[nodeCount];
+		this.lightNodes = new int[lights.size()];
+		this.infiniteLights = new int[infiniteLights.size()];
+		this.probabilityInfinite = this.infiniteLights.length > 0 ? this.infiniteLights.length / (this.infiniteLights.length + (nodeCount > 0 ? 1.0F : 0.0F)) : 0.0F;
+		
+		for(int i = 0; i < this.lightNodes.length; i++) {
+			this.lightNodes[i] = -1;
+		}
+		
+		for(int i = 0; i < this.infiniteLights.length; i++) {
+			this.infiniteLights[i] = infiniteLights.get(i).intValue();
+		}
+		
+		if(buildNode != null) {
+			doFlatten(buildNode, 0, -1);
+		}
+	}
+	
+	/**
+	 * Constructs a new {@code LightBVHLightDistribution} instance.
+	 * <p>
+	 * If {@code scene} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new LightBVHLightDistribution(scene.getLights());
+	 * }
+	 * </pre>
+	 * 
+	 * @param scene a {@link Scene} instance
+	 * @throws NullPointerException thrown if, and only if, {@code scene} is {@code null}
+	 */
+	public LightBVHLightDistribution(final Scene scene) {
+		this(scene.getLights());
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@link Distribution1F} given {@code point}.
+	 * <p>
+	 * The returned {@code Distribution1F} contains the probabilities of all {@link Light} instances given {@code point}.
+	 * <p>
+	 * If {@code point} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param point a {@link Point3F} instance
+	 * @return a {@code Distribution1F} given {@code point}
+	 * @throws NullPointerException thrown if, and only if, {@code point} is {@code null}
+	 */
+	@Override
+	public Distribution1F find(final Point3F point) {
+		Objects.requireNonNull(point, "point == null");
+		
+		final float[] function = new float[this.lightNodes.length];
+		
+		for(final int infiniteLight : this.infiniteLights) {
+			function[infiniteLight] += this.probabilityInfinite / this.infiniteLights.length;
+		}
+		
+		if(this.nodes.length > 0) {
+			doFind(point, 0, 1.0F - this.probabilityInfinite, function);
+		}
+		
+		return new Distribution1F(function);
+	}
+	
+	/**
+	 * Returns the probability of sampling the {@link Light} instance at index {@code index} given {@code point}.
+	 * <p>
+	 * If {@code point} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code index} is less than {@code 0} or greater than or equal to the {@code Light} count, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param point a {@link Point3F} instance
+	 * @param index the index of the {@code Light} instance
+	 * @return the probability of sampling the {@code Light} instance at index {@code index} given {@code point}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code index} is less than {@code 0} or greater than or equal to the {@code Light} count
+	 * @throws NullPointerException thrown if, and only if, {@code point} is {@code null}
+	 */
+	@Override
+	public float evaluateProbabilityMassFunction(final Point3F point, final int index) {
+		Objects.requireNonNull(point, "point == null");
+		
+		if(index < 0 || index >= this.lightNodes.length) {
+			throw new IllegalArgumentException(String.format("index < 0 || index >= %d: index == %d", Integer.valueOf(this.lightNodes.length), Integer.valueOf(index)));
+		}
+		
+		int node = this.lightNodes[index];
+		
+		if(node < 0) {
+			return this.probabilityInfinite / this.infiniteLights.length;
+		}
+		
+		float probability = 1.0F - this.probabilityInfinite;
+		
+		while(node > 0) {
+			final int nodeParent = this.nodeParents[node];
+			
+			final float probabilityL = doComputeProbabilityL(point, nodeParent);
+			
+			probability *= node == nodeParent + 1 ? probabilityL : 1.0F - probabilityL;
+			
+			node = nodeParent;
+		}
+		
+		return probability;
+	}
+	
+	/**
+	 * Returns a {@code float[]} representation of this {@code LightBVHLightDistribution} instance.
+	 * <p>
+	 * The {@code float[]} starts with the {@link Light} count at {@link #ARRAY_OFFSET_LIGHT_COUNT}, followed by the infinite {@code Light} count at {@link #ARRAY_OFFSET_INFINITE_LIGHT_COUNT} and the indices of the infinite {@code Light} instances at
+	 * {@link #ARRAY_OFFSET_INFINITE_LIGHTS}. The nodes of the hierarchy follow directly after the indices, with a length of {@link #NODE_LENGTH} each. All counts and indices are stored as {@code float} values.
+	 * 
+	 * @return a {@code float[]} representation of this {@code LightBVHLightDistribution} instance
+	 */
+	public float[] toArray() {
+		final float[] array = new float[ARRAY_OFFSET_INFINITE_LIGHTS + this.infiniteLights.length + this.nodes.length];
+		
+		array[ARRAY_OFFSET_LIGHT_COUNT] = this.lightNodes.length;
+		array[ARRAY_OFFSET_INFINITE_LIGHT_COUNT] = this.infiniteLights.length;
+		
+		for(int i = 0; i < this.infiniteLights.length; i++) {
+			array[ARRAY_OFFSET_INFINITE_LIGHTS + i] = this.infiniteLights[i];
+		}
+		
+		System.arraycopy(this.nodes, 0, array, ARRAY_OFFSET_INFINITE_LIGHTS + this.infiniteLights.length, this.nodes.length);
+		
+		return array;
+	}
+	
+	/**
+	 * Returns the number of nodes in the hierarchy.
+	 * 
+	 * @return the number of nodes in the hierarchy
+	 */
+	public int getNodeCount() {
+		return this.nodeParents.length;
+	}
+	
+	/**
+	 * Samples the index of a {@link Light} instance given {@code point} and {@code value}.
+	 * <p>
+	 * Returns the index of the sampled {@code Light} instance, or {@code -1} if no {@code Light} instance could be sampled.
+	 * <p>
+	 * If {@code point} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param point a {@link Point3F} instance
+	 * @param value a {@code float} value in the range {@code [0.0F, 1.0F)}
+	 * @return the index of the sampled {@code Light} instance, or {@code -1} if no {@code Light} instance could be sampled
+	 * @throws NullPointerException thrown if, and only if, {@code point} is {@code null}
+	 */
+	@Override
+	public int sampleIndex(final Point3F point, final float value) {
+		Objects.requireNonNull(point, "point == null");
+		
+		if(value < this.probabilityInfinite) {
+			return this.infiniteLights[Math.min((int)(value / this.probabilityInfinite * this.infiniteLights.length), this.infiniteLights.length - 1)];
+		}
+		
+		if(this.nodes.length == 0) {
+			return -1;
+		}
+		
+		float sample = min((value - this.probabilityInfinite) / (1.0F - this.probabilityInfinite), NEXT_DOWN_1_1);
+		
+		int node = 0;
+		
+		while(true) {
+			final int childOrLight = (int)(this.nodes[node * NODE_LENGTH + NODE_OFFSET_CHILD_OR_LIGHT]);
+			
+			if(childOrLight < 0) {
+				return -childOrLight - 1;
+			}
+			
+			final float probabilityL = doComputeProbabilityL(point, node);
+			
+			if(sample < probabilityL) {
+				sample = min(sample / probabilityL, NEXT_DOWN_1_1);
+				
+				node = node + 1;
+			} else {
+				sample = min((sample - probabilityL) / (1.0F - probabilityL), NEXT_DOWN_1_1);
+				
+				node = childOrLight;
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the estimated contribution of a node to {@code point}.
+	 * <p>
+	 * If either {@code nodes} or {@code point} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is invalid, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param nodes a {@code float[]} with nodes
+	 * @param offset the offset of the node in {@code nodes}
+	 * @param point a {@link Point3F} instance
+	 * @return the estimated contribution of a node to {@code point}
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is invalid
+	 * @throws NullPointerException thrown if, and only if, either {@code nodes} or {@code point} are {@code null}
+	 */
+	public static float importance(final float[] nodes, final int offset, final Point3F point) {
+		final float minimumX = nodes[offset + NODE_OFFSET_MINIMUM + 0];
+		final float minimumY = nodes[offset + NODE_OFFSET_MINIMUM + 1];
+		final float minimumZ = nodes[offset + NODE_OFFSET_MINIMUM + 2];
+		final float maximumX = nodes[offset + NODE_OFFSET_MAXIMUM + 0];
+		final float maximumY = nodes[offset + NODE_OFFSET_MAXIMUM + 1];
+		final float maximumZ = nodes[offset + NODE_OFFSET_MAXIMUM + 2];
+		
+		final float radiusX = (maximumX - minimumX) * 0.5F;
+		final float radiusY = (maximumY - minimumY) * 0.5F;
+		final float radiusZ = (maximumZ - minimumZ) * 0.5F;
+		final float radiusSquared = radiusX * radiusX + radiusY * radiusY + radiusZ * radiusZ;
+		
+		final float deltaX = point.x - (minimumX + radiusX);
+		final float deltaY = point.y - (minimumY + radiusY);
+		final float deltaZ = point.z - (minimumZ + radiusZ);
+		final float distanceSquared = deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ;
+		
+		return nodes[offset + NODE_OFFSET_POWER] / max(distanceSquared, radiusSquared, DISTANCE_SQUARED_MINIMUM);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private float doComputeProbabilityL(final Point3F point, final int node) {
+		final int nodeL = node + 1;
+		final int nodeR = (int)(this.nodes[node * NODE_LENGTH + NODE_OFFSET_CHILD_OR_LIGHT]);
+		
+		final float importanceL = importance(this.nodes, nodeL * NODE_LENGTH, point);
+		final float importanceR = importance(this.nodes, nodeR * NODE_LENGTH, point);
+		final float importance = importanceL + importanceR;
+		
+		return importance > 0.0F && importance < Float.POSITIVE_INFINITY ? importanceL / importance : 0.5F;
+	}
+	
+	private int doFlatten(final BuildNode buildNode, final int node, final int nodeParent) {
+		final int offset = node * NODE_LENGTH;
+		
+		this.nodes[offset + NODE_OFFSET_MINIMUM + 0] = buildNode.minimum.x;
+		this.nodes[offset + NODE_OFFSET_MINIMUM + 1] = buildNode.minimum.y;
+		this.nodes[offset + NODE_OFFSET_MINIMUM + 2] = buildNode.minimum.z;
+		this.nodes[offset + NODE_OFFSET_MAXIMUM + 0] = buildNode.maximum.x;
+		this.nodes[offset + NODE_OFFSET_MAXIMUM + 1] = buildNode.maximum.y;
+		this.nodes[offset + NODE_OFFSET_MAXIMUM + 2] = buildNode.maximum.z;
+		this.nodes[offset + NODE_OFFSET_POWER] = buildNode.power;
+		this.nodeParents[node] = nodeParent;
+		
+		if(buildNode.light >= 0) {
+			this.nodes[offset + NODE_OFFSET_CHILD_OR_LIGHT] = -buildNode.light - 1;
+			this.lightNodes[buildNode.light] = node;
+			
+			return node + 1;
+		}
+		
+		final int nodeR = doFlatten(buildNode.buildNodeL, node + 1, node);
+		
+		this.nodes[offset + NODE_OFFSET_CHILD_OR_LIGHT] = nodeR;
+		
+		return doFlatten(buildNode.buildNodeR, nodeR, node);
+	}
+	
+	private void doFind(final Point3F point, final int node, final float probability, final float[] function) {
+		final int childOrLight = (int)(this.nodes[node * NODE_LENGTH + NODE_OFFSET_CHILD_OR_LIGHT]);
+		
+		if(childOrLight < 0) {
+			function[-childOrLight - 1] += probability;
+		} else {
+			final float probabilityL = doComputeProbabilityL(point, node);
+			
+			doFind(point, node + 1, probability * probabilityL, function);
+			doFind(point, childOrLight, probability * (1.0F - probabilityL), function);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static boolean doIsFinite(final Point3F point) {
+		return Float.isFinite(point.x) && Float.isFinite(point.y) && Float.isFinite(point.z);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class BuildNode {
+		public final BuildNode buildNodeL;
+		public final BuildNode buildNodeR;
+		public final Point3F maximum;
+		public final Point3F minimum;
+		public final float power;
+		public final int light;
+		
+		public BuildNode(final Point3F maximum, final Point3F minimum, final float power, final int light) {
+			this.maximum = maximum;
+			this.minimum = minimum;
+			this.power = power;
+			this.light = light;
+			this.buildNodeL = null;
+			this.buildNodeR = null;
+		}
+		
+		public BuildNode(final Point3F maximum, final Point3F minimum, final BuildNode buildNodeL, final BuildNode buildNodeR) {
+			this.maximum = maximum;
+			this.minimum = minimum;
+			this.power = buildNodeL.power + buildNodeR.power;
+			this.light = -1;
+			this.buildNodeL = buildNodeL;
+			this.buildNodeR = buildNodeR;
+		}
+		
+		public int getNodeCount() {
+			return this.light >= 0 ? 1 : 1 + this.buildNodeL.getNodeCount() + this.buildNodeR.getNodeCount();
+		}
+	}
+	
+	private static final class BuildNodeFactory implements NodeFactory<BuildNode> {
+		private final List<Integer> lights;
+		private final List<Point3F> maximums;
+		private final List<Point3F> minimums;
+		private final float[] powers;
+		
+		public BuildNodeFactory(final List<Integer> lights, final List<Point3F> maximums, final List<Point3F> minimums, final float[] powers) {
+			this.lights = lights;
+			this.maximums = maximums;
+			this.minimums = minimums;
+			this.powers = powers;
+		}
+		
+		@Override
+		public BuildNode createLeafNode(final Point3F maximum, final Point3F minimum, final int depth, final int[] indices) {
+			return doCreateBuildNode(indices, 0, indices.length);
+		}
+		
+		@Override
+		public BuildNode createTreeNode(final Point3F maximum, final Point3F minimum, final int depth, final BuildNode buildNodeL, final BuildNode buildNodeR) {
+			return new BuildNode(maximum, minimum, buildNodeL, buildNodeR);
+		}
+		
+		private BuildNode doCreateBuildNode(final int[] indices, final int start, final int end) {
+			if(end - start == 1) {
+				final int light = this.lights.get(indices[start]).intValue();
+				
+				return new BuildNode(this.maximums.get(indices[start]), this.minimums.get(indices[start]), this.powers[light], light);
+			}
+			
+			final int middle = (start + end) / 2;
+			
+			final BuildNode buildNodeL = doCreateBuildNode(indices, start, middle);
+			final BuildNode buildNodeR = doCreateBuildNode(indices, middle, end);
+			
+			return new BuildNode(Point3F.maximum(buildNodeL.maximum, buildNodeR.maximum), Point3F.minimum(buildNodeL.minimum, buildNodeR.minimum), buildNodeL, buildNodeR);
+		}
+	}
+}
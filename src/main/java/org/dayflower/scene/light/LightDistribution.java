@@ -39,4 +39,39 @@ public interface LightDistribution {
 	 * @throws NullPointerException thrown if, and only if, {@code point} is {@code null}
 	 */
 	Distribution1F find(final Point3F point);
+	
+	/**
+	 * Returns the probability of sampling the {@link Light} instance at index {@code index} given {@code point}.
+	 * <p>
+	 * If {@code point} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code index} is less than {@code 0} or greater than or equal to the {@code Light} count, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param point a {@link Point3F} instance
+	 * @param index the index of the {@code Light} instance
+	 * @return the probability of sampling the {@code Light} instance at index {@code index} given {@code point}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code index} is less than {@code 0} or greater than or equal to the {@code Light} count
+	 * @throws NullPointerException thrown if, and only if, {@code point} is {@code null}
+	 */
+	default float evaluateProbabilityMassFunction(final Point3F point, final int index) {
+		return find(point).discreteProbabilityDensityFunction(index);
+	}
+	
+	/**
+	 * Samples the index of a {@link Light} instance given {@code point} and {@code value}.
+	 * <p>
+	 * Returns the index of the sampled {@code Light} instance, or {@code -1} if no {@code Light} instance could be sampled.
+	 * <p>
+	 * If {@code point} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param point a {@link Point3F} instance
+	 * @param value a {@code float} value in the range {@code [0.0F, 1.0F)}
+	 * @return the index of the sampled {@code Light} instance, or {@code -1} if no {@code Light} instance could be sampled
+	 * @throws NullPointerException thrown if, and only if, {@code point} is {@code null}
+	 */
+	default int sampleIndex(final Point3F point, final float value) {
+		final Distribution1F distribution = find(point);
+		
+		return distribution.count() > 0 ? distribution.index(value) : -1;
+	}
 }
\ No newline at end of file
@@ -19,14 +19,21 @@
 package org.dayflower.scene.light;
 
 import static org.dayflower.utility.Floats.PI;
+import static org.dayflower.utility.Floats.PI_MULTIPLIED_BY_2_RECIPROCAL;
+import static org.dayflower.utility.Floats.PI_RECIPROCAL;
 import static org.dayflower.utility.Floats.acos;
+import static org.dayflower.utility.Floats.cos;
 import static org.dayflower.utility.Floats.equal;
+import static org.dayflower.utility.Floats.floor;
 import static org.dayflower.utility.Floats.isZero;
+import static org.dayflower.utility.Floats.lerp;
 import static org.dayflower.utility.Floats.max;
 import static org.dayflower.utility.Floats.random;
 import static org.dayflower.utility.Floats.saturate;
 import static org.dayflower.utility.Floats.sin;
 import static org.dayflower.utility.Floats.toFloat;
+import static org.dayflower.utility.Ints.positiveModulo;
+import static org.dayflower.utility.Ints.saturate;
 
 import java.util.Arrays;
 import java.util.Objects;
@@ -53,12 +60,16 @@ import org.dayflower.scene.Intersection;
 import org.dayflower.scene.Light;
 import org.dayflower.scene.LightSample;
 import org.dayflower.scene.Transform;
+import org.dayflower.utility.ParameterArguments;
 
 import org.macroing.java.lang.Doubles;
 
 /**
  * A {@code PerezLight} is a {@link Light} implementation of the Perez algorithm.
  * <p>
+ * The radiance of the sky is baked into a latitude-longitude table when the parameters are set. The table is looked up with bilinear interpolation by {@link #evaluateRadianceEmitted(Ray3F)} and sampled by
+ * {@link #sampleRadianceIncoming(Intersection, Point2F)}, so the sampled radiance and the evaluated radiance are the same. The analytic model is still available through {@link #evaluateRadianceEmittedAnalytic(Ray3F)}.
+ * <p>
  * This class is mutable and not thread-safe.
  * <p>
  * This {@code Light} implementation is supported on the GPU.
@@ -77,6 +88,16 @@ public final class PerezLight extends Light {
 	 */
 	public static final int ID = 4;
 	
+	/**
+	 * The default resolution of the U-axis of the radiance table.
+	 */
+	public static final int DEFAULT_RESOLUTION_U = 256;
+	
+	/**
+	 * The default resolution of the V-axis of the radiance table.
+	 */
+	public static final int DEFAULT_RESOLUTION_V = 128;
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private static final SpectralCurveF K_GAS_ABSORPTION_ATTENUATION_SPECTRAL_CURVE;
@@ -120,9 +141,12 @@ public final class PerezLight extends Light {
 	private double[] perezX;
 	private double[] perezY;
 	private double[] zenith;
+	private float[] radianceTable;
 	private float radius;
 	private float theta;
 	private float turbidity;
+	private int resolutionU;
+	private int resolutionV;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -166,9 +190,27 @@ public final class PerezLight extends Light {
 	 * @throws NullPointerException thrown if, and only if, {@code sunDirectionWorldSpace} is {@code null}
 	 */
 	public PerezLight(final float turbidity, final Vector3F sunDirectionWorldSpace) {
+		this(turbidity, sunDirectionWorldSpace, DEFAULT_RESOLUTION_U, DEFAULT_RESOLUTION_V);
+	}
+	
+	/**
+	 * Constructs a new {@code PerezLight} instance.
+	 * <p>
+	 * If {@code sunDirectionWorldSpace} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code resolutionU} or {@code resolutionV} are less than {@code 2}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param turbidity the turbidity associated with this {@code PerezLight} instance
+	 * @param sunDirectionWorldSpace the sun direction in world space associated with this {@code PerezLight} instance
+	 * @param resolutionU the resolution of the U-axis of the radiance table
+	 * @param resolutionV the resolution of the V-axis of the radiance table
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code resolutionU} or {@code resolutionV} are less than {@code 2}
+	 * @throws NullPointerException thrown if, and only if, {@code sunDirectionWorldSpace} is {@code null}
+	 */
+	public PerezLight(final float turbidity, final Vector3F sunDirectionWorldSpace, final int resolutionU, final int resolutionV) {
 		super(new Transform(), 1, false);
 		
-		set(turbidity, sunDirectionWorldSpace);
+		set(turbidity, sunDirectionWorldSpace, resolutionU, resolutionV);
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -176,6 +218,8 @@ public final class PerezLight extends Light {
 	/**
 	 * Returns a {@link Color3F} instance with the radiance emitted along {@code ray}.
 	 * <p>
+	 * The radiance is looked up in the radiance table of this {@code PerezLight} instance.
+	 * <p>
 	 * If {@code ray} is {@code null}, a {@code NullPointerException} will be thrown.
 	 * 
 	 * @param ray a {@link Ray3F} instance
@@ -189,9 +233,27 @@ public final class PerezLight extends Light {
 		final Vector3F incomingWorldSpace = ray.getDirection();
 		final Vector3F incomingObjectSpace = doTransformToObjectSpace(incomingWorldSpace);
 		
-		final Color3F result = Color3F.minTo0(doRadianceSky(incomingObjectSpace));
+		return doRadianceSkyTable(incomingObjectSpace);
+	}
+	
+	/**
+	 * Returns a {@link Color3F} instance with the radiance emitted along {@code ray}.
+	 * <p>
+	 * The radiance is evaluated using the analytic model, which is what the radiance table of this {@code PerezLight} instance approximates.
+	 * <p>
+	 * If {@code ray} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param ray a {@link Ray3F} instance
+	 * @return a {@code Color3F} instance with the radiance emitted along {@code ray}
+	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
+	 */
+	public Color3F evaluateRadianceEmittedAnalytic(final Ray3F ray) {
+		Objects.requireNonNull(ray, "ray == null");
+		
+		final Vector3F incomingWorldSpace = ray.getDirection();
+		final Vector3F incomingObjectSpace = doTransformToObjectSpace(incomingWorldSpace);
 		
-		return result;
+		return Color3F.minTo0(doRadianceSky(incomingObjectSpace));
 	}
 	
 	/**
@@ -212,7 +274,7 @@ public final class PerezLight extends Light {
 	public Color3F power() {
 		final Vector3F incomingObjectSpace = Vector3F.directionSpherical(0.5F, 0.5F);
 		
-		final Color3F result = Color3F.minTo0(doRadianceSky(incomingObjectSpace));
+		final Color3F result = doRadianceSkyTable(incomingObjectSpace);
 		
 		return Color3F.multiply(result, PI * this.radius * this.radius);
 	}
@@ -318,7 +380,7 @@ public final class PerezLight extends Light {
 			return Optional.empty();
 		}
 		
-		final Color3F result = Color3F.minTo0(doRadianceSky(incomingObjectSpace));
+		final Color3F result = doRadianceSkyTable(incomingObjectSpace);
 		
 		final Point3F point = Point3F.add(intersection.getSurfaceIntersectionPoint(), incomingWorldSpace, 2.0F * this.radius);
 		
@@ -397,12 +459,18 @@ public final class PerezLight extends Light {
 			return false;
 		} else if(!Arrays.equals(this.zenith, PerezLight.class.cast(object).zenith)) {
 			return false;
+		} else if(!Arrays.equals(this.radianceTable, PerezLight.class.cast(object).radianceTable)) {
+			return false;
 		} else if(!equal(this.radius, PerezLight.class.cast(object).radius)) {
 			return false;
 		} else if(!equal(this.theta, PerezLight.class.cast(object).theta)) {
 			return false;
 		} else if(!equal(this.turbidity, PerezLight.class.cast(object).turbidity)) {
 			return false;
+		} else if(this.resolutionU != PerezLight.class.cast(object).resolutionU) {
+			return false;
+		} else if(this.resolutionV != PerezLight.class.cast(object).resolutionV) {
+			return false;
 		} else {
 			return true;
 		}
@@ -441,6 +509,20 @@ public final class PerezLight extends Light {
 		return this.perezY.clone();
 	}
 	
+	/**
+	 * Returns a {@code float[]} with the radiance table.
+	 * <p>
+	 * The radiance table contains {@code getResolutionU() * getResolutionV()} texels with the components R, G and B. The texel at {@code u} and {@code v} starts at the index {@code (v * getResolutionU() + u) * 3}. The center of a texel is
+	 * at the spherical coordinates {@code (u + 0.5F) / getResolutionU()} and {@code (v + 0.5F) / getResolutionV()}. The texels below the horizon repeat the last row above it.
+	 * <p>
+	 * Modifications to the returned {@code float[]} will not affect this {@code PerezLight} instance.
+	 * 
+	 * @return a {@code float[]} with the radiance table
+	 */
+	public float[] getRadianceTable() {
+		return this.radianceTable.clone();
+	}
+	
 	/**
 	 * Returns a {@code double[]} with the zenith.
 	 * <p>
@@ -513,6 +595,24 @@ public final class PerezLight extends Light {
 		return this.turbidity;
 	}
 	
+	/**
+	 * Returns the resolution of the U-axis of the radiance table associated with this {@code PerezLight} instance.
+	 * 
+	 * @return the resolution of the U-axis of the radiance table associated with this {@code PerezLight} instance
+	 */
+	public int getResolutionU() {
+		return this.resolutionU;
+	}
+	
+	/**
+	 * Returns the resolution of the V-axis of the radiance table associated with this {@code PerezLight} instance.
+	 * 
+	 * @return the resolution of the V-axis of the radiance table associated with this {@code PerezLight} instance
+	 */
+	public int getResolutionV() {
+		return this.resolutionV;
+	}
+	
 	/**
 	 * Returns an {@code int} with the ID of this {@code PerezLight} instance.
 	 * 
@@ -530,7 +630,7 @@ public final class PerezLight extends Light {
 	 */
 	@Override
 	public int hashCode() {
-		return Objects.hash(getTransform(), this.sunColor, this.distribution, this.sunDirectionObjectSpace, this.sunDirectionWorldSpace, Integer.valueOf(Arrays.hashCode(this.perezRelativeLuminance)), Integer.valueOf(Arrays.hashCode(this.perezX)), Integer.valueOf(Arrays.hashCode(this.perezY)), Integer.valueOf(Arrays.hashCode(this.zenith)), Float.valueOf(this.radius), Float.valueOf(this.theta), Float.valueOf(this.turbidity));
+		return Objects.hash(getTransform(), this.sunColor, this.distribution, this.sunDirectionObjectSpace, this.sunDirectionWorldSpace, Integer.valueOf(Arrays.hashCode(this.perezRelativeLuminance)), Integer.valueOf(Arrays.hashCode(this.perezX)), Integer.valueOf(Arrays.hashCode(this.perezY)), Integer.valueOf(Arrays.hashCode(this.zenith)), Integer.valueOf(Arrays.hashCode(this.radianceTable)), Float.valueOf(this.radius), Float.valueOf(this.theta), Float.valueOf(this.turbidity), Integer.valueOf(this.resolutionU), Integer.valueOf(this.resolutionV));
 	}
 	
 	/**
@@ -566,6 +666,8 @@ public final class PerezLight extends Light {
 	/**
 	 * Sets the parameters for this {@code PerezLight} instance.
 	 * <p>
+	 * The resolution of the radiance table is retained.
+	 * <p>
 	 * If {@code sunDirectionWorldSpace} is {@code null}, a {@code NullPointerException} will be thrown.
 	 * 
 	 * @param turbidity the turbidity associated with this {@code PerezLight} instance
@@ -573,8 +675,31 @@ public final class PerezLight extends Light {
 	 * @throws NullPointerException thrown if, and only if, {@code sunDirectionWorldSpace} is {@code null}
 	 */
 	public void set(final float turbidity, final Vector3F sunDirectionWorldSpace) {
+		set(turbidity, sunDirectionWorldSpace, this.resolutionU, this.resolutionV);
+	}
+	
+	/**
+	 * Sets the parameters for this {@code PerezLight} instance.
+	 * <p>
+	 * The radiance table is baked and the distribution is initialized from it, so this method is fairly expensive.
+	 * <p>
+	 * If {@code sunDirectionWorldSpace} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code resolutionU} or {@code resolutionV} are less than {@code 2}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param turbidity the turbidity associated with this {@code PerezLight} instance
+	 * @param sunDirectionWorldSpace the sun direction in world space associated with this {@code PerezLight} instance
+	 * @param resolutionU the resolution of the U-axis of the radiance table
+	 * @param resolutionV the resolution of the V-axis of the radiance table
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code resolutionU} or {@code resolutionV} are less than {@code 2}
+	 * @throws NullPointerException thrown if, and only if, {@code sunDirectionWorldSpace} is {@code null}
+	 */
+	public void set(final float turbidity, final Vector3F sunDirectionWorldSpace, final int resolutionU, final int resolutionV) {
 		Objects.requireNonNull(sunDirectionWorldSpace, "sunDirectionWorldSpace == null");
 		
+		ParameterArguments.requireRange(resolutionU, 2, Integer.MAX_VALUE, "resolutionU");
+		ParameterArguments.requireRange(resolutionV, 2, Integer.MAX_VALUE, "resolutionV");
+		
 		doSetTransform();
 		doSetRadius();
 		doSetTurbidity(turbidity);
@@ -586,6 +711,7 @@ public final class PerezLight extends Light {
 		doInitializePerezRelativeLuminance();
 		doInitializePerezX();
 		doInitializePerezY();
+		doInitializeRadianceTable(resolutionU, resolutionV);
 		doInitializeDistribution();
 	}
 	
@@ -613,6 +739,42 @@ public final class PerezLight extends Light {
 		return ColorSpaceF.getDefault().convertXYZToRGB(new Color3F(x0, y0, z0));
 	}
 	
+	private Color3F doRadianceSkyTable(final Vector3F direction) {
+		if(direction.z < 0.0F) {
+			return Color3F.BLACK;
+		}
+		
+		final int resolutionU = this.resolutionU;
+		final int resolutionV = this.resolutionV;
+		
+		final float u = direction.sphericalPhi() * PI_MULTIPLIED_BY_2_RECIPROCAL * resolutionU - 0.5F;
+		final float v = direction.sphericalTheta() * PI_RECIPROCAL * resolutionV - 0.5F;
+		
+		final float uFloor = floor(u);
+		final float vFloor = floor(v);
+		
+		final float tU = u - uFloor;
+		final float tV = v - vFloor;
+		
+		final int u0 = positiveModulo((int)(uFloor), resolutionU);
+		final int u1 = positiveModulo((int)(uFloor) + 1, resolutionU);
+		final int v0 = saturate((int)(vFloor), 0, resolutionV - 1);
+		final int v1 = saturate((int)(vFloor) + 1, 0, resolutionV - 1);
+		
+		final int index00 = (v0 * resolutionU + u0) * 3;
+		final int index01 = (v0 * resolutionU + u1) * 3;
+		final int index10 = (v1 * resolutionU + u0) * 3;
+		final int index11 = (v1 * resolutionU + u1) * 3;
+		
+		final float[] radianceTable = this.radianceTable;
+		
+		final float r = lerp(lerp(radianceTable[index00 + 0], radianceTable[index01 + 0], tU), lerp(radianceTable[index10 + 0], radianceTable[index11 + 0], tU), tV);
+		final float g = lerp(lerp(radianceTable[index00 + 1], radianceTable[index01 + 1], tU), lerp(radianceTable[index10 + 1], radianceTable[index11 + 1], tU), tV);
+		final float b = lerp(lerp(radianceTable[index00 + 2], radianceTable[index01 + 2], tU), lerp(radianceTable[index10 + 2], radianceTable[index11 + 2], tU), tV);
+		
+		return new Color3F(r, g, b);
+	}
+	
 	private Vector3F doTransformToObjectSpace(final Vector3F vector) {
 		return Vector3F.normalize(Vector3F.transform(getTransform().getWorldToObject(), vector));
 	}
@@ -629,26 +791,28 @@ public final class PerezLight extends Light {
 	}
 	
 	private void doInitializeDistribution() {
-		final int resolutionU = 32;
-		final int resolutionV = 32;
+		final int resolutionU = this.resolutionU;
+		final int resolutionV = this.resolutionV;
 		
-		final float resolutionUReciprocal = 1.0F / resolutionU;
 		final float resolutionVReciprocal = 1.0F / resolutionV;
 		
+		final float[] radianceTable = this.radianceTable;
+		
 		final float[][] functions = new float[resolutionU][resolutionV];
 		
-		for(int u = 0; u < resolutionU; u++) {
-			final float sphericalU = (u + 0.5F) * resolutionUReciprocal;
+		for(int v = 0; v < resolutionV; v++) {
+			final float sphericalV = (v + 0.5F) * resolutionVReciprocal;
+			final float cosTheta = cos(PI * sphericalV);
+			final float sinTheta = sin(PI * sphericalV);
 			
-			for(int v = 0; v < resolutionV; v++) {
-				final float sphericalV = (v + 0.5F) * resolutionVReciprocal;
-				final float sinTheta = sin(PI * sphericalV);
-				
-//				final Color3F colorRGB = doRadianceSky(Vector3F.directionSpherical(sphericalU, sphericalV));
-				final Color3F colorRGB = Color3F.minTo0(doRadianceSky(Vector3F.directionSpherical(sphericalU, sphericalV)));
+			if(cosTheta < 0.0F) {
+				continue;
+			}
+			
+			for(int u = 0; u < resolutionU; u++) {
+				final int index = (v * resolutionU + u) * 3;
 				
-				final float luminance = colorRGB.relativeLuminance();
-//				final float luminance = 0.2989F * colorRGB.r + 0.5866F * colorRGB.g + 0.1145F * colorRGB.b;
+				final float luminance = new Color3F(radianceTable[index + 0], radianceTable[index + 1], radianceTable[index + 2]).relativeLuminance();
 				
 				functions[u][v] = luminance * sinTheta;
 			}
@@ -684,6 +848,39 @@ public final class PerezLight extends Light {
 		this.perezY[4] = -0.01092D * this.turbidity + 0.05291D;
 	}
 	
+	private void doInitializeRadianceTable(final int resolutionU, final int resolutionV) {
+		final float resolutionUReciprocal = 1.0F / resolutionU;
+		final float resolutionVReciprocal = 1.0F / resolutionV;
+		
+		final float[] radianceTable = new float[resolutionU * resolutionV * 3];
+		
+		for(int v = 0; v < resolutionV; v++) {
+			final float sphericalV = (v + 0.5F) * resolutionVReciprocal;
+			
+			if(v > 0 && cos(PI * sphericalV) < 0.0F) {
+				System.arraycopy(radianceTable, (v - 1) * resolutionU * 3, radianceTable, v * resolutionU * 3, resolutionU * 3);
+				
+				continue;
+			}
+			
+			for(int u = 0; u < resolutionU; u++) {
+				final float sphericalU = (u + 0.5F) * resolutionUReciprocal;
+				
+				final Color3F colorRGB = Color3F.minTo0(doRadianceSky(Vector3F.directionSpherical(sphericalU, sphericalV)));
+				
+				final int index = (v * resolutionU + u) * 3;
+				
+				radianceTable[index + 0] = colorRGB.r;
+				radianceTable[index + 1] = colorRGB.g;
+				radianceTable[index + 2] = colorRGB.b;
+			}
+		}
+		
+		this.radianceTable = radianceTable;
+		this.resolutionU = resolutionU;
+		this.resolutionV = resolutionV;
+	}
+	
 	private void doSetRadius() {
 		this.radius = 10.0F;
 	}
@@ -24,9 +24,11 @@ import java.util.Objects;
 import java.util.Optional;
 
 import org.dayflower.color.Color3F;
+import org.dayflower.geometry.BoundingVolume3F;
 import org.dayflower.geometry.Point2F;
 import org.dayflower.geometry.Point3F;
 import org.dayflower.geometry.Vector3F;
+import org.dayflower.geometry.boundingvolume.AxisAlignedBoundingBox3F;
 import org.dayflower.scene.Intersection;
 import org.dayflower.scene.Light;
 import org.dayflower.scene.LightSample;
@@ -109,6 +111,18 @@ public final class PointLight extends Light {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Returns a {@link BoundingVolume3F} instance that contains this {@code PointLight} instance in world space.
+	 * 
+	 * @return a {@code BoundingVolume3F} instance that contains this {@code PointLight} instance in world space
+	 */
+	@Override
+	public BoundingVolume3F getBoundingVolume() {
+		final Point3F position = getTransform().getPosition();
+		
+		return new AxisAlignedBoundingBox3F(position, position);
+	}
+	
 	/**
 	 * Returns a {@link Color3F} instance with the intensity associated with this {@code PointLight} instance.
 	 * 
@@ -0,0 +1,126 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.light;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.dayflower.geometry.Point3F;
+import org.dayflower.sampler.Distribution1F;
+import org.dayflower.scene.Light;
+import org.dayflower.scene.Scene;
+import org.dayflower.utility.ParameterArguments;
+
+/**
+ * A {@code PowerLightDistribution} is an implementation of {@link LightDistribution} that is using a probability distribution based on the power of each {@link Light} instance.
+ * <p>
+ * A {@code Light} instance that reports no power, such as a {@link PrimitiveAreaLight}, is given the average power of the {@code Light} instances that do. This ensures that every {@code Light} instance can be sampled.
+ * <p>
+ * This class is immutable and therefore thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class PowerLightDistribution implements LightDistribution {
+	private final Distribution1F distribution;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code PowerLightDistribution} instance.
+	 * <p>
+	 * If either {@code lights} or at least one of its elements are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param lights a {@code List} of {@link Light} instances
+	 * @throws NullPointerException thrown if, and only if, either {@code lights} or at least one of its elements are {@code null}
+	 */
+	public PowerLightDistribution(final List<Light> lights) {
+		this.distribution = new Distribution1F(computePowers(lights));
+	}
+	
+	/**
+	 * Constructs a new {@code PowerLightDistribution} instance.
+	 * <p>
+	 * If {@code scene} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new PowerLightDistribution(scene.getLights());
+	 * }
+	 * </pre>
+	 * 
+	 * @param scene a {@link Scene} instance
+	 * @throws NullPointerException thrown if, and only if, {@code scene} is {@code null}
+	 */
+	public PowerLightDistribution(final Scene scene) {
+		this(scene.getLights());
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@link Distribution1F} given {@code point}.
+	 * <p>
+	 * If {@code point} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param point a {@link Point3F} instance
+	 * @return a {@code Distribution1F} given {@code point}
+	 * @throws NullPointerException thrown if, and only if, {@code point} is {@code null}
+	 */
+	@Override
+	public Distribution1F find(final Point3F point) {
+		Objects.requireNonNull(point, "point == null");
+		
+		return this.distribution;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	static float[] computePowers(final List<Light> lights) {
+		ParameterArguments.requireNonNullList(lights, "lights");
+		
+		final float[] powers = new float[lights.size()];
+		
+		float powerSum = 0.0F;
+		
+		int powerCount = 0;
+		
+		for(int i = 0; i < powers.length; i++) {
+			final float power = lights.get(i).power().relativeLuminance();
+			
+			if(power > 0.0F && !Float.isInfinite(power)) {
+				powers[i] = power;
+				
+				powerSum += power;
+				powerCount++;
+			}
+		}
+		
+		final float powerAverage = powerCount > 0 ? powerSum / powerCount : 1.0F;
+		
+		for(int i = 0; i < powers.length; i++) {
+			if(powers[i] == 0.0F) {
+				powers[i] = powerAverage;
+			}
+		}
+		
+		return powers;
+	}
+}
@@ -27,9 +27,11 @@ import java.util.Optional;
 
 import org.dayflower.color.Color3F;
 import org.dayflower.geometry.AngleF;
+import org.dayflower.geometry.BoundingVolume3F;
 import org.dayflower.geometry.Point2F;
 import org.dayflower.geometry.Point3F;
 import org.dayflower.geometry.Vector3F;
+import org.dayflower.geometry.boundingvolume.AxisAlignedBoundingBox3F;
 import org.dayflower.scene.Intersection;
 import org.dayflower.scene.Light;
 import org.dayflower.scene.LightSample;
@@ -226,6 +228,18 @@ public final class SpotLight extends Light {
 		return this.coneAngleDelta;
 	}
 	
+	/**
+	 * Returns a {@link BoundingVolume3F} instance that contains this {@code SpotLight} instance in world space.
+	 * 
+	 * @return a {@code BoundingVolume3F} instance that contains this {@code SpotLight} instance in world space
+	 */
+	@Override
+	public BoundingVolume3F getBoundingVolume() {
+		final Point3F position = getTransform().getPosition();
+		
+		return new AxisAlignedBoundingBox3F(position, position);
+	}
+	
 	/**
 	 * Returns a {@link Color3F} instance with the intensity associated with this {@code SpotLight} instance.
 	 * 
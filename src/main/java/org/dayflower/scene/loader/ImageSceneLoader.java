@@ -63,12 +63,6 @@ import org.dayflower.utility.Floats;
  * @author J&#246;rgen Lundgren
  */
 public final class ImageSceneLoader implements SceneLoader {
-	private static final Texture FLOOR_TEXTURE = LDRImageTexture.undoGammaCorrectionSRGB(LDRImageTexture.load("./resources/textures/laminate.jpg", AngleF.degrees(0.0F), new Vector2F(32.0F, 32.0F)));
-	private static final Texture GRASS_TEXTURE = LDRImageTexture.undoGammaCorrectionSRGB(LDRImageTexture.load("./resources/textures/Texture_2.png", AngleF.degrees(0.0F), new Vector2F(0.1F, 0.1F)));
-	private static final Texture WALL_TEXTURE = LDRImageTexture.undoGammaCorrectionSRGB(LDRImageTexture.load("./resources/textures/Wall.jpg", AngleF.degrees(0.0F), new Vector2F(16.0F, 16.0F)));
-	
-	////////////////////////////////////////////////////////////////////////////////////////////////////
-	
 	private final List<LineSegment3I> horizontalLineSegments;
 	private final List<LineSegment3I> horizontalLineSegmentsOuter;
 	private final List<LineSegment3I> verticalLineSegments;
@@ -188,7 +182,7 @@ public final class ImageSceneLoader implements SceneLoader {
 		camera.setFieldOfViewX(AngleF.degrees(90.0F));
 		camera.setFieldOfViewY();
 		
-		scene.addPrimitive(new Primitive(new MatteMaterial(GRASS_TEXTURE), new Plane3F(), new Transform(new Point3F(0.0F, -0.1F, 0.0F), Quaternion4F.from(Matrix44F.rotateX(AngleF.degrees(90.0F))))));
+		scene.addPrimitive(new Primitive(new MatteMaterial(Textures.GRASS), new Plane3F(), new Transform(new Point3F(0.0F, -0.1F, 0.0F), Quaternion4F.from(Matrix44F.rotateX(AngleF.degrees(90.0F))))));
 		scene.addLight(new PerezLight());
 		scene.setCamera(camera);
 		scene.setName("Image");
@@ -328,7 +322,7 @@ public final class ImageSceneLoader implements SceneLoader {
 		
 		final TriangleMesh3F triangleMesh = new TriangleMesh3F(triangles, "", "", "Floor");
 		
-		scene.addPrimitive(new Primitive(new MatteMaterial(FLOOR_TEXTURE), triangleMesh, new Transform()));
+		scene.addPrimitive(new Primitive(new MatteMaterial(Textures.FLOOR), triangleMesh, new Transform()));
 	}
 	
 	private void doGenerateHorizontalWalls(final Scene scene) {
@@ -379,7 +373,7 @@ public final class ImageSceneLoader implements SceneLoader {
 			
 			final TriangleMesh3F triangleMesh = TriangleMesh3F.createCube("Wall-" + Integer.toString(material));
 			
-			scene.addPrimitive(new Primitive(new MatteMaterial(WALL_TEXTURE), triangleMesh, transform));
+			scene.addPrimitive(new Primitive(new MatteMaterial(Textures.WALL), triangleMesh, transform));
 			
 			this.minimumX = Floats.min(this.minimumX, startXTranslated, endXTranslated);
 			this.minimumZ = Floats.min(this.minimumZ, startZTranslated, endZTranslated);
@@ -760,7 +754,7 @@ public final class ImageSceneLoader implements SceneLoader {
 			
 			final TriangleMesh3F triangleMesh = TriangleMesh3F.createCube("Wall-" + Integer.toString(material));
 			
-			scene.addPrimitive(new Primitive(new MatteMaterial(WALL_TEXTURE), triangleMesh, transform));
+			scene.addPrimitive(new Primitive(new MatteMaterial(Textures.WALL), triangleMesh, transform));
 			
 			this.minimumX = Floats.min(this.minimumX, startXTranslated, endXTranslated);
 			this.minimumZ = Floats.min(this.minimumZ, startZTranslated, endZTranslated);
@@ -1367,4 +1361,16 @@ public final class ImageSceneLoader implements SceneLoader {
 			return currentIndex;
 		}
 	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Textures {
+		public static final Texture FLOOR = LDRImageTexture.undoGammaCorrectionSRGB(LDRImageTexture.load("./resources/textures/laminate.jpg", AngleF.degrees(0.0F), new Vector2F(32.0F, 32.0F)));
+		public static final Texture GRASS = LDRImageTexture.undoGammaCorrectionSRGB(LDRImageTexture.load("./resources/textures/Texture_2.png", AngleF.degrees(0.0F), new Vector2F(0.1F, 0.1F)));
+		public static final Texture WALL = LDRImageTexture.undoGammaCorrectionSRGB(LDRImageTexture.load("./resources/textures/Wall.jpg", AngleF.degrees(0.0F), new Vector2F(16.0F, 16.0F)));
+		
+		private Textures() {
+			
+		}
+	}
 }
\ No newline at end of file
@@ -154,7 +154,7 @@ public final class JavaSceneLoader implements SceneLoader {
 		
 		final File directory = file.getParentFile() != null ? file.getParentFile() : new File(".");
 		
-		doLoad(doLoadObject(file), directory, scene, parameterList);
+		doLoad(doLoadObject(doReadFrom(file)), directory, scene, parameterList);
 		
 		return scene;
 	}
@@ -233,6 +233,36 @@ public final class JavaSceneLoader implements SceneLoader {
 		return load(new File(Objects.requireNonNull(pathname, "pathname == null")), scene, parameterList);
 	}
 	
+	/**
+	 * Loads a {@link Scene} instance from the Java source code {@code sourceCode} into {@code scene}.
+	 * <p>
+	 * Returns the loaded {@code Scene} instance, {@code scene}.
+	 * <p>
+	 * If either {@code sourceCode}, {@code directory}, {@code scene} or {@code parameterList} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * The source code is loaded as if it had been read from a file in {@code directory}. This is used to load the source code of a scene that was received from another machine.
+	 * 
+	 * @param sourceCode the Java source code of the scene
+	 * @param directory a {@code File} instance that represents the directory that relative files in {@code sourceCode} are resolved against
+	 * @param scene the {@code Scene} instance to load into
+	 * @param parameterList the {@link ParameterList} that contains parameters
+	 * @return the loaded {@code Scene} instance, {@code scene}
+	 * @throws NullPointerException thrown if, and only if, either {@code sourceCode}, {@code directory}, {@code scene} or {@code parameterList} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public Scene loadSourceCode(final String sourceCode, final File directory, final Scene scene, final ParameterList parameterList) {
+		Objects.requireNonNull(sourceCode, "sourceCode == null");
+		Objects.requireNonNull(directory, "directory == null");
+		Objects.requireNonNull(scene, "scene == null");
+		Objects.requireNonNull(parameterList, "parameterList == null");
+		
+		doLoad(doLoadObject(sourceCode), directory, scene, parameterList);
+		
+		return scene;
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private Object doCompileSourceCode(final String sourceCode) {
@@ -281,9 +311,7 @@ public final class JavaSceneLoader implements SceneLoader {
 		}
 	}
 	
-	private Object doLoadObject(final File file) {
-		final String sourceCode = doReadFrom(file);
-		
+	private Object doLoadObject(final String sourceCode) {
 		if(this.objects.containsKey(sourceCode)) {
 			return this.objects.get(sourceCode);
 		}
@@ -235,8 +235,7 @@ public final class KDSubsurfaceMaterial implements Material {
 		this.textureRoughnessV = Objects.requireNonNull(textureRoughnessV, "textureRoughnessV == null");
 		this.isRemappingRoughness = isRemappingRoughness;
 		this.modifier = Objects.requireNonNull(modifier, "modifier == null");
-		this.bSSRDFTable = new BSSRDFTable(100, 64);
-		this.bSSRDFTable.computeBeamDiffusionBSSRDF(g, eta);
+		this.bSSRDFTable = BSSRDFTable.beamDiffusion(100, 64, g, eta);
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
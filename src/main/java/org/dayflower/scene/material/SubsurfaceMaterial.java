@@ -105,8 +105,7 @@ public final class SubsurfaceMaterial implements Material {
 		this.textureRoughnessV = Objects.requireNonNull(textureRoughnessV, "textureRoughnessV == null");
 		this.isRemappingRoughness = isRemappingRoughness;
 		this.modifier = Objects.requireNonNull(modifier, "modifier == null");
-		this.bSSRDFTable = new BSSRDFTable(100, 64);
-		this.bSSRDFTable.computeBeamDiffusionBSSRDF(g, eta);
+		this.bSSRDFTable = BSSRDFTable.beamDiffusion(100, 64, g, eta);
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
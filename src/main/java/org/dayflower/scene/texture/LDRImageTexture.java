@@ -19,8 +19,13 @@
 package org.dayflower.scene.texture;
 
 import static org.dayflower.utility.Floats.ceil;
+import static org.dayflower.utility.Floats.cos;
 import static org.dayflower.utility.Floats.floor;
-import static org.dayflower.utility.Floats.positiveModulo;
+import static org.dayflower.utility.Floats.log;
+import static org.dayflower.utility.Floats.max;
+import static org.dayflower.utility.Floats.rint;
+import static org.dayflower.utility.Floats.sin;
+import static org.dayflower.utility.Ints.min;
 import static org.dayflower.utility.Ints.positiveModulo;
 import static org.dayflower.utility.Ints.toInt;
 
@@ -56,6 +61,9 @@ import org.macroing.java.util.visitor.NodeTraversalException;
  * <p>
  * This {@code LDRImageTexture} class stores the image as an {@code int[]} with the colors in packed form and in the order ARGB. It is, however, possible to create an {@code LDRImageTexture} instance from an {@link ImageF} instance. This is useful if
  * the requirement is to generate an image procedurally.
+ * <p>
+ * A MIP map pyramid is built once, when an {@code LDRImageTexture} instance is constructed. Each level is half the resolution of the previous one, down to a resolution of {@code 1} by {@code 1}. If the {@link Intersection} instance passed to
+ * {@link #getColor(Intersection)} has texture coordinate derivatives, the two levels closest to the footprint of the pixel are sampled and blended (trilinear filtering). Otherwise the full resolution image is sampled using bilinear filtering.
  * 
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
@@ -74,6 +82,9 @@ public final class LDRImageTexture implements Texture {
 	private final int resolutionX;
 	private final int resolutionY;
 	private final int[] image;
+	private final int[] mipMapResolutionsX;
+	private final int[] mipMapResolutionsY;
+	private final int[][] mipMapLevels;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -208,6 +219,14 @@ public final class LDRImageTexture implements Texture {
 		this.image = ParameterArguments.requireExactArrayLength(Objects.requireNonNull(image, "image == null"), resolutionX * resolutionY, "image").clone();
 		this.angle = Objects.requireNonNull(angle, "angle == null");
 		this.scale = Objects.requireNonNull(scale, "scale == null");
+		this.mipMapLevels = doCreateMipMapLevels(this.resolutionX, this.resolutionY, this.image);
+		this.mipMapResolutionsX = new int[this.mipMapLevels.length];
+		this.mipMapResolutionsY = new int[this.mipMapLevels.length];
+		
+		for(int level = 0, levelResolutionX = this.resolutionX, levelResolutionY = this.resolutionY; level < this.mipMapLevels.length; level++, levelResolutionX = (levelResolutionX + 1) / 2, levelResolutionY = (levelResolutionY + 1) / 2) {
+			this.mipMapResolutionsX[level] = levelResolutionX;
+			this.mipMapResolutionsY[level] = levelResolutionY;
+		}
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -225,6 +244,8 @@ public final class LDRImageTexture implements Texture {
 	 * Returns a {@link Color3F} instance representing the color of the surface at {@code intersection}.
 	 * <p>
 	 * If {@code intersection} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * The MIP map level is selected using the texture coordinate derivatives of {@code intersection}, as returned by {@link Intersection#getTextureCoordinatesDerivativeX()} and {@link Intersection#getTextureCoordinatesDerivativeY()}.
 	 * 
 	 * @param intersection an {@link Intersection} instance
 	 * @return a {@code Color3F} instance representing the color of the surface at {@code intersection}
@@ -235,9 +256,21 @@ public final class LDRImageTexture implements Texture {
 		final Point2F textureCoordinates = intersection.getTextureCoordinates();
 		final Point2F textureCoordinatesRotated = Point2F.rotateCounterclockwise(textureCoordinates, this.angle);
 		final Point2F textureCoordinatesScaled = Point2F.scale(textureCoordinatesRotated, this.scale);
-		final Point2F textureCoordinatesImage = Point2F.toImage(textureCoordinatesScaled, this.resolutionX, this.resolutionY);
 		
-		return doGetColorRGB(textureCoordinatesImage.x, textureCoordinatesImage.y);
+		final float level = computeMipMapLevel(this.angle, this.scale, this.resolutionX, this.resolutionY, intersection.getTextureCoordinatesDerivativeX(), intersection.getTextureCoordinatesDerivativeY());
+		
+		if(level <= 0.0F) {
+			return doGetColorRGB(0, textureCoordinatesScaled);
+		}
+		
+		final int levelA = toInt(floor(level));
+		final int levelB = levelA + 1;
+		
+		if(levelB >= this.mipMapLevels.length) {
+			return doGetColorRGB(this.mipMapLevels.length - 1, textureCoordinatesScaled);
+		}
+		
+		return Color3F.blend(doGetColorRGB(levelA, textureCoordinatesScaled), doGetColorRGB(levelB, textureCoordinatesScaled), level - levelA);
 	}
 	
 	/**
@@ -352,6 +385,43 @@ public final class LDRImageTexture implements Texture {
 		return ID;
 	}
 	
+	/**
+	 * Returns the number of MIP map levels.
+	 * <p>
+	 * Level {@code 0} is the full resolution image and the last level has a resolution of {@code 1} by {@code 1}.
+	 * 
+	 * @return the number of MIP map levels
+	 */
+	public int getMipMapLevelCount() {
+		return this.mipMapLevels.length;
+	}
+	
+	/**
+	 * Returns the resolution of the X-axis of the MIP map level {@code level}.
+	 * <p>
+	 * If {@code level} is less than {@code 0} or greater than or equal to {@code getMipMapLevelCount()}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param level the MIP map level
+	 * @return the resolution of the X-axis of the MIP map level {@code level}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code level} is less than {@code 0} or greater than or equal to {@code getMipMapLevelCount()}
+	 */
+	public int getMipMapResolutionX(final int level) {
+		return this.mipMapResolutionsX[ParameterArguments.requireRange(level, 0, this.mipMapLevels.length - 1, "level")];
+	}
+	
+	/**
+	 * Returns the resolution of the Y-axis of the MIP map level {@code level}.
+	 * <p>
+	 * If {@code level} is less than {@code 0} or greater than or equal to {@code getMipMapLevelCount()}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param level the MIP map level
+	 * @return the resolution of the Y-axis of the MIP map level {@code level}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code level} is less than {@code 0} or greater than or equal to {@code getMipMapLevelCount()}
+	 */
+	public int getMipMapResolutionY(final int level) {
+		return this.mipMapResolutionsY[ParameterArguments.requireRange(level, 0, this.mipMapLevels.length - 1, "level")];
+	}
+	
 	/**
 	 * Returns the resolution.
 	 * 
@@ -400,6 +470,21 @@ public final class LDRImageTexture implements Texture {
 		return this.image.clone();
 	}
 	
+	/**
+	 * Returns an {@code int[]} containing the MIP map level {@code level} with its colors in packed form using the order ARGB.
+	 * <p>
+	 * If {@code level} is less than {@code 0} or greater than or equal to {@code getMipMapLevelCount()}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * Modifying the returned {@code int[]} will not affect this {@code LDRImageTexture} instance.
+	 * 
+	 * @param level the MIP map level
+	 * @return an {@code int[]} containing the MIP map level {@code level} with its colors in packed form using the order ARGB
+	 * @throws IllegalArgumentException thrown if, and only if, {@code level} is less than {@code 0} or greater than or equal to {@code getMipMapLevelCount()}
+	 */
+	public int[] getMipMapLevel(final int level) {
+		return this.mipMapLevels[ParameterArguments.requireRange(level, 0, this.mipMapLevels.length - 1, "level")].clone();
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
@@ -603,7 +688,17 @@ public final class LDRImageTexture implements Texture {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private Color3F doGetColorRGB(final float x, final float y) {
+	private Color3F doGetColorRGB(final int level, final Point2F textureCoordinates) {
+		final int[] image = this.mipMapLevels[level];
+		
+		final int resolutionX = this.mipMapResolutionsX[level];
+		final int resolutionY = this.mipMapResolutionsY[level];
+		
+		final Point2F textureCoordinatesImage = Point2F.toImage(textureCoordinates, resolutionX, resolutionY);
+		
+		final float x = textureCoordinatesImage.x;
+		final float y = textureCoordinatesImage.y;
+		
 		final int minimumX = toInt(floor(x));
 		final int maximumX = toInt(ceil(x));
 		
@@ -611,23 +706,99 @@ public final class LDRImageTexture implements Texture {
 		final int maximumY = toInt(ceil(y));
 		
 		if(minimumX == maximumX && minimumY == maximumY) {
-			return doGetColorRGB(minimumX, minimumY);
+			return Color3F.unpack(image[positiveModulo(minimumY, resolutionY) * resolutionX + positiveModulo(minimumX, resolutionX)]);
 		}
 		
-		final Color3F color00 = doGetColorRGB(minimumX, minimumY);
-		final Color3F color01 = doGetColorRGB(maximumX, minimumY);
-		final Color3F color10 = doGetColorRGB(minimumX, maximumY);
-		final Color3F color11 = doGetColorRGB(maximumX, maximumY);
+		final int color00 = image[positiveModulo(minimumY, resolutionY) * resolutionX + positiveModulo(minimumX, resolutionX)];
+		final int color01 = image[positiveModulo(minimumY, resolutionY) * resolutionX + positiveModulo(maximumX, resolutionX)];
+		final int color10 = image[positiveModulo(maximumY, resolutionY) * resolutionX + positiveModulo(minimumX, resolutionX)];
+		final int color11 = image[positiveModulo(maximumY, resolutionY) * resolutionX + positiveModulo(maximumX, resolutionX)];
 		
 		final float xFactor = x - minimumX;
 		final float yFactor = y - minimumY;
 		
-		final Color3F color = Color3F.blend(Color3F.blend(color00, color01, xFactor), Color3F.blend(color10, color11, xFactor), yFactor);
+		final float weight00 = (1.0F - xFactor) * (1.0F - yFactor);
+		final float weight01 = xFactor * (1.0F - yFactor);
+		final float weight10 = (1.0F - xFactor) * yFactor;
+		final float weight11 = xFactor * yFactor;
+		
+		final float r = ((color00 >> 16) & 0xFF) * weight00 + ((color01 >> 16) & 0xFF) * weight01 + ((color10 >> 16) & 0xFF) * weight10 + ((color11 >> 16) & 0xFF) * weight11;
+		final float g = ((color00 >>  8) & 0xFF) * weight00 + ((color01 >>  8) & 0xFF) * weight01 + ((color10 >>  8) & 0xFF) * weight10 + ((color11 >>  8) & 0xFF) * weight11;
+		final float b = ((color00 >>  0) & 0xFF) * weight00 + ((color01 >>  0) & 0xFF) * weight01 + ((color10 >>  0) & 0xFF) * weight10 + ((color11 >>  0) & 0xFF) * weight11;
 		
-		return color;
+		return new Color3F(r / 255.0F, g / 255.0F, b / 255.0F);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	static float computeMipMapLevel(final AngleF angle, final Vector2F scale, final int resolutionX, final int resolutionY, final Vector2F textureCoordinatesDerivativeX, final Vector2F textureCoordinatesDerivativeY) {
+		final float cos = cos(angle.getRadians());
+		final float sin = sin(angle.getRadians());
+		
+		final float dXU = doWrap((textureCoordinatesDerivativeX.x * cos - textureCoordinatesDerivativeX.y * sin) * scale.x) * resolutionX;
+		final float dXV = doWrap((textureCoordinatesDerivativeX.y * cos + textureCoordinatesDerivativeX.x * sin) * scale.y) * resolutionY;
+		final float dYU = doWrap((textureCoordinatesDerivativeY.x * cos - textureCoordinatesDerivativeY.y * sin) * scale.x) * resolutionX;
+		final float dYV = doWrap((textureCoordinatesDerivativeY.y * cos + textureCoordinatesDerivativeY.x * sin) * scale.y) * resolutionY;
+		
+		final float widthSquared = max(dXU * dXU + dXV * dXV, dYU * dYU + dYV * dYV);
+		
+		if(widthSquared <= 1.0F) {
+			return 0.0F;
+		}
+		
+		return 0.5F * log(widthSquared) / log(2.0F);
+	}
+	
+	private static float doWrap(final float value) {
+		return value - rint(value);
+	}
+	
+	private static int doAverage(final int color00, final int color01, final int color10, final int color11, final int shift) {
+		return ((((color00 >> shift) & 0xFF) + ((color01 >> shift) & 0xFF) + ((color10 >> shift) & 0xFF) + ((color11 >> shift) & 0xFF) + 2) >> 2) << shift;
 	}
 	
-	private Color3F doGetColorRGB(final int x, final int y) {
-		return Color3F.unpack(this.image[positiveModulo(y, this.resolutionY) * this.resolutionX + positiveModulo(x, this.resolutionX)]);
+	private static int[][] doCreateMipMapLevels(final int resolutionX, final int resolutionY, final int[] image) {
+		int levelCount = 1;
+		
+		for(int levelResolutionX = resolutionX, levelResolutionY = resolutionY; levelResolutionX > 1 || levelResolutionY > 1; levelResolutionX = (levelResolutionX + 1) / 2, levelResolutionY = (levelResolutionY + 1) / 2) {
+			levelCount++;
+		}
+		
+		final int[][] mipMapLevels = new int[levelCount][];
+		
+		mipMapLevels[0] = image;
+		
+		for(int level = 1, previousResolutionX = resolutionX, previousResolutionY = resolutionY; level < levelCount; level++) {
+			final int[] previousImage = mipMapLevels[level - 1];
+			
+			final int currentResolutionX = (previousResolutionX + 1) / 2;
+			final int currentResolutionY = (previousResolutionY + 1) / 2;
+			
+			final int[] currentImage = new int[currentResolutionX * currentResolutionY];
+			
+			for(int y = 0; y < currentResolutionY; y++) {
+				final int y0 = y * 2;
+				final int y1 = min(y * 2 + 1, previousResolutionY - 1);
+				
+				for(int x = 0; x < currentResolutionX; x++) {
+					final int x0 = x * 2;
+					final int x1 = min(x * 2 + 1, previousResolutionX - 1);
+					
+					final int color00 = previousImage[y0 * previousResolutionX + x0];
+					final int color01 = previousImage[y0 * previousResolutionX + x1];
+					final int color10 = previousImage[y1 * previousResolutionX + x0];
+					final int color11 = previousImage[y1 * previousResolutionX + x1];
+					
+					currentImage[y * currentResolutionX + x] = doAverage(color00, color01, color10, color11, 24) | doAverage(color00, color01, color10, color11, 16) | doAverage(color00, color01, color10, color11, 8) | doAverage(color00, color01, color10, color11, 0);
+				}
+			}
+			
+			mipMapLevels[level] = currentImage;
+			
+			previousResolutionX = currentResolutionX;
+			previousResolutionY = currentResolutionY;
+		}
+		
+		return mipMapLevels;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,396 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.texture;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+import org.dayflower.utility.ParameterArguments;
+
+/**
+ * A {@code TileCache} is a thread-safe cache for image tiles with a memory budget in bytes.
+ * <p>
+ * Tiles are identified by a {@code long} key and stored as {@code int[]} instances with their colors in packed form. A tile that is not present is loaded on demand by the supplied loader. When the tiles in the cache use more than the memory budget,
+ * the least recently used tiles are evicted.
+ * <p>
+ * The cache is divided into stripes that each have their own lock and an equal share of the memory budget. This allows many render threads to look up tiles concurrently. Loaders are called without holding any lock, so a slow disk read does not
+ * block lookups of other tiles. If two threads load the same tile at the same time, both loads are performed, but only the first tile is kept.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class TileCache {
+	/**
+	 * The default maximum number of bytes.
+	 */
+	public static final long DEFAULT_MAXIMUM_BYTES = 256L * 1024L * 1024L;
+	
+	/**
+	 * The default number of stripes.
+	 */
+	public static final int DEFAULT_STRIPE_COUNT = 16;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final TileCache DEFAULT = new TileCache();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final AtomicLong maximumBytes;
+	private final LongAdder evictionCount;
+	private final LongAdder hitCount;
+	private final LongAdder missCount;
+	private final Stripe[] stripes;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code TileCache} instance.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new TileCache(TileCache.DEFAULT_MAXIMUM_BYTES);
+	 * }
+	 * </pre>
+	 */
+	public TileCache() {
+		this(DEFAULT_MAXIMUM_BYTES);
+	}
+	
+	/**
+	 * Constructs a new {@code TileCache} instance.
+	 * <p>
+	 * If {@code maximumBytes} is less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new TileCache(maximumBytes, TileCache.DEFAULT_STRIPE_COUNT);
+	 * }
+	 * </pre>
+	 * 
+	 * @param maximumBytes the maximum number of bytes used by the tiles in this {@code TileCache} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code maximumBytes} is less than {@code 0}
+	 */
+	public TileCache(final long maximumBytes) {
+		this(maximumBytes, DEFAULT_STRIPE_COUNT);
+	}
+	
+	/**
+	 * Constructs a new {@code TileCache} instance.
+	 * <p>
+	 * If either {@code maximumBytes} is less than {@code 0} or {@code stripeCount} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param maximumBytes the maximum number of bytes used by the tiles in this {@code TileCache} instance
+	 * @param stripeCount the number of stripes, each with its own lock
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code maximumBytes} is less than {@code 0} or {@code stripeCount} is less than {@code 1}
+	 */
+	public TileCache(final long maximumBytes, final int stripeCount) {
+		this.maximumBytes = new AtomicLong(doRequireMaximumBytes(maximumBytes));
+		this.evictionCount = new LongAdder();
+		this.hitCount = new LongAdder();
+		this.missCount = new LongAdder();
+		this.stripes = new Stripe[ParameterArguments.requireRange(stripeCount, 1, Integer.MAX_VALUE, "stripeCount")];
+		
+		for(int i = 0; i < this.stripes.length; i++) {
+			this.stripes[i] = new Stripe();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@code String} representation of this {@code TileCache} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code TileCache} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format(Locale.ENGLISH, "TileCache: size=%d, sizeInBytes=%d, maximumBytes=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.3f", Integer.valueOf(size()), Long.valueOf(getSizeInBytes()), Long.valueOf(getMaximumBytes()), Long.valueOf(getHitCount()), Long.valueOf(getMissCount()), Long.valueOf(getEvictionCount()), Double.valueOf(getHitRate()));
+	}
+	
+	/**
+	 * Returns the hit rate of this {@code TileCache} instance.
+	 * <p>
+	 * The hit rate is the number of hits divided by the number of calls to {@link #getTile(long, LongFunction)}. If there have been no calls, {@code 0.0D} will be returned.
+	 * 
+	 * @return the hit rate of this {@code TileCache} instance
+	 */
+	public double getHitRate() {
+		final long hitCount = getHitCount();
+		final long missCount = getMissCount();
+		
+		return hitCount + missCount > 0L ? (double)(hitCount) / (double)(hitCount + missCount) : 0.0D;
+	}
+	
+	/**
+	 * Returns the number of tiles in this {@code TileCache} instance.
+	 * 
+	 * @return the number of tiles in this {@code TileCache} instance
+	 */
+	public int size() {
+		int size = 0;
+		
+		for(final Stripe stripe : this.stripes) {
+			size += stripe.size();
+		}
+		
+		return size;
+	}
+	
+	/**
+	 * Returns the tile with the key {@code key}.
+	 * <p>
+	 * If either {@code tileLoader} or the tile returned by {@code tileLoader} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the tile is present in this {@code TileCache} instance, it will be returned. Otherwise {@code tileLoader} will be called with {@code key} and the tile it returns will be added and returned. Adding a tile may evict the least recently used tiles
+	 * in the same stripe.
+	 * <p>
+	 * The returned tile is shared and must not be modified.
+	 * 
+	 * @param key the key of the tile
+	 * @param tileLoader a {@code LongFunction} that loads the tile if it is not present
+	 * @return the tile with the key {@code key}
+	 * @throws NullPointerException thrown if, and only if, either {@code tileLoader} or the tile returned by {@code tileLoader} are {@code null}
+	 */
+	public int[] getTile(final long key, final LongFunction<int[]> tileLoader) {
+		Objects.requireNonNull(tileLoader, "tileLoader == null");
+		
+		final Stripe stripe = doGetStripe(key);
+		
+		final int[] currentTile = stripe.get(key);
+		
+		if(currentTile != null) {
+			this.hitCount.increment();
+			
+			return currentTile;
+		}
+		
+		this.missCount.increment();
+		
+		final int[] newTile = Objects.requireNonNull(tileLoader.apply(key), "tileLoader.apply(key) == null");
+		
+		final int[] oldTile = stripe.putIfAbsent(key, newTile, doGetMaximumBytesPerStripe(), this.evictionCount);
+		
+		return oldTile != null ? oldTile : newTile;
+	}
+	
+	/**
+	 * Returns the number of tiles that have been evicted from this {@code TileCache} instance.
+	 * <p>
+	 * Tiles removed by {@link #clear()} are not counted.
+	 * 
+	 * @return the number of tiles that have been evicted from this {@code TileCache} instance
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+	
+	/**
+	 * Returns the number of calls to {@link #getTile(long, LongFunction)} that found the tile in this {@code TileCache} instance.
+	 * 
+	 * @return the number of calls to {@code getTile(long, LongFunction)} that found the tile in this {@code TileCache} instance
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+	
+	/**
+	 * Returns the maximum number of bytes used by the tiles in this {@code TileCache} instance.
+	 * 
+	 * @return the maximum number of bytes used by the tiles in this {@code TileCache} instance
+	 */
+	public long getMaximumBytes() {
+		return this.maximumBytes.get();
+	}
+	
+	/**
+	 * Returns the number of calls to {@link #getTile(long, LongFunction)} that had to load the tile.
+	 * 
+	 * @return the number of calls to {@code getTile(long, LongFunction)} that had to load the tile
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+	
+	/**
+	 * Returns the number of bytes used by the tiles in this {@code TileCache} instance.
+	 * 
+	 * @return the number of bytes used by the tiles in this {@code TileCache} instance
+	 */
+	public long getSizeInBytes() {
+		long sizeInBytes = 0L;
+		
+		for(final Stripe stripe : this.stripes) {
+			sizeInBytes += stripe.getSizeInBytes();
+		}
+		
+		return sizeInBytes;
+	}
+	
+	/**
+	 * Removes all tiles from this {@code TileCache} instance.
+	 * <p>
+	 * The statistics are not reset. To reset them, call {@link #resetStatistics()}.
+	 */
+	public void clear() {
+		for(final Stripe stripe : this.stripes) {
+			stripe.clear();
+		}
+	}
+	
+	/**
+	 * Resets the hit, miss and eviction counts of this {@code TileCache} instance.
+	 */
+	public void resetStatistics() {
+		this.evictionCount.reset();
+		this.hitCount.reset();
+		this.missCount.reset();
+	}
+	
+	/**
+	 * Sets the maximum number of bytes used by the tiles in this {@code TileCache} instance to {@code maximumBytes}.
+	 * <p>
+	 * If {@code maximumBytes} is less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If the tiles use more than {@code maximumBytes}, the least recently used tiles will be evicted immediately.
+	 * 
+	 * @param maximumBytes the maximum number of bytes used by the tiles in this {@code TileCache} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code maximumBytes} is less than {@code 0}
+	 */
+	public void setMaximumBytes(final long maximumBytes) {
+		this.maximumBytes.set(doRequireMaximumBytes(maximumBytes));
+		
+		final long maximumBytesPerStripe = doGetMaximumBytesPerStripe();
+		
+		for(final Stripe stripe : this.stripes) {
+			stripe.evict(maximumBytesPerStripe, this.evictionCount);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the default {@code TileCache} instance.
+	 * <p>
+	 * The default {@code TileCache} instance is shared by all {@link TiledLDRImageTexture} instances that are not given a {@code TileCache} instance explicitly.
+	 * 
+	 * @return the default {@code TileCache} instance
+	 */
+	public static TileCache getDefault() {
+		return DEFAULT;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Stripe doGetStripe(final long key) {
+		final long hash = key * 0x9E3779B97F4A7C15L;
+		
+		return this.stripes[(int)((hash >>> 32) % this.stripes.length)];
+	}
+	
+	private long doGetMaximumBytesPerStripe() {
+		return this.maximumBytes.get() / this.stripes.length;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static long doRequireMaximumBytes(final long maximumBytes) {
+		if(maximumBytes < 0L) {
+			throw new IllegalArgumentException(String.format("maximumBytes < 0: maximumBytes == %d", Long.valueOf(maximumBytes)));
+		}
+		
+		return maximumBytes;
+	}
+	
+	private static long doSizeInBytes(final int[] tile) {
+		return tile.length * (long)(Integer.BYTES);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Stripe {
+		private final Map<Long, int[]> tiles;
+		private long sizeInBytes;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Stripe() {
+			this.tiles = new LinkedHashMap<>(16, 0.75F, true);
+			this.sizeInBytes = 0L;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public synchronized int[] get(final long key) {
+			return this.tiles.get(Long.valueOf(key));
+		}
+		
+		public synchronized int[] putIfAbsent(final long key, final int[] tile, final long maximumBytes, final LongAdder evictionCount) {
+			final int[] oldTile = this.tiles.get(Long.valueOf(key));
+			
+			if(oldTile != null) {
+				return oldTile;
+			}
+			
+			this.tiles.put(Long.valueOf(key), tile);
+			
+			this.sizeInBytes += doSizeInBytes(tile);
+			
+			evict(maximumBytes, evictionCount);
+			
+			return null;
+		}
+		
+		public synchronized int size() {
+			return this.tiles.size();
+		}
+		
+		public synchronized long getSizeInBytes() {
+			return this.sizeInBytes;
+		}
+		
+		public synchronized void clear() {
+			this.tiles.clear();
+			
+			this.sizeInBytes = 0L;
+		}
+		
+		public synchronized void evict(final long maximumBytes, final LongAdder evictionCount) {
+			final Iterator<int[]> iterator = this.tiles.values().iterator();
+			
+			while(this.sizeInBytes > maximumBytes && this.tiles.size() > 1 && iterator.hasNext()) {
+				final int[] tile = iterator.next();
+				
+				iterator.remove();
+				
+				this.sizeInBytes -= doSizeInBytes(tile);
+				
+				evictionCount.increment();
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,640 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.texture;
+
+import static org.dayflower.utility.Floats.ceil;
+import static org.dayflower.utility.Floats.floor;
+import static org.dayflower.utility.Ints.min;
+import static org.dayflower.utility.Ints.positiveModulo;
+import static org.dayflower.utility.Ints.toInt;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.geometry.AngleF;
+import org.dayflower.geometry.Point2F;
+import org.dayflower.geometry.Vector2F;
+import org.dayflower.scene.Intersection;
+import org.dayflower.utility.ParameterArguments;
+
+import org.macroing.java.util.visitor.NodeHierarchicalVisitor;
+import org.macroing.java.util.visitor.NodeTraversalException;
+
+/**
+ * A {@code TiledLDRImageTexture} is a {@link Texture} implementation that returns a {@link Color3F} instance from a low-dynamic-range (LDR) image that is stored in tiles on disk.
+ * <p>
+ * This class is immutable and therefore thread-safe.
+ * <p>
+ * This {@code Texture} implementation is not supported on the GPU.
+ * <p>
+ * Unlike {@link LDRImageTexture}, this {@code Texture} implementation does not keep the image in memory. The image, including its MIP map pyramid, is stored in a tiled file that is created by {@link #convert(LDRImageTexture, File, int)}. Only the
+ * header is read by {@link #load(File, AngleF, Vector2F, TileCache)}. The tiles are loaded on demand through a {@link TileCache} instance, which evicts the least recently used tiles when its memory budget is exceeded. Many textures can therefore share
+ * a fixed amount of memory.
+ * <p>
+ * The tiled file starts with a header of five {@code int} values, the magic number, the resolution of the X-axis, the resolution of the Y-axis, the tile size and the MIP map level count. The header is followed by the tiles of each MIP map level,
+ * from the largest to the smallest level and in row-major order. Each tile contains {@code tileSize * tileSize} colors in packed form using the order ARGB. Tiles at the right or bottom edge are padded with zeroes.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class TiledLDRImageTexture implements Texture {
+	/**
+	 * The default tile size.
+	 */
+	public static final int DEFAULT_TILE_SIZE = 64;
+	
+	/**
+	 * The ID of this {@code TiledLDRImageTexture} class.
+	 */
+	public static final int ID = 13;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final AtomicInteger NEXT_TEXTURE_ID = new AtomicInteger();
+	private static final int HEADER_SIZE_IN_BYTES = 5 * Integer.BYTES;
+	private static final int MAGIC_NUMBER = 0x44545449;
+	private static final int MAXIMUM_TILE_COUNT = 1 << 17;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final AngleF angle;
+	private final File file;
+	private final LongFunction<int[]> tileLoader;
+	private final TileCache tileCache;
+	private final Vector2F scale;
+	private final int resolutionX;
+	private final int resolutionY;
+	private final int textureID;
+	private final int tileSize;
+	private final int[] mipMapResolutionsX;
+	private final int[] mipMapResolutionsY;
+	private final int[] tileCountsX;
+	private final long[] tileOffsets;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private TiledLDRImageTexture(final AngleF angle, final File file, final TileCache tileCache, final Vector2F scale, final int resolutionX, final int resolutionY, final int tileSize, final int mipMapLevelCount) {
+		this.angle = Objects.requireNonNull(angle, "angle == null");
+		this.file = Objects.requireNonNull(file, "file == null");
+		this.tileLoader = this::doLoadTile;
+		this.tileCache = Objects.requireNonNull(tileCache, "tileCache == null");
+		this.scale = Objects.requireNonNull(scale, "scale == null");
+		this.resolutionX = ParameterArguments.requireRange(resolutionX, 1, Integer.MAX_VALUE, "resolutionX");
+		this.resolutionY = ParameterArguments.requireRange(resolutionY, 1, Integer.MAX_VALUE, "resolutionY");
+		this.textureID = NEXT_TEXTURE_ID.getAndIncrement() & 0xFFFFFF;
+		this.tileSize = ParameterArguments.requireRange(tileSize, 1, 4096, "tileSize");
+		this.mipMapResolutionsX = new int[ParameterArguments.requireRange(mipMapLevelCount, 1, 32, "mipMapLevelCount")];
+		this.mipMapResolutionsY = new int[mipMapLevelCount];
+		this.tileCountsX = new int[mipMapLevelCount];
+		this.tileOffsets = new long[mipMapLevelCount];
+		
+		long tileOffset = 0L;
+		
+		for(int level = 0, levelResolutionX = resolutionX, levelResolutionY = resolutionY; level < mipMapLevelCount; level++, levelResolutionX = (levelResolutionX + 1) / 2, levelResolutionY = (levelResolutionY + 1) / 2) {
+			this.mipMapResolutionsX[level] = levelResolutionX;
+			this.mipMapResolutionsY[level] = levelResolutionY;
+			this.tileCountsX[level] = ParameterArguments.requireRange((levelResolutionX + tileSize - 1) / tileSize, 1, MAXIMUM_TILE_COUNT - 1, "tileCountX");
+			this.tileOffsets[level] = tileOffset;
+			
+			tileOffset += (long)(this.tileCountsX[level]) * ParameterArguments.requireRange((levelResolutionY + tileSize - 1) / tileSize, 1, MAXIMUM_TILE_COUNT - 1, "tileCountY");
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@link AngleF} instance to use.
+	 * 
+	 * @return the {@code AngleF} instance to use
+	 */
+	public AngleF getAngle() {
+		return this.angle;
+	}
+	
+	/**
+	 * Returns a {@link Color3F} instance representing the color of the surface at {@code intersection}.
+	 * <p>
+	 * If {@code intersection} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs while a tile is loaded, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * The MIP map level is selected in the same way as in {@link LDRImageTexture#getColor(Intersection)}.
+	 * 
+	 * @param intersection an {@link Intersection} instance
+	 * @return a {@code Color3F} instance representing the color of the surface at {@code intersection}
+	 * @throws NullPointerException thrown if, and only if, {@code intersection} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs while a tile is loaded
+	 */
+	@Override
+	public Color3F getColor(final Intersection intersection) {
+		final Point2F textureCoordinates = intersection.getTextureCoordinates();
+		final Point2F textureCoordinatesRotated = Point2F.rotateCounterclockwise(textureCoordinates, this.angle);
+		final Point2F textureCoordinatesScaled = Point2F.scale(textureCoordinatesRotated, this.scale);
+		
+		final float level = LDRImageTexture.computeMipMapLevel(this.angle, this.scale, this.resolutionX, this.resolutionY, intersection.getTextureCoordinatesDerivativeX(), intersection.getTextureCoordinatesDerivativeY());
+		
+		if(level <= 0.0F) {
+			return doGetColorRGB(0, textureCoordinatesScaled);
+		}
+		
+		final int levelA = toInt(floor(level));
+		final int levelB = levelA + 1;
+		
+		if(levelB >= this.mipMapResolutionsX.length) {
+			return doGetColorRGB(this.mipMapResolutionsX.length - 1, textureCoordinatesScaled);
+		}
+		
+		return Color3F.blend(doGetColorRGB(levelA, textureCoordinatesScaled), doGetColorRGB(levelB, textureCoordinatesScaled), level - levelA);
+	}
+	
+	/**
+	 * Returns the {@code File} that represents the tiled file.
+	 * 
+	 * @return the {@code File} that represents the tiled file
+	 */
+	public File getFile() {
+		return this.file;
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code TiledLDRImageTexture} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code TiledLDRImageTexture} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format("TiledLDRImageTexture.load(new File(\"%s\"), %s, %s)", this.file.getPath(), this.angle, this.scale);
+	}
+	
+	/**
+	 * Returns the {@link TileCache} instance that is used to load tiles.
+	 * 
+	 * @return the {@code TileCache} instance that is used to load tiles
+	 */
+	public TileCache getTileCache() {
+		return this.tileCache;
+	}
+	
+	/**
+	 * Returns the {@link Vector2F} instance to use as the scale factor.
+	 * 
+	 * @return the {@code Vector2F} instance to use as the scale factor
+	 */
+	public Vector2F getScale() {
+		return this.scale;
+	}
+	
+	/**
+	 * Accepts a {@link NodeHierarchicalVisitor}.
+	 * <p>
+	 * Returns the result of {@code nodeHierarchicalVisitor.visitLeave(this)}.
+	 * <p>
+	 * If {@code nodeHierarchicalVisitor} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If a {@code RuntimeException} is thrown by the current {@code NodeHierarchicalVisitor}, a {@code NodeTraversalException} will be thrown with the {@code RuntimeException} wrapped.
+	 * <p>
+	 * This implementation will:
+	 * <ul>
+	 * <li>throw a {@code NullPointerException} if {@code nodeHierarchicalVisitor} is {@code null}.</li>
+	 * <li>throw a {@code NodeTraversalException} if {@code nodeHierarchicalVisitor} throws a {@code RuntimeException}.</li>
+	 * <li>traverse its child {@code Node} instances.</li>
+	 * </ul>
+	 * 
+	 * @param nodeHierarchicalVisitor the {@code NodeHierarchicalVisitor} to accept
+	 * @return the result of {@code nodeHierarchicalVisitor.visitLeave(this)}
+	 * @throws NodeTraversalException thrown if, and only if, a {@code RuntimeException} is thrown by the current {@code NodeHierarchicalVisitor}
+	 * @throws NullPointerException thrown if, and only if, {@code nodeHierarchicalVisitor} is {@code null}
+	 */
+	@Override
+	public boolean accept(final NodeHierarchicalVisitor nodeHierarchicalVisitor) {
+		Objects.requireNonNull(nodeHierarchicalVisitor, "nodeHierarchicalVisitor == null");
+		
+		try {
+			if(nodeHierarchicalVisitor.visitEnter(this)) {
+				if(!this.scale.accept(nodeHierarchicalVisitor)) {
+					return nodeHierarchicalVisitor.visitLeave(this);
+				}
+			}
+			
+			return nodeHierarchicalVisitor.visitLeave(this);
+		} catch(final RuntimeException e) {
+			throw new NodeTraversalException(e);
+		}
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code TiledLDRImageTexture} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code TiledLDRImageTexture}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code TiledLDRImageTexture} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code TiledLDRImageTexture}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof TiledLDRImageTexture)) {
+			return false;
+		} else if(!Objects.equals(this.angle, TiledLDRImageTexture.class.cast(object).angle)) {
+			return false;
+		} else if(!Objects.equals(this.file, TiledLDRImageTexture.class.cast(object).file)) {
+			return false;
+		} else if(!Objects.equals(this.scale, TiledLDRImageTexture.class.cast(object).scale)) {
+			return false;
+		} else if(this.tileCache != TiledLDRImageTexture.class.cast(object).tileCache) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns a {@code float} representing the value of the surface at {@code intersection}.
+	 * <p>
+	 * If {@code intersection} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs while a tile is loaded, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param intersection an {@link Intersection} instance
+	 * @return a {@code float} representing the value of the surface at {@code intersection}
+	 * @throws NullPointerException thrown if, and only if, {@code intersection} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs while a tile is loaded
+	 */
+	@Override
+	public float getFloat(final Intersection intersection) {
+		return getColor(intersection).average();
+	}
+	
+	/**
+	 * Returns an {@code int} with the ID of this {@code TiledLDRImageTexture} instance.
+	 * 
+	 * @return an {@code int} with the ID of this {@code TiledLDRImageTexture} instance
+	 */
+	@Override
+	public int getID() {
+		return ID;
+	}
+	
+	/**
+	 * Returns the number of MIP map levels.
+	 * 
+	 * @return the number of MIP map levels
+	 */
+	public int getMipMapLevelCount() {
+		return this.mipMapResolutionsX.length;
+	}
+	
+	/**
+	 * Returns the resolution of the X-axis.
+	 * 
+	 * @return the resolution of the X-axis
+	 */
+	public int getResolutionX() {
+		return this.resolutionX;
+	}
+	
+	/**
+	 * Returns the resolution of the Y-axis.
+	 * 
+	 * @return the resolution of the Y-axis
+	 */
+	public int getResolutionY() {
+		return this.resolutionY;
+	}
+	
+	/**
+	 * Returns the tile size.
+	 * 
+	 * @return the tile size
+	 */
+	public int getTileSize() {
+		return this.tileSize;
+	}
+	
+	/**
+	 * Returns a hash code for this {@code TiledLDRImageTexture} instance.
+	 * 
+	 * @return a hash code for this {@code TiledLDRImageTexture} instance
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.angle, this.file, this.scale);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Loads a {@code TiledLDRImageTexture} from the tiled file represented by {@code file}.
+	 * <p>
+	 * Returns a new {@code TiledLDRImageTexture} instance.
+	 * <p>
+	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * TiledLDRImageTexture.load(file, AngleF.degrees(0.0F));
+	 * }
+	 * </pre>
+	 * 
+	 * @param file a {@code File} that represents the tiled file to load from
+	 * @return a new {@code TiledLDRImageTexture} instance
+	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public static TiledLDRImageTexture load(final File file) {
+		return load(file, AngleF.degrees(0.0F));
+	}
+	
+	/**
+	 * Loads a {@code TiledLDRImageTexture} from the tiled file represented by {@code file}.
+	 * <p>
+	 * Returns a new {@code TiledLDRImageTexture} instance.
+	 * <p>
+	 * If either {@code file} or {@code angle} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * TiledLDRImageTexture.load(file, angle, new Vector2F(1.0F, 1.0F));
+	 * }
+	 * </pre>
+	 * 
+	 * @param file a {@code File} that represents the tiled file to load from
+	 * @param angle the {@link AngleF} instance to use
+	 * @return a new {@code TiledLDRImageTexture} instance
+	 * @throws NullPointerException thrown if, and only if, either {@code file} or {@code angle} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public static TiledLDRImageTexture load(final File file, final AngleF angle) {
+		return load(file, angle, new Vector2F(1.0F, 1.0F));
+	}
+	
+	/**
+	 * Loads a {@code TiledLDRImageTexture} from the tiled file represented by {@code file}.
+	 * <p>
+	 * Returns a new {@code TiledLDRImageTexture} instance.
+	 * <p>
+	 * If either {@code file}, {@code angle} or {@code scale} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * TiledLDRImageTexture.load(file, angle, scale, TileCache.getDefault());
+	 * }
+	 * </pre>
+	 * 
+	 * @param file a {@code File} that represents the tiled file to load from
+	 * @param angle the {@link AngleF} instance to use
+	 * @param scale the {@link Vector2F} instance to use as the scale factor
+	 * @return a new {@code TiledLDRImageTexture} instance
+	 * @throws NullPointerException thrown if, and only if, either {@code file}, {@code angle} or {@code scale} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public static TiledLDRImageTexture load(final File file, final AngleF angle, final Vector2F scale) {
+		return load(file, angle, scale, TileCache.getDefault());
+	}
+	
+	/**
+	 * Loads a {@code TiledLDRImageTexture} from the tiled file represented by {@code file}.
+	 * <p>
+	 * Returns a new {@code TiledLDRImageTexture} instance.
+	 * <p>
+	 * If either {@code file}, {@code angle}, {@code scale} or {@code tileCache} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs or {@code file} is not a tiled file, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * Only the header of the tiled file is read by this method.
+	 * 
+	 * @param file a {@code File} that represents the tiled file to load from
+	 * @param angle the {@link AngleF} instance to use
+	 * @param scale the {@link Vector2F} instance to use as the scale factor
+	 * @param tileCache the {@link TileCache} instance that is used to load tiles
+	 * @return a new {@code TiledLDRImageTexture} instance
+	 * @throws NullPointerException thrown if, and only if, either {@code file}, {@code angle}, {@code scale} or {@code tileCache} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs or {@code file} is not a tiled file
+	 */
+	public static TiledLDRImageTexture load(final File file, final AngleF angle, final Vector2F scale, final TileCache tileCache) {
+		Objects.requireNonNull(file, "file == null");
+		Objects.requireNonNull(angle, "angle == null");
+		Objects.requireNonNull(scale, "scale == null");
+		Objects.requireNonNull(tileCache, "tileCache == null");
+		
+		try(final DataInputStream dataInputStream = new DataInputStream(new FileInputStream(file))) {
+			final int magicNumber = dataInputStream.readInt();
+			
+			if(magicNumber != MAGIC_NUMBER) {
+				throw new IOException(String.format("The file '%s' is not a tiled file.", file.getPath()));
+			}
+			
+			final int resolutionX = dataInputStream.readInt();
+			final int resolutionY = dataInputStream.readInt();
+			final int tileSize = dataInputStream.readInt();
+			final int mipMapLevelCount = dataInputStream.readInt();
+			
+			return new TiledLDRImageTexture(angle, file, tileCache, scale, resolutionX, resolutionY, tileSize, mipMapLevelCount);
+		} catch(final IllegalArgumentException e) {
+			throw new UncheckedIOException(new IOException(String.format("The file '%s' has an invalid header.", file.getPath()), e));
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Converts the image file represented by {@code imageFile} into the tiled file represented by {@code tiledFile}.
+	 * <p>
+	 * If either {@code imageFile} or {@code tiledFile} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * TiledLDRImageTexture.convert(LDRImageTexture.load(imageFile), tiledFile, TiledLDRImageTexture.DEFAULT_TILE_SIZE);
+	 * }
+	 * </pre>
+	 * 
+	 * @param imageFile a {@code File} that represents the image file to convert
+	 * @param tiledFile a {@code File} that represents the tiled file to write to
+	 * @throws NullPointerException thrown if, and only if, either {@code imageFile} or {@code tiledFile} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public static void convert(final File imageFile, final File tiledFile) {
+		convert(LDRImageTexture.load(imageFile), tiledFile, DEFAULT_TILE_SIZE);
+	}
+	
+	/**
+	 * Converts {@code lDRImageTexture} into the tiled file represented by {@code tiledFile}.
+	 * <p>
+	 * If either {@code lDRImageTexture} or {@code tiledFile} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code tileSize} is less than {@code 1} or greater than {@code 4096}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code UncheckedIOException} will be thrown.
+	 * <p>
+	 * All MIP map levels of {@code lDRImageTexture} are written. The angle and scale of {@code lDRImageTexture} are not written, but are instead given to {@link #load(File, AngleF, Vector2F, TileCache)}. This is typically done once, as a
+	 * preprocessing step, so the image does not have to be decoded into memory when a scene is rendered.
+	 * 
+	 * @param lDRImageTexture the {@link LDRImageTexture} instance to convert
+	 * @param tiledFile a {@code File} that represents the tiled file to write to
+	 * @param tileSize the tile size
+	 * @throws IllegalArgumentException thrown if, and only if, {@code tileSize} is less than {@code 1} or greater than {@code 4096}
+	 * @throws NullPointerException thrown if, and only if, either {@code lDRImageTexture} or {@code tiledFile} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O error occurs
+	 */
+	public static void convert(final LDRImageTexture lDRImageTexture, final File tiledFile, final int tileSize) {
+		Objects.requireNonNull(lDRImageTexture, "lDRImageTexture == null");
+		Objects.requireNonNull(tiledFile, "tiledFile == null");
+		
+		ParameterArguments.requireRange(tileSize, 1, 4096, "tileSize");
+		
+		try(final DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tiledFile)))) {
+			dataOutputStream.writeInt(MAGIC_NUMBER);
+			dataOutputStream.writeInt(lDRImageTexture.getResolutionX());
+			dataOutputStream.writeInt(lDRImageTexture.getResolutionY());
+			dataOutputStream.writeInt(tileSize);
+			dataOutputStream.writeInt(lDRImageTexture.getMipMapLevelCount());
+			
+			for(int level = 0; level < lDRImageTexture.getMipMapLevelCount(); level++) {
+				final int[] image = lDRImageTexture.getMipMapLevel(level);
+				
+				final int resolutionX = lDRImageTexture.getMipMapResolutionX(level);
+				final int resolutionY = lDRImageTexture.getMipMapResolutionY(level);
+				
+				for(int tileY = 0; tileY * tileSize < resolutionY; tileY++) {
+					for(int tileX = 0; tileX * tileSize < resolutionX; tileX++) {
+						for(int y = tileY * tileSize; y < (tileY + 1) * tileSize; y++) {
+							for(int x = tileX * tileSize; x < (tileX + 1) * tileSize; x++) {
+								dataOutputStream.writeInt(x < resolutionX && y < resolutionY ? image[y * resolutionX + x] : 0);
+							}
+						}
+					}
+				}
+			}
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Color3F doGetColorRGB(final int level, final Point2F textureCoordinates) {
+		final int resolutionX = this.mipMapResolutionsX[level];
+		final int resolutionY = this.mipMapResolutionsY[level];
+		
+		final Point2F textureCoordinatesImage = Point2F.toImage(textureCoordinates, resolutionX, resolutionY);
+		
+		final float x = textureCoordinatesImage.x;
+		final float y = textureCoordinatesImage.y;
+		
+		final int minimumX = positiveModulo(toInt(floor(x)), resolutionX);
+		final int maximumX = positiveModulo(toInt(ceil(x)), resolutionX);
+		
+		final int minimumY = positiveModulo(toInt(floor(y)), resolutionY);
+		final int maximumY = positiveModulo(toInt(ceil(y)), resolutionY);
+		
+		final int color00 = doGetColorARGB(level, minimumX, minimumY);
+		
+		if(minimumX == maximumX && minimumY == maximumY) {
+			return Color3F.unpack(color00);
+		}
+		
+		final int color01 = doGetColorARGB(level, maximumX, minimumY);
+		final int color10 = doGetColorARGB(level, minimumX, maximumY);
+		final int color11 = doGetColorARGB(level, maximumX, maximumY);
+		
+		final float xFactor = x - floor(x);
+		final float yFactor = y - floor(y);
+		
+		final float weight00 = (1.0F - xFactor) * (1.0F - yFactor);
+		final float weight01 = xFactor * (1.0F - yFactor);
+		final float weight10 = (1.0F - xFactor) * yFactor;
+		final float weight11 = xFactor * yFactor;
+		
+		final float r = ((color00 >> 16) & 0xFF) * weight00 + ((color01 >> 16) & 0xFF) * weight01 + ((color10 >> 16) & 0xFF) * weight10 + ((color11 >> 16) & 0xFF) * weight11;
+		final float g = ((color00 >>  8) & 0xFF) * weight00 + ((color01 >>  8) & 0xFF) * weight01 + ((color10 >>  8) & 0xFF) * weight10 + ((color11 >>  8) & 0xFF) * weight11;
+		final float b = ((color00 >>  0) & 0xFF) * weight00 + ((color01 >>  0) & 0xFF) * weight01 + ((color10 >>  0) & 0xFF) * weight10 + ((color11 >>  0) & 0xFF) * weight11;
+		
+		return new Color3F(r / 255.0F, g / 255.0F, b / 255.0F);
+	}
+	
+	private int doGetColorARGB(final int level, final int x, final int y) {
+		final int tileSize = this.tileSize;
+		final int tileX = x / tileSize;
+		final int tileY = y / tileSize;
+		
+		final long key = ((long)(this.textureID) << 40) | ((long)(level) << 35) | ((long)(tileY) << 17) | tileX;
+		
+		final int[] tile = this.tileCache.getTile(key, this.tileLoader);
+		
+		return tile[(y - tileY * tileSize) * tileSize + (x - tileX * tileSize)];
+	}
+	
+	private int[] doLoadTile(final long key) {
+		final int level = (int)((key >>> 35) & 0x1F);
+		final int tileY = (int)((key >>> 17) & 0x1FFFF);
+		final int tileX = (int)(key & 0x1FFFF);
+		
+		final int tileSize = this.tileSize;
+		final int tileLength = tileSize * tileSize;
+		
+		final long tileIndex = this.tileOffsets[level] + (long)(tileY) * this.tileCountsX[level] + tileX;
+		final long position = HEADER_SIZE_IN_BYTES + tileIndex * tileLength * Integer.BYTES;
+		
+		final ByteBuffer byteBuffer = ByteBuffer.allocate(tileLength * Integer.BYTES);
+		
+		try(final FileChannel fileChannel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+			while(byteBuffer.hasRemaining()) {
+				if(fileChannel.read(byteBuffer, position + byteBuffer.position()) < 0) {
+					throw new IOException(String.format("The file '%s' ended before tile %d in level %d was read.", this.file.getPath(), Long.valueOf(tileIndex), Integer.valueOf(level)));
+				}
+			}
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		byteBuffer.flip();
+		
+		final int[] tile = new int[tileLength];
+		
+		byteBuffer.asIntBuffer().get(tile);
+		
+		return tile;
+	}
+}
\ No newline at end of file
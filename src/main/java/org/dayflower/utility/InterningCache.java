@@ -0,0 +1,339 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.utility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * An {@code InterningCache} is a thread-safe and bounded cache that interns values, such that equal values can share a single instance.
+ * <p>
+ * The values are stored in two generations. New values are added to the current generation. When the current generation contains half of the maximum size, it becomes the previous generation and the old previous generation is evicted. A value that is
+ * found in the previous generation is moved back into the current generation. This approximates a least recently used eviction policy without any locking.
+ * <p>
+ * Because values may be evicted, {@link #intern(Object)} only guarantees that the returned value is equal to the supplied value. It may not always return the same instance for equal values.
+ * <p>
+ * All {@code InterningCache} instances are registered when they are constructed, so their metrics can be inspected using {@link #getInterningCaches()}.
+ * 
+ * @param <T> the type of the values to intern
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class InterningCache<T> {
+	/**
+	 * The default maximum size.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 131072;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final List<InterningCache<?>> INTERNING_CACHES = new CopyOnWriteArrayList<>();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final AtomicInteger maximumSize;
+	private final AtomicReference<Generations<T>> generations;
+	private final LongAdder evictionCount;
+	private final LongAdder hitCount;
+	private final LongAdder missCount;
+	private final String name;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code InterningCache} instance.
+	 * <p>
+	 * If {@code name} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new InterningCache<>(name, InterningCache.DEFAULT_MAXIMUM_SIZE);
+	 * }
+	 * </pre>
+	 * 
+	 * @param name the name of this {@code InterningCache} instance
+	 * @throws NullPointerException thrown if, and only if, {@code name} is {@code null}
+	 */
+	public InterningCache(final String name) {
+		this(name, DEFAULT_MAXIMUM_SIZE);
+	}
+	
+	/**
+	 * Constructs a new {@code InterningCache} instance.
+	 * <p>
+	 * If {@code name} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code maximumSize} is less than {@code 2}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param name the name of this {@code InterningCache} instance
+	 * @param maximumSize the maximum number of values in this {@code InterningCache} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code maximumSize} is less than {@code 2}
+	 * @throws NullPointerException thrown if, and only if, {@code name} is {@code null}
+	 */
+	public InterningCache(final String name, final int maximumSize) {
+		this.maximumSize = new AtomicInteger(ParameterArguments.requireRange(maximumSize, 2, Integer.MAX_VALUE, "maximumSize"));
+		this.generations = new AtomicReference<>(new Generations<>());
+		this.evictionCount = new LongAdder();
+		this.hitCount = new LongAdder();
+		this.missCount = new LongAdder();
+		this.name = Objects.requireNonNull(name, "name == null");
+		
+		INTERNING_CACHES.add(this);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the name of this {@code InterningCache} instance.
+	 * 
+	 * @return the name of this {@code InterningCache} instance
+	 */
+	public String getName() {
+		return this.name;
+	}
+	
+	/**
+	 * Returns an interned value that is equal to {@code value}.
+	 * <p>
+	 * If {@code value} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an equal value is present in this {@code InterningCache} instance, it will be returned. Otherwise {@code value} will be added and returned.
+	 * 
+	 * @param value the value to intern
+	 * @return an interned value that is equal to {@code value}
+	 * @throws NullPointerException thrown if, and only if, {@code value} is {@code null}
+	 */
+	public T intern(final T value) {
+		return intern(value, UnaryOperator.identity());
+	}
+	
+	/**
+	 * Returns an interned value that is equal to {@code value}.
+	 * <p>
+	 * If either {@code value}, {@code operator} or the value returned by {@code operator} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an equal value is present in this {@code InterningCache} instance, it will be returned. Otherwise {@code operator} will be called with {@code value} and the value it returns will be added and returned. The value returned by
+	 * {@code operator} has to be equal to {@code value}.
+	 * 
+	 * @param value the value to intern
+	 * @param operator a {@code UnaryOperator} that returns the value to add if no equal value is present
+	 * @return an interned value that is equal to {@code value}
+	 * @throws NullPointerException thrown if, and only if, either {@code value}, {@code operator} or the value returned by {@code operator} are {@code null}
+	 */
+	public T intern(final T value, final UnaryOperator<T> operator) {
+		Objects.requireNonNull(value, "value == null");
+		Objects.requireNonNull(operator, "operator == null");
+		
+		final Generations<T> generations = this.generations.get();
+		
+		final T currentValue = generations.current.get(value);
+		
+		if(currentValue != null) {
+			this.hitCount.increment();
+			
+			return currentValue;
+		}
+		
+		final T previousValue = generations.previous.remove(value);
+		
+		if(previousValue != null) {
+			this.hitCount.increment();
+			
+			final T oldValue = generations.current.putIfAbsent(previousValue, previousValue);
+			
+			return oldValue != null ? oldValue : previousValue;
+		}
+		
+		final T newValue = Objects.requireNonNull(operator.apply(value), "operator.apply(value) == null");
+		
+		final T oldValue = generations.current.putIfAbsent(newValue, newValue);
+		
+		if(oldValue != null) {
+			this.hitCount.increment();
+			
+			return oldValue;
+		}
+		
+		this.missCount.increment();
+		
+		if(generations.current.size() >= this.maximumSize.get() / 2 && this.generations.compareAndSet(generations, new Generations<>(generations.current))) {
+			this.evictionCount.add(generations.previous.size());
+		}
+		
+		return newValue;
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code InterningCache} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code InterningCache} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format(Locale.ENGLISH, "%s: size=%d, maximumSize=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.3f", this.name, Integer.valueOf(size()), Integer.valueOf(getMaximumSize()), Long.valueOf(getHitCount()), Long.valueOf(getMissCount()), Long.valueOf(getEvictionCount()), Double.valueOf(getHitRate()));
+	}
+	
+	/**
+	 * Returns the hit rate of this {@code InterningCache} instance.
+	 * <p>
+	 * The hit rate is the number of hits divided by the number of calls to {@link #intern(Object)}. If there have been no calls, {@code 0.0D} will be returned.
+	 * 
+	 * @return the hit rate of this {@code InterningCache} instance
+	 */
+	public double getHitRate() {
+		final long hitCount = getHitCount();
+		final long missCount = getMissCount();
+		
+		return hitCount + missCount > 0L ? (double)(hitCount) / (double)(hitCount + missCount) : 0.0D;
+	}
+	
+	/**
+	 * Returns the maximum number of values in this {@code InterningCache} instance.
+	 * 
+	 * @return the maximum number of values in this {@code InterningCache} instance
+	 */
+	public int getMaximumSize() {
+		return this.maximumSize.get();
+	}
+	
+	/**
+	 * Returns the number of values in this {@code InterningCache} instance.
+	 * 
+	 * @return the number of values in this {@code InterningCache} instance
+	 */
+	public int size() {
+		final Generations<T> generations = this.generations.get();
+		
+		return generations.current.size() + generations.previous.size();
+	}
+	
+	/**
+	 * Returns the number of values that have been evicted from this {@code InterningCache} instance.
+	 * <p>
+	 * Values removed by {@link #clear()} are not counted.
+	 * 
+	 * @return the number of values that have been evicted from this {@code InterningCache} instance
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+	
+	/**
+	 * Returns the number of calls to {@link #intern(Object)} that returned a value that was already present.
+	 * 
+	 * @return the number of calls to {@code intern(Object)} that returned a value that was already present
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+	
+	/**
+	 * Returns the number of calls to {@link #intern(Object)} that added a new value.
+	 * 
+	 * @return the number of calls to {@code intern(Object)} that added a new value
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+	
+	/**
+	 * Removes all values from this {@code InterningCache} instance.
+	 * <p>
+	 * The statistics are not reset. To reset them, call {@link #resetStatistics()}.
+	 */
+	public void clear() {
+		this.generations.set(new Generations<>());
+	}
+	
+	/**
+	 * Resets the hit, miss and eviction counts of this {@code InterningCache} instance.
+	 */
+	public void resetStatistics() {
+		this.evictionCount.reset();
+		this.hitCount.reset();
+		this.missCount.reset();
+	}
+	
+	/**
+	 * Sets the maximum number of values in this {@code InterningCache} instance to {@code maximumSize}.
+	 * <p>
+	 * If {@code maximumSize} is less than {@code 2}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * Values that exceed a smaller maximum size will be evicted as new values are added.
+	 * 
+	 * @param maximumSize the maximum number of values in this {@code InterningCache} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code maximumSize} is less than {@code 2}
+	 */
+	public void setMaximumSize(final int maximumSize) {
+		this.maximumSize.set(ParameterArguments.requireRange(maximumSize, 2, Integer.MAX_VALUE, "maximumSize"));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@code List} with all {@code InterningCache} instances that have been constructed.
+	 * <p>
+	 * Modifications to the returned {@code List} will not affect the registered {@code InterningCache} instances.
+	 * 
+	 * @return a {@code List} with all {@code InterningCache} instances that have been constructed
+	 */
+	public static List<InterningCache<?>> getInterningCaches() {
+		return Collections.unmodifiableList(new ArrayList<>(INTERNING_CACHES));
+	}
+	
+	/**
+	 * Removes all values from all {@code InterningCache} instances that have been constructed.
+	 * <p>
+	 * This can be called between scene loads, so values from a previous scene are not kept alive.
+	 */
+	public static void clearAll() {
+		for(final InterningCache<?> interningCache : INTERNING_CACHES) {
+			interningCache.clear();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Generations<T> {
+		public final Map<T, T> current;
+		public final Map<T, T> previous;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Generations() {
+			this(new ConcurrentHashMap<>());
+		}
+		
+		public Generations(final Map<T, T> previous) {
+			this.current = new ConcurrentHashMap<>();
+			this.previous = previous;
+		}
+	}
+}
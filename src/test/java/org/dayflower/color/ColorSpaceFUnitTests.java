@@ -79,6 +79,35 @@ public final class ColorSpaceFUnitTests {
 		assertTrue(ColorSpaceF.getDefault() == ColorSpaceF.S_R_G_B);
 	}
 	
+	@Test
+	public void testGetMatrixRGBToXYZAndGetMatrixXYZToRGB() {
+		final ColorSpaceF colorSpace = ColorSpaceF.S_R_G_B;
+		
+		final Color3F a = new Color3F(0.25F, 0.5F, 0.75F);
+		final Color3F b = colorSpace.convertRGBToXYZ(a);
+		final Color3F c = colorSpace.convertXYZToRGB(b);
+		
+		final float[] matrixRGBToXYZ = colorSpace.getMatrixRGBToXYZ();
+		final float[] matrixXYZToRGB = colorSpace.getMatrixXYZToRGB();
+		
+		assertEquals(9, matrixRGBToXYZ.length);
+		assertEquals(9, matrixXYZToRGB.length);
+		
+		assertEquals(b.r, matrixRGBToXYZ[0] * a.r + matrixRGBToXYZ[3] * a.g + matrixRGBToXYZ[6] * a.b);
+		assertEquals(b.g, matrixRGBToXYZ[1] * a.r + matrixRGBToXYZ[4] * a.g + matrixRGBToXYZ[7] * a.b);
+		assertEquals(b.b, matrixRGBToXYZ[2] * a.r + matrixRGBToXYZ[5] * a.g + matrixRGBToXYZ[8] * a.b);
+		
+		assertEquals(c.r, matrixXYZToRGB[0] * b.r + matrixXYZToRGB[1] * b.g + matrixXYZToRGB[2] * b.b);
+		assertEquals(c.g, matrixXYZToRGB[3] * b.r + matrixXYZToRGB[4] * b.g + matrixXYZToRGB[5] * b.b);
+		assertEquals(c.b, matrixXYZToRGB[6] * b.r + matrixXYZToRGB[7] * b.g + matrixXYZToRGB[8] * b.b);
+		
+		matrixRGBToXYZ[0] = 0.0F;
+		matrixXYZToRGB[0] = 0.0F;
+		
+		assertTrue(colorSpace.getMatrixRGBToXYZ()[0] != 0.0F);
+		assertTrue(colorSpace.getMatrixXYZToRGB()[0] != 0.0F);
+	}
+	
 	@Test
 	public void testRedoGammaCorrectionColor3F() {
 		final ColorSpaceF colorSpace = ColorSpaceF.IDENTITY;
@@ -109,6 +138,14 @@ public final class ColorSpaceFUnitTests {
 		assertThrows(NullPointerException.class, () -> colorSpace.redoGammaCorrection((Color4F)(null)));
 	}
 	
+	@Test
+	public void testRedoGammaCorrectionFloat() {
+		assertEquals(0.5F, ColorSpaceF.IDENTITY.redoGammaCorrection(0.5F));
+		assertEquals(2.0F, ColorSpaceF.IDENTITY.redoGammaCorrection(2.0F));
+		
+		assertEquals(ColorSpaceF.S_R_G_B.redoGammaCorrection(new Color3F(0.25F, 0.25F, 0.25F)).r, ColorSpaceF.S_R_G_B.redoGammaCorrection(0.25F));
+	}
+	
 	@Test
 	public void testUndoGammaCorrectionColor3F() {
 		final ColorSpaceF colorSpace = ColorSpaceF.IDENTITY;
@@ -138,4 +175,12 @@ public final class ColorSpaceFUnitTests {
 		
 		assertThrows(NullPointerException.class, () -> colorSpace.undoGammaCorrection((Color4F)(null)));
 	}
+	
+	@Test
+	public void testUndoGammaCorrectionFloat() {
+		assertEquals(0.5F, ColorSpaceF.IDENTITY.undoGammaCorrection(0.5F));
+		assertEquals(2.0F, ColorSpaceF.IDENTITY.undoGammaCorrection(2.0F));
+		
+		assertEquals(ColorSpaceF.S_R_G_B.undoGammaCorrection(new Color3F(0.25F, 0.25F, 0.25F)).r, ColorSpaceF.S_R_G_B.undoGammaCorrection(0.25F));
+	}
 }
\ No newline at end of file
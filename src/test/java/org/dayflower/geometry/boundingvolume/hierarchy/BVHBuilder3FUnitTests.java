@@ -0,0 +1,223 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.geometry.boundingvolume.hierarchy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.dayflower.geometry.BoundingVolume3F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.boundingvolume.AxisAlignedBoundingBox3F;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class BVHBuilder3FUnitTests {
+	public BVHBuilder3FUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testBuild() {
+		final List<BoundingVolume3F> boundingVolumes = doCreateBoundingVolumes(1000);
+		
+		final String node = new BVHBuilder3F(16, 4, false).build(boundingVolumes, new StringNodeFactory());
+		
+		final List<Integer> indices = new ArrayList<>();
+		
+		for(final String leaf : node.replaceAll("[()]", "").split("[\\[\\],]+")) {
+			if(!leaf.isEmpty()) {
+				indices.add(Integer.valueOf(leaf.trim()));
+			}
+		}
+		
+		assertEquals(boundingVolumes.size(), indices.size());
+		
+		for(int i = 0; i < boundingVolumes.size(); i++) {
+			assertTrue(indices.contains(Integer.valueOf(i)));
+		}
+		
+		for(final String leaf : node.split("\\[")) {
+			final int end = leaf.indexOf(']');
+			
+			if(end >= 0) {
+				assertTrue(leaf.substring(0, end).split(",").length <= 4);
+			}
+		}
+		
+		assertThrows(NullPointerException.class, () -> new BVHBuilder3F().build(boundingVolumes, null));
+		assertThrows(NullPointerException.class, () -> new BVHBuilder3F().build(Arrays.asList(new AxisAlignedBoundingBox3F(), null), new StringNodeFactory()));
+		assertThrows(NullPointerException.class, () -> new BVHBuilder3F().build((List<BoundingVolume3F>)(null), new StringNodeFactory()));
+	}
+	
+	@Test
+	public void testBuildEmpty() {
+		assertEquals("[]", new BVHBuilder3F().build(new ArrayList<BoundingVolume3F>(), new StringNodeFactory()));
+	}
+	
+	@Test
+	public void testBuildFloatArray() {
+		final List<BoundingVolume3F> boundingVolumes = doCreateBoundingVolumes(1000);
+		
+		final float[] bounds = new float[boundingVolumes.size() * 6];
+		
+		for(int i = 0; i < boundingVolumes.size(); i++) {
+			final Point3F maximum = boundingVolumes.get(i).getMaximum();
+			final Point3F minimum = boundingVolumes.get(i).getMinimum();
+			
+			bounds[i * 6 + 0] = minimum.x;
+			bounds[i * 6 + 1] = minimum.y;
+			bounds[i * 6 + 2] = minimum.z;
+			bounds[i * 6 + 3] = maximum.x;
+			bounds[i * 6 + 4] = maximum.y;
+			bounds[i * 6 + 5] = maximum.z;
+		}
+		
+		final String nodeA = new BVHBuilder3F(16, 4, false).build(boundingVolumes, new StringNodeFactory());
+		final String nodeB = new BVHBuilder3F(16, 4, false).build(bounds, new StringNodeFactory());
+		
+		assertEquals(nodeA, nodeB);
+		assertEquals("[]", new BVHBuilder3F().build(new float[0], new StringNodeFactory()));
+		
+		assertThrows(IllegalArgumentException.class, () -> new BVHBuilder3F().build(new float[5], new StringNodeFactory()));
+		assertThrows(NullPointerException.class, () -> new BVHBuilder3F().build(bounds, null));
+		assertThrows(NullPointerException.class, () -> new BVHBuilder3F().build((float[])(null), new StringNodeFactory()));
+	}
+	
+	@Test
+	public void testBuildParallel() {
+		final List<BoundingVolume3F> boundingVolumes = doCreateBoundingVolumes(20000);
+		
+		final String nodeA = new BVHBuilder3F(16, 8, false).build(boundingVolumes, new StringNodeFactory());
+		final String nodeB = new BVHBuilder3F(16, 8, true).build(boundingVolumes, new StringNodeFactory());
+		
+		assertEquals(nodeA, nodeB);
+	}
+	
+	@Test
+	public void testBuildSingle() {
+		assertEquals("[0]", new BVHBuilder3F().build(Arrays.asList(new AxisAlignedBoundingBox3F()), new StringNodeFactory()));
+	}
+	
+	@Test
+	public void testConstructor() {
+		final BVHBuilder3F bVHBuilder = new BVHBuilder3F();
+		
+		assertEquals(BVHBuilder3F.DEFAULT_BIN_COUNT, bVHBuilder.getBinCount());
+		assertEquals(BVHBuilder3F.DEFAULT_MAXIMUM_LEAF_SIZE, bVHBuilder.getMaximumLeafSize());
+		
+		assertTrue(bVHBuilder.isParallel());
+	}
+	
+	@Test
+	public void testConstructorIntIntBoolean() {
+		final BVHBuilder3F bVHBuilder = new BVHBuilder3F(4, 2, false);
+		
+		assertEquals(4, bVHBuilder.getBinCount());
+		assertEquals(2, bVHBuilder.getMaximumLeafSize());
+		
+		assertFalse(bVHBuilder.isParallel());
+		
+		assertThrows(IllegalArgumentException.class, () -> new BVHBuilder3F(1, 2, false));
+		assertThrows(IllegalArgumentException.class, () -> new BVHBuilder3F(4, 0, false));
+	}
+	
+	@Test
+	public void testEquals() {
+		final BVHBuilder3F a = new BVHBuilder3F(4, 2, false);
+		final BVHBuilder3F b = new BVHBuilder3F(4, 2, false);
+		final BVHBuilder3F c = new BVHBuilder3F(5, 2, false);
+		final BVHBuilder3F d = new BVHBuilder3F(4, 3, false);
+		final BVHBuilder3F e = new BVHBuilder3F(4, 2, true);
+		final BVHBuilder3F f = null;
+		
+		assertEquals(a, a);
+		assertEquals(a, b);
+		assertEquals(b, a);
+		
+		assertNotEquals(a, c);
+		assertNotEquals(c, a);
+		assertNotEquals(a, d);
+		assertNotEquals(d, a);
+		assertNotEquals(a, e);
+		assertNotEquals(e, a);
+		assertNotEquals(a, f);
+		assertNotEquals(f, a);
+	}
+	
+	@Test
+	public void testHashCode() {
+		final BVHBuilder3F a = new BVHBuilder3F(4, 2, false);
+		final BVHBuilder3F b = new BVHBuilder3F(4, 2, false);
+		
+		assertEquals(a.hashCode(), a.hashCode());
+		assertEquals(a.hashCode(), b.hashCode());
+	}
+	
+	@Test
+	public void testToString() {
+		final BVHBuilder3F bVHBuilder = new BVHBuilder3F(4, 2, false);
+		
+		assertEquals("new BVHBuilder3F(4, 2, false)", bVHBuilder.toString());
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static List<BoundingVolume3F> doCreateBoundingVolumes(final int count) {
+		final Random random = new Random(1L);
+		
+		final List<BoundingVolume3F> boundingVolumes = new ArrayList<>(count);
+		
+		for(int i = 0; i < count; i++) {
+			final Point3F minimum = new Point3F(random.nextFloat() * 100.0F, random.nextFloat() * 100.0F, random.nextFloat() * 100.0F);
+			final Point3F maximum = new Point3F(minimum.x + random.nextFloat(), minimum.y + random.nextFloat(), minimum.z + random.nextFloat());
+			
+			boundingVolumes.add(new AxisAlignedBoundingBox3F(maximum, minimum));
+		}
+		
+		return boundingVolumes;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class StringNodeFactory implements BVHBuilder3F.NodeFactory<String> {
+		public StringNodeFactory() {
+			
+		}
+		
+		@Override
+		public String createLeafNode(final Point3F maximum, final Point3F minimum, final int depth, final int[] indices) {
+			return Arrays.toString(indices).replace(" ", "");
+		}
+		
+		@Override
+		public String createTreeNode(final Point3F maximum, final Point3F minimum, final int depth, final String nodeL, final String nodeR) {
+			return "(" + nodeL + "," + nodeR + ")";
+		}
+	}
+}
@@ -0,0 +1,194 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.geometry.shape;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.dayflower.geometry.Point2F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.Point4F;
+import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.Vector3F;
+import org.dayflower.geometry.shape.Triangle3F.Vertex3F;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class TriangleMesh3FUnitTests {
+	public TriangleMesh3FUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testConstructorArrays() {
+		final float[] positions = {0.0F, 0.0F, 0.0F, 1.0F, 0.0F, 0.0F, 0.0F, 1.0F, 0.0F, 1.0F, 1.0F, 0.0F};
+		final float[] normals = {0.0F, 0.0F, 1.0F, 0.0F, 0.0F, 1.0F, 0.0F, 0.0F, 1.0F, 0.0F, 0.0F, 1.0F};
+		final float[] textureCoordinates = {0.0F, 0.0F, 1.0F, 0.0F, 0.0F, 1.0F, 1.0F, 1.0F};
+		
+		final int[] indices = {0, 1, 2, 2, 1, 3};
+		
+		final TriangleMesh3F triangleMesh = new TriangleMesh3F(positions, normals, textureCoordinates, indices, "G", "M", "O");
+		
+		assertEquals(2, triangleMesh.getTriangleCount());
+		assertEquals(4, triangleMesh.getVertexCount());
+		assertEquals(1.0F, triangleMesh.getSurfaceArea());
+		assertEquals(2, triangleMesh.getTriangles().size());
+		assertEquals(new Point4F(1.0F, 1.0F, 0.0F), triangleMesh.getTriangles().get(1).getC().getPosition());
+		
+		assertTrue(triangleMesh.getRootBVHNode().isPresent());
+		
+		assertThrows(IllegalArgumentException.class, () -> new TriangleMesh3F(new float[4], normals, textureCoordinates, indices, "G", "M", "O"));
+		assertThrows(IllegalArgumentException.class, () -> new TriangleMesh3F(positions, new float[9], textureCoordinates, indices, "G", "M", "O"));
+		assertThrows(IllegalArgumentException.class, () -> new TriangleMesh3F(positions, normals, new float[6], indices, "G", "M", "O"));
+		assertThrows(IllegalArgumentException.class, () -> new TriangleMesh3F(positions, normals, textureCoordinates, new int[] {0, 1}, "G", "M", "O"));
+		assertThrows(IllegalArgumentException.class, () -> new TriangleMesh3F(positions, normals, textureCoordinates, new int[] {0, 1, 4}, "G", "M", "O"));
+		assertThrows(IllegalArgumentException.class, () -> new TriangleMesh3F(new float[0], new float[0], new float[0], new int[] {0, 0, 0}, "G", "M", "O"));
+		assertThrows(NullPointerException.class, () -> new TriangleMesh3F(null, normals, textureCoordinates, indices, "G", "M", "O"));
+		assertThrows(NullPointerException.class, () -> new TriangleMesh3F(positions, normals, textureCoordinates, null, "G", "M", "O"));
+		assertThrows(NullPointerException.class, () -> new TriangleMesh3F(positions, normals, textureCoordinates, indices, null, "M", "O"));
+	}
+	
+	@Test
+	public void testConstructorList() {
+		final List<Triangle3F> triangles = doCreateTriangles(200);
+		
+		final TriangleMesh3F triangleMesh = new TriangleMesh3F(triangles, "G", "M", "O");
+		
+		assertEquals(triangles, triangleMesh.getTriangles());
+		assertEquals(triangles.size(), triangleMesh.getTriangleCount());
+		assertEquals(triangles.size() * 3, triangleMesh.getVertexCount());
+		
+		assertTrue(triangleMesh.getSizeInBytes() > 0L);
+		
+		assertThrows(NullPointerException.class, () -> new TriangleMesh3F((List<Triangle3F>)(null), "G", "M", "O"));
+	}
+	
+	@Test
+	public void testIntersectionT() {
+		final List<Triangle3F> triangles = doCreateTriangles(500);
+		
+		final TriangleMesh3F triangleMeshA = new TriangleMesh3F(triangles, "G", "M", "O", true);
+		final TriangleMesh3F triangleMeshB = new TriangleMesh3F(triangles, "G", "M", "O", false);
+		
+		final Random random = new Random(2L);
+		
+		for(int i = 0; i < 2000; i++) {
+			final Point3F origin = new Point3F(random.nextFloat() * 20.0F - 10.0F, random.nextFloat() * 20.0F - 10.0F, random.nextFloat() * 20.0F - 10.0F);
+			
+			final Vector3F direction = Vector3F.normalize(new Vector3F(random.nextFloat() - 0.5F, random.nextFloat() - 0.5F, random.nextFloat() - 0.5F));
+			
+			final Ray3F ray = new Ray3F(origin, direction);
+			
+			float t = Float.NaN;
+			
+			for(final Triangle3F triangle : triangles) {
+				final float tCurrent = triangle.intersectionT(ray, 0.001F, Float.MAX_VALUE);
+				
+				if(!Float.isNaN(tCurrent) && tCurrent > 0.001F && (Float.isNaN(t) || tCurrent < t)) {
+					t = tCurrent;
+				}
+			}
+			
+			assertEquals(t, triangleMeshA.intersectionT(ray, 0.001F, Float.MAX_VALUE));
+			assertEquals(t, triangleMeshB.intersectionT(ray, 0.001F, Float.MAX_VALUE));
+			assertEquals(!Float.isNaN(t), triangleMeshA.intersection(ray, 0.001F, Float.MAX_VALUE).isPresent());
+			
+			if(Float.isNaN(t)) {
+				assertFalse(triangleMeshA.intersects(ray, 0.001F, Float.MAX_VALUE));
+			}
+		}
+	}
+	
+	@Test
+	public void testReadWavefrontObjectCache() throws IOException {
+		final File file = File.createTempFile("TriangleMesh3FUnitTests", ".obj");
+		final File cacheFile = new File(file.getPath() + ".dfmesh");
+		
+		try {
+			Files.write(file.toPath(), "g A\nv 0 0 0\nv 1 0 0\nv 0 1 0\nv 1 1 0\nf 1 2 3\nf 3 2 4\ng B\nf 1 2 4\n".getBytes(StandardCharsets.UTF_8));
+			
+			final List<TriangleMesh3F> triangleMeshesA = TriangleMesh3F.readWavefrontObject(file, false, 2.0F, true);
+			
+			assertTrue(cacheFile.isFile());
+			
+			final List<TriangleMesh3F> triangleMeshesB = TriangleMesh3F.readWavefrontObject(file, false, 2.0F, true);
+			final List<TriangleMesh3F> triangleMeshesC = TriangleMesh3F.readWavefrontObject(file, false, 2.0F, false);
+			
+			assertEquals(2, triangleMeshesA.size());
+			assertEquals(2, triangleMeshesB.size());
+			assertEquals(2, triangleMeshesC.size());
+			
+			for(int i = 0; i < triangleMeshesA.size(); i++) {
+				assertEquals(triangleMeshesA.get(i).getTriangles(), triangleMeshesB.get(i).getTriangles());
+				assertEquals(triangleMeshesA.get(i).getTriangles(), triangleMeshesC.get(i).getTriangles());
+				assertEquals(triangleMeshesA.get(i).getGroupName(), triangleMeshesB.get(i).getGroupName());
+				assertEquals(triangleMeshesA.get(i).getBoundingVolumes(), triangleMeshesB.get(i).getBoundingVolumes());
+				assertEquals(triangleMeshesA.get(i).getSizeInBytes(), triangleMeshesB.get(i).getSizeInBytes());
+			}
+			
+			assertTrue(triangleMeshesC.get(0).getBoundingVolumes().isEmpty());
+			
+			try(final RandomAccessFile randomAccessFile = new RandomAccessFile(cacheFile, "rw")) {
+				randomAccessFile.setLength(randomAccessFile.length() - 4L);
+			}
+			
+			final List<TriangleMesh3F> triangleMeshesD = TriangleMesh3F.readWavefrontObject(file, false, 2.0F, false);
+			
+			assertEquals(triangleMeshesC.get(1).getTriangles(), triangleMeshesD.get(1).getTriangles());
+		} finally {
+			file.delete();
+			cacheFile.delete();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static List<Triangle3F> doCreateTriangles(final int count) {
+		final Random random = new Random(1L);
+		
+		final List<Triangle3F> triangles = new ArrayList<>(count);
+		
+		for(int i = 0; i < count; i++) {
+			final float x = random.nextFloat() * 10.0F - 5.0F;
+			final float y = random.nextFloat() * 10.0F - 5.0F;
+			final float z = random.nextFloat() * 10.0F - 5.0F;
+			
+			final Vertex3F a = new Vertex3F(new Point2F(0.0F, 0.0F), new Point4F(x, y, z), Vector3F.z());
+			final Vertex3F b = new Vertex3F(new Point2F(1.0F, 0.0F), new Point4F(x + random.nextFloat(), y, z + random.nextFloat()), Vector3F.z());
+			final Vertex3F c = new Vertex3F(new Point2F(0.0F, 1.0F), new Point4F(x, y + random.nextFloat(), z + random.nextFloat()), Vector3F.z());
+			
+			triangles.add(new Triangle3F(a, b, c));
+		}
+		
+		return triangles;
+	}
+}
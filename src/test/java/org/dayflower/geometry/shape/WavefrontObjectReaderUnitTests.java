@@ -0,0 +1,180 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.geometry.shape;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class WavefrontObjectReaderUnitTests {
+	public WavefrontObjectReaderUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testReadFileChunked() throws IOException {
+		final StringBuilder stringBuilder = new StringBuilder();
+		
+		final Random random = new Random(1L);
+		
+		for(int i = 0; i < 500; i++) {
+			if(i % 50 == 0) {
+				stringBuilder.append("g Group" + i / 100 + "\n");
+				stringBuilder.append("usemtl Material" + i / 50 + "\n");
+			}
+			
+			stringBuilder.append(String.format("v %s %s %s%n", Float.toString(random.nextFloat()), Float.toString(random.nextFloat() * 100.0F), Float.toString(-random.nextFloat())));
+			stringBuilder.append(String.format("vt %s %s%n", Float.toString(random.nextFloat()), Float.toString(random.nextFloat())));
+			
+			if(i >= 2) {
+				stringBuilder.append(random.nextBoolean() ? "f -3/-3 -2/-2 -1/-1\n" : String.format("f %d/%d %d/%d %d/%d%n", Integer.valueOf(i - 1), Integer.valueOf(i - 1), Integer.valueOf(i), Integer.valueOf(i), Integer.valueOf(i + 1), Integer.valueOf(i + 1)));
+			}
+		}
+		
+		final File file = File.createTempFile("WavefrontObjectReaderUnitTests", ".obj");
+		
+		try {
+			Files.write(file.toPath(), stringBuilder.toString().getBytes(StandardCharsets.UTF_8));
+			
+			final WavefrontObjectReader.Model modelA = new WavefrontObjectReader(true, false).read(file);
+			final WavefrontObjectReader.Model modelB = new WavefrontObjectReader(true, true, 64).read(file);
+			
+			assertEquals(498, modelA.getTriangleCount());
+			assertEquals(10, modelA.getRunCount());
+			assertEquals(modelA.getTriangleCount(), modelB.getTriangleCount());
+			assertEquals(modelA.getRunCount(), modelB.getRunCount());
+			
+			for(int i = 0; i < modelA.getRunCount(); i++) {
+				assertEquals(modelA.getRunStart(i), modelB.getRunStart(i));
+				assertEquals(modelA.getRunEnd(i), modelB.getRunEnd(i));
+				assertEquals(modelA.getRunGroupName(i), modelB.getRunGroupName(i));
+				assertEquals(modelA.getRunMaterialName(i), modelB.getRunMaterialName(i));
+			}
+			
+			final WavefrontObjectReader.Mesh meshA = modelA.createMesh(0, modelA.getTriangleCount());
+			final WavefrontObjectReader.Mesh meshB = modelB.createMesh(0, modelB.getTriangleCount());
+			
+			assertArrayEquals(meshA.getIndices(), meshB.getIndices());
+			assertArrayEquals(meshA.getNormals(), meshB.getNormals());
+			assertArrayEquals(meshA.getPositions(), meshB.getPositions());
+			assertArrayEquals(meshA.getTextureCoordinates(), meshB.getTextureCoordinates());
+		} finally {
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadFloats() throws IOException {
+		final Random random = new Random(2L);
+		
+		final String[] strings = new String[20000];
+		
+		for(int i = 0; i < strings.length; i++) {
+			switch(i % 5) {
+				case 0:
+					strings[i] = Float.toString(Float.intBitsToFloat(random.nextInt()) % 1.0e6F);
+					break;
+				case 1:
+					strings[i] = String.format("%.6f", Double.valueOf(random.nextDouble() * 200.0D - 100.0D));
+					break;
+				case 2:
+					strings[i] = String.format("%.17g", Double.valueOf(random.nextGaussian()));
+					break;
+				case 3:
+					strings[i] = Integer.toString(random.nextInt(2001) - 1000) + "e" + Integer.toString(random.nextInt(81) - 40);
+					break;
+				default:
+					strings[i] = Double.toString(Float.intBitsToFloat(random.nextInt(0x7F800000)));
+					break;
+			}
+		}
+		
+		final StringBuilder stringBuilder = new StringBuilder();
+		
+		for(int i = 0; i + 2 < strings.length; i += 3) {
+			stringBuilder.append("v " + strings[i] + " " + strings[i + 1] + "\t" + strings[i + 2] + "\r\n");
+			stringBuilder.append("f -1 -1 -1\n");
+		}
+		
+		final WavefrontObjectReader.Model model = new WavefrontObjectReader(false, false).read(stringBuilder.toString());
+		
+		for(int i = 0; i + 2 < strings.length; i += 3) {
+			final float[] positions = model.createMesh(i / 3, i / 3 + 1).getPositions();
+			
+			for(int j = 0; j < 3; j++) {
+				assertEquals(Float.floatToIntBits(Float.parseFloat(strings[i + j])), Float.floatToIntBits(positions[j]));
+			}
+		}
+	}
+	
+	@Test
+	public void testReadString() throws IOException {
+		final String string = "# Comment\n"
+			+ "o Object\n"
+			+ "v 0 0 0\nv 1 0 0\nv 1 1 0\nv 0 1 0\n"
+			+ "vt 0 0\nvt 1 0\nvt 1 1\nvt 0 1\n"
+			+ "vn 0 0 1\n"
+			+ "g Group\n"
+			+ "usemtl A\n"
+			+ "f 1/1/1 2/2/1 3/3/1 4/4/1\n"
+			+ "usemtl B\n"
+			+ "f -4/-4 -2/-2 -1/-1\n"
+			+ "usemtl C\n";
+		
+		final WavefrontObjectReader.Model model = new WavefrontObjectReader(true, false).read(string);
+		
+		assertEquals(3, model.getTriangleCount());
+		assertEquals(2, model.getRunCount());
+		assertEquals(0, model.getRunStart(0));
+		assertEquals(2, model.getRunEnd(0));
+		assertEquals(2, model.getRunStart(1));
+		assertEquals(3, model.getRunEnd(1));
+		assertEquals("Group", model.getRunGroupName(1));
+		assertEquals("A", model.getRunMaterialName(0));
+		assertEquals("B", model.getRunMaterialName(1));
+		assertEquals("Object", model.getRunObjectName(1));
+		
+		final WavefrontObjectReader.Mesh meshA = model.createMesh(0, 2);
+		
+		assertArrayEquals(new int[] {0, 1, 2, 0, 2, 3}, meshA.getIndices());
+		assertArrayEquals(new float[] {0.0F, 1.0F, 1.0F, 1.0F, 1.0F, 0.0F, 0.0F, 0.0F}, meshA.getTextureCoordinates());
+		
+		final WavefrontObjectReader.Mesh meshB = model.createMesh(2, 3);
+		
+		assertArrayEquals(new int[] {0, 1, 2}, meshB.getIndices());
+		assertArrayEquals(new float[] {0.0F, 0.0F, 0.0F, 1.0F, 1.0F, 0.0F, 0.0F, 1.0F, 0.0F}, meshB.getPositions());
+		assertArrayEquals(new float[] {0.0F, 0.0F, 1.0F, 0.0F, 0.0F, 1.0F, 0.0F, 0.0F, 1.0F}, meshB.getNormals());
+		
+		assertThrows(IOException.class, () -> new WavefrontObjectReader(false, false).read("v 0 0 0\nf 1 2 3\n"));
+		assertThrows(IOException.class, () -> new WavefrontObjectReader(false, false).read("v 0 0 0\nf 1/1 1/1 1/1\n"));
+		assertThrows(NullPointerException.class, () -> new WavefrontObjectReader(false, false).read((String)(null)));
+		assertThrows(IllegalArgumentException.class, () -> new WavefrontObjectReader(false, false, 0));
+	}
+}
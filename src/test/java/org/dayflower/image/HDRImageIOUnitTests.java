@@ -0,0 +1,232 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.image;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.color.Color4F;
+import org.dayflower.image.HDRImageIO.Compression;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class HDRImageIOUnitTests {
+	public HDRImageIOUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testReadEXRMalformed() throws IOException {
+		final File file = File.createTempFile("HDRImageIOUnitTests", ".exr");
+		
+		try {
+			Files.write(file.toPath(), "Not an OpenEXR file".getBytes(StandardCharsets.US_ASCII));
+			
+			assertThrows(UncheckedIOException.class, () -> HDRImageIO.readEXR(file));
+			
+			HDRImageIO.writeEXR(file, doCreateFloatImage(37, 21, false), Compression.ZIP);
+			
+			try(final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+				randomAccessFile.setLength(randomAccessFile.length() - 10L);
+			}
+			
+			assertThrows(UncheckedIOException.class, () -> HDRImageIO.readEXR(file));
+			assertThrows(NullPointerException.class, () -> HDRImageIO.readEXR(null));
+		} finally {
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadPFMMalformed() throws IOException {
+		final File file = File.createTempFile("HDRImageIOUnitTests", ".pfm");
+		
+		try {
+			Files.write(file.toPath(), "PF\n4 4\n-1.0\n".getBytes(StandardCharsets.US_ASCII));
+			
+			assertThrows(UncheckedIOException.class, () -> HDRImageIO.readPFM(file));
+			
+			Files.write(file.toPath(), "P6\n4 4\n255\n".getBytes(StandardCharsets.US_ASCII));
+			
+			assertThrows(UncheckedIOException.class, () -> HDRImageIO.readPFM(file));
+			assertThrows(NullPointerException.class, () -> HDRImageIO.readPFM(null));
+		} finally {
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadPFMGrayscaleBigEndian() throws IOException {
+		final File file = File.createTempFile("HDRImageIOUnitTests", ".pfm");
+		
+		try {
+			final byte[] header = "Pf\n2 1\n1.0\n".getBytes(StandardCharsets.US_ASCII);
+			final byte[] bytes = ByteBuffer.allocate(header.length + 8).put(header).putFloat(0.5F).putFloat(2.0F).array();
+			
+			Files.write(file.toPath(), bytes);
+			
+			final FloatImageF floatImage = HDRImageIO.readPFM(file);
+			
+			assertEquals(2, floatImage.getResolutionX());
+			assertEquals(1, floatImage.getResolutionY());
+			
+			assertArrayEquals(new float[] {0.5F, 0.5F, 0.5F, 1.0F, 2.0F, 2.0F, 2.0F, 1.0F}, floatImage.getData());
+		} finally {
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testWriteEXRAndReadEXR() throws IOException {
+		final File file = File.createTempFile("HDRImageIOUnitTests", ".exr");
+		
+		try {
+			for(final boolean isSmooth : new boolean[] {false, true}) {
+				final FloatImageF floatImage = doCreateFloatImage(37, 21, isSmooth);
+				
+				long lengthNone = 0L;
+				
+				for(final Compression compression : Compression.values()) {
+					HDRImageIO.writeEXR(file, floatImage, compression);
+					
+					final FloatImageF floatImageRead = HDRImageIO.readEXR(file);
+					
+					assertEquals(floatImage.getResolutionX(), floatImageRead.getResolutionX());
+					assertEquals(floatImage.getResolutionY(), floatImageRead.getResolutionY());
+					
+					assertArrayEquals(floatImage.getData(), floatImageRead.getData());
+					
+					if(compression == Compression.NONE) {
+						lengthNone = file.length();
+					} else if(isSmooth) {
+						assertTrue(file.length() < lengthNone);
+					}
+				}
+			}
+			
+			assertThrows(NullPointerException.class, () -> HDRImageIO.writeEXR(file, new FloatImageF(1, 1), null));
+			assertThrows(NullPointerException.class, () -> HDRImageIO.writeEXR(file, null, Compression.NONE));
+			assertThrows(NullPointerException.class, () -> HDRImageIO.writeEXR(null, new FloatImageF(1, 1), Compression.NONE));
+		} finally {
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testWriteFilmEXRAndWriteFilmPFM() throws IOException {
+		final File fileEXR = File.createTempFile("HDRImageIOUnitTests", ".exr");
+		final File filePFM = File.createTempFile("HDRImageIOUnitTests", ".pfm");
+		
+		try {
+			final PixelImageF pixelImage = new PixelImageF(8, 6);
+			
+			pixelImage.filmAddColorXYZ(2.5F, 3.5F, new Color3F(4.0F, 5.0F, 6.0F));
+			pixelImage.filmRender();
+			
+			HDRImageIO.writeFilmEXR(fileEXR, pixelImage, Compression.RLE);
+			HDRImageIO.writeFilmPFM(filePFM, pixelImage);
+			
+			final float[] dataEXR = HDRImageIO.readEXR(fileEXR).getData();
+			final float[] dataPFM = HDRImageIO.readPFM(filePFM).getData();
+			final float[] scanline = new float[8 * 4];
+			
+			float maximum = 0.0F;
+			
+			for(int y = 0; y < 6; y++) {
+				pixelImage.filmCopyScanlineTo(y, scanline);
+				
+				for(int i = 0; i < scanline.length; i++) {
+					assertEquals(scanline[i], dataEXR[y * scanline.length + i]);
+					assertEquals(scanline[i], dataPFM[y * scanline.length + i]);
+					
+					maximum = Math.max(maximum, i % 4 == 3 ? 0.0F : scanline[i]);
+				}
+			}
+			
+//			The film is linear, so it is not clamped to 1.0F like a gamma corrected 8-bit image:
+			assertTrue(maximum > 1.0F);
+			
+			assertThrows(NullPointerException.class, () -> HDRImageIO.writeFilmPFM(filePFM, null));
+		} finally {
+			fileEXR.delete();
+			filePFM.delete();
+		}
+	}
+	
+	@Test
+	public void testWritePFMAndReadPFM() throws IOException {
+		final File file = File.createTempFile("HDRImageIOUnitTests", ".pfm");
+		
+		try {
+			final FloatImageF floatImage = doCreateFloatImage(37, 21, false);
+			
+			final float[] data = floatImage.getData();
+			
+			for(int i = 3; i < data.length; i += 4) {
+				data[i] = 1.0F;
+			}
+			
+			HDRImageIO.writePFM(file, new FloatImageF(37, 21, data));
+			
+			assertEquals(37L * 21L * 12L + "PF\n37 21\n-1.0\n".length(), file.length());
+			
+			assertArrayEquals(data, HDRImageIO.readPFM(file).getData());
+			
+			final PixelImageF pixelImage = new PixelImageF(37, 21, new Color4F(0.25F, 0.5F, 0.75F));
+			
+			HDRImageIO.writePFM(file, pixelImage);
+			
+			assertArrayEquals(new float[] {0.25F, 0.5F, 0.75F, 1.0F}, Arrays.copyOf(HDRImageIO.readPFM(file).getData(), 4));
+			
+			assertThrows(NullPointerException.class, () -> HDRImageIO.writePFM(file, null));
+			assertThrows(NullPointerException.class, () -> HDRImageIO.writePFM(null, floatImage));
+		} finally {
+			file.delete();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static FloatImageF doCreateFloatImage(final int resolutionX, final int resolutionY, final boolean isSmooth) {
+		final Random random = new Random(1L);
+		
+		final float[] data = new float[resolutionX * resolutionY * 4];
+		
+		for(int i = 0; i < data.length; i++) {
+			data[i] = isSmooth ? (i / 4 % resolutionX) / 4 * 0.5F : random.nextFloat() * 100.0F - 10.0F;
+		}
+		
+		return new FloatImageF(resolutionX, resolutionY, data, true);
+	}
+}
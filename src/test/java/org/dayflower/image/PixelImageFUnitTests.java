@@ -0,0 +1,106 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.dayflower.color.Color4F;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class PixelImageFUnitTests {
+	public PixelImageFUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testCreateSampleDensity() {
+		final PixelImageF pixelImage = PixelImageF.createSampleDensity(2, 1, new int[] {4, 2});
+		
+		assertEquals(new Color4F(1.0F, 1.0F, 1.0F, 1.0F), pixelImage.getColorRGBA(0, 0));
+		assertEquals(new Color4F(0.5F, 0.5F, 0.5F, 1.0F), pixelImage.getColorRGBA(1, 0));
+		assertEquals(new Color4F(0.0F, 0.0F, 0.0F, 1.0F), PixelImageF.createSampleDensity(1, 1, new int[] {0}).getColorRGBA(0, 0));
+		
+		assertThrows(IllegalArgumentException.class, () -> PixelImageF.createSampleDensity(2, 2, new int[] {4, 2}));
+		assertThrows(NullPointerException.class, () -> PixelImageF.createSampleDensity(2, 1, null));
+	}
+	
+	@Test
+	public void testFilmAddSample() {
+		final PixelImageF pixelImage = new PixelImageF(2, 2);
+		
+		assertEquals(0, pixelImage.filmGetSampleCount(3));
+		assertEquals(Float.POSITIVE_INFINITY, pixelImage.filmGetSampleError(3));
+		
+		pixelImage.filmAddSample(1, 1, 1.0F);
+		
+		assertEquals(1, pixelImage.filmGetSampleCount(3));
+		assertEquals(Float.POSITIVE_INFINITY, pixelImage.filmGetSampleError(3));
+		
+		pixelImage.filmAddSample(1, 1, 3.0F);
+		
+//		The mean is 2, the sample variance is 2 and the standard error is sqrt(2 / 2) = 1:
+		assertEquals(2, pixelImage.filmGetSampleCount(3));
+		assertEquals(0.5F, pixelImage.filmGetSampleError(3), 1.0e-6F);
+		
+		pixelImage.filmAddSample(2, 1, 1.0F);
+		pixelImage.filmAddSample(-1, 1, 1.0F);
+		
+		assertEquals(0, pixelImage.filmGetSampleCount(0));
+		assertEquals(0, pixelImage.filmGetSampleCount(1));
+		assertEquals(0, pixelImage.filmGetSampleCount(2));
+		
+		pixelImage.filmClear();
+		
+		assertEquals(0, pixelImage.filmGetSampleCount(3));
+		
+		assertThrows(IllegalArgumentException.class, () -> pixelImage.filmGetSampleCount(4));
+		assertThrows(IllegalArgumentException.class, () -> pixelImage.filmGetSampleError(-1));
+	}
+	
+	@Test
+	public void testFilmComputeSamplingMask() {
+		final PixelImageF pixelImage = new PixelImageF(20, 1);
+		
+		for(int x = 0; x < 20; x++) {
+			pixelImage.filmAddSample(x, 0, 1.0F);
+			pixelImage.filmAddSample(x, 0, x == 10 ? 3.0F : 1.0F);
+		}
+		
+		final boolean[] samplingMask = pixelImage.filmComputeSamplingMask(0.1F);
+		
+//		The default GaussianFilter2F has a radius of 2, so the pixel that needs more samples is dilated by 4 pixels:
+		for(int x = 0; x < 20; x++) {
+			assertEquals(Boolean.valueOf(x >= 6 && x <= 14), Boolean.valueOf(samplingMask[x]));
+		}
+		
+		final boolean[] samplingMaskConverged = pixelImage.filmComputeSamplingMask(1.0F);
+		
+		for(int x = 0; x < 20; x++) {
+			assertFalse(samplingMaskConverged[x]);
+		}
+		
+		assertTrue(new PixelImageF(3, 3).filmComputeSamplingMask(1.0F)[4]);
+	}
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.renderer.cpu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dayflower.image.PixelImageF;
+import org.dayflower.renderer.observer.NoOpRendererObserver;
+import org.dayflower.scene.Camera;
+import org.dayflower.scene.Scene;
+import org.dayflower.scene.loader.JavaSceneLoader;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class RenderCoordinatorUnitTests {
+	private static final String SECRET = "RenderCoordinatorUnitTests";
+	private static final String SCENE = "Material material1 = new MatteMaterial(new CheckerboardTexture());\n"
+			+ "Material material2 = new GlassMaterial();\n"
+			+ "Transform transform1 = new Transform(new Point3F(0.0F, 0.0F, 0.0F), Quaternion4F.from(Matrix44F.rotateX(AngleF.degrees(90.0F))));\n"
+			+ "Transform transform2 = new Transform(new Point3F(0.0F, 1.0F, 0.0F), Quaternion4F.from(Matrix44F.rotateX(AngleF.degrees(270.0F))));\n"
+			+ "scene.addLight(new PerezLight());\n"
+			+ "scene.addPrimitive(new Primitive(material1, new Plane3F(), transform1));\n"
+			+ "scene.addPrimitive(new Primitive(material2, new Sphere3F(), transform2));\n"
+			+ "scene.setCamera(new Camera(new Point3F(0.0F, 2.0F, -10.0F), AngleF.degrees(40.0F)));\n";
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public RenderCoordinatorUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testConstructor() {
+		assertThrows(IllegalArgumentException.class, () -> new RenderCoordinator("Scene.java", ""));
+		assertThrows(NullPointerException.class, () -> new RenderCoordinator("Scene.java", null));
+	}
+	
+	@Test
+	public void testRender() throws IOException {
+		final File file = File.createTempFile("RenderCoordinatorUnitTests", ".java");
+		
+		final List<Process> processes = new ArrayList<>();
+		
+		try {
+			Files.write(file.toPath(), SCENE.getBytes(StandardCharsets.UTF_8));
+			
+			final List<InetSocketAddress> addresses = new ArrayList<>();
+			
+			for(int i = 0; i < 3; i++) {
+				final Process process = doStartRenderNode();
+				
+				processes.add(process);
+				
+				addresses.add(new InetSocketAddress("localhost", doReadPort(process)));
+			}
+			
+//			A coordinator that does not know the secret is rejected before the scene is sent, and the node keeps serving:
+			try(final RenderCoordinator renderCoordinator = new RenderCoordinator(file, "Wrong" + SECRET)) {
+				assertThrows(UncheckedIOException.class, () -> renderCoordinator.connect(addresses.subList(0, 1)));
+				
+				assertEquals(0, renderCoordinator.getNodeCount());
+			}
+			
+			try(final RenderCoordinator renderCoordinator = new RenderCoordinator(file, SECRET)) {
+				assertThrows(IllegalStateException.class, () -> renderCoordinator.getImage());
+				assertThrows(IllegalStateException.class, () -> renderCoordinator.render());
+				
+				renderCoordinator.setMaximumBounce(8);
+				renderCoordinator.setResolution(40, 30);
+				renderCoordinator.setTileSize(8);
+				renderCoordinator.connect(addresses);
+				
+				assertEquals(3, renderCoordinator.getNodeCount());
+				
+				assertThrows(IllegalStateException.class, () -> renderCoordinator.setMaximumBounce(4));
+				
+				assertTrue(renderCoordinator.render(3));
+				
+				doAssertEquals(doRender(file, 3, 0.0F), renderCoordinator.getImage());
+				
+				renderCoordinator.clear();
+				renderCoordinator.setAdaptiveSamplingErrorThreshold(0.05F);
+				renderCoordinator.setAdaptiveSamplingMinimumRenderPasses(2);
+				
+				for(int renderPass = 0; renderPass < 6; renderPass++) {
+					renderCoordinator.render();
+				}
+				
+				doAssertEquals(doRender(file, 6, 0.05F), renderCoordinator.getImage());
+				
+//				The tiles of a node that fails are rendered by the remaining nodes:
+				processes.get(0).destroyForcibly();
+				
+				renderCoordinator.clear();
+				renderCoordinator.setAdaptiveSamplingErrorThreshold(0.0F);
+				
+				assertTrue(renderCoordinator.render(3));
+				assertEquals(2, renderCoordinator.getNodeCount());
+				assertFalse(renderCoordinator.isConverged());
+				
+				doAssertEquals(doRender(file, 3, 0.0F), renderCoordinator.getImage());
+			}
+		} finally {
+			for(final Process process : processes) {
+				process.destroyForcibly();
+			}
+			
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testRenderNode() {
+		try(final RenderNode renderNode = new RenderNode(0, SECRET)) {
+			assertTrue(renderNode.getBindAddress().isLoopbackAddress());
+		}
+		
+		try(final RenderNode renderNode = new RenderNode(InetAddress.getLoopbackAddress(), 0, 2, SECRET)) {
+			assertEquals(2, renderNode.getParallelism());
+		}
+		
+		assertThrows(IllegalArgumentException.class, () -> new RenderNode(0, ""));
+		assertThrows(NullPointerException.class, () -> new RenderNode(0, null));
+		assertThrows(NullPointerException.class, () -> new RenderNode(null, 0, SECRET));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static PixelImageF doRender(final File file, final int renderPasses, final float adaptiveSamplingErrorThreshold) {
+		final
+		Scene scene = new JavaSceneLoader().load(file);
+		scene.buildAccelerationStructure();
+		
+		final
+		Camera camera = scene.getCamera();
+		camera.setResolution(40, 30);
+		camera.setFieldOfViewY();
+		
+		final
+		CPURenderer cPURenderer = new CPURenderer(new NoOpRendererObserver());
+		cPURenderer.setAdaptiveSamplingErrorThreshold(adaptiveSamplingErrorThreshold);
+		cPURenderer.setAdaptiveSamplingMinimumRenderPasses(2);
+		cPURenderer.setMaximumBounce(8);
+		cPURenderer.setScene(scene);
+		cPURenderer.setTileSize(8);
+		cPURenderer.setImage();
+		
+		try {
+			for(int renderPass = 0; renderPass < renderPasses; renderPass++) {
+				cPURenderer.render();
+			}
+			
+			return PixelImageF.class.cast(cPURenderer.getImage());
+		} finally {
+			cPURenderer.dispose();
+		}
+	}
+	
+	private static Process doStartRenderNode() throws IOException {
+		final String java = new File(new File(System.getProperty("java.home"), "bin"), "java").getPath();
+		
+		final
+		ProcessBuilder processBuilder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), RenderNode.class.getName(), "0");
+		processBuilder.environment().put(RenderNode.SECRET_ENVIRONMENT_VARIABLE, SECRET);
+		processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+		
+		return processBuilder.start();
+	}
+	
+	private static int doReadPort(final Process process) throws IOException {
+		final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+		
+		final String line = bufferedReader.readLine();
+		
+		assertTrue(line != null && line.startsWith("RenderNode: Listening on "));
+		
+		return Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1));
+	}
+	
+	private static void doAssertEquals(final PixelImageF expected, final PixelImageF actual) {
+		assertEquals(expected.getResolutionX(), actual.getResolutionX());
+		assertEquals(expected.getResolutionY(), actual.getResolutionY());
+		
+		final float[] scanlineExpected = new float[expected.getResolutionX() * 4];
+		final float[] scanlineActual = new float[actual.getResolutionX() * 4];
+		
+		for(int y = 0; y < expected.getResolutionY(); y++) {
+			expected.filmCopyScanlineTo(y, scanlineExpected);
+			actual.filmCopyScanlineTo(y, scanlineActual);
+			
+			for(int i = 0; i < scanlineExpected.length; i++) {
+				assertEquals(Float.floatToRawIntBits(scanlineExpected[i]), Float.floatToRawIntBits(scanlineActual[i]));
+			}
+		}
+		
+		for(int i = 0; i < expected.getResolution(); i++) {
+			assertEquals(expected.getColorRGBA(i), actual.getColorRGBA(i));
+			assertEquals(expected.filmGetSampleCount(i), actual.filmGetSampleCount(i));
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.renderer.gpu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.dayflower.geometry.shape.Plane3F;
+import org.dayflower.scene.Primitive;
+import org.dayflower.scene.Scene;
+import org.dayflower.scene.compiler.CompiledBoundingVolume3FCache;
+import org.dayflower.scene.compiler.CompiledPrimitiveCache;
+import org.dayflower.scene.compiler.CompiledScene;
+import org.dayflower.scene.compiler.SceneCompiler;
+import org.dayflower.scene.material.MatteMaterial;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class AbstractSceneKernelUnitTests {
+	public AbstractSceneKernelUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testCompileEmptyScene() {
+		final CompiledScene compiledScene = new SceneCompiler().compile(new Scene());
+		
+		final CompiledPrimitiveCache compiledPrimitiveCache = compiledScene.getCompiledPrimitiveCache();
+		
+		assertEquals(0, compiledPrimitiveCache.getPrimitiveCount());
+		assertEquals(CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_PRIMITIVE_INDICES, compiledPrimitiveCache.getBVHNodes().length);
+		assertEquals(CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_LENGTH, compiledPrimitiveCache.getBVHAxisAlignedBoundingBox3Fs().length);
+	}
+	
+	@Test
+	public void testCompiledPrimitiveCache() {
+		final CompiledPrimitiveCache compiledPrimitiveCache = new CompiledPrimitiveCache();
+		
+		assertEquals(CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_PRIMITIVE_INDICES, compiledPrimitiveCache.getBVHNodes().length);
+		assertEquals(CompiledBoundingVolume3FCache.AXIS_ALIGNED_BOUNDING_BOX_3_F_LENGTH, compiledPrimitiveCache.getBVHAxisAlignedBoundingBox3Fs().length);
+		assertEquals(-1, compiledPrimitiveCache.getBVHNodes()[CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_NEXT_OFFSET]);
+		assertEquals(0, compiledPrimitiveCache.getBVHNodes()[CompiledPrimitiveCache.B_V_H_NODE_3_F_OFFSET_LEFT_OFFSET_OR_PRIMITIVE_COUNT]);
+	}
+	
+	@Test
+	public void testIntersectionEmptyScene() {
+		final SceneKernel sceneKernel = new SceneKernel();
+		
+		assertFalse(sceneKernel.intersects(0.0F, 0.0F, 1.0F, 0.0F, 0.0F, -1.0F));
+		assertFalse(sceneKernel.intersectionComputeLHS(0.0F, 0.0F, 1.0F, 0.0F, 0.0F, -1.0F));
+		assertFalse(sceneKernel.intersectionComputeRHS(0.0F, 0.0F, 1.0F, 0.0F, 0.0F, -1.0F));
+		
+		sceneKernel.setScene(new Scene());
+		sceneKernel.setup();
+		
+		try {
+			assertFalse(sceneKernel.intersects(0.0F, 0.0F, 1.0F, 0.0F, 0.0F, -1.0F));
+			assertFalse(sceneKernel.intersectionComputeLHS(0.0F, 0.0F, 1.0F, 0.0F, 0.0F, -1.0F));
+			assertFalse(sceneKernel.intersectionComputeRHS(0.0F, 0.0F, 1.0F, 0.0F, 0.0F, -1.0F));
+		} finally {
+			sceneKernel.dispose();
+		}
+	}
+	
+	@Test
+	public void testIntersectionPlaneOnlyScene() {
+		final
+		Scene scene = new Scene();
+		scene.addPrimitive(new Primitive(new MatteMaterial(), new Plane3F()));
+		
+		final
+		SceneKernel sceneKernel = new SceneKernel();
+		sceneKernel.setScene(scene);
+		sceneKernel.setup();
+		
+		try {
+			assertTrue(sceneKernel.intersects(0.0F, 0.0F, 1.0F, 0.0F, 0.0F, -1.0F));
+			assertTrue(sceneKernel.intersectionComputeLHS(0.0F, 0.0F, 1.0F, 0.0F, 0.0F, -1.0F));
+			assertTrue(sceneKernel.intersectionComputeRHS(0.0F, 0.0F, 1.0F, 0.0F, 0.0F, -1.0F));
+			
+			assertFalse(sceneKernel.intersects(0.0F, 0.0F, 1.0F, 0.0F, 0.0F, 1.0F));
+			assertFalse(sceneKernel.intersectionComputeLHS(0.0F, 0.0F, 1.0F, 0.0F, 0.0F, 1.0F));
+			assertFalse(sceneKernel.intersectionComputeRHS(0.0F, 0.0F, 1.0F, 0.0F, 0.0F, 1.0F));
+		} finally {
+			sceneKernel.dispose();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class SceneKernel extends AbstractSceneKernel {
+		public SceneKernel() {
+			
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public boolean intersectionComputeLHS(final float originX, final float originY, final float originZ, final float directionX, final float directionY, final float directionZ) {
+			doSetRay(originX, originY, originZ, directionX, directionY, directionZ);
+			
+			return primitiveIntersectionComputeLHS();
+		}
+		
+		public boolean intersectionComputeRHS(final float originX, final float originY, final float originZ, final float directionX, final float directionY, final float directionZ) {
+			doSetRay(originX, originY, originZ, directionX, directionY, directionZ);
+			
+			return primitiveIntersectionComputeRHS();
+		}
+		
+		public boolean intersects(final float originX, final float originY, final float originZ, final float directionX, final float directionY, final float directionZ) {
+			doSetRay(originX, originY, originZ, directionX, directionY, directionZ);
+			
+			return primitiveIntersects();
+		}
+		
+		@Override
+		public void run() {
+			
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private void doSetRay(final float originX, final float originY, final float originZ, final float directionX, final float directionY, final float directionZ) {
+			ray3FSetOrigin(originX, originY, originZ);
+			ray3FSetDirection(directionX, directionY, directionZ);
+			ray3FSetTMinimum(0.0001F);
+			ray3FSetTMaximum(Float.MAX_VALUE);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.renderer.gpu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class ExecutionTargetUnitTests {
+	public ExecutionTargetUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testGetName() {
+		assertEquals("Automatic", ExecutionTarget.AUTOMATIC.getName());
+		assertEquals("JavaThreadPool", ExecutionTarget.JAVA_THREAD_POOL.getName());
+	}
+	
+	@Test
+	public void testGetNameExternal() {
+		assertEquals("Automatic", ExecutionTarget.AUTOMATIC.getNameExternal());
+		assertEquals("Java Thread Pool", ExecutionTarget.JAVA_THREAD_POOL.getNameExternal());
+	}
+	
+	@Test
+	public void testToString() {
+		assertEquals("Automatic", ExecutionTarget.AUTOMATIC.toString());
+		assertEquals("Java Thread Pool", ExecutionTarget.JAVA_THREAD_POOL.toString());
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.renderer.observer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import javax.imageio.ImageIO;
+
+import org.dayflower.color.Color4F;
+import org.dayflower.image.PixelImageF;
+import org.dayflower.renderer.Renderer;
+import org.dayflower.renderer.cpu.CPURenderer;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class FileRendererObserverUnitTests {
+	public FileRendererObserverUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testOnRenderDisplayAsynchronous() throws IOException {
+		final File directory = Files.createTempDirectory("FileRendererObserverUnitTests").toFile();
+		final File file = new File(directory, "Image.png");
+		
+		try {
+			final FileRendererObserver fileRendererObserver = new FileRendererObserver(file, false, false, false, 1, true);
+			
+			final Renderer renderer = new CPURenderer(fileRendererObserver);
+			
+			final PixelImageF pixelImage = new PixelImageF(16, 8);
+			
+			for(int i = 0; i < 20; i++) {
+				for(int j = 0; j < pixelImage.getResolution(); j++) {
+					pixelImage.setColorRGBA(new Color4F(i / 19.0F, 0.0F, 1.0F, 1.0F), j);
+				}
+				
+				fileRendererObserver.onRenderDisplay(renderer, pixelImage);
+			}
+			
+			fileRendererObserver.flush();
+			
+			assertTrue(fileRendererObserver.isAsynchronous());
+			assertTrue(fileRendererObserver.getSaveCount() >= 1);
+			assertTrue(fileRendererObserver.getSnapshotTimeNanos() > 0L);
+			
+			assertEquals(20, fileRendererObserver.getSaveCount() + fileRendererObserver.getCoalescedSaveCount());
+			
+			final String[] names = directory.list();
+			
+			assertEquals(1, names.length);
+			assertEquals("Image.png", names[0]);
+			
+			final BufferedImage bufferedImage = ImageIO.read(file);
+			
+			assertEquals(16, bufferedImage.getWidth());
+			assertEquals(8, bufferedImage.getHeight());
+			assertEquals(pixelImage.toIntArrayPackedForm()[0], bufferedImage.getRGB(0, 0));
+			
+			assertThrows(NullPointerException.class, () -> fileRendererObserver.onRenderDisplay(renderer, null));
+			assertThrows(NullPointerException.class, () -> fileRendererObserver.onRenderDisplay(null, pixelImage));
+		} finally {
+			for(final File child : directory.listFiles()) {
+				child.delete();
+			}
+			
+			directory.delete();
+		}
+	}
+	
+	@Test
+	public void testOnRenderDisplaySynchronous() throws IOException {
+		final File directory = Files.createTempDirectory("FileRendererObserverUnitTests").toFile();
+		final File file = new File(directory, "Image.png");
+		
+		try {
+			final FileRendererObserver fileRendererObserver = new FileRendererObserver(file);
+			
+			final PixelImageF pixelImage = new PixelImageF(4, 4);
+			
+			fileRendererObserver.onRenderDisplay(new CPURenderer(fileRendererObserver), pixelImage);
+			fileRendererObserver.flush();
+			
+			assertFalse(fileRendererObserver.isAsynchronous());
+			
+			assertEquals(1, fileRendererObserver.getSaveCount());
+			assertEquals(0, fileRendererObserver.getCoalescedSaveCount());
+			assertEquals(0L, fileRendererObserver.getSnapshotTimeNanos());
+			
+			assertTrue(file.isFile());
+		} finally {
+			file.delete();
+			
+			directory.delete();
+		}
+	}
+}
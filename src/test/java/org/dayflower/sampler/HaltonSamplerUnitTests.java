@@ -0,0 +1,322 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class HaltonSamplerUnitTests {
+	public HaltonSamplerUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testCopy() {
+		final HaltonSampler a = new HaltonSampler(2L);
+		final Sampler b = a.copy();
+		
+		assertEquals(a, b);
+		
+		a.setPixelSample(3, 4, 5);
+		b.setPixelSample(3, 4, 5);
+		
+		final float[] sampleA = new float[3];
+		final float[] sampleB = new float[3];
+		
+		a.sample3(sampleA, 0);
+		b.sample3(sampleB, 0);
+		
+		assertArrayEquals(sampleA, sampleB);
+	}
+	
+	@Test
+	public void testEquals() {
+		final HaltonSampler a = new HaltonSampler(2L);
+		final HaltonSampler b = new HaltonSampler(2L);
+		final HaltonSampler c = new HaltonSampler(3L);
+		final HaltonSampler d = null;
+		
+		assertEquals(a, a);
+		
+		assertEquals(a, b);
+		assertEquals(b, a);
+		
+		assertNotEquals(a, c);
+		assertNotEquals(c, a);
+		
+		assertNotEquals(a, d);
+		assertNotEquals(d, a);
+		
+		b.setPixelSample(1, 2, 3);
+		
+		assertNotEquals(a, b);
+		assertNotEquals(b, a);
+	}
+	
+	@Test
+	public void testGetDimensionCount() {
+		assertEquals(128, HaltonSampler.getDimensionCount());
+	}
+	
+	@Test
+	public void testHashCode() {
+		final HaltonSampler a = new HaltonSampler(2L);
+		final HaltonSampler b = new HaltonSampler(2L);
+		
+		assertEquals(a.hashCode(), a.hashCode());
+		assertEquals(a.hashCode(), b.hashCode());
+	}
+	
+	@Test
+	public void testPermutationIsAppliedPerDimension() {
+		final int[] bases = {2, 3, 5, 7};
+		
+		final List<Set<List<Short>>> permutationsByDimension = new ArrayList<>();
+		
+		for(int dimension = 0; dimension < bases.length; dimension++) {
+			permutationsByDimension.add(new HashSet<>());
+		}
+		
+		for(long seed = 0L; seed < 8L; seed++) {
+			final HaltonSampler haltonSampler = new HaltonSampler(seed);
+			
+			for(int dimension = 0; dimension < bases.length; dimension++) {
+				final List<short[]> permutationsA = doFindPermutations(haltonSampler, 1, 2, dimension, bases[dimension]);
+				final List<short[]> permutationsB = doFindPermutations(haltonSampler, 5, 9, dimension, bases[dimension]);
+				final List<short[]> permutationsC = doFindPermutations(haltonSampler, 1, 2, dimension + HaltonSampler.getDimensionCount(), bases[dimension]);
+				final List<short[]> permutationsD = doFindPermutations(HaltonSampler.class.cast(haltonSampler.copy()), 3, 4, dimension, bases[dimension]);
+				
+				assertEquals(1, permutationsA.size());
+				assertEquals(1, permutationsB.size());
+				assertEquals(1, permutationsC.size());
+				assertEquals(1, permutationsD.size());
+				
+//				The permutation belongs to the dimension and the seed. It does not depend on the pixel, and it is shared by copies and by the dimensions that are reused:
+				assertArrayEquals(permutationsA.get(0), permutationsB.get(0));
+				assertArrayEquals(permutationsA.get(0), permutationsC.get(0));
+				assertArrayEquals(permutationsA.get(0), permutationsD.get(0));
+				
+				final List<Short> permutation = new ArrayList<>();
+				
+				for(final short digit : permutationsA.get(0)) {
+					permutation.add(Short.valueOf(digit));
+				}
+				
+				permutationsByDimension.get(dimension).add(permutation);
+			}
+		}
+		
+//		The permutation of each dimension is drawn from the seed, so the seeds do not all share one permutation in the bases with more than a few permutations:
+		assertTrue(permutationsByDimension.get(2).size() > 1);
+		assertTrue(permutationsByDimension.get(3).size() > 1);
+	}
+	
+	@Test
+	public void testRadicalInverseBase2() {
+		final short[] permutation = {0, 1};
+		
+		final float[] expected = {0.0F, 0.5F, 0.25F, 0.75F, 0.125F, 0.625F, 0.375F, 0.875F};
+		final float[] actual = new float[expected.length];
+		
+		for(int index = 0; index < actual.length; index++) {
+			actual[index] = Sequences.radicalInverseScrambled(index, 2, permutation, 0);
+		}
+		
+		assertArrayEquals(expected, actual);
+		
+		final HaltonSampler haltonSampler = new HaltonSampler(2L);
+		
+		assertEquals(1, doFindPermutations(haltonSampler, 7, 11, 0, 2).size());
+		assertEquals(0, doFindPermutations(haltonSampler, 7, 11, 0, 3).size());
+	}
+	
+	@Test
+	public void testRadicalInverseBase3() {
+		final short[] permutation = {0, 1, 2};
+		
+		final float[] expected = {0.0F, 1.0F / 3.0F, 2.0F / 3.0F, 1.0F / 9.0F, 4.0F / 9.0F, 7.0F / 9.0F, 2.0F / 9.0F, 5.0F / 9.0F, 8.0F / 9.0F};
+		final float[] actual = new float[expected.length];
+		
+		for(int index = 0; index < actual.length; index++) {
+			actual[index] = Sequences.radicalInverseScrambled(index, 3, permutation, 0);
+		}
+		
+		assertArrayEquals(expected, actual, 1.0e-7F);
+		
+		final HaltonSampler haltonSampler = new HaltonSampler(2L);
+		
+		assertEquals(1, doFindPermutations(haltonSampler, 7, 11, 1, 3).size());
+		assertEquals(0, doFindPermutations(haltonSampler, 7, 11, 1, 2).size());
+	}
+	
+	@Test
+	public void testSample() {
+		final HaltonSampler haltonSampler = new HaltonSampler(2L);
+		
+		final float[] sample = new float[3];
+		
+		for(int sampleIndex = 0; sampleIndex < 256; sampleIndex++) {
+			haltonSampler.setPixelSample(sampleIndex % 16, sampleIndex / 16, sampleIndex);
+			
+			for(int i = 0; i < 100; i++) {
+				haltonSampler.sample3(sample, 0);
+				
+				for(final float component : sample) {
+					assertTrue(component >= 0.0F && component < 1.0F);
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testSetPixelSample() {
+		final HaltonSampler a = new HaltonSampler(2L);
+		final HaltonSampler b = new HaltonSampler(2L);
+		
+		final float[] sampleA1 = new float[3];
+		final float[] sampleA2 = new float[3];
+		final float[] sampleA3 = new float[3];
+		final float[] sampleB1 = new float[3];
+		final float[] sampleB2 = new float[3];
+		
+		a.setPixelSample(1, 2, 3);
+		a.sample3(sampleA1, 0);
+		
+		a.setPixelSample(2, 1, 3);
+		a.sample3(sampleA2, 0);
+		a.sample3(sampleA2, 0);
+		
+		a.setPixelSample(1, 2, 3);
+		a.sample3(sampleA3, 0);
+		
+		b.setPixelSample(2, 1, 3);
+		b.sample3(sampleB2, 0);
+		
+		b.setPixelSample(1, 2, 3);
+		b.sample3(sampleB1, 0);
+		
+		assertArrayEquals(sampleA1, sampleA3);
+		assertArrayEquals(sampleA1, sampleB1);
+		
+		assertFalse(Arrays.equals(sampleA1, sampleB2));
+	}
+	
+	@Test
+	public void testToString() {
+		final HaltonSampler haltonSampler = new HaltonSampler(2L);
+		
+		assertEquals("new HaltonSampler(2L)", haltonSampler.toString());
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static List<short[]> doCreatePermutations(final int base) {
+		final List<short[]> permutations = new ArrayList<>();
+		
+		doCreatePermutations(new short[base], new boolean[base], 0, permutations);
+		
+		return permutations;
+	}
+	
+//	Returns the permutations in base for which the samples of the pixel and dimension are the scrambled radical inverse. The samples are compared to the sample with index 0, which removes the rotation of the pixel:
+	private static List<short[]> doFindPermutations(final HaltonSampler haltonSampler, final int x, final int y, final int dimension, final int base) {
+		final float[] samples = new float[base * base * base];
+		
+		for(int index = 0; index < samples.length; index++) {
+			samples[index] = doSample1(haltonSampler, x, y, index, dimension);
+		}
+		
+		final List<short[]> permutations = new ArrayList<>();
+		
+		for(final short[] permutation : doCreatePermutations(base)) {
+			final float radicalInverse0 = Sequences.radicalInverseScrambled(0, base, permutation, 0);
+			
+			boolean isMatching = true;
+			
+			for(int index = 1; index < samples.length && isMatching; index++) {
+				final float deltaExpected = doFraction(Sequences.radicalInverseScrambled(index, base, permutation, 0) - radicalInverse0);
+				final float deltaActual = doFraction(samples[index] - samples[0]);
+				
+				isMatching = doDistance(deltaExpected, deltaActual) < 1.0e-5F;
+			}
+			
+			if(isMatching) {
+				permutations.add(permutation);
+			}
+		}
+		
+		return permutations;
+	}
+	
+	private static float doDistance(final float a, final float b) {
+		final float distance = Math.abs(a - b);
+		
+		return Math.min(distance, 1.0F - distance);
+	}
+	
+	private static float doFraction(final float value) {
+		return value - (float)(Math.floor(value));
+	}
+	
+	private static float doSample1(final HaltonSampler haltonSampler, final int x, final int y, final int sampleIndex, final int dimension) {
+		final float[] sample = new float[1];
+		
+		haltonSampler.setPixelSample(x, y, sampleIndex);
+		
+		for(int i = 0; i <= dimension; i++) {
+			haltonSampler.sample1(sample, 0);
+		}
+		
+		return sample[0];
+	}
+	
+	private static void doCreatePermutations(final short[] permutation, final boolean[] isUsed, final int index, final List<short[]> permutations) {
+		if(index == permutation.length) {
+			permutations.add(permutation.clone());
+			
+			return;
+		}
+		
+		for(int digit = 0; digit < permutation.length; digit++) {
+			if(!isUsed[digit]) {
+				isUsed[digit] = true;
+				
+				permutation[index] = (short)(digit);
+				
+				doCreatePermutations(permutation, isUsed, index + 1, permutations);
+				
+				isUsed[digit] = false;
+			}
+		}
+	}
+}
@@ -0,0 +1,246 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class PMJ02SamplerUnitTests {
+	public PMJ02SamplerUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testCopy() {
+		final PMJ02Sampler a = new PMJ02Sampler(2L);
+		final Sampler b = a.copy();
+		
+		assertEquals(a, b);
+		
+		a.setPixelSample(3, 4, 5);
+		b.setPixelSample(3, 4, 5);
+		
+		final float[] sampleA = new float[2];
+		final float[] sampleB = new float[2];
+		
+		a.sample2(sampleA, 0);
+		b.sample2(sampleB, 0);
+		
+		assertArrayEquals(sampleA, sampleB);
+	}
+	
+	@Test
+	public void testEquals() {
+		final PMJ02Sampler a = new PMJ02Sampler(2L);
+		final PMJ02Sampler b = new PMJ02Sampler(2L);
+		final PMJ02Sampler c = new PMJ02Sampler(3L);
+		final PMJ02Sampler d = null;
+		
+		assertEquals(a, a);
+		
+		assertEquals(a, b);
+		assertEquals(b, a);
+		
+		assertNotEquals(a, c);
+		assertNotEquals(c, a);
+		
+		assertNotEquals(a, d);
+		assertNotEquals(d, a);
+	}
+	
+	@Test
+	public void testHashCode() {
+		final PMJ02Sampler a = new PMJ02Sampler(2L);
+		final PMJ02Sampler b = new PMJ02Sampler(2L);
+		
+		assertEquals(a.hashCode(), b.hashCode());
+	}
+	
+	@Test
+	public void testSample1IsStratified() {
+		final PMJ02Sampler pMJ02Sampler = new PMJ02Sampler(2L);
+		
+		for(int dimension = 0; dimension < 4; dimension++) {
+			final float[] samples = new float[PMJ02Sampler.getSetSize()];
+			
+			for(int sampleIndex = 0; sampleIndex < samples.length; sampleIndex++) {
+				pMJ02Sampler.setPixelSample(7, 11, sampleIndex);
+				
+				for(int i = 0; i <= dimension; i++) {
+					samples[sampleIndex] = pMJ02Sampler.sample1().getU();
+				}
+			}
+			
+			for(int count = 1; count <= samples.length; count *= 2) {
+				doAssertStratified(samples, count, count);
+			}
+		}
+	}
+	
+	@Test
+	public void testSample2IsMultiJittered() {
+		final PMJ02Sampler pMJ02Sampler = new PMJ02Sampler(2L);
+		
+		for(int dimension = 0; dimension < 4; dimension++) {
+			final float[] samplesU = new float[PMJ02Sampler.getSetSize()];
+			final float[] samplesV = new float[PMJ02Sampler.getSetSize()];
+			
+			doSample2(pMJ02Sampler, 3, 5, 0, dimension, samplesU, samplesV);
+			
+//			Every prefix with 4^k points has one point in each cell of the 2^k by 2^k grid and one point in each of the 4^k strata of both 1-dimensional projections:
+			for(int count = 1, resolution = 1; count <= samplesU.length; count *= 4, resolution *= 2) {
+				final boolean[] isOccupied = new boolean[count];
+				
+				for(int i = 0; i < count; i++) {
+					final int cell = (int)(samplesU[i] * resolution) * resolution + (int)(samplesV[i] * resolution);
+					
+					assertFalse(isOccupied[cell]);
+					
+					isOccupied[cell] = true;
+				}
+				
+				doAssertStratified(samplesU, count, count);
+				doAssertStratified(samplesV, count, count);
+			}
+			
+//			The prefixes with 2 * 4^k points, which end half way between two grids, have stratified 1-dimensional projections too:
+			for(int count = 2; count <= samplesU.length; count *= 4) {
+				doAssertStratified(samplesU, count, count);
+				doAssertStratified(samplesV, count, count);
+			}
+		}
+	}
+	
+	@Test
+	public void testSample2IsProgressivelyStratified() {
+		final PMJ02Sampler pMJ02Sampler = new PMJ02Sampler(2L);
+		
+		for(int dimension = 0; dimension < 4; dimension++) {
+			final float[] samplesU = new float[PMJ02Sampler.getSetSize()];
+			final float[] samplesV = new float[PMJ02Sampler.getSetSize()];
+			
+			doSample2(pMJ02Sampler, 7, 11, 0, dimension, samplesU, samplesV);
+			
+//			Every prefix with 2^m points is a (0,m,2)-net, which has one point in each elementary interval of area 1 / 2^m:
+			for(int m = 0, count = 1; count <= samplesU.length; m++, count *= 2) {
+				doAssertElementaryIntervals(samplesU, samplesV, count, m);
+			}
+		}
+	}
+	
+	@Test
+	public void testSample2IsProgressivelyStratifiedAfterSetSize() {
+		final PMJ02Sampler pMJ02Sampler = new PMJ02Sampler(2L);
+		
+		final float[] samplesU = new float[256];
+		final float[] samplesV = new float[256];
+		
+//		The sample indices that follow the last point of a sequence continue with the prefixes of another sequence:
+		doSample2(pMJ02Sampler, 7, 11, PMJ02Sampler.getSetSize(), 1, samplesU, samplesV);
+		
+		for(int m = 0, count = 1; count <= samplesU.length; m++, count *= 2) {
+			doAssertElementaryIntervals(samplesU, samplesV, count, m);
+		}
+	}
+	
+	@Test
+	public void testSetPixelSample() {
+		final PMJ02Sampler pMJ02Sampler = new PMJ02Sampler();
+		
+		final float[] sampleA = new float[3];
+		final float[] sampleB = new float[3];
+		final float[] sampleC = new float[3];
+		
+		pMJ02Sampler.setPixelSample(1, 2, 3);
+		pMJ02Sampler.sample3(sampleA, 0);
+		
+		pMJ02Sampler.setPixelSample(2, 1, 3);
+		pMJ02Sampler.sample3(sampleB, 0);
+		
+		pMJ02Sampler.setPixelSample(1, 2, 3);
+		pMJ02Sampler.sample3(sampleC, 0);
+		
+		assertArrayEquals(sampleA, sampleC);
+		
+		assertFalse(sampleA[0] == sampleB[0] && sampleA[1] == sampleB[1] && sampleA[2] == sampleB[2]);
+	}
+	
+	@Test
+	public void testToString() {
+		final PMJ02Sampler pMJ02Sampler = new PMJ02Sampler(2L);
+		
+		assertEquals("new PMJ02Sampler(2L)", pMJ02Sampler.toString());
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static void doAssertElementaryIntervals(final float[] samplesU, final float[] samplesV, final int count, final int m) {
+		for(int k = 0; k <= m; k++) {
+			final int resolutionU = 1 << k;
+			final int resolutionV = 1 << (m - k);
+			
+			final boolean[] isOccupied = new boolean[count];
+			
+			for(int i = 0; i < count; i++) {
+				final int cell = (int)(samplesU[i] * resolutionU) * resolutionV + (int)(samplesV[i] * resolutionV);
+				
+				assertFalse(isOccupied[cell]);
+				
+				isOccupied[cell] = true;
+			}
+		}
+	}
+	
+	private static void doAssertStratified(final float[] samples, final int count, final int strata) {
+		final boolean[] isOccupied = new boolean[strata];
+		
+		for(int i = 0; i < count; i++) {
+			assertTrue(samples[i] >= 0.0F && samples[i] < 1.0F);
+			
+			final int stratum = (int)(samples[i] * strata);
+			
+			assertFalse(isOccupied[stratum]);
+			
+			isOccupied[stratum] = true;
+		}
+	}
+	
+	private static void doSample2(final PMJ02Sampler pMJ02Sampler, final int x, final int y, final int sampleIndexOffset, final int dimension, final float[] samplesU, final float[] samplesV) {
+		final float[] sample = new float[2];
+		
+		for(int i = 0; i < samplesU.length; i++) {
+			pMJ02Sampler.setPixelSample(x, y, sampleIndexOffset + i);
+			
+			for(int j = 0; j <= dimension; j++) {
+				pMJ02Sampler.sample2(sample, 0);
+			}
+			
+			samplesU[i] = sample[0];
+			samplesV[i] = sample[1];
+		}
+	}
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class SeededRandomSamplerUnitTests {
+	public SeededRandomSamplerUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testConstructor() {
+		final SeededRandomSampler seededRandomSampler = new SeededRandomSampler();
+		
+		assertEquals(0L, seededRandomSampler.getSeed());
+		
+		assertEquals(new SeededRandomSampler(0L), seededRandomSampler);
+	}
+	
+	@Test
+	public void testCopy() {
+		final SeededRandomSampler seededRandomSampler = new SeededRandomSampler(2L);
+		
+		seededRandomSampler.setPixelSample(3, 4, 5);
+		seededRandomSampler.sample3();
+		
+		final Sampler copy = seededRandomSampler.copy();
+		
+//		A copy starts over from the seed, so it is equal to a new instance and not to the instance it was copied from:
+		assertEquals(new SeededRandomSampler(2L), copy);
+		assertEquals(new SeededRandomSampler(2L).hashCode(), copy.hashCode());
+		
+		assertNotEquals(seededRandomSampler, copy);
+		
+		assertArrayEquals(doSample(new SeededRandomSampler(2L), 16), doSample(copy, 16));
+	}
+	
+	@Test
+	public void testEquals() {
+		final SeededRandomSampler a = new SeededRandomSampler(2L);
+		final SeededRandomSampler b = new SeededRandomSampler(2L);
+		final SeededRandomSampler c = new SeededRandomSampler(3L);
+		final SeededRandomSampler d = null;
+		
+		assertEquals(a, a);
+		
+		assertEquals(a, b);
+		assertEquals(b, a);
+		
+		assertNotEquals(a, c);
+		assertNotEquals(c, a);
+		
+		assertNotEquals(a, d);
+		assertNotEquals(d, a);
+		
+		b.sample1();
+		
+		assertNotEquals(a, b);
+		assertNotEquals(b, a);
+		
+		a.sample1();
+		
+		assertEquals(a, b);
+		assertEquals(b, a);
+	}
+	
+	@Test
+	public void testHashCode() {
+		final SeededRandomSampler a = new SeededRandomSampler(2L);
+		final SeededRandomSampler b = new SeededRandomSampler(2L);
+		
+		assertEquals(a.hashCode(), a.hashCode());
+		assertEquals(a.hashCode(), b.hashCode());
+		
+		a.setPixelSample(1, 2, 3);
+		b.setPixelSample(1, 2, 3);
+		
+		assertEquals(a.hashCode(), b.hashCode());
+	}
+	
+	@Test
+	public void testSample() {
+		final SeededRandomSampler a = new SeededRandomSampler(2L);
+		final SeededRandomSampler b = new SeededRandomSampler(2L);
+		
+		final float[] sample = new float[3];
+		
+		for(int sampleIndex = 0; sampleIndex < 256; sampleIndex++) {
+			a.setPixelSample(sampleIndex % 16, sampleIndex / 16, sampleIndex);
+			b.setPixelSample(sampleIndex % 16, sampleIndex / 16, sampleIndex);
+			
+			for(int i = 0; i < 100; i++) {
+				final Sample3F sample3 = a.sample3();
+				
+				b.sample3(sample, 0);
+				
+				assertEquals(sample3.getU(), sample[0]);
+				assertEquals(sample3.getV(), sample[1]);
+				assertEquals(sample3.getW(), sample[2]);
+				
+				for(final float component : sample) {
+					assertTrue(component >= 0.0F && component < 1.0F);
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testSetPixelSample() {
+		final int[][] pixelSamples = {{0, 0, 0}, {1, 2, 3}, {2, 1, 3}, {1, 2, 4}, {7, 11, 0}};
+		
+		final float[][] samplesA = new float[pixelSamples.length][];
+		final float[][] samplesB = new float[pixelSamples.length][];
+		
+		final SeededRandomSampler a = new SeededRandomSampler(2L);
+		final SeededRandomSampler b = new SeededRandomSampler(2L);
+		
+		for(int i = 0; i < pixelSamples.length; i++) {
+			a.setPixelSample(pixelSamples[i][0], pixelSamples[i][1], pixelSamples[i][2]);
+			
+			samplesA[i] = doSample(a, 16);
+			
+//			Samples that are not consumed must not affect the next pixel sample:
+			a.sample2();
+		}
+		
+		for(int i = pixelSamples.length - 1; i >= 0; i--) {
+			b.setPixelSample(pixelSamples[i][0], pixelSamples[i][1], pixelSamples[i][2]);
+			
+			samplesB[i] = doSample(b, 16);
+		}
+		
+		for(int i = 0; i < pixelSamples.length; i++) {
+			assertArrayEquals(samplesA[i], samplesB[i]);
+			
+			for(int j = 0; j < i; j++) {
+				assertFalse(Arrays.equals(samplesA[i], samplesA[j]));
+			}
+		}
+		
+		a.setPixelSample(1, 2, 3);
+		b.setPixelSample(1, 2, 3);
+		
+		assertEquals(a, b);
+		
+		assertFalse(Arrays.equals(doSample(new SeededRandomSampler(2L), 16), doSample(new SeededRandomSampler(3L), 16)));
+	}
+	
+	@Test
+	public void testToString() {
+		final SeededRandomSampler seededRandomSampler = new SeededRandomSampler(2L);
+		
+		assertEquals("new SeededRandomSampler(2L)", seededRandomSampler.toString());
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static float[] doSample(final Sampler sampler, final int count) {
+		final float[] samples = new float[count];
+		
+		for(int i = 0; i < count; i++) {
+			sampler.sample1(samples, i);
+		}
+		
+		return samples;
+	}
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.sampler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class SobolSamplerUnitTests {
+	public SobolSamplerUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testCopy() {
+		final SobolSampler a = new SobolSampler(2L);
+		final Sampler b = a.copy();
+		
+		assertEquals(a, b);
+		
+		a.setPixelSample(3, 4, 5);
+		b.setPixelSample(3, 4, 5);
+		
+		final float[] sampleA = new float[2];
+		final float[] sampleB = new float[2];
+		
+		a.sample2(sampleA, 0);
+		b.sample2(sampleB, 0);
+		
+		assertArrayEquals(sampleA, sampleB);
+	}
+	
+	@Test
+	public void testEquals() {
+		final SobolSampler a = new SobolSampler(2L);
+		final SobolSampler b = new SobolSampler(2L);
+		final SobolSampler c = new SobolSampler(3L);
+		final SobolSampler d = null;
+		
+		assertEquals(a, a);
+		
+		assertEquals(a, b);
+		assertEquals(b, a);
+		
+		assertNotEquals(a, c);
+		assertNotEquals(c, a);
+		
+		assertNotEquals(a, d);
+		assertNotEquals(d, a);
+	}
+	
+	@Test
+	public void testHashCode() {
+		final SobolSampler a = new SobolSampler(2L);
+		final SobolSampler b = new SobolSampler(2L);
+		
+		assertEquals(a.hashCode(), b.hashCode());
+	}
+	
+	@Test
+	public void testSample2IsStratified() {
+		final SobolSampler sobolSampler = new SobolSampler();
+		
+		for(int dimension = 0; dimension < 4; dimension++) {
+			for(int k = 0; k <= 4; k++) {
+				final boolean[] isOccupied = new boolean[16];
+				
+				for(int sampleIndex = 0; sampleIndex < 16; sampleIndex++) {
+					sobolSampler.setPixelSample(7, 11, sampleIndex);
+					
+					final float[] sample = new float[2];
+					
+					for(int i = 0; i <= dimension; i++) {
+						sobolSampler.sample2(sample, 0);
+					}
+					
+					assertTrue(sample[0] >= 0.0F && sample[0] < 1.0F);
+					assertTrue(sample[1] >= 0.0F && sample[1] < 1.0F);
+					
+					final int cellX = (int)(sample[0] * (1 << k));
+					final int cellY = (int)(sample[1] * (1 << (4 - k)));
+					final int cell = cellX * (1 << (4 - k)) + cellY;
+					
+					assertFalse(isOccupied[cell]);
+					
+					isOccupied[cell] = true;
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testSetPixelSample() {
+		final SobolSampler sobolSampler = new SobolSampler();
+		
+		final float[] sampleA = new float[3];
+		final float[] sampleB = new float[3];
+		final float[] sampleC = new float[3];
+		
+		sobolSampler.setPixelSample(1, 2, 3);
+		sobolSampler.sample3(sampleA, 0);
+		
+		sobolSampler.setPixelSample(2, 1, 3);
+		sobolSampler.sample3(sampleB, 0);
+		
+		sobolSampler.setPixelSample(1, 2, 3);
+		sobolSampler.sample3(sampleC, 0);
+		
+		assertArrayEquals(sampleA, sampleC);
+		
+		assertFalse(sampleA[0] == sampleB[0] && sampleA[1] == sampleB[1] && sampleA[2] == sampleB[2]);
+	}
+	
+	@Test
+	public void testToString() {
+		final SobolSampler sobolSampler = new SobolSampler(2L);
+		
+		assertEquals("new SobolSampler(2L)", sobolSampler.toString());
+	}
+}
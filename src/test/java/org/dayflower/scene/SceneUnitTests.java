@@ -0,0 +1,125 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.scene.light.LightDistribution;
+import org.dayflower.scene.light.PointLight;
+import org.dayflower.scene.light.PowerLightDistribution;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class SceneUnitTests {
+	public SceneUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testGetLightDistribution() {
+		final AtomicInteger count = new AtomicInteger();
+		
+		final
+		Scene scene = new Scene();
+		scene.addLight(new PointLight());
+		scene.setLightDistributionFunction(currentScene -> {
+			count.incrementAndGet();
+			
+			return new PowerLightDistribution(currentScene);
+		});
+		scene.buildAccelerationStructure();
+		
+		assertEquals(1, count.get());
+		
+		final LightDistribution lightDistribution = scene.getLightDistribution();
+		
+		assertSame(lightDistribution, scene.getLightDistribution());
+		
+		assertEquals(1, count.get());
+		
+		scene.addLight(new PointLight(new Color3F(1.0F), new Point3F(1.0F, 2.0F, 3.0F)));
+		
+		assertNotSame(lightDistribution, scene.getLightDistribution());
+		
+		assertEquals(2, count.get());
+	}
+	
+	@Test
+	public void testGetLightDistributionConcurrently() throws Exception {
+		final AtomicInteger count = new AtomicInteger();
+		
+		final CountDownLatch countDownLatch = new CountDownLatch(1);
+		
+		final
+		Scene scene = new Scene();
+		scene.addLight(new PointLight());
+		scene.setLightDistributionFunction(currentScene -> {
+			count.incrementAndGet();
+			
+//			Give the other threads time to get past the first check:
+			try {
+				Thread.sleep(50L);
+			} catch(final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			
+			return new PowerLightDistribution(currentScene);
+		});
+		
+		final ExecutorService executorService = Executors.newFixedThreadPool(8);
+		
+		try {
+			final List<Future<LightDistribution>> futures = new ArrayList<>();
+			
+			for(int i = 0; i < 8; i++) {
+				futures.add(executorService.submit(() -> {
+					countDownLatch.await();
+					
+					return scene.getLightDistribution();
+				}));
+			}
+			
+			countDownLatch.countDown();
+			
+			final LightDistribution lightDistribution = futures.get(0).get();
+			
+			for(final Future<LightDistribution> future : futures) {
+				assertSame(lightDistribution, future.get());
+			}
+			
+			assertEquals(1, count.get());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.bssrdf;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.dayflower.utility.InterningCache;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class BSSRDFTableUnitTests {
+	public BSSRDFTableUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testBeamDiffusion() {
+		final BSSRDFTable a = BSSRDFTable.beamDiffusion(10, 8, 0.1F, 1.33F);
+		final BSSRDFTable b = BSSRDFTable.beamDiffusion(10, 8, 0.1F, 1.33F);
+		final BSSRDFTable c = BSSRDFTable.beamDiffusion(10, 8, 0.2F, 1.33F);
+		final BSSRDFTable d = new BSSRDFTable(10, 8);
+		
+		d.computeBeamDiffusionBSSRDF(0.1F, 1.33F);
+		
+		assertSame(a, b);
+		assertNotSame(a, c);
+		
+		assertArrayEquals(d.getProfile(), a.getProfile());
+		assertArrayEquals(d.getProfileCDF(), a.getProfileCDF());
+		assertArrayEquals(d.getRadiusSamples(), a.getRadiusSamples());
+		assertArrayEquals(d.getRhoEff(), a.getRhoEff());
+		assertArrayEquals(d.getRhoSamples(), a.getRhoSamples());
+		
+		assertThrows(IllegalArgumentException.class, () -> BSSRDFTable.beamDiffusion(1, 8, 0.1F, 1.33F));
+		assertThrows(IllegalArgumentException.class, () -> BSSRDFTable.beamDiffusion(10, 1, 0.1F, 1.33F));
+	}
+	
+	@Test
+	public void testBeamDiffusionWithCacheDirectory() throws IOException {
+		final File cacheDirectory = Files.createTempDirectory("dayflower").toFile();
+		
+		try {
+			BSSRDFTable.setCacheDirectory(cacheDirectory);
+			
+			assertEquals(cacheDirectory, BSSRDFTable.getCacheDirectory().get());
+			
+			final BSSRDFTable a = BSSRDFTable.beamDiffusion(12, 9, 0.3F, 1.5F);
+			
+			final File[] cacheFiles = cacheDirectory.listFiles();
+			
+			assertEquals(1, cacheFiles.length);
+			
+			final File cacheFile = cacheFiles[0];
+			
+			final byte[] bytes = Files.readAllBytes(cacheFile.toPath());
+			
+			for(int i = 24; i < bytes.length; i++) {
+				bytes[i] = 0;
+			}
+			
+			Files.write(cacheFile.toPath(), bytes);
+			
+			InterningCache.clearAll();
+			
+			final BSSRDFTable b = BSSRDFTable.beamDiffusion(12, 9, 0.3F, 1.5F);
+			
+			assertNotSame(a, b);
+			assertArrayEquals(new float[a.getProfile().length], b.getProfile());
+		} finally {
+			BSSRDFTable.setCacheDirectory(null);
+			
+			for(final File file : cacheDirectory.listFiles()) {
+				file.delete();
+			}
+			
+			cacheDirectory.delete();
+		}
+		
+		assertEquals(false, BSSRDFTable.getCacheDirectory().isPresent());
+	}
+}
\ No newline at end of file
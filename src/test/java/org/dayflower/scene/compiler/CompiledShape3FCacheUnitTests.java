@@ -0,0 +1,150 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.shape.Polygon3F;
+import org.dayflower.geometry.shape.Triangle3F;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class CompiledShape3FCacheUnitTests {
+	public CompiledShape3FCacheUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testAddPolygon3F() {
+		final List<Polygon3F> polygon3Fs = new ArrayList<>();
+		
+		for(int i = 0; i < 100; i++) {
+			polygon3Fs.add(doCreatePolygon3F(3 + i % 4, i));
+		}
+		
+		final CompiledShape3FCache compiledShape3FCache = new CompiledShape3FCache();
+		
+		for(int i = 0; i < polygon3Fs.size(); i++) {
+			final float[] polygon3F = CompiledShape3FCache.toPolygon3F(polygon3Fs.get(i));
+			
+			assertEquals(i, compiledShape3FCache.addPolygon3F(polygon3F));
+			assertEquals(i, compiledShape3FCache.addPolygon3F(polygon3F));
+			assertEquals(i + 1, compiledShape3FCache.getPolygon3FCount());
+		}
+		
+		assertArrayEquals(CompiledShape3FCache.toPolygon3FOffsets(polygon3Fs), compiledShape3FCache.getPolygon3FOffsets());
+		assertArrayEquals(CompiledShape3FCache.toPolygon3Fs(polygon3Fs), compiledShape3FCache.getPolygon3Fs());
+		
+		assertTrue(compiledShape3FCache.removePolygon3F(CompiledShape3FCache.toPolygon3F(polygon3Fs.remove(50))));
+		
+		assertArrayEquals(CompiledShape3FCache.toPolygon3FOffsets(polygon3Fs), compiledShape3FCache.getPolygon3FOffsets());
+		assertArrayEquals(CompiledShape3FCache.toPolygon3Fs(polygon3Fs), compiledShape3FCache.getPolygon3Fs());
+		
+		polygon3Fs.add(doCreatePolygon3F(5, 100));
+		
+		assertEquals(99, compiledShape3FCache.addPolygon3F(CompiledShape3FCache.toPolygon3F(polygon3Fs.get(99))));
+		
+		assertArrayEquals(CompiledShape3FCache.toPolygon3FOffsets(polygon3Fs), compiledShape3FCache.getPolygon3FOffsets());
+		assertArrayEquals(CompiledShape3FCache.toPolygon3Fs(polygon3Fs), compiledShape3FCache.getPolygon3Fs());
+	}
+	
+	@Test
+	public void testAddTriangle3F() {
+		final List<Triangle3F> triangle3Fs = new ArrayList<>();
+		
+		for(int i = 0; i < 100; i++) {
+			triangle3Fs.add(new Triangle3F(new Point3F(i, 0.0F, 0.0F), new Point3F(i + 1.0F, 0.0F, 0.0F), new Point3F(i, 1.0F, 0.0F)));
+		}
+		
+		final CompiledShape3FCache compiledShape3FCache = new CompiledShape3FCache();
+		
+		for(int i = 0; i < triangle3Fs.size(); i++) {
+			final float[] triangle3F = CompiledShape3FCache.toTriangle3F(triangle3Fs.get(i));
+			
+			assertEquals(i, compiledShape3FCache.addTriangle3F(triangle3F));
+			assertEquals(i, compiledShape3FCache.addTriangle3F(triangle3F));
+			assertEquals(i + 1, compiledShape3FCache.getTriangle3FCount());
+			assertEquals(i * CompiledShape3FCache.TRIANGLE_3_F_LENGTH, compiledShape3FCache.getTriangle3FOffsetAbsolute(triangle3F));
+		}
+		
+//		The Triangle3F instances are appended to a buffer with spare capacity that is filled with zeros. A Triangle3F with only zeros must not be found there:
+		assertEquals(-1, compiledShape3FCache.getTriangle3FOffsetRelative(new float[CompiledShape3FCache.TRIANGLE_3_F_LENGTH]));
+		
+		final float[] triangle3Fs0 = compiledShape3FCache.getTriangle3Fs();
+		final float[] triangle3Fs1 = compiledShape3FCache.getTriangle3Fs();
+		
+		assertArrayEquals(CompiledShape3FCache.toTriangle3Fs(triangle3Fs), triangle3Fs0);
+		
+		assertSame(triangle3Fs0, triangle3Fs1);
+		
+		final float[] triangle3F = CompiledShape3FCache.toTriangle3F(new Triangle3F());
+		
+		assertEquals(100, compiledShape3FCache.addTriangle3F(triangle3F));
+		
+//		The float[] that was returned before must not be changed by adding another Triangle3F:
+		assertArrayEquals(CompiledShape3FCache.toTriangle3Fs(triangle3Fs), triangle3Fs0);
+		
+		triangle3Fs.add(new Triangle3F());
+		
+		assertArrayEquals(CompiledShape3FCache.toTriangle3Fs(triangle3Fs), compiledShape3FCache.getTriangle3Fs());
+		
+		assertTrue(compiledShape3FCache.removeTriangle3F(triangle3F));
+		assertFalse(compiledShape3FCache.removeTriangle3F(triangle3F));
+		
+		assertArrayEquals(triangle3Fs0, compiledShape3FCache.getTriangle3Fs());
+	}
+	
+	@Test
+	public void testSetTriangle3Fs() {
+		final float[] triangle3Fs = CompiledShape3FCache.toTriangle3F(new Triangle3F());
+		
+		final CompiledShape3FCache compiledShape3FCache = new CompiledShape3FCache();
+		
+		compiledShape3FCache.setTriangle3Fs(triangle3Fs);
+		
+		assertSame(triangle3Fs, compiledShape3FCache.getTriangle3Fs());
+		
+		assertEquals(1, compiledShape3FCache.getTriangle3FCount());
+		assertEquals(0, compiledShape3FCache.getTriangle3FOffsetRelative(triangle3Fs));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Polygon3F doCreatePolygon3F(final int pointCount, final float z) {
+		final Point3F[] points = new Point3F[pointCount];
+		
+		for(int i = 0; i < pointCount; i++) {
+			final double angle = 2.0D * Math.PI * i / pointCount;
+			
+			points[i] = new Point3F((float)(Math.cos(angle)), (float)(Math.sin(angle)), z);
+		}
+		
+		return new Polygon3F(points);
+	}
+}
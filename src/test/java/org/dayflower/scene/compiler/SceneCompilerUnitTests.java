@@ -0,0 +1,285 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.geometry.AngleF;
+import org.dayflower.geometry.Matrix44F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.Quaternion4F;
+import org.dayflower.geometry.Vector3F;
+import org.dayflower.geometry.shape.Cone3F;
+import org.dayflower.geometry.shape.Cylinder3F;
+import org.dayflower.geometry.shape.Disk3F;
+import org.dayflower.geometry.shape.Hyperboloid3F;
+import org.dayflower.geometry.shape.Paraboloid3F;
+import org.dayflower.geometry.shape.Plane3F;
+import org.dayflower.geometry.shape.Polygon3F;
+import org.dayflower.geometry.shape.Rectangle3F;
+import org.dayflower.geometry.shape.RectangularCuboid3F;
+import org.dayflower.geometry.shape.Sphere3F;
+import org.dayflower.geometry.shape.Torus3F;
+import org.dayflower.geometry.shape.Triangle3F;
+import org.dayflower.geometry.shape.TriangleMesh3F;
+import org.dayflower.scene.Camera;
+import org.dayflower.scene.Primitive;
+import org.dayflower.scene.Scene;
+import org.dayflower.scene.Transform;
+import org.dayflower.scene.light.PerezLight;
+import org.dayflower.scene.light.PointLight;
+import org.dayflower.scene.light.SpotLight;
+import org.dayflower.scene.material.BullseyeMaterial;
+import org.dayflower.scene.material.DisneyMaterial;
+import org.dayflower.scene.material.GlassMaterial;
+import org.dayflower.scene.material.MatteMaterial;
+import org.dayflower.scene.material.MirrorMaterial;
+import org.dayflower.scene.material.PlasticMaterial;
+import org.dayflower.scene.texture.BullseyeTexture;
+import org.dayflower.scene.texture.CheckerboardTexture;
+import org.dayflower.scene.texture.MarbleTexture;
+import org.junit.jupiter.api.Test;
+import org.macroing.java.util.visitor.NodeCache;
+
+@SuppressWarnings("static-method")
+public final class SceneCompilerUnitTests {
+	public SceneCompilerUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testCompile() {
+		final Scene scene = doCreateScene();
+		
+		final CompiledScene expected = doCompileSequentially(scene);
+		
+		assertEquals(2, expected.getCompiledShape3FCache().getTriangleMesh3FCount());
+		assertTrue(expected.getCompiledPrimitiveCache().getInfinitePrimitives().length > 0);
+		
+		final SceneCompiler sceneCompiler = new SceneCompiler();
+		
+//		The caches are set up and built concurrently, so compile the Scene a few times to let the caches finish in different orders:
+		for(int i = 0; i < 4; i++) {
+			doAssertEquals(expected, sceneCompiler.compile(scene));
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static CompiledScene doCompileSequentially(final Scene scene) {
+		final NodeCache nodeCache = new NodeCache();
+		
+		final BoundingVolume3FCache boundingVolume3FCache = new BoundingVolume3FCache(nodeCache);
+		final CameraCache cameraCache = new CameraCache();
+		final Shape3FCache shape3FCache = new Shape3FCache(nodeCache, boundingVolume3FCache);
+		final LightCache lightCache = new LightCache(nodeCache, shape3FCache);
+		final ModifierCache modifierCache = new ModifierCache(nodeCache);
+		final TextureCache textureCache = new TextureCache(nodeCache);
+		final MaterialCache materialCache = new MaterialCache(nodeCache, modifierCache, textureCache);
+		final PrimitiveCache primitiveCache = new PrimitiveCache(boundingVolume3FCache, lightCache, materialCache, shape3FCache);
+		
+		nodeCache.add(scene, node -> BoundingVolume3FCache.filter(node) || LightCache.filter(node) || MaterialCache.filter(node) || ModifierCache.filter(node) || Shape3FCache.filter(node) || TextureCache.filter(node));
+		
+		cameraCache.setup(scene);
+		boundingVolume3FCache.setup();
+		lightCache.setup();
+		materialCache.setup();
+		modifierCache.setup();
+		shape3FCache.setup();
+		textureCache.setup();
+		primitiveCache.setup(scene);
+		
+		final CompiledScene compiledScene = new CompiledScene();
+		
+		boundingVolume3FCache.build(compiledScene);
+		cameraCache.build(compiledScene);
+		lightCache.build(compiledScene);
+		materialCache.build(compiledScene);
+		modifierCache.build(compiledScene);
+		primitiveCache.build(compiledScene);
+		shape3FCache.build(compiledScene);
+		textureCache.build(compiledScene);
+		
+		return compiledScene;
+	}
+	
+	private static Scene doCreateScene() {
+		final
+		Scene scene = new Scene();
+		scene.addLight(new PerezLight());
+		scene.addLight(new PointLight(new Color3F(12.0F), new Point3F(0.0F, 4.0F, 9.0F)));
+		scene.addLight(new SpotLight());
+		scene.addPrimitive(new Primitive(new MatteMaterial(new CheckerboardTexture()), new Plane3F(), new Transform(new Point3F(), Quaternion4F.from(Matrix44F.rotateX(AngleF.degrees(90.0F))))));
+		scene.addPrimitive(new Primitive(new BullseyeMaterial(), new Cone3F(), new Transform(new Point3F(-4.0F, 1.0F, 5.0F))));
+		scene.addPrimitive(new Primitive(new DisneyMaterial(), new Cylinder3F(), new Transform(new Point3F(-2.0F, 1.0F, 5.0F))));
+		scene.addPrimitive(new Primitive(new GlassMaterial(), new Disk3F(), new Transform(new Point3F(0.0F, 1.0F, 5.0F))));
+		scene.addPrimitive(new Primitive(new MatteMaterial(new MarbleTexture()), new Hyperboloid3F(), new Transform(new Point3F(2.0F, 1.0F, 5.0F))));
+		scene.addPrimitive(new Primitive(new MirrorMaterial(), new Paraboloid3F(), new Transform(new Point3F(4.0F, 1.0F, 5.0F))));
+		scene.addPrimitive(new Primitive(new PlasticMaterial(), new Polygon3F(new Point3F(0.0F, 0.0F, 0.0F), new Point3F(1.0F, 0.0F, 0.0F), new Point3F(1.0F, 1.0F, 0.0F), new Point3F(0.5F, 1.5F, 0.0F), new Point3F(0.0F, 1.0F, 0.0F)), new Transform(new Point3F(-4.0F, 1.0F, 8.0F))));
+		scene.addPrimitive(new Primitive(new MatteMaterial(new BullseyeTexture()), new Rectangle3F(), new Transform(new Point3F(-2.0F, 1.0F, 8.0F))));
+		scene.addPrimitive(new Primitive(new MatteMaterial(), new RectangularCuboid3F(), new Transform(new Point3F(0.0F, 1.0F, 8.0F))));
+		scene.addPrimitive(new Primitive(new MatteMaterial(), new Sphere3F(), new Transform(new Point3F(2.0F, 1.0F, 8.0F))));
+		scene.addPrimitive(new Primitive(new MatteMaterial(), new Sphere3F(), new Transform(new Point3F(2.0F, 3.0F, 8.0F))));
+		scene.addPrimitive(new Primitive(new MatteMaterial(), new Torus3F(), new Transform(new Point3F(4.0F, 1.0F, 8.0F))));
+		scene.addPrimitive(new Primitive(new MatteMaterial(), new Triangle3F(), new Transform(new Point3F(-4.0F, 1.0F, 11.0F))));
+		scene.addPrimitive(new Primitive(new GlassMaterial(), doCreateTriangleMesh3F(8, 0.25F), new Transform(new Point3F(-2.0F, 1.0F, 11.0F))));
+		scene.addPrimitive(new Primitive(new PlasticMaterial(), doCreateTriangleMesh3F(16, 0.5F), new Transform(new Point3F(2.0F, 1.0F, 11.0F), Quaternion4F.from(Matrix44F.rotateY(AngleF.degrees(45.0F))), new Vector3F(2.0F))));
+		scene.setCamera(new Camera(new Point3F(0.0F, 2.0F, -10.0F), AngleF.degrees(40.0F)));
+		
+		return scene;
+	}
+	
+	private static TriangleMesh3F doCreateTriangleMesh3F(final int resolution, final float height) {
+		final int vertexCount = (resolution + 1) * (resolution + 1);
+		
+		final float[] positions = new float[vertexCount * 3];
+		final float[] normals = new float[vertexCount * 3];
+		final float[] textureCoordinates = new float[vertexCount * 2];
+		
+		final int[] indices = new int[resolution * resolution * 6];
+		
+		for(int z = 0, vertex = 0; z <= resolution; z++) {
+			for(int x = 0; x <= resolution; x++, vertex++) {
+				final float u = (float)(x) / resolution;
+				final float v = (float)(z) / resolution;
+				
+				positions[vertex * 3 + 0] = u - 0.5F;
+				positions[vertex * 3 + 1] = height * (float)(Math.sin(u * 6.0F) * Math.cos(v * 6.0F));
+				positions[vertex * 3 + 2] = v - 0.5F;
+				
+				normals[vertex * 3 + 1] = 1.0F;
+				
+				textureCoordinates[vertex * 2 + 0] = u;
+				textureCoordinates[vertex * 2 + 1] = v;
+			}
+		}
+		
+		for(int z = 0, index = 0; z < resolution; z++) {
+			for(int x = 0; x < resolution; x++) {
+				final int vertex = z * (resolution + 1) + x;
+				
+				indices[index++] = vertex;
+				indices[index++] = vertex + resolution + 1;
+				indices[index++] = vertex + 1;
+				indices[index++] = vertex + 1;
+				indices[index++] = vertex + resolution + 1;
+				indices[index++] = vertex + resolution + 2;
+			}
+		}
+		
+		return new TriangleMesh3F(positions, normals, textureCoordinates, indices, "", "", "", true);
+	}
+	
+	private static void doAssertEquals(final CompiledScene expected, final CompiledScene actual) {
+		doAssertEquals(expected.getCompiledBoundingVolume3FCache(), actual.getCompiledBoundingVolume3FCache());
+		doAssertEquals(expected.getCompiledCameraCache(), actual.getCompiledCameraCache());
+		doAssertEquals(expected.getCompiledLightCache(), actual.getCompiledLightCache());
+		doAssertEquals(expected.getCompiledMaterialCache(), actual.getCompiledMaterialCache());
+		doAssertEquals(expected.getCompiledModifierCache(), actual.getCompiledModifierCache());
+		doAssertEquals(expected.getCompiledPrimitiveCache(), actual.getCompiledPrimitiveCache());
+		doAssertEquals(expected.getCompiledShape3FCache(), actual.getCompiledShape3FCache());
+		doAssertEquals(expected.getCompiledTextureCache(), actual.getCompiledTextureCache());
+	}
+	
+	private static void doAssertEquals(final CompiledBoundingVolume3FCache expected, final CompiledBoundingVolume3FCache actual) {
+		assertArrayEquals(expected.getAxisAlignedBoundingBox3Fs(), actual.getAxisAlignedBoundingBox3Fs());
+		assertArrayEquals(expected.getBoundingSphere3Fs(), actual.getBoundingSphere3Fs());
+	}
+	
+	private static void doAssertEquals(final CompiledCameraCache expected, final CompiledCameraCache actual) {
+		assertArrayEquals(expected.getCamera(), actual.getCamera());
+	}
+	
+	private static void doAssertEquals(final CompiledLightCache expected, final CompiledLightCache actual) {
+		assertArrayEquals(expected.getDiffuseAreaLights(), actual.getDiffuseAreaLights());
+		assertArrayEquals(expected.getDirectionalLights(), actual.getDirectionalLights());
+		assertArrayEquals(expected.getImageLightOffsets(), actual.getImageLightOffsets());
+		assertArrayEquals(expected.getImageLights(), actual.getImageLights());
+		assertArrayEquals(expected.getLightBVH(), actual.getLightBVH());
+		assertArrayEquals(expected.getLightIDsAndOffsets(), actual.getLightIDsAndOffsets());
+		assertArrayEquals(expected.getPerezLightOffsets(), actual.getPerezLightOffsets());
+		assertArrayEquals(expected.getPerezLights(), actual.getPerezLights());
+		assertArrayEquals(expected.getPointLights(), actual.getPointLights());
+		assertArrayEquals(expected.getSpotLights(), actual.getSpotLights());
+	}
+	
+	private static void doAssertEquals(final CompiledMaterialCache expected, final CompiledMaterialCache actual) {
+		assertArrayEquals(expected.getBullseyeMaterials(), actual.getBullseyeMaterials());
+		assertArrayEquals(expected.getCheckerboardMaterials(), actual.getCheckerboardMaterials());
+		assertArrayEquals(expected.getClearCoatMaterials(), actual.getClearCoatMaterials());
+		assertArrayEquals(expected.getDisneyMaterials(), actual.getDisneyMaterials());
+		assertArrayEquals(expected.getGlassMaterials(), actual.getGlassMaterials());
+		assertArrayEquals(expected.getGlossyMaterials(), actual.getGlossyMaterials());
+		assertArrayEquals(expected.getMatteMaterials(), actual.getMatteMaterials());
+		assertArrayEquals(expected.getMetalMaterials(), actual.getMetalMaterials());
+		assertArrayEquals(expected.getMirrorMaterials(), actual.getMirrorMaterials());
+		assertArrayEquals(expected.getPlasticMaterials(), actual.getPlasticMaterials());
+		assertArrayEquals(expected.getPolkaDotMaterials(), actual.getPolkaDotMaterials());
+		assertArrayEquals(expected.getSubstrateMaterials(), actual.getSubstrateMaterials());
+		assertArrayEquals(expected.getTranslucentMaterials(), actual.getTranslucentMaterials());
+		assertArrayEquals(expected.getUberMaterials(), actual.getUberMaterials());
+	}
+	
+	private static void doAssertEquals(final CompiledModifierCache expected, final CompiledModifierCache actual) {
+		assertArrayEquals(expected.getNormalMapLDRImageModifierOffsets(), actual.getNormalMapLDRImageModifierOffsets());
+		assertArrayEquals(expected.getNormalMapLDRImageModifiers(), actual.getNormalMapLDRImageModifiers());
+		assertArrayEquals(expected.getSimplexNoiseNormalMapModifiers(), actual.getSimplexNoiseNormalMapModifiers());
+	}
+	
+	private static void doAssertEquals(final CompiledPrimitiveCache expected, final CompiledPrimitiveCache actual) {
+		assertArrayEquals(expected.getBVHAxisAlignedBoundingBox3Fs(), actual.getBVHAxisAlignedBoundingBox3Fs());
+		assertArrayEquals(expected.getBVHNodes(), actual.getBVHNodes());
+		assertArrayEquals(expected.getInfinitePrimitives(), actual.getInfinitePrimitives());
+		assertArrayEquals(expected.getMatrix44Fs(), actual.getMatrix44Fs());
+		assertArrayEquals(expected.getPrimitives(), actual.getPrimitives());
+	}
+	
+	private static void doAssertEquals(final CompiledShape3FCache expected, final CompiledShape3FCache actual) {
+		assertArrayEquals(expected.getCone3Fs(), actual.getCone3Fs());
+		assertArrayEquals(expected.getCylinder3Fs(), actual.getCylinder3Fs());
+		assertArrayEquals(expected.getDisk3Fs(), actual.getDisk3Fs());
+		assertArrayEquals(expected.getHyperboloid3Fs(), actual.getHyperboloid3Fs());
+		assertArrayEquals(expected.getParaboloid3Fs(), actual.getParaboloid3Fs());
+		assertArrayEquals(expected.getPolygon3FOffsets(), actual.getPolygon3FOffsets());
+		assertArrayEquals(expected.getPolygon3Fs(), actual.getPolygon3Fs());
+		assertArrayEquals(expected.getRectangle3Fs(), actual.getRectangle3Fs());
+		assertArrayEquals(expected.getRectangularCuboid3Fs(), actual.getRectangularCuboid3Fs());
+		assertArrayEquals(expected.getTorus3Fs(), actual.getTorus3Fs());
+		assertArrayEquals(expected.getTriangle3Fs(), actual.getTriangle3Fs());
+		assertArrayEquals(expected.getTriangleMesh3FOffsets(), actual.getTriangleMesh3FOffsets());
+		assertArrayEquals(expected.getTriangleMesh3Fs(), actual.getTriangleMesh3Fs());
+	}
+	
+	private static void doAssertEquals(final CompiledTextureCache expected, final CompiledTextureCache actual) {
+		assertArrayEquals(expected.getBlendTextures(), actual.getBlendTextures());
+		assertArrayEquals(expected.getBullseyeTextures(), actual.getBullseyeTextures());
+		assertArrayEquals(expected.getCheckerboardTextures(), actual.getCheckerboardTextures());
+		assertArrayEquals(expected.getConstantTextures(), actual.getConstantTextures());
+		assertArrayEquals(expected.getLDRImageTextureOffsets(), actual.getLDRImageTextureOffsets());
+		assertArrayEquals(expected.getLDRImageTextures(), actual.getLDRImageTextures());
+		assertArrayEquals(expected.getMarbleTextures(), actual.getMarbleTextures());
+		assertArrayEquals(expected.getPolkaDotTextures(), actual.getPolkaDotTextures());
+		assertArrayEquals(expected.getSimplexFractionalBrownianMotionTextures(), actual.getSimplexFractionalBrownianMotionTextures());
+	}
+}
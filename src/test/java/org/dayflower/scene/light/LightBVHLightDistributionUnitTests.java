@@ -0,0 +1,164 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.light;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.shape.Sphere3F;
+import org.dayflower.sampler.Distribution1F;
+import org.dayflower.scene.Light;
+import org.dayflower.scene.Transform;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class LightBVHLightDistributionUnitTests {
+	public LightBVHLightDistributionUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testConstructorEmpty() {
+		final LightBVHLightDistribution lightBVHLightDistribution = new LightBVHLightDistribution(new ArrayList<>());
+		
+		assertEquals(0, lightBVHLightDistribution.getNodeCount());
+		assertEquals(0, lightBVHLightDistribution.find(new Point3F()).count());
+		assertEquals(-1, lightBVHLightDistribution.sampleIndex(new Point3F(), 0.5F));
+		assertEquals(2, lightBVHLightDistribution.toArray().length);
+		
+		assertThrows(IllegalArgumentException.class, () -> lightBVHLightDistribution.evaluateProbabilityMassFunction(new Point3F(), 0));
+		assertThrows(NullPointerException.class, () -> new LightBVHLightDistribution((List<Light>)(null)));
+	}
+	
+	@Test
+	public void testEvaluateProbabilityMassFunction() {
+		final List<Light> lights = doCreateLights(200);
+		
+		final LightBVHLightDistribution lightBVHLightDistribution = new LightBVHLightDistribution(lights);
+		
+		final Random random = new Random(3L);
+		
+		for(int i = 0; i < 50; i++) {
+			final Point3F point = new Point3F(random.nextFloat() * 120.0F - 60.0F, random.nextFloat() * 120.0F - 60.0F, random.nextFloat() * 120.0F - 60.0F);
+			
+			final Distribution1F distribution = lightBVHLightDistribution.find(point);
+			
+			float probabilitySum = 0.0F;
+			
+			for(int j = 0; j < lights.size(); j++) {
+				final float probability = lightBVHLightDistribution.evaluateProbabilityMassFunction(point, j);
+				
+				assertTrue(probability > 0.0F);
+				assertEquals(probability, distribution.discreteProbabilityDensityFunction(j), 1.0E-5F);
+				
+				probabilitySum += probability;
+			}
+			
+			assertEquals(1.0F, probabilitySum, 1.0E-4F);
+		}
+		
+		assertThrows(IllegalArgumentException.class, () -> lightBVHLightDistribution.evaluateProbabilityMassFunction(new Point3F(), lights.size()));
+		assertThrows(NullPointerException.class, () -> lightBVHLightDistribution.evaluateProbabilityMassFunction(null, 0));
+	}
+	
+	@Test
+	public void testSampleIndex() {
+		final List<Light> lights = doCreateLights(40);
+		
+		final LightBVHLightDistribution lightBVHLightDistribution = new LightBVHLightDistribution(lights);
+		
+		final Point3F point = new Point3F(10.0F, -5.0F, 20.0F);
+		
+		final int sampleCount = 200000;
+		
+		final int[] counts = new int[lights.size()];
+		
+		for(int i = 0; i < sampleCount; i++) {
+			counts[lightBVHLightDistribution.sampleIndex(point, (i + 0.5F) / sampleCount)]++;
+		}
+		
+		for(int i = 0; i < lights.size(); i++) {
+			assertEquals(lightBVHLightDistribution.evaluateProbabilityMassFunction(point, i), (float)(counts[i]) / sampleCount, 1.0E-3F);
+		}
+		
+		assertThrows(NullPointerException.class, () -> lightBVHLightDistribution.sampleIndex(null, 0.5F));
+	}
+	
+	@Test
+	public void testSampleIndexPrefersCloseLights() {
+		final List<Light> lights = new ArrayList<>();
+		
+		lights.add(new PointLight(Color3F.WHITE, new Point3F(-100.0F, 0.0F, 0.0F)));
+		lights.add(new PointLight(Color3F.WHITE, new Point3F(100.0F, 0.0F, 0.0F)));
+		
+		final LightBVHLightDistribution lightBVHLightDistribution = new LightBVHLightDistribution(lights);
+		
+		assertTrue(lightBVHLightDistribution.evaluateProbabilityMassFunction(new Point3F(-99.0F, 0.0F, 0.0F), 0) > 0.99F);
+		assertTrue(lightBVHLightDistribution.evaluateProbabilityMassFunction(new Point3F(99.0F, 0.0F, 0.0F), 1) > 0.99F);
+		assertEquals(0.5F, lightBVHLightDistribution.evaluateProbabilityMassFunction(new Point3F(0.0F, 0.0F, 0.0F), 0), 1.0E-6F);
+	}
+	
+	@Test
+	public void testToArray() {
+		final List<Light> lights = doCreateLights(20);
+		
+		final LightBVHLightDistribution lightBVHLightDistribution = new LightBVHLightDistribution(lights);
+		
+		final float[] array = lightBVHLightDistribution.toArray();
+		
+		assertEquals(20.0F, array[LightBVHLightDistribution.ARRAY_OFFSET_LIGHT_COUNT]);
+		assertEquals(1.0F, array[LightBVHLightDistribution.ARRAY_OFFSET_INFINITE_LIGHT_COUNT]);
+		assertEquals(19.0F, array[LightBVHLightDistribution.ARRAY_OFFSET_INFINITE_LIGHTS]);
+		assertEquals(LightBVHLightDistribution.ARRAY_OFFSET_INFINITE_LIGHTS + 1 + lightBVHLightDistribution.getNodeCount() * LightBVHLightDistribution.NODE_LENGTH, array.length);
+		assertEquals(19 * 2 - 1, lightBVHLightDistribution.getNodeCount());
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static List<Light> doCreateLights(final int count) {
+		final Random random = new Random(1L);
+		
+		final List<Light> lights = new ArrayList<>(count);
+		
+		for(int i = 0; i < count - 1; i++) {
+			final Point3F position = new Point3F(random.nextFloat() * 100.0F - 50.0F, random.nextFloat() * 100.0F - 50.0F, random.nextFloat() * 100.0F - 50.0F);
+			
+			final Color3F color = new Color3F(random.nextFloat() * 10.0F, random.nextFloat() * 10.0F, random.nextFloat() * 10.0F);
+			
+			if(i % 4 == 0) {
+				lights.add(new DiffuseAreaLight(new Transform(position), 1, color, new Sphere3F()));
+			} else {
+				lights.add(new PointLight(color, position));
+			}
+		}
+		
+		lights.add(new DirectionalLight());
+		
+		return lights;
+	}
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.light;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.Vector3F;
+import org.dayflower.sampler.Sample2F;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class PerezLightUnitTests {
+	public PerezLightUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testConstructor() {
+		final PerezLight perezLight = new PerezLight();
+		
+		assertEquals(PerezLight.DEFAULT_RESOLUTION_U, perezLight.getResolutionU());
+		assertEquals(PerezLight.DEFAULT_RESOLUTION_V, perezLight.getResolutionV());
+		assertEquals(PerezLight.DEFAULT_RESOLUTION_U * PerezLight.DEFAULT_RESOLUTION_V * 3, perezLight.getRadianceTable().length);
+	}
+	
+	@Test
+	public void testConstructorFloatVector3FIntInt() {
+		final PerezLight perezLight = new PerezLight(3.0F, new Vector3F(1.0F, 1.0F, -1.0F), 64, 32);
+		
+		assertEquals(64, perezLight.getResolutionU());
+		assertEquals(32, perezLight.getResolutionV());
+		assertEquals(64 * 32 * 3, perezLight.getRadianceTable().length);
+		
+		assertThrows(IllegalArgumentException.class, () -> new PerezLight(3.0F, new Vector3F(1.0F, 1.0F, -1.0F), 1, 32));
+		assertThrows(IllegalArgumentException.class, () -> new PerezLight(3.0F, new Vector3F(1.0F, 1.0F, -1.0F), 64, 1));
+		assertThrows(NullPointerException.class, () -> new PerezLight(3.0F, null, 64, 32));
+	}
+	
+	@Test
+	public void testEquals() {
+		final PerezLight a = new PerezLight(3.0F, new Vector3F(1.0F, 1.0F, -1.0F), 64, 32);
+		final PerezLight b = new PerezLight(3.0F, new Vector3F(1.0F, 1.0F, -1.0F), 64, 32);
+		final PerezLight c = new PerezLight(3.0F, new Vector3F(1.0F, 1.0F, -1.0F), 32, 32);
+		
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+		
+		assertNotEquals(a, c);
+	}
+	
+	@Test
+	public void testEvaluateRadianceEmitted() {
+		final PerezLight perezLight = new PerezLight(3.0F, new Vector3F(1.0F, 1.0F, -1.0F), 256, 128);
+		
+		final Random random = new Random(1L);
+		
+		for(int i = 0; i < 1000; i++) {
+			final Ray3F ray = new Ray3F(new Point3F(), Vector3F.normalize(new Vector3F(random.nextFloat() * 2.0F - 1.0F, random.nextFloat() * 2.0F - 1.0F, random.nextFloat() * 2.0F - 1.0F)));
+			
+			final Color3F colorA = perezLight.evaluateRadianceEmitted(ray);
+			final Color3F colorB = perezLight.evaluateRadianceEmittedAnalytic(ray);
+			
+			final float luminanceA = colorA.relativeLuminance();
+			final float luminanceB = colorB.relativeLuminance();
+			
+			if(luminanceB == 0.0F) {
+				assertEquals(0.0F, luminanceA);
+			} else {
+				assertEquals(luminanceB, luminanceA, luminanceB * 0.05F);
+			}
+		}
+		
+		assertThrows(NullPointerException.class, () -> perezLight.evaluateRadianceEmitted(null));
+		assertThrows(NullPointerException.class, () -> perezLight.evaluateRadianceEmittedAnalytic(null));
+	}
+	
+	@Test
+	public void testGetDistribution() {
+		final PerezLight perezLight = new PerezLight(3.0F, new Vector3F(1.0F, 1.0F, -1.0F), 64, 32);
+		
+		assertEquals(0.0F, perezLight.getDistribution().continuousProbabilityDensityFunction(new Sample2F(0.5F, 0.75F), true));
+		
+		assertTrue(perezLight.getDistribution().continuousProbabilityDensityFunction(new Sample2F(0.5F, 0.25F), true) > 0.0F);
+	}
+	
+	@Test
+	public void testSet() {
+		final PerezLight perezLight = new PerezLight(3.0F, new Vector3F(1.0F, 1.0F, -1.0F), 64, 32);
+		
+		perezLight.set(5.0F);
+		
+		assertEquals(5.0F, perezLight.getTurbidity());
+		assertEquals(64, perezLight.getResolutionU());
+		assertEquals(32, perezLight.getResolutionV());
+		assertEquals(new PerezLight(5.0F, new Vector3F(1.0F, 1.0F, -1.0F), 64, 32), perezLight);
+		
+		assertThrows(IllegalArgumentException.class, () -> perezLight.set(5.0F, new Vector3F(1.0F, 1.0F, -1.0F), 64, 0));
+	}
+}
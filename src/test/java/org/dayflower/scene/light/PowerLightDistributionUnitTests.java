@@ -0,0 +1,66 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.light;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.scene.Light;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class PowerLightDistributionUnitTests {
+	public PowerLightDistributionUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testEvaluateProbabilityMassFunction() {
+		final List<Light> lights = Arrays.asList(new PointLight(new Color3F(1.0F)), new PointLight(new Color3F(3.0F)), new PointLight(Color3F.BLACK));
+		
+		final PowerLightDistribution powerLightDistribution = new PowerLightDistribution(lights);
+		
+		assertEquals(1.0F / 6.0F, powerLightDistribution.evaluateProbabilityMassFunction(new Point3F(), 0), 1.0E-6F);
+		assertEquals(3.0F / 6.0F, powerLightDistribution.evaluateProbabilityMassFunction(new Point3F(), 1), 1.0E-6F);
+		assertEquals(2.0F / 6.0F, powerLightDistribution.evaluateProbabilityMassFunction(new Point3F(), 2), 1.0E-6F);
+		
+		assertThrows(NullPointerException.class, () -> powerLightDistribution.evaluateProbabilityMassFunction(null, 0));
+	}
+	
+	@Test
+	public void testSampleIndex() {
+		final List<Light> lights = Arrays.asList(new PointLight(new Color3F(1.0F)), new PointLight(new Color3F(3.0F)));
+		
+		final PowerLightDistribution powerLightDistribution = new PowerLightDistribution(lights);
+		
+		assertEquals(0, powerLightDistribution.sampleIndex(new Point3F(), 0.2F));
+		assertEquals(1, powerLightDistribution.sampleIndex(new Point3F(), 0.3F));
+		assertEquals(-1, new PowerLightDistribution(new ArrayList<>()).sampleIndex(new Point3F(), 0.5F));
+		
+		assertThrows(NullPointerException.class, () -> new PowerLightDistribution(Arrays.asList(new PointLight(), null)));
+	}
+}
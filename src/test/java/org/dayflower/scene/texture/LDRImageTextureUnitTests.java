@@ -0,0 +1,121 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.texture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.RayDifferential3F;
+import org.dayflower.geometry.Vector3F;
+import org.dayflower.geometry.shape.Plane3F;
+import org.dayflower.scene.Intersection;
+import org.dayflower.scene.Primitive;
+import org.dayflower.scene.material.MatteMaterial;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class LDRImageTextureUnitTests {
+	public LDRImageTextureUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testGetColorWithDifferentials() {
+		final LDRImageTexture lDRImageTexture = doCreateCheckerboard(64, 64);
+		
+		final Point3F origin = new Point3F(0.1F, 0.2F, 1.0F);
+		
+		final Ray3F ray = new Ray3F(origin, new Vector3F(0.0F, 0.0F, -1.0F));
+		final Ray3F rayX = new Ray3F(origin, Vector3F.normalize(new Vector3F(0.5F, 0.0F, -1.0F)));
+		final Ray3F rayY = new Ray3F(origin, Vector3F.normalize(new Vector3F(0.0F, 0.5F, -1.0F)));
+		
+		final Primitive primitive = new Primitive(new MatteMaterial(lDRImageTexture), new Plane3F());
+		
+		final Intersection intersection = primitive.intersection(ray, 0.001F, Float.MAX_VALUE).get();
+		
+		final Color3F colorWithoutDifferentials = lDRImageTexture.getColor(intersection);
+		
+		intersection.computeDifferentials(new RayDifferential3F(ray));
+		
+		assertEquals(colorWithoutDifferentials, lDRImageTexture.getColor(intersection));
+		
+		intersection.computeDifferentials(new RayDifferential3F(ray, rayX, rayY));
+		
+		final Color3F colorWithDifferentials = lDRImageTexture.getColor(intersection);
+		
+		assertEquals(128.0F / 255.0F, colorWithDifferentials.r, 0.001F);
+		assertEquals(128.0F / 255.0F, colorWithDifferentials.g, 0.001F);
+		assertEquals(128.0F / 255.0F, colorWithDifferentials.b, 0.001F);
+	}
+	
+	@Test
+	public void testGetMipMapLevel() {
+		final LDRImageTexture lDRImageTexture = new LDRImageTexture(2, 2, new int[] {0xFF000000, 0xFF0000FF, 0xFF00FF00, 0xFFFF0000});
+		
+		assertArrayEquals(new int[] {0xFF000000, 0xFF0000FF, 0xFF00FF00, 0xFFFF0000}, lDRImageTexture.getMipMapLevel(0));
+		assertArrayEquals(new int[] {0xFF404040}, lDRImageTexture.getMipMapLevel(1));
+		
+		assertThrows(IllegalArgumentException.class, () -> lDRImageTexture.getMipMapLevel(-1));
+		assertThrows(IllegalArgumentException.class, () -> lDRImageTexture.getMipMapLevel(2));
+	}
+	
+	@Test
+	public void testGetMipMapLevelCount() {
+		assertEquals(1, new LDRImageTexture(1, 1, new int[1]).getMipMapLevelCount());
+		assertEquals(7, new LDRImageTexture(64, 64, new int[64 * 64]).getMipMapLevelCount());
+		assertEquals(4, new LDRImageTexture(5, 3, new int[5 * 3]).getMipMapLevelCount());
+	}
+	
+	@Test
+	public void testGetMipMapResolution() {
+		final LDRImageTexture lDRImageTexture = new LDRImageTexture(5, 3, new int[5 * 3]);
+		
+		assertEquals(5, lDRImageTexture.getMipMapResolutionX(0));
+		assertEquals(3, lDRImageTexture.getMipMapResolutionY(0));
+		assertEquals(3, lDRImageTexture.getMipMapResolutionX(1));
+		assertEquals(2, lDRImageTexture.getMipMapResolutionY(1));
+		assertEquals(2, lDRImageTexture.getMipMapResolutionX(2));
+		assertEquals(1, lDRImageTexture.getMipMapResolutionY(2));
+		assertEquals(1, lDRImageTexture.getMipMapResolutionX(3));
+		assertEquals(1, lDRImageTexture.getMipMapResolutionY(3));
+		
+		assertThrows(IllegalArgumentException.class, () -> lDRImageTexture.getMipMapResolutionX(4));
+		assertThrows(IllegalArgumentException.class, () -> lDRImageTexture.getMipMapResolutionY(4));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static LDRImageTexture doCreateCheckerboard(final int resolutionX, final int resolutionY) {
+		final int[] image = new int[resolutionX * resolutionY];
+		
+		for(int y = 0; y < resolutionY; y++) {
+			for(int x = 0; x < resolutionX; x++) {
+				image[y * resolutionX + x] = (x + y) % 2 == 0 ? 0xFFFFFFFF : 0xFF000000;
+			}
+		}
+		
+		return new LDRImageTexture(resolutionX, resolutionY, image);
+	}
+}
\ No newline at end of file
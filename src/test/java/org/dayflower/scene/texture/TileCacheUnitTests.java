@@ -0,0 +1,140 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.texture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class TileCacheUnitTests {
+	public TileCacheUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testConstructor() {
+		assertEquals(TileCache.DEFAULT_MAXIMUM_BYTES, new TileCache().getMaximumBytes());
+		assertEquals(1024L, new TileCache(1024L).getMaximumBytes());
+		
+		assertThrows(IllegalArgumentException.class, () -> new TileCache(-1L));
+		assertThrows(IllegalArgumentException.class, () -> new TileCache(1024L, 0));
+	}
+	
+	@Test
+	public void testGetTile() {
+		final AtomicInteger loadCount = new AtomicInteger();
+		
+		final TileCache tileCache = new TileCache(1024L, 1);
+		
+		final int[] tile = tileCache.getTile(1L, key -> {
+			loadCount.incrementAndGet();
+			
+			return new int[16];
+		});
+		
+		assertSame(tile, tileCache.getTile(1L, key -> {
+			loadCount.incrementAndGet();
+			
+			return new int[16];
+		}));
+		
+		assertEquals(1, loadCount.get());
+		assertEquals(1L, tileCache.getHitCount());
+		assertEquals(1L, tileCache.getMissCount());
+		assertEquals(0.5D, tileCache.getHitRate());
+		assertEquals(1, tileCache.size());
+		assertEquals(64L, tileCache.getSizeInBytes());
+		
+		assertThrows(NullPointerException.class, () -> tileCache.getTile(2L, null));
+		assertThrows(NullPointerException.class, () -> tileCache.getTile(2L, key -> null));
+	}
+	
+	@Test
+	public void testGetTileEvictsLeastRecentlyUsed() {
+		final TileCache tileCache = new TileCache(128L, 1);
+		
+		final int[] tile1 = tileCache.getTile(1L, key -> new int[16]);
+		final int[] tile2 = tileCache.getTile(2L, key -> new int[16]);
+		
+		assertSame(tile1, tileCache.getTile(1L, key -> new int[16]));
+		
+		tileCache.getTile(3L, key -> new int[16]);
+		
+		assertEquals(2, tileCache.size());
+		assertEquals(128L, tileCache.getSizeInBytes());
+		assertEquals(1L, tileCache.getEvictionCount());
+		
+		assertSame(tile1, tileCache.getTile(1L, key -> new int[16]));
+		
+		final int[] tile2Reloaded = tileCache.getTile(2L, key -> new int[16]);
+		
+		assertNotSame(tile2, tile2Reloaded);
+	}
+	
+	@Test
+	public void testSetMaximumBytes() {
+		final TileCache tileCache = new TileCache(1024L, 1);
+		
+		for(long key = 0L; key < 8L; key++) {
+			tileCache.getTile(key, k -> new int[16]);
+		}
+		
+		assertEquals(512L, tileCache.getSizeInBytes());
+		
+		tileCache.setMaximumBytes(256L);
+		
+		assertEquals(256L, tileCache.getMaximumBytes());
+		assertEquals(256L, tileCache.getSizeInBytes());
+		assertEquals(4L, tileCache.getEvictionCount());
+		
+		tileCache.setMaximumBytes(0L);
+		
+		assertEquals(1, tileCache.size());
+		
+		assertThrows(IllegalArgumentException.class, () -> tileCache.setMaximumBytes(-1L));
+	}
+	
+	@Test
+	public void testClearAndResetStatistics() {
+		final TileCache tileCache = new TileCache(1024L, 4);
+		
+		tileCache.getTile(1L, key -> new int[16]);
+		tileCache.getTile(1L, key -> new int[16]);
+		tileCache.clear();
+		
+		assertEquals(0, tileCache.size());
+		assertEquals(0L, tileCache.getSizeInBytes());
+		assertEquals(1L, tileCache.getHitCount());
+		
+		tileCache.resetStatistics();
+		
+		assertEquals(0L, tileCache.getHitCount());
+		assertEquals(0L, tileCache.getMissCount());
+		assertEquals(0L, tileCache.getEvictionCount());
+		assertEquals(0.0D, tileCache.getHitRate());
+	}
+}
\ No newline at end of file
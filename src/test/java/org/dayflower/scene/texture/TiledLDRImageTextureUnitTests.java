@@ -0,0 +1,104 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.scene.texture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+import org.dayflower.geometry.AngleF;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.Vector2F;
+import org.dayflower.geometry.Vector3F;
+import org.dayflower.geometry.shape.Plane3F;
+import org.dayflower.scene.Intersection;
+import org.dayflower.scene.Primitive;
+import org.dayflower.scene.material.MatteMaterial;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class TiledLDRImageTextureUnitTests {
+	public TiledLDRImageTextureUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testConvertAndLoad() throws IOException {
+		final File file = File.createTempFile("dayflower", ".dtt");
+		
+		try {
+			final int[] image = new int[37 * 21];
+			
+			for(int i = 0; i < image.length; i++) {
+				image[i] = 0xFF000000 | ((i * 7919) & 0xFFFFFF);
+			}
+			
+			final LDRImageTexture lDRImageTexture = new LDRImageTexture(37, 21, image);
+			
+			TiledLDRImageTexture.convert(lDRImageTexture, file, 8);
+			
+			final TileCache tileCache = new TileCache(8L * 8L * 4L * 3L, 1);
+			
+			final TiledLDRImageTexture tiledLDRImageTexture = TiledLDRImageTexture.load(file, AngleF.degrees(0.0F), new Vector2F(1.0F, 1.0F), tileCache);
+			
+			assertEquals(37, tiledLDRImageTexture.getResolutionX());
+			assertEquals(21, tiledLDRImageTexture.getResolutionY());
+			assertEquals(8, tiledLDRImageTexture.getTileSize());
+			assertEquals(lDRImageTexture.getMipMapLevelCount(), tiledLDRImageTexture.getMipMapLevelCount());
+			assertEquals(0, tileCache.size());
+			
+			final Primitive primitive = new Primitive(new MatteMaterial(lDRImageTexture), new Plane3F());
+			
+			for(int y = 0; y < 10; y++) {
+				for(int x = 0; x < 10; x++) {
+					final Ray3F ray = new Ray3F(new Point3F(x * 0.37F, y * 0.53F, 1.0F), new Vector3F(0.0F, 0.0F, -1.0F));
+					
+					final Intersection intersection = primitive.intersection(ray, 0.001F, Float.MAX_VALUE).get();
+					
+					assertEquals(lDRImageTexture.getColor(intersection), tiledLDRImageTexture.getColor(intersection));
+				}
+			}
+			
+			assertEquals(true, tileCache.getSizeInBytes() <= tileCache.getMaximumBytes());
+			assertEquals(true, tileCache.getMissCount() > 0L);
+		} finally {
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testLoadInvalidFile() throws IOException {
+		final File file = File.createTempFile("dayflower", ".dtt");
+		
+		try {
+			Files.write(file.toPath(), new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20});
+			
+			assertThrows(UncheckedIOException.class, () -> TiledLDRImageTexture.load(file));
+		} finally {
+			file.delete();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.test;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.color.ColorSpaceF;
+import org.dayflower.image.ImageF;
+import org.dayflower.image.PixelImageF;
+import org.dayflower.renderer.cpu.CPURenderer;
+import org.dayflower.renderer.observer.NoOpRendererObserver;
+import org.dayflower.scene.Camera;
+import org.dayflower.scene.Scene;
+import org.dayflower.scene.loader.JavaSceneLoader;
+
+/**
+ * Compares uniform sampling with adaptive sampling on a scene.
+ * <p>
+ * A reference image is rendered with many samples per pixel. The scene is then rendered with a number of render passes for all pixels, and with adaptive sampling for a number of error thresholds. The number of samples, the time and the
+ * root-mean-square error against the reference are printed for each run. The sample density map of the last adaptive run is saved next to the working directory.
+ * <p>
+ * The arguments are the pathname of the scene, the resolution on the X-axis, the resolution on the Y-axis, the number of samples per pixel for the reference image and the maximum number of render passes. They default to
+ * {@code ./resources/scenes/MatteMaterial.java 160 120 2048 256}.
+ */
+public final class AdaptiveSamplingBenchmark {
+	private static final float[] ERROR_THRESHOLDS = {0.1F, 0.05F, 0.025F};
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private AdaptiveSamplingBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static void main(final String[] args) {
+		final String pathname = args.length > 0 ? args[0] : "./resources/scenes/MatteMaterial.java";
+		
+		final int resolutionX = args.length > 1 ? Integer.parseInt(args[1]) : 160;
+		final int resolutionY = args.length > 2 ? Integer.parseInt(args[2]) : 120;
+		final int samplesReference = args.length > 3 ? Integer.parseInt(args[3]) : 2048;
+		final int renderPassesMaximum = args.length > 4 ? Integer.parseInt(args[4]) : 256;
+		
+		System.out.printf("Rendering the reference image with %d samples per pixel...%n", Integer.valueOf(samplesReference));
+		
+		final float[] reference = doGetColors(doRender(pathname, resolutionX, resolutionY, samplesReference, 0.0F).getImage());
+		
+		System.out.printf("%n%-12s %10s %12s %10s %12s%n", "Threshold", "Passes", "Samples", "Time (ms)", "RMSE");
+		
+		for(int renderPasses = Math.max(renderPassesMaximum / 8, 1); renderPasses <= renderPassesMaximum; renderPasses *= 2) {
+			doPrint(pathname, resolutionX, resolutionY, renderPasses, 0.0F, reference);
+		}
+		
+		CPURenderer cPURenderer = null;
+		
+		for(final float errorThreshold : ERROR_THRESHOLDS) {
+			cPURenderer = doPrint(pathname, resolutionX, resolutionY, renderPassesMaximum, errorThreshold, reference);
+		}
+		
+		if(cPURenderer != null) {
+			cPURenderer.getSampleDensityImage().save("./AdaptiveSamplingBenchmark-SampleDensity.png");
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static CPURenderer doPrint(final String pathname, final int resolutionX, final int resolutionY, final int renderPassesMaximum, final float errorThreshold, final float[] reference) {
+		final long currentTimeMillis = System.currentTimeMillis();
+		
+		final CPURenderer cPURenderer = doRender(pathname, resolutionX, resolutionY, renderPassesMaximum, errorThreshold);
+		
+		final long elapsedTimeMillis = System.currentTimeMillis() - currentTimeMillis;
+		
+		final PixelImageF pixelImage = PixelImageF.class.cast(cPURenderer.getImage());
+		
+		long samples = 0L;
+		
+		for(int i = 0; i < pixelImage.getResolution(); i++) {
+			samples += pixelImage.filmGetSampleCount(i);
+		}
+		
+		final String threshold = errorThreshold > 0.0F ? String.format("%.3f", Float.valueOf(errorThreshold)) : "Uniform";
+		
+		System.out.printf("%-12s %10d %12d %10d %12.6f%n", threshold, Integer.valueOf(cPURenderer.getRenderPass()), Long.valueOf(samples), Long.valueOf(elapsedTimeMillis), Double.valueOf(doComputeRMSE(doGetColors(pixelImage), reference)));
+		
+		return cPURenderer;
+	}
+	
+	private static CPURenderer doRender(final String pathname, final int resolutionX, final int resolutionY, final int renderPasses, final float errorThreshold) {
+		final
+		Scene scene = new JavaSceneLoader().load(pathname);
+		scene.buildAccelerationStructure();
+		
+		final
+		Camera camera = scene.getCamera();
+		camera.setResolution(resolutionX, resolutionY);
+		camera.setFieldOfViewY();
+		
+		final
+		CPURenderer cPURenderer = new CPURenderer(new NoOpRendererObserver());
+		cPURenderer.setAdaptiveSamplingErrorThreshold(errorThreshold);
+		cPURenderer.setScene(scene);
+		cPURenderer.setImage();
+		cPURenderer.setup();
+		
+		try {
+			cPURenderer.render(renderPasses);
+			
+			return cPURenderer;
+		} finally {
+			cPURenderer.dispose();
+		}
+	}
+	
+	private static double doComputeRMSE(final float[] colors, final float[] reference) {
+		double sum = 0.0D;
+		
+		for(int i = 0; i < colors.length; i++) {
+			final double difference = colors[i] - reference[i];
+			
+			sum += difference * difference;
+		}
+		
+		return Math.sqrt(sum / colors.length);
+	}
+	
+	private static float[] doGetColors(final ImageF image) {
+		final ColorSpaceF colorSpace = ColorSpaceF.getDefault();
+		
+		final float[] colors = new float[image.getResolution() * 3];
+		
+		for(int y = 0; y < image.getResolutionY(); y++) {
+			for(int x = 0; x < image.getResolutionX(); x++) {
+				final int index = (y * image.getResolutionX() + x) * 3;
+				
+				final Color3F colorRGB = colorSpace.undoGammaCorrection(image.getColorRGB(x, y));
+				
+				colors[index + 0] = colorRGB.r;
+				colors[index + 1] = colorRGB.g;
+				colors[index + 2] = colorRGB.b;
+			}
+		}
+		
+		return colors;
+	}
+}
@@ -0,0 +1,250 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.dayflower.geometry.BoundingVolume3F;
+import org.dayflower.geometry.Point2F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.Point4F;
+import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.Vector3F;
+import org.dayflower.geometry.boundingvolume.AxisAlignedBoundingBox3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHBuilder3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHItem3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHNode3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHNode3Fs;
+import org.dayflower.geometry.boundingvolume.hierarchy.LeafBVHNode3F;
+import org.dayflower.geometry.boundingvolume.hierarchy.TreeBVHNode3F;
+import org.dayflower.geometry.shape.Triangle3F;
+import org.dayflower.geometry.shape.TriangleMesh3F;
+
+/**
+ * Compares the bounding volume hierarchy (BVH) builders on the triangles of a Wavefront Object file.
+ * <p>
+ * For each builder, the build time, the structure of the resulting BVH and the time it takes to trace a number of random rays through it are printed. The rays are traced through the {@link BVHNode3F} tree of the builders and
+ * through the flattened arrays of the {@link TriangleMesh3F} row, which is built with the parallel SAH builder.
+ * <p>
+ * The arguments are the pathname of the Wavefront Object file and the number of rays. They default to {@code ./resources/models/car.obj 200000}.
+ */
+public final class BVHBuilderBenchmark {
+	private BVHBuilderBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static void main(final String[] args) {
+		final String pathname = args.length > 0 ? args[0] : "./resources/models/car.obj";
+		
+		final int rayCount = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+		
+		final List<BVHItem3F<Triangle3F>> bVHItems = new ArrayList<>();
+		
+		final List<Triangle3F> triangles = new ArrayList<>();
+		
+		for(final TriangleMesh3F triangleMesh : TriangleMesh3F.readWavefrontObject(pathname, false, 1.0F, false)) {
+			for(final Triangle3F triangle : triangleMesh.getTriangles()) {
+				bVHItems.add(new BVHItem3F<>(triangle.getBoundingVolume(), triangle));
+				
+				triangles.add(triangle);
+			}
+		}
+		
+		final BoundingVolume3F boundingVolume = doCreateBoundingVolume(bVHItems);
+		
+		final List<Ray3F> rays = doCreateRays(boundingVolume, rayCount);
+		
+		System.out.printf("%nTriangles: %d, rays: %d%n", Integer.valueOf(bVHItems.size()), Integer.valueOf(rays.size()));
+		System.out.printf("%-20s %10s %8s %8s %6s %10s %10s %8s%n", "Builder", "Build ms", "Nodes", "Leaves", "Depth", "SAH cost", "Trace ms", "Hits");
+		
+		for(int i = 0; i < 3; i++) {
+			doBenchmark("Sweep", () -> BVHNode3Fs.create(bVHItems, boundingVolume.getMaximum(), boundingVolume.getMinimum(), 0), rays);
+			doBenchmark("SAH (serial)", () -> BVHNode3Fs.create(bVHItems, new BVHBuilder3F(BVHBuilder3F.DEFAULT_BIN_COUNT, BVHBuilder3F.DEFAULT_MAXIMUM_LEAF_SIZE, false)), rays);
+			doBenchmark("SAH (parallel)", () -> BVHNode3Fs.create(bVHItems, new BVHBuilder3F()), rays);
+			doBenchmarkTriangleMesh("TriangleMesh3F", triangles, rays);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static BoundingVolume3F doCreateBoundingVolume(final List<BVHItem3F<Triangle3F>> bVHItems) {
+		Point3F maximum = Point3F.MINIMUM;
+		Point3F minimum = Point3F.MAXIMUM;
+		
+		for(final BVHItem3F<Triangle3F> bVHItem : bVHItems) {
+			maximum = Point3F.maximum(maximum, bVHItem.getBoundingVolume().getMaximum());
+			minimum = Point3F.minimum(minimum, bVHItem.getBoundingVolume().getMinimum());
+		}
+		
+		return new AxisAlignedBoundingBox3F(maximum, minimum);
+	}
+	
+	private static List<Ray3F> doCreateRays(final BoundingVolume3F boundingVolume, final int rayCount) {
+		final Random random = new Random(1L);
+		
+		final Point3F midpoint = boundingVolume.getMidpoint();
+		
+		final float radius = Point3F.distance(boundingVolume.getMaximum(), boundingVolume.getMinimum());
+		
+		final List<Ray3F> rays = new ArrayList<>(rayCount);
+		
+		for(int i = 0; i < rayCount; i++) {
+			final Vector3F direction = Vector3F.normalize(new Vector3F((float)(random.nextGaussian()), (float)(random.nextGaussian()), (float)(random.nextGaussian())));
+			final Vector3F jitter = new Vector3F((random.nextFloat() - 0.5F) * radius * 0.5F, (random.nextFloat() - 0.5F) * radius * 0.5F, (random.nextFloat() - 0.5F) * radius * 0.5F);
+			
+			rays.add(new Ray3F(Point3F.add(Point3F.add(midpoint, Vector3F.multiply(direction, -radius)), jitter), direction));
+		}
+		
+		return rays;
+	}
+	
+	private static float doGetSAHCost(final BVHNode3F bVHNode, final float surfaceAreaRoot) {
+		final float surfaceArea = bVHNode.getBoundingVolume().getSurfaceArea() / surfaceAreaRoot;
+		
+		if(bVHNode instanceof TreeBVHNode3F) {
+			final TreeBVHNode3F treeBVHNode = TreeBVHNode3F.class.cast(bVHNode);
+			
+			return surfaceArea + doGetSAHCost(treeBVHNode.getBVHNodeL(), surfaceAreaRoot) + doGetSAHCost(treeBVHNode.getBVHNodeR(), surfaceAreaRoot);
+		}
+		
+		return surfaceArea * LeafBVHNode3F.class.cast(bVHNode).getShapeCount();
+	}
+	
+	private static int doGetLeafCount(final BVHNode3F bVHNode) {
+		if(bVHNode instanceof TreeBVHNode3F) {
+			final TreeBVHNode3F treeBVHNode = TreeBVHNode3F.class.cast(bVHNode);
+			
+			return doGetLeafCount(treeBVHNode.getBVHNodeL()) + doGetLeafCount(treeBVHNode.getBVHNodeR());
+		}
+		
+		return 1;
+	}
+	
+	private static int doGetMaximumDepth(final BVHNode3F bVHNode) {
+		if(bVHNode instanceof TreeBVHNode3F) {
+			final TreeBVHNode3F treeBVHNode = TreeBVHNode3F.class.cast(bVHNode);
+			
+			return Math.max(doGetMaximumDepth(treeBVHNode.getBVHNodeL()), doGetMaximumDepth(treeBVHNode.getBVHNodeR()));
+		}
+		
+		return bVHNode.getDepth();
+	}
+	
+	private static int doGetNodeCount(final BVHNode3F bVHNode) {
+		if(bVHNode instanceof TreeBVHNode3F) {
+			final TreeBVHNode3F treeBVHNode = TreeBVHNode3F.class.cast(bVHNode);
+			
+			return 1 + doGetNodeCount(treeBVHNode.getBVHNodeL()) + doGetNodeCount(treeBVHNode.getBVHNodeR());
+		}
+		
+		return 1;
+	}
+	
+	private static void doBenchmark(final String name, final Supplier<BVHNode3F> bVHNodeSupplier, final List<Ray3F> rays) {
+		final long buildTimeStart = System.nanoTime();
+		
+		final BVHNode3F bVHNode = bVHNodeSupplier.get();
+		
+		final long buildTimeStop = System.nanoTime();
+		
+		final long traceTimeStart = System.nanoTime();
+		
+		int hits = 0;
+		
+		for(final Ray3F ray : rays) {
+			if(!Float.isNaN(bVHNode.intersectionT(ray, 0.001F, Float.MAX_VALUE))) {
+				hits++;
+			}
+		}
+		
+		final long traceTimeStop = System.nanoTime();
+		
+		doPrint(name, bVHNode, buildTimeStop - buildTimeStart, traceTimeStop - traceTimeStart, hits);
+	}
+	
+	private static void doBenchmarkTriangleMesh(final String name, final List<Triangle3F> triangles, final List<Ray3F> rays) {
+		final float[] normals = new float[triangles.size() * 9];
+		final float[] positions = new float[triangles.size() * 9];
+		final float[] textureCoordinates = new float[triangles.size() * 6];
+		
+		final int[] indices = new int[triangles.size() * 3];
+		
+		for(int i = 0; i < triangles.size(); i++) {
+			final Triangle3F triangle = triangles.get(i);
+			
+			final Triangle3F.Vertex3F[] vertices = {triangle.getA(), triangle.getB(), triangle.getC()};
+			
+			for(int j = 0; j < 3; j++) {
+				final Point2F textureCoordinate = vertices[j].getTextureCoordinates();
+				
+				final Point4F position = vertices[j].getPosition();
+				
+				final Vector3F normal = vertices[j].getNormal();
+				
+				final int vertex = i * 3 + j;
+				
+				normals[vertex * 3 + 0] = normal.x;
+				normals[vertex * 3 + 1] = normal.y;
+				normals[vertex * 3 + 2] = normal.z;
+				
+				positions[vertex * 3 + 0] = position.x;
+				positions[vertex * 3 + 1] = position.y;
+				positions[vertex * 3 + 2] = position.z;
+				
+				textureCoordinates[vertex * 2 + 0] = textureCoordinate.x;
+				textureCoordinates[vertex * 2 + 1] = textureCoordinate.y;
+				
+				indices[vertex] = vertex;
+			}
+		}
+		
+		final long buildTimeStart = System.nanoTime();
+		
+		final TriangleMesh3F triangleMesh = new TriangleMesh3F(positions, normals, textureCoordinates, indices, "", "", "", true);
+		
+		final long buildTimeStop = System.nanoTime();
+		
+		final long traceTimeStart = System.nanoTime();
+		
+		int hits = 0;
+		
+		for(final Ray3F ray : rays) {
+			if(!Float.isNaN(triangleMesh.intersectionT(ray, 0.001F, Float.MAX_VALUE))) {
+				hits++;
+			}
+		}
+		
+		final long traceTimeStop = System.nanoTime();
+		
+		doPrint(name, triangleMesh.getRootBVHNode().get(), buildTimeStop - buildTimeStart, traceTimeStop - traceTimeStart, hits);
+	}
+	
+	private static void doPrint(final String name, final BVHNode3F bVHNode, final long buildTime, final long traceTime, final int hits) {
+		final float surfaceAreaRoot = bVHNode.getBoundingVolume().getSurfaceArea();
+		
+		final float sAHCost = surfaceAreaRoot > 0.0F ? doGetSAHCost(bVHNode, surfaceAreaRoot) : 0.0F;
+		
+		System.out.printf("%-20s %10.1f %8d %8d %6d %10.2f %10.1f %8d%n", name, Double.valueOf(buildTime / 1.0e6D), Integer.valueOf(doGetNodeCount(bVHNode)), Integer.valueOf(doGetLeafCount(bVHNode)), Integer.valueOf(doGetMaximumDepth(bVHNode)), Float.valueOf(sAHCost), Double.valueOf(traceTime / 1.0e6D), Integer.valueOf(hits));
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.test;
+
+import java.util.Arrays;
+
+import org.dayflower.image.ByteImageF;
+import org.dayflower.image.PixelImageF;
+import org.dayflower.renderer.CombinedProgressiveImageOrderRenderer;
+import org.dayflower.renderer.cpu.CPURenderer;
+import org.dayflower.renderer.gpu.ExecutionTarget;
+import org.dayflower.renderer.gpu.GPURenderer;
+import org.dayflower.renderer.observer.NoOpRendererObserver;
+import org.dayflower.scene.Camera;
+import org.dayflower.scene.Scene;
+import org.dayflower.scene.loader.JavaSceneLoader;
+
+/**
+ * Compares {@link GPURenderer} executing on the CPU with {@link CPURenderer} on some of the bundled scenes.
+ * <p>
+ * {@code GPURenderer} is measured with both {@link ExecutionTarget#AUTOMATIC} and {@link ExecutionTarget#JAVA_THREAD_POOL}. For each renderer, the time of the first render pass, which includes compiling the kernel, and the average time of the remaining render passes are printed.
+ * <p>
+ * The arguments are the resolution on the X-axis, the resolution on the Y-axis, the number of render passes, the number of threads and the names of the scenes. They default to {@code 320 240 10 <available processors> CornellBox GPURenderer}.
+ */
+public final class GPURendererBenchmark {
+	private GPURendererBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static void main(final String[] args) {
+		final int resolutionX = args.length > 0 ? Integer.parseInt(args[0]) : 320;
+		final int resolutionY = args.length > 1 ? Integer.parseInt(args[1]) : 240;
+		final int renderPasses = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+		final int threadCount = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		
+		final String[] sceneNames = args.length > 4 ? Arrays.copyOfRange(args, 4, args.length) : new String[] {"CornellBox", "GPURenderer"};
+		
+		System.out.printf("%nResolution: %dx%d, render passes: %d, threads: %d%n", Integer.valueOf(resolutionX), Integer.valueOf(resolutionY), Integer.valueOf(renderPasses), Integer.valueOf(threadCount));
+		System.out.printf("%-16s %-28s %-20s %12s %12s%n", "Scene", "Renderer", "Device", "First ms", "Average ms");
+		
+		for(final String sceneName : sceneNames) {
+			doBenchmark(sceneName, "GPURenderer (Automatic)", doCreateGPURenderer(ExecutionTarget.AUTOMATIC, threadCount), resolutionX, resolutionY, renderPasses);
+			doBenchmark(sceneName, "GPURenderer (Thread Pool)", doCreateGPURenderer(ExecutionTarget.JAVA_THREAD_POOL, threadCount), resolutionX, resolutionY, renderPasses);
+			doBenchmark(sceneName, "CPURenderer", new CPURenderer(new NoOpRendererObserver()), resolutionX, resolutionY, renderPasses);
+		}
+		
+		System.exit(0);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static GPURenderer doCreateGPURenderer(final ExecutionTarget executionTarget, final int threadCount) {
+		final
+		GPURenderer gPURenderer = new GPURenderer(new NoOpRendererObserver());
+		gPURenderer.setExecutionTarget(executionTarget);
+		gPURenderer.setThreadCount(threadCount);
+		
+		return gPURenderer;
+	}
+	
+	private static void doBenchmark(final String sceneName, final String rendererName, final CombinedProgressiveImageOrderRenderer renderer, final int resolutionX, final int resolutionY, final int renderPasses) {
+		final
+		Scene scene = new JavaSceneLoader().load("./resources/scenes/" + sceneName + ".java");
+		scene.buildAccelerationStructure();
+		
+		final
+		Camera camera = scene.getCamera();
+		camera.setResolution(resolutionX, resolutionY);
+		camera.setFieldOfViewY();
+		
+		renderer.setImage(renderer instanceof GPURenderer ? new ByteImageF(resolutionX, resolutionY) : new PixelImageF(resolutionX, resolutionY));
+		renderer.setSamples(1);
+		renderer.setScene(scene);
+		renderer.setup();
+		
+		try {
+			final long firstTimeStart = System.nanoTime();
+			
+			renderer.render();
+			
+			final long firstTimeStop = System.nanoTime();
+			
+			final long averageTimeStart = System.nanoTime();
+			
+			if(renderPasses > 1) {
+				renderer.render(renderPasses - 1);
+			}
+			
+			final long averageTimeStop = System.nanoTime();
+			
+			final String device = renderer instanceof GPURenderer ? GPURenderer.class.cast(renderer).getExecutionDevice().map(executionDevice -> executionDevice.getShortDescription()).orElse("Unknown") : "Java";
+			
+			final double firstTime = (firstTimeStop - firstTimeStart) / 1.0e6D;
+			final double averageTime = renderPasses > 1 ? (averageTimeStop - averageTimeStart) / 1.0e6D / (renderPasses - 1) : firstTime;
+			
+			System.out.printf("%-16s %-28s %-20s %12.1f %12.1f%n", sceneName, rendererName, device, Double.valueOf(firstTime), Double.valueOf(averageTime));
+		} finally {
+			renderer.dispose();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.dayflower.color.Color4F;
+import org.dayflower.image.FloatImageF;
+import org.dayflower.image.HDRImageIO;
+import org.dayflower.image.HDRImageIO.Compression;
+import org.dayflower.image.PixelImageF;
+
+/**
+ * Compares the time and size of the HDR writers and readers in {@link HDRImageIO} with {@code Image.save} and {@code PixelImageF.loadHDR}.
+ * <p>
+ * A {@link PixelImageF} with a smooth HDR gradient is written as PNG, as PFM and as OpenEXR with every {@link Compression}, and as a Radiance RGBE file for {@code PixelImageF.loadHDR}. Each file is then read back. The files are written
+ * to the temporary directory and deleted afterwards.
+ * <p>
+ * The arguments are the resolution on the X-axis, the resolution on the Y-axis and the number of iterations. They default to {@code 1920 1080 5}.
+ */
+public final class HDRImageIOBenchmark {
+	private HDRImageIOBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static void main(final String[] args) throws IOException {
+		final int resolutionX = args.length > 0 ? Integer.parseInt(args[0]) : 1920;
+		final int resolutionY = args.length > 1 ? Integer.parseInt(args[1]) : 1080;
+		final int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+		
+		final Color4F[] colorRGBAs = new Color4F[resolutionX * resolutionY];
+		
+		for(int i = 0; i < colorRGBAs.length; i++) {
+			final float u = (float)(i % resolutionX) / resolutionX;
+			final float v = (float)(i / resolutionX) / resolutionY;
+			
+			colorRGBAs[i] = new Color4F(u * 8.0F, v * 4.0F, (u + v) * 0.5F);
+		}
+		
+		final PixelImageF pixelImage = new PixelImageF(resolutionX, resolutionY, colorRGBAs);
+		
+		final File directory = Files.createTempDirectory("HDRImageIOBenchmark").toFile();
+		
+		try {
+			System.out.printf("%nResolution: %d x %d, iterations: %d%n", Integer.valueOf(resolutionX), Integer.valueOf(resolutionY), Integer.valueOf(iterations));
+			System.out.printf("%-24s %12s %12s %14s%n", "Format", "Write ms", "Read ms", "Bytes");
+			
+			final File filePNG = new File(directory, "Image.png");
+			
+			doPrint("PNG (8-bit)", doTime(iterations, () -> pixelImage.save(filePNG)), doTime(iterations, () -> PixelImageF.load(filePNG)), filePNG.length());
+			
+			final File fileHDR = new File(directory, "Image.hdr");
+			
+			doPrint("Radiance RGBE (loadHDR)", doTime(iterations, () -> doWriteRGBE(fileHDR, pixelImage)), doTime(iterations, () -> PixelImageF.loadHDR(fileHDR)), fileHDR.length());
+			
+			final File filePFM = new File(directory, "Image.pfm");
+			
+			doPrint("PFM", doTime(iterations, () -> HDRImageIO.writePFM(filePFM, pixelImage)), doTime(iterations, () -> HDRImageIO.readPFM(filePFM)), filePFM.length());
+			
+			for(final Compression compression : Compression.values()) {
+				final File fileEXR = new File(directory, "Image-" + compression + ".exr");
+				
+				doPrint("OpenEXR " + compression, doTime(iterations, () -> HDRImageIO.writeEXR(fileEXR, pixelImage, compression)), doTime(iterations, () -> HDRImageIO.readEXR(fileEXR)), fileEXR.length());
+			}
+			
+			final FloatImageF floatImage = HDRImageIO.readEXR(new File(directory, "Image-ZIP.exr"));
+			
+			System.out.printf("%nMaximum R-component read back from OpenEXR: %.3f%n", Float.valueOf(floatImage.getColorRGBA(resolutionX - 1, 0).r));
+		} finally {
+			for(final File file : directory.listFiles()) {
+				file.delete();
+			}
+			
+			directory.delete();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static double doTime(final int iterations, final Runnable runnable) {
+		runnable.run();
+		
+		final long startTimeNanos = System.nanoTime();
+		
+		for(int i = 0; i < iterations; i++) {
+			runnable.run();
+		}
+		
+		return (System.nanoTime() - startTimeNanos) / 1_000_000.0D / iterations;
+	}
+	
+	private static void doPrint(final String format, final double writeMillis, final double readMillis, final long bytes) {
+		System.out.printf("%-24s %12.1f %12.1f %14d%n", format, Double.valueOf(writeMillis), Double.valueOf(readMillis), Long.valueOf(bytes));
+	}
+	
+	private static void doWriteRGBE(final File file, final PixelImageF pixelImage) {
+		final byte[] header = String.format("#?RADIANCE%nFORMAT=32-bit_rle_rgbe%n%n-Y %d +X %d%n", Integer.valueOf(pixelImage.getResolutionY()), Integer.valueOf(pixelImage.getResolutionX())).getBytes(StandardCharsets.US_ASCII);
+		
+		final int[] colorRGBEs = pixelImage.toIntArrayRGBE();
+		
+		final ByteBuffer byteBuffer = ByteBuffer.allocate(header.length + colorRGBEs.length * 4);
+		
+		byteBuffer.put(header);
+		byteBuffer.asIntBuffer().put(colorRGBEs);
+		
+		try {
+			Files.write(file.toPath(), byteBuffer.array());
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.test;
+
+import org.dayflower.scene.Scene;
+import org.dayflower.scene.loader.JavaSceneLoader;
+import org.dayflower.utility.InterningCache;
+
+/**
+ * Prints the statistics of all {@link InterningCache} instances after loading some of the bundled scenes.
+ * <p>
+ * The hits of an {@code InterningCache} are the instances that could be shared instead of being retained, so they indicate how much memory interning saves on a given scene.
+ * <p>
+ * The arguments are the names of the scenes. They default to {@code Car CornellBox}.
+ */
+public final class InterningCacheStatistics {
+	private InterningCacheStatistics() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static void main(final String[] args) {
+		final String[] sceneNames = args.length > 0 ? args : new String[] {"Car", "CornellBox"};
+		
+		for(final String sceneName : sceneNames) {
+			InterningCache.clearAll();
+			
+			for(final InterningCache<?> interningCache : InterningCache.getInterningCaches()) {
+				interningCache.resetStatistics();
+			}
+			
+			final long timeStart = System.nanoTime();
+			
+			final
+			Scene scene = new JavaSceneLoader().load("./resources/scenes/" + sceneName + ".java");
+			scene.buildAccelerationStructure();
+			
+			final long timeStop = System.nanoTime();
+			
+			System.out.printf("%n%s (loaded in %.1f ms)%n", sceneName, Double.valueOf((timeStop - timeStart) / 1.0e6D));
+			
+			for(final InterningCache<?> interningCache : InterningCache.getInterningCaches()) {
+				if(interningCache.getHitCount() + interningCache.getMissCount() > 0L) {
+					System.out.println(interningCache);
+				}
+			}
+		}
+	}
+}
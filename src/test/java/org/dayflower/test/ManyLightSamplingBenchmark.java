@@ -0,0 +1,179 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.test;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.color.ColorSpaceF;
+import org.dayflower.geometry.AngleF;
+import org.dayflower.geometry.Matrix44F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.Quaternion4F;
+import org.dayflower.geometry.shape.Plane3F;
+import org.dayflower.image.ImageF;
+import org.dayflower.renderer.cpu.CPURenderer;
+import org.dayflower.renderer.observer.NoOpRendererObserver;
+import org.dayflower.sampler.SobolSampler;
+import org.dayflower.scene.Camera;
+import org.dayflower.scene.Primitive;
+import org.dayflower.scene.Scene;
+import org.dayflower.scene.Transform;
+import org.dayflower.scene.light.LightBVHLightDistribution;
+import org.dayflower.scene.light.LightDistribution;
+import org.dayflower.scene.light.PointLight;
+import org.dayflower.scene.light.PowerLightDistribution;
+import org.dayflower.scene.light.UniformLightDistribution;
+import org.dayflower.scene.material.MatteMaterial;
+
+/**
+ * Measures the noise versus time of the {@link LightDistribution} implementations on a scene with many lights.
+ * <p>
+ * The scene consists of a plane lit by many {@link PointLight} instances with random positions and intensities. A reference image is rendered with many samples per pixel using a {@link LightBVHLightDistribution}. Each {@code LightDistribution}
+ * then renders the scene progressively, and the elapsed time and the root-mean-square error against the reference are printed after each power of two of samples per pixel.
+ * <p>
+ * The arguments are the number of lights, the resolution on the X-axis, the resolution on the Y-axis, the number of samples per pixel for the reference image and the maximum number of samples per pixel to measure. They default to
+ * {@code 1000 128 96 256 64}.
+ */
+public final class ManyLightSamplingBenchmark {
+	private ManyLightSamplingBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static void main(final String[] args) {
+		final int lightCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		final int resolutionX = args.length > 1 ? Integer.parseInt(args[1]) : 128;
+		final int resolutionY = args.length > 2 ? Integer.parseInt(args[2]) : 96;
+		final int samplesReference = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+		final int samplesMaximum = args.length > 4 ? Integer.parseInt(args[4]) : 64;
+		
+		System.out.printf("Rendering the reference image with %d lights and %d samples per pixel...%n", Integer.valueOf(lightCount), Integer.valueOf(samplesReference));
+		
+		final float[] reference = doRender(LightBVHLightDistribution::new, lightCount, resolutionX, resolutionY, samplesReference, null);
+		
+		doRender("UniformLightDistribution", UniformLightDistribution::new, lightCount, resolutionX, resolutionY, samplesMaximum, reference);
+		doRender("PowerLightDistribution", PowerLightDistribution::new, lightCount, resolutionX, resolutionY, samplesMaximum, reference);
+		doRender("LightBVHLightDistribution", LightBVHLightDistribution::new, lightCount, resolutionX, resolutionY, samplesMaximum, reference);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Scene doCreateScene(final int lightCount) {
+		final Random random = new Random(1L);
+		
+		final
+		Scene scene = new Scene(new Camera(new Point3F(0.0F, 6.0F, -30.0F), AngleF.degrees(60.0F)));
+		scene.addPrimitive(new Primitive(new MatteMaterial(new Color3F(0.5F)), new Plane3F(), new Transform(new Point3F(), Quaternion4F.from(Matrix44F.rotateX(AngleF.degrees(90.0F))))));
+		scene.setName("ManyLights");
+		
+		for(int i = 0; i < lightCount; i++) {
+			final Point3F position = new Point3F(random.nextFloat() * 80.0F - 40.0F, 0.25F + random.nextFloat() * 2.0F, random.nextFloat() * 100.0F - 20.0F);
+			
+			final float intensity = random.nextFloat() < 0.1F ? 20.0F : 0.5F;
+			
+			scene.addLight(new PointLight(new Color3F(intensity * random.nextFloat(), intensity * random.nextFloat(), intensity * random.nextFloat()), position));
+		}
+		
+		return scene;
+	}
+	
+	private static double doComputeRMSE(final float[] colors, final float[] reference) {
+		double sum = 0.0D;
+		
+		for(int i = 0; i < colors.length; i++) {
+			final double difference = colors[i] - reference[i];
+			
+			sum += difference * difference;
+		}
+		
+		return Math.sqrt(sum / colors.length);
+	}
+	
+	private static float[] doGetColors(final ImageF image) {
+		final ColorSpaceF colorSpace = ColorSpaceF.getDefault();
+		
+		final float[] colors = new float[image.getResolution() * 3];
+		
+		for(int y = 0; y < image.getResolutionY(); y++) {
+			for(int x = 0; x < image.getResolutionX(); x++) {
+				final int index = (y * image.getResolutionX() + x) * 3;
+				
+				final Color3F colorRGB = colorSpace.undoGammaCorrection(image.getColorRGB(x, y));
+				
+				colors[index + 0] = colorRGB.r;
+				colors[index + 1] = colorRGB.g;
+				colors[index + 2] = colorRGB.b;
+			}
+		}
+		
+		return colors;
+	}
+	
+	private static float[] doRender(final Function<Scene, LightDistribution> lightDistributionFunction, final int lightCount, final int resolutionX, final int resolutionY, final int samplesMaximum, final float[] reference) {
+		final
+		Scene scene = doCreateScene(lightCount);
+		scene.setLightDistributionFunction(lightDistributionFunction);
+		scene.setSampler(new SobolSampler(reference != null ? 1L : 0xDAF10E5L));
+		scene.buildAccelerationStructure();
+		
+		final
+		Camera camera = scene.getCamera();
+		camera.setResolution(resolutionX, resolutionY);
+		camera.setFieldOfViewY();
+		
+		final
+		CPURenderer cPURenderer = new CPURenderer(new NoOpRendererObserver());
+		cPURenderer.setScene(scene);
+		cPURenderer.setImage();
+		cPURenderer.setup();
+		
+		try {
+			long elapsedNanoTime = 0L;
+			
+			for(int sample = 1; sample <= samplesMaximum; sample++) {
+				final long nanoTime = System.nanoTime();
+				
+				cPURenderer.render();
+				
+				elapsedNanoTime += System.nanoTime() - nanoTime;
+				
+				if(reference != null && Integer.bitCount(sample) == 1) {
+					final double rMSE = doComputeRMSE(doGetColors(cPURenderer.getImage()), reference);
+					final double milliseconds = elapsedNanoTime / 1000000.0D;
+					
+					System.out.printf("%10d %12.1f %14.6f %16.6f%n", Integer.valueOf(sample), Double.valueOf(milliseconds), Double.valueOf(rMSE), Double.valueOf(rMSE * rMSE * milliseconds));
+				}
+			}
+			
+			return doGetColors(cPURenderer.getImage());
+		} finally {
+			cPURenderer.dispose();
+		}
+	}
+	
+	private static void doRender(final String name, final Function<Scene, LightDistribution> lightDistributionFunction, final int lightCount, final int resolutionX, final int resolutionY, final int samplesMaximum, final float[] reference) {
+		System.out.printf("%n%s%n", name);
+		System.out.printf("%10s %12s %14s %16s%n", "Samples", "Time (ms)", "RMSE", "RMSE^2 * Time");
+		
+		doRender(lightDistributionFunction, lightCount, resolutionX, resolutionY, samplesMaximum, reference);
+	}
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.geometry.Point3F;
+import org.dayflower.geometry.Ray3F;
+import org.dayflower.geometry.Vector3F;
+import org.dayflower.scene.light.PerezLight;
+
+/**
+ * Compares the radiance table of {@link PerezLight} with the analytic model it approximates.
+ * <p>
+ * For a number of turbidities and table resolutions, random directions above the horizon are evaluated both ways. The relative error of the luminance is reported as its mean, RMS, 99th percentile and maximum, together with the time
+ * it takes to bake the table and the time per evaluation. The arguments are the number of directions and the sun direction in world space. They default to {@code 100000 1 1 -1}.
+ */
+public final class PerezLightTableErrorReport {
+	private PerezLightTableErrorReport() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static void main(final String[] args) {
+		final int count = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		
+		final Vector3F sunDirectionWorldSpace = args.length > 3 ? new Vector3F(Float.parseFloat(args[1]), Float.parseFloat(args[2]), Float.parseFloat(args[3])) : new Vector3F(1.0F, 1.0F, -1.0F);
+		
+		final float[] turbidities = {2.0F, 5.0F, 10.0F};
+		
+		final int[][] resolutions = {{64, 32}, {128, 64}, {PerezLight.DEFAULT_RESOLUTION_U, PerezLight.DEFAULT_RESOLUTION_V}, {512, 256}, {1024, 512}};
+		
+		System.out.printf("%nDirections: %d, sun direction: %s%n", Integer.valueOf(count), sunDirectionWorldSpace);
+		System.out.printf("%9s %11s %10s %10s %10s %10s %10s %12s %12s%n", "Turbidity", "Resolution", "Bake ms", "Mean", "RMS", "P99", "Maximum", "Analytic ns", "Table ns");
+		
+		for(final float turbidity : turbidities) {
+			for(final int[] resolution : resolutions) {
+				final long bakeTime0 = System.nanoTime();
+				
+				final PerezLight perezLight = new PerezLight(turbidity, sunDirectionWorldSpace, resolution[0], resolution[1]);
+				
+				final long bakeTime1 = System.nanoTime();
+				
+				final Ray3F[] rays = doCreateRays(perezLight, count);
+				
+				final float[] errors = new float[count];
+				
+				final long analyticTime0 = System.nanoTime();
+				
+				for(int i = 0; i < count; i++) {
+					errors[i] = perezLight.evaluateRadianceEmittedAnalytic(rays[i]).relativeLuminance();
+				}
+				
+				final long analyticTime1 = System.nanoTime();
+				
+				for(int i = 0; i < count; i++) {
+					final Color3F colorRGB = perezLight.evaluateRadianceEmitted(rays[i]);
+					
+					errors[i] = errors[i] > 0.0F ? Math.abs(colorRGB.relativeLuminance() - errors[i]) / errors[i] : 0.0F;
+				}
+				
+				final long tableTime1 = System.nanoTime();
+				
+				doPrint(turbidity, resolution, bakeTime1 - bakeTime0, analyticTime1 - analyticTime0, tableTime1 - analyticTime1, errors);
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Ray3F[] doCreateRays(final PerezLight perezLight, final int count) {
+		final Random random = new Random(1L);
+		
+		final Ray3F[] rays = new Ray3F[count];
+		
+		for(int i = 0; i < count; i++) {
+			final float cosTheta = random.nextFloat();
+			final float sinTheta = (float)(Math.sqrt(Math.max(0.0D, 1.0D - cosTheta * cosTheta)));
+			final float phi = random.nextFloat() * 2.0F * (float)(Math.PI);
+			
+			final Vector3F directionObjectSpace = Vector3F.directionSpherical(sinTheta, cosTheta, phi);
+			final Vector3F directionWorldSpace = Vector3F.normalize(Vector3F.transform(perezLight.getTransform().getObjectToWorld(), directionObjectSpace));
+			
+			rays[i] = new Ray3F(new Point3F(), directionWorldSpace);
+		}
+		
+		return rays;
+	}
+	
+	private static void doPrint(final float turbidity, final int[] resolution, final long bakeTime, final long analyticTime, final long tableTime, final float[] errors) {
+		final float[] errorsSorted = errors.clone();
+		
+		Arrays.sort(errorsSorted);
+		
+		double sum = 0.0D;
+		double sumSquared = 0.0D;
+		
+		for(final float error : errorsSorted) {
+			sum += error;
+			sumSquared += error * error;
+		}
+		
+		final double mean = sum / errorsSorted.length;
+		final double rms = Math.sqrt(sumSquared / errorsSorted.length);
+		final double p99 = errorsSorted[Math.min((int)(errorsSorted.length * 0.99D), errorsSorted.length - 1)];
+		final double maximum = errorsSorted[errorsSorted.length - 1];
+		
+		System.out.printf("%9.1f %11s %10.1f %10.5f %10.5f %10.5f %10.5f %12.1f %12.1f%n", Float.valueOf(turbidity), resolution[0] + "x" + resolution[1], Double.valueOf(bakeTime / 1.0e6D), Double.valueOf(mean), Double.valueOf(rms), Double.valueOf(p99), Double.valueOf(maximum), Double.valueOf((double)(analyticTime) / errors.length), Double.valueOf((double)(tableTime) / errors.length));
+	}
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.test;
+
+import java.util.Random;
+
+import org.dayflower.color.Color3F;
+import org.dayflower.color.ColorSpaceF;
+import org.dayflower.image.ImageF;
+import org.dayflower.renderer.cpu.CPURenderer;
+import org.dayflower.renderer.observer.NoOpRendererObserver;
+import org.dayflower.sampler.HaltonSampler;
+import org.dayflower.sampler.PMJ02Sampler;
+import org.dayflower.sampler.RandomSampler;
+import org.dayflower.sampler.Sampler;
+import org.dayflower.sampler.SobolSampler;
+import org.dayflower.scene.Camera;
+import org.dayflower.scene.Scene;
+import org.dayflower.scene.loader.JavaSceneLoader;
+
+/**
+ * Measures the convergence of the {@link Sampler} implementations on the CornellBox scene.
+ * <p>
+ * A reference image is rendered with many samples per pixel. Each {@code Sampler} then renders the scene progressively, and the root-mean-square error against the reference is printed after each power of two of samples per pixel.
+ * <p>
+ * The arguments are the resolution on the X-axis, the resolution on the Y-axis, the number of samples per pixel for the reference image and the maximum number of samples per pixel to measure. They default to {@code 128 96 1024 64}.
+ */
+public final class SamplerConvergence {
+	private static final String SCENE = "./resources/scenes/CornellBox.java";
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private SamplerConvergence() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static void main(final String[] args) {
+		final int resolutionX = args.length > 0 ? Integer.parseInt(args[0]) : 128;
+		final int resolutionY = args.length > 1 ? Integer.parseInt(args[1]) : 96;
+		final int samplesReference = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+		final int samplesMaximum = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+		
+		System.out.printf("Rendering the reference image with %d samples per pixel...%n", Integer.valueOf(samplesReference));
+		
+		final float[] reference = doRender(new SobolSampler(0xDAF10E5L), resolutionX, resolutionY, samplesReference, null);
+		
+		final Sampler[] samplers = {new RandomSampler(new Random(1L)), new HaltonSampler(1L), new SobolSampler(1L), new PMJ02Sampler(1L)};
+		
+		for(final Sampler sampler : samplers) {
+			System.out.printf("%n%s%n", sampler.getClass().getSimpleName());
+			System.out.printf("%10s %14s%n", "Samples", "RMSE");
+			
+			doRender(sampler, resolutionX, resolutionY, samplesMaximum, reference);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static double doComputeRMSE(final float[] colors, final float[] reference) {
+		double sum = 0.0D;
+		
+		for(int i = 0; i < colors.length; i++) {
+			final double difference = colors[i] - reference[i];
+			
+			sum += difference * difference;
+		}
+		
+		return Math.sqrt(sum / colors.length);
+	}
+	
+	private static float[] doGetColors(final ImageF image) {
+		final ColorSpaceF colorSpace = ColorSpaceF.getDefault();
+		
+		final float[] colors = new float[image.getResolution() * 3];
+		
+		for(int y = 0; y < image.getResolutionY(); y++) {
+			for(int x = 0; x < image.getResolutionX(); x++) {
+				final int index = (y * image.getResolutionX() + x) * 3;
+				
+				final Color3F colorRGB = colorSpace.undoGammaCorrection(image.getColorRGB(x, y));
+				
+				colors[index + 0] = colorRGB.r;
+				colors[index + 1] = colorRGB.g;
+				colors[index + 2] = colorRGB.b;
+			}
+		}
+		
+		return colors;
+	}
+	
+	private static float[] doRender(final Sampler sampler, final int resolutionX, final int resolutionY, final int samplesMaximum, final float[] reference) {
+		final
+		Scene scene = new JavaSceneLoader().load(SCENE);
+		scene.setSampler(sampler);
+		scene.buildAccelerationStructure();
+		
+		final
+		Camera camera = scene.getCamera();
+		camera.setResolution(resolutionX, resolutionY);
+		camera.setFieldOfViewY();
+		
+		final
+		CPURenderer cPURenderer = new CPURenderer(new NoOpRendererObserver());
+		cPURenderer.setScene(scene);
+		cPURenderer.setImage();
+		cPURenderer.setup();
+		
+		try {
+			for(int sample = 1; sample <= samplesMaximum; sample++) {
+				cPURenderer.render();
+				
+				if(reference != null && Integer.bitCount(sample) == 1) {
+					System.out.printf("%10d %14.6f%n", Integer.valueOf(sample), Double.valueOf(doComputeRMSE(doGetColors(cPURenderer.getImage()), reference)));
+				}
+			}
+			
+			return doGetColors(cPURenderer.getImage());
+		} finally {
+			cPURenderer.dispose();
+		}
+	}
+}
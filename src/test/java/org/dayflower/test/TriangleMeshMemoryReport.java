@@ -0,0 +1,117 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dayflower.geometry.boundingvolume.hierarchy.BVHNode3F;
+import org.dayflower.geometry.shape.Triangle3F;
+import org.dayflower.geometry.shape.TriangleMesh3F;
+import org.dayflower.utility.InterningCache;
+
+/**
+ * Compares the memory per triangle of the array-backed {@link TriangleMesh3F} with the object-backed layout it replaced.
+ * <p>
+ * The object-backed layout is recreated from the meshes as a {@code List} of interned {@link Triangle3F} instances and the {@link BVHNode3F} tree that were retained by every mesh before. The array-backed layout is measured both as the
+ * payload reported by {@link TriangleMesh3F#getSizeInBytes()} and as the heap used by the meshes.
+ * <p>
+ * The Wavefront Object file is loaded a number of times with slightly different scales, so the copies do not share interned instances. The arguments are the pathname of the file and the number of copies. They default to
+ * {@code ./resources/models/car.obj 50}.
+ */
+public final class TriangleMeshMemoryReport {
+	private TriangleMeshMemoryReport() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static void main(final String[] args) {
+		final String pathname = args.length > 0 ? args[0] : "./resources/models/car.obj";
+		
+		final int copies = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		
+		InterningCache.clearAll();
+		
+		final long usedMemory0 = doGetUsedMemory();
+		
+		final List<TriangleMesh3F> triangleMeshes = new ArrayList<>();
+		
+		for(int i = 0; i < copies; i++) {
+			triangleMeshes.addAll(TriangleMesh3F.readWavefrontObject(pathname, false, 1.0F + i * 0.001F, true));
+		}
+		
+		final long usedMemory1 = doGetUsedMemory();
+		
+		final List<Object> objectLayout = new ArrayList<>();
+		
+		for(final TriangleMesh3F triangleMesh : triangleMeshes) {
+			final BVHNode3F bVHNode = triangleMesh.getRootBVHNode().get();
+			
+			objectLayout.add(new ArrayList<>(triangleMesh.getTriangles()));
+			objectLayout.add(bVHNode);
+		}
+		
+		final long usedMemory2 = doGetUsedMemory();
+		
+		long sizeInBytes = 0L;
+		
+		int triangleCount = 0;
+		int vertexCount = 0;
+		
+		for(final TriangleMesh3F triangleMesh : triangleMeshes) {
+			sizeInBytes += triangleMesh.getSizeInBytes();
+			
+			triangleCount += triangleMesh.getTriangleCount();
+			vertexCount += triangleMesh.getVertexCount();
+		}
+		
+		System.out.printf("%nMeshes: %d, triangles: %d, vertices: %d%n", Integer.valueOf(triangleMeshes.size()), Integer.valueOf(triangleCount), Integer.valueOf(vertexCount));
+		System.out.printf("%-42s %14s %12s%n", "Layout", "Bytes", "Bytes/tri");
+		
+		doPrint("Arrays (payload)", sizeInBytes, triangleCount);
+		doPrint("Arrays (heap)", usedMemory1 - usedMemory0, triangleCount);
+		doPrint("Objects + BVHNode3F (heap)", usedMemory2 - usedMemory1, triangleCount);
+		
+//		Keep both layouts reachable until all measurements are done:
+		System.out.printf("%nRetained: %d meshes, %d objects%n", Integer.valueOf(triangleMeshes.size()), Integer.valueOf(objectLayout.size()));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static long doGetUsedMemory() {
+		final Runtime runtime = Runtime.getRuntime();
+		
+		for(int i = 0; i < 4; i++) {
+			System.gc();
+			
+			try {
+				Thread.sleep(100L);
+			} catch(final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+	
+	private static void doPrint(final String layout, final long bytes, final int triangleCount) {
+		System.out.printf("%-42s %14d %12.1f%n", layout, Long.valueOf(bytes), Double.valueOf(triangleCount > 0 ? (double)(bytes) / triangleCount : 0.0D));
+	}
+}
@@ -0,0 +1,232 @@
+/**
+ * Copyright 2014 - 2025 J&#246;rgen Lundgren
+ * 
+ * This file is part of Dayflower.
+ * 
+ * Dayflower is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Dayflower is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Dayflower. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.dayflower.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+public final class InterningCacheUnitTests {
+	public InterningCacheUnitTests() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Test
+	public void testClear() {
+		final InterningCache<String> interningCache = new InterningCache<>("testClear");
+		
+		interningCache.intern(new String("A"));
+		interningCache.intern(new String("B"));
+		
+		assertEquals(2, interningCache.size());
+		
+		interningCache.clear();
+		
+		assertEquals(0, interningCache.size());
+		assertEquals(2L, interningCache.getMissCount());
+	}
+	
+	@Test
+	public void testClearAll() {
+		final InterningCache<String> interningCache = new InterningCache<>("testClearAll");
+		
+		interningCache.intern(new String("A"));
+		
+		InterningCache.clearAll();
+		
+		assertEquals(0, interningCache.size());
+	}
+	
+	@Test
+	public void testConstructor() {
+		final InterningCache<String> interningCache = new InterningCache<>("testConstructor");
+		
+		assertEquals("testConstructor", interningCache.getName());
+		assertEquals(InterningCache.DEFAULT_MAXIMUM_SIZE, interningCache.getMaximumSize());
+		assertEquals(0, interningCache.size());
+		
+		assertThrows(NullPointerException.class, () -> new InterningCache<>(null));
+	}
+	
+	@Test
+	public void testConstructorStringInt() {
+		final InterningCache<String> interningCache = new InterningCache<>("testConstructorStringInt", 10);
+		
+		assertEquals("testConstructorStringInt", interningCache.getName());
+		assertEquals(10, interningCache.getMaximumSize());
+		
+		assertThrows(IllegalArgumentException.class, () -> new InterningCache<>("testConstructorStringInt", 1));
+		assertThrows(NullPointerException.class, () -> new InterningCache<>(null, 10));
+	}
+	
+	@Test
+	public void testGetHitRate() {
+		final InterningCache<String> interningCache = new InterningCache<>("testGetHitRate");
+		
+		assertEquals(0.0D, interningCache.getHitRate());
+		
+		interningCache.intern(new String("A"));
+		interningCache.intern(new String("A"));
+		interningCache.intern(new String("A"));
+		interningCache.intern(new String("B"));
+		
+		assertEquals(2L, interningCache.getHitCount());
+		assertEquals(2L, interningCache.getMissCount());
+		assertEquals(0.5D, interningCache.getHitRate());
+		
+		interningCache.resetStatistics();
+		
+		assertEquals(0L, interningCache.getHitCount());
+		assertEquals(0L, interningCache.getMissCount());
+		assertEquals(0.0D, interningCache.getHitRate());
+	}
+	
+	@Test
+	public void testGetInterningCaches() {
+		final InterningCache<String> interningCache = new InterningCache<>("testGetInterningCaches");
+		
+		final List<InterningCache<?>> interningCaches = InterningCache.getInterningCaches();
+		
+		assertTrue(interningCaches.contains(interningCache));
+		
+		assertThrows(UnsupportedOperationException.class, () -> interningCaches.clear());
+	}
+	
+	@Test
+	public void testIntern() {
+		final InterningCache<String> interningCache = new InterningCache<>("testIntern");
+		
+		final String a = new String("A");
+		final String b = new String("A");
+		final String c = interningCache.intern(a);
+		final String d = interningCache.intern(b);
+		
+		assertTrue(a != b);
+		assertTrue(a == c);
+		assertTrue(a == d);
+		
+		assertThrows(NullPointerException.class, () -> interningCache.intern(null));
+	}
+	
+	@Test
+	public void testInternEviction() {
+		final InterningCache<String> interningCache = new InterningCache<>("testInternEviction", 100);
+		
+		final String a = new String("Z");
+		
+		interningCache.intern(a);
+		
+		for(int i = 0; i < 1000; i++) {
+			interningCache.intern(String.valueOf(i));
+			interningCache.intern(new String("Z"));
+			
+			assertTrue(interningCache.size() <= 100);
+		}
+		
+		assertTrue(interningCache.intern(new String("Z")) == a);
+		assertTrue(interningCache.getEvictionCount() > 0L);
+		
+		for(int i = 0; i < 1000; i++) {
+			interningCache.intern(String.valueOf(i + 1000));
+		}
+		
+		assertFalse(interningCache.intern(new String("Z")) == a);
+	}
+	
+	@Test
+	public void testInternParallel() throws ExecutionException, InterruptedException {
+		final InterningCache<String> interningCache = new InterningCache<>("testInternParallel", 1000);
+		
+		final ExecutorService executorService = Executors.newFixedThreadPool(4);
+		
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			
+			for(int i = 0; i < 4; i++) {
+				futures.add(executorService.submit(() -> {
+					for(int j = 0; j < 100000; j++) {
+						final String value = String.valueOf(j % 2000);
+						
+						assertEquals(value, interningCache.intern(value));
+					}
+				}));
+			}
+			
+			for(final Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdown();
+		}
+		
+		assertTrue(interningCache.size() <= 1000 + 8);
+		assertEquals(400000L, interningCache.getHitCount() + interningCache.getMissCount());
+	}
+	
+	@Test
+	public void testInternUnaryOperator() {
+		final InterningCache<String> interningCache = new InterningCache<>("testInternUnaryOperator");
+		
+		final String a = new String("A");
+		final String b = new String("A");
+		final String c = interningCache.intern(a, key -> b);
+		final String d = interningCache.intern(a, key -> a);
+		
+		assertTrue(b == c);
+		assertTrue(b == d);
+		
+		assertThrows(NullPointerException.class, () -> interningCache.intern(new String("B"), key -> null));
+		assertThrows(NullPointerException.class, () -> interningCache.intern(new String("B"), null));
+		assertThrows(NullPointerException.class, () -> interningCache.intern(null, key -> key));
+	}
+	
+	@Test
+	public void testSetMaximumSize() {
+		final InterningCache<String> interningCache = new InterningCache<>("testSetMaximumSize");
+		
+		interningCache.setMaximumSize(10);
+		
+		assertEquals(10, interningCache.getMaximumSize());
+		
+		assertThrows(IllegalArgumentException.class, () -> interningCache.setMaximumSize(1));
+	}
+	
+	@Test
+	public void testToString() {
+		final InterningCache<String> interningCache = new InterningCache<>("testToString", 10);
+		
+		interningCache.intern(new String("A"));
+		interningCache.intern(new String("A"));
+		
+		assertEquals("testToString: size=1, maximumSize=10, hits=1, misses=1, evictions=0, hitRate=0.500", interningCache.toString());
+	}
+}